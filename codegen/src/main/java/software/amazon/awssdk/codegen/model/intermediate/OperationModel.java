@@ -27,6 +27,7 @@ import software.amazon.awssdk.codegen.docs.SimpleMethodOverload;
 import software.amazon.awssdk.codegen.internal.Utils;
 import software.amazon.awssdk.codegen.model.service.AuthType;
 import software.amazon.awssdk.codegen.model.service.EndpointTrait;
+import software.amazon.awssdk.codegen.model.service.RequestCompression;
 import software.amazon.awssdk.codegen.model.service.StaticContextParam;
 
 public class OperationModel extends DocumentationModel {
@@ -71,6 +72,8 @@ public class OperationModel extends DocumentationModel {
 
     private HttpChecksum httpChecksum;
 
+    private RequestCompression requestcompression;
+
     @JsonIgnore
     private Map<String, StaticContextParam> staticContextParams;
 
@@ -309,6 +312,14 @@ public class OperationModel extends DocumentationModel {
         this.httpChecksum = httpChecksum;
     }
 
+    public RequestCompression getRequestcompression() {
+        return requestcompression;
+    }
+
+    public void setRequestcompression(RequestCompression requestcompression) {
+        this.requestcompression = requestcompression;
+    }
+
     public Map<String, StaticContextParam> getStaticContextParams() {
         return staticContextParams;
     }
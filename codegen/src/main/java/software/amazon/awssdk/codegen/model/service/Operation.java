@@ -52,6 +52,8 @@ public class Operation {
 
     private HttpChecksum httpChecksum;
 
+    private RequestCompression requestcompression;
+
     private Map<String, StaticContextParam> staticContextParams;
 
     public String getName() {
@@ -189,6 +191,14 @@ public class Operation {
         this.httpChecksum = httpChecksum;
     }
 
+    public RequestCompression getRequestcompression() {
+        return requestcompression;
+    }
+
+    public void setRequestcompression(RequestCompression requestcompression) {
+        this.requestcompression = requestcompression;
+    }
+
     public Map<String, StaticContextParam> getStaticContextParams() {
         return staticContextParams;
     }
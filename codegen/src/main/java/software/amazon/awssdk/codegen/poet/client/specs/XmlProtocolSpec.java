@@ -37,6 +37,7 @@ import software.amazon.awssdk.codegen.poet.PoetExtension;
 import software.amazon.awssdk.codegen.poet.client.traits.HttpChecksumRequiredTrait;
 import software.amazon.awssdk.codegen.poet.client.traits.HttpChecksumTrait;
 import software.amazon.awssdk.codegen.poet.client.traits.NoneAuthTypeRequestTrait;
+import software.amazon.awssdk.codegen.poet.client.traits.RequestCompressionTrait;
 import software.amazon.awssdk.codegen.poet.eventstream.EventStreamUtils;
 import software.amazon.awssdk.codegen.poet.model.EventStreamSpecHelper;
 import software.amazon.awssdk.core.SdkPojoBuilder;
@@ -135,6 +136,7 @@ public final class XmlProtocolSpec extends QueryProtocolSpec {
                                                .add(".withInput($L)", opModel.getInput().getVariableName())
                                                .add(HttpChecksumRequiredTrait.putHttpChecksumAttribute(opModel))
                                                .add(HttpChecksumTrait.create(opModel))
+                                               .add(RequestCompressionTrait.create(opModel))
                                                .add(NoneAuthTypeRequestTrait.create(opModel));
 
 
@@ -213,6 +215,7 @@ public final class XmlProtocolSpec extends QueryProtocolSpec {
                .add(asyncRequestBody(opModel))
                .add(HttpChecksumRequiredTrait.putHttpChecksumAttribute(opModel))
                .add(HttpChecksumTrait.create(opModel))
+               .add(RequestCompressionTrait.create(opModel))
                .add(NoneAuthTypeRequestTrait.create(opModel));
 
         s3ArnableFields(opModel, model).ifPresent(builder::add);
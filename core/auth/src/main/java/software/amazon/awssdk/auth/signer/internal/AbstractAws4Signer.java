@@ -17,7 +17,6 @@ package software.amazon.awssdk.auth.signer.internal;
 
 import static software.amazon.awssdk.auth.signer.Aws4UnsignedPayloadSigner.UNSIGNED_PAYLOAD;
 import static software.amazon.awssdk.core.interceptor.SdkExecutionAttribute.RESOLVED_CHECKSUM_SPECS;
-import static software.amazon.awssdk.utils.StringUtils.lowerCase;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -25,8 +24,8 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -47,7 +46,6 @@ import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.Logger;
-import software.amazon.awssdk.utils.Pair;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
@@ -64,10 +62,12 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
 
     private static final Logger LOG = Logger.loggerFor(Aws4Signer.class);
     private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FifoCache<SignerKey> SIGNER_CACHE =
-        new FifoCache<>(SIGNER_CACHE_MAX_SIZE);
+    private static final SigningKeyCache SIGNER_CACHE = new SigningKeyCache(SIGNER_CACHE_MAX_SIZE);
     private static final List<String> LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE =
         Arrays.asList("connection", "x-amzn-trace-id", "user-agent", "expect");
+    private static final int HEADER_TEMPLATE_CACHE_MAX_SIZE = 1024;
+    private static final CanonicalHeaderTemplateCache HEADER_TEMPLATE_CACHE =
+        new CanonicalHeaderTemplateCache(HEADER_TEMPLATE_CACHE_MAX_SIZE, LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE);
 
     protected SdkHttpFullRequest.Builder doSign(SdkHttpFullRequest request,
                                                 Aws4SignerRequestParams requestParams,
@@ -108,8 +108,7 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                                                                    signingParams.doubleUrlEncode(),
                                                                    signingParams.normalizePath());
 
-        String canonicalRequestString = canonicalRequest.string();
-        String stringToSign = createStringToSign(canonicalRequestString, requestParams);
+        String stringToSign = createStringToSign(canonicalRequest, requestParams);
 
         byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
@@ -154,8 +153,7 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         addPreSignInformationToRequest(mutableRequest, canonicalRequest, sanitizedCredentials,
                                        requestParams, expirationInSeconds);
 
-        String string = canonicalRequest.string();
-        String stringToSign = createStringToSign(string, requestParams);
+        String stringToSign = createStringToSign(canonicalRequest, requestParams);
 
         byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
@@ -224,11 +222,11 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     }
 
     protected final byte[] deriveSigningKey(AwsCredentials credentials, Instant signingInstant, String region, String service) {
-        String cacheKey = createSigningCacheKeyName(credentials, region, service);
-        SignerKey signerKey = SIGNER_CACHE.get(cacheKey);
+        long signingEpochMilli = signingInstant.toEpochMilli();
+        byte[] cachedSigningKey = SIGNER_CACHE.get(credentials.secretAccessKey(), region, service, signingEpochMilli);
 
-        if (signerKey != null && signerKey.isValidForDate(signingInstant)) {
-            return signerKey.getSigningKey();
+        if (cachedSigningKey != null) {
+            return cachedSigningKey;
         }
 
         LOG.trace(() -> "Generating a new signing key as the signing key not available in the cache for the date: " +
@@ -237,10 +235,17 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                 Aws4SignerUtils.formatDateStamp(signingInstant),
                 region,
                 service);
-        SIGNER_CACHE.add(cacheKey, new SignerKey(signingInstant, signingKey));
+        SIGNER_CACHE.put(credentials.secretAccessKey(), region, service, signingEpochMilli, signingKey);
         return signingKey;
     }
 
+    /**
+     * @return The cache of derived signing keys shared by all SigV4 signers, which exposes its hit and miss counts.
+     */
+    public static SigningKeyCache signingKeyCache() {
+        return SIGNER_CACHE;
+    }
+
     /**
      * Step 1 of the AWS Signature version 4 calculation. Refer to
      * http://docs.aws
@@ -260,12 +265,12 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-string-to-sign.html.
      */
-    private String createStringToSign(String canonicalRequest,
+    private String createStringToSign(CanonicalRequest canonicalRequest,
                                       Aws4SignerRequestParams requestParams) {
 
-        LOG.debug(() -> "AWS4 Canonical Request: " + canonicalRequest);
+        LOG.debug(() -> "AWS4 Canonical Request: " + canonicalRequest.string());
 
-        String requestHash = BinaryUtils.toHex(hash(canonicalRequest));
+        String requestHash = BinaryUtils.toHex(canonicalRequest.hash());
 
         String stringToSign = requestParams.getSigningAlgorithm() +
                               SignerConstant.LINE_SEPARATOR +
@@ -279,12 +284,6 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         return stringToSign;
     }
 
-    private String createSigningCacheKeyName(AwsCredentials credentials,
-                                             String regionName,
-                                             String serviceName) {
-        return credentials.secretAccessKey() + "-" + regionName + "-" + serviceName;
-    }
-
     /**
      * Step 3 of the AWS Signature version 4 calculation. It involves deriving
      * the signing key and computing the signature. Refer to
@@ -305,7 +304,7 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                                             CanonicalRequest canonicalRequest) {
         String accessKeyId = credentials.accessKeyId();
         String scope = signerParams.getScope();
-        StringBuilder stringBuilder = canonicalRequest.signedHeaderStringBuilder();
+        String signedHeaders = canonicalRequest.signedHeaderString();
         String signatureHex = BinaryUtils.toHex(signature);
         return SignerConstant.AWS4_SIGNING_ALGORITHM
                + " Credential="
@@ -313,7 +312,7 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                + "/"
                + scope
                + ", SignedHeaders="
-               + stringBuilder
+               + signedHeaders
                + ", Signature="
                + signatureHex;
     }
@@ -483,9 +482,8 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         private final boolean normalizePath;
 
         private String canonicalRequestString;
-        private StringBuilder signedHeaderStringBuilder;
-        private List<Pair<String, List<String>>> canonicalHeaders;
-        private String signedHeaderString;
+        private CanonicalHeaderTemplate headerTemplate;
+        private List<List<String>> headerValues;
 
         CanonicalRequest(SdkHttpFullRequest request,
                          SdkHttpFullRequest.Builder requestBuilder,
@@ -502,26 +500,43 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         public String string() {
             if (canonicalRequestString == null) {
                 StringBuilder canonicalRequest = new StringBuilder(512);
-                canonicalRequest.append(requestBuilder.method().toString())
-                                .append(SignerConstant.LINE_SEPARATOR);
-                addCanonicalizedResourcePath(canonicalRequest,
-                                             request,
-                                             doubleUrlEncode,
-                                             normalizePath);
-                canonicalRequest.append(SignerConstant.LINE_SEPARATOR);
-                addCanonicalizedQueryString(canonicalRequest, requestBuilder);
-                canonicalRequest.append(SignerConstant.LINE_SEPARATOR);
-                addCanonicalizedHeaderString(canonicalRequest, canonicalHeaders());
-                canonicalRequest.append(SignerConstant.LINE_SEPARATOR)
-                                .append(signedHeaderStringBuilder())
-                                .append(SignerConstant.LINE_SEPARATOR)
-                                .append(contentSha256);
+                writeTo(CanonicalRequestSink.forStringBuilder(canonicalRequest));
                 this.canonicalRequestString = canonicalRequest.toString();
             }
             return canonicalRequestString;
         }
 
-        private void addCanonicalizedResourcePath(StringBuilder result,
+        /**
+         * Computes the SHA-256 hash of this canonical request. Unless the string form has already been built (e.g. for debug
+         * logging), the canonical request is streamed directly into the thread-local digest without materializing it.
+         */
+        public byte[] hash() {
+            if (canonicalRequestString != null) {
+                return AbstractAwsSigner.hash(canonicalRequestString);
+            }
+            MessageDigestSink sink = new MessageDigestSink(getMessageDigestInstance());
+            writeTo(sink);
+            return sink.digest();
+        }
+
+        private void writeTo(CanonicalRequestSink result) {
+            result.append(requestBuilder.method().name())
+                  .append(SignerConstant.LINE_SEPARATOR);
+            addCanonicalizedResourcePath(result,
+                                         request,
+                                         doubleUrlEncode,
+                                         normalizePath);
+            result.append(SignerConstant.LINE_SEPARATOR);
+            addCanonicalizedQueryString(result, requestBuilder);
+            result.append(SignerConstant.LINE_SEPARATOR);
+            addCanonicalizedHeaderString(result);
+            result.append(SignerConstant.LINE_SEPARATOR)
+                  .append(signedHeaderString())
+                  .append(SignerConstant.LINE_SEPARATOR)
+                  .append(contentSha256);
+        }
+
+        private void addCanonicalizedResourcePath(CanonicalRequestSink result,
                                                   SdkHttpRequest request,
                                                   boolean urlEncode,
                                                   boolean normalizePath) {
@@ -529,7 +544,7 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                                         : request.encodedPath();
 
             if (StringUtils.isEmpty(path)) {
-                result.append("/");
+                result.append('/');
                 return;
             }
 
@@ -538,9 +553,8 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
             }
 
             if (!path.startsWith("/")) {
-                result.append("/");
+                result.append('/');
             }
-            result.append(path);
 
             // Normalization can leave a trailing slash at the end of the resource path,
             // even if the input path doesn't end with one. Example input: /foo/bar/.
@@ -548,23 +562,22 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
             boolean trimTrailingSlash = normalizePath &&
                                         path.length() > 1 &&
                                         !request.encodedPath().endsWith("/") &&
-                                        result.charAt(result.length() - 1) == '/';
-            if (trimTrailingSlash) {
-                result.setLength(result.length() - 1);
-            }
+                                        path.charAt(path.length() - 1) == '/';
+            result.append(path, 0, trimTrailingSlash ? path.length() - 1 : path.length());
         }
 
         /**
-         * Examines the specified query string parameters and returns a
+         * Examines the specified query string parameters and writes their
          * canonicalized form.
          * <p>
          * The canonicalized query string is formed by first sorting all the query
          * string parameters, then URI encoding both the key and value and then
          * joining them, in order, separating key value pairs with an '&amp;'.
-         *
-         * @return A canonicalized form for the specified query string parameters.
          */
-        private void addCanonicalizedQueryString(StringBuilder result, SdkHttpRequest.Builder httpRequest) {
+        private void addCanonicalizedQueryString(CanonicalRequestSink result, SdkHttpRequest.Builder httpRequest) {
+            if (httpRequest.numRawQueryParameters() == 0) {
+                return;
+            }
 
             SortedMap<String, List<String>> sorted = new TreeMap<>();
 
@@ -594,57 +607,53 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                 sorted.put(encodedParamName, encodedValues);
             });
 
-            SdkHttpUtils.flattenQueryParameters(result, sorted);
-        }
-
-        public StringBuilder signedHeaderStringBuilder() {
-            if (signedHeaderStringBuilder == null) {
-                signedHeaderStringBuilder = new StringBuilder();
-                addSignedHeaders(signedHeaderStringBuilder, canonicalHeaders());
+            boolean first = true;
+            for (Map.Entry<String, List<String>> parameter : sorted.entrySet()) {
+                for (String value : parameter.getValue()) {
+                    if (!first) {
+                        result.append('&');
+                    }
+                    first = false;
+                    result.append(parameter.getKey()).append('=').append(value);
+                }
             }
-            return signedHeaderStringBuilder;
         }
 
         public String signedHeaderString() {
-            if (signedHeaderString == null) {
-                this.signedHeaderString = signedHeaderStringBuilder().toString();
-            }
-            return signedHeaderString;
+            return headerTemplate().signedHeaders();
         }
 
-        private List<Pair<String, List<String>>> canonicalHeaders() {
-            if (canonicalHeaders == null) {
-                canonicalHeaders = canonicalizeSigningHeaders(requestBuilder);
+        private CanonicalHeaderTemplate headerTemplate() {
+            if (headerTemplate == null) {
+                int numHeaders = requestBuilder.numHeaders();
+                List<String> headerNames = new ArrayList<>(numHeaders);
+                List<List<String>> values = new ArrayList<>(numHeaders);
+                requestBuilder.forEachHeader((name, value) -> {
+                    headerNames.add(name);
+                    values.add(value);
+                });
+                this.headerValues = values;
+                this.headerTemplate = HEADER_TEMPLATE_CACHE.get(headerNames);
             }
-            return canonicalHeaders;
+            return headerTemplate;
         }
 
-        private void addCanonicalizedHeaderString(StringBuilder result, List<Pair<String, List<String>>> canonicalizedHeaders) {
-            canonicalizedHeaders.forEach(header -> {
-                result.append(header.left());
-                result.append(":");
-                for (String headerValue : header.right()) {
-                    addAndTrim(result, headerValue);
-                    result.append(",");
-                }
-                result.setLength(result.length() - 1);
-                result.append("\n");
-            });
-        }
-
-        private List<Pair<String, List<String>>> canonicalizeSigningHeaders(SdkHttpFullRequest.Builder headers) {
-            List<Pair<String, List<String>>> result = new ArrayList<>(headers.numHeaders());
-
-            headers.forEachHeader((key, value) -> {
-                String lowerCaseHeader = lowerCase(key);
-                if (!LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE.contains(lowerCaseHeader)) {
-                    result.add(Pair.of(lowerCaseHeader, value));
+        private void addCanonicalizedHeaderString(CanonicalRequestSink result) {
+            CanonicalHeaderTemplate template = headerTemplate();
+            for (int i = 0; i < template.size(); i++) {
+                result.append(template.name(i));
+                List<String> values = headerValues.get(template.sourceIndex(i));
+                if (!values.isEmpty()) {
+                    result.append(':');
+                    for (int j = 0; j < values.size(); j++) {
+                        if (j > 0) {
+                            result.append(',');
+                        }
+                        addAndTrim(result, values.get(j));
+                    }
                 }
-            });
-
-            result.sort(Comparator.comparing(Pair::left));
-
-            return result;
+                result.append('\n');
+            }
         }
 
         /**
@@ -659,47 +668,33 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
          * </pre>
          * but does not create a Pattern object that needs to compile the match
          * string; it also prevents us from having to make a Matcher object as well.
+         * Runs of non-whitespace characters are written to the sink as ranges of the
+         * original value, so no intermediate string is created.
          */
-        private void addAndTrim(StringBuilder result, String value) {
-            int lengthBefore = result.length();
-            boolean isStart = true;
-            boolean previousIsWhiteSpace = false;
-
-            for (int i = 0; i < value.length(); i++) {
-                char ch = value.charAt(i);
-                if (isWhiteSpace(ch)) {
-                    if (previousIsWhiteSpace || isStart) {
-                        continue;
-                    }
-                    result.append(' ');
-                    previousIsWhiteSpace = true;
-                } else {
-                    result.append(ch);
-                    isStart = false;
-                    previousIsWhiteSpace = false;
-                }
+        private void addAndTrim(CanonicalRequestSink result, String value) {
+            int start = 0;
+            int end = value.length();
+            while (start < end && isWhiteSpace(value.charAt(start))) {
+                ++start;
             }
-
-            if (lengthBefore == result.length()) {
-                return;
-            }
-
-            int lastNonWhitespaceChar = result.length() - 1;
-            while (isWhiteSpace(result.charAt(lastNonWhitespaceChar))) {
-                --lastNonWhitespaceChar;
+            while (end > start && isWhiteSpace(value.charAt(end - 1))) {
+                --end;
             }
 
-            result.setLength(lastNonWhitespaceChar + 1);
-        }
-
-        private void addSignedHeaders(StringBuilder result, List<Pair<String, List<String>>> canonicalizedHeaders) {
-            for (Pair<String, List<String>> header : canonicalizedHeaders) {
-                result.append(header.left()).append(';');
-            }
-
-            if (!canonicalizedHeaders.isEmpty()) {
-                result.setLength(result.length() - 1);
+            int runStart = start;
+            int i = start;
+            while (i < end) {
+                if (isWhiteSpace(value.charAt(i))) {
+                    result.append(value, runStart, i).append(' ');
+                    while (isWhiteSpace(value.charAt(i))) {
+                        ++i;
+                    }
+                    runStart = i;
+                } else {
+                    ++i;
+                }
             }
+            result.append(value, runStart, end);
         }
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static software.amazon.awssdk.utils.StringUtils.lowerCase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * The value-independent part of the canonical headers of a SigV4 canonical request: which of a request's headers are signed,
+ * their lower-cased names in canonical order and the resulting signed-headers string.
+ *
+ * <p>A template only depends on the set of header names a request carries, so it can be computed once and reused for every
+ * request with the same header names. See {@link CanonicalHeaderTemplateCache}.
+ */
+@Immutable
+@SdkInternalApi
+final class CanonicalHeaderTemplate {
+    private final String[] names;
+    private final int[] sourceIndexes;
+    private final String signedHeaders;
+
+    private CanonicalHeaderTemplate(String[] names, int[] sourceIndexes, String signedHeaders) {
+        this.names = names;
+        this.sourceIndexes = sourceIndexes;
+        this.signedHeaders = signedHeaders;
+    }
+
+    /**
+     * Create the template for a request whose headers have the provided names, in the order the request iterates them.
+     *
+     * @param headerNames The request's header names, in iteration order.
+     * @param ignoredLowerCaseNames The lower-cased names of headers that must not be signed.
+     */
+    static CanonicalHeaderTemplate create(List<String> headerNames, Collection<String> ignoredLowerCaseNames) {
+        List<Integer> signed = new ArrayList<>(headerNames.size());
+        List<String> lowerCaseNames = new ArrayList<>(headerNames.size());
+        for (int i = 0; i < headerNames.size(); i++) {
+            String lowerCaseName = lowerCase(headerNames.get(i));
+            lowerCaseNames.add(lowerCaseName);
+            if (!ignoredLowerCaseNames.contains(lowerCaseName)) {
+                signed.add(i);
+            }
+        }
+
+        signed.sort(Comparator.comparing(lowerCaseNames::get));
+
+        String[] names = new String[signed.size()];
+        int[] sourceIndexes = new int[signed.size()];
+        StringBuilder signedHeaders = new StringBuilder();
+        for (int i = 0; i < signed.size(); i++) {
+            sourceIndexes[i] = signed.get(i);
+            names[i] = lowerCaseNames.get(sourceIndexes[i]);
+            if (i > 0) {
+                signedHeaders.append(';');
+            }
+            signedHeaders.append(names[i]);
+        }
+
+        return new CanonicalHeaderTemplate(names, sourceIndexes, signedHeaders.toString());
+    }
+
+    /**
+     * The number of headers that are signed.
+     */
+    int size() {
+        return names.length;
+    }
+
+    /**
+     * The lower-cased name of the {@code i}th signed header, in canonical order.
+     */
+    String name(int i) {
+        return names[i];
+    }
+
+    /**
+     * The position of the {@code i}th signed header (in canonical order) among the request's headers, in the order the request
+     * iterates them.
+     */
+    int sourceIndex(int i) {
+        return sourceIndexes[i];
+    }
+
+    /**
+     * The signed-headers string: the lower-cased names of the signed headers in canonical order, separated by {@code ';'}.
+     */
+    String signedHeaders() {
+        return signedHeaders;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A bounded cache of {@link CanonicalHeaderTemplate}s, keyed by the header names of a request.
+ *
+ * <p>Requests made by the same client for the same operation almost always carry the same header names and only differ in
+ * header values, so the lower-casing, filtering and sorting of header names and the signed-headers string are computed once per
+ * distinct set of names instead of once per request. Lookups do not take any locks. When the cache grows past its maximum
+ * size it is cleared, since the number of distinct header name sets in an application is normally small.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class CanonicalHeaderTemplateCache {
+    private final int maxSize;
+    private final Collection<String> ignoredLowerCaseNames;
+    private final ConcurrentHashMap<List<String>, CanonicalHeaderTemplate> templates = new ConcurrentHashMap<>();
+
+    CanonicalHeaderTemplateCache(int maxSize, Collection<String> ignoredLowerCaseNames) {
+        this.maxSize = maxSize;
+        this.ignoredLowerCaseNames = ignoredLowerCaseNames;
+    }
+
+    /**
+     * Retrieve the template for a request with the provided header names, creating it if it is not already cached. The
+     * provided list is used as the cache key and must not be modified afterwards.
+     */
+    CanonicalHeaderTemplate get(List<String> headerNames) {
+        CanonicalHeaderTemplate template = templates.get(headerNames);
+        if (template != null) {
+            return template;
+        }
+
+        template = CanonicalHeaderTemplate.create(headerNames, ignoredLowerCaseNames);
+        if (templates.size() >= maxSize) {
+            templates.clear();
+        }
+        CanonicalHeaderTemplate existing = templates.putIfAbsent(headerNames, template);
+        return existing != null ? existing : template;
+    }
+
+    int size() {
+        return templates.size();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * The destination a {@link AbstractAws4Signer.CanonicalRequest} is written to. This lets the canonical request either be
+ * materialized as a {@link String} (for logging and tests) or be streamed straight into a message digest without building
+ * any intermediate strings.
+ */
+@SdkInternalApi
+interface CanonicalRequestSink {
+
+    CanonicalRequestSink append(char c);
+
+    CanonicalRequestSink append(CharSequence s, int start, int end);
+
+    default CanonicalRequestSink append(CharSequence s) {
+        return append(s, 0, s.length());
+    }
+
+    /**
+     * Create a sink that appends everything it is given to the provided {@link StringBuilder}.
+     */
+    static CanonicalRequestSink forStringBuilder(StringBuilder builder) {
+        return new CanonicalRequestSink() {
+            @Override
+            public CanonicalRequestSink append(char c) {
+                builder.append(c);
+                return this;
+            }
+
+            @Override
+            public CanonicalRequestSink append(CharSequence s, int start, int end) {
+                builder.append(s, start, end);
+                return this;
+            }
+        };
+    }
+}
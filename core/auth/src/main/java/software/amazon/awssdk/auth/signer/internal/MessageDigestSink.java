@@ -0,0 +1,118 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.security.MessageDigest;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A {@link CanonicalRequestSink} that UTF-8 encodes the characters it is given directly into a {@link MessageDigest}, so that
+ * the hash of a canonical request can be computed without first materializing it as a {@link String} and then as a
+ * {@code byte[]}.
+ * <p>
+ * Encoded bytes are staged in a small buffer and handed to the digest in blocks. Unpaired surrogates are encoded as
+ * {@code '?'}, matching {@link String#getBytes(java.nio.charset.Charset)}.
+ */
+@SdkInternalApi
+final class MessageDigestSink implements CanonicalRequestSink {
+    private static final int BUFFER_SIZE = 256;
+
+    private final MessageDigest messageDigest;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    MessageDigestSink(MessageDigest messageDigest) {
+        this.messageDigest = messageDigest;
+    }
+
+    @Override
+    public CanonicalRequestSink append(char c) {
+        if (c < 0x80) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) c;
+        } else if (Character.isSurrogate(c)) {
+            // A lone surrogate has no UTF-8 representation on its own.
+            ensureCapacity(1);
+            buffer[position++] = '?';
+        } else {
+            writeMultiByte(c);
+        }
+        return this;
+    }
+
+    @Override
+    public CanonicalRequestSink append(CharSequence s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (position == BUFFER_SIZE) {
+                    flush();
+                }
+                buffer[position++] = (byte) c;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, s.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                ensureCapacity(1);
+                buffer[position++] = '?';
+            } else {
+                writeMultiByte(c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Complete the hash computation over everything appended so far.
+     */
+    byte[] digest() {
+        flush();
+        return messageDigest.digest();
+    }
+
+    private void writeMultiByte(char c) {
+        ensureCapacity(3);
+        if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void writeCodePoint(int codePoint) {
+        ensureCapacity(4);
+        buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (position + bytes > BUFFER_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (position > 0) {
+            messageDigest.update(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
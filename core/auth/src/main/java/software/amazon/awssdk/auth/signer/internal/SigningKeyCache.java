@@ -0,0 +1,148 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A bounded cache of derived SigV4 signing keys, keyed by the secret key, region, service and signing date they were derived
+ * for.
+ *
+ * <p>Lookups do not take any locks and only allocate the composite key, so the cache can be shared by all signers in the JVM
+ * without becoming a point of contention. When the cache is full, the entries that were added first are evicted. A signing key
+ * for a new date is a new entry, so keys for previous dates age out through the same eviction.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class SigningKeyCache {
+    private final int maxSize;
+    private final ConcurrentHashMap<CacheKey, byte[]> signingKeys = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<CacheKey> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize the maximum number of signing keys kept in the cache
+     */
+    public SigningKeyCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize " + maxSize + " must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns a copy of the cached signing key for the given parameters, or null if there is none.
+     */
+    public byte[] get(String secretAccessKey, String region, String service, long signingEpochMilli) {
+        byte[] signingKey = signingKeys.get(new CacheKey(secretAccessKey, region, service, signingEpochMilli));
+        if (signingKey == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return signingKey.clone();
+    }
+
+    /**
+     * Adds a signing key derived for the given parameters to the cache, evicting the earliest entries if the cache is full.
+     */
+    public void put(String secretAccessKey, String region, String service, long signingEpochMilli, byte[] signingKey) {
+        CacheKey key = new CacheKey(secretAccessKey, region, service, signingEpochMilli);
+        if (signingKeys.putIfAbsent(key, signingKey.clone()) != null) {
+            // Another thread derived the same key concurrently.
+            return;
+        }
+
+        insertionOrder.add(key);
+        while (signingKeys.size() > maxSize) {
+            CacheKey eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            signingKeys.remove(eldest);
+        }
+    }
+
+    /**
+     * @return The number of lookups that found a signing key.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that did not find a signing key, requiring a new key to be derived.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The current number of signing keys in the cache.
+     */
+    public int size() {
+        return signingKeys.size();
+    }
+
+    private static final class CacheKey {
+        private final String secretAccessKey;
+        private final String region;
+        private final String service;
+        private final long daysSinceEpoch;
+        private final int hashCode;
+
+        private CacheKey(String secretAccessKey, String region, String service, long signingEpochMilli) {
+            this.secretAccessKey = secretAccessKey;
+            this.region = region;
+            this.service = service;
+            this.daysSinceEpoch = TimeUnit.MILLISECONDS.toDays(signingEpochMilli);
+
+            int result = Objects.hashCode(secretAccessKey);
+            result = 31 * result + Objects.hashCode(region);
+            result = 31 * result + Objects.hashCode(service);
+            result = 31 * result + Long.hashCode(daysSinceEpoch);
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return daysSinceEpoch == that.daysSinceEpoch &&
+                   Objects.equals(secretAccessKey, that.secretAccessKey) &&
+                   Objects.equals(region, that.region) &&
+                   Objects.equals(service, that.service);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
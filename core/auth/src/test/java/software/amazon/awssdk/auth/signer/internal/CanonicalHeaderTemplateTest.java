@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class CanonicalHeaderTemplateTest {
+    private static final List<String> IGNORED = Arrays.asList("connection", "user-agent");
+
+    @Test
+    public void create_lowerCasesFiltersAndSortsHeaderNames() {
+        CanonicalHeaderTemplate template =
+            CanonicalHeaderTemplate.create(Arrays.asList("X-Amz-Date", "User-Agent", "Host", "content-type", "Connection"),
+                                           IGNORED);
+
+        assertThat(template.size()).isEqualTo(3);
+        assertThat(template.name(0)).isEqualTo("content-type");
+        assertThat(template.sourceIndex(0)).isEqualTo(3);
+        assertThat(template.name(1)).isEqualTo("host");
+        assertThat(template.sourceIndex(1)).isEqualTo(2);
+        assertThat(template.name(2)).isEqualTo("x-amz-date");
+        assertThat(template.sourceIndex(2)).isEqualTo(0);
+        assertThat(template.signedHeaders()).isEqualTo("content-type;host;x-amz-date");
+    }
+
+    @Test
+    public void create_noSignedHeaders_hasEmptySignedHeaders() {
+        CanonicalHeaderTemplate template = CanonicalHeaderTemplate.create(Collections.singletonList("User-Agent"), IGNORED);
+
+        assertThat(template.size()).isZero();
+        assertThat(template.signedHeaders()).isEmpty();
+    }
+
+    @Test
+    public void cache_sameHeaderNames_returnsSameTemplate() {
+        CanonicalHeaderTemplateCache cache = new CanonicalHeaderTemplateCache(10, IGNORED);
+
+        CanonicalHeaderTemplate first = cache.get(new ArrayList<>(Arrays.asList("Host", "X-Amz-Date")));
+        CanonicalHeaderTemplate second = cache.get(new ArrayList<>(Arrays.asList("Host", "X-Amz-Date")));
+        CanonicalHeaderTemplate other = cache.get(new ArrayList<>(Arrays.asList("Host", "X-Amz-Target")));
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void cache_full_isClearedBeforeAddingNewTemplate() {
+        CanonicalHeaderTemplateCache cache = new CanonicalHeaderTemplateCache(2, IGNORED);
+
+        cache.get(Collections.singletonList("a"));
+        cache.get(Collections.singletonList("b"));
+        cache.get(Collections.singletonList("c"));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(Collections.singletonList("c")).signedHeaders()).isEqualTo("c");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.awssdk.auth.signer.internal.AbstractAws4Signer.CanonicalRequest;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+/**
+ * Verifies that streaming a canonical request into a digest produces the same hash as hashing its string form.
+ */
+public class CanonicalRequestHashTest {
+
+    public static Iterable<SdkHttpFullRequest> requests() {
+        return Arrays.asList(
+            request().build(),
+            request().encodedPath("/foo/bar/.").build(),
+            request().encodedPath("foo").build(),
+            request().putHeader("X-Amz-Target", "DynamoDB_20120810.GetItem")
+                     .putHeader("Content-Type", "application/x-amz-json-1.0")
+                     .build(),
+            request().putHeader("x-amz-meta-spaces", "  leading   and \t trailing  ")
+                     .putHeader("x-amz-meta-empty", "   ")
+                     .putHeader("x-amz-meta-multi", Arrays.asList("b  c", " a "))
+                     .build(),
+            request().putHeader("x-amz-meta-unicode", "café 日本 😀 \ud83d")
+                     .build(),
+            request().putHeader("Zeta", "z")
+                     .putHeader("alpha", "a")
+                     .putHeader("X-Amz-Date", "20200101T000000Z")
+                     .build(),
+            request().putRawQueryParameter("Action", "SendMessage")
+                     .putRawQueryParameter("b", Arrays.asList("2", "1"))
+                     .putRawQueryParameter("empty", (String) null)
+                     .putRawQueryParameter("MessageBody", "hello world & more")
+                     .build());
+    }
+
+    @ParameterizedTest
+    @MethodSource("requests")
+    public void streamedHash_matchesHashOfString(SdkHttpFullRequest request) {
+        String string = canonicalRequest(request).string();
+        byte[] streamed = canonicalRequest(request).hash();
+
+        assertThat(streamed).isEqualTo(AbstractAwsSigner.hash(string));
+    }
+
+    @Test
+    public void messageDigestSink_encodesLikeStringGetBytes() throws Exception {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            value.append("aé日😀");
+        }
+        value.append('\ud83d').append('x').append('\ude00');
+
+        MessageDigestSink sink = new MessageDigestSink(MessageDigest.getInstance("SHA-256"));
+        sink.append(value).append('é').append('\ud83d');
+
+        String expected = value.toString() + 'é' + '\ud83d';
+        byte[] expectedHash = MessageDigest.getInstance("SHA-256").digest(expected.getBytes(StandardCharsets.UTF_8));
+        assertThat(sink.digest()).isEqualTo(expectedHash);
+    }
+
+    private static CanonicalRequest canonicalRequest(SdkHttpFullRequest request) {
+        return new CanonicalRequest(request, request.toBuilder(), "sha-256", true, true);
+    }
+
+    private static SdkHttpFullRequest.Builder request() {
+        return SdkHttpFullRequest.builder()
+                                 .protocol("https")
+                                 .host("localhost")
+                                 .encodedPath("/")
+                                 .method(SdkHttpMethod.POST);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.Test;
+
+public class SigningKeyCacheTest {
+    private static final long NOW = Instant.parse("2023-06-01T10:15:30Z").toEpochMilli();
+    private static final byte[] KEY = {1, 2, 3};
+
+    @Test
+    public void get_emptyCache_returnsNullAndCountsMiss() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+
+        assertThat(cache.get("secret", "us-east-1", "s3", NOW)).isNull();
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isZero();
+    }
+
+    @Test
+    public void get_afterPut_returnsCopyAndCountsHit() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        cache.put("secret", "us-east-1", "s3", NOW, KEY);
+
+        byte[] cached = cache.get("secret", "us-east-1", "s3", NOW);
+        cached[0] = 0;
+
+        assertThat(cache.get("secret", "us-east-1", "s3", NOW)).containsExactly(KEY);
+        assertThat(cache.hitCount()).isEqualTo(2);
+        assertThat(cache.missCount()).isZero();
+    }
+
+    @Test
+    public void get_afterPut_returnsKeyNotAffectedByLaterChangesToPutArray() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        byte[] key = KEY.clone();
+        cache.put("secret", "us-east-1", "s3", NOW, key);
+        key[0] = 0;
+
+        assertThat(cache.get("secret", "us-east-1", "s3", NOW)).containsExactly(KEY);
+    }
+
+    @Test
+    public void get_sameDay_isHit() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        cache.put("secret", "us-east-1", "s3", NOW, KEY);
+
+        assertThat(cache.get("secret", "us-east-1", "s3", NOW + Duration.ofHours(1).toMillis())).containsExactly(KEY);
+    }
+
+    @Test
+    public void get_differentDay_isMiss() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        cache.put("secret", "us-east-1", "s3", NOW, KEY);
+
+        assertThat(cache.get("secret", "us-east-1", "s3", NOW + Duration.ofDays(1).toMillis())).isNull();
+    }
+
+    @Test
+    public void get_differentCredentialsRegionOrService_isMiss() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        cache.put("secret", "us-east-1", "s3", NOW, KEY);
+
+        assertThat(cache.get("other", "us-east-1", "s3", NOW)).isNull();
+        assertThat(cache.get("secret", "us-west-2", "s3", NOW)).isNull();
+        assertThat(cache.get("secret", "us-east-1", "sqs", NOW)).isNull();
+        assertThat(cache.missCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void put_beyondMaxSize_evictsEarliestEntry() {
+        SigningKeyCache cache = new SigningKeyCache(2);
+        cache.put("secret", "region-1", "s3", NOW, KEY);
+        cache.put("secret", "region-2", "s3", NOW, KEY);
+        cache.put("secret", "region-3", "s3", NOW, KEY);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("secret", "region-1", "s3", NOW)).isNull();
+        assertThat(cache.get("secret", "region-2", "s3", NOW)).isNotNull();
+        assertThat(cache.get("secret", "region-3", "s3", NOW)).isNotNull();
+    }
+
+    @Test
+    public void put_existingEntry_doesNotGrowCache() {
+        SigningKeyCache cache = new SigningKeyCache(2);
+        cache.put("secret", "us-east-1", "s3", NOW, KEY);
+        cache.put("secret", "us-east-1", "s3", NOW, KEY);
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void construct_nonPositiveSize_throws() {
+        assertThatThrownBy(() -> new SigningKeyCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
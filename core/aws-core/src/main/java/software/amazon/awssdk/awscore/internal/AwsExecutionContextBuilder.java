@@ -30,6 +30,7 @@ import software.amazon.awssdk.core.HttpChecksumConstant;
 import software.amazon.awssdk.core.RequestOverrideConfiguration;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
@@ -99,6 +100,10 @@ public final class AwsExecutionContextBuilder {
                           clientConfig.option(SdkClientOption.CLIENT_CONTEXT_PARAMS))
             .putAttribute(SdkInternalExecutionAttribute.DISABLE_HOST_PREFIX_INJECTION,
                           clientConfig.option(SdkAdvancedClientOption.DISABLE_HOST_PREFIX_INJECTION))
+            .putAttribute(SdkInternalExecutionAttribute.RESPONSE_COMPRESSION_ENABLED,
+                          clientConfig.option(SdkAdvancedClientOption.ENABLE_RESPONSE_COMPRESSION))
+            .putAttribute(SdkInternalExecutionAttribute.BYTE_BUFFER_ALLOCATOR,
+                          clientConfig.option(SdkAdvancedAsyncClientOption.BYTE_BUFFER_ALLOCATOR))
             .putAttribute(SdkExecutionAttribute.SIGNER_OVERRIDDEN, clientConfig.option(SdkClientOption.SIGNER_OVERRIDDEN))
             .putAttribute(AwsExecutionAttribute.USE_GLOBAL_ENDPOINT,
                           clientConfig.option(AwsClientOption.USE_GLOBAL_ENDPOINT))
@@ -37,9 +37,23 @@ public abstract class BaseAwsStructuredJsonFactory implements StructuredJsonFact
         return createWriter(jsonFactory, contentType);
     }
 
+    @Override
+    public StructuredJsonGenerator createWriter(String contentType, boolean usePooledBuffer) {
+        return createWriter(jsonFactory, contentType, usePooledBuffer);
+    }
+
     protected abstract StructuredJsonGenerator createWriter(JsonFactory jsonFactory,
                                                             String contentType);
 
+    /**
+     * Variants that support serializing into pooled buffers override this. By default the flag is ignored.
+     */
+    protected StructuredJsonGenerator createWriter(JsonFactory jsonFactory,
+                                                   String contentType,
+                                                   boolean usePooledBuffer) {
+        return createWriter(jsonFactory, contentType);
+    }
+
     @Override
     public ErrorCodeParser getErrorCodeParser(String customErrorCodeFieldName) {
         return new JsonErrorCodeParser(customErrorCodeFieldName);
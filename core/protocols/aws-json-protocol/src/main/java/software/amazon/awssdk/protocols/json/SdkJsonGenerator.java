@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 import java.time.Instant;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.protocols.json.internal.PooledByteArrayOutputStream;
 import software.amazon.awssdk.thirdparty.jackson.core.JsonFactory;
 import software.amazon.awssdk.thirdparty.jackson.core.JsonGenerator;
 import software.amazon.awssdk.utils.BinaryUtils;
@@ -39,11 +40,22 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
      * prevent frequent resizings but small enough to avoid wasted allocations for small requests.
      */
     private static final int DEFAULT_BUFFER_SIZE = 1024;
-    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    private final ByteArrayOutputStream baos;
     private final JsonGenerator generator;
     private final String contentType;
 
     public SdkJsonGenerator(JsonFactory factory, String contentType) {
+        this(factory, contentType, false);
+    }
+
+    /**
+     * @param factory Factory used to create the underlying Jackson generator.
+     * @param contentType Content type of the generated document.
+     * @param usePooledBuffer True if the document should be written into a buffer borrowed from a per-thread pool, which is
+     * returned to the pool when {@link #getBytes()} copies the document out of it.
+     */
+    public SdkJsonGenerator(JsonFactory factory, String contentType, boolean usePooledBuffer) {
+        this.baos = usePooledBuffer ? PooledByteArrayOutputStream.acquire() : new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
         try {
             /**
              * A {@link JsonGenerator} created is by default enabled with
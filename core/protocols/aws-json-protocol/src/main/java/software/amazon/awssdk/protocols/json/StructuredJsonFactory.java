@@ -31,6 +31,17 @@ public interface StructuredJsonFactory {
      */
     StructuredJsonGenerator createWriter(String contentType);
 
+    /**
+     * Returns the {@link StructuredJsonGenerator} to be used for marshalling the request.
+     *
+     * @param contentType Content type to send for requests.
+     * @param usePooledBuffer True if the request should be serialized into a reusable pooled scratch buffer. Factories that
+     * do not support pooled buffers ignore this.
+     */
+    default StructuredJsonGenerator createWriter(String contentType, boolean usePooledBuffer) {
+        return createWriter(contentType);
+    }
+
     JsonFactory getJsonFactory();
 
     ErrorCodeParser getErrorCodeParser(String customErrorCodeFieldName);
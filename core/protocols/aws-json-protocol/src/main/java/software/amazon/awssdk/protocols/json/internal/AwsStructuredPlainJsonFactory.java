@@ -41,6 +41,13 @@ public final class AwsStructuredPlainJsonFactory {
             return new SdkJsonGenerator(jsonFactory, contentType);
         }
 
+        @Override
+        protected StructuredJsonGenerator createWriter(JsonFactory jsonFactory,
+                                                       String contentType,
+                                                       boolean usePooledBuffer) {
+            return new SdkJsonGenerator(jsonFactory, contentType, usePooledBuffer);
+        }
+
         @Override
         public JsonFactory getJsonFactory() {
             return JsonNodeParser.DEFAULT_JSON_FACTORY;
@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.json.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A {@link ByteArrayOutputStream} that writes into a buffer borrowed from a per-thread pool instead of allocating (and
+ * repeatedly growing) a new buffer for every request. Once a thread's buffer has grown to fit its typical request, requests
+ * are serialized without any intermediate reallocation.
+ *
+ * <p>The pooled buffer is only scratch space: the first call to {@link #toByteArray()} still copies the content out into an
+ * exactly sized array, which is owned by the request, and returns the borrowed buffer to the pool. A stream must therefore
+ * be acquired and sealed on the same thread. A stream that is never sealed (for example
+ * because marshalling failed) simply does not return its buffer, and the next stream acquired on that thread allocates a new
+ * one.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public final class PooledByteArrayOutputStream extends ByteArrayOutputStream {
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    /**
+     * Buffers that grew beyond this size while serializing an unusually large request are not kept, so that each thread holds
+     * on to at most this much memory.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<byte[]> POOL = new ThreadLocal<>();
+
+    private boolean released;
+
+    private PooledByteArrayOutputStream(byte[] buffer) {
+        super(0);
+        this.buf = buffer;
+    }
+
+    /**
+     * Borrow the pooled buffer of the current thread, or allocate a new one if it is not available.
+     */
+    public static PooledByteArrayOutputStream acquire() {
+        byte[] buffer = POOL.get();
+        if (buffer == null) {
+            buffer = new byte[INITIAL_BUFFER_SIZE];
+        } else {
+            POOL.remove();
+        }
+        return new PooledByteArrayOutputStream(buffer);
+    }
+
+    /**
+     * Copy the content into a new exactly sized array. The first call returns the borrowed buffer to the pool of the current
+     * thread; the stream keeps working on the copy afterwards.
+     */
+    @Override
+    public synchronized byte[] toByteArray() {
+        byte[] content = Arrays.copyOf(buf, count);
+        if (!released) {
+            released = true;
+            if (buf.length <= MAX_POOLED_BUFFER_SIZE) {
+                POOL.set(buf);
+            }
+            buf = content;
+        }
+        return content;
+    }
+}
@@ -21,7 +21,6 @@ import static software.amazon.awssdk.http.Header.CONTENT_LENGTH;
 import static software.amazon.awssdk.http.Header.CONTENT_TYPE;
 import static software.amazon.awssdk.http.Header.TRANSFER_ENCODING;
 
-import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.time.Instant;
 import java.util.Collections;
@@ -31,6 +30,7 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.core.SdkField;
 import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.http.ByteArrayContentStreamProvider;
 import software.amazon.awssdk.core.protocol.MarshallLocation;
 import software.amazon.awssdk.core.protocol.MarshallingType;
 import software.amazon.awssdk.core.traits.PayloadTrait;
@@ -230,7 +230,7 @@ public class JsonProtocolMarshaller implements ProtocolMarshaller<SdkHttpFullReq
             byte[] content = jsonGenerator.getBytes();
 
             if (content != null) {
-                request.contentStreamProvider(() -> new ByteArrayInputStream(content));
+                request.contentStreamProvider(ByteArrayContentStreamProvider.fromByteArrayUnsafe(content));
                 if (content.length > 0) {
                     request.putHeader(CONTENT_LENGTH, Integer.toString(content.length));
                 }
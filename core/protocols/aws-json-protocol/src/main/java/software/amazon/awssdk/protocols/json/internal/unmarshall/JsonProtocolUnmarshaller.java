@@ -45,6 +45,8 @@ import software.amazon.awssdk.protocols.json.internal.MarshallerUtil;
 import software.amazon.awssdk.protocols.json.internal.unmarshall.document.DocumentUnmarshaller;
 import software.amazon.awssdk.protocols.jsoncore.JsonNode;
 import software.amazon.awssdk.protocols.jsoncore.JsonNodeParser;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonFactory;
+import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.builder.Buildable;
 
 /**
@@ -61,12 +63,18 @@ public final class JsonProtocolUnmarshaller {
 
     private final JsonNodeParser parser;
 
+    private final JsonStreamingUnmarshaller streamingUnmarshaller;
+
     private JsonProtocolUnmarshaller(Builder builder) {
         this.parser = builder.parser;
         this.instantStringToValue = StringToInstant.create(builder.defaultTimestampFormats.isEmpty() ?
                                                            new EnumMap<>(MarshallLocation.class) :
                                                            new EnumMap<>(builder.defaultTimestampFormats));
         this.registry = createUnmarshallerRegistry(instantStringToValue);
+        this.streamingUnmarshaller = builder.enableStreamingUnmarshalling
+                                     ? new JsonStreamingUnmarshaller(Validate.paramNotNull(builder.jsonFactory, "jsonFactory"),
+                                                                     instantStringToValue)
+                                     : null;
     }
 
     private static JsonUnmarshallerRegistry createUnmarshallerRegistry(
@@ -188,6 +196,9 @@ public final class JsonProtocolUnmarshaller {
     public <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
                             SdkHttpFullResponse response) throws IOException {
         if (hasPayloadMembersOnUnmarshall(sdkPojo) && !hasExplicitBlobPayloadMember(sdkPojo) && response.content().isPresent()) {
+            if (streamingUnmarshaller != null) {
+                return streamingUnmarshaller.unmarshall(sdkPojo, response.content().get(), createContext(response));
+            }
             JsonNode jsonNode = parser.parse(response.content().get());
             return unmarshall(sdkPojo, response, jsonNode);
         } else {
@@ -215,11 +226,14 @@ public final class JsonProtocolUnmarshaller {
     public <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
                             SdkHttpFullResponse response,
                             JsonNode jsonContent) {
-        JsonUnmarshallerContext context = JsonUnmarshallerContext.builder()
-                                                                 .unmarshallerRegistry(registry)
-                                                                 .response(response)
-                                                                 .build();
-        return unmarshallStructured(sdkPojo, jsonContent, context);
+        return unmarshallStructured(sdkPojo, jsonContent, createContext(response));
+    }
+
+    private JsonUnmarshallerContext createContext(SdkHttpFullResponse response) {
+        return JsonUnmarshallerContext.builder()
+                                      .unmarshallerRegistry(registry)
+                                      .response(response)
+                                      .build();
     }
 
     @SuppressWarnings("unchecked")
@@ -267,6 +281,8 @@ public final class JsonProtocolUnmarshaller {
     public static final class Builder {
 
         private JsonNodeParser parser;
+        private JsonFactory jsonFactory;
+        private boolean enableStreamingUnmarshalling;
         private Map<MarshallLocation, TimestampFormatTrait.Format> defaultTimestampFormats;
 
         private Builder() {
@@ -281,6 +297,25 @@ public final class JsonProtocolUnmarshaller {
             return this;
         }
 
+        /**
+         * @param jsonFactory JSON factory used to create token parsers when streaming unmarshalling is enabled.
+         * @return This builder for method chaining.
+         */
+        public Builder jsonFactory(JsonFactory jsonFactory) {
+            this.jsonFactory = jsonFactory;
+            return this;
+        }
+
+        /**
+         * @param enableStreamingUnmarshalling True if payloads should be unmarshalled directly from the token stream of the
+         * {@link #jsonFactory(JsonFactory)} parser instead of being parsed into a {@link JsonNode} tree first.
+         * @return This builder for method chaining.
+         */
+        public Builder enableStreamingUnmarshalling(boolean enableStreamingUnmarshalling) {
+            this.enableStreamingUnmarshalling = enableStreamingUnmarshalling;
+            return this;
+        }
+
         /**
          * @param formats The default timestamp formats for each location in the HTTP response.
          * @return This builder for method chaining.
@@ -0,0 +1,278 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocols.json.internal.unmarshall;
+
+import static software.amazon.awssdk.protocols.core.StringToValueConverter.TO_SDK_BYTES;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.document.Document;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.core.traits.PayloadTrait;
+import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.protocols.json.internal.MarshallerUtil;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonFactory;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonParser;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonToken;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls a JSON payload directly from the {@link JsonParser} token stream into an {@link SdkPojo}, driven by the
+ * {@link SdkField} metadata of the target shape. Unlike the {@link software.amazon.awssdk.protocols.jsoncore.JsonNode} based
+ * path in {@link JsonProtocolUnmarshaller}, no intermediate tree of the whole document is built, so the peak memory needed to
+ * unmarshall a response is roughly the size of the resulting POJO.
+ *
+ * <p>Non-payload members (headers, status code) are still unmarshalled through the {@link JsonUnmarshallerRegistry}, so the
+ * behavior of this class only differs from the tree based path in how payload members are read.
+ */
+@SdkInternalApi
+@ThreadSafe
+final class JsonStreamingUnmarshaller {
+
+    private final JsonFactory jsonFactory;
+    private final StringToValueConverter.StringToValue<Instant> instantStringToValue;
+
+    /**
+     * Payload members of each POJO type, indexed by the name of the JSON field they are read from. The generated
+     * {@link SdkPojo#sdkFields()} are static per type, so this is bounded by the number of shapes in the service.
+     */
+    private final Map<Class<?>, Map<String, SdkField<?>>> payloadFieldsByShape = new ConcurrentHashMap<>();
+
+    JsonStreamingUnmarshaller(JsonFactory jsonFactory, StringToValueConverter.StringToValue<Instant> instantStringToValue) {
+        this.jsonFactory = jsonFactory;
+        this.instantStringToValue = instantStringToValue;
+    }
+
+    /**
+     * Unmarshall the payload members of the given POJO from the provided content, and all other members using the registry
+     * of the given context.
+     */
+    @SuppressWarnings("unchecked")
+    <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
+                                             InputStream content,
+                                             JsonUnmarshallerContext context) throws IOException {
+        SdkField<?> explicitPayloadMember = null;
+        for (SdkField<?> field : sdkPojo.sdkFields()) {
+            if (!isPayloadMember(field)) {
+                JsonUnmarshaller<Object> unmarshaller = context.getUnmarshaller(field.location(), field.marshallingType());
+                field.set(sdkPojo, unmarshaller.unmarshall(context, null, (SdkField<Object>) field));
+            } else if (isFieldExplicitlyTransferredAsJson(field)) {
+                explicitPayloadMember = field;
+            }
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(content)
+                                            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return (TypeT) ((Buildable) sdkPojo).build();
+            }
+
+            if (explicitPayloadMember != null) {
+                explicitPayloadMember.set(sdkPojo, readValue(parser, token, (SdkField<Object>) explicitPayloadMember));
+                return (TypeT) ((Buildable) sdkPojo).build();
+            }
+
+            return (TypeT) readMembers(parser, token, sdkPojo);
+        }
+    }
+
+    private Object readValue(JsonParser parser, JsonToken token, SdkField<Object> field) throws IOException {
+        MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.DOCUMENT) {
+            return readDocument(parser, token);
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (type == MarshallingType.SDK_POJO) {
+            return readMembers(parser, token, field.constructor().get());
+        }
+        if (type == MarshallingType.LIST) {
+            return readList(parser, token, field);
+        }
+        if (type == MarshallingType.MAP) {
+            return readMap(parser, token, field);
+        }
+        if (type == MarshallingType.SDK_BYTES && token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            // Binary protocols like CBOR may already have the raw bytes extracted.
+            return SdkBytes.fromByteArray((byte[]) parser.getEmbeddedObject());
+        }
+        return readScalar(parser, token, field);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readScalar(JsonParser parser, JsonToken token, SdkField<Object> field) throws IOException {
+        if (token.isStructStart() || token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            // Mirrors the tree based path, where a non-scalar node has no text to convert.
+            parser.skipChildren();
+            return null;
+        }
+
+        String text = parser.getText();
+        MarshallingType<?> type = field.marshallingType();
+        StringToValueConverter.StringToValue<?> converter;
+        if (type == MarshallingType.STRING) {
+            return text;
+        } else if (type == MarshallingType.INTEGER) {
+            converter = StringToValueConverter.TO_INTEGER;
+        } else if (type == MarshallingType.LONG) {
+            converter = StringToValueConverter.TO_LONG;
+        } else if (type == MarshallingType.SHORT) {
+            converter = StringToValueConverter.TO_SHORT;
+        } else if (type == MarshallingType.FLOAT) {
+            converter = StringToValueConverter.TO_FLOAT;
+        } else if (type == MarshallingType.DOUBLE) {
+            converter = StringToValueConverter.TO_DOUBLE;
+        } else if (type == MarshallingType.BIG_DECIMAL) {
+            converter = StringToValueConverter.TO_BIG_DECIMAL;
+        } else if (type == MarshallingType.BOOLEAN) {
+            converter = StringToValueConverter.TO_BOOLEAN;
+        } else if (type == MarshallingType.INSTANT) {
+            converter = instantStringToValue;
+        } else if (type == MarshallingType.SDK_BYTES) {
+            converter = TO_SDK_BYTES;
+        } else {
+            throw SdkClientException.create(String.format("No marshaller/unmarshaller of type %s registered for location %s.",
+                                                          type, MarshallLocation.PAYLOAD.name()));
+        }
+        return ((StringToValueConverter.StringToValue<Object>) converter).convert(text, field);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SdkPojo readMembers(JsonParser parser, JsonToken token, SdkPojo sdkPojo) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            // Mirrors the tree based path, where looking up a member of a non-object node finds nothing.
+            parser.skipChildren();
+            return (SdkPojo) ((Buildable) sdkPojo).build();
+        }
+
+        Map<String, SdkField<?>> payloadFields = payloadFields(sdkPojo);
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            SdkField<?> field = payloadFields.get(parser.getCurrentName());
+            JsonToken valueToken = parser.nextToken();
+            if (field == null) {
+                parser.skipChildren();
+            } else {
+                field.set(sdkPojo, readValue(parser, valueToken, (SdkField<Object>) field));
+            }
+        }
+        return (SdkPojo) ((Buildable) sdkPojo).build();
+    }
+
+    private List<?> readList(JsonParser parser, JsonToken token, SdkField<Object> field) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            throw SdkClientException.create("Expected a JSON array for list member " + field.memberName() + " but was " + token);
+        }
+        SdkField<Object> memberInfo = field.getTrait(ListTrait.class).memberFieldInfo();
+        List<Object> list = new ArrayList<>();
+        JsonToken itemToken;
+        while ((itemToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+            list.add(readValue(parser, itemToken, memberInfo));
+        }
+        return list;
+    }
+
+    private Map<String, ?> readMap(JsonParser parser, JsonToken token, SdkField<Object> field) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw SdkClientException.create("Expected a JSON object for map member " + field.memberName() + " but was " + token);
+        }
+        SdkField<Object> valueInfo = field.getTrait(MapTrait.class).valueFieldInfo();
+        Map<String, Object> map = new HashMap<>();
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            String key = parser.getCurrentName();
+            map.put(key, readValue(parser, parser.nextToken(), valueInfo));
+        }
+        return map;
+    }
+
+    private Document readDocument(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return Document.fromNull();
+            case VALUE_TRUE:
+                return Document.fromBoolean(true);
+            case VALUE_FALSE:
+                return Document.fromBoolean(false);
+            case VALUE_STRING:
+                return Document.fromString(parser.getText());
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return Document.fromNumber(parser.getText());
+            case START_ARRAY:
+                List<Document> list = new ArrayList<>();
+                JsonToken itemToken;
+                while ((itemToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    list.add(readDocument(parser, itemToken));
+                }
+                return Document.fromList(list);
+            case START_OBJECT:
+                Map<String, Document> map = new LinkedHashMap<>();
+                while (parser.nextToken() != JsonToken.END_OBJECT) {
+                    String key = parser.getCurrentName();
+                    map.put(key, readDocument(parser, parser.nextToken()));
+                }
+                return Document.fromMap(map);
+            case VALUE_EMBEDDED_OBJECT:
+                throw new UnsupportedOperationException("Embedded objects are not supported within Document types.");
+            default:
+                throw new IllegalArgumentException("Unexpected JSON token - " + token);
+        }
+    }
+
+    private Map<String, SdkField<?>> payloadFields(SdkPojo sdkPojo) {
+        return payloadFieldsByShape.computeIfAbsent(sdkPojo.getClass(), c -> indexPayloadFields(sdkPojo));
+    }
+
+    private static Map<String, SdkField<?>> indexPayloadFields(SdkPojo sdkPojo) {
+        Map<String, SdkField<?>> result = new HashMap<>();
+        for (SdkField<?> field : sdkPojo.sdkFields()) {
+            if (isPayloadMember(field)) {
+                result.put(field.locationName(), field);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * A member being in the URI on a response is nonsensical; when a member is declared to be somewhere in the URI, it should
+     * be found in the payload on response.
+     */
+    private static boolean isPayloadMember(SdkField<?> field) {
+        return field.location() == MarshallLocation.PAYLOAD || MarshallerUtil.locationInUri(field.location());
+    }
+
+    private static boolean isFieldExplicitlyTransferredAsJson(SdkField<?> field) {
+        return field.containsTrait(PayloadTrait.class) && !MarshallingType.DOCUMENT.equals(field.marshallingType());
+    }
+}
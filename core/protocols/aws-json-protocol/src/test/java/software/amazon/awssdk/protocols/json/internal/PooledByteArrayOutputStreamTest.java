@@ -0,0 +1,74 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.json.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.protocols.json.SdkJsonGenerator;
+import software.amazon.awssdk.protocols.json.StructuredJsonGenerator;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonFactory;
+
+public class PooledByteArrayOutputStreamTest {
+
+    @Test
+    public void toByteArray_returnsExactlySizedContent() {
+        PooledByteArrayOutputStream stream = PooledByteArrayOutputStream.acquire();
+        stream.write(new byte[] {1, 2, 3}, 0, 3);
+
+        assertThat(stream.toByteArray()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void toByteArray_calledTwice_returnsSameContent() {
+        PooledByteArrayOutputStream stream = PooledByteArrayOutputStream.acquire();
+        stream.write(new byte[] {1, 2, 3}, 0, 3);
+
+        byte[] first = stream.toByteArray();
+        byte[] second = stream.toByteArray();
+
+        assertThat(second).isNotSameAs(first).containsExactly(first);
+    }
+
+    @Test
+    public void acquire_afterRelease_doesNotSeePreviousContent() {
+        PooledByteArrayOutputStream first = PooledByteArrayOutputStream.acquire();
+        first.write(new byte[] {1, 2, 3}, 0, 3);
+        byte[] firstContent = first.toByteArray();
+
+        PooledByteArrayOutputStream second = PooledByteArrayOutputStream.acquire();
+        second.write(new byte[] {4}, 0, 1);
+
+        assertThat(second.toByteArray()).containsExactly(4);
+        assertThat(firstContent).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void pooledGenerator_producesSameDocumentAsUnpooled() {
+        JsonFactory factory = new JsonFactory();
+        StructuredJsonGenerator pooled = new SdkJsonGenerator(factory, "application/json", true);
+        StructuredJsonGenerator unpooled = new SdkJsonGenerator(factory, "application/json");
+        for (StructuredJsonGenerator generator : new StructuredJsonGenerator[] {pooled, unpooled}) {
+            generator.writeStartObject().writeFieldName("key").writeValue("value").writeEndObject();
+        }
+
+        byte[] pooledBytes = pooled.getBytes();
+        assertThat(new String(pooledBytes, StandardCharsets.UTF_8)).isEqualTo("{\"key\":\"value\"}");
+        assertThat(pooledBytes).containsExactly(unpooled.getBytes());
+    }
+}
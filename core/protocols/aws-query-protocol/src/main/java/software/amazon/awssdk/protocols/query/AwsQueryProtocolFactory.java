@@ -25,6 +25,7 @@ import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
@@ -88,9 +89,12 @@ public class AwsQueryProtocolFactory {
      * @return New {@link HttpResponseHandler} for success responses.
      */
     public final <T extends AwsResponse> HttpResponseHandler<T> createResponseHandler(Supplier<SdkPojo> pojoSupplier) {
-        return timeUnmarshalling(new AwsQueryResponseHandler<>(QueryProtocolUnmarshaller.builder()
-                                                                                        .hasResultWrapper(!isEc2())
-                                                                                        .build(), r -> pojoSupplier.get()));
+        QueryProtocolUnmarshaller unmarshaller = QueryProtocolUnmarshaller.builder()
+                                                                          .hasResultWrapper(!isEc2())
+                                                                          .enableStreamingUnmarshalling(
+                                                                              isStreamingUnmarshallingEnabled())
+                                                                          .build();
+        return timeUnmarshalling(new AwsQueryResponseHandler<>(unmarshaller, r -> pojoSupplier.get()));
     }
 
     /**
@@ -101,6 +105,11 @@ public class AwsQueryProtocolFactory {
         return errorUnmarshaller;
     }
 
+    private boolean isStreamingUnmarshallingEnabled() {
+        return clientConfiguration != null &&
+               Boolean.TRUE.equals(clientConfiguration.option(SdkAdvancedClientOption.ENABLE_STREAMING_UNMARSHALLING));
+    }
+
     private <T> MetricCollectingHttpResponseHandler<T> timeUnmarshalling(HttpResponseHandler<T> delegate) {
         return MetricCollectingHttpResponseHandler.create(CoreMetric.UNMARSHALLING_DURATION, delegate);
     }
@@ -19,13 +19,17 @@ import static software.amazon.awssdk.awscore.util.AwsHeader.AWS_REQUEST_ID;
 import static software.amazon.awssdk.protocols.query.internal.marshall.SimpleTypeQueryMarshaller.defaultTimestampFormats;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.core.SdkField;
 import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.protocol.MarshallingType;
 import software.amazon.awssdk.core.traits.PayloadTrait;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
@@ -34,6 +38,7 @@ import software.amazon.awssdk.protocols.core.StringToValueConverter;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlDomParser;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlElement;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlErrorUnmarshaller;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlStreamingUnmarshaller;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.Pair;
@@ -65,10 +70,17 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
             context.protocolUnmarshaller().unmarshall(context, field.constructor().get(), content.get(0)))
         .build();
 
+    private static final XmlStreamingUnmarshaller STREAMING_UNMARSHALLER =
+        XmlStreamingUnmarshaller.builder()
+                                .instantStringToValue(StringToInstant.create(defaultTimestampFormats()))
+                                .build();
+
     private final boolean hasResultWrapper;
+    private final boolean enableStreamingUnmarshalling;
 
     private QueryProtocolUnmarshaller(Builder builder) {
         this.hasResultWrapper = builder.hasResultWrapper;
+        this.enableStreamingUnmarshalling = builder.enableStreamingUnmarshalling;
     }
 
     public <TypeT extends SdkPojo> Pair<TypeT, Map<String, String>> unmarshall(SdkPojo sdkPojo,
@@ -82,11 +94,66 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
             return Pair.of(unmarshall(sdkPojo, document, response), new HashMap<>());
         }
 
+        if (enableStreamingUnmarshalling) {
+            if (!response.content().isPresent()) {
+                return Pair.of((TypeT) ((Buildable) sdkPojo).build(), new HashMap<>());
+            }
+            return unmarshallStreaming(sdkPojo, response.content().get());
+        }
+
         XmlElement document = response.content().map(XmlDomParser::parse).orElseGet(XmlElement::empty);
         XmlElement resultRoot = hasResultWrapper ? document.getFirstChild() : document;
         return Pair.of(unmarshall(sdkPojo, resultRoot, response), parseMetadata(document));
     }
 
+    /**
+     * Unmarshalls the result and response metadata directly from the XML event stream, without building an {@link XmlElement}
+     * tree of the document first.
+     */
+    @SuppressWarnings("unchecked")
+    private <TypeT extends SdkPojo> Pair<TypeT, Map<String, String>> unmarshallStreaming(SdkPojo sdkPojo,
+                                                                                         InputStream content) {
+        Map<String, String> metadata = new HashMap<>();
+        XMLStreamReader reader = XmlStreamingUnmarshaller.createReader(content);
+        if (reader == null) {
+            return Pair.of((TypeT) ((Buildable) sdkPojo).build(), metadata);
+        }
+
+        try {
+            SdkPojo result = null;
+            if (hasResultWrapper) {
+                while (XmlStreamingUnmarshaller.nextChildElement(reader)) {
+                    if (result == null) {
+                        result = STREAMING_UNMARSHALLER.unmarshall(reader, sdkPojo, XmlStreamingUnmarshaller::skipElement);
+                    } else {
+                        parseMetadata(reader, metadata);
+                    }
+                }
+            } else {
+                result = STREAMING_UNMARSHALLER.unmarshall(reader, sdkPojo, r -> parseMetadata(r, metadata));
+            }
+            return Pair.of((TypeT) (result != null ? result : ((Buildable) sdkPojo).build()), metadata);
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        } finally {
+            invokeSafely(reader::close);
+        }
+    }
+
+    private void parseMetadata(XMLStreamReader reader, Map<String, String> metadata) throws XMLStreamException {
+        String elementName = reader.getLocalName();
+        if ("ResponseMetadata".equals(elementName)) {
+            while (XmlStreamingUnmarshaller.nextChildElement(reader)) {
+                String key = metadataKeyName(reader.getLocalName());
+                metadata.put(key, XmlStreamingUnmarshaller.readText(reader));
+            }
+        } else if ("requestId".equals(elementName)) {
+            metadata.put(AWS_REQUEST_ID, XmlStreamingUnmarshaller.readText(reader));
+        } else {
+            XmlStreamingUnmarshaller.skipElement(reader);
+        }
+    }
+
     private boolean responsePayloadIsBlob(SdkPojo sdkPojo) {
         return sdkPojo.sdkFields().stream()
                       .anyMatch(field -> field.marshallingType() == MarshallingType.SDK_BYTES &&
@@ -112,7 +179,7 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
         XmlElement responseMetadata = document.getElementByName("ResponseMetadata");
         Map<String, String> metadata = new HashMap<>();
         if (responseMetadata != null) {
-            responseMetadata.children().forEach(c -> metadata.put(metadataKeyName(c), c.textContent()));
+            responseMetadata.children().forEach(c -> metadata.put(metadataKeyName(c.elementName()), c.textContent()));
         }
         XmlElement requestId = document.getElementByName("requestId");
         if (requestId != null) {
@@ -121,8 +188,8 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
         return metadata;
     }
 
-    private String metadataKeyName(XmlElement c) {
-        return c.elementName().equals("RequestId") ? AWS_REQUEST_ID : c.elementName();
+    private String metadataKeyName(String elementName) {
+        return elementName.equals("RequestId") ? AWS_REQUEST_ID : elementName;
     }
 
     private SdkPojo unmarshall(QueryUnmarshallerContext context, SdkPojo sdkPojo, XmlElement root) {
@@ -158,6 +225,7 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
     public static final class Builder {
 
         private boolean hasResultWrapper;
+        private boolean enableStreamingUnmarshalling;
 
         private Builder() {
         }
@@ -207,6 +275,16 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
             return this;
         }
 
+        /**
+         * @param enableStreamingUnmarshalling True if successful responses should be unmarshalled directly from the XML event
+         * stream instead of being parsed into an {@link XmlElement} tree first.
+         * @return This builder for method chaining.
+         */
+        public Builder enableStreamingUnmarshalling(boolean enableStreamingUnmarshalling) {
+            this.enableStreamingUnmarshalling = enableStreamingUnmarshalling;
+            return this;
+        }
+
         /**
          * @return New instance of {@link QueryProtocolUnmarshaller}.
          */
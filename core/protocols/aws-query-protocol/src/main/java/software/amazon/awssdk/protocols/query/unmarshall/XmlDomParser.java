@@ -22,7 +22,9 @@ import java.util.Iterator;
 import java.util.Map;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
@@ -60,6 +62,60 @@ public final class XmlDomParser {
         }
     }
 
+    /**
+     * Parse the element the provided reader is positioned at, and any nested elements, into an {@link XmlElement}. The reader
+     * is left at the end of the element. This allows callers that are otherwise streaming a document to fall back to a DOM
+     * for part of it.
+     *
+     * @param reader Reader positioned at the start of an element.
+     * @return Parsed {@link XmlElement}.
+     */
+    public static XmlElement parse(XMLStreamReader reader) {
+        try {
+            return parseElement(reader);
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        }
+    }
+
+    private static XmlElement parseElement(XMLStreamReader reader) throws XMLStreamException {
+        XmlElement.Builder elementBuilder = XmlElement.builder()
+                                                      .elementName(reader.getLocalName());
+
+        if (reader.getAttributeCount() > 0) {
+            Map<String, String> attributes = new HashMap<>();
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String key = reader.getAttributePrefix(i) + ":" + reader.getAttributeLocalName(i);
+                attributes.put(key, reader.getAttributeValue(i));
+            }
+            elementBuilder.attributes(attributes);
+        }
+
+        int event;
+        do {
+            event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                elementBuilder.addChildElement(parseElement(reader));
+            } else if (isCharacters(event)) {
+                StringBuilder text = new StringBuilder(reader.getText());
+                event = reader.next();
+                while (isCharacters(event)) {
+                    text.append(reader.getText());
+                    event = reader.next();
+                }
+                elementBuilder.textContent(text.toString());
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    elementBuilder.addChildElement(parseElement(reader));
+                }
+            }
+        } while (event != XMLStreamConstants.END_ELEMENT);
+        return elementBuilder.build();
+    }
+
+    private static boolean isCharacters(int event) {
+        return event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE;
+    }
+
     /**
      * Parse an XML elemnt and any nested elements by recursively calling this method.
      *
@@ -122,6 +178,13 @@ public final class XmlDomParser {
         }
     }
 
+    /**
+     * @return The XML input factory for the current thread, shared with {@link XmlStreamingUnmarshaller}.
+     */
+    static XMLInputFactory inputFactory() {
+        return FACTORY.get();
+    }
+
     /**
      * Disables certain dangerous features that attempt to automatically fetch DTDs
      *
@@ -0,0 +1,464 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocols.query.unmarshall;
+
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.core.traits.XmlAttributeTrait;
+import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.utils.Either;
+import software.amazon.awssdk.utils.LookaheadInputStream;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls XML payloads directly from a {@link XMLStreamReader} into {@link SdkPojo}s, driven by the {@link SdkField}
+ * metadata of the target shape. Unlike {@link XmlDomParser}, no {@link XmlElement} tree is built for the document, so each
+ * element is only held in memory for as long as it takes to convert it into its member value.
+ *
+ * <p>Only payload members are handled by this class. Members bound to other locations (headers, status code) and the
+ * location of the result within the document are the responsibility of the protocol specific caller.
+ *
+ * <p>This is created using {@link #builder()}.
+ */
+@SdkProtectedApi
+@ThreadSafe
+public final class XmlStreamingUnmarshaller {
+
+    private static final String MAP_ENTRY_ELEMENT_NAME = "entry";
+
+    private final StringToValueConverter.StringToValue<Instant> instantStringToValue;
+    private final boolean matchListMembersByName;
+    private final boolean unmarshallAttributes;
+
+    /**
+     * Payload members of each POJO type, indexed by the name of the XML element or attribute they are read from. The
+     * generated {@link SdkPojo#sdkFields()} are static per type, so this is bounded by the number of shapes in the service.
+     */
+    private final Map<Class<?>, ShapeMembers> membersByShape = new ConcurrentHashMap<>();
+
+    private XmlStreamingUnmarshaller(Builder builder) {
+        this.instantStringToValue = builder.instantStringToValue;
+        this.matchListMembersByName = builder.matchListMembersByName;
+        this.unmarshallAttributes = builder.unmarshallAttributes;
+    }
+
+    /**
+     * Create a reader over the provided content, positioned at the start of the root element of the document.
+     *
+     * @return The reader, or null if the content is empty.
+     */
+    public static XMLStreamReader createReader(InputStream content) {
+        LookaheadInputStream stream = new LookaheadInputStream(content);
+        try {
+            if (stream.peek() == -1) {
+                return null;
+            }
+            XMLStreamReader reader = XmlDomParser.inputFactory().createXMLStreamReader(stream);
+            while (reader.hasNext() && reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+                reader.next();
+            }
+            return reader.getEventType() == XMLStreamConstants.START_ELEMENT ? reader : null;
+        } catch (IOException | XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        }
+    }
+
+    /**
+     * Advance the reader to the next direct child of the element the reader is currently in.
+     *
+     * @return True if the reader is positioned at the start of a child element, false if the end of the current element was
+     * reached instead.
+     */
+    public static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the text content of the element the reader is positioned at, skipping any nested elements. The reader is left at
+     * the end of the element.
+     */
+    public static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = null;
+        String firstChunk = "";
+        while (reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (text != null) {
+                        text.append(reader.getText());
+                    } else if (firstChunk.isEmpty()) {
+                        firstChunk = reader.getText();
+                    } else {
+                        text = new StringBuilder(firstChunk).append(reader.getText());
+                    }
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    skipElement(reader);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return text != null ? text.toString() : firstChunk;
+                default:
+                    break;
+            }
+        }
+        return text != null ? text.toString() : firstChunk;
+    }
+
+    /**
+     * Skip the element the reader is positioned at, including all of its children. The reader is left at the end of the
+     * element.
+     */
+    public static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Unmarshall the payload members of the given POJO from a whole XML document, using the root element as the element
+     * containing the members.
+     *
+     * @param content The XML document.
+     * @param sdkPojo Builder of the POJO to unmarshall into.
+     * @param explicitPayloadMember If not null, the member bound to the whole root element instead of to a child of it.
+     * @param errorRootElementName If not null and the root element has this name, the document is a serialized error and is
+     * parsed into an {@link XmlElement} instead of being unmarshalled.
+     * @return Either the built POJO, or the parsed error document.
+     */
+    public Either<SdkPojo, XmlElement> unmarshallDocument(InputStream content,
+                                                          SdkPojo sdkPojo,
+                                                          SdkField<Object> explicitPayloadMember,
+                                                          String errorRootElementName) {
+        XMLStreamReader reader = createReader(content);
+        if (reader == null) {
+            return Either.left((SdkPojo) ((Buildable) sdkPojo).build());
+        }
+
+        try {
+            if (errorRootElementName != null && errorRootElementName.equals(reader.getLocalName())) {
+                return Either.right(XmlDomParser.parse(reader));
+            }
+            if (explicitPayloadMember != null) {
+                explicitPayloadMember.set(sdkPojo, unmarshallValue(reader, explicitPayloadMember));
+                return Either.left((SdkPojo) ((Buildable) sdkPojo).build());
+            }
+            return Either.left(unmarshall(reader, sdkPojo, XmlStreamingUnmarshaller::skipElement));
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        } finally {
+            invokeSafely(reader::close);
+        }
+    }
+
+    /**
+     * Unmarshall the payload members of the given POJO from the element the reader is positioned at. The reader is left at
+     * the end of the element.
+     *
+     * @param reader Reader positioned at the start of the element containing the members of the POJO.
+     * @param sdkPojo Builder of the POJO to unmarshall into.
+     * @param unmatchedElementHandler Handler for child elements that are not modeled members of the POJO.
+     * @return The built POJO.
+     */
+    public SdkPojo unmarshall(XMLStreamReader reader,
+                              SdkPojo sdkPojo,
+                              UnmatchedElementHandler unmatchedElementHandler) throws XMLStreamException {
+        ShapeMembers members = membersByShape.computeIfAbsent(sdkPojo.getClass(), c -> new ShapeMembers(sdkPojo));
+
+        if (unmarshallAttributes && !members.attributes.isEmpty()) {
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String name = reader.getAttributePrefix(i) + ":" + reader.getAttributeLocalName(i);
+                SdkField<?> field = members.attributes.get(name);
+                if (field != null) {
+                    field.set(sdkPojo, reader.getAttributeValue(i));
+                }
+            }
+        }
+
+        Map<SdkField<?>, Object> flattenedMembers = null;
+        while (nextChildElement(reader)) {
+            SdkField<Object> field = members.elements.get(reader.getLocalName());
+            if (field == null) {
+                unmatchedElementHandler.handle(reader);
+            } else if (isFlattened(field)) {
+                if (flattenedMembers == null) {
+                    flattenedMembers = new IdentityHashMap<>();
+                }
+                readFlattenedMember(reader, field, flattenedMembers);
+            } else {
+                field.set(sdkPojo, unmarshallValue(reader, field));
+            }
+        }
+
+        if (flattenedMembers != null) {
+            flattenedMembers.forEach((field, value) -> field.set(sdkPojo, value));
+        }
+        return (SdkPojo) ((Buildable) sdkPojo).build();
+    }
+
+    /**
+     * Unmarshall the value of a single member from the element the reader is positioned at. The reader is left at the end of
+     * the element.
+     *
+     * @param reader Reader positioned at the start of the element containing the member value.
+     * @param field The member to unmarshall.
+     * @return The unmarshalled value.
+     */
+    public Object unmarshallValue(XMLStreamReader reader, SdkField<Object> field) throws XMLStreamException {
+        MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.SDK_POJO) {
+            return unmarshall(reader, field.constructor().get(), XmlStreamingUnmarshaller::skipElement);
+        }
+        if (type == MarshallingType.LIST) {
+            return readList(reader, field);
+        }
+        if (type == MarshallingType.MAP) {
+            return readMap(reader, field);
+        }
+        return convert(readText(reader), field);
+    }
+
+    private List<Object> readList(XMLStreamReader reader, SdkField<Object> field) throws XMLStreamException {
+        ListTrait listTrait = field.getTrait(ListTrait.class);
+        SdkField<Object> memberInfo = listTrait.memberFieldInfo();
+        String memberLocation = listTrait.memberLocationName() != null ? listTrait.memberLocationName()
+                                                                       : memberInfo.locationName();
+        List<Object> list = new ArrayList<>();
+        while (nextChildElement(reader)) {
+            if (!matchListMembersByName || memberLocation.equals(reader.getLocalName())) {
+                list.add(unmarshallValue(reader, memberInfo));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return list;
+    }
+
+    private Map<String, Object> readMap(XMLStreamReader reader, SdkField<Object> field) throws XMLStreamException {
+        MapTrait mapTrait = field.getTrait(MapTrait.class);
+        Map<String, Object> map = new HashMap<>();
+        while (nextChildElement(reader)) {
+            if (MAP_ENTRY_ELEMENT_NAME.equals(reader.getLocalName())) {
+                readMapEntry(reader, mapTrait, map);
+            } else {
+                skipElement(reader);
+            }
+        }
+        return map;
+    }
+
+    private void readMapEntry(XMLStreamReader reader, MapTrait mapTrait, Map<String, Object> map) throws XMLStreamException {
+        String key = null;
+        Object value = null;
+        while (nextChildElement(reader)) {
+            String name = reader.getLocalName();
+            if (name.equals(mapTrait.keyLocationName())) {
+                key = readText(reader);
+            } else if (name.equals(mapTrait.valueLocationName())) {
+                value = unmarshallValue(reader, mapTrait.valueFieldInfo());
+            } else {
+                skipElement(reader);
+            }
+        }
+        map.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readFlattenedMember(XMLStreamReader reader,
+                                     SdkField<Object> field,
+                                     Map<SdkField<?>, Object> flattenedMembers) throws XMLStreamException {
+        MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.LIST) {
+            List<Object> list = (List<Object>) flattenedMembers.computeIfAbsent(field, f -> new ArrayList<>());
+            list.add(unmarshallValue(reader, field.getTrait(ListTrait.class).memberFieldInfo()));
+        } else {
+            Map<String, Object> map = (Map<String, Object>) flattenedMembers.computeIfAbsent(field, f -> new HashMap<>());
+            readMapEntry(reader, field.getTrait(MapTrait.class), map);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object convert(String text, SdkField<Object> field) {
+        MarshallingType<?> type = field.marshallingType();
+        StringToValueConverter.StringToValue<?> converter;
+        if (type == MarshallingType.STRING) {
+            return text;
+        } else if (type == MarshallingType.INTEGER) {
+            converter = StringToValueConverter.TO_INTEGER;
+        } else if (type == MarshallingType.LONG) {
+            converter = StringToValueConverter.TO_LONG;
+        } else if (type == MarshallingType.SHORT) {
+            converter = StringToValueConverter.TO_SHORT;
+        } else if (type == MarshallingType.FLOAT) {
+            converter = StringToValueConverter.TO_FLOAT;
+        } else if (type == MarshallingType.DOUBLE) {
+            converter = StringToValueConverter.TO_DOUBLE;
+        } else if (type == MarshallingType.BIG_DECIMAL) {
+            converter = StringToValueConverter.TO_BIG_DECIMAL;
+        } else if (type == MarshallingType.BOOLEAN) {
+            converter = StringToValueConverter.TO_BOOLEAN;
+        } else if (type == MarshallingType.INSTANT) {
+            converter = instantStringToValue;
+        } else if (type == MarshallingType.SDK_BYTES) {
+            converter = StringToValueConverter.TO_SDK_BYTES;
+        } else {
+            throw SdkClientException.create(String.format("No marshaller/unmarshaller of type %s registered for location %s.",
+                                                          type, MarshallLocation.PAYLOAD.name()));
+        }
+        return ((StringToValueConverter.StringToValue<Object>) converter).convert(text, field);
+    }
+
+    private static boolean isFlattened(SdkField<?> field) {
+        if (field.marshallingType() == MarshallingType.LIST) {
+            return field.getTrait(ListTrait.class).isFlattened();
+        }
+        if (field.marshallingType() == MarshallingType.MAP) {
+            return field.getTrait(MapTrait.class).isFlattened();
+        }
+        return false;
+    }
+
+    /**
+     * @return New {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Handles a child element that does not map to a member of the POJO being unmarshalled.
+     */
+    @FunctionalInterface
+    public interface UnmatchedElementHandler {
+
+        /**
+         * Handle the element the reader is positioned at. Implementations must leave the reader at the end of the element,
+         * for example by calling {@link #skipElement(XMLStreamReader)}.
+         */
+        void handle(XMLStreamReader reader) throws XMLStreamException;
+    }
+
+    /**
+     * The payload members of a single POJO type.
+     */
+    private static final class ShapeMembers {
+        private final Map<String, SdkField<Object>> elements = new HashMap<>();
+        private final Map<String, SdkField<Object>> attributes = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private ShapeMembers(SdkPojo sdkPojo) {
+            for (SdkField<?> field : sdkPojo.sdkFields()) {
+                if (field.location() != MarshallLocation.PAYLOAD) {
+                    continue;
+                }
+                if (field.containsTrait(XmlAttributeTrait.class)) {
+                    attributes.put(field.unmarshallLocationName(), (SdkField<Object>) field);
+                } else {
+                    // Some EC2 shapes bind more than one member to the same element name. Each element can only be read
+                    // once, so a flattened member (which is the only one that can hold repeated elements) wins.
+                    elements.merge(field.unmarshallLocationName(), (SdkField<Object>) field,
+                                   (existing, added) -> !isFlattened(existing) && isFlattened(added) ? added : existing);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link XmlStreamingUnmarshaller}.
+     */
+    public static final class Builder {
+
+        private StringToValueConverter.StringToValue<Instant> instantStringToValue;
+        private boolean matchListMembersByName;
+        private boolean unmarshallAttributes;
+
+        private Builder() {
+        }
+
+        /**
+         * @param instantStringToValue Converter used for timestamp members.
+         * @return This builder for method chaining.
+         */
+        public Builder instantStringToValue(StringToValueConverter.StringToValue<Instant> instantStringToValue) {
+            this.instantStringToValue = instantStringToValue;
+            return this;
+        }
+
+        /**
+         * @param matchListMembersByName True if only the children of a non-flattened list element that match the modeled
+         * member name are list members. When false, all direct children are treated as list members.
+         * @return This builder for method chaining.
+         */
+        public Builder matchListMembersByName(boolean matchListMembersByName) {
+            this.matchListMembersByName = matchListMembersByName;
+            return this;
+        }
+
+        /**
+         * @param unmarshallAttributes True if members modeled with {@link XmlAttributeTrait} should be read from the
+         * attributes of the element.
+         * @return This builder for method chaining.
+         */
+        public Builder unmarshallAttributes(boolean unmarshallAttributes) {
+            this.unmarshallAttributes = unmarshallAttributes;
+            return this;
+        }
+
+        /**
+         * @return New instance of {@link XmlStreamingUnmarshaller}.
+         */
+        public XmlStreamingUnmarshaller build() {
+            return new XmlStreamingUnmarshaller(this);
+        }
+    }
+}
@@ -79,6 +79,7 @@ public final class AwsS3ProtocolFactory extends AwsXmlProtocolFactory {
                                                      createResponseTransformer(pojoSupplier),
                                                      createErrorTransformer(),
                                                      DecorateErrorFromResponseBodyUnmarshaller.of(this::getErrorRoot),
-                                                     staxOperationMetadata.isHasStreamingSuccessResponse());
+                                                     staxOperationMetadata.isHasStreamingSuccessResponse(),
+                                                     xmlProtocolUnmarshaller());
     }
 }
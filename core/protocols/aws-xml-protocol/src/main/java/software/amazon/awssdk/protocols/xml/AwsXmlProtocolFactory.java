@@ -27,6 +27,7 @@ import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.Response;
 import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
@@ -72,23 +73,23 @@ public class AwsXmlProtocolFactory {
     public static final OperationMetadataAttribute<String> ROOT_MARSHALL_LOCATION_ATTRIBUTE =
         new OperationMetadataAttribute<>(String.class);
 
-    private static final XmlProtocolUnmarshaller XML_PROTOCOL_UNMARSHALLER = XmlProtocolUnmarshaller.create();
-
     private final List<ExceptionMetadata> modeledExceptions;
     private final Supplier<SdkPojo> defaultServiceExceptionSupplier;
     private final HttpResponseHandler<AwsServiceException> errorUnmarshaller;
     private final SdkClientConfiguration clientConfiguration;
+    private final XmlProtocolUnmarshaller xmlProtocolUnmarshaller;
 
     AwsXmlProtocolFactory(Builder<?> builder) {
         this.modeledExceptions = unmodifiableList(builder.modeledExceptions);
         this.defaultServiceExceptionSupplier = builder.defaultServiceExceptionSupplier;
         this.clientConfiguration = builder.clientConfiguration;
+        this.xmlProtocolUnmarshaller = XmlProtocolUnmarshaller.create(isStreamingUnmarshallingEnabled(clientConfiguration));
 
         this.errorUnmarshaller = timeUnmarshalling(
             AwsXmlErrorProtocolUnmarshaller.builder()
                                            .defaultExceptionSupplier(defaultServiceExceptionSupplier)
                                            .exceptions(modeledExceptions)
-                                           .errorUnmarshaller(XML_PROTOCOL_UNMARSHALLER)
+                                           .errorUnmarshaller(xmlProtocolUnmarshaller)
                                            .errorRootExtractor(this::getErrorRoot)
                                            .build());
     }
@@ -116,7 +117,7 @@ public class AwsXmlProtocolFactory {
         return timeUnmarshalling(
             new AwsXmlResponseHandler<>(
                 new XmlResponseHandler<>(
-                    XML_PROTOCOL_UNMARSHALLER, pojoSupplier,
+                    xmlProtocolUnmarshaller, pojoSupplier,
                     staxOperationMetadata.isHasStreamingSuccessResponse())));
     }
 
@@ -124,14 +125,14 @@ public class AwsXmlProtocolFactory {
         Supplier<SdkPojo> pojoSupplier) {
 
         return new AwsXmlResponseTransformer<>(
-            XML_PROTOCOL_UNMARSHALLER, r -> pojoSupplier.get());
+            xmlProtocolUnmarshaller, r -> pojoSupplier.get());
     }
 
     protected Function<AwsXmlUnmarshallingContext, AwsServiceException> createErrorTransformer() {
         return AwsXmlErrorTransformer.builder()
                                      .defaultExceptionSupplier(defaultServiceExceptionSupplier)
                                      .exceptions(modeledExceptions)
-                                     .errorUnmarshaller(XML_PROTOCOL_UNMARSHALLER)
+                                     .errorUnmarshaller(xmlProtocolUnmarshaller)
                                      .build();
     }
 
@@ -139,6 +140,15 @@ public class AwsXmlProtocolFactory {
         return errorUnmarshaller;
     }
 
+    XmlProtocolUnmarshaller xmlProtocolUnmarshaller() {
+        return xmlProtocolUnmarshaller;
+    }
+
+    private static boolean isStreamingUnmarshallingEnabled(SdkClientConfiguration clientConfiguration) {
+        return clientConfiguration != null &&
+               Boolean.TRUE.equals(clientConfiguration.option(SdkAdvancedClientOption.ENABLE_STREAMING_UNMARSHALLING));
+    }
+
     private <T> MetricCollectingHttpResponseHandler<T> timeUnmarshalling(HttpResponseHandler<T> delegate) {
         return MetricCollectingHttpResponseHandler.create(CoreMetric.UNMARSHALLING_DURATION, delegate);
     }
@@ -49,6 +49,7 @@ public class AwsXmlPredicatedResponseHandler<OutputT> implements HttpResponseHan
     private final Function<AwsXmlUnmarshallingContext, ? extends SdkException> errorResponseTransformer;
     private final Function<AwsXmlUnmarshallingContext, AwsXmlUnmarshallingContext> decorateContextWithError;
     private final boolean needsConnectionLeftOpen;
+    private final XmlProtocolUnmarshaller streamingUnmarshaller;
 
     /**
      * Standard constructor
@@ -65,11 +66,34 @@ public class AwsXmlPredicatedResponseHandler<OutputT> implements HttpResponseHan
         Function<AwsXmlUnmarshallingContext, AwsXmlUnmarshallingContext> decorateContextWithError,
         boolean needsConnectionLeftOpen) {
 
+        this(pojoSupplier, successResponseTransformer, errorResponseTransformer, decorateContextWithError,
+             needsConnectionLeftOpen, null);
+    }
+
+    /**
+     * Constructor that allows successful responses to be unmarshalled while the body is being read.
+     * @param pojoSupplier A method that supplies an empty builder of the correct type
+     * @param successResponseTransformer A function that can unmarshall a response object from parsed XML
+     * @param errorResponseTransformer A function that can unmarshall an exception object from parsed XML
+     * @param decorateContextWithError A function that determines if the response was an error or not
+     * @param needsConnectionLeftOpen true if the underlying connection should not be closed once parsed
+     * @param streamingUnmarshaller The unmarshaller used to unmarshall successful responses directly from the XML event
+     *                              stream if it has streaming unmarshalling enabled, or null to always parse the XML first
+     */
+    public AwsXmlPredicatedResponseHandler(
+        Function<SdkHttpFullResponse, SdkPojo> pojoSupplier,
+        Function<AwsXmlUnmarshallingContext, OutputT> successResponseTransformer,
+        Function<AwsXmlUnmarshallingContext, ? extends SdkException> errorResponseTransformer,
+        Function<AwsXmlUnmarshallingContext, AwsXmlUnmarshallingContext> decorateContextWithError,
+        boolean needsConnectionLeftOpen,
+        XmlProtocolUnmarshaller streamingUnmarshaller) {
+
         this.pojoSupplier = pojoSupplier;
         this.successResponseTransformer = successResponseTransformer;
         this.errorResponseTransformer = errorResponseTransformer;
         this.decorateContextWithError = decorateContextWithError;
         this.needsConnectionLeftOpen = needsConnectionLeftOpen;
+        this.streamingUnmarshaller = streamingUnmarshaller;
     }
 
     /**
@@ -113,13 +137,21 @@ public class AwsXmlPredicatedResponseHandler<OutputT> implements HttpResponseHan
 
     private AwsXmlUnmarshallingContext parseResponse(SdkHttpFullResponse httpFullResponse,
                                                      ExecutionAttributes executionAttributes) {
-        XmlElement document = XmlResponseParserUtils.parse(pojoSupplier.apply(httpFullResponse), httpFullResponse);
+        SdkPojo sdkPojo = pojoSupplier.apply(httpFullResponse);
+        AwsXmlUnmarshallingContext.Builder context = AwsXmlUnmarshallingContext.builder()
+                                                                               .executionAttributes(executionAttributes)
+                                                                               .sdkHttpFullResponse(httpFullResponse);
+
+        if (streamingUnmarshaller != null && streamingUnmarshaller.canUnmarshallStreaming(sdkPojo, httpFullResponse)) {
+            // A serialized error in the body of a successful response is parsed so the error decorator can find it
+            return streamingUnmarshaller.unmarshallStreaming(sdkPojo, httpFullResponse, true)
+                                        .map(pojo -> context.parsedXml(XmlElement.empty()).unmarshalledResponse(pojo),
+                                             error -> context.parsedXml(error))
+                                        .build();
+        }
 
-        return AwsXmlUnmarshallingContext.builder()
-                                         .parsedXml(document)
-                                         .executionAttributes(executionAttributes)
-                                         .sdkHttpFullResponse(httpFullResponse)
-                                         .build();
+        XmlElement document = XmlResponseParserUtils.parse(sdkPojo, httpFullResponse);
+        return context.parsedXml(document).build();
     }
 
     /**
@@ -51,14 +51,19 @@ public final class AwsXmlResponseTransformer<T extends AwsResponse>
 
     @Override
     public T apply(AwsXmlUnmarshallingContext context) {
-        return unmarshallResponse(context.sdkHttpFullResponse(), context.parsedRootXml());
+        return unmarshallResponse(context.sdkHttpFullResponse(), context.parsedRootXml(), context.unmarshalledResponse());
     }
 
     @SuppressWarnings("unchecked")
-    private T unmarshallResponse(SdkHttpFullResponse response, XmlElement parsedXml) {
-        SdkStandardLogger.REQUEST_LOGGER.trace(() -> "Unmarshalling parsed service response XML.");
-        T result = unmarshaller.unmarshall(pojoSupplier.apply(response), parsedXml, response);
-        SdkStandardLogger.REQUEST_LOGGER.trace(() -> "Done unmarshalling parsed service response.");
+    private T unmarshallResponse(SdkHttpFullResponse response, XmlElement parsedXml, SdkPojo unmarshalledResponse) {
+        T result;
+        if (unmarshalledResponse != null) {
+            result = (T) unmarshalledResponse;
+        } else {
+            SdkStandardLogger.REQUEST_LOGGER.trace(() -> "Unmarshalling parsed service response XML.");
+            result = unmarshaller.unmarshall(pojoSupplier.apply(response), parsedXml, response);
+            SdkStandardLogger.REQUEST_LOGGER.trace(() -> "Done unmarshalling parsed service response.");
+        }
         AwsResponseMetadata responseMetadata = generateResponseMetadata(response);
         return (T) result.toBuilder().responseMetadata(responseMetadata).build();
     }
@@ -16,6 +16,7 @@
 package software.amazon.awssdk.protocols.xml.internal.unmarshall;
 
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkPojo;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlElement;
@@ -31,6 +32,7 @@ public class AwsXmlUnmarshallingContext {
     private final ExecutionAttributes executionAttributes;
     private final Boolean isResponseSuccess;
     private final XmlElement parsedErrorXml;
+    private final SdkPojo unmarshalledResponse;
 
     private AwsXmlUnmarshallingContext(Builder builder) {
         this.sdkHttpFullResponse = builder.sdkHttpFullResponse;
@@ -38,6 +40,7 @@ public class AwsXmlUnmarshallingContext {
         this.executionAttributes = builder.executionAttributes;
         this.isResponseSuccess = builder.isResponseSuccess;
         this.parsedErrorXml = builder.parsedErrorXml;
+        this.unmarshalledResponse = builder.unmarshalledResponse;
     }
 
     public static Builder builder() {
@@ -79,12 +82,21 @@ public class AwsXmlUnmarshallingContext {
         return parsedErrorXml;
     }
 
+    /**
+     * The response POJO if it was already unmarshalled while the body was being read, or null if it is to be unmarshalled from
+     * {@link #parsedRootXml()}.
+     */
+    public SdkPojo unmarshalledResponse() {
+        return unmarshalledResponse;
+    }
+
     public Builder toBuilder() {
         return builder().sdkHttpFullResponse(this.sdkHttpFullResponse)
                         .parsedXml(this.parsedXml)
                         .executionAttributes(this.executionAttributes)
                         .isResponseSuccess(this.isResponseSuccess)
-                        .parsedErrorXml(this.parsedErrorXml);
+                        .parsedErrorXml(this.parsedErrorXml)
+                        .unmarshalledResponse(this.unmarshalledResponse);
     }
 
     @Override
@@ -113,7 +125,11 @@ public class AwsXmlUnmarshallingContext {
             that.isResponseSuccess != null) {
             return false;
         }
-        return parsedErrorXml != null ? parsedErrorXml.equals(that.parsedErrorXml) : that.parsedErrorXml == null;
+        if (parsedErrorXml != null ? ! parsedErrorXml.equals(that.parsedErrorXml) : that.parsedErrorXml != null) {
+            return false;
+        }
+        return unmarshalledResponse != null ? unmarshalledResponse.equals(that.unmarshalledResponse) :
+               that.unmarshalledResponse == null;
     }
 
     @Override
@@ -123,6 +139,7 @@ public class AwsXmlUnmarshallingContext {
         result = 31 * result + (executionAttributes != null ? executionAttributes.hashCode() : 0);
         result = 31 * result + (isResponseSuccess != null ? isResponseSuccess.hashCode() : 0);
         result = 31 * result + (parsedErrorXml != null ? parsedErrorXml.hashCode() : 0);
+        result = 31 * result + (unmarshalledResponse != null ? unmarshalledResponse.hashCode() : 0);
         return result;
     }
 
@@ -132,6 +149,7 @@ public class AwsXmlUnmarshallingContext {
         private ExecutionAttributes executionAttributes;
         private Boolean isResponseSuccess;
         private XmlElement parsedErrorXml;
+        private SdkPojo unmarshalledResponse;
 
         private Builder() {
         }
@@ -161,6 +179,11 @@ public class AwsXmlUnmarshallingContext {
             return this;
         }
 
+        public Builder unmarshalledResponse(SdkPojo unmarshalledResponse) {
+            this.unmarshalledResponse = unmarshalledResponse;
+            return this;
+        }
+
         public AwsXmlUnmarshallingContext build() {
             return new AwsXmlUnmarshallingContext(this);
         }
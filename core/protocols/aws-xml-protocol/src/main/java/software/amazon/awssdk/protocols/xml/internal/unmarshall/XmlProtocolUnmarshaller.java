@@ -38,7 +38,9 @@ import software.amazon.awssdk.protocols.core.StringToInstant;
 import software.amazon.awssdk.protocols.core.StringToValueConverter;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlElement;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlErrorUnmarshaller;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlStreamingUnmarshaller;
 import software.amazon.awssdk.utils.CollectionUtils;
+import software.amazon.awssdk.utils.Either;
 import software.amazon.awssdk.utils.builder.Buildable;
 
 @SdkInternalApi
@@ -49,19 +51,76 @@ public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
 
     private static final XmlUnmarshallerRegistry REGISTRY = createUnmarshallerRegistry();
 
-    private XmlProtocolUnmarshaller() {
+    private static final XmlStreamingUnmarshaller STREAMING_UNMARSHALLER =
+        XmlStreamingUnmarshaller.builder()
+                                .instantStringToValue(INSTANT_STRING_TO_VALUE)
+                                .matchListMembersByName(true)
+                                .unmarshallAttributes(true)
+                                .build();
+
+    private static final String ERROR_ROOT_ELEMENT_NAME = "Error";
+
+    private final boolean enableStreamingUnmarshalling;
+
+    private XmlProtocolUnmarshaller(boolean enableStreamingUnmarshalling) {
+        this.enableStreamingUnmarshalling = enableStreamingUnmarshalling;
     }
 
     public static XmlProtocolUnmarshaller create() {
-        return new XmlProtocolUnmarshaller();
+        return new XmlProtocolUnmarshaller(false);
+    }
+
+    /**
+     * @param enableStreamingUnmarshalling True if successful responses should be unmarshalled directly from the XML event stream
+     * instead of being parsed into an {@link XmlElement} tree first.
+     */
+    public static XmlProtocolUnmarshaller create(boolean enableStreamingUnmarshalling) {
+        return new XmlProtocolUnmarshaller(enableStreamingUnmarshalling);
     }
 
     public <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
                                                     SdkHttpFullResponse response) {
+        if (canUnmarshallStreaming(sdkPojo, response)) {
+            return (TypeT) unmarshallStreaming(sdkPojo, response, false).left().orElse(null);
+        }
         XmlElement document = XmlResponseParserUtils.parse(sdkPojo, response);
         return unmarshall(sdkPojo, document, response);
     }
 
+    /**
+     * @return True if streaming unmarshalling is enabled and the response is a successful one carrying an XML document for the
+     * given POJO.
+     */
+    boolean canUnmarshallStreaming(SdkPojo sdkPojo, SdkHttpFullResponse response) {
+        return enableStreamingUnmarshalling &&
+               response.isSuccessful() &&
+               response.content().isPresent() &&
+               XmlResponseParserUtils.hasPayloadMembers(sdkPojo) &&
+               !getBlobTypePayloadMemberToUnmarshal(sdkPojo).isPresent();
+    }
+
+    /**
+     * Unmarshalls a successful response directly from the XML event stream. If {@code detectErrorRoot} is set and the root
+     * element of the document is a serialized error, the error is parsed into an {@link XmlElement} and returned instead so that
+     * it can be handled by the regular error unmarshalling path. Must only be called if
+     * {@link #canUnmarshallStreaming(SdkPojo, SdkHttpFullResponse)} is true.
+     */
+    Either<SdkPojo, XmlElement> unmarshallStreaming(SdkPojo sdkPojo, SdkHttpFullResponse response, boolean detectErrorRoot) {
+        XmlUnmarshallerContext context = createContext(response);
+        SdkField<Object> explicitPayloadMember = null;
+        for (SdkField<?> field : sdkPojo.sdkFields()) {
+            if (field.location() != MarshallLocation.PAYLOAD) {
+                XmlUnmarshaller<Object> unmarshaller = REGISTRY.getUnmarshaller(field.location(), field.marshallingType());
+                field.set(sdkPojo, unmarshaller.unmarshall(context, null, (SdkField<Object>) field));
+            } else if (isExplicitPayloadMember(field)) {
+                explicitPayloadMember = (SdkField<Object>) field;
+            }
+        }
+
+        return STREAMING_UNMARSHALLER.unmarshallDocument(response.content().get(), sdkPojo, explicitPayloadMember,
+                                                         detectErrorRoot ? ERROR_ROOT_ELEMENT_NAME : null);
+    }
+
     /**
      * This method is also used to unmarshall exceptions. We use this since we've already parsed the XML
      * and the result root is in a different location depending on the protocol/service.
@@ -70,12 +129,15 @@ public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
     public <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
                                                     XmlElement resultRoot,
                                                     SdkHttpFullResponse response) {
-        XmlUnmarshallerContext unmarshallerContext = XmlUnmarshallerContext.builder()
-                                                                           .response(response)
-                                                                           .registry(REGISTRY)
-                                                                           .protocolUnmarshaller(this)
-                                                                           .build();
-        return (TypeT) unmarshall(unmarshallerContext, sdkPojo, resultRoot);
+        return (TypeT) unmarshall(createContext(response), sdkPojo, resultRoot);
+    }
+
+    private XmlUnmarshallerContext createContext(SdkHttpFullResponse response) {
+        return XmlUnmarshallerContext.builder()
+                                     .response(response)
+                                     .registry(REGISTRY)
+                                     .protocolUnmarshaller(this)
+                                     .build();
     }
 
     SdkPojo unmarshall(XmlUnmarshallerContext context, SdkPojo sdkPojo, XmlElement root) {
@@ -87,7 +87,7 @@ public final class XmlResponseParserUtils {
         return f.containsTrait(PayloadTrait.class);
     }
 
-    private static boolean hasPayloadMembers(SdkPojo sdkPojo) {
+    static boolean hasPayloadMembers(SdkPojo sdkPojo) {
         return sdkPojo.sdkFields().stream()
                       .anyMatch(f -> f.location() == MarshallLocation.PAYLOAD);
     }
@@ -0,0 +1,178 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core;
+
+import java.util.Objects;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Configuration options for compressing the payload of requests to operations that accept compressed payloads.
+ *
+ * <p>Payloads are gzip-compressed before they are signed and sent. The payload of a non-streaming operation is only compressed
+ * if it is at least {@link #minimumCompressionThresholdInBytes()} long. The payload of a streaming operation is always
+ * compressed as it is sent, because its length is not known in advance.
+ *
+ * @see software.amazon.awssdk.core.client.config.ClientOverrideConfiguration.Builder#compressionConfiguration(
+ * CompressionConfiguration)
+ */
+@SdkPublicApi
+public final class CompressionConfiguration implements ToCopyableBuilder<CompressionConfiguration.Builder,
+    CompressionConfiguration> {
+
+    /**
+     * The default value of {@link #minimumCompressionThresholdInBytes()}.
+     */
+    public static final int DEFAULT_MINIMUM_COMPRESSION_THRESHOLD_IN_BYTES = 10_240;
+
+    private static final int MAXIMUM_COMPRESSION_THRESHOLD_IN_BYTES = 10_485_760;
+
+    private final Boolean requestCompressionEnabled;
+    private final Integer minimumCompressionThresholdInBytes;
+
+    private CompressionConfiguration(DefaultBuilder builder) {
+        this.requestCompressionEnabled = builder.requestCompressionEnabled;
+        Integer threshold = builder.minimumCompressionThresholdInBytes;
+        if (threshold != null) {
+            Validate.isTrue(threshold >= 0 && threshold <= MAXIMUM_COMPRESSION_THRESHOLD_IN_BYTES,
+                            "minimumCompressionThresholdInBytes must be between 0 and %s, but was %s",
+                            MAXIMUM_COMPRESSION_THRESHOLD_IN_BYTES, threshold);
+        }
+        this.minimumCompressionThresholdInBytes = threshold;
+    }
+
+    /**
+     * Whether request payloads are compressed for operations that accept compressed payloads.
+     * <p>
+     * If not set, request compression is enabled.
+     */
+    public boolean requestCompressionEnabled() {
+        return requestCompressionEnabled == null || requestCompressionEnabled;
+    }
+
+    /**
+     * The size, in bytes, below which the payload of a non-streaming operation is sent uncompressed.
+     * <p>
+     * If not set, {@link #DEFAULT_MINIMUM_COMPRESSION_THRESHOLD_IN_BYTES} is used.
+     */
+    public int minimumCompressionThresholdInBytes() {
+        return minimumCompressionThresholdInBytes == null ? DEFAULT_MINIMUM_COMPRESSION_THRESHOLD_IN_BYTES
+                                                          : minimumCompressionThresholdInBytes;
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link CompressionConfiguration}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CompressionConfiguration that = (CompressionConfiguration) o;
+
+        if (!Objects.equals(requestCompressionEnabled, that.requestCompressionEnabled)) {
+            return false;
+        }
+        return Objects.equals(minimumCompressionThresholdInBytes, that.minimumCompressionThresholdInBytes);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = requestCompressionEnabled != null ? requestCompressionEnabled.hashCode() : 0;
+        result = 31 * result + (minimumCompressionThresholdInBytes != null ? minimumCompressionThresholdInBytes.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("CompressionConfiguration")
+                       .add("requestCompressionEnabled", requestCompressionEnabled)
+                       .add("minimumCompressionThresholdInBytes", minimumCompressionThresholdInBytes)
+                       .build();
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, CompressionConfiguration> {
+
+        /**
+         * Configure whether request payloads are compressed for operations that accept compressed payloads.
+         * <p>
+         * By default, request compression is enabled.
+         */
+        Builder requestCompressionEnabled(Boolean requestCompressionEnabled);
+
+        /**
+         * Configure the size, in bytes, below which the payload of a non-streaming operation is sent uncompressed. The value
+         * must be between 0 and 10485760 (10 MiB).
+         * <p>
+         * By default, payloads smaller than {@link #DEFAULT_MINIMUM_COMPRESSION_THRESHOLD_IN_BYTES} are not compressed.
+         */
+        Builder minimumCompressionThresholdInBytes(Integer minimumCompressionThresholdInBytes);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private Boolean requestCompressionEnabled;
+        private Integer minimumCompressionThresholdInBytes;
+
+        private DefaultBuilder() {
+        }
+
+        private DefaultBuilder(CompressionConfiguration compressionConfiguration) {
+            this.requestCompressionEnabled = compressionConfiguration.requestCompressionEnabled;
+            this.minimumCompressionThresholdInBytes = compressionConfiguration.minimumCompressionThresholdInBytes;
+        }
+
+        @Override
+        public Builder requestCompressionEnabled(Boolean requestCompressionEnabled) {
+            this.requestCompressionEnabled = requestCompressionEnabled;
+            return this;
+        }
+
+        public void setRequestCompressionEnabled(Boolean requestCompressionEnabled) {
+            requestCompressionEnabled(requestCompressionEnabled);
+        }
+
+        @Override
+        public Builder minimumCompressionThresholdInBytes(Integer minimumCompressionThresholdInBytes) {
+            this.minimumCompressionThresholdInBytes = minimumCompressionThresholdInBytes;
+            return this;
+        }
+
+        public void setMinimumCompressionThresholdInBytes(Integer minimumCompressionThresholdInBytes) {
+            minimumCompressionThresholdInBytes(minimumCompressionThresholdInBytes);
+        }
+
+        @Override
+        public CompressionConfiguration build() {
+            return new CompressionConfiguration(this);
+        }
+    }
+}
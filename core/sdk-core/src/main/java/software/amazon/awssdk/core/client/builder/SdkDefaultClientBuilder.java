@@ -17,8 +17,14 @@ package software.amazon.awssdk.core.client.builder;
 
 import static software.amazon.awssdk.core.ClientType.ASYNC;
 import static software.amazon.awssdk.core.ClientType.SYNC;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.BYTE_BUFFER_ALLOCATOR;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.ADAPTIVE_CONCURRENCY_LIMIT;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.DISABLE_HOST_PREFIX_INJECTION;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.ENABLE_POOLED_SERIALIZATION_BUFFERS;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.ENABLE_RESPONSE_COMPRESSION;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.ENABLE_STREAMING_UNMARSHALLING;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.HEDGING;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.SIGNER;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.TOKEN_SIGNER;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.USER_AGENT_PREFIX;
@@ -29,6 +35,7 @@ import static software.amazon.awssdk.core.client.config.SdkClientOption.API_CALL
 import static software.amazon.awssdk.core.client.config.SdkClientOption.ASYNC_HTTP_CLIENT;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.CLIENT_TYPE;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.CLIENT_USER_AGENT;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.COMPRESSION_CONFIGURATION;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.CRC32_FROM_COMPRESSED_DATA_ENABLED;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.ENDPOINT_OVERRIDDEN;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.EXECUTION_ATTRIBUTES;
@@ -76,6 +83,7 @@ import software.amazon.awssdk.core.internal.interceptor.AsyncRequestBodyHttpChec
 import software.amazon.awssdk.core.internal.interceptor.HttpChecksumInHeaderInterceptor;
 import software.amazon.awssdk.core.internal.interceptor.HttpChecksumRequiredInterceptor;
 import software.amazon.awssdk.core.internal.interceptor.HttpChecksumValidationInterceptor;
+import software.amazon.awssdk.core.internal.interceptor.ResponseCompressionInterceptor;
 import software.amazon.awssdk.core.internal.interceptor.SyncHttpChecksumInTrailerInterceptor;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
@@ -234,10 +242,20 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         builder.option(API_CALL_ATTEMPT_TIMEOUT, clientOverrideConfiguration.apiCallAttemptTimeout().orElse(null));
         builder.option(DISABLE_HOST_PREFIX_INJECTION,
                        clientOverrideConfiguration.advancedOption(DISABLE_HOST_PREFIX_INJECTION).orElse(null));
+        builder.option(ENABLE_STREAMING_UNMARSHALLING,
+                       clientOverrideConfiguration.advancedOption(ENABLE_STREAMING_UNMARSHALLING).orElse(null));
+        builder.option(ENABLE_POOLED_SERIALIZATION_BUFFERS,
+                       clientOverrideConfiguration.advancedOption(ENABLE_POOLED_SERIALIZATION_BUFFERS).orElse(null));
+        builder.option(ADAPTIVE_CONCURRENCY_LIMIT,
+                       clientOverrideConfiguration.advancedOption(ADAPTIVE_CONCURRENCY_LIMIT).orElse(null));
+        builder.option(HEDGING, clientOverrideConfiguration.advancedOption(HEDGING).orElse(null));
+        builder.option(ENABLE_RESPONSE_COMPRESSION,
+                       clientOverrideConfiguration.advancedOption(ENABLE_RESPONSE_COMPRESSION).orElse(null));
         builder.option(PROFILE_FILE_SUPPLIER, clientOverrideConfiguration.defaultProfileFile()
                                                                          .map(ProfileFileSupplier::fixedProfileFile)
                                                                          .orElse(null));
         builder.option(PROFILE_NAME, clientOverrideConfiguration.defaultProfileName().orElse(null));
+        builder.option(COMPRESSION_CONFIGURATION, clientOverrideConfiguration.compressionConfiguration().orElse(null));
         builder.option(METRIC_PUBLISHERS, clientOverrideConfiguration.metricPublishers());
         builder.option(EXECUTION_ATTRIBUTES, clientOverrideConfiguration.executionAttributes());
         builder.option(TOKEN_SIGNER, clientOverrideConfiguration.advancedOption(TOKEN_SIGNER).orElse(null));
@@ -432,7 +450,11 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         List<ExecutionInterceptor> globalInterceptors = new ArrayList<>();
         globalInterceptors.addAll(sdkInterceptors());
         globalInterceptors.addAll(new ClasspathInterceptorChainFactory().getGlobalInterceptors());
-        return mergeLists(globalInterceptors, config.option(EXECUTION_INTERCEPTORS));
+        List<ExecutionInterceptor> interceptors = mergeLists(globalInterceptors, config.option(EXECUTION_INTERCEPTORS));
+
+        // Last, so that it is the first to see responses and decompresses them before any other interceptor reads them
+        interceptors.add(new ResponseCompressionInterceptor());
+        return interceptors;
     }
 
 
@@ -468,6 +490,7 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
 
     public final B asyncConfiguration(ClientAsyncConfiguration asyncConfiguration) {
         clientConfiguration.option(FUTURE_COMPLETION_EXECUTOR, asyncConfiguration.advancedOption(FUTURE_COMPLETION_EXECUTOR));
+        clientConfiguration.option(BYTE_BUFFER_ALLOCATOR, asyncConfiguration.advancedOption(BYTE_BUFFER_ALLOCATOR));
         return thisBuilder();
     }
 
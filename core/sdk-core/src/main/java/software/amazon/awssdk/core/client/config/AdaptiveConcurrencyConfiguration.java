@@ -0,0 +1,250 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.client.config;
+
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Configuration for the adaptive concurrency limit of an asynchronous client, configured via
+ * {@link SdkAdvancedClientOption#ADAPTIVE_CONCURRENCY_LIMIT}.
+ *
+ * <p>When enabled, the client bounds the number of request attempts it has in flight at once. The bound starts at
+ * {@link #initialLimit()} and is continuously adjusted between {@link #minLimit()} and {@link #maxLimit()} based on the
+ * observed latency of attempts: it grows while latency stays close to the best latency observed recently, and shrinks when
+ * latency increases or when attempts are throttled, time out or fail with an I/O error. Attempts that cannot start because the
+ * limit is reached wait in a queue of at most {@link #maxQueueSize()} attempts, and fail with an
+ * {@link software.amazon.awssdk.core.exception.SdkClientException} when that queue is full.
+ *
+ * <p>Use {@link #builder()} to create a configuration.
+ */
+@Immutable
+@SdkPublicApi
+public final class AdaptiveConcurrencyConfiguration
+    implements ToCopyableBuilder<AdaptiveConcurrencyConfiguration.Builder, AdaptiveConcurrencyConfiguration> {
+
+    private static final int DEFAULT_INITIAL_LIMIT = 20;
+    private static final int DEFAULT_MIN_LIMIT = 1;
+    private static final int DEFAULT_MAX_LIMIT = 1000;
+    private static final int DEFAULT_MAX_QUEUE_SIZE = 10_000;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final boolean limitPerEndpoint;
+
+    private AdaptiveConcurrencyConfiguration(BuilderImpl builder) {
+        this.minLimit = Validate.isPositive(builder.minLimit != null ? builder.minLimit : DEFAULT_MIN_LIMIT, "minLimit");
+        this.maxLimit = Validate.isPositive(builder.maxLimit != null ? builder.maxLimit : DEFAULT_MAX_LIMIT, "maxLimit");
+        Validate.isTrue(minLimit <= maxLimit, "minLimit (%s) must not be greater than maxLimit (%s).", minLimit, maxLimit);
+        int initial = builder.initialLimit != null ? builder.initialLimit : DEFAULT_INITIAL_LIMIT;
+        this.initialLimit = Math.max(minLimit, Math.min(maxLimit, initial));
+        this.maxQueueSize = Validate.isNotNegative(builder.maxQueueSize != null ? builder.maxQueueSize
+                                                                                : DEFAULT_MAX_QUEUE_SIZE,
+                                                   "maxQueueSize");
+        this.limitPerEndpoint = Boolean.TRUE.equals(builder.limitPerEndpoint);
+    }
+
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    /**
+     * The concurrency limit used before any latency has been observed. Defaults to 20.
+     */
+    public int initialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * The lowest value the concurrency limit can be reduced to. Defaults to 1.
+     */
+    public int minLimit() {
+        return minLimit;
+    }
+
+    /**
+     * The highest value the concurrency limit can be increased to. Defaults to 1000.
+     */
+    public int maxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * The maximum number of attempts that may wait for the concurrency limit. When zero, attempts fail immediately when the
+     * limit is reached. Defaults to 10,000.
+     */
+    public int maxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Whether a separate limit is tracked for every endpoint (host and port) the client sends requests to, instead of one
+     * limit for the whole client. Defaults to false.
+     */
+    public boolean limitPerEndpoint() {
+        return limitPerEndpoint;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().initialLimit(initialLimit)
+                        .minLimit(minLimit)
+                        .maxLimit(maxLimit)
+                        .maxQueueSize(maxQueueSize)
+                        .limitPerEndpoint(limitPerEndpoint);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("AdaptiveConcurrencyConfiguration")
+                       .add("initialLimit", initialLimit)
+                       .add("minLimit", minLimit)
+                       .add("maxLimit", maxLimit)
+                       .add("maxQueueSize", maxQueueSize)
+                       .add("limitPerEndpoint", limitPerEndpoint)
+                       .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AdaptiveConcurrencyConfiguration that = (AdaptiveConcurrencyConfiguration) o;
+
+        return initialLimit == that.initialLimit &&
+               minLimit == that.minLimit &&
+               maxLimit == that.maxLimit &&
+               maxQueueSize == that.maxQueueSize &&
+               limitPerEndpoint == that.limitPerEndpoint;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = initialLimit;
+        result = 31 * result + minLimit;
+        result = 31 * result + maxLimit;
+        result = 31 * result + maxQueueSize;
+        result = 31 * result + Boolean.hashCode(limitPerEndpoint);
+        return result;
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, AdaptiveConcurrencyConfiguration> {
+        /**
+         * Configure the concurrency limit used before any latency has been observed. Values outside of
+         * [{@link #minLimit(Integer)}, {@link #maxLimit(Integer)}] are clamped to that range.
+         */
+        Builder initialLimit(Integer initialLimit);
+
+        /**
+         * Configure the lowest value the concurrency limit can be reduced to.
+         */
+        Builder minLimit(Integer minLimit);
+
+        /**
+         * Configure the highest value the concurrency limit can be increased to.
+         */
+        Builder maxLimit(Integer maxLimit);
+
+        /**
+         * Configure the maximum number of attempts that may wait for the concurrency limit. Set this to zero to fail attempts
+         * immediately when the limit is reached.
+         */
+        Builder maxQueueSize(Integer maxQueueSize);
+
+        /**
+         * Configure whether a separate limit is tracked for every endpoint (host and port) the client sends requests to.
+         */
+        Builder limitPerEndpoint(Boolean limitPerEndpoint);
+    }
+
+    private static final class BuilderImpl implements Builder {
+        private Integer initialLimit;
+        private Integer minLimit;
+        private Integer maxLimit;
+        private Integer maxQueueSize;
+        private Boolean limitPerEndpoint;
+
+        private BuilderImpl() {
+        }
+
+        @Override
+        public Builder initialLimit(Integer initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public void setInitialLimit(Integer initialLimit) {
+            initialLimit(initialLimit);
+        }
+
+        @Override
+        public Builder minLimit(Integer minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        public void setMinLimit(Integer minLimit) {
+            minLimit(minLimit);
+        }
+
+        @Override
+        public Builder maxLimit(Integer maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        public void setMaxLimit(Integer maxLimit) {
+            maxLimit(maxLimit);
+        }
+
+        @Override
+        public Builder maxQueueSize(Integer maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        public void setMaxQueueSize(Integer maxQueueSize) {
+            maxQueueSize(maxQueueSize);
+        }
+
+        @Override
+        public Builder limitPerEndpoint(Boolean limitPerEndpoint) {
+            this.limitPerEndpoint = limitPerEndpoint;
+            return this;
+        }
+
+        public void setLimitPerEndpoint(Boolean limitPerEndpoint) {
+            limitPerEndpoint(limitPerEndpoint);
+        }
+
+        @Override
+        public AdaptiveConcurrencyConfiguration build() {
+            return new AdaptiveConcurrencyConfiguration(this);
+        }
+    }
+}
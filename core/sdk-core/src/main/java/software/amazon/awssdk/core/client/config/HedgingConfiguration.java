@@ -0,0 +1,258 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.client.config;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Configuration for hedged requests made by an asynchronous client, configured via {@link SdkAdvancedClientOption#HEDGING}.
+ *
+ * <p>When an operation listed in {@link #operations()} has not completed after the hedge delay, the client sends a second,
+ * independent copy of the request and uses whichever response arrives first. The slower request is then cancelled, which
+ * aborts its HTTP request. Each copy is retried according to the client's retry policy on its own.
+ *
+ * <p>The hedge delay is {@link #delay()} if configured. Otherwise, it is the {@link #delayPercentile()} of the latency recently
+ * observed for the operation, but never less than {@link #minDelay()}. No hedges are sent for an operation until enough
+ * latency has been observed for it.
+ *
+ * <p>Hedging increases the load on the service, and should only be enabled for idempotent, latency-sensitive operations
+ * without a streaming request or response payload (for example, "GetItem" or "GetParameter"). Operations with a streaming
+ * payload are never hedged.
+ *
+ * <p>Use {@link #builder()} to create a configuration.
+ */
+@Immutable
+@SdkPublicApi
+public final class HedgingConfiguration implements ToCopyableBuilder<HedgingConfiguration.Builder, HedgingConfiguration> {
+    private static final double DEFAULT_DELAY_PERCENTILE = 95.0;
+    private static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(5);
+
+    private final Set<String> operations;
+    private final Duration delay;
+    private final double delayPercentile;
+    private final Duration minDelay;
+
+    private HedgingConfiguration(BuilderImpl builder) {
+        this.operations = Collections.unmodifiableSet(new LinkedHashSet<>(builder.operations));
+        this.delay = Validate.isPositiveOrNull(builder.delay, "delay");
+        this.delayPercentile = builder.delayPercentile != null ? builder.delayPercentile : DEFAULT_DELAY_PERCENTILE;
+        Validate.isTrue(delayPercentile > 0 && delayPercentile < 100,
+                        "delayPercentile must be between 0 and 100 (exclusive), but was %s", delayPercentile);
+        this.minDelay = Validate.isNotNegative(builder.minDelay != null ? builder.minDelay : DEFAULT_MIN_DELAY, "minDelay");
+    }
+
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    /**
+     * The names of the operations that are hedged, e.g. "GetItem".
+     */
+    public Set<String> operations() {
+        return operations;
+    }
+
+    /**
+     * The fixed delay after which a hedged request is sent, or null if the delay is derived from the observed latency.
+     */
+    public Duration delay() {
+        return delay;
+    }
+
+    /**
+     * The percentile of recently observed latency that is used as the hedge delay when {@link #delay()} is not configured.
+     * Defaults to 95.
+     */
+    public double delayPercentile() {
+        return delayPercentile;
+    }
+
+    /**
+     * The lowest hedge delay that is derived from the observed latency. Defaults to 5 milliseconds.
+     */
+    public Duration minDelay() {
+        return minDelay;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().operations(operations)
+                        .delay(delay)
+                        .delayPercentile(delayPercentile)
+                        .minDelay(minDelay);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("HedgingConfiguration")
+                       .add("operations", operations)
+                       .add("delay", delay)
+                       .add("delayPercentile", delayPercentile)
+                       .add("minDelay", minDelay)
+                       .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        HedgingConfiguration that = (HedgingConfiguration) o;
+
+        if (Double.compare(that.delayPercentile, delayPercentile) != 0) {
+            return false;
+        }
+        if (!operations.equals(that.operations)) {
+            return false;
+        }
+        if (delay != null ? !delay.equals(that.delay) : that.delay != null) {
+            return false;
+        }
+        return minDelay.equals(that.minDelay);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = operations.hashCode();
+        result = 31 * result + (delay != null ? delay.hashCode() : 0);
+        result = 31 * result + Double.hashCode(delayPercentile);
+        result = 31 * result + minDelay.hashCode();
+        return result;
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, HedgingConfiguration> {
+        /**
+         * Configure the names of the operations that are hedged, e.g. "GetItem". This replaces any previously configured
+         * operations.
+         */
+        Builder operations(Collection<String> operations);
+
+        /**
+         * Configure the names of the operations that are hedged, e.g. "GetItem". This replaces any previously configured
+         * operations.
+         */
+        Builder operations(String... operations);
+
+        /**
+         * Add the name of an operation that is hedged, e.g. "GetItem".
+         */
+        Builder addOperation(String operation);
+
+        /**
+         * Configure a fixed delay after which a hedged request is sent. When this is not configured, the delay is derived from
+         * the latency recently observed for the operation.
+         */
+        Builder delay(Duration delay);
+
+        /**
+         * Configure the percentile of recently observed latency that is used as the hedge delay when no fixed
+         * {@link #delay(Duration)} is configured. Must be between 0 and 100 (exclusive).
+         */
+        Builder delayPercentile(Double delayPercentile);
+
+        /**
+         * Configure the lowest hedge delay that is derived from the observed latency.
+         */
+        Builder minDelay(Duration minDelay);
+    }
+
+    private static final class BuilderImpl implements Builder {
+        private final Set<String> operations = new LinkedHashSet<>();
+        private Duration delay;
+        private Double delayPercentile;
+        private Duration minDelay;
+
+        private BuilderImpl() {
+        }
+
+        @Override
+        public Builder operations(Collection<String> operations) {
+            this.operations.clear();
+            if (operations != null) {
+                operations.forEach(this::addOperation);
+            }
+            return this;
+        }
+
+        public void setOperations(Collection<String> operations) {
+            operations(operations);
+        }
+
+        @Override
+        public Builder operations(String... operations) {
+            this.operations.clear();
+            for (String operation : operations) {
+                addOperation(operation);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder addOperation(String operation) {
+            this.operations.add(Validate.paramNotBlank(operation, "operation"));
+            return this;
+        }
+
+        @Override
+        public Builder delay(Duration delay) {
+            this.delay = delay;
+            return this;
+        }
+
+        public void setDelay(Duration delay) {
+            delay(delay);
+        }
+
+        @Override
+        public Builder delayPercentile(Double delayPercentile) {
+            this.delayPercentile = delayPercentile;
+            return this;
+        }
+
+        public void setDelayPercentile(Double delayPercentile) {
+            delayPercentile(delayPercentile);
+        }
+
+        @Override
+        public Builder minDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            minDelay(minDelay);
+        }
+
+        @Override
+        public HedgingConfiguration build() {
+            return new HedgingConfiguration(this);
+        }
+    }
+}
@@ -19,6 +19,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.http.async.PooledByteBufferAllocator;
 
 /**
  * A collection of advanced options that can be configured on an async AWS client via
@@ -53,6 +56,22 @@ public final class SdkAdvancedAsyncClientOption<T> extends ClientOption<T> {
     public static final SdkAdvancedAsyncClientOption<Executor> FUTURE_COMPLETION_EXECUTOR =
             new SdkAdvancedAsyncClientOption<>(Executor.class);
 
+    /**
+     * Configure the {@link ByteBufferAllocator} that request content buffers are allocated from and released back to. By
+     * default, no allocator is used and every buffer is a new heap buffer.
+     * <p>
+     * When configured, the SDK allocates the chunks of payloads it re-frames, such as those sent with a trailing checksum,
+     * from the allocator and releases each request content buffer that came from it once the buffer has been consumed. The
+     * allocator is also handed to the async HTTP client, which releases the buffers it writes. Request bodies that read
+     * into the same allocator, such as {@link AsyncRequestBody#fromFile(java.nio.file.Path)} bodies built with
+     * {@code FileAsyncRequestBody.Builder#bufferAllocator}, can then reuse a bounded set of buffers for the whole upload
+     * instead of allocating a new buffer for every chunk.
+     *
+     * @see PooledByteBufferAllocator
+     */
+    public static final SdkAdvancedAsyncClientOption<ByteBufferAllocator> BYTE_BUFFER_ALLOCATOR =
+            new SdkAdvancedAsyncClientOption<>(ByteBufferAllocator.class);
+
     private SdkAdvancedAsyncClientOption(Class<T> valueClass) {
         super(valueClass);
     }
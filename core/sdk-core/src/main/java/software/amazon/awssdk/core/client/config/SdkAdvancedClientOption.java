@@ -60,6 +60,66 @@ public class SdkAdvancedClientOption<T> extends ClientOption<T> {
     public static final SdkAdvancedClientOption<Boolean> DISABLE_HOST_PREFIX_INJECTION =
         new SdkAdvancedClientOption<>(Boolean.class);
 
+    /**
+     * Whether structured (JSON and XML) response payloads should be unmarshalled directly from the parser's token or event
+     * stream, instead of first being parsed into an intermediate document tree. This reduces the memory used when
+     * unmarshalling large responses.
+     *
+     * <p>This is disabled by default. Protocols that do not support streaming unmarshalling ignore this option.
+     */
+    public static final SdkAdvancedClientOption<Boolean> ENABLE_STREAMING_UNMARSHALLING =
+        new SdkAdvancedClientOption<>(Boolean.class);
+
+    /**
+     * Whether structured (JSON) request payloads should be serialized into a reusable, per-thread buffer instead of a new
+     * growable buffer for every request. This avoids reallocating and copying the buffer as it grows while a request is
+     * serialized, at the cost of each marshalling thread holding on to a buffer. The finished payload is still copied into
+     * an array owned by the request.
+     *
+     * <p>This is disabled by default. Protocols that do not support pooled serialization buffers ignore this option.
+     */
+    public static final SdkAdvancedClientOption<Boolean> ENABLE_POOLED_SERIALIZATION_BUFFERS =
+        new SdkAdvancedClientOption<>(Boolean.class);
+
+    /**
+     * Bound the number of request attempts an asynchronous client has in flight at once, adapting the bound to the observed
+     * latency of those attempts. Attempts beyond the limit wait in a bounded queue, or fail fast once that queue is full,
+     * instead of piling onto a degrading service and the HTTP client's connection acquire queue.
+     *
+     * <p>This is disabled by default. Synchronous clients ignore this option.
+     *
+     * @see AdaptiveConcurrencyConfiguration
+     */
+    public static final SdkAdvancedClientOption<AdaptiveConcurrencyConfiguration> ADAPTIVE_CONCURRENCY_LIMIT =
+        new SdkAdvancedClientOption<>(AdaptiveConcurrencyConfiguration.class);
+
+    /**
+     * Send a second copy of a request for the configured operations when the first has not completed after a delay, and use
+     * whichever response arrives first. This trades additional load on the service for lower tail latency.
+     *
+     * <p>This is disabled by default. Synchronous clients ignore this option.
+     *
+     * @see HedgingConfiguration
+     */
+    public static final SdkAdvancedClientOption<HedgingConfiguration> HEDGING =
+        new SdkAdvancedClientOption<>(HedgingConfiguration.class);
+
+    /**
+     * Whether the service should be asked to compress response payloads. When enabled, requests are sent with an
+     * {@code Accept-Encoding} header, unless they already have one, and compressed responses are decompressed as they are
+     * read, before they are unmarshalled or seen by any execution interceptor. gzip is always accepted; zstd is also
+     * accepted by synchronous clients when zstd-jni is on the classpath.
+     *
+     * <p>This trades CPU time for less data transferred, which helps with large structured responses. Streaming response
+     * payloads, such as S3 objects, are never requested compressed. The compressed and decompressed sizes of each response
+     * are reported as {@link software.amazon.awssdk.core.metrics.CoreMetric#RESPONSE_WIRE_BYTES} and
+     * {@link software.amazon.awssdk.core.metrics.CoreMetric#RESPONSE_DECODED_BYTES}.
+     *
+     * <p>This is disabled by default.
+     */
+    public static final SdkAdvancedClientOption<Boolean> ENABLE_RESPONSE_COMPRESSION =
+        new SdkAdvancedClientOption<>(Boolean.class);
+
     protected SdkAdvancedClientOption(Class<T> valueClass) {
         super(valueClass);
     }
@@ -23,6 +23,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.ClientType;
+import software.amazon.awssdk.core.CompressionConfiguration;
 import software.amazon.awssdk.core.ServiceConfiguration;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
@@ -190,6 +191,14 @@ public final class SdkClientOption<T> extends ClientOption<T> {
     public static final SdkClientOption<AttributeMap> CLIENT_CONTEXT_PARAMS =
         new SdkClientOption<>(AttributeMap.class);
 
+    /**
+     * Configuration for compressing the payload of requests to operations that accept compressed payloads.
+     *
+     * @see ClientOverrideConfiguration.Builder#compressionConfiguration(CompressionConfiguration)
+     */
+    public static final SdkClientOption<CompressionConfiguration> COMPRESSION_CONFIGURATION =
+        new SdkClientOption<>(CompressionConfiguration.class);
+
     private SdkClientOption(Class<T> valueClass) {
         super(valueClass);
     }
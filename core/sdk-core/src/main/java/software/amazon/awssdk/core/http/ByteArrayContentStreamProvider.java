@@ -0,0 +1,63 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.http.ContentStreamProvider;
+
+/**
+ * {@link ContentStreamProvider} implementation for content that is already fully marshalled into memory. In addition to
+ * providing streams over the content, this allows the asynchronous request pipeline to hand the same bytes to the HTTP client
+ * without copying them out of a stream first.
+ */
+@SdkProtectedApi
+public final class ByteArrayContentStreamProvider implements ContentStreamProvider {
+    private final byte[] content;
+
+    private ByteArrayContentStreamProvider(byte[] content) {
+        this.content = content;
+    }
+
+    /**
+     * Create a provider for the given content. The array is not copied, so the caller must not modify it afterwards.
+     */
+    public static ByteArrayContentStreamProvider fromByteArrayUnsafe(byte[] content) {
+        return new ByteArrayContentStreamProvider(content);
+    }
+
+    @Override
+    public InputStream newStream() {
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * @return A new {@link ByteBuffer} wrapping the content, without copying it.
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(content);
+    }
+
+    /**
+     * @return The length of the content in bytes.
+     */
+    public int contentLength() {
+        return content.length;
+    }
+}
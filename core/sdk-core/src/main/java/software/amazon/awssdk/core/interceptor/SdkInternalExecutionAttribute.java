@@ -18,9 +18,11 @@ package software.amazon.awssdk.core.interceptor;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.interceptor.trait.HttpChecksum;
 import software.amazon.awssdk.core.interceptor.trait.HttpChecksumRequired;
+import software.amazon.awssdk.core.interceptor.trait.RequestCompression;
 import software.amazon.awssdk.endpoints.Endpoint;
 import software.amazon.awssdk.endpoints.EndpointProvider;
 import software.amazon.awssdk.http.SdkHttpExecutionAttributes;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
 import software.amazon.awssdk.utils.AttributeMap;
 
 /**
@@ -92,6 +94,26 @@ public final class SdkInternalExecutionAttribute extends SdkExecutionAttribute {
     public static final ExecutionAttribute<Boolean> IS_DISCOVERED_ENDPOINT =
         new ExecutionAttribute<>("IsDiscoveredEndpoint");
 
+    /**
+     * Whether the response payload should be requested compressed.
+     * See {@link software.amazon.awssdk.core.client.config.SdkAdvancedClientOption#ENABLE_RESPONSE_COMPRESSION}
+     */
+    public static final ExecutionAttribute<Boolean> RESPONSE_COMPRESSION_ENABLED =
+        new ExecutionAttribute<>("ResponseCompressionEnabled");
+
+    /**
+     * The content encodings the operation accepts for a compressed request payload.
+     */
+    public static final ExecutionAttribute<RequestCompression> REQUEST_COMPRESSION =
+        new ExecutionAttribute<>("RequestCompression");
+
+    /**
+     * The allocator that request content buffers are allocated from and released back to.
+     * See {@link software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption#BYTE_BUFFER_ALLOCATOR}
+     */
+    public static final ExecutionAttribute<ByteBufferAllocator> BYTE_BUFFER_ALLOCATOR =
+        new ExecutionAttribute<>("ByteBufferAllocator");
+
     private SdkInternalExecutionAttribute() {
     }
 }
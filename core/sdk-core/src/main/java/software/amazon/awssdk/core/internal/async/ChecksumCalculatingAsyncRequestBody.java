@@ -31,6 +31,7 @@ import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.checksums.Algorithm;
 import software.amazon.awssdk.core.checksums.SdkChecksum;
 import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
 import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.builder.SdkBuilder;
@@ -48,6 +49,7 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
     private final Algorithm algorithm;
     private final String trailerHeader;
     private final long totalBytes;
+    private final ByteBufferAllocator bufferAllocator;
 
     private ChecksumCalculatingAsyncRequestBody(DefaultBuilder builder) {
 
@@ -58,6 +60,7 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
         this.algorithm = builder.algorithm;
         this.sdkChecksum = builder.algorithm != null ? SdkChecksum.forAlgorithm(algorithm) : null;
         this.trailerHeader = builder.trailerHeader;
+        this.bufferAllocator = builder.bufferAllocator;
         this.totalBytes = wrapped.contentLength()
                                  .orElseThrow(() -> new UnsupportedOperationException("Content length must be supplied."));
     }
@@ -94,6 +97,14 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
          */
         ChecksumCalculatingAsyncRequestBody.Builder trailerHeader(String trailerHeader);
 
+        /**
+         * Sets the allocator that chunks are buffered into. Buffers published by the wrapped AsyncRequestBody are released
+         * to it once they have been buffered, and chunks are released to it once they have been chunk-encoded.
+         * @param bufferAllocator The allocator, or null to allocate a new heap buffer for each chunk.
+         * @return This builder for method chaining.
+         */
+        ChecksumCalculatingAsyncRequestBody.Builder bufferAllocator(ByteBufferAllocator bufferAllocator);
+
     }
 
     private static final class DefaultBuilder implements ChecksumCalculatingAsyncRequestBody.Builder {
@@ -101,6 +112,7 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
         private AsyncRequestBody asyncRequestBody;
         private Algorithm algorithm;
         private String trailerHeader;
+        private ByteBufferAllocator bufferAllocator;
 
 
         @Override
@@ -125,6 +137,12 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
             this.trailerHeader = trailerHeader;
             return this;
         }
+
+        @Override
+        public ChecksumCalculatingAsyncRequestBody.Builder bufferAllocator(ByteBufferAllocator bufferAllocator) {
+            this.bufferAllocator = bufferAllocator;
+            return this;
+        }
     }
 
     @Override
@@ -150,9 +168,9 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
             sdkChecksum.reset();
         }
 
-        SynchronousChunkBuffer synchronousChunkBuffer = new SynchronousChunkBuffer(totalBytes);
+        SynchronousChunkBuffer synchronousChunkBuffer = new SynchronousChunkBuffer(totalBytes, bufferAllocator);
         wrapped.flatMapIterable(synchronousChunkBuffer::buffer)
-               .subscribe(new ChecksumCalculatingSubscriber(s, sdkChecksum, trailerHeader, totalBytes));
+               .subscribe(new ChecksumCalculatingSubscriber(s, sdkChecksum, trailerHeader, totalBytes, bufferAllocator));
     }
 
     private static final class ChecksumCalculatingSubscriber implements Subscriber<ByteBuffer> {
@@ -162,15 +180,18 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
         private final String trailerHeader;
         private byte[] checksumBytes;
         private final AtomicLong remainingBytes;
+        private final ByteBufferAllocator bufferAllocator;
         private Subscription subscription;
 
         ChecksumCalculatingSubscriber(Subscriber<? super ByteBuffer> wrapped,
                                       SdkChecksum checksum,
-                                      String trailerHeader, long totalBytes) {
+                                      String trailerHeader, long totalBytes,
+                                      ByteBufferAllocator bufferAllocator) {
             this.wrapped = wrapped;
             this.checksum = checksum;
             this.trailerHeader = trailerHeader;
             this.remainingBytes = new AtomicLong(totalBytes);
+            this.bufferAllocator = bufferAllocator;
         }
 
         @Override
@@ -188,14 +209,18 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
                     checksum.update(byteBuffer);
                     byteBuffer.reset();
                 }
+                ByteBuffer allocatedBuffer;
                 if (lastByte && checksumBytes == null && checksum != null) {
                     checksumBytes = checksum.getChecksumBytes();
-                    ByteBuffer allocatedBuffer = getFinalChecksumAppendedChunk(byteBuffer);
-                    wrapped.onNext(allocatedBuffer);
+                    allocatedBuffer = getFinalChecksumAppendedChunk(byteBuffer);
                 } else {
-                    ByteBuffer allocatedBuffer = createChunk(byteBuffer, false);
-                    wrapped.onNext(allocatedBuffer);
+                    allocatedBuffer = createChunk(byteBuffer, false);
+                }
+                // The chunk has been copied into the encoded buffer, so it can be reused
+                if (bufferAllocator != null) {
+                    bufferAllocator.release(byteBuffer);
                 }
+                wrapped.onNext(allocatedBuffer);
             } catch (SdkException sdkException) {
                 this.subscription.cancel();
                 onError(sdkException);
@@ -233,13 +258,24 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
 
     private static final class SynchronousChunkBuffer {
         private final ChunkBuffer chunkBuffer;
-
-        SynchronousChunkBuffer(long totalBytes) {
-            this.chunkBuffer = ChunkBuffer.builder().bufferSize(DEFAULT_ASYNC_CHUNK_SIZE).totalBytes(totalBytes).build();
+        private final ByteBufferAllocator bufferAllocator;
+
+        SynchronousChunkBuffer(long totalBytes, ByteBufferAllocator bufferAllocator) {
+            this.chunkBuffer = ChunkBuffer.builder()
+                                          .bufferSize(DEFAULT_ASYNC_CHUNK_SIZE)
+                                          .totalBytes(totalBytes)
+                                          .bufferAllocator(bufferAllocator)
+                                          .build();
+            this.bufferAllocator = bufferAllocator;
         }
 
         private Iterable<ByteBuffer> buffer(ByteBuffer bytes) {
-            return chunkBuffer.bufferAndCreateChunks(bytes);
+            Iterable<ByteBuffer> chunks = chunkBuffer.bufferAndCreateChunks(bytes);
+            // The bytes have been copied into the chunks, so they can be reused
+            if (bufferAllocator != null) {
+                bufferAllocator.release(bytes);
+            }
+            return chunks;
         }
     }
 
@@ -22,7 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import software.amazon.awssdk.annotations.SdkInternalApi;
-import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
 import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.builder.SdkBuilder;
 
@@ -32,15 +32,16 @@ import software.amazon.awssdk.utils.builder.SdkBuilder;
 @SdkInternalApi
 public final class ChunkBuffer {
     private final AtomicLong remainingBytes;
-    private final ByteBuffer currentBuffer;
     private final int bufferSize;
+    private final ByteBufferAllocator bufferAllocator;
+    private ByteBuffer currentBuffer;
 
-    private ChunkBuffer(Long totalBytes, Integer bufferSize) {
+    private ChunkBuffer(Long totalBytes, Integer bufferSize, ByteBufferAllocator bufferAllocator) {
         Validate.notNull(totalBytes, "The totalBytes must not be null");
 
         int chunkSize = bufferSize != null ? bufferSize : DEFAULT_ASYNC_CHUNK_SIZE;
         this.bufferSize = chunkSize;
-        this.currentBuffer = ByteBuffer.allocate(chunkSize);
+        this.bufferAllocator = bufferAllocator;
         this.remainingBytes = new AtomicLong(totalBytes);
     }
 
@@ -50,59 +51,72 @@ public final class ChunkBuffer {
 
 
     // currentBuffer and bufferedList can get over written if concurrent Threads calls this method at the same time.
+    /**
+     * Copy the remaining bytes of the given buffer into chunks, returning the chunks that are complete. The given buffer is
+     * not modified and is no longer referenced once this returns. The returned chunks belong to the caller, and come from
+     * the buffer allocator if one was configured.
+     */
     public synchronized Iterable<ByteBuffer> bufferAndCreateChunks(ByteBuffer buffer) {
-        int startPosition = 0;
         List<ByteBuffer> bufferedList = new ArrayList<>();
-        int currentBytesRead = buffer.remaining();
-        do {
-            int bufferedBytes = currentBuffer.position();
-            int availableToRead = bufferSize - bufferedBytes;
-            int bytesToMove = Math.min(availableToRead, currentBytesRead - startPosition);
-
-            byte[] bytes = BinaryUtils.copyAllBytesFrom(buffer);
-            if (bufferedBytes == 0) {
-                currentBuffer.put(bytes, startPosition, bytesToMove);
-            } else {
-                currentBuffer.put(bytes, 0, bytesToMove);
+        ByteBuffer source = buffer.duplicate();
+        int currentBytesRead = source.remaining();
+        while (source.hasRemaining()) {
+            if (currentBuffer == null) {
+                currentBuffer = bufferAllocator == null ? ByteBuffer.allocate(bufferSize) : bufferAllocator.allocate(bufferSize);
             }
 
-            startPosition = startPosition + bytesToMove;
+            int bytesToMove = Math.min(currentBuffer.remaining(), source.remaining());
+            ByteBuffer bytes = source.duplicate();
+            bytes.limit(bytes.position() + bytesToMove);
+            currentBuffer.put(bytes);
+            source.position(source.position() + bytesToMove);
 
             // Send the data once the buffer is full
-            if (currentBuffer.position() == bufferSize) {
-                currentBuffer.position(0);
-                ByteBuffer bufferToSend = ByteBuffer.allocate(bufferSize);
-                bufferToSend.put(currentBuffer.array(), 0, bufferSize);
-                bufferToSend.clear();
-                currentBuffer.clear();
-                bufferedList.add(bufferToSend);
+            if (!currentBuffer.hasRemaining()) {
+                currentBuffer.flip();
+                bufferedList.add(currentBuffer);
+                currentBuffer = null;
                 remainingBytes.addAndGet(-bufferSize);
             }
-        } while (startPosition < currentBytesRead);
+        }
 
-        int remainingBytesInBuffer = currentBuffer.position();
+        int remainingBytesInBuffer = currentBuffer == null ? 0 : currentBuffer.position();
 
         // Send the remaining buffer when
         // 1. remainingBytes in buffer are same as the last few bytes to be read.
         // 2. If it is a zero byte and the last byte to be read.
         if (remainingBytes.get() == remainingBytesInBuffer &&
-            (buffer.remaining() == 0 || remainingBytesInBuffer > 0)) {
-            currentBuffer.clear();
-            ByteBuffer trimmedBuffer = ByteBuffer.allocate(remainingBytesInBuffer);
-            trimmedBuffer.put(currentBuffer.array(), 0, remainingBytesInBuffer);
-            trimmedBuffer.clear();
-            bufferedList.add(trimmedBuffer);
+            (currentBytesRead == 0 || remainingBytesInBuffer > 0)) {
+            bufferedList.add(lastChunk());
             remainingBytes.addAndGet(-remainingBytesInBuffer);
         }
         return bufferedList;
     }
 
+    private ByteBuffer lastChunk() {
+        ByteBuffer lastBuffer = currentBuffer;
+        currentBuffer = null;
+        if (lastBuffer == null) {
+            return ByteBuffer.allocate(0);
+        }
+
+        lastBuffer.flip();
+        if (bufferAllocator != null) {
+            return lastBuffer;
+        }
+        ByteBuffer trimmedBuffer = ByteBuffer.allocate(lastBuffer.remaining());
+        trimmedBuffer.put(lastBuffer);
+        trimmedBuffer.flip();
+        return trimmedBuffer;
+    }
+
     public interface Builder extends SdkBuilder<Builder, ChunkBuffer> {
 
         Builder bufferSize(int bufferSize);
 
         Builder totalBytes(long totalBytes);
 
+        Builder bufferAllocator(ByteBufferAllocator bufferAllocator);
 
     }
 
@@ -110,10 +124,11 @@ public final class ChunkBuffer {
 
         private Integer bufferSize;
         private Long totalBytes;
+        private ByteBufferAllocator bufferAllocator;
 
         @Override
         public ChunkBuffer build() {
-            return new ChunkBuffer(totalBytes, bufferSize);
+            return new ChunkBuffer(totalBytes, bufferSize, bufferAllocator);
         }
 
         @Override
@@ -127,5 +142,11 @@ public final class ChunkBuffer {
             this.totalBytes = totalBytes;
             return this;
         }
+
+        @Override
+        public Builder bufferAllocator(ByteBufferAllocator bufferAllocator) {
+            this.bufferAllocator = bufferAllocator;
+            return this;
+        }
     }
 }
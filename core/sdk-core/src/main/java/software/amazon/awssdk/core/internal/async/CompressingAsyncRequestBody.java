@@ -0,0 +1,141 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.internal.compression.IncrementalGzipEncoder;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.utils.async.DelegatingSubscriber;
+import software.amazon.awssdk.utils.async.DelegatingSubscription;
+import software.amazon.awssdk.utils.async.FlatteningSubscriber;
+
+/**
+ * Wrapper class to wrap an AsyncRequestBody. This will gzip-encode the content as it is published, so that the encoded
+ * content is never fully held in memory. The length of the encoded content is not known in advance.
+ */
+@SdkInternalApi
+public final class CompressingAsyncRequestBody implements AsyncRequestBody {
+    private final AsyncRequestBody wrapped;
+    private final ByteBufferAllocator bufferAllocator;
+
+    /**
+     * @param wrapped The body to compress.
+     * @param bufferAllocator The allocator that buffers published by the wrapped body are released to once they have been
+     * encoded, or null if they are not released.
+     */
+    public CompressingAsyncRequestBody(AsyncRequestBody wrapped, ByteBufferAllocator bufferAllocator) {
+        this.wrapped = wrapped;
+        this.bufferAllocator = bufferAllocator;
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.empty();
+    }
+
+    @Override
+    public String contentType() {
+        return wrapped.contentType();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        wrapped.subscribe(new CompressingSubscriber(new FlatteningSubscriber<>(subscriber), bufferAllocator));
+    }
+
+    /**
+     * Encodes each buffer as it is received. The end of the gzip stream is only known when the wrapped body completes, so
+     * it is held back until it has been requested if there is no outstanding demand at that point.
+     */
+    private static final class CompressingSubscriber extends DelegatingSubscriber<ByteBuffer, Iterable<ByteBuffer>> {
+        private final IncrementalGzipEncoder encoder = new IncrementalGzipEncoder();
+        private final ByteBufferAllocator bufferAllocator;
+        private final Object lock = new Object();
+        private long outstandingDemand;
+        private List<ByteBuffer> undeliveredEnd;
+
+        private CompressingSubscriber(Subscriber<? super Iterable<ByteBuffer>> subscriber,
+                                      ByteBufferAllocator bufferAllocator) {
+            super(subscriber);
+            this.bufferAllocator = bufferAllocator;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            super.onSubscribe(new DelegatingSubscription(subscription) {
+                @Override
+                public void request(long n) {
+                    List<ByteBuffer> end;
+                    synchronized (lock) {
+                        end = undeliveredEnd;
+                        undeliveredEnd = null;
+                        if (end == null) {
+                            outstandingDemand = outstandingDemand + n < 0 ? Long.MAX_VALUE : outstandingDemand + n;
+                        }
+                    }
+                    if (end != null) {
+                        deliverEnd(end);
+                    } else {
+                        super.request(n);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            synchronized (lock) {
+                if (outstandingDemand != Long.MAX_VALUE) {
+                    outstandingDemand--;
+                }
+            }
+            List<ByteBuffer> encoded = encoder.encode(byteBuffer);
+            if (bufferAllocator != null) {
+                bufferAllocator.release(byteBuffer);
+            }
+            subscriber.onNext(encoded);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            encoder.close();
+            super.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            List<ByteBuffer> end = encoder.finish();
+            synchronized (lock) {
+                if (outstandingDemand == 0) {
+                    undeliveredEnd = end;
+                    return;
+                }
+            }
+            deliverEnd(end);
+        }
+
+        private void deliverEnd(List<ByteBuffer> end) {
+            subscriber.onNext(end);
+            subscriber.onComplete();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.async;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.internal.compression.IncrementalGzipDecoder;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Publisher that decodes a gzip-encoded response body as it is received. The body is decoded one bounded chunk at a time,
+ * only as the subscriber requests them, and the next buffer of the body is only requested once the previous one is
+ * decoded. The amount of decoded data held in memory is therefore bounded, however well the body compresses.
+ *
+ * <p>When the body has been decoded, the number of bytes received and decoded are reported to the metric collector as
+ * {@link CoreMetric#RESPONSE_WIRE_BYTES} and {@link CoreMetric#RESPONSE_DECODED_BYTES}.
+ */
+@SdkInternalApi
+public final class DecompressingPublisher implements SdkPublisher<ByteBuffer> {
+    private static final Logger log = Logger.loggerFor(DecompressingPublisher.class);
+
+    private final Publisher<ByteBuffer> publisher;
+    private final MetricCollector metricCollector;
+
+    public DecompressingPublisher(Publisher<ByteBuffer> publisher, MetricCollector metricCollector) {
+        this.publisher = publisher;
+        this.metricCollector = metricCollector;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        publisher.subscribe(new DecompressingSubscriber(subscriber));
+    }
+
+    /**
+     * Subscribes to the encoded body, and is the subscription of the downstream subscriber. Every call to the decoder and
+     * to the downstream subscriber is made from {@link #drain()}, which only runs on one thread at a time.
+     */
+    private final class DecompressingSubscriber implements Subscriber<ByteBuffer>, Subscription {
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final IncrementalGzipDecoder decoder = new IncrementalGzipDecoder();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private Subscription subscription;
+        private volatile ByteBuffer input;
+        private volatile boolean upstreamComplete;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+
+        /**
+         * Only accessed from {@link #drain()}.
+         */
+        private boolean inputRequested;
+        private boolean done;
+        private long wireBytes;
+        private long decodedBytes;
+
+        private DecompressingSubscriber(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (this.subscription != null) {
+                log.warn(() -> "Received duplicate subscription, cancelling the duplicate.", new IllegalStateException());
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            input = byteBuffer;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamComplete = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Demand must be positive, but was " + n);
+                subscription.cancel();
+            } else {
+                demand.getAndUpdate(current -> {
+                    long newValue = current + n;
+                    return newValue >= 0 ? newValue : Long.MAX_VALUE;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscription.cancel();
+            drain();
+        }
+
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    try {
+                        decodeAsRequested();
+                    } catch (IOException | RuntimeException e) {
+                        subscription.cancel();
+                        fail(SdkClientException.create("Unable to decompress the gzip-encoded response", e));
+                    }
+                }
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Decode one chunk for each chunk requested downstream, and request the next buffer of the body only when the
+         * decoder needs more input.
+         */
+        private void decodeAsRequested() throws IOException {
+            while (true) {
+                if (cancelled) {
+                    done = true;
+                    decoder.close();
+                    return;
+                }
+                if (error != null) {
+                    fail(error);
+                    return;
+                }
+
+                ByteBuffer nextInput = input;
+                if (nextInput != null) {
+                    input = null;
+                    inputRequested = false;
+                    wireBytes += nextInput.remaining();
+                    decoder.feed(nextInput);
+                }
+
+                if (demand.get() == 0) {
+                    return;
+                }
+
+                ByteBuffer chunk = decoder.decodeChunk();
+                if (chunk != null) {
+                    demand.decrementAndGet();
+                    decodedBytes += chunk.remaining();
+                    subscriber.onNext(chunk);
+                    continue;
+                }
+
+                if (inputRequested) {
+                    return;
+                }
+                if (upstreamComplete) {
+                    complete();
+                    return;
+                }
+                inputRequested = true;
+                subscription.request(1);
+            }
+        }
+
+        private void complete() throws IOException {
+            done = true;
+            decoder.finish();
+            metricCollector.reportMetric(CoreMetric.RESPONSE_WIRE_BYTES, wireBytes);
+            metricCollector.reportMetric(CoreMetric.RESPONSE_DECODED_BYTES, decodedBytes);
+            subscriber.onComplete();
+        }
+
+        private void fail(Throwable throwable) {
+            done = true;
+            decoder.close();
+            subscriber.onError(throwable);
+        }
+    }
+}
@@ -35,6 +35,9 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.internal.util.Mimetype;
 import software.amazon.awssdk.core.internal.util.NoopSubscription;
+import software.amazon.awssdk.http.FileContent;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.internal.http.FileContentValidator;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.builder.SdkBuilder;
@@ -61,20 +64,41 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
 
     private final long fileLength;
 
+    /**
+     * Offset in the file of the first byte to read.
+     */
+    private final long position;
+
+    /**
+     * Number of bytes to read, starting at {@link #position}.
+     */
+    private final long numBytesToRead;
+
     /**
      * Size (in bytes) of ByteBuffer chunks read from the file and delivered to the subscriber.
      */
     private final int chunkSizeInBytes;
 
+    /**
+     * Allocator that chunks are read into, or null to allocate a new heap buffer for each chunk.
+     */
+    private final ByteBufferAllocator bufferAllocator;
+
     private FileAsyncRequestBody(DefaultBuilder builder) {
         this.path = builder.path;
         this.chunkSizeInBytes = builder.chunkSizeInBytes == null ? DEFAULT_CHUNK_SIZE : builder.chunkSizeInBytes;
+        this.bufferAllocator = builder.bufferAllocator;
         this.fileLength = invokeSafely(() -> Files.size(path));
+        this.position = builder.position == null ? 0 : Validate.isNotNegative(builder.position, "position");
+        this.numBytesToRead = builder.numBytesToRead == null
+                              ? Math.max(0, fileLength - position)
+                              : Math.min(Validate.isNotNegative(builder.numBytesToRead, "numBytesToRead"),
+                                         Math.max(0, fileLength - position));
     }
 
     @Override
     public Optional<Long> contentLength() {
-        return Optional.of(fileLength);
+        return Optional.of(numBytesToRead);
     }
 
     @Override
@@ -82,6 +106,15 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
         return Mimetype.getInstance().getMimetype(path);
     }
 
+    /**
+     * @return The region of the file that this body publishes, which HTTP clients can send without subscribing to this body,
+     * or empty if the file is not on the default file system.
+     */
+    public Optional<FileContent> fileContent() {
+        return Optional.of(FileContent.create(path, position, numBytesToRead))
+                       .filter(FileContentValidator::isOnDefaultFileSystem);
+    }
+
     @Override
     public void subscribe(Subscriber<? super ByteBuffer> s) {
         AsynchronousFileChannel channel = null;
@@ -91,7 +124,8 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             // We need to synchronize here because the subscriber could call
             // request() from within onSubscribe which would potentially
             // trigger onNext before onSubscribe is finished.
-            Subscription subscription = new FileSubscription(path, channel, s, chunkSizeInBytes);
+            Subscription subscription = new FileSubscription(path, channel, s, chunkSizeInBytes, bufferAllocator,
+                                                             position, numBytesToRead);
 
             synchronized (subscription) {
                 s.onSubscribe(subscription);
@@ -139,12 +173,50 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
          */
         Builder chunkSizeInBytes(Integer chunkSize);
 
+        /**
+         * Sets the allocator that chunks are read into. Each chunk's reference is handed to the subscriber, which releases
+         * it once the chunk has been consumed, so that a bounded set of buffers can be reused for the whole file instead of
+         * allocating a new buffer for every chunk. This is most effective when the same allocator is configured on the
+         * client with {@link software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption#BYTE_BUFFER_ALLOCATOR},
+         * so that the SDK and the HTTP client release the chunks they consume.
+         *
+         * <p>By default, a new heap buffer is allocated for every chunk.</p>
+         *
+         * @param bufferAllocator The allocator to read chunks into.
+         * @return This builder for method chaining.
+         */
+        Builder bufferAllocator(ByteBufferAllocator bufferAllocator);
+
+        /**
+         * Sets the offset in the file of the first byte to read, so that only a region of the file is sent.
+         *
+         * <p>By default, the file is read from its first byte.</p>
+         *
+         * @param position The offset of the first byte to read.
+         * @return This builder for method chaining.
+         */
+        Builder position(Long position);
+
+        /**
+         * Sets the number of bytes to read, starting at {@link #position(Long)}. If fewer bytes are left in the file, only
+         * the bytes that are left are read.
+         *
+         * <p>By default, the file is read until its last byte.</p>
+         *
+         * @param numBytesToRead The number of bytes to read.
+         * @return This builder for method chaining.
+         */
+        Builder numBytesToRead(Long numBytesToRead);
+
     }
 
     private static final class DefaultBuilder implements Builder {
 
         private Path path;
         private Integer chunkSizeInBytes;
+        private ByteBufferAllocator bufferAllocator;
+        private Long position;
+        private Long numBytesToRead;
 
         @Override
         public Builder path(Path path) {
@@ -166,6 +238,36 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             chunkSizeInBytes(chunkSizeInBytes);
         }
 
+        @Override
+        public Builder bufferAllocator(ByteBufferAllocator bufferAllocator) {
+            this.bufferAllocator = bufferAllocator;
+            return this;
+        }
+
+        public void setBufferAllocator(ByteBufferAllocator bufferAllocator) {
+            bufferAllocator(bufferAllocator);
+        }
+
+        @Override
+        public Builder position(Long position) {
+            this.position = position;
+            return this;
+        }
+
+        public void setPosition(Long position) {
+            position(position);
+        }
+
+        @Override
+        public Builder numBytesToRead(Long numBytesToRead) {
+            this.numBytesToRead = numBytesToRead;
+            return this;
+        }
+
+        public void setNumBytesToRead(Long numBytesToRead) {
+            numBytesToRead(numBytesToRead);
+        }
+
         @Override
         public FileAsyncRequestBody build() {
             return new FileAsyncRequestBody(this);
@@ -180,8 +282,9 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
         private final AsynchronousFileChannel inputChannel;
         private final Subscriber<? super ByteBuffer> subscriber;
         private final int chunkSize;
+        private final ByteBufferAllocator bufferAllocator;
 
-        private final AtomicLong position = new AtomicLong(0);
+        private final AtomicLong position;
         private final AtomicLong remainingBytes = new AtomicLong(0);
         private final long sizeAtStart;
         private final FileTime modifiedTimeAtStart;
@@ -193,14 +296,20 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
         private FileSubscription(Path path,
                                  AsynchronousFileChannel inputChannel,
                                  Subscriber<? super ByteBuffer> subscriber,
-                                 int chunkSize) throws IOException {
+                                 int chunkSize,
+                                 ByteBufferAllocator bufferAllocator,
+                                 long position,
+                                 long numBytesToRead) throws IOException {
             this.path = path;
             this.inputChannel = inputChannel;
             this.subscriber = subscriber;
             this.chunkSize = chunkSize;
+            this.bufferAllocator = bufferAllocator;
             this.sizeAtStart = inputChannel.size();
             this.modifiedTimeAtStart = Files.getLastModifiedTime(path);
-            this.remainingBytes.set(Validate.isNotNegative(sizeAtStart, "size"));
+            Validate.isNotNegative(sizeAtStart, "size");
+            this.position = new AtomicLong(position);
+            this.remainingBytes.set(numBytesToRead);
         }
 
         @Override
@@ -255,7 +364,9 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
                 return;
             }
 
-            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            ByteBuffer buffer = bufferAllocator == null ? ByteBuffer.allocate(chunkSize) : bufferAllocator.allocate(chunkSize);
+            // Don't read past the end of the region being sent
+            buffer.limit((int) Math.min(buffer.limit(), buffer.position() + remainingBytes.get()));
             inputChannel.read(buffer, position.get(), buffer, new CompletionHandler<Integer, ByteBuffer>() {
                 @Override
                 public void completed(Integer result, ByteBuffer attachment) {
@@ -284,6 +395,7 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
                             }
                         } else {
                             // Reached the end of the file, notify the subscriber and cleanup
+                            releaseBuffer(attachment);
                             closeFile();
                             signalOnComplete();
                         }
@@ -295,6 +407,7 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
 
                 @Override
                 public void failed(Throwable exc, ByteBuffer attachment) {
+                    releaseBuffer(attachment);
                     signalOnError(exc);
                     closeFile();
                 }
@@ -313,8 +426,16 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             synchronized (this) {
                 if (!done) {
                     subscriber.onNext(attachment);
+                    return;
                 }
             }
+            releaseBuffer(attachment);
+        }
+
+        private void releaseBuffer(ByteBuffer buffer) {
+            if (bufferAllocator != null) {
+                bufferAllocator.release(buffer);
+            }
         }
 
         private void signalOnComplete() {
@@ -0,0 +1,237 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.capacity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.client.config.AdaptiveConcurrencyConfiguration;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Limits the number of concurrently executing request attempts, adapting the limit to the observed attempt latency.
+ *
+ * <p>The limit is adjusted with a gradient algorithm: a long-term, exponentially weighted average of the attempt latency is
+ * compared against the latency of each completed attempt. While the latest latency is within a tolerance of the long-term
+ * average the limit grows by roughly its square root, which allows a small queue to build up at the service. When latency
+ * increases beyond that tolerance the limit shrinks proportionally, and when an attempt is dropped (throttled, timed out or
+ * failed with an I/O error) the limit is reduced multiplicatively. Samples taken while fewer than half of the permits were in
+ * use are not used to grow the limit, because they do not say anything about how the service behaves at the current limit.
+ *
+ * <p>Attempts that cannot acquire a permit wait in a FIFO queue of bounded size. Acquiring a permit does not block: the
+ * returned future completes when a permit is available, or completes exceptionally if the queue is full.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class AdaptiveConcurrencyLimiter {
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_RTT_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final ConcurrentLinkedQueue<CompletableFuture<Permit>> waiters = new ConcurrentLinkedQueue<>();
+
+    private final Object estimateLock = new Object();
+    private double estimatedLimit;
+    private double longRttNanos;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(AdaptiveConcurrencyConfiguration configuration) {
+        this.minLimit = configuration.minLimit();
+        this.maxLimit = configuration.maxLimit();
+        this.maxQueueSize = configuration.maxQueueSize();
+        this.estimatedLimit = configuration.initialLimit();
+        this.limit = configuration.initialLimit();
+    }
+
+    /**
+     * Acquire a permit to execute an attempt. The returned future is already completed if a permit is immediately available.
+     * If the limit has been reached, the attempt is queued and the future is completed when a permit is released. If the queue
+     * is full, the returned future is completed exceptionally with an {@link SdkClientException}.
+     *
+     * <p>If the returned future is cancelled or completed exceptionally before a permit is granted, the attempt is removed
+     * from the queue.
+     */
+    public CompletableFuture<Permit> acquire() {
+        // Only take a permit directly if nobody is queued, so that queued attempts are not starved.
+        if (queueDepth.get() == 0 && tryIncrementInFlight()) {
+            return CompletableFuture.completedFuture(new Permit());
+        }
+
+        if (queueDepth.incrementAndGet() > maxQueueSize) {
+            queueDepth.decrementAndGet();
+            CompletableFuture<Permit> failed = new CompletableFuture<>();
+            failed.completeExceptionally(
+                SdkClientException.create("Unable to execute request: the client's concurrency limit of " + limit
+                                          + " was reached and " + maxQueueSize + " requests are already waiting."));
+            return failed;
+        }
+
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        waiters.offer(waiter);
+        waiter.whenComplete((p, t) -> {
+            // Only a waiter that is still queued can be removed; a granted waiter was already dequeued by drain().
+            if (t != null && waiters.remove(waiter)) {
+                queueDepth.decrementAndGet();
+            }
+        });
+
+        // A permit may have been released between failing to acquire one above and joining the queue.
+        drain();
+        return waiter;
+    }
+
+    /**
+     * The current concurrency limit.
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * The number of permits that are currently held.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * The number of attempts that are currently waiting for a permit.
+     */
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    private void onSample(long rttNanos, int inFlightAtStart) {
+        synchronized (estimateLock) {
+            double rtt = Math.max(1, rttNanos);
+            if (longRttNanos == 0) {
+                longRttNanos = rtt;
+            } else {
+                longRttNanos += (rtt - longRttNanos) / LONG_RTT_WINDOW;
+            }
+
+            // If the long-term latency drifted far above what is currently observed (e.g. after a latency spike), let it
+            // recover faster than the averaging window would.
+            if (longRttNanos / rtt > 2) {
+                longRttNanos *= 0.95;
+            }
+
+            if (inFlightAtStart < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rtt));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            updateLimit(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+        }
+    }
+
+    private void onDropped() {
+        synchronized (estimateLock) {
+            updateLimit(estimatedLimit * BACKOFF_RATIO);
+        }
+    }
+
+    private void updateLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    private boolean tryIncrementInFlight() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && tryIncrementInFlight()) {
+            CompletableFuture<Permit> waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+
+            queueDepth.decrementAndGet();
+            if (!waiter.complete(new Permit())) {
+                // The waiter was cancelled while queued.
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * A permit to execute one attempt. Exactly one of {@link #releaseWithSample()}, {@link #releaseDropped()} or
+     * {@link #releaseIgnored()} must be called when the attempt completes; further calls are ignored.
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart = inFlight.get();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        /**
+         * Release the permit, using the latency of the attempt to adjust the limit.
+         */
+        public void releaseWithSample() {
+            if (released.compareAndSet(false, true)) {
+                onSample(System.nanoTime() - startNanos, inFlightAtStart);
+                release();
+            }
+        }
+
+        /**
+         * Release the permit, reducing the limit because the attempt was dropped by the service or the network.
+         */
+        public void releaseDropped() {
+            if (released.compareAndSet(false, true)) {
+                onDropped();
+                release();
+            }
+        }
+
+        /**
+         * Release the permit without adjusting the limit, e.g. because the attempt failed before reaching the service.
+         */
+        public void releaseIgnored() {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+}
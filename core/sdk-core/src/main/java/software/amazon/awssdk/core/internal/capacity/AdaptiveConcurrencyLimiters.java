@@ -0,0 +1,56 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.capacity;
+
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.client.config.AdaptiveConcurrencyConfiguration;
+import software.amazon.awssdk.http.SdkHttpRequest;
+
+/**
+ * The {@link AdaptiveConcurrencyLimiter}s of a client: either a single limiter shared by all requests, or one limiter per
+ * endpoint when {@link AdaptiveConcurrencyConfiguration#limitPerEndpoint()} is enabled.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class AdaptiveConcurrencyLimiters {
+    private final AdaptiveConcurrencyConfiguration configuration;
+    private final AdaptiveConcurrencyLimiter clientLimiter;
+    private final ConcurrentHashMap<String, AdaptiveConcurrencyLimiter> endpointLimiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiters(AdaptiveConcurrencyConfiguration configuration) {
+        this.configuration = configuration;
+        this.clientLimiter = configuration.limitPerEndpoint() ? null : new AdaptiveConcurrencyLimiter(configuration);
+    }
+
+    /**
+     * Retrieve the limiter that applies to the provided request.
+     */
+    public AdaptiveConcurrencyLimiter limiterFor(SdkHttpRequest request) {
+        if (clientLimiter != null) {
+            return clientLimiter;
+        }
+
+        String endpoint = request.host() + ":" + request.port();
+        AdaptiveConcurrencyLimiter limiter = endpointLimiters.get(endpoint);
+        if (limiter != null) {
+            return limiter;
+        }
+        return endpointLimiters.computeIfAbsent(endpoint, e -> new AdaptiveConcurrencyLimiter(configuration));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.capacity;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A bounded set of {@link TokenBucket}s, keyed by a partition name (e.g. a host or an operation name). Each partition gets its
+ * own bucket of {@link #bucketSize()} tokens, so callers in different partitions never contend on the same counter or consume
+ * each other's capacity.
+ *
+ * <p>
+ * Partitions that have not been used for longer than the idle timeout are evicted when a new partition is created. If the
+ * number of partitions would still exceed the maximum, the least recently used partition is evicted. An evicted partition is
+ * recreated with a full bucket the next time it is used; capacity released to it after it was evicted is discarded, which is
+ * the same as releasing capacity to a bucket that is already full.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class PartitionedTokenBucket {
+    private final int bucketSize;
+    private final int maxPartitions;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    public PartitionedTokenBucket(int bucketSize, int maxPartitions, Duration idleTimeout) {
+        this(bucketSize, maxPartitions, idleTimeout, System::nanoTime);
+    }
+
+    @SdkTestInternalApi
+    PartitionedTokenBucket(int bucketSize, int maxPartitions, Duration idleTimeout, LongSupplier nanoClock) {
+        this.bucketSize = bucketSize;
+        this.maxPartitions = Validate.isPositive(maxPartitions, "maxPartitions");
+        this.idleTimeoutNanos = Validate.isPositive(idleTimeout, "idleTimeout").toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Retrieve the token bucket for the requested partition, creating it (and evicting other partitions, if needed) if it
+     * does not exist yet.
+     */
+    public TokenBucket bucket(String partition) {
+        long now = nanoClock.getAsLong();
+        Partition existing = partitions.get(partition);
+        if (existing != null) {
+            existing.lastUsedNanos = now;
+            return existing.bucket;
+        }
+
+        evictIfFull(now);
+        Partition result = partitions.computeIfAbsent(partition, p -> new Partition(new TokenBucket(bucketSize), now));
+        result.lastUsedNanos = now;
+        return result.bucket;
+    }
+
+    /**
+     * Retrieve the number of tokens available in the requested partition, without creating the partition if it does not exist.
+     */
+    public int currentCapacity(String partition) {
+        Partition existing = partitions.get(partition);
+        return existing == null ? bucketSize : existing.bucket.currentCapacity();
+    }
+
+    /**
+     * Retrieve the number of tokens available in the most depleted partition, or {@link #bucketSize()} if no partition is
+     * depleted at all.
+     */
+    public int minimumCapacity() {
+        int result = bucketSize;
+        for (Partition partition : partitions.values()) {
+            result = Math.min(result, partition.bucket.currentCapacity());
+        }
+        return result;
+    }
+
+    /**
+     * The number of partitions currently being tracked.
+     */
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * The number of tokens each partition starts with, which is also the maximum capacity of each partition.
+     */
+    public int bucketSize() {
+        return bucketSize;
+    }
+
+    public int maxPartitions() {
+        return maxPartitions;
+    }
+
+    private void evictIfFull(long now) {
+        if (partitions.size() < maxPartitions) {
+            return;
+        }
+
+        String leastRecentlyUsed = null;
+        long leastRecentlyUsedAge = -1;
+
+        Iterator<Map.Entry<String, Partition>> entries = partitions.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Partition> entry = entries.next();
+            long age = now - entry.getValue().lastUsedNanos;
+            if (age >= idleTimeoutNanos) {
+                entries.remove();
+            } else if (age > leastRecentlyUsedAge) {
+                leastRecentlyUsed = entry.getKey();
+                leastRecentlyUsedAge = age;
+            }
+        }
+
+        if (partitions.size() >= maxPartitions && leastRecentlyUsed != null) {
+            partitions.remove(leastRecentlyUsed);
+        }
+    }
+
+    private static final class Partition {
+        private final TokenBucket bucket;
+        private volatile long lastUsedNanos;
+
+        private Partition(TokenBucket bucket, long lastUsedNanos) {
+            this.bucket = bucket;
+            this.lastUsedNanos = lastUsedNanos;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.compression;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+/**
+ * Decodes a gzip stream (RFC 1952) that is provided one buffer at a time, as it is received, without blocking for more
+ * input. The decoded data is pulled one chunk of at most {@link #CHUNK_SIZE} bytes at a time with {@link #decodeChunk()},
+ * so the amount of data decoded is bounded by the amount requested, not by the compression ratio of the input. An input
+ * buffer is inflated in place; only header and trailer bytes that are split across input buffers are copied.
+ *
+ * <p>Like {@link java.util.zip.GZIPInputStream}, concatenated gzip members are decoded one after the other.
+ */
+@NotThreadSafe
+@SdkInternalApi
+public final class IncrementalGzipDecoder {
+    static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int HEADER_LENGTH = 10;
+    private static final int TRAILER_LENGTH = 8;
+    private static final int DEFLATE = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final Inflater inflater = new Inflater(true);
+    private final CRC32 crc = new CRC32();
+    private byte[] pending = EMPTY;
+    private byte[] input = EMPTY;
+    private int inputOffset;
+    private int inputEnd;
+    private byte[] chunk;
+    private State state = State.HEADER;
+    private long memberSize;
+
+    /**
+     * Provide the next buffer of input. This must only be called once {@link #decodeChunk()} returned null, as the
+     * previous input is then fully consumed. The buffer must not be modified until it is consumed.
+     */
+    public void feed(ByteBuffer buffer) {
+        if (inputOffset < inputEnd || (state == State.BODY && !inflater.needsInput())) {
+            throw new IllegalStateException("The previous input has not been decoded yet");
+        }
+
+        int length = buffer.remaining();
+        byte[] bytes;
+        int offset;
+        if (buffer.hasArray()) {
+            bytes = buffer.array();
+            offset = buffer.arrayOffset() + buffer.position();
+        } else {
+            bytes = BinaryUtils.copyBytesFrom(buffer);
+            offset = 0;
+        }
+
+        if (pending.length > 0) {
+            byte[] combined = Arrays.copyOf(pending, pending.length + length);
+            System.arraycopy(bytes, offset, combined, pending.length, length);
+            bytes = combined;
+            offset = 0;
+            length = combined.length;
+            pending = EMPTY;
+        }
+
+        input = bytes;
+        inputOffset = offset;
+        inputEnd = offset + length;
+        if (state == State.BODY) {
+            inflater.setInput(input, inputOffset, inputEnd - inputOffset);
+            inputOffset = inputEnd;
+        }
+    }
+
+    /**
+     * Decode the next chunk of at most {@link #CHUNK_SIZE} bytes, or return null if the input provided so far is fully
+     * decoded and more input is needed with {@link #feed(ByteBuffer)}.
+     */
+    public ByteBuffer decodeChunk() throws IOException {
+        while (true) {
+            switch (state) {
+                case HEADER:
+                    if (inputOffset == inputEnd) {
+                        return null;
+                    }
+                    int headerLength = headerLength(input, inputOffset, inputEnd);
+                    if (headerLength < 0) {
+                        holdRemainingInput();
+                        return null;
+                    }
+                    inputOffset += headerLength;
+                    inflater.reset();
+                    inflater.setInput(input, inputOffset, inputEnd - inputOffset);
+                    inputOffset = inputEnd;
+                    crc.reset();
+                    memberSize = 0;
+                    state = State.BODY;
+                    break;
+                case BODY:
+                    ByteBuffer decoded = inflateChunk();
+                    if (inflater.finished()) {
+                        inputOffset = inputEnd - inflater.getRemaining();
+                        state = State.TRAILER;
+                    }
+                    if (decoded != null) {
+                        return decoded;
+                    }
+                    if (state == State.BODY) {
+                        return null;
+                    }
+                    break;
+                case TRAILER:
+                    if (inputEnd - inputOffset < TRAILER_LENGTH) {
+                        holdRemainingInput();
+                        return null;
+                    }
+                    validateTrailer(input, inputOffset);
+                    inputOffset += TRAILER_LENGTH;
+                    state = State.HEADER;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown state: " + state);
+            }
+        }
+    }
+
+    /**
+     * Called once all of the input has been decoded, to make sure that it was not truncated.
+     */
+    public void finish() throws IOException {
+        close();
+        if (state != State.HEADER || inputOffset < inputEnd || pending.length > 0) {
+            throw new EOFException("Unexpected end of gzip stream");
+        }
+    }
+
+    /**
+     * Release the native resources of the decoder, e.g. when the input will not be decoded to the end.
+     */
+    public void close() {
+        inflater.end();
+    }
+
+    /**
+     * Inflate the next chunk of the member body, or return null if nothing could be inflated because the inflater needs
+     * more input or reached the end of the member.
+     */
+    private ByteBuffer inflateChunk() throws ZipException {
+        if (chunk == null) {
+            chunk = new byte[CHUNK_SIZE];
+        }
+        int length;
+        try {
+            length = inflater.inflate(chunk);
+        } catch (DataFormatException e) {
+            ZipException zipException = new ZipException("Invalid gzip data: " + e.getMessage());
+            zipException.initCause(e);
+            throw zipException;
+        }
+        if (length == 0) {
+            if (inflater.finished() || inflater.needsInput()) {
+                return null;
+            }
+            throw new ZipException("Invalid gzip data: a preset dictionary is not supported");
+        }
+        crc.update(chunk, 0, length);
+        memberSize += length;
+        ByteBuffer decoded = ByteBuffer.wrap(chunk, 0, length);
+        chunk = null;
+        return decoded;
+    }
+
+    /**
+     * Hold on to the rest of the input, which is an incomplete header or trailer, until the next input is provided.
+     */
+    private void holdRemainingInput() {
+        pending = Arrays.copyOfRange(input, inputOffset, inputEnd);
+        inputOffset = inputEnd;
+    }
+
+    private void validateTrailer(byte[] bytes, int offset) throws ZipException {
+        long expectedCrc = readUnsignedIntLe(bytes, offset);
+        long expectedSize = readUnsignedIntLe(bytes, offset + 4);
+        if (expectedCrc != crc.getValue() || expectedSize != (memberSize & 0xFFFFFFFFL)) {
+            throw new ZipException("Corrupt gzip trailer");
+        }
+    }
+
+    /**
+     * The length of the gzip member header starting at the offset, or -1 if the bytes do not contain the whole header yet.
+     */
+    private static int headerLength(byte[] bytes, int offset, int end) throws ZipException {
+        if (end - offset < HEADER_LENGTH) {
+            return -1;
+        }
+        if ((bytes[offset] & 0xFF) != 0x1F || (bytes[offset + 1] & 0xFF) != 0x8B) {
+            throw new ZipException("Not in gzip format");
+        }
+        if (bytes[offset + 2] != DEFLATE) {
+            throw new ZipException("Unsupported gzip compression method: " + bytes[offset + 2]);
+        }
+
+        int flags = bytes[offset + 3] & 0xFF;
+        int position = offset + HEADER_LENGTH;
+        if ((flags & FEXTRA) != 0) {
+            if (end - position < 2) {
+                return -1;
+            }
+            position += 2 + ((bytes[position] & 0xFF) | (bytes[position + 1] & 0xFF) << 8);
+        }
+        if ((flags & FNAME) != 0) {
+            position = skipZeroTerminated(bytes, position, end);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            position = skipZeroTerminated(bytes, position, end);
+        }
+        if ((flags & FHCRC) != 0) {
+            position += 2;
+        }
+        return position <= end ? position - offset : -1;
+    }
+
+    private static int skipZeroTerminated(byte[] bytes, int position, int end) {
+        for (int i = position; i < end; i++) {
+            if (bytes[i] == 0) {
+                return i + 1;
+            }
+        }
+        return end + 1;
+    }
+
+    private static long readUnsignedIntLe(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFFL)
+               | (bytes[offset + 1] & 0xFFL) << 8
+               | (bytes[offset + 2] & 0xFFL) << 16
+               | (bytes[offset + 3] & 0xFFL) << 24;
+    }
+
+    private enum State {
+        HEADER,
+        BODY,
+        TRAILER
+    }
+}
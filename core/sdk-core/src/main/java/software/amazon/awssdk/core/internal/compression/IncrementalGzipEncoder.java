@@ -0,0 +1,115 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.compression;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Encodes data that is provided one buffer at a time into a single gzip member (RFC 1952), without buffering more than the
+ * deflater's own window. Each input buffer is deflated into chunks of at most {@link #CHUNK_SIZE} bytes; the returned list
+ * may be empty when the deflater is still collecting input.
+ *
+ * <p>This is the counterpart of {@link IncrementalGzipDecoder}.
+ */
+@NotThreadSafe
+@SdkInternalApi
+public final class IncrementalGzipEncoder {
+    static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final byte[] HEADER = {0x1F, (byte) 0x8B, 8, 0, 0, 0, 0, 0, 0, (byte) 0xFF};
+    private static final int TRAILER_LENGTH = 8;
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private boolean headerWritten;
+    private long inputSize;
+
+    /**
+     * Encode the given buffer, returning the encoded chunks in order.
+     */
+    public List<ByteBuffer> encode(ByteBuffer input) {
+        List<ByteBuffer> encoded = new ArrayList<>();
+        writeHeader(encoded);
+
+        byte[] bytes = new byte[input.remaining()];
+        input.get(bytes);
+        crc.update(bytes, 0, bytes.length);
+        inputSize += bytes.length;
+
+        deflater.setInput(bytes);
+        deflate(encoded);
+        return encoded;
+    }
+
+    /**
+     * Called once all of the input has been encoded, returning the remaining encoded chunks, including the gzip trailer.
+     * The encoder cannot be used after this is called.
+     */
+    public List<ByteBuffer> finish() {
+        List<ByteBuffer> encoded = new ArrayList<>();
+        writeHeader(encoded);
+        deflater.finish();
+        deflate(encoded);
+        encoded.add(trailer());
+        close();
+        return encoded;
+    }
+
+    /**
+     * Release the native resources of the encoder, e.g. when the input will not be encoded to the end.
+     */
+    public void close() {
+        deflater.end();
+    }
+
+    private void writeHeader(List<ByteBuffer> encoded) {
+        if (!headerWritten) {
+            headerWritten = true;
+            encoded.add(ByteBuffer.wrap(HEADER.clone()));
+        }
+    }
+
+    private void deflate(List<ByteBuffer> encoded) {
+        while (!deflater.finished()) {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int length = deflater.deflate(chunk);
+            if (length == 0) {
+                return;
+            }
+            encoded.add(ByteBuffer.wrap(chunk, 0, length));
+        }
+    }
+
+    private ByteBuffer trailer() {
+        byte[] trailer = new byte[TRAILER_LENGTH];
+        writeUnsignedIntLe(trailer, 0, crc.getValue());
+        writeUnsignedIntLe(trailer, 4, inputSize);
+        return ByteBuffer.wrap(trailer);
+    }
+
+    private static void writeUnsignedIntLe(byte[] bytes, int offset, long value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >> 8);
+        bytes[offset + 2] = (byte) (value >> 16);
+        bytes[offset + 3] = (byte) (value >> 24);
+    }
+}
@@ -79,7 +79,9 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
             TransformingAsyncResponseHandler<Response<OutputT>> combinedResponseHandler =
                 createCombinedResponseHandler(executionParams, executionContext);
 
-            return doExecute(executionParams, executionContext, combinedResponseHandler);
+            // Non-streaming responses can be handled by independent handlers, which allows the request to be hedged.
+            return doExecute(executionParams, executionContext, combinedResponseHandler,
+                             context -> createCombinedResponseHandler(executionParams, context));
         });
     }
 
@@ -116,6 +118,7 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
 
             // Running beforeExecution interceptors and modifyRequest interceptors.
             ExecutionContext context = invokeInterceptorsAndCreateExecutionContext(executionParams);
+            disableResponseCompression(context);
 
             HttpResponseHandler<OutputT> decoratedResponseHandlers =
                 decorateResponseHandlers(executionParams.getResponseHandler(), context);
@@ -128,7 +131,7 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
             TransformingAsyncResponseHandler<Response<ReturnT>> combinedResponseHandler =
                 new CombinedResponseAsyncHttpResponseHandler<>(wrappedAsyncStreamingResponseHandler, errorHandler);
 
-            return doExecute(executionParams, context, combinedResponseHandler);
+            return doExecute(executionParams, context, combinedResponseHandler, null);
         });
     }
 
@@ -190,7 +193,8 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
     private <InputT extends SdkRequest, OutputT extends SdkResponse, ReturnT> CompletableFuture<ReturnT> doExecute(
         ClientExecutionParams<InputT, OutputT> executionParams,
         ExecutionContext executionContext,
-        TransformingAsyncResponseHandler<Response<ReturnT>> asyncResponseHandler) {
+        TransformingAsyncResponseHandler<Response<ReturnT>> asyncResponseHandler,
+        Function<ExecutionContext, TransformingAsyncResponseHandler<Response<ReturnT>>> hedgedResponseHandlerFactory) {
 
         try {
 
@@ -229,7 +233,11 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
                        inputT,
                        executionContext,
                        new AsyncAfterTransmissionInterceptorCallingResponseHandler<>(asyncResponseHandler,
-                                                                                     executionContext));
+                                                                                     executionContext),
+                       hedgedResponseHandlerFactory == null
+                       ? null
+                       : context -> new AsyncAfterTransmissionInterceptorCallingResponseHandler<>(
+                           hedgedResponseHandlerFactory.apply(context), context));
 
             CompletableFuture<ReturnT> exceptionTranslatedFuture = invokeFuture.handle((resp, err) -> {
                 if (err != null) {
@@ -276,13 +284,14 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
         AsyncRequestBody requestProvider,
         InputT originalRequest,
         ExecutionContext executionContext,
-        TransformingAsyncResponseHandler<Response<OutputT>> responseHandler) {
+        TransformingAsyncResponseHandler<Response<OutputT>> responseHandler,
+        Function<ExecutionContext, TransformingAsyncResponseHandler<Response<OutputT>>> hedgedResponseHandlerFactory) {
         return client.requestExecutionBuilder()
                      .requestProvider(requestProvider)
                      .request(request)
                      .originalRequest(originalRequest)
                      .executionContext(executionContext)
-                     .execute(responseHandler);
+                     .execute(responseHandler, hedgedResponseHandlerFactory);
     }
 
     private <T> CompletableFuture<T> measureApiCallSuccess(ClientExecutionParams<?, ?> executionParams,
@@ -289,6 +289,14 @@ public abstract class BaseClientHandler {
         };
     }
 
+    /**
+     * Streaming response payloads are returned to the caller exactly as the service sent them, so they are never requested
+     * compressed.
+     */
+    static void disableResponseCompression(ExecutionContext executionContext) {
+        executionContext.executionAttributes().putAttribute(SdkInternalExecutionAttribute.RESPONSE_COMPRESSION_ENABLED, false);
+    }
+
     static void validateCombinedResponseHandler(ClientExecutionParams<?, ?> executionParams) {
         if (executionParams.getCombinedResponseHandler() != null) {
             if (executionParams.getResponseHandler() != null) {
@@ -62,6 +62,7 @@ public abstract class BaseSyncClientHandler extends BaseClientHandler implements
         return measureApiCallSuccess(executionParams, () -> {
             // Running beforeExecution interceptors and modifyRequest interceptors.
             ExecutionContext executionContext = invokeInterceptorsAndCreateExecutionContext(executionParams);
+            disableResponseCompression(executionContext);
 
             CombinedResponseHandler<ReturnT> streamingCombinedResponseHandler =
                 createStreamingCombinedResponseHandler(executionParams, responseTransformer, executionContext);
@@ -18,6 +18,7 @@ package software.amazon.awssdk.core.internal.http;
 import static software.amazon.awssdk.core.internal.http.pipeline.RequestPipelineBuilder.async;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.Response;
@@ -34,9 +35,12 @@ import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncApiCallAtt
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncApiCallMetricCollectionStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncApiCallTimeoutTrackingStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncBeforeTransmissionExecutionInterceptorsStage;
+import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncConcurrencyLimitingStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncExecutionFailureExceptionReportingStage;
+import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncHedgingStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncRetryableStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncSigningStage;
+import software.amazon.awssdk.core.internal.http.pipeline.stages.CompressRequestStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.MakeAsyncHttpRequestStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.MakeRequestImmutableStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.MakeRequestMutableStage;
@@ -123,6 +127,21 @@ public final class AmazonAsyncHttpClient implements SdkAutoCloseable {
          * @return Unmarshalled result type.
          */
         <OutputT> CompletableFuture<OutputT> execute(TransformingAsyncResponseHandler<Response<OutputT>> responseHandler);
+
+        /**
+         * Executes the request with the given configuration, allowing it to be hedged if
+         * {@link software.amazon.awssdk.core.client.config.SdkAdvancedClientOption#HEDGING} is configured for the operation.
+         *
+         * @param responseHandler Response handler that outputs the actual result type which is
+         *                        preferred going forward.
+         * @param responseHandlerFactory Creates an independent response handler, bound to the provided execution context, for
+         *                               each concurrently executing copy of a hedged request.
+         * @param <OutputT>       Result type
+         * @return Unmarshalled result type.
+         */
+        <OutputT> CompletableFuture<OutputT> execute(
+            TransformingAsyncResponseHandler<Response<OutputT>> responseHandler,
+            Function<ExecutionContext, TransformingAsyncResponseHandler<Response<OutputT>>> responseHandlerFactory);
     }
 
     private class RequestExecutionBuilderImpl implements RequestExecutionBuilder {
@@ -160,6 +179,13 @@ public final class AmazonAsyncHttpClient implements SdkAutoCloseable {
         @Override
         public <OutputT> CompletableFuture<OutputT> execute(
             TransformingAsyncResponseHandler<Response<OutputT>> responseHandler) {
+            return execute(responseHandler, null);
+        }
+
+        @Override
+        public <OutputT> CompletableFuture<OutputT> execute(
+            TransformingAsyncResponseHandler<Response<OutputT>> responseHandler,
+            Function<ExecutionContext, TransformingAsyncResponseHandler<Response<OutputT>>> responseHandlerFactory) {
 
             try {
                 return RequestPipelineBuilder
@@ -169,13 +195,11 @@ public final class AmazonAsyncHttpClient implements SdkAutoCloseable {
                                 .then(ApplyUserAgentStage::new)
                                 .then(MergeCustomHeadersStage::new)
                                 .then(MergeCustomQueryParamsStage::new)
+                                .then(CompressRequestStage::new)
                                 .then(MakeRequestImmutableStage::new)
                                 .then(RequestPipelineBuilder
-                                        .first(AsyncSigningStage::new)
-                                        .then(AsyncBeforeTransmissionExecutionInterceptorsStage::new)
-                                        .then(d -> new MakeAsyncHttpRequestStage<>(responseHandler, d))
-                                        .wrappedWith(AsyncApiCallAttemptMetricCollectionStage::new)
-                                        .wrappedWith((deps, wrapped) -> new AsyncRetryableStage<>(responseHandler, deps, wrapped))
+                                        .first((HttpClientDependencies d) -> new AsyncHedgingStage<>(
+                                            d, responseHandler, responseHandlerFactory, h -> retryablePipeline(h).build(d)))
                                         .then(async(() -> new UnwrapResponseContainer<>()))
                                         .then(async(() -> new AfterExecutionInterceptorsStage<>()))
                                         .wrappedWith(AsyncExecutionFailureExceptionReportingStage::new)
@@ -190,6 +214,17 @@ public final class AmazonAsyncHttpClient implements SdkAutoCloseable {
             }
         }
 
+        private <OutputT> RequestPipelineBuilder<SdkHttpFullRequest, CompletableFuture<Response<OutputT>>> retryablePipeline(
+            TransformingAsyncResponseHandler<Response<OutputT>> responseHandler) {
+            return RequestPipelineBuilder
+                .first(AsyncSigningStage::new)
+                .then(AsyncBeforeTransmissionExecutionInterceptorsStage::new)
+                .then(d -> new MakeAsyncHttpRequestStage<>(responseHandler, d))
+                .wrappedWith(AsyncConcurrencyLimitingStage::new)
+                .wrappedWith(AsyncApiCallAttemptMetricCollectionStage::new)
+                .wrappedWith((deps, wrapped) -> new AsyncRetryableStage<>(responseHandler, deps, wrapped));
+        }
+
         private RequestExecutionContext createRequestExecutionDependencies() {
             return RequestExecutionContext.builder()
                                           .requestProvider(requestProvider)
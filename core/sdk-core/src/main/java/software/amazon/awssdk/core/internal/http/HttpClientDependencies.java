@@ -17,13 +17,19 @@ package software.amazon.awssdk.core.internal.http;
 
 import static software.amazon.awssdk.utils.Validate.paramNotNull;
 
+import java.util.Optional;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkGlobalTime;
+import software.amazon.awssdk.core.client.config.AdaptiveConcurrencyConfiguration;
+import software.amazon.awssdk.core.client.config.HedgingConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.internal.capacity.AdaptiveConcurrencyLimiters;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipelineBuilder;
 import software.amazon.awssdk.core.internal.retry.ClockSkewAdjuster;
+import software.amazon.awssdk.core.internal.retry.HedgingPolicy;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 
 /**
@@ -34,6 +40,8 @@ import software.amazon.awssdk.utils.SdkAutoCloseable;
 public final class HttpClientDependencies implements SdkAutoCloseable {
     private final ClockSkewAdjuster clockSkewAdjuster;
     private final SdkClientConfiguration clientConfiguration;
+    private final AdaptiveConcurrencyLimiters concurrencyLimiters;
+    private final HedgingPolicy hedgingPolicy;
 
     /**
      * Time offset may be mutated by {@link RequestPipeline} implementations if a clock skew is detected.
@@ -43,6 +51,12 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
     private HttpClientDependencies(Builder builder) {
         this.clockSkewAdjuster = builder.clockSkewAdjuster != null ? builder.clockSkewAdjuster : new ClockSkewAdjuster();
         this.clientConfiguration = paramNotNull(builder.clientConfiguration, "ClientConfiguration");
+        AdaptiveConcurrencyConfiguration concurrencyConfiguration =
+            clientConfiguration.option(SdkAdvancedClientOption.ADAPTIVE_CONCURRENCY_LIMIT);
+        this.concurrencyLimiters = concurrencyConfiguration != null ? new AdaptiveConcurrencyLimiters(concurrencyConfiguration)
+                                                                    : null;
+        HedgingConfiguration hedgingConfiguration = clientConfiguration.option(SdkAdvancedClientOption.HEDGING);
+        this.hedgingPolicy = hedgingConfiguration != null ? new HedgingPolicy(hedgingConfiguration) : null;
     }
 
     public static Builder builder() {
@@ -60,6 +74,21 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
         return clockSkewAdjuster;
     }
 
+    /**
+     * @return The adaptive concurrency limiters of this client, if
+     * {@link SdkAdvancedClientOption#ADAPTIVE_CONCURRENCY_LIMIT} is configured.
+     */
+    public Optional<AdaptiveConcurrencyLimiters> concurrencyLimiters() {
+        return Optional.ofNullable(concurrencyLimiters);
+    }
+
+    /**
+     * @return The hedging policy of this client, if {@link SdkAdvancedClientOption#HEDGING} is configured.
+     */
+    public Optional<HedgingPolicy> hedgingPolicy() {
+        return Optional.ofNullable(hedgingPolicy);
+    }
+
     /**
      * @return Current time offset. This is mutable and should not be cached.
      */
@@ -22,6 +22,8 @@ import java.util.Optional;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.http.ByteArrayContentStreamProvider;
+import software.amazon.awssdk.http.ContentStreamProvider;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
 import software.amazon.awssdk.utils.IoUtils;
@@ -33,13 +35,21 @@ import software.amazon.awssdk.utils.IoUtils;
 @SdkInternalApi
 public final class SimpleHttpContentPublisher implements SdkHttpContentPublisher {
 
-    private final byte[] content;
+    private final ByteBuffer content;
     private final int length;
 
     public SimpleHttpContentPublisher(SdkHttpFullRequest request) {
-        this.content = request.contentStreamProvider().map(p -> invokeSafely(() -> IoUtils.toByteArray(p.newStream())))
-                                                      .orElseGet(() -> new byte[0]);
-        this.length = content.length;
+        this.content = request.contentStreamProvider().map(SimpleHttpContentPublisher::toByteBuffer)
+                                                      .orElseGet(() -> ByteBuffer.wrap(new byte[0]));
+        this.length = content.remaining();
+    }
+
+    private static ByteBuffer toByteBuffer(ContentStreamProvider provider) {
+        if (provider instanceof ByteArrayContentStreamProvider) {
+            // Content marshalled into memory can be published as-is, without reading it through a stream into a new array
+            return ((ByteArrayContentStreamProvider) provider).asByteBuffer();
+        }
+        return ByteBuffer.wrap(invokeSafely(() -> IoUtils.toByteArray(provider.newStream())));
     }
 
     @Override
@@ -67,7 +77,7 @@ public final class SimpleHttpContentPublisher implements SdkHttpContentPublisher
                 if (n <= 0) {
                     s.onError(new IllegalArgumentException("Demand must be positive"));
                 } else {
-                    s.onNext(ByteBuffer.wrap(content));
+                    s.onNext(content.duplicate());
                     s.onComplete();
                 }
             }
@@ -0,0 +1,148 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.Response;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
+import software.amazon.awssdk.core.internal.capacity.AdaptiveConcurrencyLimiter;
+import software.amazon.awssdk.core.internal.capacity.AdaptiveConcurrencyLimiters;
+import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.metrics.SdkErrorType;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+/**
+ * Wrapper pipeline that bounds the number of concurrently executing API call attempts with the client's
+ * {@link AdaptiveConcurrencyLimiter}, if {@link SdkAdvancedClientOption#ADAPTIVE_CONCURRENCY_LIMIT} is configured. The latency
+ * and outcome of every attempt is fed back to the limiter.
+ */
+@SdkInternalApi
+public final class AsyncConcurrencyLimitingStage<OutputT> implements RequestPipeline<SdkHttpFullRequest,
+    CompletableFuture<Response<OutputT>>> {
+    private final AdaptiveConcurrencyLimiters limiters;
+    private final Executor futureCompletionExecutor;
+    private final RequestPipeline<SdkHttpFullRequest, CompletableFuture<Response<OutputT>>> wrapped;
+
+    public AsyncConcurrencyLimitingStage(HttpClientDependencies dependencies,
+                                         RequestPipeline<SdkHttpFullRequest, CompletableFuture<Response<OutputT>>> wrapped) {
+        this.limiters = dependencies.concurrencyLimiters().orElse(null);
+        this.futureCompletionExecutor =
+            dependencies.clientConfiguration().option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR);
+        this.wrapped = wrapped;
+    }
+
+    @Override
+    public CompletableFuture<Response<OutputT>> execute(SdkHttpFullRequest input,
+                                                        RequestExecutionContext context) throws Exception {
+        if (limiters == null) {
+            return wrapped.execute(input, context);
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.limiterFor(input);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> permitFuture = limiter.acquire();
+        context.attemptMetricCollector().reportMetric(CoreMetric.CONCURRENCY_LIMIT, limiter.limit());
+        context.attemptMetricCollector().reportMetric(CoreMetric.CONCURRENCY_LIMIT_QUEUE_DEPTH, limiter.queueDepth());
+
+        AtomicBoolean attemptStarted = new AtomicBoolean();
+        CompletableFuture<Response<OutputT>> executeFuture;
+        if (permitFuture.isDone() || futureCompletionExecutor == null) {
+            executeFuture = permitFuture.thenCompose(permit -> executeWithPermit(input, context, permit, attemptStarted));
+        } else {
+            // Queued attempts are granted a permit on the thread that completed another attempt, which is usually an I/O
+            // thread, so hand them off to the future completion executor.
+            executeFuture = permitFuture.thenComposeAsync(permit -> executeWithPermit(input, context, permit, attemptStarted),
+                                                          futureCompletionExecutor);
+        }
+
+        CompletableFutureUtils.forwardExceptionTo(executeFuture, permitFuture);
+        executeFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                // If the attempt was cancelled or timed out after the permit was granted but before the attempt started, the
+                // attempt will never run, so the permit has to be released here.
+                permitFuture.whenComplete((permit, e) -> {
+                    if (permit != null && attemptStarted.compareAndSet(false, true)) {
+                        permit.releaseIgnored();
+                    }
+                });
+            }
+        });
+        return executeFuture;
+    }
+
+    private CompletableFuture<Response<OutputT>> executeWithPermit(SdkHttpFullRequest input,
+                                                                   RequestExecutionContext context,
+                                                                   AdaptiveConcurrencyLimiter.Permit permit,
+                                                                   AtomicBoolean attemptStarted) {
+        if (!attemptStarted.compareAndSet(false, true)) {
+            // The attempt was abandoned and its permit released before it could start.
+            return CompletableFutureUtils.failedFuture(new CancellationException("The attempt was abandoned before it started"));
+        }
+
+        CompletableFuture<Response<OutputT>> attemptFuture;
+        try {
+            attemptFuture = wrapped.execute(input, context);
+        } catch (Throwable t) {
+            permit.releaseIgnored();
+            return CompletableFutureUtils.failedFuture(t);
+        }
+
+        CompletableFuture<Response<OutputT>> releasedFuture = attemptFuture.whenComplete((r, t) -> release(permit, r, t));
+        CompletableFutureUtils.forwardExceptionTo(releasedFuture, attemptFuture);
+        return releasedFuture;
+    }
+
+    private void release(AdaptiveConcurrencyLimiter.Permit permit, Response<OutputT> response, Throwable t) {
+        if (t != null) {
+            releaseForException(permit, t instanceof CompletionException ? t.getCause() : t);
+        } else if (Boolean.TRUE.equals(response.isSuccess()) || response.exception() == null) {
+            permit.releaseWithSample();
+        } else {
+            releaseForException(permit, response.exception());
+        }
+    }
+
+    private void releaseForException(AdaptiveConcurrencyLimiter.Permit permit, Throwable exception) {
+        switch (SdkErrorType.fromException(exception)) {
+            case THROTTLING:
+            case CONFIGURED_TIMEOUT:
+            case IO:
+                permit.releaseDropped();
+                break;
+            case SERVER_ERROR:
+                permit.releaseWithSample();
+                break;
+            default:
+                if (exception != null && exception.getCause() instanceof IOException) {
+                    permit.releaseDropped();
+                } else {
+                    permit.releaseIgnored();
+                }
+                break;
+        }
+    }
+}
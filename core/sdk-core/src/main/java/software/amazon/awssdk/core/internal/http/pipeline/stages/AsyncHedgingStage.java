@@ -0,0 +1,290 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.Response;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.http.ExecutionContext;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.retry.HedgingPolicy;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+/**
+ * Wrapper around the retryable pipeline that sends a hedged copy of the request for the operations configured via
+ * {@link SdkAdvancedClientOption#HEDGING}, if the original request has not completed after the delay suggested by the
+ * client's {@link HedgingPolicy}. The first successful response is used, and the other request is cancelled.
+ *
+ * <p>Both requests are executed by their own instance of the wrapped pipeline, with their own response handler and their own
+ * copy of the {@link ExecutionContext}, so that they can run concurrently. The execution attributes and interceptor context of
+ * the request that provided the response are copied back to the original context before this stage completes, so that the
+ * following stages observe them as if no hedging had occurred.
+ */
+@SdkInternalApi
+public final class AsyncHedgingStage<OutputT> implements RequestPipeline<SdkHttpFullRequest,
+    CompletableFuture<Response<OutputT>>> {
+
+    private final HedgingPolicy hedgingPolicy;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final TransformingAsyncResponseHandler<Response<OutputT>> responseHandler;
+    private final Function<ExecutionContext, TransformingAsyncResponseHandler<Response<OutputT>>> responseHandlerFactory;
+    private final Function<TransformingAsyncResponseHandler<Response<OutputT>>,
+        RequestPipeline<SdkHttpFullRequest, CompletableFuture<Response<OutputT>>>> pipelineFactory;
+
+    /**
+     * @param responseHandler The response handler used when the request is not hedged.
+     * @param responseHandlerFactory Creates a new response handler bound to the provided execution context, or null if the
+     * request may not be hedged.
+     * @param pipelineFactory Creates the wrapped pipeline for the provided response handler.
+     */
+    public AsyncHedgingStage(HttpClientDependencies dependencies,
+                             TransformingAsyncResponseHandler<Response<OutputT>> responseHandler,
+                             Function<ExecutionContext,
+                                 TransformingAsyncResponseHandler<Response<OutputT>>> responseHandlerFactory,
+                             Function<TransformingAsyncResponseHandler<Response<OutputT>>,
+                                 RequestPipeline<SdkHttpFullRequest, CompletableFuture<Response<OutputT>>>> pipelineFactory) {
+        this.hedgingPolicy = dependencies.hedgingPolicy().orElse(null);
+        this.scheduledExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
+        this.responseHandler = responseHandler;
+        this.responseHandlerFactory = responseHandlerFactory;
+        this.pipelineFactory = pipelineFactory;
+    }
+
+    @Override
+    public CompletableFuture<Response<OutputT>> execute(SdkHttpFullRequest request,
+                                                        RequestExecutionContext context) throws Exception {
+        String operationName = context.executionAttributes().getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        if (!canHedge(context, operationName)) {
+            return pipelineFactory.apply(responseHandler).execute(request, context);
+        }
+
+        Optional<Duration> hedgeDelay = hedgingPolicy.hedgeDelay(operationName);
+        if (!hedgeDelay.isPresent()) {
+            return executeWithoutHedge(request, context, operationName);
+        }
+
+        return new HedgingExecutor(request, context, operationName).execute(hedgeDelay.get());
+    }
+
+    private boolean canHedge(RequestExecutionContext context, String operationName) {
+        // Streaming request bodies can only be read once, so they can't be sent twice concurrently.
+        return hedgingPolicy != null
+               && responseHandlerFactory != null
+               && context.requestProvider() == null
+               && hedgingPolicy.isHedged(operationName);
+    }
+
+    /**
+     * Execute a request of a hedged operation for which no hedge delay is known yet, only recording its latency.
+     */
+    private CompletableFuture<Response<OutputT>> executeWithoutHedge(SdkHttpFullRequest request,
+                                                                     RequestExecutionContext context,
+                                                                     String operationName) throws Exception {
+        long startTime = System.nanoTime();
+        CompletableFuture<Response<OutputT>> executeFuture = pipelineFactory.apply(responseHandler).execute(request, context);
+        CompletableFuture<Response<OutputT>> result = executeFuture.whenComplete((r, t) -> {
+            if (t == null && Boolean.TRUE.equals(r.isSuccess())) {
+                hedgingPolicy.recordLatency(operationName, System.nanoTime() - startTime);
+            }
+            context.executionContext().metricCollector().reportMetric(CoreMetric.HEDGE_ISSUED, false);
+        });
+        CompletableFutureUtils.forwardExceptionTo(result, executeFuture);
+        return result;
+    }
+
+    private final class HedgingExecutor {
+        private final SdkHttpFullRequest request;
+        private final RequestExecutionContext context;
+        private final String operationName;
+        private final CompletableFuture<Response<OutputT>> result = new CompletableFuture<>();
+        private final long startTime = System.nanoTime();
+
+        // Guarded by this
+        private Execution primary;
+        private Execution hedge;
+        private ScheduledFuture<?> hedgeTimer;
+        private int executionsInFlight;
+
+        private HedgingExecutor(SdkHttpFullRequest request, RequestExecutionContext context, String operationName) {
+            this.request = request;
+            this.context = context;
+            this.operationName = operationName;
+        }
+
+        private CompletableFuture<Response<OutputT>> execute(Duration hedgeDelay) {
+            result.whenComplete((r, t) -> cancelOutstanding());
+
+            Execution execution = new Execution(false);
+            synchronized (this) {
+                primary = execution;
+                executionsInFlight++;
+            }
+            execution.start();
+
+            synchronized (this) {
+                if (!result.isDone()) {
+                    hedgeTimer = scheduledExecutor.schedule(this::startHedge, hedgeDelay.toNanos(), NANOSECONDS);
+                }
+            }
+            return result;
+        }
+
+        private void startHedge() {
+            Execution execution;
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                // The original context is not modified while the primary request executes (it uses a copy), so it's safe to
+                // copy it again here.
+                execution = new Execution(true);
+                hedge = execution;
+                executionsInFlight++;
+            }
+            execution.start();
+        }
+
+        private void onComplete(Execution execution, Response<OutputT> response, Throwable exception) {
+            boolean succeeded = exception == null && Boolean.TRUE.equals(response.isSuccess());
+            boolean hedged;
+            synchronized (this) {
+                executionsInFlight--;
+                if (result.isDone()) {
+                    return;
+                }
+                if (!succeeded && executionsInFlight > 0) {
+                    // The other request may still succeed.
+                    return;
+                }
+                hedged = hedge != null;
+            }
+
+            adopt(execution.context);
+
+            context.executionContext().metricCollector().reportMetric(CoreMetric.HEDGE_ISSUED, hedged);
+            if (succeeded) {
+                hedgingPolicy.recordLatency(operationName, System.nanoTime() - startTime);
+                if (hedged) {
+                    context.executionContext().metricCollector().reportMetric(CoreMetric.HEDGE_WON, execution.isHedge);
+                }
+                result.complete(response);
+            } else {
+                result.completeExceptionally(exception != null ? exception : response.exception());
+            }
+        }
+
+        private void cancelOutstanding() {
+            Execution primaryExecution;
+            Execution hedgeExecution;
+            synchronized (this) {
+                if (hedgeTimer != null) {
+                    hedgeTimer.cancel(false);
+                }
+                primaryExecution = primary;
+                hedgeExecution = hedge;
+            }
+
+            if (primaryExecution != null) {
+                primaryExecution.cancel();
+            }
+            if (hedgeExecution != null) {
+                hedgeExecution.cancel();
+            }
+        }
+
+        /**
+         * Copy the state of the request that provided the result to the original context.
+         */
+        private void adopt(RequestExecutionContext executionContext) {
+            ExecutionAttributes attributes = context.executionAttributes();
+            executionContext.executionAttributes().getAttributes().forEach((k, v) -> putAttribute(attributes, k, v));
+            context.executionContext().interceptorContext(executionContext.executionContext().interceptorContext());
+            if (executionContext.attemptMetricCollector() != null) {
+                context.attemptMetricCollector(executionContext.attemptMetricCollector());
+            }
+        }
+
+        private final class Execution {
+            private final boolean isHedge;
+            private final RequestExecutionContext context;
+            private volatile CompletableFuture<Response<OutputT>> future;
+
+            private Execution(boolean isHedge) {
+                this.isHedge = isHedge;
+                this.context = copyContext(HedgingExecutor.this.context);
+            }
+
+            private void start() {
+                CompletableFuture<Response<OutputT>> executeFuture;
+                try {
+                    TransformingAsyncResponseHandler<Response<OutputT>> handler =
+                        responseHandlerFactory.apply(context.executionContext());
+                    executeFuture = pipelineFactory.apply(handler).execute(request, context);
+                } catch (Throwable t) {
+                    executeFuture = CompletableFutureUtils.failedFuture(t);
+                }
+
+                future = executeFuture;
+                executeFuture.whenComplete((r, t) -> onComplete(this, r, t));
+
+                // The other request may have completed while this one was being started.
+                if (result.isDone()) {
+                    cancel();
+                }
+            }
+
+            private void cancel() {
+                CompletableFuture<Response<OutputT>> executeFuture = future;
+                if (executeFuture != null) {
+                    executeFuture.cancel(false);
+                }
+            }
+        }
+    }
+
+    private static RequestExecutionContext copyContext(RequestExecutionContext context) {
+        ExecutionContext executionContext = context.executionContext()
+                                                   .toBuilder()
+                                                   .executionAttributes(context.executionAttributes().copy())
+                                                   .build();
+        return RequestExecutionContext.builder()
+                                      .originalRequest(context.originalRequest())
+                                      .executionContext(executionContext)
+                                      .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void putAttribute(ExecutionAttributes attributes, ExecutionAttribute<T> attribute, Object value) {
+        attributes.putAttribute(attribute, (T) value);
+    }
+}
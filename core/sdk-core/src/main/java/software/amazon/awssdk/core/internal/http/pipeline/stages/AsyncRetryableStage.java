@@ -97,6 +97,11 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
         }
 
         public void maybeAttemptExecute(CompletableFuture<Response<OutputT>> future) {
+            if (future.isDone()) {
+                // The execution was cancelled (e.g. because a hedged request completed first), so don't retry.
+                return;
+            }
+
             retryableStageHelper.startingAttempt();
 
             if (!retryableStageHelper.retryPolicyAllowsRetry()) {
@@ -0,0 +1,157 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import static software.amazon.awssdk.http.Header.CONTENT_LENGTH;
+import static software.amazon.awssdk.http.Header.CONTENT_MD5;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.CompressionConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.trait.RequestCompression;
+import software.amazon.awssdk.core.internal.async.CompressingAsyncRequestBody;
+import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.pipeline.MutableRequestToRequestPipeline;
+import software.amazon.awssdk.core.internal.io.CompressingInputStream;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Md5Utils;
+
+/**
+ * Implements the "requestcompression" C2J trait: gzip-compresses the payload of requests to operations that accept compressed
+ * payloads, before the request is signed.
+ *
+ * <p>The payload of a non-streaming operation is already in memory, so it is compressed up front, and only if it is at least
+ * {@link CompressionConfiguration#minimumCompressionThresholdInBytes()} long. The payload of a streaming operation is
+ * compressed as it is sent, and is sent without a content length.
+ *
+ * <p>Payloads that already carry a flexible checksum are sent uncompressed, because the checksum was calculated over the
+ * uncompressed payload. A Content-MD5 is recalculated for compressed non-streaming payloads, but payloads that are compressed
+ * as they are sent (streaming and async payloads) are sent uncompressed if they carry a Content-MD5, because it cannot be
+ * recalculated before the request is signed.
+ */
+@SdkInternalApi
+public class CompressRequestStage implements MutableRequestToRequestPipeline {
+    private static final String GZIP = "gzip";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String FLEXIBLE_CHECKSUM_HEADER_PREFIX = "x-amz-checksum-";
+    private static final String TRAILER_HEADER = "x-amz-trailer";
+
+    private final CompressionConfiguration compressionConfiguration;
+
+    public CompressRequestStage(HttpClientDependencies dependencies) {
+        SdkClientConfiguration clientConfig = dependencies.clientConfiguration();
+        CompressionConfiguration configured = clientConfig.option(SdkClientOption.COMPRESSION_CONFIGURATION);
+        this.compressionConfiguration = configured != null ? configured : CompressionConfiguration.builder().build();
+    }
+
+    @Override
+    public SdkHttpFullRequest.Builder execute(SdkHttpFullRequest.Builder request, RequestExecutionContext context)
+            throws Exception {
+        RequestCompression requestCompression =
+            context.executionAttributes().getAttribute(SdkInternalExecutionAttribute.REQUEST_COMPRESSION);
+        if (!shouldCompress(request, requestCompression)) {
+            return request;
+        }
+
+        if (context.requestProvider() != null) {
+            if (hasContentMd5(request)) {
+                return request;
+            }
+            ByteBufferAllocator bufferAllocator =
+                context.executionAttributes().getAttribute(SdkInternalExecutionAttribute.BYTE_BUFFER_ALLOCATOR);
+            context.requestProvider(new CompressingAsyncRequestBody(context.requestProvider(), bufferAllocator));
+            return compressedStreaming(request);
+        }
+
+        ContentStreamProvider contentStreamProvider = request.contentStreamProvider();
+        if (contentStreamProvider == null) {
+            return request;
+        }
+
+        if (requestCompression.isStreaming()) {
+            if (hasContentMd5(request)) {
+                return request;
+            }
+            request.contentStreamProvider(() -> new CompressingInputStream(contentStreamProvider.newStream()));
+            return compressedStreaming(request);
+        }
+
+        byte[] payload = IoUtils.toByteArray(contentStreamProvider.newStream());
+        if (payload.length < compressionConfiguration.minimumCompressionThresholdInBytes()) {
+            return request;
+        }
+
+        byte[] compressed = compress(payload);
+        if (hasContentMd5(request)) {
+            request.putHeader(CONTENT_MD5, Md5Utils.md5AsBase64(compressed));
+        }
+        return request.contentStreamProvider(() -> new ByteArrayInputStream(compressed))
+                      .putHeader(CONTENT_LENGTH, Integer.toString(compressed.length))
+                      .putHeader(CONTENT_ENCODING, contentEncoding(request));
+    }
+
+    private boolean shouldCompress(SdkHttpFullRequest.Builder request, RequestCompression requestCompression) {
+        if (requestCompression == null
+            || !requestCompression.getEncodings().contains(GZIP)
+            || !compressionConfiguration.requestCompressionEnabled()) {
+            return false;
+        }
+
+        return !hasFlexibleChecksum(request);
+    }
+
+    private static boolean hasFlexibleChecksum(SdkHttpFullRequest.Builder request) {
+        List<String> headers = new ArrayList<>(request.numHeaders());
+        request.forEachHeader((name, values) -> headers.add(name.toLowerCase(Locale.ROOT)));
+        return headers.stream().anyMatch(h -> h.startsWith(FLEXIBLE_CHECKSUM_HEADER_PREFIX) || h.equals(TRAILER_HEADER));
+    }
+
+    private static boolean hasContentMd5(SdkHttpFullRequest.Builder request) {
+        return request.firstMatchingHeader(CONTENT_MD5).isPresent();
+    }
+
+    private static SdkHttpFullRequest.Builder compressedStreaming(SdkHttpFullRequest.Builder request) {
+        return request.removeHeader(CONTENT_LENGTH)
+                      .putHeader(CONTENT_ENCODING, contentEncoding(request));
+    }
+
+    /**
+     * The content encoding of the compressed payload. Encodings the payload already had were applied first.
+     */
+    private static String contentEncoding(SdkHttpFullRequest.Builder request) {
+        Optional<String> existing = request.firstMatchingHeader(CONTENT_ENCODING);
+        return existing.map(encoding -> encoding + ", " + GZIP).orElse(GZIP);
+    }
+
+    private static byte[] compress(byte[] payload) throws IOException {
+        try (InputStream compressed = new CompressingInputStream(new ByteArrayInputStream(payload))) {
+            return IoUtils.toByteArray(compressed);
+        }
+    }
+}
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.core.internal.http.pipeline.stages;
 
+import static software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute.BYTE_BUFFER_ALLOCATOR;
 import static software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute.SDK_HTTP_EXECUTION_ATTRIBUTES;
 import static software.amazon.awssdk.core.internal.http.timers.TimerUtils.resolveTimeoutInMillis;
 import static software.amazon.awssdk.http.Header.CONTENT_LENGTH;
@@ -36,6 +37,7 @@ import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.internal.async.FileAsyncRequestBody;
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
@@ -45,6 +47,7 @@ import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.core.internal.http.timers.TimerUtils;
 import software.amazon.awssdk.core.internal.util.MetricUtils;
 import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.FileContent;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
@@ -137,7 +140,9 @@ public final class MakeAsyncHttpRequestStage<OutputT>
                                                                 .requestContentPublisher(requestProvider)
                                                                 .responseHandler(responseHandler)
                                                                 .fullDuplex(isFullDuplex(context.executionAttributes()))
-                                                                .metricCollector(httpMetricCollector);
+                                                                .metricCollector(httpMetricCollector)
+                                                                .bufferAllocator(context.executionAttributes()
+                                                                                        .getAttribute(BYTE_BUFFER_ALLOCATOR));
         if (context.executionAttributes().getAttribute(SDK_HTTP_EXECUTION_ATTRIBUTES) != null) {
             executeRequestBuilder.httpExecutionAttributes(
                 context.executionAttributes()
@@ -259,6 +264,14 @@ public final class MakeAsyncHttpRequestStage<OutputT>
             return asyncRequestBody.contentLength();
         }
 
+        @Override
+        public Optional<FileContent> fileContent() {
+            if (asyncRequestBody instanceof FileAsyncRequestBody) {
+                return ((FileAsyncRequestBody) asyncRequestBody).fileContent();
+            }
+            return Optional.empty();
+        }
+
         @Override
         public void subscribe(Subscriber<? super ByteBuffer> s) {
             asyncRequestBody.subscribe(s);
@@ -40,8 +40,10 @@ import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.retry.RetryPolicyContext;
 import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.metrics.MetricCollector;
 
 /**
  * Contains the logic shared by {@link RetryableStage} and {@link AsyncRetryableStage} when querying and interacting with a
@@ -109,6 +111,8 @@ public class RetryableStageHelper {
         boolean willRetry = retryPolicy.aggregateRetryCondition().shouldRetry(context);
         if (!willRetry) {
             retryPolicy.aggregateRetryCondition().requestWillNotBeRetried(context);
+        } else {
+            reportRetryCapacity(context);
         }
 
         return willRetry;
@@ -313,6 +317,13 @@ public class RetryableStageHelper {
         rateLimitingTokenBucket.updateClientSendingRate(false);
     }
 
+    private void reportRetryCapacity(RetryPolicyContext retryPolicyContext) {
+        MetricCollector metricCollector = context.executionContext().metricCollector();
+        TokenBucketRetryCondition.getCapacityForExecution(retryPolicyContext.executionAttributes())
+                                 .ifPresent(c -> metricCollector.reportMetric(CoreMetric.RETRY_CAPACITY_REMAINING,
+                                                                              c.capacityRemaining()));
+    }
+
     private boolean isInitialAttempt() {
         return attemptNumber == 1;
     }
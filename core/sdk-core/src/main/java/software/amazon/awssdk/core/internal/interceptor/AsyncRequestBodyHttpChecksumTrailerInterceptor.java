@@ -27,6 +27,7 @@ import software.amazon.awssdk.core.checksums.ChecksumSpecs;
 import software.amazon.awssdk.core.interceptor.Context;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
 import software.amazon.awssdk.core.internal.async.ChecksumCalculatingAsyncRequestBody;
 import software.amazon.awssdk.core.internal.util.ChunkContentUtils;
 import software.amazon.awssdk.core.internal.util.HttpChecksumUtils;
@@ -68,7 +69,10 @@ public final class AsyncRequestBodyHttpChecksumTrailerInterceptor implements Exe
                Optional.of(ChecksumCalculatingAsyncRequestBody.builder()
                                                               .asyncRequestBody(context.asyncRequestBody().get())
                                                               .algorithm(checksumSpecs.algorithm())
-                                                              .trailerHeader(checksumSpecs.headerName()).build())
+                                                              .trailerHeader(checksumSpecs.headerName())
+                                                              .bufferAllocator(executionAttributes.getAttribute(
+                                                                  SdkInternalExecutionAttribute.BYTE_BUFFER_ALLOCATOR))
+                                                              .build())
                                                       : context.asyncRequestBody();
 
     }
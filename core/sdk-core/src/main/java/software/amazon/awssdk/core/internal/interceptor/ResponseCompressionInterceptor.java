@@ -0,0 +1,160 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.interceptor;
+
+import static software.amazon.awssdk.core.internal.io.DecompressingInputStream.GZIP;
+import static software.amazon.awssdk.core.internal.io.DecompressingInputStream.ZSTD;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Optional;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.ClientType;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.internal.async.DecompressingPublisher;
+import software.amazon.awssdk.core.internal.io.DecompressingInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.NoOpMetricCollector;
+
+/**
+ * Asks for compressed response payloads and decompresses the responses as they are read, when
+ * {@link SdkInternalExecutionAttribute#RESPONSE_COMPRESSION_ENABLED} is set.
+ *
+ * <p>Responses are only decompressed when this interceptor added the {@code Accept-Encoding} header, so that payloads
+ * that are stored compressed by the service (e.g. S3 objects uploaded with a {@code Content-Encoding}) are never altered.
+ */
+@SdkInternalApi
+public final class ResponseCompressionInterceptor implements ExecutionInterceptor {
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String CRC32_HEADER = "x-amz-crc32";
+
+    private static final ExecutionAttribute<Boolean> ACCEPT_ENCODING_ADDED =
+        new ExecutionAttribute<>("ResponseCompressionAcceptEncodingAdded");
+    private static final ExecutionAttribute<String> DECOMPRESSED_CONTENT_ENCODING =
+        new ExecutionAttribute<>("ResponseCompressionContentEncoding");
+
+    @Override
+    public SdkHttpRequest modifyHttpRequest(Context.ModifyHttpRequest context, ExecutionAttributes executionAttributes) {
+        SdkHttpRequest request = context.httpRequest();
+        boolean addAcceptEncoding =
+            Boolean.TRUE.equals(executionAttributes.getAttribute(SdkInternalExecutionAttribute.RESPONSE_COMPRESSION_ENABLED))
+            && !request.firstMatchingHeader(ACCEPT_ENCODING).isPresent();
+        executionAttributes.putAttribute(ACCEPT_ENCODING_ADDED, addAcceptEncoding);
+
+        if (!addAcceptEncoding) {
+            return request;
+        }
+        return request.toBuilder()
+                      .putHeader(ACCEPT_ENCODING, acceptedEncodings(executionAttributes))
+                      .build();
+    }
+
+    @Override
+    public SdkHttpResponse modifyHttpResponse(Context.ModifyHttpResponse context, ExecutionAttributes executionAttributes) {
+        SdkHttpResponse response = context.httpResponse();
+        String contentEncoding = contentEncodingToDecompress(response, executionAttributes);
+        executionAttributes.putAttribute(DECOMPRESSED_CONTENT_ENCODING, contentEncoding);
+
+        if (contentEncoding == null) {
+            return response;
+        }
+        return response.toBuilder()
+                       .removeHeader(CONTENT_ENCODING)
+                       .removeHeader(CONTENT_LENGTH)
+                       .build();
+    }
+
+    @Override
+    public Optional<InputStream> modifyHttpResponseContent(Context.ModifyHttpResponse context,
+                                                           ExecutionAttributes executionAttributes) {
+        String contentEncoding = executionAttributes.getAttribute(DECOMPRESSED_CONTENT_ENCODING);
+        if (contentEncoding == null || !context.responseBody().isPresent()) {
+            return context.responseBody();
+        }
+
+        InputStream responseBody = context.responseBody().get();
+        DecompressingInputStream decompressed =
+            DecompressingInputStream.create(contentEncoding, responseBody, metricCollector(executionAttributes));
+        if (responseBody instanceof AbortableInputStream) {
+            return Optional.of(AbortableInputStream.create(decompressed, (AbortableInputStream) responseBody));
+        }
+        return Optional.of(decompressed);
+    }
+
+    @Override
+    public Optional<Publisher<ByteBuffer>> modifyAsyncHttpResponseContent(Context.ModifyHttpResponse context,
+                                                                          ExecutionAttributes executionAttributes) {
+        String contentEncoding = executionAttributes.getAttribute(DECOMPRESSED_CONTENT_ENCODING);
+        if (!GZIP.equals(contentEncoding) || !context.responsePublisher().isPresent()) {
+            return context.responsePublisher();
+        }
+        return Optional.of(new DecompressingPublisher(context.responsePublisher().get(),
+                                                      metricCollector(executionAttributes)));
+    }
+
+    private static String acceptedEncodings(ExecutionAttributes executionAttributes) {
+        if (supportsZstd(executionAttributes)) {
+            return ZSTD + ", " + GZIP;
+        }
+        return GZIP;
+    }
+
+    /**
+     * The content encoding of the response if it should be decompressed, or null if it should be left as it is.
+     */
+    private static String contentEncodingToDecompress(SdkHttpResponse response, ExecutionAttributes executionAttributes) {
+        if (!Boolean.TRUE.equals(executionAttributes.getAttribute(ACCEPT_ENCODING_ADDED))) {
+            return null;
+        }
+
+        String contentEncoding = response.firstMatchingHeader(CONTENT_ENCODING)
+                                         .map(e -> e.trim().toLowerCase(Locale.US))
+                                         .orElse(null);
+        if (GZIP.equals(contentEncoding)) {
+            // A CRC32 of a gzip-encoded response may be calculated over the compressed bytes, so the CRC32 validation
+            // decompresses those responses itself once the checksum has been validated
+            return response.firstMatchingHeader(CRC32_HEADER).isPresent() ? null : GZIP;
+        }
+        if (ZSTD.equals(contentEncoding) && supportsZstd(executionAttributes)) {
+            return ZSTD;
+        }
+        return null;
+    }
+
+    private static boolean supportsZstd(ExecutionAttributes executionAttributes) {
+        return executionAttributes.getAttribute(SdkExecutionAttribute.CLIENT_TYPE) == ClientType.SYNC
+               && DecompressingInputStream.isZstdAvailable();
+    }
+
+    private static MetricCollector metricCollector(ExecutionAttributes executionAttributes) {
+        MetricCollector metricCollector =
+            executionAttributes.getAttribute(SdkExecutionAttribute.API_CALL_ATTEMPT_METRIC_COLLECTOR);
+        return metricCollector == null ? NoOpMetricCollector.create() : metricCollector;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.internal.compression.IncrementalGzipEncoder;
+
+/**
+ * Input stream that gzip-encodes another stream as it is read, so that the encoded content is never fully held in memory.
+ */
+@SdkInternalApi
+public final class CompressingInputStream extends InputStream {
+    private static final int READ_SIZE = 8 * 1024;
+
+    private final InputStream source;
+    private final IncrementalGzipEncoder encoder = new IncrementalGzipEncoder();
+    private final Deque<ByteBuffer> encoded = new ArrayDeque<>();
+    private final byte[] readBuffer = new byte[READ_SIZE];
+    private boolean sourceExhausted;
+    private boolean closed;
+
+    public CompressingInputStream(InputStream source) {
+        this.source = source;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer current = current();
+        return current == null ? -1 : current.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer current = current();
+        if (current == null) {
+            return -1;
+        }
+        int read = Math.min(len, current.remaining());
+        current.get(b, off, read);
+        return read;
+    }
+
+    @Override
+    public int available() {
+        ByteBuffer current = encoded.peek();
+        return current == null ? 0 : current.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            if (!sourceExhausted) {
+                encoder.close();
+            }
+            source.close();
+        }
+    }
+
+    /**
+     * The encoded chunk to read from next, or null if all of the encoded content has been read.
+     */
+    private ByteBuffer current() throws IOException {
+        while (true) {
+            ByteBuffer current = encoded.peek();
+            if (current != null && current.hasRemaining()) {
+                return current;
+            }
+            if (current != null) {
+                encoded.poll();
+            } else if (sourceExhausted) {
+                return null;
+            } else {
+                encodeMore();
+            }
+        }
+    }
+
+    private void encodeMore() throws IOException {
+        int read = source.read(readBuffer);
+        if (read < 0) {
+            sourceExhausted = true;
+            encoded.addAll(encoder.finish());
+        } else if (read > 0) {
+            encoded.addAll(encoder.encode(ByteBuffer.wrap(readBuffer, 0, read)));
+        }
+    }
+}
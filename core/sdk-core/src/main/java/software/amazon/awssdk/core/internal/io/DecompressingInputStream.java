@@ -0,0 +1,192 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.zip.GZIPInputStream;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.ClassLoaderHelper;
+
+/**
+ * Input stream that decodes a gzip or zstd-encoded response body as it is read. Nothing is read from the body until this
+ * stream is first read from, and an empty body is decoded to an empty stream.
+ *
+ * <p>zstd is decoded with zstd-jni, which is only used if it is on the classpath (see {@link #isZstdAvailable()}).
+ *
+ * <p>When the end of the body has been read, the number of bytes received and decoded are reported to the metric collector
+ * as {@link CoreMetric#RESPONSE_WIRE_BYTES} and {@link CoreMetric#RESPONSE_DECODED_BYTES}.
+ */
+@SdkInternalApi
+public final class DecompressingInputStream extends InputStream {
+    public static final String GZIP = "gzip";
+    public static final String ZSTD = "zstd";
+
+    private static final String ZSTD_INPUT_STREAM = "com.github.luben.zstd.ZstdInputStream";
+    private static final Constructor<?> ZSTD_INPUT_STREAM_CONSTRUCTOR = loadZstdInputStreamConstructor();
+
+    private final String contentEncoding;
+    private final ByteCountingInputStream wire;
+    private final MetricCollector metricCollector;
+    private InputStream decoded;
+    private long decodedBytes;
+    private boolean reported;
+
+    private DecompressingInputStream(String contentEncoding, InputStream source, MetricCollector metricCollector) {
+        this.contentEncoding = contentEncoding;
+        this.wire = new ByteCountingInputStream(source);
+        this.metricCollector = metricCollector;
+    }
+
+    /**
+     * Create a stream that decodes the given content encoding, which must be {@link #GZIP} or, if it is available,
+     * {@link #ZSTD}.
+     */
+    public static DecompressingInputStream create(String contentEncoding, InputStream source, MetricCollector metricCollector) {
+        if (!GZIP.equals(contentEncoding) && !(ZSTD.equals(contentEncoding) && isZstdAvailable())) {
+            throw new IllegalArgumentException("Unsupported content encoding: " + contentEncoding);
+        }
+        return new DecompressingInputStream(contentEncoding, source, metricCollector);
+    }
+
+    /**
+     * Whether zstd-encoded content can be decoded, which requires zstd-jni to be on the classpath.
+     */
+    public static boolean isZstdAvailable() {
+        return ZSTD_INPUT_STREAM_CONSTRUCTOR != null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = decoded().read();
+        if (read < 0) {
+            reportMetrics();
+        } else {
+            decodedBytes++;
+        }
+        return read;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = decoded().read(b, off, len);
+        if (read < 0) {
+            reportMetrics();
+        } else {
+            decodedBytes += read;
+        }
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return decoded == null ? 0 : decoded.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (decoded == null) {
+            wire.close();
+        } else {
+            decoded.close();
+        }
+    }
+
+    private InputStream decoded() throws IOException {
+        if (decoded == null) {
+            PushbackInputStream source = new PushbackInputStream(wire, 1);
+            int first = source.read();
+            if (first < 0) {
+                decoded = new ByteArrayInputStream(new byte[0]);
+            } else {
+                source.unread(first);
+                decoded = decoding(contentEncoding, source);
+            }
+        }
+        return decoded;
+    }
+
+    private void reportMetrics() {
+        if (!reported) {
+            reported = true;
+            metricCollector.reportMetric(CoreMetric.RESPONSE_WIRE_BYTES, wire.count);
+            metricCollector.reportMetric(CoreMetric.RESPONSE_DECODED_BYTES, decodedBytes);
+        }
+    }
+
+    private static InputStream decoding(String contentEncoding, InputStream wire) throws IOException {
+        if (GZIP.equals(contentEncoding)) {
+            return new GZIPInputStream(wire);
+        }
+        try {
+            return (InputStream) ZSTD_INPUT_STREAM_CONSTRUCTOR.newInstance(wire);
+        } catch (InvocationTargetException e) {
+            throw new IOException("Unable to decode the zstd-encoded content", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create " + ZSTD_INPUT_STREAM, e);
+        }
+    }
+
+    private static Constructor<?> loadZstdInputStreamConstructor() {
+        try {
+            Class<?> zstdInputStream = ClassLoaderHelper.loadClass(ZSTD_INPUT_STREAM, DecompressingInputStream.class);
+            return zstdInputStream.getConstructor(InputStream.class);
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static final class ByteCountingInputStream extends FilterInputStream {
+        private long count;
+
+        private ByteCountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
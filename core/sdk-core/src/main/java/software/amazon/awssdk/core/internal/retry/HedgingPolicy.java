@@ -0,0 +1,122 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.client.config.HedgingConfiguration;
+
+/**
+ * Decides whether, and after which delay, a hedged request should be sent for an operation, based on a
+ * {@link HedgingConfiguration}. When no fixed delay is configured, the delay is a percentile of the latency of the most recent
+ * requests of the operation, recomputed every {@link #RECOMPUTE_INTERVAL} samples.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class HedgingPolicy {
+    static final int SAMPLE_SIZE = 256;
+    static final int MIN_SAMPLES = 20;
+    static final int RECOMPUTE_INTERVAL = 16;
+
+    private final HedgingConfiguration configuration;
+    private final Map<String, LatencyTracker> latencyTrackers;
+
+    public HedgingPolicy(HedgingConfiguration configuration) {
+        this.configuration = configuration;
+        Map<String, LatencyTracker> trackers = new HashMap<>();
+        configuration.operations().forEach(operation -> trackers.put(operation, new LatencyTracker()));
+        this.latencyTrackers = trackers;
+    }
+
+    /**
+     * Whether requests of the provided operation are hedged.
+     */
+    public boolean isHedged(String operationName) {
+        return operationName != null && latencyTrackers.containsKey(operationName);
+    }
+
+    /**
+     * The delay after which a hedged request should be sent for the provided operation, or empty if no hedge should be sent
+     * (because the operation is not hedged, or not enough latency has been observed yet).
+     */
+    public Optional<Duration> hedgeDelay(String operationName) {
+        if (!isHedged(operationName)) {
+            return Optional.empty();
+        }
+
+        if (configuration.delay() != null) {
+            return Optional.of(configuration.delay());
+        }
+
+        long delayNanos = latencyTrackers.get(operationName).percentileNanos;
+        if (delayNanos < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(Math.max(delayNanos, configuration.minDelay().toNanos())));
+    }
+
+    /**
+     * Record the latency of a successful request of the provided operation.
+     */
+    public void recordLatency(String operationName, long latencyNanos) {
+        if (configuration.delay() != null || !isHedged(operationName)) {
+            return;
+        }
+        latencyTrackers.get(operationName).record(latencyNanos, configuration.delayPercentile());
+    }
+
+    @SdkTestInternalApi
+    int sampleCount(String operationName) {
+        return (int) Math.min(latencyTrackers.get(operationName).count.get(), SAMPLE_SIZE);
+    }
+
+    /**
+     * A ring of the most recent latency samples of one operation.
+     */
+    private static final class LatencyTracker {
+        private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+        private final AtomicLong count = new AtomicLong();
+        private volatile long percentileNanos = -1;
+
+        private void record(long latencyNanos, double percentile) {
+            long index = count.getAndIncrement();
+            samples.set((int) (index % SAMPLE_SIZE), latencyNanos);
+
+            long recorded = index + 1;
+            if (recorded >= MIN_SAMPLES && (recorded == MIN_SAMPLES || recorded % RECOMPUTE_INTERVAL == 0)) {
+                percentileNanos = computePercentile((int) Math.min(recorded, SAMPLE_SIZE), percentile);
+            }
+        }
+
+        private long computePercentile(int sampleCount, double percentile) {
+            long[] sorted = new long[sampleCount];
+            for (int i = 0; i < sampleCount; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * sampleCount) - 1;
+            return sorted[Math.max(0, Math.min(rank, sampleCount - 1))];
+        }
+    }
+}
@@ -16,10 +16,23 @@
 package software.amazon.awssdk.core.internal.retry;
 
 import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.exception.SdkClientException;
 
+/**
+ * The client-side rate limiter used by the {@code ADAPTIVE} retry mode, implementing the CUBIC-based token bucket from the
+ * SDK retry specification.
+ * <p>
+ * This implementation is lock-free. The token bucket and the CUBIC rate state are held together in one immutable snapshot
+ * that is replaced with a compare-and-set, so requests never contend on a monitor, and a fill rate is always published
+ * along with the CUBIC state it was calculated from. While client-side throttling is not enabled (i.e. before the first
+ * throttling error), acquiring capacity is a single volatile read.
+ */
+@ThreadSafe
 @SdkInternalApi
 public class RateLimitingTokenBucket {
     private static final double MIN_FILL_RATE = 0.5;
@@ -31,18 +44,7 @@ public class RateLimitingTokenBucket {
 
     private final Clock clock;
 
-    private Double fillRate;
-    private Double maxCapacity;
-    private double currentCapacity;
-    private Double lastTimestamp;
-    private boolean enabled;
-    private double measuredTxRate;
-    private double lastTxRateBucket;
-    private long requestCount;
-    private double lastMaxRate;
-    private double lastThrottleTime;
-
-    private double timeWindow;
+    private final AtomicReference<State> state = new AtomicReference<>();
 
     public interface Clock {
         double time();
@@ -151,32 +153,30 @@ public class RateLimitingTokenBucket {
      * @return The amount of time in seconds to wait before proceeding.
      */
     public OptionalDouble acquireNonBlocking(double amount, boolean fastFail) {
-        double waitTime = 0.0;
-
-        synchronized (this) {
-            // If rate limiting is not enabled, we technically have an uncapped limit
-            if (!enabled) {
-                return OptionalDouble.of(0.0);
-            }
+        // If rate limiting is not enabled, we technically have an uncapped limit
+        if (!state.get().bucket.enabled) {
+            return OptionalDouble.of(0.0);
+        }
 
-            refill();
+        refill();
 
-            double originalCapacity = currentCapacity;
-            double unfulfilled = tryAcquireCapacity(amount);
+        State current;
+        Bucket currentBucket;
+        double unfulfilled;
+        do {
+            current = state.get();
+            currentBucket = current.bucket;
+            unfulfilled = currentBucket.unfulfilled(amount);
 
             if (unfulfilled > 0.0 && fastFail) {
-                currentCapacity = originalCapacity;
                 return OptionalDouble.empty();
             }
+        } while (!state.compareAndSet(current, current.withBucket(currentBucket.withCurrentCapacity(
+            currentBucket.currentCapacity - amount))));
 
-            // If all the tokens couldn't be acquired immediately, wait enough
-            // time to fill the remainder.
-            if (unfulfilled > 0) {
-                waitTime = unfulfilled / fillRate;
-            }
-        }
-
-        return OptionalDouble.of(waitTime);
+        // If all the tokens couldn't be acquired immediately, wait enough
+        // time to fill the remainder.
+        return OptionalDouble.of(unfulfilled > 0 ? unfulfilled / currentBucket.fillRate : 0.0);
     }
 
     /**
@@ -185,27 +185,18 @@ public class RateLimitingTokenBucket {
      * @return The unfulfilled amount.
      */
     double tryAcquireCapacity(double amount) {
-        double result;
-        if (amount <= currentCapacity) {
-            result = 0;
-        } else {
-            result = amount - currentCapacity;
-        }
-        currentCapacity = currentCapacity - amount;
-        return result;
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.withBucket(current.bucket.withCurrentCapacity(
+            current.bucket.currentCapacity - amount))));
+        return current.bucket.unfulfilled(amount);
     }
 
     private void initialize() {
-        fillRate = null;
-        maxCapacity = null;
-        currentCapacity = 0.0;
-        lastTimestamp = null;
-        enabled = false;
-        measuredTxRate = 0.0;
-        lastTxRateBucket = Math.floor(clock.time());
-        requestCount = 0;
-        lastMaxRate = 0.0;
-        lastThrottleTime = clock.time();
+        double now = clock.time();
+        state.set(new State(new Bucket(Double.NaN, Double.NaN, 0.0, Double.NaN, false),
+                            new Cubic(0.0, Math.floor(now), 0, 0.0, now, 0.0)));
     }
 
     /**
@@ -221,16 +212,9 @@ public class RateLimitingTokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized void refill() {
+    void refill() {
         double timestamp = clock.time();
-        if (lastTimestamp == null) {
-            lastTimestamp = timestamp;
-            return;
-        }
-
-        double fillAmount = (timestamp - lastTimestamp) * fillRate;
-        currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
-        lastTimestamp = timestamp;
+        updateBucket(b -> b.refill(timestamp));
     }
 
     /**
@@ -244,12 +228,11 @@ public class RateLimitingTokenBucket {
      *   # max_capacity.
      *   current_capacity = min(current_capacity, max_capacity)
      * </pre>
+     * The bucket is enabled in the same update if {@code enable} is true, so that a concurrent acquire never observes an
+     * enabled bucket without a fill rate.
      */
-    private synchronized void updateRate(double newRps) {
-        refill();
-        fillRate = Math.max(newRps, MIN_FILL_RATE);
-        maxCapacity = Math.max(newRps, MIN_CAPACITY);
-        currentCapacity = Math.min(currentCapacity, maxCapacity);
+    private static Bucket updateRate(Bucket current, double timestamp, double newRps, boolean enable) {
+        return current.refill(timestamp).withRate(newRps, enable || current.enabled);
     }
 
     /**
@@ -264,20 +247,19 @@ public class RateLimitingTokenBucket {
      *   last_tx_rate_bucket = time_bucket
      * </pre>
      */
-    private synchronized void updateMeasuredRate() {
-        double t = clock.time();
+    private static Cubic updateMeasuredRate(Cubic current, double t) {
         double timeBucket = Math.floor(t * 2) / 2;
-        requestCount = requestCount + 1;
-        if (timeBucket > lastTxRateBucket) {
-            double currentRate = requestCount / (timeBucket - lastTxRateBucket);
-            measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
-            requestCount = 0;
-            lastTxRateBucket = timeBucket;
+        long requestCount = current.requestCount + 1;
+        if (timeBucket > current.lastTxRateBucket) {
+            double currentRate = requestCount / (timeBucket - current.lastTxRateBucket);
+            double measuredTxRate = (currentRate * SMOOTH) + (current.measuredTxRate * (1 - SMOOTH));
+            return current.withMeasuredRate(measuredTxRate, timeBucket, 0);
         }
+        return current.withMeasuredRate(current.measuredTxRate, current.lastTxRateBucket, requestCount);
     }
 
-    synchronized void enable() {
-        enabled = true;
+    void enable() {
+        updateBucket(b -> b.withEnabled(true));
     }
 
     /**
@@ -304,31 +286,39 @@ public class RateLimitingTokenBucket {
      *   new_rate = min(calculated_rate, 2 * measured_tx_rate)
      *   _TokenBucketUpdateRate(new_rate)
      * </pre>
+     * The new CUBIC state and the token bucket's new rate are published in a single update, so that concurrent responses
+     * can never leave the bucket with a rate calculated from a CUBIC state that has since been replaced.
      */
-    public synchronized void updateClientSendingRate(boolean throttlingResponse) {
-        updateMeasuredRate();
-
-        double calculatedRate;
-        if (throttlingResponse) {
-            double rateToUse;
-            if (!enabled) {
-                rateToUse = measuredTxRate;
+    public void updateClientSendingRate(boolean throttlingResponse) {
+        double now = clock.time();
+
+        State current;
+        State next;
+        do {
+            current = state.get();
+            Bucket currentBucket = current.bucket;
+            Cubic measured = updateMeasuredRate(current.cubic, now);
+
+            Cubic nextCubic;
+            double calculatedRate;
+            if (throttlingResponse) {
+                double rateToUse;
+                if (!currentBucket.enabled) {
+                    rateToUse = measured.measuredTxRate;
+                } else {
+                    rateToUse = Math.min(measured.measuredTxRate, currentBucket.fillRate);
+                }
+
+                nextCubic = measured.withThrottle(rateToUse, now);
+                calculatedRate = cubicThrottle(rateToUse);
             } else {
-                rateToUse = Math.min(measuredTxRate, fillRate);
+                nextCubic = measured.withTimeWindow(timeWindow(measured.lastMaxRate));
+                calculatedRate = nextCubic.cubicSuccess(now);
             }
 
-            lastMaxRate = rateToUse;
-            calculateTimeWindow();
-            lastThrottleTime = clock.time();
-            calculatedRate = cubicThrottle(rateToUse);
-            enable();
-        } else {
-            calculateTimeWindow();
-            calculatedRate = cubicSuccess(clock.time());
-        }
-
-        double newRate = Math.min(calculatedRate, 2 * measuredTxRate);
-        updateRate(newRate);
+            double newRate = Math.min(calculatedRate, 2 * nextCubic.measuredTxRate);
+            next = new State(updateRate(currentBucket, now, newRate, throttlingResponse), nextCubic);
+        } while (!state.compareAndSet(current, next));
     }
 
     /**
@@ -340,8 +330,12 @@ public class RateLimitingTokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized void calculateTimeWindow() {
-        timeWindow = Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
+    void calculateTimeWindow() {
+        updateCubic(c -> c.withTimeWindow(timeWindow(c.lastMaxRate)));
+    }
+
+    private static double timeWindow(double lastMaxRate) {
+        return Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
     }
 
     /**
@@ -381,10 +375,16 @@ public class RateLimitingTokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized double cubicSuccess(double timestamp) {
-        double dt = timestamp - lastThrottleTime;
-        double calculatedRate = SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
-        return calculatedRate;
+    double cubicSuccess(double timestamp) {
+        return state.get().cubic.cubicSuccess(timestamp);
+    }
+
+    private void updateBucket(UnaryOperator<Bucket> update) {
+        state.updateAndGet(s -> s.withBucket(update.apply(s.bucket)));
+    }
+
+    private void updateCubic(UnaryOperator<Cubic> update) {
+        state.updateAndGet(s -> s.withCubic(update.apply(s.cubic)));
     }
 
     static class DefaultClock implements Clock {
@@ -396,37 +396,155 @@ public class RateLimitingTokenBucket {
     }
 
     @SdkTestInternalApi
-    synchronized void setLastMaxRate(double lastMaxRate) {
-        this.lastMaxRate = lastMaxRate;
+    void setLastMaxRate(double lastMaxRate) {
+        updateCubic(c -> new Cubic(c.measuredTxRate, c.lastTxRateBucket, c.requestCount, lastMaxRate,
+                                          c.lastThrottleTime, c.timeWindow));
     }
 
     @SdkTestInternalApi
-    synchronized void setLastThrottleTime(double lastThrottleTime) {
-        this.lastThrottleTime = lastThrottleTime;
+    void setLastThrottleTime(double lastThrottleTime) {
+        updateCubic(c -> new Cubic(c.measuredTxRate, c.lastTxRateBucket, c.requestCount, c.lastMaxRate,
+                                          lastThrottleTime, c.timeWindow));
     }
 
     @SdkTestInternalApi
-    synchronized double getMeasuredTxRate() {
-        return measuredTxRate;
+    double getMeasuredTxRate() {
+        return state.get().cubic.measuredTxRate;
     }
 
     @SdkTestInternalApi
-    synchronized double getFillRate() {
-        return fillRate;
+    double getLastMaxRate() {
+        return state.get().cubic.lastMaxRate;
     }
 
     @SdkTestInternalApi
-    synchronized void setCurrentCapacity(double currentCapacity) {
-        this.currentCapacity = currentCapacity;
+    double getFillRate() {
+        return state.get().bucket.fillRate;
     }
 
     @SdkTestInternalApi
-    synchronized double getCurrentCapacity() {
-        return currentCapacity;
+    void setCurrentCapacity(double currentCapacity) {
+        updateBucket(b -> b.withCurrentCapacity(currentCapacity));
     }
 
     @SdkTestInternalApi
-    synchronized void setFillRate(double fillRate) {
-        this.fillRate = fillRate;
+    double getCurrentCapacity() {
+        return state.get().bucket.currentCapacity;
+    }
+
+    @SdkTestInternalApi
+    void setFillRate(double fillRate) {
+        updateBucket(b -> new Bucket(fillRate, b.maxCapacity, b.currentCapacity, b.lastTimestamp, b.enabled));
+    }
+
+    /**
+     * An immutable snapshot of the whole rate limiter: the token bucket and the CUBIC state its fill rate is derived from.
+     */
+    private static final class State {
+        private final Bucket bucket;
+        private final Cubic cubic;
+
+        private State(Bucket bucket, Cubic cubic) {
+            this.bucket = bucket;
+            this.cubic = cubic;
+        }
+
+        private State withBucket(Bucket newBucket) {
+            return new State(newBucket, cubic);
+        }
+
+        private State withCubic(Cubic newCubic) {
+            return new State(bucket, newCubic);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the token bucket. Unset values are {@code NaN}.
+     */
+    private static final class Bucket {
+        private final double fillRate;
+        private final double maxCapacity;
+        private final double currentCapacity;
+        private final double lastTimestamp;
+        private final boolean enabled;
+
+        private Bucket(double fillRate, double maxCapacity, double currentCapacity, double lastTimestamp, boolean enabled) {
+            this.fillRate = fillRate;
+            this.maxCapacity = maxCapacity;
+            this.currentCapacity = currentCapacity;
+            this.lastTimestamp = lastTimestamp;
+            this.enabled = enabled;
+        }
+
+        private double unfulfilled(double amount) {
+            return amount <= currentCapacity ? 0 : amount - currentCapacity;
+        }
+
+        private Bucket refill(double timestamp) {
+            if (Double.isNaN(lastTimestamp)) {
+                return new Bucket(fillRate, maxCapacity, currentCapacity, timestamp, enabled);
+            }
+
+            // Another thread may already have refilled the bucket with a later timestamp.
+            if (timestamp <= lastTimestamp) {
+                return this;
+            }
+
+            double fillAmount = (timestamp - lastTimestamp) * fillRate;
+            return new Bucket(fillRate, maxCapacity, Math.min(maxCapacity, currentCapacity + fillAmount), timestamp, enabled);
+        }
+
+        private Bucket withRate(double newRps, boolean newEnabled) {
+            double newMaxCapacity = Math.max(newRps, MIN_CAPACITY);
+            return new Bucket(Math.max(newRps, MIN_FILL_RATE), newMaxCapacity, Math.min(currentCapacity, newMaxCapacity),
+                              lastTimestamp, newEnabled);
+        }
+
+        private Bucket withCurrentCapacity(double newCurrentCapacity) {
+            return new Bucket(fillRate, maxCapacity, newCurrentCapacity, lastTimestamp, enabled);
+        }
+
+        private Bucket withEnabled(boolean newEnabled) {
+            return new Bucket(fillRate, maxCapacity, currentCapacity, lastTimestamp, newEnabled);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the measured sending rate and the CUBIC state.
+     */
+    private static final class Cubic {
+        private final double measuredTxRate;
+        private final double lastTxRateBucket;
+        private final long requestCount;
+        private final double lastMaxRate;
+        private final double lastThrottleTime;
+        private final double timeWindow;
+
+        private Cubic(double measuredTxRate, double lastTxRateBucket, long requestCount, double lastMaxRate,
+                      double lastThrottleTime, double timeWindow) {
+            this.measuredTxRate = measuredTxRate;
+            this.lastTxRateBucket = lastTxRateBucket;
+            this.requestCount = requestCount;
+            this.lastMaxRate = lastMaxRate;
+            this.lastThrottleTime = lastThrottleTime;
+            this.timeWindow = timeWindow;
+        }
+
+        private double cubicSuccess(double timestamp) {
+            double dt = timestamp - lastThrottleTime;
+            return SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
+        }
+
+        private Cubic withMeasuredRate(double newMeasuredTxRate, double newLastTxRateBucket, long newRequestCount) {
+            return new Cubic(newMeasuredTxRate, newLastTxRateBucket, newRequestCount, lastMaxRate, lastThrottleTime, timeWindow);
+        }
+
+        private Cubic withThrottle(double rateToUse, double throttleTime) {
+            return new Cubic(measuredTxRate, lastTxRateBucket, requestCount, rateToUse, throttleTime, timeWindow(rateToUse));
+        }
+
+        private Cubic withTimeWindow(double newTimeWindow) {
+            return new Cubic(measuredTxRate, lastTxRateBucket, requestCount, lastMaxRate, lastThrottleTime, newTimeWindow);
+        }
     }
 }
@@ -63,6 +63,10 @@ public final class SdkDefaultRetrySetting {
 
     public static final int TOKEN_BUCKET_SIZE = 500;
 
+    public static final int TOKEN_BUCKET_MAX_PARTITIONS = 256;
+
+    public static final Duration TOKEN_BUCKET_PARTITION_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
     public static final Duration MAX_BACKOFF = Duration.ofSeconds(20);
 
     public static final Set<Integer> RETRYABLE_STATUS_CODES;
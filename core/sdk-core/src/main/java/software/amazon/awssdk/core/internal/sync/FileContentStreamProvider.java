@@ -20,8 +20,11 @@ import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.FileContent;
+import software.amazon.awssdk.internal.http.FileContentValidator;
 
 /**
  * {@link ContentStreamProvider} implementation for files.
@@ -42,6 +45,12 @@ public final class FileContentStreamProvider implements ContentStreamProvider {
         return currentStream;
     }
 
+    @Override
+    public Optional<FileContent> fileContent() {
+        FileContent fileContent = FileContent.create(filePath, 0, invokeSafely(() -> Files.size(filePath)));
+        return Optional.of(fileContent).filter(FileContentValidator::isOnDefaultFileSystem);
+    }
+
     private void closeCurrentStream() {
         if (currentStream != null) {
             invokeSafely(currentStream::close);
@@ -134,6 +134,61 @@ public final class CoreMetric {
     public static final SdkMetric<String> ERROR_TYPE =
         metric("ErrorType", String.class, MetricLevel.INFO);
 
+    /**
+     * The concurrency limit of the client (or of the endpoint the request was sent to) when the API call attempt was started.
+     * Only reported when {@link software.amazon.awssdk.core.client.config.SdkAdvancedClientOption#ADAPTIVE_CONCURRENCY_LIMIT}
+     * is configured.
+     */
+    public static final SdkMetric<Integer> CONCURRENCY_LIMIT =
+        metric("ConcurrencyLimit", Integer.class, MetricLevel.INFO);
+
+    /**
+     * The number of API call attempts that were waiting for the concurrency limit when this attempt was started, including
+     * this attempt if it had to wait. Only reported when
+     * {@link software.amazon.awssdk.core.client.config.SdkAdvancedClientOption#ADAPTIVE_CONCURRENCY_LIMIT} is configured.
+     */
+    public static final SdkMetric<Integer> CONCURRENCY_LIMIT_QUEUE_DEPTH =
+        metric("ConcurrencyLimitQueueDepth", Integer.class, MetricLevel.INFO);
+
+    /**
+     * The number of tokens left in the retry token bucket after capacity was acquired to retry the request. When the
+     * {@link software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition} is partitioned, this is the capacity of
+     * the partition the request belongs to. Reported once for each retry that is allowed by a
+     * {@link software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition}.
+     */
+    public static final SdkMetric<Integer> RETRY_CAPACITY_REMAINING =
+        metric("RetryCapacityRemaining", Integer.class, MetricLevel.INFO);
+
+    /**
+     * Whether a hedged request was sent for the API call, because the original request had not completed after the hedge
+     * delay. Only reported for operations that are hedged via
+     * {@link software.amazon.awssdk.core.client.config.SdkAdvancedClientOption#HEDGING}.
+     */
+    public static final SdkMetric<Boolean> HEDGE_ISSUED =
+        metric("HedgeIssued", Boolean.class, MetricLevel.INFO);
+
+    /**
+     * Whether the response of the API call was provided by the hedged request rather than the original request. Only reported
+     * when a hedged request was sent and the API call succeeded.
+     */
+    public static final SdkMetric<Boolean> HEDGE_WON =
+        metric("HedgeWon", Boolean.class, MetricLevel.INFO);
+
+    /**
+     * The number of bytes of a compressed response body that were received from the service. Only reported for responses
+     * that were decompressed by the SDK because
+     * {@link software.amazon.awssdk.core.client.config.SdkAdvancedClientOption#ENABLE_RESPONSE_COMPRESSION} is enabled, once
+     * the whole body has been read.
+     */
+    public static final SdkMetric<Long> RESPONSE_WIRE_BYTES =
+        metric("ResponseWireBytes", Long.class, MetricLevel.INFO);
+
+    /**
+     * The number of bytes a compressed response body was decompressed to. Reported along with {@link #RESPONSE_WIRE_BYTES}.
+     */
+    public static final SdkMetric<Long> RESPONSE_DECODED_BYTES =
+        metric("ResponseDecodedBytes", Long.class, MetricLevel.INFO);
+
     private CoreMetric() {
     }
 
@@ -0,0 +1,51 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.retry.conditions;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * How a {@link TokenBucketRetryCondition} divides its retry capacity between the requests made by a client.
+ *
+ * <p>
+ * With {@link #CLIENT} partitioning, every request made by the client draws from the same token bucket, so a burst of failures
+ * against one endpoint or operation can exhaust the retry capacity for all of them. The other strategies give each host and/or
+ * operation its own token bucket of the configured size, so that failures in one partition do not prevent retries in another.
+ *
+ * @see TokenBucketRetryCondition.Builder#partitioning(TokenBucketPartitioning)
+ */
+@SdkPublicApi
+public enum TokenBucketPartitioning {
+    /**
+     * A single token bucket is shared by every request made by the client. This is the default.
+     */
+    CLIENT,
+
+    /**
+     * One token bucket is kept for each host and port that the client sends requests to.
+     */
+    HOST,
+
+    /**
+     * One token bucket is kept for each operation (e.g. "GetObject") invoked on the client.
+     */
+    OPERATION,
+
+    /**
+     * One token bucket is kept for each combination of host, port and operation.
+     */
+    HOST_AND_OPERATION
+}
@@ -15,17 +15,23 @@
 
 package software.amazon.awssdk.core.retry.conditions;
 
+import static software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting.TOKEN_BUCKET_MAX_PARTITIONS;
+import static software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting.TOKEN_BUCKET_PARTITION_IDLE_TIMEOUT;
 import static software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting.TOKEN_BUCKET_SIZE;
 
+import java.time.Duration;
 import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.internal.capacity.PartitionedTokenBucket;
 import software.amazon.awssdk.core.internal.capacity.TokenBucket;
 import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.ToString;
 import software.amazon.awssdk.utils.Validate;
@@ -43,6 +49,11 @@ import software.amazon.awssdk.utils.Validate;
  * This prevents the client from holding the calling thread to retry when it's likely that it will fail anyway.
  *
  * <p>
+ * By default, a single token bucket is shared by every request made by the client. A {@link TokenBucketPartitioning} can be
+ * configured to instead keep a separate bucket per host and/or operation, so that failures against one endpoint do not
+ * prevent retries against the others.
+ *
+ * <p>
  * This is currently included in the default {@link RetryPolicy#aggregateRetryCondition()}, but can be disabled by setting the
  * {@link RetryPolicy.Builder#retryCapacityCondition} to null.
  */
@@ -56,12 +67,24 @@ public class TokenBucketRetryCondition implements RetryCondition {
     private static final ExecutionAttribute<Integer> RETRY_COUNT_OF_LAST_CAPACITY_ACQUISITION =
         new ExecutionAttribute<>("TokenBucketRetryCondition.RETRY_COUNT_OF_LAST_CAPACITY_ACQUISITION");
 
+    private static final ExecutionAttribute<String> PARTITION_OF_LAST_CAPACITY_ACQUISITION =
+        new ExecutionAttribute<>("TokenBucketRetryCondition.PARTITION_OF_LAST_CAPACITY_ACQUISITION");
+
     private final TokenBucket capacity;
     private final TokenBucketExceptionCostFunction exceptionCostFunction;
+    private final TokenBucketPartitioning partitioning;
+    private final PartitionedTokenBucket partitionedCapacity;
 
     private TokenBucketRetryCondition(Builder builder) {
-        this.capacity = new TokenBucket(Validate.notNull(builder.tokenBucketSize, "tokenBucketSize"));
+        int tokenBucketSize = Validate.notNull(builder.tokenBucketSize, "tokenBucketSize");
+        this.capacity = new TokenBucket(tokenBucketSize);
         this.exceptionCostFunction = Validate.notNull(builder.exceptionCostFunction, "exceptionCostFunction");
+        this.partitioning = Validate.notNull(builder.partitioning, "partitioning");
+        this.partitionedCapacity = partitioning == TokenBucketPartitioning.CLIENT
+                                   ? null
+                                   : new PartitionedTokenBucket(tokenBucketSize,
+                                                                builder.maxPartitions,
+                                                                builder.partitionIdleTimeout);
     }
 
     /**
@@ -109,8 +132,15 @@ public class TokenBucketRetryCondition implements RetryCondition {
      * Retrieve the number of tokens currently available in the token bucket. This is a volatile snapshot of the current value.
      * See {@link #getCapacityForExecution(ExecutionAttributes)} to see how much capacity was left in the bucket after a specific
      * execution was considered.
+     *
+     * <p>
+     * If a {@link TokenBucketPartitioning} other than {@link TokenBucketPartitioning#CLIENT} is configured, this returns the
+     * number of tokens available in the most depleted partition.
      */
     public int tokensAvailable() {
+        if (partitionedCapacity != null) {
+            return partitionedCapacity.minimumCapacity();
+        }
         return capacity.currentCapacity();
     }
 
@@ -119,12 +149,14 @@ public class TokenBucketRetryCondition implements RetryCondition {
         int costOfFailure = exceptionCostFunction.apply(context.exception());
         Validate.isTrue(costOfFailure >= 0, "Cost of failure must not be negative, but was " + costOfFailure);
 
-        Optional<Capacity> capacity = this.capacity.tryAcquire(costOfFailure);
+        String partition = partition(context);
+        Optional<Capacity> capacity = bucket(partition).tryAcquire(costOfFailure);
 
         capacity.ifPresent(c -> {
             context.executionAttributes().putAttribute(LAST_ACQUIRED_CAPACITY, c);
             context.executionAttributes().putAttribute(RETRY_COUNT_OF_LAST_CAPACITY_ACQUISITION,
                                                        context.retriesAttempted());
+            context.executionAttributes().putAttribute(PARTITION_OF_LAST_CAPACITY_ACQUISITION, partition);
             log.trace(() -> "Successfully acquired token bucket capacity to retry this request. "
                             + "Acquired: " + c.capacityAcquired + ". Remaining: " + c.capacityRemaining);
         });
@@ -146,7 +178,7 @@ public class TokenBucketRetryCondition implements RetryCondition {
             // We said yes to "should-retry", but something else caused it not to retry
             Capacity lastAcquiredCapacity = context.executionAttributes().getAttribute(LAST_ACQUIRED_CAPACITY);
             Validate.validState(lastAcquiredCapacity != null, "Last acquired capacity should not be null.");
-            capacity.release(lastAcquiredCapacity.capacityAcquired());
+            lastAcquisitionBucket(context).release(lastAcquiredCapacity.capacityAcquired());
         }
     }
 
@@ -155,18 +187,71 @@ public class TokenBucketRetryCondition implements RetryCondition {
         Capacity lastAcquiredCapacity = context.executionAttributes().getAttribute(LAST_ACQUIRED_CAPACITY);
 
         if (lastAcquiredCapacity == null || lastAcquiredCapacity.capacityAcquired() == 0) {
-            capacity.release(1);
+            lastAcquisitionBucket(context).release(1);
         } else {
-            capacity.release(lastAcquiredCapacity.capacityAcquired());
+            lastAcquisitionBucket(context).release(lastAcquiredCapacity.capacityAcquired());
+        }
+    }
+
+    /**
+     * The bucket that capacity was last acquired from for this execution, falling back to the bucket for the current request
+     * if no capacity was acquired yet.
+     */
+    private TokenBucket lastAcquisitionBucket(RetryPolicyContext context) {
+        if (partitionedCapacity == null) {
+            return capacity;
+        }
+
+        String partition = context.executionAttributes().getAttribute(PARTITION_OF_LAST_CAPACITY_ACQUISITION);
+        return partitionedCapacity.bucket(partition != null ? partition : partition(context));
+    }
+
+    private TokenBucket bucket(String partition) {
+        return partitionedCapacity == null ? capacity : partitionedCapacity.bucket(partition);
+    }
+
+    private String partition(RetryPolicyContext context) {
+        switch (partitioning) {
+            case CLIENT:
+                return null;
+            case HOST:
+                return host(context.request());
+            case OPERATION:
+                return operation(context.executionAttributes());
+            case HOST_AND_OPERATION:
+                return host(context.request()) + "/" + operation(context.executionAttributes());
+            default:
+                throw new IllegalStateException("Unsupported partitioning: " + partitioning);
+        }
+    }
+
+    private static String host(SdkHttpRequest request) {
+        if (request == null) {
+            return "";
+        }
+        return request.host() + ":" + request.port();
+    }
+
+    private static String operation(ExecutionAttributes attributes) {
+        if (attributes == null) {
+            return "";
         }
+        String operationName = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        return operationName == null ? "" : operationName;
     }
 
     @Override
     public String toString() {
-        return ToString.builder("TokenBucketRetryCondition")
-                       .add("capacity", capacity.currentCapacity() + "/" + capacity.maxCapacity())
-                       .add("exceptionCostFunction", exceptionCostFunction)
-                       .build();
+        ToString result = ToString.builder("TokenBucketRetryCondition");
+        if (partitionedCapacity == null) {
+            result.add("capacity", capacity.currentCapacity() + "/" + capacity.maxCapacity());
+        } else {
+            result.add("partitioning", partitioning)
+                  .add("partitions", partitionedCapacity.partitionCount() + "/" + partitionedCapacity.maxPartitions())
+                  .add("minimumCapacity", partitionedCapacity.minimumCapacity() + "/" + partitionedCapacity.bucketSize());
+        }
+        return result.add("exceptionCostFunction", exceptionCostFunction)
+                     .build();
     }
 
     @Override
@@ -183,6 +268,9 @@ public class TokenBucketRetryCondition implements RetryCondition {
         if (!capacity.equals(that.capacity)) {
             return false;
         }
+        if (partitioning != that.partitioning) {
+            return false;
+        }
         return exceptionCostFunction.equals(that.exceptionCostFunction);
     }
 
@@ -190,6 +278,7 @@ public class TokenBucketRetryCondition implements RetryCondition {
     public int hashCode() {
         int result = capacity.hashCode();
         result = 31 * result + exceptionCostFunction.hashCode();
+        result = 31 * result + partitioning.hashCode();
         return result;
     }
 
@@ -199,6 +288,9 @@ public class TokenBucketRetryCondition implements RetryCondition {
     public static final class Builder {
         private Integer tokenBucketSize;
         private TokenBucketExceptionCostFunction exceptionCostFunction;
+        private TokenBucketPartitioning partitioning = TokenBucketPartitioning.CLIENT;
+        private int maxPartitions = TOKEN_BUCKET_MAX_PARTITIONS;
+        private Duration partitionIdleTimeout = TOKEN_BUCKET_PARTITION_IDLE_TIMEOUT;
 
         /**
          * Create using {@link TokenBucketRetryCondition#builder()}.
@@ -224,6 +316,43 @@ public class TokenBucketRetryCondition implements RetryCondition {
             return this;
         }
 
+        /**
+         * Configure how the retry capacity is divided between the requests made by the client. When partitioned, each
+         * partition gets its own token bucket of {@link #tokenBucketSize(int)} tokens.
+         *
+         * <p>
+         * By default, {@link TokenBucketPartitioning#CLIENT} is used, and a single token bucket is shared by all requests.
+         */
+        public Builder partitioning(TokenBucketPartitioning partitioning) {
+            this.partitioning = partitioning;
+            return this;
+        }
+
+        /**
+         * Configure the maximum number of partitions that are tracked when a {@link #partitioning(TokenBucketPartitioning)}
+         * other than {@link TokenBucketPartitioning#CLIENT} is used. When this limit is reached, idle partitions are evicted
+         * first, followed by the least recently used partition.
+         *
+         * <p>
+         * By default, up to 256 partitions are tracked.
+         */
+        public Builder maxPartitions(int maxPartitions) {
+            this.maxPartitions = maxPartitions;
+            return this;
+        }
+
+        /**
+         * Configure how long a partition must be unused before it is eligible to be evicted. An evicted partition starts with
+         * a full token bucket the next time it is used.
+         *
+         * <p>
+         * By default, partitions are evicted after 5 minutes without being used.
+         */
+        public Builder partitionIdleTimeout(Duration partitionIdleTimeout) {
+            this.partitionIdleTimeout = partitionIdleTimeout;
+            return this;
+        }
+
         /**
          * Build a {@link TokenBucketRetryCondition} using the provided configuration.
          */
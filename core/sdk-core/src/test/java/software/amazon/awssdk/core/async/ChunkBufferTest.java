@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -31,6 +32,8 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.core.internal.async.ChunkBuffer;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.http.async.PooledByteBufferAllocator;
 import software.amazon.awssdk.utils.StringUtils;
 
 class ChunkBufferTest {
@@ -119,6 +122,22 @@ class ChunkBufferTest {
         assertThat(iteratedCounts.get()).isEqualTo(4);
     }
 
+    @Test
+    void bufferAllocator_chunksAreAllocatedFromAllocator() {
+        ByteBufferAllocator allocator = PooledByteBufferAllocator.builder().bufferSizeInBytes(5).maxPooledBuffers(1).build();
+        ChunkBuffer chunkBuffer = ChunkBuffer.builder().bufferSize(5).totalBytes(8).bufferAllocator(allocator).build();
+
+        List<ByteBuffer> chunks = new ArrayList<>();
+        chunkBuffer.bufferAndCreateChunks(ByteBuffer.wrap("abcdefgh".getBytes(StandardCharsets.UTF_8)))
+                   .forEach(chunks::add);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).isEqualTo(ByteBuffer.wrap("abcde".getBytes(StandardCharsets.UTF_8)));
+        assertThat(chunks.get(1)).isEqualTo(ByteBuffer.wrap("fgh".getBytes(StandardCharsets.UTF_8)));
+
+        allocator.release(chunks.get(0));
+        assertThat(allocator.allocate(5)).isSameAs(chunks.get(0));
+    }
 
     /**
      * * Total bytes 11(ChunkSize) 3 (threads)
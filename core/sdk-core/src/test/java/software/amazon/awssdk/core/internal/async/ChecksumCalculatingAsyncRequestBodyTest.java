@@ -37,6 +37,8 @@ import org.reactivestreams.Subscriber;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.checksums.Algorithm;
 import software.amazon.awssdk.core.internal.util.Mimetype;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.http.async.PooledByteBufferAllocator;
 import software.amazon.awssdk.http.async.SimpleSubscriber;
 import software.amazon.awssdk.utils.BinaryUtils;
 
@@ -51,6 +53,7 @@ public class ChecksumCalculatingAsyncRequestBodyTest {
             "0\r\n" +
             "x-amz-checksum-crc32:i9aeUg==\r\n\r\n";
     private final static Path path;
+    private final static ByteBufferAllocator allocator = PooledByteBufferAllocator.create();
 
     static {
         FileSystem fs = Jimfs.newFileSystem(Configuration.unix());
@@ -80,6 +83,12 @@ public class ChecksumCalculatingAsyncRequestBodyTest {
                         .asyncRequestBody(AsyncRequestBody.fromFile(path))
                         .algorithm(Algorithm.CRC32)
                         .trailerHeader("x-amz-checksum-crc32").build(),
+
+                ChecksumCalculatingAsyncRequestBody.builder()
+                        .asyncRequestBody(FileAsyncRequestBody.builder().path(path).bufferAllocator(allocator).build())
+                        .algorithm(Algorithm.CRC32)
+                        .trailerHeader("x-amz-checksum-crc32")
+                        .bufferAllocator(allocator).build(),
         };
         return asyncRequestBodies;
     }
@@ -0,0 +1,157 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.reactivex.Flowable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+class DecompressingPublisherTest {
+    private static final byte[] DATA = data(50_000);
+
+    @Test
+    void subscribe_decodesChunkedBodyAndReportsSizes() throws IOException {
+        byte[] compressed = gzip(DATA);
+        MetricCollector collector = MetricCollector.create("test");
+
+        byte[] decoded = collect(new DecompressingPublisher(Flowable.fromIterable(chunks(compressed, 100)), collector));
+
+        assertThat(decoded).isEqualTo(DATA);
+        MetricCollection metrics = collector.collect();
+        assertThat(metrics.metricValues(CoreMetric.RESPONSE_WIRE_BYTES)).containsExactly((long) compressed.length);
+        assertThat(metrics.metricValues(CoreMetric.RESPONSE_DECODED_BYTES)).containsExactly((long) DATA.length);
+    }
+
+    @Test
+    void subscribe_emptyBody_completesEmpty() {
+        byte[] decoded = collect(new DecompressingPublisher(Flowable.empty(), MetricCollector.create("test")));
+
+        assertThat(decoded).isEmpty();
+    }
+
+    @Test
+    void subscribe_truncatedBody_fails() throws IOException {
+        byte[] compressed = gzip(DATA);
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        assertThatThrownBy(() -> collect(new DecompressingPublisher(Flowable.just(ByteBuffer.wrap(truncated)),
+                                                                    MetricCollector.create("test"))))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(SdkClientException.class);
+    }
+
+    @Test
+    void subscribe_invalidBody_fails() {
+        assertThatThrownBy(() -> collect(new DecompressingPublisher(Flowable.just(ByteBuffer.wrap(DATA)),
+                                                                    MetricCollector.create("test"))))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(SdkClientException.class);
+    }
+
+    @Test
+    void subscribe_highRatioBody_onlyDecodesRequestedChunks() throws IOException {
+        byte[] compressed = gzip(new byte[64 * 1024 * 1024]);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flowable<ByteBuffer> body = Flowable.just(ByteBuffer.wrap(compressed)).doOnCancel(() -> cancelled.set(true));
+        List<ByteBuffer> received = new ArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+        new DecompressingPublisher(body, MetricCollector.create("test")).subscribe(new Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.set(s);
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+                received.add(byteBuffer);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).remaining()).isLessThanOrEqualTo(8 * 1024);
+
+        subscription.get().request(1);
+        assertThat(received).hasSize(2);
+
+        subscription.get().cancel();
+        assertThat(cancelled).isTrue();
+        subscription.get().request(1);
+        assertThat(received).hasSize(2);
+    }
+
+    private static byte[] collect(DecompressingPublisher publisher) {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        publisher.subscribe(b -> {
+            byte[] bytes = BinaryUtils.copyBytesFrom(b);
+            decoded.write(bytes, 0, bytes.length);
+        }).join();
+        return decoded.toByteArray();
+    }
+
+    private static List<ByteBuffer> chunks(byte[] data, int chunkSize) {
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < data.length; offset += chunkSize) {
+            chunks.add(ByteBuffer.wrap(data, offset, Math.min(chunkSize, data.length - offset)));
+        }
+        return chunks;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + i % 13);
+        }
+        return data;
+    }
+}
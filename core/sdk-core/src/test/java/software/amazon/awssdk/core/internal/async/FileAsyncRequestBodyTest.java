@@ -15,19 +15,25 @@
 
 package software.amazon.awssdk.core.internal.async;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
+import com.google.common.jimfs.Jimfs;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadLocalRandom;
@@ -38,6 +44,9 @@ import org.junit.jupiter.api.Test;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.http.FileContent;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.http.async.PooledByteBufferAllocator;
 import software.amazon.awssdk.testutils.RandomTempFile;
 import software.amazon.awssdk.utils.BinaryUtils;
 
@@ -226,6 +235,102 @@ public class FileAsyncRequestBodyTest {
             .hasCauseInstanceOf(IOException.class);
     }
 
+    @Test
+    public void bufferAllocator_releasedChunksAreReused() throws Exception {
+        ByteBufferAllocator allocator = PooledByteBufferAllocator.create();
+        AsyncRequestBody asyncRequestBody = FileAsyncRequestBody.builder()
+                                                                .path(testFile)
+                                                                .bufferAllocator(allocator)
+                                                                .build();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Set<ByteBuffer> chunks = Collections.newSetFromMap(new IdentityHashMap<>());
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        asyncRequestBody.subscribe(new Subscriber<ByteBuffer>() {
+            private Subscription sub;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.sub = subscription;
+                sub.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+                chunks.add(byteBuffer);
+                invokeSafely(() -> output.write(BinaryUtils.copyBytesFrom(byteBuffer)));
+                allocator.release(byteBuffer);
+                sub.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+        });
+
+        completed.get(5, TimeUnit.SECONDS);
+        assertThat(output.toByteArray()).isEqualTo(Files.readAllBytes(testFile));
+        assertThat(chunks).hasSize(1);
+    }
+
+    @Test
+    public void positionAndNumBytesToRead_readsOnlyThatRegion() throws Exception {
+        long position = 3 * MiB + 7;
+        long numBytesToRead = 2 * MiB + 11;
+        FileAsyncRequestBody asyncRequestBody = FileAsyncRequestBody.builder()
+                                                                    .path(testFile)
+                                                                    .position(position)
+                                                                    .numBytesToRead(numBytesToRead)
+                                                                    .build();
+
+        ControllableSubscriber subscriber = new ControllableSubscriber();
+        asyncRequestBody.subscribe(subscriber);
+        subscriber.sub.request(Long.MAX_VALUE);
+        subscriber.completed.get(5, TimeUnit.SECONDS);
+
+        byte[] expected = new byte[(int) numBytesToRead];
+        System.arraycopy(Files.readAllBytes(testFile), (int) position, expected, 0, expected.length);
+        assertThat(subscriber.output.toByteArray()).isEqualTo(expected);
+        assertThat(asyncRequestBody.contentLength()).contains(numBytesToRead);
+        assertThat(asyncRequestBody.fileContent()).contains(FileContent.create(testFile, position, numBytesToRead));
+    }
+
+    @Test
+    public void fileNotOnDefaultFileSystem_hasNoFileContent() throws Exception {
+        try (FileSystem jimfs = Jimfs.newFileSystem()) {
+            Path jimfsFile = jimfs.getPath("test_file.dat");
+            Files.write(jimfsFile, "test".getBytes(StandardCharsets.UTF_8));
+
+            FileAsyncRequestBody asyncRequestBody = FileAsyncRequestBody.builder().path(jimfsFile).build();
+
+            assertThat(asyncRequestBody.fileContent()).isEmpty();
+        }
+    }
+
+    @Test
+    public void numBytesToReadPastEndOfFile_readsUntilEndOfFile() throws Exception {
+        long position = TEST_FILE_SIZE - 100;
+        AsyncRequestBody asyncRequestBody = FileAsyncRequestBody.builder()
+                                                                .path(testFile)
+                                                                .position(position)
+                                                                .numBytesToRead(MiB)
+                                                                .build();
+
+        ControllableSubscriber subscriber = new ControllableSubscriber();
+        asyncRequestBody.subscribe(subscriber);
+        subscriber.sub.request(Long.MAX_VALUE);
+        subscriber.completed.get(5, TimeUnit.SECONDS);
+
+        assertThat(asyncRequestBody.contentLength()).contains(100L);
+        assertThat(subscriber.output.size()).isEqualTo(100);
+    }
+
     private static class ControllableSubscriber implements Subscriber<ByteBuffer> {
         private final ByteArrayOutputStream output = new ByteArrayOutputStream();
         private final CompletableFuture<Void> completed = new CompletableFuture<>();
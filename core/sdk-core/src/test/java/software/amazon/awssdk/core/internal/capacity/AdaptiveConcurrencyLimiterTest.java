@@ -0,0 +1,185 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.capacity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.client.config.AdaptiveConcurrencyConfiguration;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void acquire_belowLimit_completesImmediately() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 10);
+
+        assertThat(limiter.acquire()).isCompleted();
+        assertThat(limiter.acquire()).isCompleted();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    public void acquire_atLimit_queuesUntilPermitReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 10);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().join();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> queued = limiter.acquire();
+        assertThat(queued).isNotDone();
+        assertThat(limiter.queueDepth()).isEqualTo(1);
+
+        permit.releaseIgnored();
+
+        assertThat(queued).isCompleted();
+        assertThat(limiter.queueDepth()).isZero();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void acquire_queueFull_failsFast() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 0);
+        limiter.acquire().join();
+
+        assertThatThrownBy(() -> limiter.acquire().join()).isInstanceOf(CompletionException.class)
+                                                          .hasCauseInstanceOf(SdkClientException.class);
+        assertThat(limiter.queueDepth()).isZero();
+    }
+
+    @Test
+    public void release_cancelledWaiter_isSkipped() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 10);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().join();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> cancelled = limiter.acquire();
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> next = limiter.acquire();
+        cancelled.cancel(false);
+
+        permit.releaseIgnored();
+
+        assertThat(next).isCompleted();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void acquire_queuedWaiterCancelled_isRemovedFromQueue() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().join();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> cancelled = limiter.acquire();
+        assertThat(limiter.queueDepth()).isEqualTo(1);
+        cancelled.cancel(false);
+        assertThat(limiter.queueDepth()).isZero();
+
+        // The cancelled waiter no longer takes up the only queue slot.
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> next = limiter.acquire();
+        assertThat(next).isNotDone();
+
+        permit.releaseIgnored();
+
+        assertThat(next).isCompleted();
+        assertThat(limiter.queueDepth()).isZero();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void release_calledTwice_onlyReleasesOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 10);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().join();
+        limiter.acquire().join();
+
+        permit.releaseIgnored();
+        permit.releaseIgnored();
+
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void releaseDropped_reducesLimit_downToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 10);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire().join().releaseDropped();
+        }
+
+        assertThat(limiter.limit()).isEqualTo(1);
+    }
+
+    @Test
+    public void releaseWithSample_stableLatencyAtLimit_increasesLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 10);
+
+        for (int round = 0; round < 20; round++) {
+            int limit = limiter.limit();
+            AdaptiveConcurrencyLimiter.Permit[] permits = new AdaptiveConcurrencyLimiter.Permit[limit];
+            for (int i = 0; i < limit; i++) {
+                permits[i] = limiter.acquire().join();
+            }
+            for (AdaptiveConcurrencyLimiter.Permit permit : permits) {
+                permit.releaseWithSample();
+            }
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(4);
+    }
+
+    @Test
+    public void releaseWithSample_lowUtilization_doesNotIncreaseLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 10);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire().join().releaseWithSample();
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    public void limiters_perEndpoint_separatesHosts() {
+        AdaptiveConcurrencyLimiters limiters =
+            new AdaptiveConcurrencyLimiters(AdaptiveConcurrencyConfiguration.builder().limitPerEndpoint(true).build());
+
+        AdaptiveConcurrencyLimiter a = limiters.limiterFor(request("a.amazonaws.com"));
+        AdaptiveConcurrencyLimiter b = limiters.limiterFor(request("b.amazonaws.com"));
+
+        assertThat(a).isNotSameAs(b);
+        assertThat(limiters.limiterFor(request("a.amazonaws.com"))).isSameAs(a);
+    }
+
+    @Test
+    public void limiters_perClient_sharesLimiter() {
+        AdaptiveConcurrencyLimiters limiters =
+            new AdaptiveConcurrencyLimiters(AdaptiveConcurrencyConfiguration.builder().build());
+
+        assertThat(limiters.limiterFor(request("a.amazonaws.com"))).isSameAs(limiters.limiterFor(request("b.amazonaws.com")));
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxQueueSize) {
+        return new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyConfiguration.builder()
+                                                                              .initialLimit(initialLimit)
+                                                                              .maxQueueSize(maxQueueSize)
+                                                                              .build());
+    }
+
+    private static SdkHttpFullRequest request(String host) {
+        return SdkHttpFullRequest.builder().protocol("https").host(host).method(SdkHttpMethod.GET).build();
+    }
+}
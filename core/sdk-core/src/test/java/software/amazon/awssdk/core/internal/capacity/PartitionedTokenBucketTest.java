@@ -0,0 +1,80 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.capacity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class PartitionedTokenBucketTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void bucket_samePartition_returnsSameBucket() {
+        PartitionedTokenBucket buckets = create(10, 4, Duration.ofMinutes(1));
+        assertThat(buckets.bucket("a")).isSameAs(buckets.bucket("a"));
+        assertThat(buckets.bucket("a")).isNotSameAs(buckets.bucket("b"));
+        assertThat(buckets.partitionCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void bucket_newPartition_startsWithFullCapacity() {
+        PartitionedTokenBucket buckets = create(10, 4, Duration.ofMinutes(1));
+        buckets.bucket("a").tryAcquire(7);
+
+        assertThat(buckets.bucket("b").currentCapacity()).isEqualTo(10);
+        assertThat(buckets.currentCapacity("a")).isEqualTo(3);
+        assertThat(buckets.currentCapacity("unknown")).isEqualTo(10);
+        assertThat(buckets.minimumCapacity()).isEqualTo(3);
+    }
+
+    @Test
+    public void bucket_maxPartitionsReached_evictsIdlePartitions() {
+        PartitionedTokenBucket buckets = create(10, 2, Duration.ofSeconds(10));
+        buckets.bucket("a").tryAcquire(5);
+        buckets.bucket("b").tryAcquire(5);
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        buckets.bucket("c");
+
+        assertThat(buckets.partitionCount()).isEqualTo(1);
+        assertThat(buckets.currentCapacity("a")).isEqualTo(10);
+        assertThat(buckets.currentCapacity("b")).isEqualTo(10);
+    }
+
+    @Test
+    public void bucket_maxPartitionsReachedWithoutIdlePartitions_evictsLeastRecentlyUsed() {
+        PartitionedTokenBucket buckets = create(10, 2, Duration.ofMinutes(1));
+        buckets.bucket("a").tryAcquire(1);
+        clock.incrementAndGet();
+        buckets.bucket("b").tryAcquire(1);
+        clock.incrementAndGet();
+        buckets.bucket("a");
+        clock.incrementAndGet();
+
+        buckets.bucket("c");
+
+        assertThat(buckets.partitionCount()).isEqualTo(2);
+        assertThat(buckets.currentCapacity("a")).isEqualTo(9);
+        assertThat(buckets.currentCapacity("b")).isEqualTo(10);
+    }
+
+    private PartitionedTokenBucket create(int bucketSize, int maxPartitions, Duration idleTimeout) {
+        return new PartitionedTokenBucket(bucketSize, maxPartitions, idleTimeout, clock::get);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+class IncrementalGzipDecoderTest {
+    private static final byte[] DATA = data(100_000);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 10, 1024, Integer.MAX_VALUE})
+    void decode_inputSplitIntoChunks_decodesOriginalData(int chunkSize) throws IOException {
+        assertThat(decode(gzip(DATA), chunkSize)).isEqualTo(DATA);
+    }
+
+    @Test
+    void decode_outputIsChunked() throws IOException {
+        IncrementalGzipDecoder decoder = new IncrementalGzipDecoder();
+        decoder.feed(ByteBuffer.wrap(gzip(DATA)));
+
+        assertThat(decodeAll(decoder))
+            .allSatisfy(chunk -> assertThat(chunk.remaining()).isLessThanOrEqualTo(IncrementalGzipDecoder.CHUNK_SIZE));
+    }
+
+    @Test
+    void decodeChunk_highlyCompressedInput_onlyDecodesOneChunk() throws IOException {
+        byte[] compressed = gzip(new byte[64 * 1024 * 1024]);
+        IncrementalGzipDecoder decoder = new IncrementalGzipDecoder();
+        decoder.feed(ByteBuffer.wrap(compressed));
+
+        ByteBuffer chunk = decoder.decodeChunk();
+
+        assertThat(chunk.remaining()).isEqualTo(IncrementalGzipDecoder.CHUNK_SIZE);
+        assertThatThrownBy(() -> decoder.feed(ByteBuffer.wrap(compressed))).isInstanceOf(IllegalStateException.class);
+        decoder.close();
+    }
+
+    @Test
+    void decode_concatenatedMembers_decodesAllMembers() throws IOException {
+        ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        concatenated.write(gzip("Hello, ".getBytes()));
+        concatenated.write(gzip("world".getBytes()));
+
+        assertThat(decode(concatenated.toByteArray(), 3)).isEqualTo("Hello, world".getBytes());
+    }
+
+    @Test
+    void decode_optionalHeaderFields_areSkipped() throws IOException {
+        byte[] deflated = gzip(DATA);
+        ByteArrayOutputStream withHeaderFields = new ByteArrayOutputStream();
+        withHeaderFields.write(deflated, 0, 3);
+        // FEXTRA | FNAME | FCOMMENT
+        withHeaderFields.write(4 | 8 | 16);
+        withHeaderFields.write(deflated, 4, 6);
+        withHeaderFields.write(new byte[] {3, 0, 'a', 'b', 'c'});
+        withHeaderFields.write("name\0".getBytes());
+        withHeaderFields.write("comment\0".getBytes());
+        withHeaderFields.write(deflated, 10, deflated.length - 10);
+
+        assertThat(decode(withHeaderFields.toByteArray(), 2)).isEqualTo(DATA);
+    }
+
+    @Test
+    void finish_noInput_succeeds() throws IOException {
+        new IncrementalGzipDecoder().finish();
+    }
+
+    @Test
+    void finish_truncatedInput_throwsException() throws IOException {
+        byte[] deflated = gzip(DATA);
+        IncrementalGzipDecoder decoder = new IncrementalGzipDecoder();
+        decoder.feed(ByteBuffer.wrap(deflated, 0, deflated.length - 1));
+        decodeAll(decoder);
+
+        assertThatThrownBy(decoder::finish).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void decode_corruptTrailer_throwsException() throws IOException {
+        byte[] deflated = gzip(DATA);
+        deflated[deflated.length - 5]++;
+
+        assertThatThrownBy(() -> decode(deflated, deflated.length))
+            .isInstanceOf(ZipException.class)
+            .hasMessageContaining("trailer");
+    }
+
+    @Test
+    void decode_notGzip_throwsException() {
+        assertThatThrownBy(() -> decode(DATA, DATA.length))
+            .isInstanceOf(ZipException.class)
+            .hasMessageContaining("Not in gzip format");
+    }
+
+    private static byte[] decode(byte[] input, int chunkSize) throws IOException {
+        IncrementalGzipDecoder decoder = new IncrementalGzipDecoder();
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        for (int offset = 0; offset < input.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, input.length - offset);
+            decoder.feed(ByteBuffer.wrap(input, offset, length));
+            for (ByteBuffer chunk : decodeAll(decoder)) {
+                decoded.write(BinaryUtils.copyBytesFrom(chunk));
+            }
+        }
+        decoder.finish();
+        return decoded.toByteArray();
+    }
+
+    static List<ByteBuffer> decodeAll(IncrementalGzipDecoder decoder) throws IOException {
+        List<ByteBuffer> decoded = new ArrayList<>();
+        ByteBuffer chunk;
+        while ((chunk = decoder.decodeChunk()) != null) {
+            decoded.add(chunk);
+        }
+        return decoded;
+    }
+
+    static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data);
+        }
+        return compressed.toByteArray();
+    }
+
+    static byte[] data(int length) {
+        // Repetitive enough to compress well, random enough to need more than one deflate block
+        byte[] data = new byte[length];
+        Random random = new Random(42);
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+}
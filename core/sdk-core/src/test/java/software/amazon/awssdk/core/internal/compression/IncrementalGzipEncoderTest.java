@@ -0,0 +1,131 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.internal.io.CompressingInputStream;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class IncrementalGzipEncoderTest {
+
+    @Test
+    public void encode_singleBuffer_isReadableByGzipInputStream() throws IOException {
+        byte[] data = compressibleData(100_000);
+        IncrementalGzipEncoder encoder = new IncrementalGzipEncoder();
+
+        List<ByteBuffer> encoded = new ArrayList<>(encoder.encode(ByteBuffer.wrap(data)));
+        encoded.addAll(encoder.finish());
+
+        assertThat(gunzip(concat(encoded))).isEqualTo(data);
+    }
+
+    @Test
+    public void encode_manySmallBuffers_isReadableByGzipInputStream() throws IOException {
+        byte[] data = compressibleData(50_000);
+        IncrementalGzipEncoder encoder = new IncrementalGzipEncoder();
+
+        List<ByteBuffer> encoded = new ArrayList<>();
+        for (int i = 0; i < data.length; i += 7) {
+            encoded.addAll(encoder.encode(ByteBuffer.wrap(data, i, Math.min(7, data.length - i))));
+        }
+        encoded.addAll(encoder.finish());
+
+        assertThat(gunzip(concat(encoded))).isEqualTo(data);
+    }
+
+    @Test
+    public void encode_incompressibleData_chunksAreBounded() throws IOException {
+        byte[] data = new byte[100_000];
+        new Random(0).nextBytes(data);
+        IncrementalGzipEncoder encoder = new IncrementalGzipEncoder();
+
+        List<ByteBuffer> encoded = new ArrayList<>(encoder.encode(ByteBuffer.wrap(data)));
+        encoded.addAll(encoder.finish());
+
+        assertThat(encoded).allSatisfy(chunk -> assertThat(chunk.remaining()).isLessThanOrEqualTo(
+            IncrementalGzipEncoder.CHUNK_SIZE));
+        assertThat(gunzip(concat(encoded))).isEqualTo(data);
+    }
+
+    @Test
+    public void finish_noInput_isEmptyGzipStream() throws IOException {
+        IncrementalGzipEncoder encoder = new IncrementalGzipEncoder();
+
+        assertThat(gunzip(concat(encoder.finish()))).isEmpty();
+    }
+
+    @Test
+    public void encode_isDecodableByIncrementalGzipDecoder() throws IOException {
+        byte[] data = compressibleData(30_000);
+        IncrementalGzipEncoder encoder = new IncrementalGzipEncoder();
+        List<ByteBuffer> encoded = new ArrayList<>(encoder.encode(ByteBuffer.wrap(data)));
+        encoded.addAll(encoder.finish());
+
+        IncrementalGzipDecoder decoder = new IncrementalGzipDecoder();
+        List<ByteBuffer> decoded = new ArrayList<>();
+        for (ByteBuffer chunk : encoded) {
+            decoder.feed(chunk);
+            decoded.addAll(IncrementalGzipDecoderTest.decodeAll(decoder));
+        }
+        decoder.finish();
+
+        assertThat(concat(decoded)).isEqualTo(data);
+    }
+
+    @Test
+    public void compressingInputStream_isReadableByGzipInputStream() throws IOException {
+        byte[] data = compressibleData(100_000);
+
+        try (InputStream compressing = new CompressingInputStream(new ByteArrayInputStream(data))) {
+            assertThat(gunzip(IoUtils.toByteArray(compressing))).isEqualTo(data);
+        }
+    }
+
+    private static byte[] compressibleData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + (i / 13) % 26);
+        }
+        return data;
+    }
+
+    private static byte[] concat(List<ByteBuffer> buffers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : buffers) {
+            byte[] bytes = BinaryUtils.copyBytesFrom(buffer);
+            out.write(bytes, 0, bytes.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return IoUtils.toByteArray(in);
+        }
+    }
+}
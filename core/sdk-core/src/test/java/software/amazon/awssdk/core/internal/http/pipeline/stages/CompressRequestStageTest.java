@@ -0,0 +1,234 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.CompressionConfiguration;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.http.ExecutionContext;
+import software.amazon.awssdk.core.http.NoopTestRequest;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.trait.RequestCompression;
+import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.timers.ClientExecutionAndRequestTimerTestUtils;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Md5Utils;
+import utils.ValidSdkObjects;
+
+public class CompressRequestStageTest {
+    private static final RequestCompression NON_STREAMING = RequestCompression.builder().encodings("gzip").build();
+    private static final RequestCompression STREAMING = RequestCompression.builder().encodings("gzip").isStreaming(true).build();
+    private static final String PAYLOAD = repeat("Compressible payload. ", 1000);
+
+    @Test
+    public void nonStreaming_payloadAboveThreshold_isCompressed() throws Exception {
+        SdkHttpFullRequest.Builder request = request(PAYLOAD);
+
+        stage(null).execute(request, context(NON_STREAMING));
+
+        byte[] compressed = IoUtils.toByteArray(request.contentStreamProvider().newStream());
+        assertThat(decompress(compressed)).isEqualTo(PAYLOAD);
+        assertThat(request.firstMatchingHeader("Content-Encoding")).hasValue("gzip");
+        assertThat(request.firstMatchingHeader("Content-Length")).hasValue(Integer.toString(compressed.length));
+        assertThat(compressed.length).isLessThan(PAYLOAD.length());
+    }
+
+    @Test
+    public void nonStreaming_payloadBelowThreshold_isNotCompressed() throws Exception {
+        SdkHttpFullRequest.Builder request = request("small");
+
+        stage(null).execute(request, context(NON_STREAMING));
+
+        assertThat(IoUtils.toUtf8String(request.contentStreamProvider().newStream())).isEqualTo("small");
+        assertThat(request.firstMatchingHeader("Content-Encoding")).isNotPresent();
+    }
+
+    @Test
+    public void nonStreaming_configuredThreshold_isUsed() throws Exception {
+        SdkHttpFullRequest.Builder request = request("small");
+
+        stage(CompressionConfiguration.builder().minimumCompressionThresholdInBytes(1).build())
+            .execute(request, context(NON_STREAMING));
+
+        assertThat(decompress(IoUtils.toByteArray(request.contentStreamProvider().newStream()))).isEqualTo("small");
+    }
+
+    @Test
+    public void compressionDisabled_payloadIsNotCompressed() throws Exception {
+        SdkHttpFullRequest.Builder request = request(PAYLOAD);
+
+        stage(CompressionConfiguration.builder().requestCompressionEnabled(false).build())
+            .execute(request, context(NON_STREAMING));
+
+        assertThat(IoUtils.toUtf8String(request.contentStreamProvider().newStream())).isEqualTo(PAYLOAD);
+        assertThat(request.firstMatchingHeader("Content-Encoding")).isNotPresent();
+    }
+
+    @Test
+    public void operationWithoutTrait_payloadIsNotCompressed() throws Exception {
+        SdkHttpFullRequest.Builder request = request(PAYLOAD);
+
+        stage(null).execute(request, context(null));
+
+        assertThat(IoUtils.toUtf8String(request.contentStreamProvider().newStream())).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    public void nonStreaming_contentMd5_isRecalculated() throws Exception {
+        SdkHttpFullRequest.Builder request = request(PAYLOAD).putHeader("Content-MD5", "uncompressed");
+
+        stage(null).execute(request, context(NON_STREAMING));
+
+        byte[] compressed = IoUtils.toByteArray(request.contentStreamProvider().newStream());
+        assertThat(request.firstMatchingHeader("Content-MD5")).hasValue(Md5Utils.md5AsBase64(compressed));
+    }
+
+    @Test
+    public void flexibleChecksum_payloadIsNotCompressed() throws Exception {
+        SdkHttpFullRequest.Builder request = request(PAYLOAD).putHeader("x-amz-checksum-crc32", "checksum");
+
+        stage(null).execute(request, context(NON_STREAMING));
+
+        assertThat(IoUtils.toUtf8String(request.contentStreamProvider().newStream())).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    public void streaming_payloadIsCompressedWithoutContentLength() throws Exception {
+        SdkHttpFullRequest.Builder request = request("small");
+
+        stage(null).execute(request, context(STREAMING));
+
+        assertThat(request.firstMatchingHeader("Content-Length")).isNotPresent();
+        assertThat(request.firstMatchingHeader("Content-Encoding")).hasValue("gzip");
+        assertThat(decompress(IoUtils.toByteArray(request.contentStreamProvider().newStream()))).isEqualTo("small");
+        assertThat(decompress(IoUtils.toByteArray(request.contentStreamProvider().newStream()))).isEqualTo("small");
+    }
+
+    @Test
+    public void asyncStreaming_requestBodyIsCompressed() throws Exception {
+        SdkHttpFullRequest.Builder request = request("ignored");
+        RequestExecutionContext context = context(STREAMING);
+        context.requestProvider(AsyncRequestBody.fromString(PAYLOAD));
+
+        stage(null).execute(request, context);
+
+        assertThat(context.requestProvider().contentLength()).isNotPresent();
+        assertThat(request.firstMatchingHeader("Content-Encoding")).hasValue("gzip");
+        byte[] compressed = Flowable.fromPublisher(context.requestProvider())
+                                    .map(BinaryUtils::copyBytesFrom)
+                                    .reduce(new byte[0], CompressRequestStageTest::concat)
+                                    .blockingGet();
+        assertThat(decompress(compressed)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    public void streaming_contentMd5_payloadIsNotCompressed() throws Exception {
+        SdkHttpFullRequest.Builder request = request(PAYLOAD).putHeader("Content-MD5", "uncompressed");
+
+        stage(null).execute(request, context(STREAMING));
+
+        assertThat(request.firstMatchingHeader("Content-Encoding")).isNotPresent();
+        assertThat(request.firstMatchingHeader("Content-MD5")).hasValue("uncompressed");
+        assertThat(IoUtils.toUtf8String(request.contentStreamProvider().newStream())).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    public void asyncStreaming_contentMd5_requestBodyIsNotCompressed() throws Exception {
+        SdkHttpFullRequest.Builder request = request("ignored").putHeader("Content-MD5", "uncompressed");
+        RequestExecutionContext context = context(STREAMING);
+        AsyncRequestBody requestBody = AsyncRequestBody.fromString(PAYLOAD);
+        context.requestProvider(requestBody);
+
+        stage(null).execute(request, context);
+
+        assertThat(context.requestProvider()).isSameAs(requestBody);
+        assertThat(request.firstMatchingHeader("Content-Encoding")).isNotPresent();
+        assertThat(request.firstMatchingHeader("Content-MD5")).hasValue("uncompressed");
+    }
+
+    @Test
+    public void existingContentEncoding_isAppendedTo() throws Exception {
+        SdkHttpFullRequest.Builder request = request(PAYLOAD).putHeader("Content-Encoding", "custom");
+
+        stage(null).execute(request, context(NON_STREAMING));
+
+        assertThat(request.firstMatchingHeader("Content-Encoding")).hasValue("custom, gzip");
+    }
+
+    private static CompressRequestStage stage(CompressionConfiguration compressionConfiguration) {
+        HttpClientDependencies dependencies =
+            HttpClientDependencies.builder()
+                                  .clientConfiguration(SdkClientConfiguration.builder()
+                                                                             .option(SdkClientOption.COMPRESSION_CONFIGURATION,
+                                                                                     compressionConfiguration)
+                                                                             .build())
+                                  .build();
+        return new CompressRequestStage(dependencies);
+    }
+
+    private static SdkHttpFullRequest.Builder request(String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ValidSdkObjects.sdkHttpFullRequest()
+                              .putHeader("Content-Length", Integer.toString(bytes.length))
+                              .contentStreamProvider(() -> new ByteArrayInputStream(bytes));
+    }
+
+    private static RequestExecutionContext context(RequestCompression requestCompression) {
+        ExecutionContext executionContext =
+            ClientExecutionAndRequestTimerTestUtils.executionContext(ValidSdkObjects.sdkHttpFullRequest().build());
+        executionContext.executionAttributes().putAttribute(SdkInternalExecutionAttribute.REQUEST_COMPRESSION,
+                                                            requestCompression);
+        return RequestExecutionContext.builder()
+                                      .executionContext(executionContext)
+                                      .originalRequest(NoopTestRequest.builder().build())
+                                      .build();
+    }
+
+    private static String decompress(byte[] compressed) throws IOException {
+        try (InputStream decompressed = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return IoUtils.toUtf8String(decompressed);
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+}
@@ -32,6 +32,10 @@ import static software.amazon.awssdk.core.client.config.SdkClientOption.ASYNC_HT
 import static software.amazon.awssdk.core.client.config.SdkClientOption.SCHEDULED_EXECUTOR_SERVICE;
 import static software.amazon.awssdk.core.internal.util.AsyncResponseHandlerTestUtils.combinedAsyncResponseHandler;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -46,19 +50,24 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.http.ExecutionContext;
 import software.amazon.awssdk.core.http.NoopTestRequest;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
 import software.amazon.awssdk.core.internal.http.timers.ClientExecutionAndRequestTimerTestUtils;
 import software.amazon.awssdk.core.internal.util.AsyncResponseHandlerTestUtils;
+import software.amazon.awssdk.http.FileContent;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.http.async.PooledByteBufferAllocator;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
@@ -161,6 +170,65 @@ public class MakeAsyncHttpRequestStageTest {
         }
     }
 
+    @Test
+    public void execute_contextContainsBufferAllocator_addsAllocatorToExecuteRequest() {
+        stage = new MakeAsyncHttpRequestStage<>(
+                combinedAsyncResponseHandler(AsyncResponseHandlerTestUtils.noOpResponseHandler(),
+                        AsyncResponseHandlerTestUtils.noOpResponseHandler()),
+                clientDependencies(null));
+
+        ByteBufferAllocator allocator = PooledByteBufferAllocator.create();
+        RequestExecutionContext context = requestContext();
+        context.executionAttributes().putAttribute(SdkInternalExecutionAttribute.BYTE_BUFFER_ALLOCATOR, allocator);
+
+        stage.execute(CompletableFuture.completedFuture(ValidSdkObjects.sdkHttpFullRequest().build()), context);
+
+        ArgumentCaptor<AsyncExecuteRequest> httpRequestCaptor = ArgumentCaptor.forClass(AsyncExecuteRequest.class);
+        verify(sdkAsyncHttpClient).execute(httpRequestCaptor.capture());
+        assertThat(httpRequestCaptor.getValue().bufferAllocator()).containsSame(allocator);
+    }
+
+    @Test
+    public void execute_fileRequestBody_exposesFileContentToHttpClient() throws IOException {
+        stage = new MakeAsyncHttpRequestStage<>(
+                combinedAsyncResponseHandler(AsyncResponseHandlerTestUtils.noOpResponseHandler(),
+                        AsyncResponseHandlerTestUtils.noOpResponseHandler()),
+                clientDependencies(null));
+
+        Path file = Files.createTempFile("make-async-http-request-stage", ".txt");
+        try {
+            Files.write(file, "content".getBytes(StandardCharsets.UTF_8));
+            RequestExecutionContext context = requestContext();
+            context.requestProvider(AsyncRequestBody.fromFile(file));
+
+            stage.execute(CompletableFuture.completedFuture(ValidSdkObjects.sdkHttpFullRequest().build()), context);
+
+            ArgumentCaptor<AsyncExecuteRequest> httpRequestCaptor = ArgumentCaptor.forClass(AsyncExecuteRequest.class);
+            verify(sdkAsyncHttpClient).execute(httpRequestCaptor.capture());
+            assertThat(httpRequestCaptor.getValue().requestContentPublisher().fileContent())
+                .contains(FileContent.create(file, 0, 7));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void execute_nonFileRequestBody_doesNotExposeFileContent() {
+        stage = new MakeAsyncHttpRequestStage<>(
+                combinedAsyncResponseHandler(AsyncResponseHandlerTestUtils.noOpResponseHandler(),
+                        AsyncResponseHandlerTestUtils.noOpResponseHandler()),
+                clientDependencies(null));
+
+        RequestExecutionContext context = requestContext();
+        context.requestProvider(AsyncRequestBody.fromString("content"));
+
+        stage.execute(CompletableFuture.completedFuture(ValidSdkObjects.sdkHttpFullRequest().build()), context);
+
+        ArgumentCaptor<AsyncExecuteRequest> httpRequestCaptor = ArgumentCaptor.forClass(AsyncExecuteRequest.class);
+        verify(sdkAsyncHttpClient).execute(httpRequestCaptor.capture());
+        assertThat(httpRequestCaptor.getValue().requestContentPublisher().fileContent()).isEmpty();
+    }
+
     @Test
     public void execute_handlerFutureCompletedNormally_futureCompletionExecutorRejectsWhenCompleteAsync_futureCompletedSynchronously() {
         ExecutorService mockExecutor = mock(ExecutorService.class);
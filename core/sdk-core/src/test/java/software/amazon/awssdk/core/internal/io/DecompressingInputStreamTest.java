@@ -0,0 +1,81 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.IoUtils;
+
+class DecompressingInputStreamTest {
+    private static final byte[] DATA = "{\"Items\":[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]}".getBytes();
+
+    @Test
+    void gzip_decodesAndReportsSizes() throws IOException {
+        byte[] compressed = gzip(DATA);
+        MetricCollector collector = MetricCollector.create("test");
+
+        InputStream decoded = DecompressingInputStream.create(DecompressingInputStream.GZIP,
+                                                              new ByteArrayInputStream(compressed), collector);
+
+        assertThat(IoUtils.toByteArray(decoded)).isEqualTo(DATA);
+        MetricCollection metrics = collector.collect();
+        assertThat(metrics.metricValues(CoreMetric.RESPONSE_WIRE_BYTES)).containsExactly((long) compressed.length);
+        assertThat(metrics.metricValues(CoreMetric.RESPONSE_DECODED_BYTES)).containsExactly((long) DATA.length);
+    }
+
+    @Test
+    void zstd_decodes() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ZstdOutputStream zstd = new ZstdOutputStream(compressed)) {
+            zstd.write(DATA);
+        }
+
+        assertThat(DecompressingInputStream.isZstdAvailable()).isTrue();
+        InputStream decoded = DecompressingInputStream.create(DecompressingInputStream.ZSTD,
+                                                              new ByteArrayInputStream(compressed.toByteArray()),
+                                                              MetricCollector.create("test"));
+
+        assertThat(IoUtils.toByteArray(decoded)).isEqualTo(DATA);
+    }
+
+    @Test
+    void emptyBody_decodesToEmptyStream() throws IOException {
+        InputStream decoded = DecompressingInputStream.create(DecompressingInputStream.GZIP,
+                                                              new ByteArrayInputStream(new byte[0]),
+                                                              MetricCollector.create("test"));
+
+        assertThat(decoded.read()).isEqualTo(-1);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data);
+        }
+        return compressed.toByteArray();
+    }
+}
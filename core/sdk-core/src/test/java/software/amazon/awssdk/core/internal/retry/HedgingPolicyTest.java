@@ -0,0 +1,106 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.client.config.HedgingConfiguration;
+
+public class HedgingPolicyTest {
+    private static final String OPERATION = "GetItem";
+
+    @Test
+    public void isHedged_onlyForConfiguredOperations() {
+        HedgingPolicy policy = new HedgingPolicy(HedgingConfiguration.builder().operations(OPERATION).build());
+
+        assertThat(policy.isHedged(OPERATION)).isTrue();
+        assertThat(policy.isHedged("PutItem")).isFalse();
+        assertThat(policy.isHedged(null)).isFalse();
+        assertThat(policy.hedgeDelay("PutItem")).isEmpty();
+    }
+
+    @Test
+    public void hedgeDelay_fixedDelay_isUsedWithoutSamples() {
+        HedgingPolicy policy = new HedgingPolicy(HedgingConfiguration.builder()
+                                                                     .operations(OPERATION)
+                                                                     .delay(Duration.ofMillis(50))
+                                                                     .build());
+
+        assertThat(policy.hedgeDelay(OPERATION)).hasValue(Duration.ofMillis(50));
+    }
+
+    @Test
+    public void hedgeDelay_notEnoughSamples_noHedge() {
+        HedgingPolicy policy = new HedgingPolicy(HedgingConfiguration.builder().operations(OPERATION).build());
+
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES - 1; i++) {
+            policy.recordLatency(OPERATION, Duration.ofMillis(10).toNanos());
+        }
+
+        assertThat(policy.hedgeDelay(OPERATION)).isEmpty();
+    }
+
+    @Test
+    public void hedgeDelay_enoughSamples_usesConfiguredPercentile() {
+        HedgingPolicy policy = new HedgingPolicy(HedgingConfiguration.builder()
+                                                                     .operations(OPERATION)
+                                                                     .delayPercentile(90.0)
+                                                                     .minDelay(Duration.ZERO)
+                                                                     .build());
+
+        for (int i = 1; i <= 100; i++) {
+            policy.recordLatency(OPERATION, Duration.ofMillis(i).toNanos());
+        }
+        policy.recordLatency(OPERATION, Duration.ofMillis(0).toNanos());
+
+        // 101 samples recorded, recomputed after the 96th: 90th percentile of 1..96ms
+        assertThat(policy.hedgeDelay(OPERATION)).hasValue(Duration.ofMillis(87));
+    }
+
+    @Test
+    public void hedgeDelay_belowMinDelay_usesMinDelay() {
+        HedgingPolicy policy = new HedgingPolicy(HedgingConfiguration.builder()
+                                                                     .operations(OPERATION)
+                                                                     .minDelay(Duration.ofMillis(20))
+                                                                     .build());
+
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            policy.recordLatency(OPERATION, Duration.ofMillis(1).toNanos());
+        }
+
+        assertThat(policy.hedgeDelay(OPERATION)).hasValue(Duration.ofMillis(20));
+    }
+
+    @Test
+    public void recordLatency_moreThanSampleSize_keepsMostRecentSamples() {
+        HedgingPolicy policy = new HedgingPolicy(HedgingConfiguration.builder()
+                                                                     .operations(OPERATION)
+                                                                     .minDelay(Duration.ZERO)
+                                                                     .build());
+
+        for (int i = 0; i < HedgingPolicy.SAMPLE_SIZE; i++) {
+            policy.recordLatency(OPERATION, Duration.ofSeconds(1).toNanos());
+        }
+        for (int i = 0; i < HedgingPolicy.SAMPLE_SIZE; i++) {
+            policy.recordLatency(OPERATION, Duration.ofMillis(1).toNanos());
+        }
+
+        assertThat(policy.sampleCount(OPERATION)).isEqualTo(HedgingPolicy.SAMPLE_SIZE);
+        assertThat(policy.hedgeDelay(OPERATION)).hasValue(Duration.ofMillis(1));
+    }
+}
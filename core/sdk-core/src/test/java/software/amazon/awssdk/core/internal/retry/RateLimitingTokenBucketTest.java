@@ -18,7 +18,15 @@ package software.amazon.awssdk.core.internal.retry;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -154,4 +162,76 @@ public class RateLimitingTokenBucketTest {
 
         assertThat(tb.tryAcquireCapacity(5.0)).isEqualTo(2.0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void acquireNonBlocking_concurrentCallers_consumeCapacityExactlyOnce() throws Exception {
+        RateLimitingTokenBucket tb = Mockito.spy(new RateLimitingTokenBucket());
+
+        // stub out refill() so we have control over the capacity
+        Mockito.doAnswer(invocationOnMock -> null).when(tb).refill();
+
+        tb.setFillRate(1.0);
+        tb.setCurrentCapacity(1000.0);
+        tb.enable();
+
+        int threads = 8;
+        int acquiresPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < acquiresPerThread; j++) {
+                        tb.acquireNonBlocking(1.0, false);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(tb.getCurrentCapacity()).isEqualTo(1000.0 - threads * acquiresPerThread);
+    }
+
+    @Test
+    public void updateClientSendingRate_concurrentThrottlingResponses_fillRateMatchesFinalCubicState() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 500; round++) {
+                // Randomly yield on clock reads to give the concurrent updates a chance to interleave
+                AtomicLong ticks = new AtomicLong();
+                RateLimitingTokenBucket tb = new RateLimitingTokenBucket(() -> {
+                    if (ThreadLocalRandom.current().nextBoolean()) {
+                        Thread.yield();
+                    }
+                    return ticks.incrementAndGet() / 2.0;
+                });
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        tb.updateClientSendingRate(true);
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+
+                // The last throttling response sets the fill rate to
+                // max(min(last_max_rate * BETA, 2 * measured_tx_rate), MIN_FILL_RATE)
+                double expectedRate = Math.min(tb.cubicThrottle(tb.getLastMaxRate()), 2 * tb.getMeasuredTxRate());
+                assertThat(tb.getFillRate()).isEqualTo(Math.max(expectedRate, 0.5));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
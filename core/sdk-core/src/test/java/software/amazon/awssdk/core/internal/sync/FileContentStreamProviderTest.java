@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.core.internal.sync;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.common.jimfs.Jimfs;
@@ -28,6 +29,7 @@ import java.nio.file.Path;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.FileContent;
 
 /**
  * Tests for {@link FileContentStreamProvider}.
@@ -51,6 +53,26 @@ public class FileContentStreamProviderTest {
         testFs.close();
     }
 
+    @Test
+    public void fileContentIsWholeFile() throws IOException {
+        Path defaultFsFile = Files.createTempFile("FileContentStreamProviderTest", ".dat");
+        try {
+            Files.write(defaultFsFile, "test".getBytes(StandardCharsets.UTF_8));
+            FileContentStreamProvider provider = new FileContentStreamProvider(defaultFsFile);
+
+            assertThat(provider.fileContent()).contains(FileContent.create(defaultFsFile, 0, 4));
+        } finally {
+            Files.delete(defaultFsFile);
+        }
+    }
+
+    @Test
+    public void fileNotOnDefaultFileSystem_hasNoFileContent() {
+        FileContentStreamProvider provider = new FileContentStreamProvider(testFile);
+
+        assertThat(provider.fileContent()).isEmpty();
+    }
+
     @Test
     public void newStreamClosesPreviousStream() {
         FileContentStreamProvider provider = new FileContentStreamProvider(testFile);
@@ -27,7 +27,10 @@ import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
 import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
 
 public class TokenBucketRetryConditionTest {
     private static final SdkException EXCEPTION = SdkClientException.create("");
@@ -161,6 +164,69 @@ public class TokenBucketRetryConditionTest {
         assertThat(failure.get()).isFalse();
     }
 
+    @Test
+    public void hostPartitioning_failuresOnOneHost_doNotConsumeCapacityOfOtherHosts() {
+        TokenBucketRetryCondition condition = TokenBucketRetryCondition.builder()
+                                                                       .tokenBucketSize(2)
+                                                                       .exceptionCostFunction(e -> 1)
+                                                                       .partitioning(TokenBucketPartitioning.HOST)
+                                                                       .build();
+
+        assertThat(condition.shouldRetry(context(EXCEPTION, "a.amazonaws.com", new ExecutionAttributes()))).isTrue();
+        assertThat(condition.shouldRetry(context(EXCEPTION, "a.amazonaws.com", new ExecutionAttributes()))).isTrue();
+        assertThat(condition.shouldRetry(context(EXCEPTION, "a.amazonaws.com", new ExecutionAttributes()))).isFalse();
+
+        assertThat(condition.shouldRetry(context(EXCEPTION, "b.amazonaws.com", new ExecutionAttributes()))).isTrue();
+        assertThat(condition.tokensAvailable()).isEqualTo(0);
+    }
+
+    @Test
+    public void hostPartitioning_successReleasesCapacityToAcquiringPartition() {
+        TokenBucketRetryCondition condition = TokenBucketRetryCondition.builder()
+                                                                       .tokenBucketSize(5)
+                                                                       .exceptionCostFunction(e -> 5)
+                                                                       .partitioning(TokenBucketPartitioning.HOST)
+                                                                       .build();
+
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        assertThat(condition.shouldRetry(context(EXCEPTION, "a.amazonaws.com", attributes))).isTrue();
+        assertThat(condition.tokensAvailable()).isEqualTo(0);
+
+        condition.requestSucceeded(context(EXCEPTION, "a.amazonaws.com", attributes));
+        assertThat(condition.tokensAvailable()).isEqualTo(5);
+    }
+
+    @Test
+    public void operationPartitioning_failuresInOneOperation_doNotConsumeCapacityOfOtherOperations() {
+        TokenBucketRetryCondition condition = TokenBucketRetryCondition.builder()
+                                                                       .tokenBucketSize(1)
+                                                                       .exceptionCostFunction(e -> 1)
+                                                                       .partitioning(TokenBucketPartitioning.OPERATION)
+                                                                       .build();
+
+        assertThat(condition.shouldRetry(context(EXCEPTION, "a.amazonaws.com", operation("GetObject")))).isTrue();
+        assertThat(condition.shouldRetry(context(EXCEPTION, "a.amazonaws.com", operation("GetObject")))).isFalse();
+        assertThat(condition.shouldRetry(context(EXCEPTION, "a.amazonaws.com", operation("PutObject")))).isTrue();
+    }
+
+    private ExecutionAttributes operation(String operationName) {
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, operationName);
+        return attributes;
+    }
+
+    private RetryPolicyContext context(SdkException lastException, String host, ExecutionAttributes attributes) {
+        return RetryPolicyContext.builder()
+                                 .executionAttributes(attributes)
+                                 .request(SdkHttpFullRequest.builder()
+                                                            .protocol("https")
+                                                            .host(host)
+                                                            .method(SdkHttpMethod.GET)
+                                                            .build())
+                                 .exception(lastException)
+                                 .build();
+    }
+
     private RetryPolicyContext context(SdkException lastException) {
         return RetryPolicyContext.builder()
                                  .executionAttributes(new ExecutionAttributes())
@@ -16,6 +16,7 @@
 package software.amazon.awssdk.http;
 
 import java.io.InputStream;
+import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 
 /**
@@ -34,4 +35,16 @@ public interface ContentStreamProvider {
      * @return The content stream.
      */
     InputStream newStream();
+
+    /**
+     * The region of a file that every stream returned by {@link #newStream()} reads, if this provider is backed by a file.
+     * <p>
+     * HTTP clients may use this to send the file without reading it through {@link #newStream()}, so it must only be
+     * present when the streams return exactly the bytes of the file region.
+     *
+     * @return The file region that makes up the content, or empty if the content is not read directly from a file.
+     */
+    default Optional<FileContent> fileContent() {
+        return Optional.empty();
+    }
 }
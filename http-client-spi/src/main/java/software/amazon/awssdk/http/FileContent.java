@@ -0,0 +1,102 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.nio.file.Path;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A region of a file that makes up the entire content of a request.
+ * <p>
+ * A {@link ContentStreamProvider} or {@link software.amazon.awssdk.http.async.SdkHttpContentPublisher} that is backed by a
+ * file can expose it as a {@code FileContent}, which lets HTTP clients send the file without reading it into user-space
+ * buffers, for example with {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+ * or by memory-mapping it. Only files on the {@link java.nio.file.FileSystems#getDefault() default file system} can be sent
+ * this way, so content backed by other files should not be exposed as a {@code FileContent}.
+ */
+@SdkPublicApi
+@Immutable
+public final class FileContent {
+    private final Path path;
+    private final long position;
+    private final long length;
+
+    private FileContent(Path path, long position, long length) {
+        this.path = Validate.paramNotNull(path, "path");
+        this.position = Validate.isNotNegative(position, "position");
+        this.length = Validate.isNotNegative(length, "length");
+    }
+
+    /**
+     * Create a {@code FileContent} for {@code length} bytes of the given file, starting at {@code position}.
+     */
+    public static FileContent create(Path path, long position, long length) {
+        return new FileContent(path, position, length);
+    }
+
+    /**
+     * @return The file that the content is read from.
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * @return The offset in the file of the first byte of the content.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * @return The number of bytes of content.
+     */
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FileContent that = (FileContent) o;
+        return position == that.position && length == that.length && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = path.hashCode();
+        result = 31 * result + Long.hashCode(position);
+        result = 31 * result + Long.hashCode(length);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("FileContent")
+                       .add("path", path)
+                       .add("position", position)
+                       .add("length", length)
+                       .build();
+    }
+}
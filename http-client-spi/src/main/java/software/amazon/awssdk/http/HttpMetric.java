@@ -121,6 +121,16 @@ public final class HttpMetric {
     public static final SdkMetric<Duration> CONCURRENCY_ACQUIRE_DURATION =
         metric("ConcurrencyAcquireDuration", Duration.class, MetricLevel.INFO);
 
+    /**
+     * Whether the TLS handshake performed to establish the connection used by the request resumed a cached TLS session
+     * (an abbreviated handshake) rather than performing a full handshake.
+     *
+     * <p>This is only reported for requests that caused a new TLS connection to be established, so the number of full and
+     * resumed handshakes can be counted from the requests reporting {@code false} and {@code true} respectively.
+     */
+    public static final SdkMetric<Boolean> TLS_SESSION_RESUMED =
+        metric("TlsSessionResumed", Boolean.class, MetricLevel.INFO);
+
     private HttpMetric() {
     }
 
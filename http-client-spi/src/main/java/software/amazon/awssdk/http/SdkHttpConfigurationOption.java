@@ -131,6 +131,19 @@ public final class SdkHttpConfigurationOption<T> extends AttributeMap.Key<T> {
     public static final SdkHttpConfigurationOption<Duration> TLS_NEGOTIATION_TIMEOUT =
         new SdkHttpConfigurationOption<>("TlsNegotiationTimeout", Duration.class);
 
+    /**
+     * The maximum number of TLS sessions cached by the HTTP client for resuming sessions with the hosts it connects to. Zero
+     * means no limit. If not specified, the default of the TLS provider is used.
+     */
+    public static final SdkHttpConfigurationOption<Integer> TLS_SESSION_CACHE_SIZE =
+        new SdkHttpConfigurationOption<>("TlsSessionCacheSize", Integer.class);
+
+    /**
+     * How long cached TLS sessions can be resumed for. If not specified, the default of the TLS provider is used.
+     */
+    public static final SdkHttpConfigurationOption<Duration> TLS_SESSION_TIMEOUT =
+        new SdkHttpConfigurationOption<>("TlsSessionTimeout", Duration.class);
+
     private static final Duration DEFAULT_SOCKET_READ_TIMEOUT = Duration.ofSeconds(30);
     private static final Duration DEFAULT_SOCKET_WRITE_TIMEOUT = Duration.ofSeconds(30);
     private static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(2);
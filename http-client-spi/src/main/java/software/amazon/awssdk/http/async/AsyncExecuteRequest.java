@@ -36,6 +36,7 @@ public final class AsyncExecuteRequest {
     private final MetricCollector metricCollector;
     private final boolean isFullDuplex;
     private final SdkHttpExecutionAttributes sdkHttpExecutionAttributes;
+    private final ByteBufferAllocator bufferAllocator;
 
     private AsyncExecuteRequest(BuilderImpl builder) {
         this.request = builder.request;
@@ -44,6 +45,7 @@ public final class AsyncExecuteRequest {
         this.metricCollector = builder.metricCollector;
         this.isFullDuplex = builder.isFullDuplex;
         this.sdkHttpExecutionAttributes = builder.executionAttributesBuilder.build();
+        this.bufferAllocator = builder.bufferAllocator;
     }
 
     /**
@@ -88,6 +90,14 @@ public final class AsyncExecuteRequest {
         return sdkHttpExecutionAttributes;
     }
 
+    /**
+     * @return The allocator that the buffers published by the {@link #requestContentPublisher()} may have been allocated
+     * from. The HTTP client may release each buffer to it once the buffer's content has been written.
+     */
+    public Optional<ByteBufferAllocator> bufferAllocator() {
+        return Optional.ofNullable(bufferAllocator);
+    }
+
     public static Builder builder() {
         return new BuilderImpl();
     }
@@ -156,6 +166,16 @@ public final class AsyncExecuteRequest {
          */
         Builder httpExecutionAttributes(SdkHttpExecutionAttributes executionAttributes);
 
+        /**
+         * Set the allocator that the buffers published by the request content publisher may have been allocated from. Each
+         * published buffer hands its reference to the HTTP client, which may release it to this allocator once the
+         * buffer's content has been written, so that it can be reused for later request content.
+         *
+         * @param bufferAllocator The allocator.
+         * @return This builder for method chaining.
+         */
+        Builder bufferAllocator(ByteBufferAllocator bufferAllocator);
+
         AsyncExecuteRequest build();
     }
 
@@ -166,6 +186,7 @@ public final class AsyncExecuteRequest {
         private MetricCollector metricCollector;
         private boolean isFullDuplex;
         private SdkHttpExecutionAttributes.Builder executionAttributesBuilder = SdkHttpExecutionAttributes.builder();
+        private ByteBufferAllocator bufferAllocator;
 
         @Override
         public Builder request(SdkHttpRequest request) {
@@ -210,6 +231,12 @@ public final class AsyncExecuteRequest {
             return this;
         }
 
+        @Override
+        public Builder bufferAllocator(ByteBufferAllocator bufferAllocator) {
+            this.bufferAllocator = bufferAllocator;
+            return this;
+        }
+
 
         @Override
         public AsyncExecuteRequest build() {
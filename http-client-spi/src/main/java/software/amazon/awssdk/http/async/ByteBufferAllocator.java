@@ -0,0 +1,68 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.async;
+
+import java.nio.ByteBuffer;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * Allocates the {@link ByteBuffer}s that request content is read into, so that they can be reused once their content has
+ * been written.
+ *
+ * <p>Buffers are reference counted. A buffer returned by {@link #allocate(int)} starts with one reference, which belongs to
+ * whoever the buffer is handed to: a request body that publishes the buffer hands its reference to the subscriber. The
+ * last holder of a reference releases it with {@link #release(ByteBuffer)} once it no longer needs the buffer's content,
+ * after which the allocator may hand the buffer out again. Buffers that were not returned by an allocator are ignored by
+ * its {@link #retain(ByteBuffer)} and {@link #release(ByteBuffer)}, so consumers can release every buffer they receive.
+ *
+ * <p>A buffer that is never released is never reused, and is garbage collected once nothing else references it.
+ *
+ * @see PooledByteBufferAllocator
+ * @see AsyncExecuteRequest#bufferAllocator()
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface ByteBufferAllocator {
+
+    /**
+     * Allocate a buffer with a position of zero and a limit of the given capacity. The buffer's actual capacity may be
+     * larger than requested, and its content is undefined.
+     *
+     * @param capacity The number of bytes the buffer must be able to hold.
+     * @return The allocated buffer, holding one reference.
+     */
+    ByteBuffer allocate(int capacity);
+
+    /**
+     * Add a reference to a buffer returned by {@link #allocate(int)}, so that it is not reused until that reference is
+     * also released. Buffers this allocator did not return are ignored.
+     *
+     * @param buffer The buffer to retain.
+     * @throws IllegalStateException If all references to the buffer have already been released.
+     */
+    void retain(ByteBuffer buffer);
+
+    /**
+     * Remove a reference to a buffer returned by {@link #allocate(int)}. Once the last reference is released, the buffer
+     * may be handed out again, so its content must not be used by the caller afterwards. Buffers this allocator did not
+     * return are ignored.
+     *
+     * @param buffer The buffer to release.
+     * @throws IllegalStateException If all references to the buffer have already been released.
+     */
+    void release(ByteBuffer buffer);
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.async;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * A {@link ByteBufferAllocator} that reuses a bounded number of fixed-size buffers.
+ *
+ * <p>The allocator creates up to {@link Builder#maxPooledBuffers(Integer)} buffers of
+ * {@link Builder#bufferSizeInBytes(Integer)} bytes each, on the heap or, if {@link Builder#directMemory(Boolean)} is
+ * enabled, in direct memory. Once the last reference to one of these buffers is released, it is handed out again by the
+ * next {@link #allocate(int)}. Requests for more than the buffer size, or made while every pooled buffer is in use, are
+ * served with a new buffer that is not pooled.
+ *
+ * <p>The memory held by the pool is therefore bounded by the buffer size multiplied by the maximum number of pooled
+ * buffers. A single allocator is meant to be shared by every client that handles the same kind of traffic.
+ *
+ * <p>The pool only weakly references the buffers it has handed out, so a pooled buffer that is never released is garbage
+ * collected like any other buffer, and the pool creates a new buffer in its place.
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class PooledByteBufferAllocator implements ByteBufferAllocator {
+    private static final int DEFAULT_BUFFER_SIZE_IN_BYTES = 64 * 1024;
+    private static final int DEFAULT_MAX_POOLED_BUFFERS = 256;
+
+    private final int bufferSizeInBytes;
+    private final int maxPooledBuffers;
+    private final boolean directMemory;
+
+    /**
+     * Every buffer created for the pool that has not been garbage collected, keyed by the buffer's identity.
+     */
+    private final ConcurrentHashMap<BufferIdentity, PooledBuffer> pooledBuffers = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<PooledBuffer> freeBuffers = new ConcurrentLinkedDeque<>();
+    private final ReferenceQueue<ByteBuffer> collectedBuffers = new ReferenceQueue<>();
+    private final AtomicInteger pooledBufferCount = new AtomicInteger();
+
+    private PooledByteBufferAllocator(DefaultBuilder builder) {
+        this.bufferSizeInBytes = Validate.isPositive(builder.bufferSizeInBytes == null ? DEFAULT_BUFFER_SIZE_IN_BYTES
+                                                                                       : builder.bufferSizeInBytes,
+                                                     "bufferSizeInBytes");
+        this.maxPooledBuffers = Validate.isNotNegative(builder.maxPooledBuffers == null ? DEFAULT_MAX_POOLED_BUFFERS
+                                                                                        : builder.maxPooledBuffers,
+                                                       "maxPooledBuffers");
+        this.directMemory = Boolean.TRUE.equals(builder.directMemory);
+    }
+
+    /**
+     * Create an allocator with the default configuration: up to {@value #DEFAULT_MAX_POOLED_BUFFERS} heap buffers of
+     * {@value #DEFAULT_BUFFER_SIZE_IN_BYTES} bytes each.
+     */
+    public static PooledByteBufferAllocator create() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    @Override
+    public ByteBuffer allocate(int capacity) {
+        Validate.isNotNegative(capacity, "capacity");
+        if (capacity > bufferSizeInBytes) {
+            return newBuffer(capacity);
+        }
+
+        ByteBuffer buffer;
+        PooledBuffer pooledBuffer = freeBuffers.pollFirst();
+        if (pooledBuffer != null) {
+            buffer = pooledBuffer.reuse();
+        } else {
+            removeCollectedBuffers();
+            if (pooledBufferCount.incrementAndGet() > maxPooledBuffers) {
+                pooledBufferCount.decrementAndGet();
+                return newBuffer(capacity);
+            }
+            buffer = newBuffer(bufferSizeInBytes);
+            pooledBuffer = new PooledBuffer(buffer, collectedBuffers);
+            pooledBuffers.put(pooledBuffer, pooledBuffer);
+        }
+
+        buffer.clear();
+        buffer.limit(capacity);
+        return buffer;
+    }
+
+    @Override
+    public void retain(ByteBuffer buffer) {
+        PooledBuffer pooledBuffer = pooledBuffers.get(new BufferKey(buffer));
+        if (pooledBuffer != null) {
+            pooledBuffer.retain();
+        }
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        PooledBuffer pooledBuffer = pooledBuffers.get(new BufferKey(buffer));
+        if (pooledBuffer != null && pooledBuffer.release(buffer)) {
+            freeBuffers.addFirst(pooledBuffer);
+        }
+    }
+
+    /**
+     * Forget the pooled buffers that were garbage collected without being released, so that new buffers can take their
+     * place.
+     */
+    private void removeCollectedBuffers() {
+        Reference<? extends ByteBuffer> collected;
+        while ((collected = collectedBuffers.poll()) != null) {
+            if (pooledBuffers.remove(collected) != null) {
+                pooledBufferCount.decrementAndGet();
+            }
+        }
+    }
+
+    private ByteBuffer newBuffer(int capacity) {
+        return directMemory ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("PooledByteBufferAllocator")
+                       .add("bufferSizeInBytes", bufferSizeInBytes)
+                       .add("maxPooledBuffers", maxPooledBuffers)
+                       .add("directMemory", directMemory)
+                       .build();
+    }
+
+    /**
+     * A buffer's identity, used to look up the {@link PooledBuffer} of a buffer without holding a strong reference to it.
+     */
+    private interface BufferIdentity {
+        ByteBuffer buffer();
+
+        static boolean sameBuffer(BufferIdentity identity, Object other) {
+            if (identity == other) {
+                return true;
+            }
+            if (!(other instanceof BufferIdentity)) {
+                return false;
+            }
+            ByteBuffer buffer = identity.buffer();
+            return buffer != null && buffer == ((BufferIdentity) other).buffer();
+        }
+    }
+
+    /**
+     * The key used to look up the {@link PooledBuffer} of a buffer passed to {@link #retain(ByteBuffer)} or
+     * {@link #release(ByteBuffer)}.
+     */
+    private static final class BufferKey implements BufferIdentity {
+        private final ByteBuffer buffer;
+
+        private BufferKey(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return BufferIdentity.sameBuffer(this, obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(buffer);
+        }
+    }
+
+    /**
+     * A buffer created for the pool, along with its reference count. The buffer is only strongly referenced while it is
+     * free, so that a buffer that is handed out and never released can still be garbage collected.
+     */
+    private static final class PooledBuffer extends WeakReference<ByteBuffer> implements BufferIdentity {
+        private static final AtomicIntegerFieldUpdater<PooledBuffer> REFERENCES =
+            AtomicIntegerFieldUpdater.newUpdater(PooledBuffer.class, "references");
+
+        private final int hashCode;
+        private volatile int references = 1;
+        private ByteBuffer freeBuffer;
+
+        private PooledBuffer(ByteBuffer buffer, ReferenceQueue<ByteBuffer> collectedBuffers) {
+            super(buffer, collectedBuffers);
+            this.hashCode = System.identityHashCode(buffer);
+        }
+
+        @Override
+        public ByteBuffer buffer() {
+            return get();
+        }
+
+        /**
+         * Hand out this free buffer again, with one reference.
+         */
+        private ByteBuffer reuse() {
+            ByteBuffer buffer = freeBuffer;
+            freeBuffer = null;
+            references = 1;
+            return buffer;
+        }
+
+        private void retain() {
+            int current;
+            do {
+                current = references;
+                Validate.validState(current > 0, "The buffer has already been released.");
+            } while (!REFERENCES.compareAndSet(this, current, current + 1));
+        }
+
+        /**
+         * Release a reference to the buffer, returning true if it was the last one and the buffer is now free.
+         */
+        private boolean release(ByteBuffer buffer) {
+            int current;
+            do {
+                current = references;
+                Validate.validState(current > 0, "The buffer has already been released.");
+            } while (!REFERENCES.compareAndSet(this, current, current - 1));
+
+            if (current == 1) {
+                freeBuffer = buffer;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return BufferIdentity.sameBuffer(this, obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * A builder for {@link PooledByteBufferAllocator}.
+     */
+    public interface Builder extends SdkBuilder<Builder, PooledByteBufferAllocator> {
+
+        /**
+         * The size of each pooled buffer. Allocations larger than this are never pooled, so it should be at least as large
+         * as the chunks that request bodies read, such as
+         * {@code FileAsyncRequestBody.Builder#chunkSizeInBytes(Integer)}.
+         *
+         * <p>Default: {@value #DEFAULT_BUFFER_SIZE_IN_BYTES} bytes
+         */
+        Builder bufferSizeInBytes(Integer bufferSizeInBytes);
+
+        /**
+         * The maximum number of buffers the pool creates and reuses. Allocations made while all of them are in use are
+         * served with buffers that are not pooled.
+         *
+         * <p>Default: {@value #DEFAULT_MAX_POOLED_BUFFERS}
+         */
+        Builder maxPooledBuffers(Integer maxPooledBuffers);
+
+        /**
+         * Whether buffers are allocated in direct memory rather than on the heap. Direct buffers can be written to a socket
+         * without first being copied into direct memory, but the memory they use is outside of the Java heap and is only
+         * bounded by the pool's size and the JVM's {@code -XX:MaxDirectMemorySize}.
+         *
+         * <p>Default: false
+         */
+        Builder directMemory(Boolean directMemory);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private Integer bufferSizeInBytes;
+        private Integer maxPooledBuffers;
+        private Boolean directMemory;
+
+        @Override
+        public Builder bufferSizeInBytes(Integer bufferSizeInBytes) {
+            this.bufferSizeInBytes = bufferSizeInBytes;
+            return this;
+        }
+
+        public void setBufferSizeInBytes(Integer bufferSizeInBytes) {
+            bufferSizeInBytes(bufferSizeInBytes);
+        }
+
+        @Override
+        public Builder maxPooledBuffers(Integer maxPooledBuffers) {
+            this.maxPooledBuffers = maxPooledBuffers;
+            return this;
+        }
+
+        public void setMaxPooledBuffers(Integer maxPooledBuffers) {
+            maxPooledBuffers(maxPooledBuffers);
+        }
+
+        @Override
+        public Builder directMemory(Boolean directMemory) {
+            this.directMemory = directMemory;
+            return this;
+        }
+
+        public void setDirectMemory(Boolean directMemory) {
+            directMemory(directMemory);
+        }
+
+        @Override
+        public PooledByteBufferAllocator build() {
+            return new PooledByteBufferAllocator(this);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.nio.ByteBuffer;
 import java.util.Optional;
 import org.reactivestreams.Publisher;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.FileContent;
 
 /**
  * A {@link Publisher} of HTTP content data that allows streaming operations for asynchronous HTTP clients.
@@ -31,4 +32,15 @@ public interface SdkHttpContentPublisher extends Publisher<ByteBuffer> {
      */
     Optional<Long> contentLength();
 
+    /**
+     * The region of a file that this publisher publishes, if it is backed by a file.
+     * <p>
+     * HTTP clients may use this to send the file without subscribing to this publisher, so it must only be present when the
+     * published bytes are exactly the bytes of the file region.
+     *
+     * @return The file region that makes up the content, or empty if the content is not read directly from a file.
+     */
+    default Optional<FileContent> fileContent() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.internal.http;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.FileContent;
+
+/**
+ * Checks that the file of a {@link FileContent} is not modified while an HTTP client sends it directly, rather than through
+ * the content stream or publisher of the request (which check this themselves).
+ */
+@SdkInternalApi
+public final class FileContentValidator {
+    private final Path path;
+    private final long sizeAtStart;
+    private final FileTime modifiedTimeAtStart;
+
+    private FileContentValidator(Path path, long sizeAtStart, FileTime modifiedTimeAtStart) {
+        this.path = path;
+        this.sizeAtStart = sizeAtStart;
+        this.modifiedTimeAtStart = modifiedTimeAtStart;
+    }
+
+    /**
+     * Whether the file of the given content can be sent directly. Files that are not on the default file system (e.g. in a
+     * zip file system or an in-memory file system) can't be memory-mapped or transferred to a socket.
+     */
+    public static boolean isOnDefaultFileSystem(FileContent fileContent) {
+        return fileContent.path().getFileSystem() == FileSystems.getDefault();
+    }
+
+    /**
+     * Record the size and last-modified time of the file of the given content, before it starts being sent.
+     */
+    public static FileContentValidator start(FileContent fileContent) throws IOException {
+        Path path = fileContent.path();
+        return new FileContentValidator(path, Files.size(path), Files.getLastModifiedTime(path));
+    }
+
+    /**
+     * Check that the size and last-modified time of the file are unchanged, after it was sent.
+     *
+     * @throws IOException if the file was modified or can no longer be accessed.
+     */
+    public void validateUnchanged() throws IOException {
+        try {
+            long sizeAtEnd = Files.size(path);
+            if (sizeAtStart != sizeAtEnd) {
+                throw new IOException("File size changed after reading started. Initial size: " + sizeAtStart + ". "
+                                      + "Current size: " + sizeAtEnd);
+            }
+
+            FileTime modifiedTimeAtEnd = Files.getLastModifiedTime(path);
+            if (modifiedTimeAtStart.compareTo(modifiedTimeAtEnd) != 0) {
+                throw new IOException("File last-modified time changed after reading started. Initial modification time: "
+                                      + modifiedTimeAtStart + ". Current modification time: " + modifiedTimeAtEnd);
+            }
+        } catch (NoSuchFileException e) {
+            throw new IOException("Unable to check file status after read. Was the file deleted or were its permissions "
+                                  + "changed?", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Paths;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+
+class FileContentTest {
+
+    @Test
+    void equalsAndHashcode() {
+        EqualsVerifier.forClass(FileContent.class)
+                      .withNonnullFields("path")
+                      .verify();
+    }
+
+    @Test
+    void create_exposesRegion() {
+        FileContent content = FileContent.create(Paths.get("file.txt"), 10, 20);
+        assertThat(content.path()).isEqualTo(Paths.get("file.txt"));
+        assertThat(content.position()).isEqualTo(10);
+        assertThat(content.length()).isEqualTo(20);
+    }
+
+    @Test
+    void create_negativePosition_throws() {
+        assertThatThrownBy(() -> FileContent.create(Paths.get("file.txt"), -1, 20))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void create_negativeLength_throws() {
+        assertThatThrownBy(() -> FileContent.create(Paths.get("file.txt"), 0, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
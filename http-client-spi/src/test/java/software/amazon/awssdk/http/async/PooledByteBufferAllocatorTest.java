@@ -0,0 +1,176 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class PooledByteBufferAllocatorTest {
+    private final PooledByteBufferAllocator allocator = PooledByteBufferAllocator.builder()
+                                                                                 .bufferSizeInBytes(1024)
+                                                                                 .maxPooledBuffers(2)
+                                                                                 .build();
+
+    @Test
+    public void allocate_returnsBufferWithRequestedLimit() {
+        ByteBuffer buffer = allocator.allocate(100);
+
+        assertThat(buffer.position()).isZero();
+        assertThat(buffer.limit()).isEqualTo(100);
+        assertThat(buffer.capacity()).isEqualTo(1024);
+        assertThat(buffer.isDirect()).isFalse();
+    }
+
+    @Test
+    public void release_buffersAreReused() {
+        ByteBuffer first = allocator.allocate(1024);
+        first.put((byte) 1);
+        allocator.release(first);
+
+        ByteBuffer second = allocator.allocate(512);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.position()).isZero();
+        assertThat(second.limit()).isEqualTo(512);
+    }
+
+    @Test
+    public void retain_bufferIsOnlyReusedAfterLastRelease() {
+        ByteBuffer buffer = allocator.allocate(1024);
+        allocator.retain(buffer);
+
+        allocator.release(buffer);
+        ByteBuffer other = allocator.allocate(1024);
+        assertThat(other).isNotSameAs(buffer);
+
+        allocator.release(buffer);
+        assertThat(allocator.allocate(1024)).isSameAs(buffer);
+    }
+
+    @Test
+    public void allocate_poolExhausted_returnsUnpooledBuffer() {
+        ByteBuffer first = allocator.allocate(1024);
+        ByteBuffer second = allocator.allocate(1024);
+        ByteBuffer unpooled = allocator.allocate(10);
+
+        assertThat(unpooled.capacity()).isEqualTo(10);
+
+        allocator.release(unpooled);
+        allocator.release(first);
+        assertThat(allocator.allocate(10)).isSameAs(first);
+        assertThat(allocator.allocate(10)).isNotSameAs(second);
+    }
+
+    @Test
+    public void allocate_largerThanBufferSize_returnsUnpooledBuffer() {
+        ByteBuffer buffer = allocator.allocate(2048);
+        assertThat(buffer.capacity()).isEqualTo(2048);
+
+        allocator.release(buffer);
+        assertThat(allocator.allocate(2048)).isNotSameAs(buffer);
+    }
+
+    @Test
+    public void release_unknownBuffer_isIgnored() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        allocator.retain(buffer);
+        allocator.release(buffer);
+        allocator.release(buffer);
+
+        assertThat(allocator.allocate(1024)).isNotSameAs(buffer);
+    }
+
+    @Test
+    public void release_alreadyReleased_throws() {
+        ByteBuffer buffer = allocator.allocate(1024);
+        allocator.release(buffer);
+
+        assertThatThrownBy(() -> allocator.release(buffer)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> allocator.retain(buffer)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void allocate_unreleasedBuffersCollected_poolCreatesNewBuffers() throws InterruptedException {
+        allocateAndDiscard(2);
+
+        boolean pooled = false;
+        for (int i = 0; i < 100 && !pooled; i++) {
+            System.gc();
+            Thread.sleep(10);
+            pooled = allocator.allocate(10).capacity() == 1024;
+        }
+        assertThat(pooled).isTrue();
+    }
+
+    @Test
+    public void concurrentRetainAndRelease_everyBufferIsReturnedToThePool() throws Exception {
+        PooledByteBufferAllocator sharedAllocator = PooledByteBufferAllocator.builder()
+                                                                             .bufferSizeInBytes(1024)
+                                                                             .maxPooledBuffers(4)
+                                                                             .build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        ByteBuffer buffer = sharedAllocator.allocate(1024);
+                        sharedAllocator.retain(buffer);
+                        sharedAllocator.release(buffer);
+                        sharedAllocator.release(buffer);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<ByteBuffer> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < 4; i++) {
+            buffers.add(sharedAllocator.allocate(10));
+        }
+        assertThat(buffers).hasSize(4).allSatisfy(buffer -> assertThat(buffer.capacity()).isEqualTo(1024));
+    }
+
+    @Test
+    public void directMemory_allocatesDirectBuffers() {
+        PooledByteBufferAllocator directAllocator = PooledByteBufferAllocator.builder().directMemory(true).build();
+
+        assertThat(directAllocator.allocate(1024).isDirect()).isTrue();
+        assertThat(directAllocator.allocate(1024 * 1024).isDirect()).isTrue();
+    }
+
+    private void allocateAndDiscard(int count) {
+        for (int i = 0; i < count; i++) {
+            allocator.allocate(1024);
+        }
+        assertThat(allocator.allocate(10).capacity()).isEqualTo(10);
+    }
+}
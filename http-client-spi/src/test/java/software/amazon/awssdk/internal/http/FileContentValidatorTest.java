@@ -0,0 +1,87 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.internal.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.FileContent;
+
+class FileContentValidatorTest {
+    private Path file;
+    private FileContent fileContent;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = Files.createTempFile("file-content-validator", ".txt");
+        Files.write(file, new byte[10]);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+        fileContent = FileContent.create(file, 0, 10);
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void isOnDefaultFileSystem_defaultFileSystem_isTrue() {
+        assertThat(FileContentValidator.isOnDefaultFileSystem(fileContent)).isTrue();
+    }
+
+    @Test
+    void validateUnchanged_unchangedFile_doesNotThrow() throws IOException {
+        FileContentValidator validator = FileContentValidator.start(fileContent);
+
+        assertThatCode(validator::validateUnchanged).doesNotThrowAnyException();
+    }
+
+    @Test
+    void validateUnchanged_sizeChanged_throws() throws IOException {
+        FileContentValidator validator = FileContentValidator.start(fileContent);
+        Files.write(file, new byte[11]);
+
+        assertThatThrownBy(validator::validateUnchanged).isInstanceOf(IOException.class)
+                                                        .hasMessageContaining("File size changed");
+    }
+
+    @Test
+    void validateUnchanged_lastModifiedTimeChanged_throws() throws IOException {
+        FileContentValidator validator = FileContentValidator.start(fileContent);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2021-01-01T00:00:00Z")));
+
+        assertThatThrownBy(validator::validateUnchanged).isInstanceOf(IOException.class)
+                                                        .hasMessageContaining("File last-modified time changed");
+    }
+
+    @Test
+    void validateUnchanged_fileDeleted_throws() throws IOException {
+        FileContentValidator validator = FileContentValidator.start(fileContent);
+        Files.delete(file);
+
+        assertThatThrownBy(validator::validateUnchanged).isInstanceOf(IOException.class)
+                                                        .hasMessageContaining("Was the file deleted");
+    }
+}
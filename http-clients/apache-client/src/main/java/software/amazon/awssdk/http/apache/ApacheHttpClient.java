@@ -25,11 +25,16 @@ import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HostnameVerifier;
@@ -39,8 +44,11 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import org.apache.http.Header;
 import org.apache.http.HeaderIterator;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.Registry;
@@ -49,6 +57,7 @@ import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.DnsResolver;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.routing.HttpRoutePlanner;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
@@ -57,8 +66,10 @@ import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLInitializationException;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
 import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpRequest;
 import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HttpRequestExecutor;
 import software.amazon.awssdk.annotations.SdkPublicApi;
@@ -79,6 +90,8 @@ import software.amazon.awssdk.http.apache.internal.SdkConnectionReuseStrategy;
 import software.amazon.awssdk.http.apache.internal.SdkProxyRoutePlanner;
 import software.amazon.awssdk.http.apache.internal.conn.ClientConnectionManagerFactory;
 import software.amazon.awssdk.http.apache.internal.conn.IdleConnectionReaper;
+import software.amazon.awssdk.http.apache.internal.conn.LeaseLimitingConnectionManager;
+import software.amazon.awssdk.http.apache.internal.conn.MinConnectionManager;
 import software.amazon.awssdk.http.apache.internal.conn.SdkConnectionKeepAliveStrategy;
 import software.amazon.awssdk.http.apache.internal.conn.SdkTlsSocketFactory;
 import software.amazon.awssdk.http.apache.internal.impl.ApacheHttpRequestFactory;
@@ -160,18 +173,76 @@ public final class ApacheHttpClient implements SdkHttpClient {
                .setConnectionReuseStrategy(new SdkConnectionReuseStrategy())
                .setConnectionManager(ClientConnectionManagerFactory.wrap(cm));
 
-        addProxyConfig(builder, configuration);
+        HttpRoutePlanner routePlanner = addProxyConfig(builder, configuration);
 
         if (useIdleConnectionReaper(standardOptions)) {
             IdleConnectionReaper.getInstance().registerConnectionManager(
                     cm, standardOptions.get(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT).toMillis());
         }
 
+        if (cm instanceof MinConnectionManager && configuration.prewarmEndpoints != null) {
+            prewarmConnections((MinConnectionManager) cm, prewarmRoutes(configuration, routePlanner), configuration);
+        }
+
         return new ApacheSdkHttpClient(builder.build(), cm);
     }
 
-    private void addProxyConfig(HttpClientBuilder builder,
-                                DefaultBuilder configuration) {
+    /**
+     * Open {@link Builder#minConnections(Integer)} connections (at least one) to each of the pre-warmed routes on a
+     * background thread, waiting up to {@link Builder#prewarmTimeout(Duration)} for it if it is set.
+     */
+    private void prewarmConnections(MinConnectionManager cm, List<HttpRoute> routes, DefaultBuilder configuration) {
+        int connections = Math.max(Optional.ofNullable(configuration.minConnections).orElse(0), 1);
+        Thread prewarmer = new Thread(() -> cm.prewarm(routes, connections), "sdk-apache-connection-prewarmer");
+        prewarmer.setDaemon(true);
+        prewarmer.start();
+
+        Duration prewarmTimeout = configuration.prewarmTimeout;
+        if (prewarmTimeout == null || prewarmTimeout.isZero()) {
+            return;
+        }
+
+        try {
+            prewarmer.join(prewarmTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (prewarmer.isAlive()) {
+            log.warn(() -> "Opening connections did not complete within " + prewarmTimeout);
+        }
+    }
+
+    /**
+     * Determine the routes to the pre-warmed endpoints the same way requests to them would be routed. Routes tunnelled
+     * through a proxy are skipped, because the tunnel is established by the request executor rather than the connection
+     * manager.
+     */
+    private List<HttpRoute> prewarmRoutes(DefaultBuilder configuration, HttpRoutePlanner routePlanner) {
+        HttpRoutePlanner planner = Optional.ofNullable(routePlanner)
+                                           .orElseGet(() -> new DefaultRoutePlanner(DefaultSchemePortResolver.INSTANCE));
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom().setLocalAddress(configuration.localAddress).build());
+
+        List<HttpRoute> routes = new ArrayList<>();
+        for (URI endpoint : configuration.prewarmEndpoints) {
+            HttpHost target = new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getScheme());
+            try {
+                HttpRoute route = planner.determineRoute(target, new BasicHttpRequest("GET", "/"), context);
+                if (route.isTunnelled()) {
+                    log.debug(() -> "Not opening connections to " + endpoint + " because it is reached through a proxy "
+                                    + "tunnel.");
+                } else {
+                    routes.add(route);
+                }
+            } catch (HttpException e) {
+                log.warn(() -> "Unable to determine the route to " + endpoint, e);
+            }
+        }
+        return routes;
+    }
+
+    private HttpRoutePlanner addProxyConfig(HttpClientBuilder builder,
+                                            DefaultBuilder configuration) {
         ProxyConfiguration proxyConfiguration = configuration.proxyConfiguration;
 
         Validate.isTrue(configuration.httpRoutePlanner == null || !isProxyEnabled(proxyConfiguration),
@@ -200,6 +271,8 @@ public final class ApacheHttpClient implements SdkHttpClient {
         if (credentialsProvider != null) {
             builder.setDefaultCredentialsProvider(credentialsProvider);
         }
+
+        return routePlanner;
     }
 
     private ConnectionKeepAliveStrategy buildKeepAliveStrategy(AttributeMap standardOptions) {
@@ -317,7 +390,10 @@ public final class ApacheHttpClient implements SdkHttpClient {
             metricCollector.reportMetric(MAX_CONCURRENCY, totalStats.getMax());
             metricCollector.reportMetric(AVAILABLE_CONCURRENCY, totalStats.getAvailable());
             metricCollector.reportMetric(LEASED_CONCURRENCY, totalStats.getLeased());
-            metricCollector.reportMetric(PENDING_CONCURRENCY_ACQUIRES, totalStats.getPending());
+            int pendingLeasePermits = cm instanceof LeaseLimitingConnectionManager
+                                      ? ((LeaseLimitingConnectionManager) cm).getPendingLeasePermits()
+                                      : 0;
+            metricCollector.reportMetric(PENDING_CONCURRENCY_ACQUIRES, totalStats.getPending() + pendingLeasePermits);
         }
     }
 
@@ -451,6 +527,73 @@ public final class ApacheHttpClient implements SdkHttpClient {
          * when constructing the SSL context.
          */
         Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider);
+
+        /**
+         * The maximum number of TLS sessions to cache for resuming sessions with the hosts the client connects to. Resuming a
+         * session skips the certificate exchange and key agreement of a full TLS handshake when a new connection is opened to
+         * a host that the client has connected to before. Zero means no limit.
+         * <p>
+         * If not set, the JDK default is used. Whether a new connection resumed a session is reported by the
+         * {@link software.amazon.awssdk.http.HttpMetric#TLS_SESSION_RESUMED} metric.
+         */
+        Builder tlsSessionCacheSize(Integer tlsSessionCacheSize);
+
+        /**
+         * How long a cached TLS session can be resumed for, with a granularity of seconds. If not set, the JDK default is used.
+         *
+         * @see #tlsSessionCacheSize(Integer)
+         */
+        Builder tlsSessionTimeout(Duration tlsSessionTimeout);
+
+        /**
+         * The minimum number of connections to keep open to each route. Zero by default. Both idle connections and
+         * connections that are in use count towards the minimum.
+         * <p>
+         * When enabled, the idle connection reaper (see {@link #useIdleConnectionReaper(Boolean)}) does not close idle
+         * connections that would leave fewer than this many open, and opens new connections in the background to replace
+         * the ones that were closed for any other reason (e.g. by the server or because of
+         * {@link #connectionTimeToLive(Duration)}). Connections being opened count against {@link #maxConnections(Integer)}.
+         */
+        Builder minConnections(Integer minConnections);
+
+        /**
+         * Endpoints to open connections to when the client is created, so that the first requests do not pay for the TCP and
+         * TLS handshakes. {@link #minConnections(Integer)} connections, or one if it is not set, are opened to each
+         * endpoint. By default this happens in the background; see {@link #prewarmTimeout(Duration)} to wait for it.
+         * <p>
+         * Endpoints reached through a proxy tunnel are not pre-warmed.
+         */
+        Builder prewarmEndpoints(Collection<URI> prewarmEndpoints);
+
+        /**
+         * Endpoints to open connections to when the client is created.
+         *
+         * @see #prewarmEndpoints(Collection)
+         */
+        Builder prewarmEndpoints(URI... prewarmEndpoints);
+
+        /**
+         * How long building the client may wait for the {@link #prewarmEndpoints(Collection)} connections to be opened. If
+         * not set, the connections are opened in the background and building the client does not wait for them. Failing to
+         * open the connections never fails building the client.
+         */
+        Builder prewarmTimeout(Duration prewarmTimeout);
+
+        /**
+         * Configure whether requests waiting for a connection should wait in a way that does not pin the carrier thread
+         * when they are made from virtual threads. Disabled by default.
+         * <p>
+         * Apache's connection pool waits for a free connection while holding a monitor, so when more virtual threads make
+         * requests than there are {@link #maxConnections(Integer)}, the waiting ones pin their carrier threads and can
+         * starve other virtual threads. When enabled, requests first wait for one of {@link #maxConnections(Integer)}
+         * permits on a {@link java.util.concurrent.Semaphore}, which parks virtual threads without pinning them, and the
+         * pool then never has to wait. Socket reads and writes already park virtual threads without pinning on JDK 21 and
+         * newer.
+         * <p>
+         * This can be used to make thousands of concurrent requests from virtual threads with a single client, without a
+         * correspondingly large platform thread pool.
+         */
+        Builder useVirtualThreadFriendlyPool(Boolean useVirtualThreadFriendlyPool);
     }
 
     private static final class DefaultBuilder implements Builder {
@@ -462,6 +605,10 @@ public final class ApacheHttpClient implements SdkHttpClient {
         private CredentialsProvider credentialsProvider;
         private DnsResolver dnsResolver;
         private ConnectionSocketFactory socketFactory;
+        private Integer minConnections;
+        private List<URI> prewarmEndpoints;
+        private Duration prewarmTimeout;
+        private Boolean useVirtualThreadFriendlyPool;
 
         private DefaultBuilder() {
         }
@@ -642,6 +789,78 @@ public final class ApacheHttpClient implements SdkHttpClient {
             tlsTrustManagersProvider(tlsTrustManagersProvider);
         }
 
+        @Override
+        public Builder tlsSessionCacheSize(Integer tlsSessionCacheSize) {
+            if (tlsSessionCacheSize != null) {
+                Validate.isNotNegative(tlsSessionCacheSize, "tlsSessionCacheSize");
+            }
+            standardOptions.put(SdkHttpConfigurationOption.TLS_SESSION_CACHE_SIZE, tlsSessionCacheSize);
+            return this;
+        }
+
+        public void setTlsSessionCacheSize(Integer tlsSessionCacheSize) {
+            tlsSessionCacheSize(tlsSessionCacheSize);
+        }
+
+        @Override
+        public Builder tlsSessionTimeout(Duration tlsSessionTimeout) {
+            Validate.isPositiveOrNull(tlsSessionTimeout, "tlsSessionTimeout");
+            standardOptions.put(SdkHttpConfigurationOption.TLS_SESSION_TIMEOUT, tlsSessionTimeout);
+            return this;
+        }
+
+        public void setTlsSessionTimeout(Duration tlsSessionTimeout) {
+            tlsSessionTimeout(tlsSessionTimeout);
+        }
+
+        @Override
+        public Builder minConnections(Integer minConnections) {
+            if (minConnections != null) {
+                Validate.isNotNegative(minConnections, "minConnections");
+            }
+            this.minConnections = minConnections;
+            return this;
+        }
+
+        public void setMinConnections(Integer minConnections) {
+            minConnections(minConnections);
+        }
+
+        @Override
+        public Builder prewarmEndpoints(Collection<URI> prewarmEndpoints) {
+            this.prewarmEndpoints = prewarmEndpoints == null ? null : new ArrayList<>(prewarmEndpoints);
+            return this;
+        }
+
+        @Override
+        public Builder prewarmEndpoints(URI... prewarmEndpoints) {
+            return prewarmEndpoints(Arrays.asList(prewarmEndpoints));
+        }
+
+        public void setPrewarmEndpoints(Collection<URI> prewarmEndpoints) {
+            prewarmEndpoints(prewarmEndpoints);
+        }
+
+        @Override
+        public Builder prewarmTimeout(Duration prewarmTimeout) {
+            this.prewarmTimeout = prewarmTimeout;
+            return this;
+        }
+
+        public void setPrewarmTimeout(Duration prewarmTimeout) {
+            prewarmTimeout(prewarmTimeout);
+        }
+
+        @Override
+        public Builder useVirtualThreadFriendlyPool(Boolean useVirtualThreadFriendlyPool) {
+            this.useVirtualThreadFriendlyPool = useVirtualThreadFriendlyPool;
+            return this;
+        }
+
+        public void setUseVirtualThreadFriendlyPool(Boolean useVirtualThreadFriendlyPool) {
+            useVirtualThreadFriendlyPool(useVirtualThreadFriendlyPool);
+        }
+
         @Override
         public SdkHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
             AttributeMap resolvedOptions = standardOptions.build().merge(serviceDefaults).merge(
@@ -656,14 +875,35 @@ public final class ApacheHttpClient implements SdkHttpClient {
                                                   AttributeMap standardOptions) {
             ConnectionSocketFactory sslsf = getPreferredSocketFactory(configuration, standardOptions);
 
-            PoolingHttpClientConnectionManager cm = new
-                    PoolingHttpClientConnectionManager(
+            Integer leasePermits = Boolean.TRUE.equals(configuration.useVirtualThreadFriendlyPool)
+                                   ? standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS)
+                                   : null;
+
+            PoolingHttpClientConnectionManager cm;
+            if (configuration.minConnections != null || configuration.prewarmEndpoints != null) {
+                cm = new MinConnectionManager(
+                    createSocketFactoryRegistry(sslsf),
+                    configuration.dnsResolver,
+                    standardOptions.get(SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE).toMillis(),
+                    Optional.ofNullable(configuration.minConnections).orElse(0),
+                    standardOptions.get(SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT).toMillis(),
+                    saturatedCast(standardOptions.get(SdkHttpConfigurationOption.CONNECTION_TIMEOUT).toMillis()),
+                    leasePermits);
+            } else if (leasePermits != null) {
+                cm = new LeaseLimitingConnectionManager(
+                    createSocketFactoryRegistry(sslsf),
+                    configuration.dnsResolver,
+                    standardOptions.get(SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE).toMillis(),
+                    leasePermits);
+            } else {
+                cm = new PoolingHttpClientConnectionManager(
                     createSocketFactoryRegistry(sslsf),
                     null,
                     DefaultSchemePortResolver.INSTANCE,
                     configuration.dnsResolver,
                     standardOptions.get(SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE).toMillis(),
                     TimeUnit.MILLISECONDS);
+            }
 
             cm.setDefaultMaxPerRoute(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
             cm.setMaxTotal(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
@@ -708,12 +948,24 @@ public final class ApacheHttpClient implements SdkHttpClient {
                 SSLContext sslcontext = SSLContext.getInstance("TLS");
                 // http://download.java.net/jdk9/docs/technotes/guides/security/jsse/JSSERefGuide.html
                 sslcontext.init(keyManagers, trustManagers, null);
+                configureSessionCache(sslcontext, standardOptions);
                 return sslcontext;
             } catch (final NoSuchAlgorithmException | KeyManagementException ex) {
                 throw new SSLInitializationException(ex.getMessage(), ex);
             }
         }
 
+        private static void configureSessionCache(SSLContext sslcontext, AttributeMap standardOptions) {
+            Integer sessionCacheSize = standardOptions.get(SdkHttpConfigurationOption.TLS_SESSION_CACHE_SIZE);
+            if (sessionCacheSize != null) {
+                sslcontext.getClientSessionContext().setSessionCacheSize(sessionCacheSize);
+            }
+            Duration sessionTimeout = standardOptions.get(SdkHttpConfigurationOption.TLS_SESSION_TIMEOUT);
+            if (sessionTimeout != null) {
+                sslcontext.getClientSessionContext().setSessionTimeout(saturatedCast(sessionTimeout.getSeconds()));
+            }
+        }
+
         /**
          * Insecure trust manager to trust all certs. Should only be used for testing.
          */
@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.apache.http.entity.AbstractHttpEntity;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.FileContent;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.internal.http.FileContentValidator;
+
+/**
+ * {@link org.apache.http.HttpEntity} for request content that is a region of a file, as described by
+ * {@link ContentStreamProvider#fileContent()}.
+ * <p>
+ * Rather than reading the file through an {@link InputStream}, the region is memory-mapped in slices of at most
+ * {@value #MAX_MAPPED_SLICE_SIZE} bytes which are copied straight to the connection's output stream. This avoids a read
+ * system call for every buffer, and the entity can be written out again on a retry without resetting a stream. Writing the
+ * entity fails if the file was modified while it was being written.
+ */
+@SdkInternalApi
+public class MappedFileRequestEntity extends AbstractHttpEntity {
+    private static final int MAX_MAPPED_SLICE_SIZE = 8 * 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+
+    private final ContentStreamProvider contentStreamProvider;
+    private final FileContent fileContent;
+
+    public MappedFileRequestEntity(HttpExecuteRequest request, FileContent fileContent) {
+        this.contentStreamProvider = request.contentStreamProvider().orElseThrow(IllegalArgumentException::new);
+        this.fileContent = fileContent;
+        setChunked(false);
+        request.httpRequest().firstMatchingHeader("Content-Type").ifPresent(this::setContentType);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return fileContent.length();
+    }
+
+    @Override
+    public InputStream getContent() {
+        return contentStreamProvider.newStream();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        FileContentValidator validator = FileContentValidator.start(fileContent);
+        try (FileChannel channel = FileChannel.open(fileContent.path(), StandardOpenOption.READ)) {
+            long position = fileContent.position();
+            long remaining = fileContent.length();
+
+            // Reading a mapping past the end of the file is fatal rather than an IOException, so check up front.
+            if (channel.size() < position + remaining) {
+                throw new IOException("File " + fileContent.path() + " is " + channel.size() + " bytes, but the request "
+                                      + "content ends at byte " + (position + remaining) + ".");
+            }
+
+            byte[] writeBuffer = new byte[(int) Math.min(WRITE_BUFFER_SIZE, remaining)];
+            while (remaining > 0) {
+                long sliceSize = Math.min(remaining, MAX_MAPPED_SLICE_SIZE);
+                MappedByteBuffer slice = channel.map(FileChannel.MapMode.READ_ONLY, position, sliceSize);
+                while (slice.hasRemaining()) {
+                    int length = Math.min(writeBuffer.length, slice.remaining());
+                    slice.get(writeBuffer, 0, length);
+                    output.write(writeBuffer, 0, length);
+                }
+                position += sliceSize;
+                remaining -= sliceSize;
+            }
+        }
+        validator.validateUnchanged();
+        output.flush();
+    }
+}
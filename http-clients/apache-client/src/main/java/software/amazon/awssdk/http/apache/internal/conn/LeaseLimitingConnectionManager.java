@@ -0,0 +1,123 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A {@link PoolingHttpClientConnectionManager} that, when given a number of lease permits, makes callers wait for a permit
+ * on a {@link Semaphore} before leasing a connection from the pool.
+ *
+ * <p>The pool itself waits for a free connection while holding a monitor, which pins the carrier thread when the caller is
+ * a virtual thread. With one permit per connection the pool never has to wait, so callers only ever block on the
+ * semaphore, which parks virtual threads without pinning them. Without permits, this behaves exactly like
+ * {@link PoolingHttpClientConnectionManager}.
+ */
+@SdkInternalApi
+public class LeaseLimitingConnectionManager extends PoolingHttpClientConnectionManager {
+    private final Semaphore permits;
+    private final Set<HttpClientConnection> leased = ConcurrentHashMap.newKeySet();
+
+    public LeaseLimitingConnectionManager(Registry<ConnectionSocketFactory> socketFactoryRegistry,
+                                          DnsResolver dnsResolver,
+                                          long timeToLiveMillis,
+                                          Integer leasePermits) {
+        super(socketFactoryRegistry, null, DefaultSchemePortResolver.INSTANCE, dnsResolver, timeToLiveMillis,
+              TimeUnit.MILLISECONDS);
+        this.permits = leasePermits == null ? null : new Semaphore(leasePermits, true);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        if (permits == null) {
+            return request;
+        }
+
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long startTime = System.nanoTime();
+                acquirePermit(timeout, timeUnit);
+                boolean succeeded = false;
+                try {
+                    HttpClientConnection connection;
+                    if (timeout <= 0) {
+                        connection = request.get(timeout, timeUnit);
+                    } else {
+                        // The pool treats a timeout of zero as no timeout, so wait at least a nanosecond
+                        long remainingNanos = timeUnit.toNanos(timeout) - (System.nanoTime() - startTime);
+                        connection = request.get(Math.max(1, remainingNanos), TimeUnit.NANOSECONDS);
+                    }
+                    leased.add(connection);
+                    succeeded = true;
+                    return connection;
+                } finally {
+                    if (!succeeded) {
+                        permits.release();
+                    }
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void releaseConnection(HttpClientConnection managedConn, Object state, long keepalive, TimeUnit timeUnit) {
+        try {
+            super.releaseConnection(managedConn, state, keepalive, timeUnit);
+        } finally {
+            if (permits != null && leased.remove(managedConn)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * The number of callers waiting for a lease permit, or zero if leases are not limited by permits.
+     */
+    public int getPendingLeasePermits() {
+        return permits == null ? 0 : permits.getQueueLength();
+    }
+
+    private void acquirePermit(long timeout, TimeUnit timeUnit) throws InterruptedException, ConnectionPoolTimeoutException {
+        if (timeout <= 0) {
+            permits.acquire();
+        } else if (!permits.tryAcquire(timeout, timeUnit)) {
+            throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+        }
+    }
+}
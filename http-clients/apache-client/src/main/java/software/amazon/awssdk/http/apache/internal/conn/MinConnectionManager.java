@@ -0,0 +1,188 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.pool.PoolStats;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * A {@link LeaseLimitingConnectionManager} that keeps a minimum number of connections open to each route it has
+ * connected to.
+ *
+ * <p>{@link #closeIdleConnections(long, TimeUnit)}, which is called periodically by the {@link IdleConnectionReaper}, only
+ * closes idle connections beyond the minimum, and then schedules the opening of new connections to replace the ones that were
+ * closed for any other reason (e.g. by the server or because their time to live expired). Connections are opened on a thread
+ * owned by this connection manager, so that a slow or unreachable endpoint does not hold up the reaper, which is shared by
+ * every client in the JVM.
+ */
+@SdkInternalApi
+public final class MinConnectionManager extends LeaseLimitingConnectionManager {
+    private static final Logger log = Logger.loggerFor(MinConnectionManager.class);
+
+    private final Set<HttpRoute> knownRoutes = ConcurrentHashMap.newKeySet();
+    private final int minConnections;
+    private final long connectionAcquireTimeoutMillis;
+    private final int connectTimeoutMillis;
+    private final ExecutorService topUpExecutor;
+    private final AtomicBoolean topUpScheduled = new AtomicBoolean();
+
+    public MinConnectionManager(Registry<ConnectionSocketFactory> socketFactoryRegistry,
+                                    DnsResolver dnsResolver,
+                                    long timeToLiveMillis,
+                                    int minConnections,
+                                    long connectionAcquireTimeoutMillis,
+                                    int connectTimeoutMillis,
+                                    Integer leasePermits) {
+        super(socketFactoryRegistry, dnsResolver, timeToLiveMillis, leasePermits);
+        this.minConnections = minConnections;
+        this.connectionAcquireTimeoutMillis = connectionAcquireTimeoutMillis;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.topUpExecutor = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                                                    new ThreadFactoryBuilder().daemonThreads(true)
+                                                                              .threadNamePrefix("sdk-apache-connection-top-up")
+                                                                              .build());
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        knownRoutes.add(route);
+        return super.requestConnection(route, state);
+    }
+
+    @Override
+    public void closeIdleConnections(long idleTimeout, TimeUnit timeUnit) {
+        long deadline = System.currentTimeMillis() - timeUnit.toMillis(idleTimeout);
+
+        Map<HttpRoute, Integer> closeable = new HashMap<>();
+        for (HttpRoute route : getRoutes()) {
+            PoolStats stats = getStats(route);
+            closeable.put(route, stats.getAvailable() + stats.getLeased() - minConnections);
+        }
+
+        enumAvailable(entry -> {
+            Integer remaining = closeable.get(entry.getRoute());
+            if (entry.getUpdated() <= deadline && remaining != null && remaining > 0) {
+                entry.close();
+                closeable.put(entry.getRoute(), remaining - 1);
+            }
+        });
+
+        scheduleTopUp();
+    }
+
+    @Override
+    public void shutdown() {
+        topUpExecutor.shutdownNow();
+        super.shutdown();
+    }
+
+    /**
+     * Open the given number of connections to each of the given routes, so that they are idle in the pool when the first
+     * requests are made. The routes are then kept at {@link #minConnections} connections like any other route.
+     */
+    public void prewarm(Collection<HttpRoute> routes, int connections) {
+        knownRoutes.addAll(routes);
+        routes.forEach(route -> openConnections(route, connections));
+    }
+
+    /**
+     * Run {@link #topUp()} on the top-up thread, unless a top-up is already pending or running.
+     */
+    private void scheduleTopUp() {
+        if (!topUpScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            topUpExecutor.execute(() -> {
+                try {
+                    topUp();
+                } finally {
+                    topUpScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The connection manager was shut down.
+            topUpScheduled.set(false);
+        }
+    }
+
+    /**
+     * Open connections to every known route that has fewer than the minimum number of connections.
+     */
+    public void topUp() {
+        for (HttpRoute route : knownRoutes) {
+            openConnections(route, minConnections);
+        }
+    }
+
+    /**
+     * Make sure at least the given number of connections are open to the route, by leasing connections until enough are
+     * held (connecting the ones that aren't connected) and then releasing them all back to the pool.
+     */
+    private void openConnections(HttpRoute route, int connections) {
+        PoolStats stats = getStats(route);
+        if (stats.getAvailable() + stats.getLeased() >= connections) {
+            return;
+        }
+
+        int toLease = Math.min(connections, getMaxPerRoute(route)) - stats.getLeased();
+        List<HttpClientConnection> leased = new ArrayList<>(toLease);
+        try {
+            for (int i = 0; i < toLease; i++) {
+                HttpClientConnection connection = requestConnection(route, null)
+                    .get(connectionAcquireTimeoutMillis, TimeUnit.MILLISECONDS);
+                leased.add(connection);
+                if (!connection.isOpen()) {
+                    HttpClientContext context = HttpClientContext.create();
+                    connect(connection, route, connectTimeoutMillis, context);
+                    routeComplete(connection, route, context);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ExecutionException | RuntimeException e) {
+            log.debug(() -> "Unable to open connections to " + route, e);
+        } finally {
+            for (HttpClientConnection connection : leased) {
+                releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
@@ -15,19 +15,24 @@
 
 package software.amazon.awssdk.http.apache.internal.conn;
 
+import static software.amazon.awssdk.http.apache.internal.conn.ClientConnectionRequestFactory.THREAD_LOCAL_REQUEST_METRIC_COLLECTOR;
+
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.util.Arrays;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
 import javax.net.ssl.SSLSocket;
 import org.apache.http.HttpHost;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.protocol.HttpContext;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.HttpMetric;
 import software.amazon.awssdk.http.apache.internal.net.SdkSocket;
 import software.amazon.awssdk.http.apache.internal.net.SdkSslSocket;
+import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.utils.Logger;
 
 @SdkInternalApi
@@ -62,13 +67,30 @@ public class SdkTlsSocketFactory extends SSLConnectionSocketFactory {
             final HttpContext context) throws IOException {
         log.trace(() -> String.format("Connecting to %s:%s", remoteAddress.getAddress(), remoteAddress.getPort()));
 
+        long handshakeStartMillis = System.currentTimeMillis();
         Socket connectedSocket = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
 
         if (connectedSocket instanceof SSLSocket) {
-            return new SdkSslSocket((SSLSocket) connectedSocket);
+            SSLSocket sslSocket = (SSLSocket) connectedSocket;
+            publishTlsSessionResumed(sslSocket.getSession(), handshakeStartMillis);
+            return new SdkSslSocket(sslSocket);
         }
 
         return new SdkSocket(connectedSocket);
     }
 
+    /**
+     * Report to the metrics of the request that opened the connection whether its TLS handshake resumed a cached session.
+     * A resumed session was created by an earlier handshake, so its creation time, which may be truncated to seconds,
+     * precedes the start of this one.
+     */
+    private static void publishTlsSessionResumed(SSLSession session, long handshakeStartMillis) {
+        MetricCollector metricCollector = THREAD_LOCAL_REQUEST_METRIC_COLLECTOR.get();
+        if (metricCollector == null || session == null) {
+            return;
+        }
+        boolean resumed = session.getCreationTime() < handshakeStartMillis - handshakeStartMillis % 1000;
+        metricCollector.reportMetric(HttpMetric.TLS_SESSION_RESUMED, resumed);
+    }
+
 }
@@ -20,6 +20,7 @@ import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.client.config.RequestConfig;
@@ -33,12 +34,16 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.FileContent;
 import software.amazon.awssdk.http.HttpExecuteRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
+import software.amazon.awssdk.http.apache.internal.MappedFileRequestEntity;
 import software.amazon.awssdk.http.apache.internal.RepeatableInputStreamRequestEntity;
 import software.amazon.awssdk.http.apache.internal.utils.ApacheUtils;
+import software.amazon.awssdk.internal.http.FileContentValidator;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
@@ -149,9 +154,15 @@ public class ApacheHttpRequestFactory {
          * return incorrect validation result.
          */
         if (request.contentStreamProvider().isPresent()) {
-            HttpEntity entity = new RepeatableInputStreamRequestEntity(request);
-            if (!request.httpRequest().firstMatchingHeader(HttpHeaders.CONTENT_LENGTH).isPresent()) {
-                entity = ApacheUtils.newBufferedHttpEntity(entity);
+            Optional<FileContent> fileContent = fileContent(request);
+            HttpEntity entity;
+            if (fileContent.isPresent()) {
+                entity = new MappedFileRequestEntity(request, fileContent.get());
+            } else {
+                entity = new RepeatableInputStreamRequestEntity(request);
+                if (!request.httpRequest().firstMatchingHeader(HttpHeaders.CONTENT_LENGTH).isPresent()) {
+                    entity = ApacheUtils.newBufferedHttpEntity(entity);
+                }
             }
             entityEnclosingRequest.setEntity(entity);
         }
@@ -159,6 +170,18 @@ public class ApacheHttpRequestFactory {
         return entityEnclosingRequest;
     }
 
+    /**
+     * The file region that makes up the request content, if the content is read from a file on the default file system and
+     * the Content-Length of the request matches the size of the region.
+     */
+    private Optional<FileContent> fileContent(HttpExecuteRequest request) {
+        Optional<String> contentLength = request.httpRequest().firstMatchingHeader(HttpHeaders.CONTENT_LENGTH);
+        return request.contentStreamProvider()
+                      .flatMap(ContentStreamProvider::fileContent)
+                      .filter(FileContentValidator::isOnDefaultFileSystem)
+                      .filter(f -> contentLength.filter(cl -> cl.equals(Long.toString(f.length()))).isPresent());
+    }
+
     /**
      * Configures the headers in the specified Apache HTTP request.
      */
@@ -19,6 +19,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.any;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
@@ -31,6 +32,13 @@ import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
@@ -46,13 +54,18 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.HttpMetric;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpClientTestSuite;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
 import software.amazon.awssdk.http.apache.internal.impl.ConnectionManagerAwareHttpClient;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.IoUtils;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
@@ -91,6 +104,109 @@ public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
         verify(connectionManager).shutdown();
     }
 
+    @Test
+    public void prewarmEndpoints_requestsReusePrewarmedConnections() throws Exception {
+        SdkHttpClient client = ApacheHttpClient.builder()
+                                               .minConnections(2)
+                                               .prewarmEndpoints(URI.create("http://localhost:" + mockServer.port()))
+                                               .prewarmTimeout(Duration.ofSeconds(5))
+                                               .build();
+        try {
+            stubForMockRequest(HttpURLConnection.HTTP_OK);
+            SdkHttpFullRequest request = mockSdkRequest("http://localhost:" + mockServer.port(), SdkHttpMethod.POST);
+            MetricCollector collector = MetricCollector.create("test");
+            HttpExecuteResponse response = client.prepareRequest(HttpExecuteRequest.builder()
+                                                                                   .request(request)
+                                                                                   .contentStreamProvider(
+                                                                                       request.contentStreamProvider().get())
+                                                                                   .metricCollector(collector)
+                                                                                   .build())
+                                                 .call();
+            response.responseBody().ifPresent(IoUtils::drainInputStream);
+
+            // The pool metrics are collected while the response is still holding its connection
+            MetricCollection metrics = collector.collect();
+            assertThat(metrics.metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(1);
+            assertThat(metrics.metricValues(HttpMetric.AVAILABLE_CONCURRENCY)).containsExactly(1);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void useVirtualThreadFriendlyPool_moreConcurrentRequestsThanConnections_allSucceed() throws Exception {
+        SdkHttpClient client = ApacheHttpClient.builder()
+                                               .maxConnections(2)
+                                               .useVirtualThreadFriendlyPool(true)
+                                               .build();
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            stubForMockRequest(HttpURLConnection.HTTP_OK);
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                responses.add(executor.submit(() -> {
+                    SdkHttpFullRequest request = mockSdkRequest("http://localhost:" + mockServer.port(), SdkHttpMethod.POST);
+                    HttpExecuteResponse response = client.prepareRequest(HttpExecuteRequest.builder()
+                                                                                           .request(request)
+                                                                                           .contentStreamProvider(
+                                                                                               request.contentStreamProvider()
+                                                                                                      .get())
+                                                                                           .build())
+                                                         .call();
+                    response.responseBody().ifPresent(IoUtils::drainInputStream);
+                    return response.httpResponse().statusCode();
+                }));
+            }
+
+            for (Future<Integer> response : responses) {
+                assertThat(response.get(10, TimeUnit.SECONDS)).isEqualTo(HttpURLConnection.HTTP_OK);
+            }
+        } finally {
+            executor.shutdownNow();
+            client.close();
+        }
+    }
+
+    @Test
+    public void tlsSessionResumed_reportedForNewConnections() throws Exception {
+        SdkHttpClient client = ApacheHttpClient.builder()
+                                               .tlsSessionCacheSize(10)
+                                               .buildWithDefaults(AttributeMap.builder()
+                                                                              .put(TRUST_ALL_CERTIFICATES, Boolean.TRUE)
+                                                                              .build());
+        try {
+            // The server closes the connection after each response, so that every request needs a new connection
+            mockProxyServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withHeader("Connection", "close")));
+            URI uri = URI.create("https://localhost:" + mockProxyServer.httpsPort());
+
+            MetricCollection first = executeWithMetrics(client, uri);
+            assertThat(first.metricValues(HttpMetric.TLS_SESSION_RESUMED)).containsExactly(false);
+
+            // Session creation times may only have a granularity of seconds
+            Thread.sleep(1_100);
+
+            MetricCollection second = executeWithMetrics(client, uri);
+            assertThat(second.metricValues(HttpMetric.TLS_SESSION_RESUMED)).containsExactly(true);
+        } finally {
+            client.close();
+        }
+    }
+
+    private MetricCollection executeWithMetrics(SdkHttpClient client, URI uri) throws Exception {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .uri(uri)
+                                                       .method(SdkHttpMethod.GET)
+                                                       .build();
+        MetricCollector collector = MetricCollector.create("test");
+        HttpExecuteResponse response = client.prepareRequest(HttpExecuteRequest.builder()
+                                                                               .request(request)
+                                                                               .metricCollector(collector)
+                                                                               .build())
+                                             .call();
+        response.responseBody().ifPresent(IoUtils::drainInputStream);
+        return collector.collect();
+    }
+
     @Test
     public void routePlannerIsInvoked() throws Exception {
         mockProxyServer.resetToDefaultMappings();
@@ -0,0 +1,144 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for {@link LeaseLimitingConnectionManager}.
+ */
+public class LeaseLimitingConnectionManagerTest {
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("localhost", 8080, "http"));
+
+    private LeaseLimitingConnectionManager connectionManager;
+
+    @After
+    public void teardown() {
+        connectionManager.shutdown();
+    }
+
+    @Test
+    public void noPermitsAvailable_timesOutWithoutWaitingInThePool() throws Exception {
+        connectionManager = connectionManager(1);
+        connectionManager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> connectionManager.requestConnection(ROUTE, null).get(10, TimeUnit.MILLISECONDS))
+            .isInstanceOf(ConnectionPoolTimeoutException.class);
+        assertThat(connectionManager.getTotalStats().getPending()).isEqualTo(0);
+    }
+
+    @Test
+    public void releaseConnection_handsPermitToWaitingLease() throws Exception {
+        connectionManager = connectionManager(1);
+        HttpClientConnection connection = connectionManager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS);
+
+        CompletableFuture<HttpClientConnection> waiting = CompletableFuture.supplyAsync(() -> lease(5_000));
+        while (connectionManager.getPendingLeasePermits() == 0) {
+            Thread.sleep(10);
+        }
+        assertThat(connectionManager.getTotalStats().getPending()).isEqualTo(0);
+
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(connectionManager.getTotalStats().getLeased()).isEqualTo(1);
+    }
+
+    @Test
+    public void releaseConnectionTwice_onlyReturnsOnePermit() throws Exception {
+        connectionManager = connectionManager(1);
+        HttpClientConnection connection = connectionManager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS);
+
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+
+        connectionManager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> connectionManager.requestConnection(ROUTE, null).get(10, TimeUnit.MILLISECONDS))
+            .isInstanceOf(ConnectionPoolTimeoutException.class);
+    }
+
+    @Test
+    public void cancelledLease_returnsPermit() throws Exception {
+        connectionManager = connectionManager(1);
+        ConnectionRequest request = connectionManager.requestConnection(ROUTE, null);
+        request.cancel();
+
+        assertThatThrownBy(() -> request.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+
+        assertThat(connectionManager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    public void poolTimeout_returnsPermit() throws Exception {
+        connectionManager = connectionManager(2);
+        HttpClientConnection connection = connectionManager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> connectionManager.requestConnection(ROUTE, null).get(10, TimeUnit.MILLISECONDS))
+            .isInstanceOf(ConnectionPoolTimeoutException.class);
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+        connectionManager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS);
+
+        CompletableFuture.runAsync(() -> lease(5_000));
+        while (connectionManager.getTotalStats().getPending() == 0) {
+            assertThat(connectionManager.getPendingLeasePermits()).isEqualTo(0);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void noPermits_behavesLikePoolingConnectionManager() throws Exception {
+        connectionManager = connectionManager(null);
+        connectionManager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> connectionManager.requestConnection(ROUTE, null).get(10, TimeUnit.MILLISECONDS))
+            .isInstanceOf(ConnectionPoolTimeoutException.class);
+        assertThat(connectionManager.getPendingLeasePermits()).isEqualTo(0);
+    }
+
+    private HttpClientConnection lease(long timeoutMillis) {
+        try {
+            return connectionManager.requestConnection(ROUTE, null).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static LeaseLimitingConnectionManager connectionManager(Integer leasePermits) {
+        LeaseLimitingConnectionManager connectionManager = new LeaseLimitingConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                           .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                           .build(),
+            null, -1, leasePermits);
+        connectionManager.setDefaultMaxPerRoute(1);
+        connectionManager.setMaxTotal(1);
+        return connectionManager;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MinConnectionManager}.
+ */
+public class MinConnectionManagerTest {
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    private MinConnectionManager connectionManager;
+    private HttpRoute route;
+
+    @Before
+    public void setup() {
+        connectionManager = new MinConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                           .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                           .build(),
+            null, -1, 2, 1_000, 1_000, null);
+        connectionManager.setDefaultMaxPerRoute(10);
+        route = new HttpRoute(new HttpHost("localhost", mockServer.port(), "http"));
+    }
+
+    @After
+    public void teardown() {
+        connectionManager.shutdown();
+    }
+
+    @Test
+    public void prewarm_opensConnections() {
+        connectionManager.prewarm(Collections.singletonList(route), 3);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(3);
+        assertThat(connectionManager.getStats(route).getLeased()).isEqualTo(0);
+    }
+
+    @Test
+    public void prewarm_cappedAtMaxConnectionsPerRoute() {
+        connectionManager.setDefaultMaxPerRoute(2);
+
+        connectionManager.prewarm(Collections.singletonList(route), 3);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(2);
+    }
+
+    @Test
+    public void closeIdleConnections_keepsMinimumOpen() {
+        connectionManager.prewarm(Collections.singletonList(route), 4);
+
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(2);
+    }
+
+    @Test
+    public void closeIdleConnections_opensConnectionsForRoutesBelowMinimumInTheBackground() throws Exception {
+        HttpClientConnection connection = connectionManager.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+        HttpClientContext context = HttpClientContext.create();
+        connectionManager.connect(connection, route, 1_000, context);
+        connectionManager.routeComplete(connection, route, context);
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(1);
+
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (connectionManager.getStats(route).getAvailable() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(2);
+    }
+
+    @Test
+    public void closeIdleConnections_afterShutdown_doesNotThrow() {
+        connectionManager.prewarm(Collections.singletonList(route), 1);
+        connectionManager.shutdown();
+
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void prewarm_unreachableRoute_doesNotThrowOrLeakLeases() {
+        HttpRoute unreachable = new HttpRoute(new HttpHost("localhost", 1, "http"));
+
+        connectionManager.prewarm(Collections.singletonList(unreachable), 2);
+
+        assertThat(connectionManager.getStats(unreachable).getLeased()).isEqualTo(0);
+    }
+}
@@ -16,21 +16,42 @@
 package software.amazon.awssdk.http.apache.internal.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
+import com.google.common.jimfs.Jimfs;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.FileContent;
 import software.amazon.awssdk.http.HttpExecuteRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
+import software.amazon.awssdk.http.apache.internal.MappedFileRequestEntity;
+import software.amazon.awssdk.http.apache.internal.RepeatableInputStreamRequestEntity;
 
 public class ApacheHttpRequestFactoryTest {
 
@@ -113,6 +134,104 @@ public class ApacheHttpRequestFactoryTest {
         assertThat(sanitizedUri("/special-chars-%40%24%25")).isEqualTo("http://localhost/%2Fspecial-chars-%40%24%25");
     }
 
+    @Test
+    public void fileContentWithMatchingContentLength_writesMappedFile(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("content.txt");
+        Files.write(file, "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        HttpEntity entity = entityFor(fileContentProvider(file, FileContent.create(file, 2, 5)), "5");
+
+        assertThat(entity).isInstanceOf(MappedFileRequestEntity.class);
+        assertThat(entity.isRepeatable()).isTrue();
+        assertThat(entity.getContentLength()).isEqualTo(5);
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream written = new ByteArrayOutputStream();
+            entity.writeTo(written);
+            assertThat(new String(written.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("23456");
+        }
+    }
+
+    @Test
+    public void fileContentWithDifferentContentLength_readsContentStream(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("content.txt");
+        Files.write(file, "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        HttpEntity entity = entityFor(fileContentProvider(file, FileContent.create(file, 0, 10)), "4");
+
+        assertThat(entity).isInstanceOf(RepeatableInputStreamRequestEntity.class);
+    }
+
+    @Test
+    public void fileShorterThanFileContent_failsToWrite(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("content.txt");
+        Files.write(file, "0123".getBytes(StandardCharsets.UTF_8));
+
+        HttpEntity entity = entityFor(fileContentProvider(file, FileContent.create(file, 0, 10)), "10");
+
+        assertThatThrownBy(() -> entity.writeTo(new ByteArrayOutputStream())).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void fileModifiedWhileWriting_failsToWrite(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("content.txt");
+        Files.write(file, "0123456789".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+
+        HttpEntity entity = entityFor(fileContentProvider(file, FileContent.create(file, 0, 10)), "10");
+        OutputStream modifyingOutput = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                super.write(b, off, len);
+                invokeSafely(() -> Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2021-01-01T00:00:00Z"))));
+            }
+        };
+
+        assertThatThrownBy(() -> entity.writeTo(modifyingOutput)).isInstanceOf(IOException.class)
+                                                                  .hasMessageContaining("last-modified time changed");
+    }
+
+    @Test
+    public void fileContentNotOnDefaultFileSystem_readsContentStream() throws IOException {
+        try (FileSystem jimfs = Jimfs.newFileSystem()) {
+            Path file = jimfs.getPath("content.txt");
+            Files.write(file, "0123456789".getBytes(StandardCharsets.UTF_8));
+
+            HttpEntity entity = entityFor(fileContentProvider(file, FileContent.create(file, 0, 10)), "10");
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            entity.writeTo(output);
+
+            assertThat(entity).isInstanceOf(RepeatableInputStreamRequestEntity.class);
+            assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("0123456789");
+        }
+    }
+
+    private HttpEntity entityFor(ContentStreamProvider contentStreamProvider, String contentLength) {
+        SdkHttpRequest sdkRequest = SdkHttpRequest.builder()
+                                                  .uri(URI.create("http://localhost:80/"))
+                                                  .method(SdkHttpMethod.PUT)
+                                                  .putHeader("Content-Length", contentLength)
+                                                  .build();
+        HttpExecuteRequest request = HttpExecuteRequest.builder()
+                                                       .request(sdkRequest)
+                                                       .contentStreamProvider(contentStreamProvider)
+                                                       .build();
+        return ((HttpEntityEnclosingRequestBase) instance.create(request, requestConfig)).getEntity();
+    }
+
+    private static ContentStreamProvider fileContentProvider(Path file, FileContent fileContent) {
+        return new ContentStreamProvider() {
+            @Override
+            public InputStream newStream() {
+                return invokeSafely(() -> Files.newInputStream(file));
+            }
+
+            @Override
+            public Optional<FileContent> fileContent() {
+                return Optional.of(fileContent);
+            }
+        };
+    }
+
     private String sanitizedUri(String path) {
         SdkHttpRequest sdkRequest = SdkHttpRequest.builder()
                                                   .uri(URI.create("http://localhost:80"))
@@ -29,11 +29,13 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
     private final Long maxStreams;
     private final Integer initialWindowSize;
     private final Duration healthCheckPingPeriod;
+    private final Double streamUtilizationThreshold;
 
     private Http2Configuration(DefaultBuilder builder) {
         this.maxStreams = builder.maxStreams;
         this.initialWindowSize = builder.initialWindowSize;
         this.healthCheckPingPeriod = builder.healthCheckPingPeriod;
+        this.streamUtilizationThreshold = builder.streamUtilizationThreshold;
     }
 
     /**
@@ -57,6 +59,13 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
         return healthCheckPingPeriod;
     }
 
+    /**
+     * @return The fraction of the maximum streams per connection in use at which an additional HTTP/2 connection is opened.
+     */
+    public Double streamUtilizationThreshold() {
+        return streamUtilizationThreshold;
+    }
+
     @Override
     public Builder toBuilder() {
         return new DefaultBuilder(this);
@@ -78,7 +87,12 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             return false;
         }
 
-        return initialWindowSize != null ? initialWindowSize.equals(that.initialWindowSize) : that.initialWindowSize == null;
+        if (initialWindowSize != null ? !initialWindowSize.equals(that.initialWindowSize) : that.initialWindowSize != null) {
+            return false;
+        }
+
+        return streamUtilizationThreshold != null ? streamUtilizationThreshold.equals(that.streamUtilizationThreshold)
+                                                  : that.streamUtilizationThreshold == null;
 
     }
 
@@ -86,6 +100,7 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
     public int hashCode() {
         int result = maxStreams != null ? maxStreams.hashCode() : 0;
         result = 31 * result + (initialWindowSize != null ? initialWindowSize.hashCode() : 0);
+        result = 31 * result + (streamUtilizationThreshold != null ? streamUtilizationThreshold.hashCode() : 0);
         return result;
     }
 
@@ -127,12 +142,27 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
          * @return This builder for method chaining.
          */
         Builder healthCheckPingPeriod(Duration healthCheckPingPeriod);
+
+        /**
+         * Sets the fraction of the maximum number of streams per connection that must be in use on every HTTP/2 connection
+         * before the client opens an additional connection, ahead of the requests that will need it. This lets new requests
+         * start without waiting for a connection to be established when the existing connections fill up.
+         *
+         * <p>Streams are always created on the connection with the fewest active streams. By default, no connection is
+         * opened ahead of demand and a new connection is only opened when every existing connection is full.</p>
+         *
+         * @param streamUtilizationThreshold A value greater than 0 and at most 1, e.g. 0.8 to open a connection when 80% of
+         * the streams of every connection are in use.
+         * @return This builder for method chaining.
+         */
+        Builder streamUtilizationThreshold(Double streamUtilizationThreshold);
     }
 
     private static final class DefaultBuilder implements Builder {
         private Long maxStreams;
         private Integer initialWindowSize;
         private Duration healthCheckPingPeriod;
+        private Double streamUtilizationThreshold;
 
         private DefaultBuilder() {
         }
@@ -141,6 +171,7 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             this.maxStreams = http2Configuration.maxStreams;
             this.initialWindowSize = http2Configuration.initialWindowSize;
             this.healthCheckPingPeriod = http2Configuration.healthCheckPingPeriod;
+            this.streamUtilizationThreshold = http2Configuration.streamUtilizationThreshold;
         }
 
         @Override
@@ -173,6 +204,20 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             healthCheckPingPeriod(healthCheckPingPeriod);
         }
 
+        @Override
+        public Builder streamUtilizationThreshold(Double streamUtilizationThreshold) {
+            Validate.isTrue(streamUtilizationThreshold == null
+                            || streamUtilizationThreshold > 0 && streamUtilizationThreshold <= 1,
+                            "streamUtilizationThreshold must be greater than 0 and at most 1, but was %s",
+                            streamUtilizationThreshold);
+            this.streamUtilizationThreshold = streamUtilizationThreshold;
+            return this;
+        }
+
+        public void setStreamUtilizationThreshold(Double streamUtilizationThreshold) {
+            streamUtilizationThreshold(streamUtilizationThreshold);
+        }
+
         @Override
         public Http2Configuration build() {
             return new Http2Configuration(this);
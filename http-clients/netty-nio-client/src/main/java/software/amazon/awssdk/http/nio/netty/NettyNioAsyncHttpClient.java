@@ -29,6 +29,10 @@ import io.netty.handler.ssl.SslProvider;
 import java.net.SocketOptions;
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +42,7 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.SystemPropertyTlsKeyManagersProvider;
 import software.amazon.awssdk.http.TlsKeyManagersProvider;
@@ -93,7 +98,7 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         long maxStreams = resolveMaxHttp2Streams(builder.maxHttp2Streams, http2Configuration);
         int initialWindowSize = resolveInitialWindowSize(http2Configuration);
 
-        this.pools = AwaitCloseChannelPoolMap.builder()
+        AwaitCloseChannelPoolMap poolMap = AwaitCloseChannelPoolMap.builder()
                                              .sdkChannelOptions(builder.sdkChannelOptions)
                                              .configuration(configuration)
                                              .protocol(protocol)
@@ -104,7 +109,12 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
                                              .sslProvider(resolveSslProvider(builder))
                                              .proxyConfiguration(builder.proxyConfiguration)
                                              .useNonBlockingDnsResolver(builder.useNonBlockingDnsResolver)
+                                             .useEventLoopAffinity(builder.useEventLoopAffinity)
+                                             .minConnections(minConnections(builder))
+                                             .http2StreamUtilizationThreshold(resolveUtilizationThreshold(http2Configuration))
                                              .build();
+        this.pools = poolMap;
+        prewarmConnections(builder, poolMap);
     }
 
     @SdkTestInternalApi
@@ -154,6 +164,51 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
                                           sdkRequest.port(), null, null, null));
     }
 
+    private static int minConnections(DefaultBuilder builder) {
+        return builder.minConnections == null ? 0 : builder.minConnections;
+    }
+
+    /**
+     * Open {@link Builder#minConnections(Integer)} connections (at least one) to each of the
+     * {@link Builder#prewarmEndpoints(Collection)}, waiting up to {@link Builder#prewarmTimeout(Duration)} for them if it is
+     * set. Failures are logged rather than failing the client creation, since requests will open connections as usual.
+     */
+    private static void prewarmConnections(DefaultBuilder builder, AwaitCloseChannelPoolMap poolMap) {
+        if (builder.prewarmEndpoints == null || builder.prewarmEndpoints.isEmpty()) {
+            return;
+        }
+
+        int connections = Math.max(minConnections(builder), 1);
+        CompletableFuture<?>[] prewarmFutures =
+            builder.prewarmEndpoints.stream()
+                                    .map(endpoint -> poolMap.prewarm(poolKey(prewarmRequest(endpoint)), connections)
+                                                            .whenComplete((r, t) -> {
+                                                                if (t != null) {
+                                                                    log.warn(null, () -> "Unable to open connections to "
+                                                                                         + endpoint, t);
+                                                                }
+                                                            }))
+                                    .toArray(CompletableFuture[]::new);
+
+        if (builder.prewarmTimeout == null || builder.prewarmTimeout.isZero()) {
+            return;
+        }
+
+        try {
+            CompletableFuture.allOf(prewarmFutures).get(builder.prewarmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Already logged per endpoint
+        } catch (TimeoutException e) {
+            log.warn(null, () -> "Opening connections did not complete within " + builder.prewarmTimeout);
+        }
+    }
+
+    private static SdkHttpRequest prewarmRequest(URI endpoint) {
+        return SdkHttpRequest.builder().uri(endpoint).method(SdkHttpMethod.GET).build();
+    }
+
     private SslProvider resolveSslProvider(DefaultBuilder builder) {
         if (builder.sslProvider != null) {
             return builder.sslProvider;
@@ -181,6 +236,10 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         return http2Configuration.initialWindowSize();
     }
 
+    private Double resolveUtilizationThreshold(Http2Configuration http2Configuration) {
+        return http2Configuration == null ? null : http2Configuration.streamUtilizationThreshold();
+    }
+
     private Duration resolveHealthCheckPingPeriod(Http2Configuration http2Configuration) {
         if (http2Configuration != null) {
             return http2Configuration.healthCheckPingPeriod();
@@ -455,6 +514,29 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          */
         Builder tlsTrustManagersProvider(TlsTrustManagersProvider trustManagersProvider);
 
+        /**
+         * The maximum number of TLS sessions to cache for resuming sessions with the hosts the client connects to. Resuming a
+         * session skips the certificate exchange and key agreement of a full TLS handshake when a new connection is opened to
+         * a host that the client has connected to before. Zero means no limit.
+         * <p>
+         * If not set, the default of the configured {@link #sslProvider(SslProvider)} is used. Whether a new connection
+         * resumed a session is reported by the {@link software.amazon.awssdk.http.HttpMetric#TLS_SESSION_RESUMED} metric.
+         *
+         * @param tlsSessionCacheSize the maximum number of cached TLS sessions.
+         * @return the builder for method chaining.
+         */
+        Builder tlsSessionCacheSize(Integer tlsSessionCacheSize);
+
+        /**
+         * How long a cached TLS session can be resumed for, with a granularity of seconds. If not set, the default of the
+         * configured {@link #sslProvider(SslProvider)} is used.
+         *
+         * @param tlsSessionTimeout the maximum age of a resumed TLS session.
+         * @return the builder for method chaining.
+         * @see #tlsSessionCacheSize(Integer)
+         */
+        Builder tlsSessionTimeout(Duration tlsSessionTimeout);
+
         /**
          * Set the HTTP/2 specific configuration for this client.
          * <p>
@@ -485,6 +567,65 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          * See https://netty.io/news/2016/05/26/4-1-0-Final.html
          */
         Builder useNonBlockingDnsResolver(Boolean useNonBlockingDnsResolver);
+
+        /**
+         * Configure whether connections should be pooled per event loop. False by default, in which case all event loops share
+         * one connection pool per endpoint.
+         * <p>
+         * When enabled, each event loop of the {@link SdkEventLoopGroup} gets its own connection pool per endpoint, and
+         * requests issued from an event loop thread (e.g. from the completion of a previous request) prefer the connections
+         * owned by that event loop. This avoids handing each request off between threads, at the cost of keeping more idle
+         * connections open. {@link #maxConcurrency(Integer)}, {@link #maxPendingConnectionAcquires(Integer)} and
+         * {@link #connectionAcquisitionTimeout(Duration)} still apply to all of the event loops combined.
+         */
+        Builder useEventLoopAffinity(Boolean useEventLoopAffinity);
+
+        /**
+         * The minimum number of connections to keep open to each endpoint. Zero by default. Both idle connections and
+         * connections that are in use count towards the minimum.
+         * <p>
+         * Idle connections are not closed by the idle connection reaper (see {@link #useIdleConnectionReaper(Boolean)}) when
+         * that would leave fewer than this many open, and connections closed for any other reason (e.g. by the server or
+         * because of {@link #connectionTimeToLive(Duration)}) are replaced in the background. The minimum is applied per
+         * event loop when {@link #useEventLoopAffinity(Boolean)} is enabled, and only to HTTP/1.1 connections, since HTTP/2
+         * connections are multiplexed.
+         * <p>
+         * Connections are replaced by acquiring them from the pool, so while that is in progress they count against
+         * {@link #maxConcurrency(Integer)} and may delay requests waiting for a connection. If connections cannot be
+         * opened, the client retries with an exponential backoff and gives up after repeated failures until another
+         * connection is closed.
+         *
+         * @param minConnections the minimum number of connections per endpoint.
+         * @return the builder for method chaining.
+         */
+        Builder minConnections(Integer minConnections);
+
+        /**
+         * Endpoints to open connections to when the client is created, so that the first requests do not pay for the TCP and
+         * TLS handshakes. {@link #minConnections(Integer)} connections, or one if it is not set, are opened to each
+         * endpoint. By default this happens in the background; see {@link #prewarmTimeout(Duration)} to wait for it.
+         *
+         * @param prewarmEndpoints the endpoints, e.g. {@code https://s3.us-west-2.amazonaws.com}.
+         * @return the builder for method chaining.
+         */
+        Builder prewarmEndpoints(Collection<URI> prewarmEndpoints);
+
+        /**
+         * Endpoints to open connections to when the client is created.
+         *
+         * @see #prewarmEndpoints(Collection)
+         */
+        Builder prewarmEndpoints(URI... prewarmEndpoints);
+
+        /**
+         * How long building the client may wait for the {@link #prewarmEndpoints(Collection)} connections to be opened. If
+         * not set, the connections are opened in the background and building the client does not wait for them. Failing to
+         * open the connections never fails building the client.
+         *
+         * @param prewarmTimeout the maximum time to wait for the connections to be opened.
+         * @return the builder for method chaining.
+         */
+        Builder prewarmTimeout(Duration prewarmTimeout);
     }
 
     /**
@@ -503,6 +644,10 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         private SslProvider sslProvider;
         private ProxyConfiguration proxyConfiguration;
         private Boolean useNonBlockingDnsResolver;
+        private Boolean useEventLoopAffinity;
+        private Integer minConnections;
+        private List<URI> prewarmEndpoints;
+        private Duration prewarmTimeout;
 
         private DefaultBuilder() {
         }
@@ -710,6 +855,30 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             tlsTrustManagersProvider(tlsTrustManagersProvider);
         }
 
+        @Override
+        public Builder tlsSessionCacheSize(Integer tlsSessionCacheSize) {
+            if (tlsSessionCacheSize != null) {
+                Validate.isNotNegative(tlsSessionCacheSize, "tlsSessionCacheSize");
+            }
+            standardOptions.put(SdkHttpConfigurationOption.TLS_SESSION_CACHE_SIZE, tlsSessionCacheSize);
+            return this;
+        }
+
+        public void setTlsSessionCacheSize(Integer tlsSessionCacheSize) {
+            tlsSessionCacheSize(tlsSessionCacheSize);
+        }
+
+        @Override
+        public Builder tlsSessionTimeout(Duration tlsSessionTimeout) {
+            Validate.isPositiveOrNull(tlsSessionTimeout, "tlsSessionTimeout");
+            standardOptions.put(SdkHttpConfigurationOption.TLS_SESSION_TIMEOUT, tlsSessionTimeout);
+            return this;
+        }
+
+        public void setTlsSessionTimeout(Duration tlsSessionTimeout) {
+            tlsSessionTimeout(tlsSessionTimeout);
+        }
+
         @Override
         public Builder http2Configuration(Http2Configuration http2Configuration) {
             this.http2Configuration = http2Configuration;
@@ -737,6 +906,54 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             useNonBlockingDnsResolver(useNonBlockingDnsResolver);
         }
 
+        @Override
+        public Builder useEventLoopAffinity(Boolean useEventLoopAffinity) {
+            this.useEventLoopAffinity = useEventLoopAffinity;
+            return this;
+        }
+
+        public void setUseEventLoopAffinity(Boolean useEventLoopAffinity) {
+            useEventLoopAffinity(useEventLoopAffinity);
+        }
+
+        @Override
+        public Builder minConnections(Integer minConnections) {
+            if (minConnections != null) {
+                Validate.isNotNegative(minConnections, "minConnections");
+            }
+            this.minConnections = minConnections;
+            return this;
+        }
+
+        public void setMinConnections(Integer minConnections) {
+            minConnections(minConnections);
+        }
+
+        @Override
+        public Builder prewarmEndpoints(Collection<URI> prewarmEndpoints) {
+            this.prewarmEndpoints = prewarmEndpoints == null ? null : new ArrayList<>(prewarmEndpoints);
+            return this;
+        }
+
+        @Override
+        public Builder prewarmEndpoints(URI... prewarmEndpoints) {
+            return prewarmEndpoints(Arrays.asList(prewarmEndpoints));
+        }
+
+        public void setPrewarmEndpoints(Collection<URI> prewarmEndpoints) {
+            prewarmEndpoints(prewarmEndpoints);
+        }
+
+        @Override
+        public Builder prewarmTimeout(Duration prewarmTimeout) {
+            this.prewarmTimeout = prewarmTimeout;
+            return this;
+        }
+
+        public void setPrewarmTimeout(Duration prewarmTimeout) {
+            prewarmTimeout(prewarmTimeout);
+        }
+
         @Override
         public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
             if (standardOptions.get(SdkHttpConfigurationOption.TLS_NEGOTIATION_TIMEOUT) == null) {
@@ -18,14 +18,14 @@ package software.amazon.awssdk.http.nio.netty;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.DatagramChannel;
-import io.netty.channel.socket.nio.NioDatagramChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.http.nio.netty.internal.utils.ChannelResolver;
+import software.amazon.awssdk.http.nio.netty.internal.utils.NativeTransports;
 import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 import software.amazon.awssdk.utils.Validate;
 
@@ -67,6 +67,7 @@ public final class SdkEventLoopGroup {
     private final EventLoopGroup eventLoopGroup;
     private final ChannelFactory<? extends Channel> channelFactory;
     private final ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
+    private final Transport transport;
 
     SdkEventLoopGroup(EventLoopGroup eventLoopGroup, ChannelFactory<? extends Channel> channelFactory) {
         Validate.paramNotNull(eventLoopGroup, "eventLoopGroup");
@@ -74,12 +75,14 @@ public final class SdkEventLoopGroup {
         this.eventLoopGroup = eventLoopGroup;
         this.channelFactory = channelFactory;
         this.datagramChannelFactory = ChannelResolver.resolveDatagramChannelFactory(eventLoopGroup);
+        this.transport = null;
     }
 
     /**
      * Create an instance of {@link SdkEventLoopGroup} from the builder
      */
     private SdkEventLoopGroup(DefaultBuilder builder) {
+        this.transport = NativeTransports.resolve(Optional.ofNullable(builder.transport).orElse(Transport.NIO));
         this.eventLoopGroup = resolveEventLoopGroup(builder);
         this.channelFactory = resolveSocketChannelFactory(builder);
         this.datagramChannelFactory = resolveDatagramChannelFactory(builder);
@@ -106,6 +109,14 @@ public final class SdkEventLoopGroup {
         return datagramChannelFactory;
     }
 
+    /**
+     * @return the {@link Transport} the {@link EventLoopGroup} was created with, after falling back from any unavailable
+     * native transport, or empty if the {@link EventLoopGroup} was provided by the caller.
+     */
+    public Optional<Transport> transport() {
+        return Optional.ofNullable(transport);
+    }
+
     /**
      * Creates a new instance of SdkEventLoopGroup with {@link EventLoopGroup} and {@link ChannelFactory}
      * to be used with {@link NettyNioAsyncHttpClient}.
@@ -142,32 +153,49 @@ public final class SdkEventLoopGroup {
                                               .orElseGet(() -> new ThreadFactoryBuilder()
                                                   .threadNamePrefix("aws-java-sdk-NettyEventLoop")
                                                   .build());
-        return new NioEventLoopGroup(numThreads, threadFactory);
-        /*
-        Need to investigate why epoll is raising channel inactive after successful response that causes
-        problems with retries.
-
-        if (Epoll.isAvailable() && isNotAwsLambda()) {
-            return new EpollEventLoopGroup(numThreads, resolveThreadFactory());
-        } else {
-
-        }*/
+        switch (transport) {
+            case IO_URING:
+                return NativeTransports.newIoUringEventLoopGroup(numThreads, threadFactory);
+            case EPOLL:
+                return new EpollEventLoopGroup(numThreads, threadFactory);
+            default:
+                return new NioEventLoopGroup(numThreads, threadFactory);
+        }
     }
 
     private ChannelFactory<? extends Channel> resolveSocketChannelFactory(DefaultBuilder builder) {
-        return builder.channelFactory;
+        return Optional.<ChannelFactory<? extends Channel>>ofNullable(builder.channelFactory)
+                       .orElseGet(() -> ChannelResolver.resolveSocketChannelFactory(eventLoopGroup));
     }
 
     private ChannelFactory<? extends DatagramChannel> resolveDatagramChannelFactory(DefaultBuilder builder) {
-        return builder.datagramChannelFactory;
+        return Optional.<ChannelFactory<? extends DatagramChannel>>ofNullable(builder.datagramChannelFactory)
+                       .orElseGet(() -> ChannelResolver.resolveDatagramChannelFactory(eventLoopGroup));
     }
 
-    private static ChannelFactory<? extends Channel> defaultSocketChannelFactory() {
-        return NioSocketChannel::new;
-    }
+    /**
+     * The Netty transport used by an {@link EventLoopGroup} created through {@link SdkEventLoopGroup#builder()}.
+     *
+     * <p>The native transports are only used when they are available in the current runtime. {@link #IO_URING} falls back
+     * to {@link #EPOLL}, and {@link #EPOLL} falls back to {@link #NIO}, when they are not.
+     */
+    public enum Transport {
+        /**
+         * The JDK NIO transport, available on every platform. This is the default.
+         */
+        NIO,
+
+        /**
+         * The Linux epoll transport. Requires the {@code netty-transport-native-epoll} native library for the current
+         * platform on the classpath.
+         */
+        EPOLL,
 
-    private static ChannelFactory<? extends DatagramChannel> defaultDatagramChannelFactory() {
-        return NioDatagramChannel::new;
+        /**
+         * The Linux io_uring transport. Requires {@code netty-incubator-transport-native-io_uring} for the current
+         * platform on the classpath and a kernel that supports io_uring.
+         */
+        IO_URING
     }
 
     /**
@@ -196,9 +224,21 @@ public final class SdkEventLoopGroup {
          */
         Builder threadFactory(ThreadFactory threadFactory);
 
+        /**
+         * The {@link Transport} used by the {@link EventLoopGroup}. If not set, {@link Transport#NIO} is used.
+         *
+         * <p>If the requested native transport is not available in the current runtime, the next one in
+         * io_uring, epoll, NIO order is used instead. The transport that was selected can be read from
+         * {@link SdkEventLoopGroup#transport()}.
+         *
+         * @param transport Transport to use.
+         * @return This builder for method chaining.
+         */
+        Builder transport(Transport transport);
+
         /**
          * {@link ChannelFactory} to create socket channels used by the {@link EventLoopGroup}. If not set,
-         * NioSocketChannel is used.
+         * the channel type matching the {@link EventLoopGroup} is used, e.g. NioSocketChannel for {@link Transport#NIO}.
          *
          * @param channelFactory ChannelFactory to use.
          * @return This builder for method chaining.
@@ -207,7 +247,7 @@ public final class SdkEventLoopGroup {
 
         /**
          * {@link ChannelFactory} to create datagram channels used by the {@link EventLoopGroup}. If not set,
-         * NioDatagramChannel is used.
+         * the channel type matching the {@link EventLoopGroup} is used, e.g. NioDatagramChannel for {@link Transport#NIO}.
          *
          * @param datagramChannelFactory ChannelFactory to use.
          * @return This builder for method chaining.
@@ -221,8 +261,9 @@ public final class SdkEventLoopGroup {
 
         private Integer numberOfThreads;
         private ThreadFactory threadFactory;
-        private ChannelFactory<? extends Channel> channelFactory = defaultSocketChannelFactory();
-        private ChannelFactory<? extends DatagramChannel> datagramChannelFactory = defaultDatagramChannelFactory();
+        private Transport transport;
+        private ChannelFactory<? extends Channel> channelFactory;
+        private ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
 
         private DefaultBuilder() {
         }
@@ -247,6 +288,16 @@ public final class SdkEventLoopGroup {
             threadFactory(threadFactory);
         }
 
+        @Override
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        public void setTransport(Transport transport) {
+            transport(transport);
+        }
+
         @Override
         public Builder channelFactory(ChannelFactory<? extends Channel> channelFactory) {
             this.channelFactory = channelFactory;
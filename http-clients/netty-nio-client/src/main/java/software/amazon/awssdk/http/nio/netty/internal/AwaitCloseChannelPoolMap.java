@@ -19,18 +19,25 @@ import static software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration.
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.channel.pool.ChannelPoolHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslProvider;
+import io.netty.util.concurrent.EventExecutor;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -72,6 +79,7 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         b -> new BootstrapProvider(b.sdkEventLoopGroup, b.configuration, b.sdkChannelOptions);
 
     private final Map<URI, Boolean> shouldProxyForHostCache = new ConcurrentHashMap<>();
+    private final Map<URI, Queue<ConnectionWarmer>> connectionWarmers = new ConcurrentHashMap<>();
 
 
     private final NettyConfiguration configuration;
@@ -84,6 +92,9 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
     private final BootstrapProvider bootstrapProvider;
     private final SslContextProvider sslContextProvider;
     private final Boolean useNonBlockingDnsResolver;
+    private final Boolean useEventLoopAffinity;
+    private final int minConnections;
+    private final Double http2StreamUtilizationThreshold;
 
     private AwaitCloseChannelPoolMap(Builder builder, Function<Builder, BootstrapProvider> createBootStrapProvider) {
         this.configuration = builder.configuration;
@@ -96,6 +107,9 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         this.bootstrapProvider = createBootStrapProvider.apply(builder);
         this.sslContextProvider = new SslContextProvider(configuration, protocol, sslProvider);
         this.useNonBlockingDnsResolver = builder.useNonBlockingDnsResolver;
+        this.useEventLoopAffinity = builder.useEventLoopAffinity;
+        this.minConnections = builder.minConnections;
+        this.http2StreamUtilizationThreshold = builder.http2StreamUtilizationThreshold;
     }
 
     private AwaitCloseChannelPoolMap(Builder builder) {
@@ -123,6 +137,24 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
 
         Bootstrap bootstrap = createBootstrap(key);
 
+        if (!Boolean.TRUE.equals(useEventLoopAffinity)) {
+            return newPool(key, bootstrap, sslContext);
+        }
+
+        // One pool per event loop, each only creating connections on its own event loop. See EventLoopAffineChannelPool.
+        Map<EventLoop, SdkChannelPool> partitions = new LinkedHashMap<>();
+        List<BetterSimpleChannelPool> tcpChannelPools = new ArrayList<>();
+        for (EventExecutor executor : bootstrap.config().group()) {
+            EventLoop eventLoop = (EventLoop) executor;
+            SimpleChannelPoolAwareChannelPool partition = newPool(key, bootstrap.clone(eventLoop), sslContext);
+            partitions.put(eventLoop, partition);
+            tcpChannelPools.add(partition.underlyingSimpleChannelPool());
+        }
+        return new SimpleChannelPoolAwareChannelPool(new EventLoopAffineChannelPool(partitions, configuration),
+                                                     tcpChannelPools);
+    }
+
+    private SimpleChannelPoolAwareChannelPool newPool(URI key, Bootstrap bootstrap, SslContext sslContext) {
         AtomicReference<ChannelPool> channelPoolRef = new AtomicReference<>();
 
         ChannelPipelineInitializer pipelineInitializer = new ChannelPipelineInitializer(protocol,
@@ -135,27 +167,57 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
                                                                                         configuration,
                                                                                         key);
 
+        ChannelPoolHandler channelPoolHandler = pipelineInitializer;
+        ConnectionWarmer connectionWarmer = null;
+        // HTTP/2 connections are multiplexed and are only opened on demand, so the minimum only applies to HTTP/1.1.
+        if (minConnections > 0 && protocol == Protocol.HTTP1_1) {
+            connectionWarmer = new ConnectionWarmer(pipelineInitializer, minConnections, channelPoolRef,
+                                                    bootstrap.config().group().next());
+            channelPoolHandler = connectionWarmer;
+            connectionWarmers.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(connectionWarmer);
+        }
+
         BetterSimpleChannelPool tcpChannelPool;
         ChannelPool baseChannelPool;
         if (shouldUseProxyForHost(key)) {
             tcpChannelPool = new BetterSimpleChannelPool(bootstrap, NOOP_HANDLER);
             baseChannelPool = new Http1TunnelConnectionPool(bootstrap.config().group().next(), tcpChannelPool, sslContext,
                                             proxyAddress(key), proxyConfiguration.username(), proxyConfiguration.password(),
-                                            key, pipelineInitializer, configuration);
+                                            key, channelPoolHandler, configuration);
         } else {
-            tcpChannelPool = new BetterSimpleChannelPool(bootstrap, pipelineInitializer);
+            tcpChannelPool = new BetterSimpleChannelPool(bootstrap, channelPoolHandler);
             baseChannelPool = tcpChannelPool;
         }
 
         SdkChannelPool wrappedPool = wrapBaseChannelPool(bootstrap, baseChannelPool);
 
         channelPoolRef.set(wrappedPool);
+        if (connectionWarmer != null) {
+            connectionWarmer.topUp();
+        }
         return new SimpleChannelPoolAwareChannelPool(wrappedPool, tcpChannelPool);
     }
 
+    /**
+     * Open connections to the given endpoint ahead of the first request, by acquiring the given number of channels at the
+     * same time and releasing them. If a minimum number of connections is configured, the pools open those themselves
+     * when they are created and this only waits for them.
+     *
+     * @return A future that is completed when the connections have been opened.
+     */
+    public CompletableFuture<Void> prewarm(URI key, int connections) {
+        SdkChannelPool pool = get(key);
+        Queue<ConnectionWarmer> warmers = connectionWarmers.get(key);
+        if (warmers == null) {
+            return ConnectionWarmer.warmUp(pool, connections);
+        }
+        return CompletableFuture.allOf(warmers.stream().map(ConnectionWarmer::topUp).toArray(CompletableFuture[]::new));
+    }
+
     @Override
     public void close() {
         log.trace(null, () -> "Closing channel pools");
+        connectionWarmers.values().forEach(warmers -> warmers.forEach(ConnectionWarmer::close));
         // If there is a new pool being added while we are iterating the pools, there might be a
         // race condition between the close call of the newly acquired pool and eventLoopGroup.shutdown and it
         // could cause the eventLoopGroup#shutdownGracefully to hang before it times out.
@@ -167,7 +229,8 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
 
         try {
             CompletableFuture.allOf(channelPools.stream()
-                                                .map(pool -> pool.underlyingSimpleChannelPool().closeFuture())
+                                                .flatMap(pool -> pool.underlyingSimpleChannelPools().stream())
+                                                .map(BetterSimpleChannelPool::closeFuture)
                                                 .toArray(CompletableFuture[]::new))
                              .get(CHANNEL_POOL_CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
@@ -237,7 +300,8 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         SdkChannelPool sdkChannelPool = new HttpOrHttp2ChannelPool(channelPool,
                                                                    bootstrap.config().group(),
                                                                    configuration.maxConnections(),
-                                                                   configuration);
+                                                                   configuration,
+                                                                   http2StreamUtilizationThreshold);
 
         sdkChannelPool = new ListenerInvokingChannelPool(bootstrap.config().group(), sdkChannelPool, Arrays.asList(
             // Add a listener that ensures acquired channels are marked IN_USE and thus not eligible for certain idle timeouts.
@@ -281,6 +345,9 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         private SslProvider sslProvider;
         private ProxyConfiguration proxyConfiguration;
         private Boolean useNonBlockingDnsResolver;
+        private Boolean useEventLoopAffinity;
+        private int minConnections;
+        private Double http2StreamUtilizationThreshold;
 
         private Builder() {
         }
@@ -335,6 +402,21 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
             return this;
         }
 
+        public Builder useEventLoopAffinity(Boolean useEventLoopAffinity) {
+            this.useEventLoopAffinity = useEventLoopAffinity;
+            return this;
+        }
+
+        public Builder minConnections(int minConnections) {
+            this.minConnections = minConnections;
+            return this;
+        }
+
+        public Builder http2StreamUtilizationThreshold(Double http2StreamUtilizationThreshold) {
+            this.http2StreamUtilizationThreshold = http2StreamUtilizationThreshold;
+            return this;
+        }
+
         public AwaitCloseChannelPoolMap build() {
             return new AwaitCloseChannelPoolMap(this);
         }
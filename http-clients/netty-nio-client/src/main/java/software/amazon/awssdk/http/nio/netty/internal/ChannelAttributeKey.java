@@ -113,6 +113,20 @@ public final class ChannelAttributeKey {
     static final AttributeKey<Long> EXECUTION_ID_KEY = NettyUtils.getOrCreateAttributeKey(
             "aws.http.nio.netty.async.executionId");
 
+    /**
+     * Whether the TLS handshake of this connection resumed a cached session, until it is reported to the metrics of the first
+     * request using the connection.
+     */
+    static final AttributeKey<Boolean> TLS_SESSION_RESUMED = NettyUtils.getOrCreateAttributeKey(
+        "aws.http.nio.netty.async.tlsSessionResumed");
+
+    /**
+     * The {@link ConnectionWarmer} keeping a minimum number of connections open in the pool that created this channel, if
+     * one is configured.
+     */
+    static final AttributeKey<ConnectionWarmer> CONNECTION_WARMER = NettyUtils.getOrCreateAttributeKey(
+        "aws.http.nio.netty.async.connectionWarmer");
+
     /**
      * Whether the channel is still in use
      */
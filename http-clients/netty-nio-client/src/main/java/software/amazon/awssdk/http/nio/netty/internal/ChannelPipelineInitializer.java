@@ -19,6 +19,7 @@ import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.HTTP2_CONNECTION;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.HTTP2_INITIAL_WINDOW_SIZE;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.PROTOCOL_FUTURE;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.TLS_SESSION_RESUMED;
 import static software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration.HTTP2_CONNECTION_PING_TIMEOUT_SECONDS;
 import static software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils.newSslHandler;
 import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
@@ -51,6 +52,7 @@ import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2GoAwayEventListener;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2PingHandler;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2SettingsFrameHandler;
+import software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils;
 
 /**
  * ChannelPoolHandler to configure the client pipeline.
@@ -96,6 +98,7 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
 
             SslHandler sslHandler = newSslHandler(sslCtx, ch.alloc(), poolKey.getHost(), poolKey.getPort(),
                                                   configuration.tlsHandshakeTimeout());
+            recordTlsSessionResumption(ch, sslHandler);
 
             pipeline.addLast(sslHandler);
             pipeline.addLast(SslCloseCompletionEventHandler.getInstance());
@@ -133,6 +136,20 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
         pipeline.addLast(new LoggingHandler(LogLevel.DEBUG));
     }
 
+    /**
+     * Record on the channel whether its TLS handshake resumed a cached session, so it can be reported to the metrics of the
+     * first request that uses the channel.
+     */
+    private static void recordTlsSessionResumption(Channel ch, SslHandler sslHandler) {
+        long handshakeStartMillis = System.currentTimeMillis();
+        sslHandler.handshakeFuture().addListener(f -> {
+            if (f.isSuccess()) {
+                boolean resumed = NettyUtils.isSessionResumed(sslHandler.engine().getSession(), handshakeStartMillis);
+                ch.attr(TLS_SESSION_RESUMED).set(resumed);
+            }
+        });
+    }
+
     private void configureHttp2(Channel ch, ChannelPipeline pipeline) {
         // Using Http2FrameCodecBuilder and Http2MultiplexHandler based on 4.1.37 release notes
         // https://netty.io/news/2019/06/28/4-1-37-Final.html
@@ -0,0 +1,250 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.CONNECTION_WARMER;
+
+import io.netty.channel.Channel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.http.nio.netty.internal.utils.NettyClientLogger;
+import software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils;
+
+/**
+ * A {@link ChannelPoolHandler} that keeps a minimum number of connections open in a channel pool.
+ *
+ * <p>It counts the connections created by the pool, whether they are idle or in use, stops the
+ * {@link IdleConnectionReaperHandler} from closing idle connections when that would leave fewer than the minimum open, and
+ * opens new connections in the background when connections are closed for any other reason (e.g. by the server or the
+ * {@link OldConnectionReaperHandler}).
+ *
+ * <p>New connections are opened by acquiring channels from the pool, so they count against the pool's maximum concurrency
+ * while they are being opened. A failed top-up is retried with an exponential backoff, and given up after
+ * {@link #MAX_TOP_UP_FAILURES} consecutive failures until the next connection is closed.
+ */
+@SdkInternalApi
+public final class ConnectionWarmer implements ChannelPoolHandler {
+    private static final NettyClientLogger log = NettyClientLogger.getLogger(ConnectionWarmer.class);
+
+    /**
+     * Whether a channel is still included in {@link #openConnections}.
+     */
+    private static final AttributeKey<Boolean> COUNTED = NettyUtils.getOrCreateAttributeKey(
+        "aws.http.nio.netty.async.connectionWarmer.counted");
+
+    /**
+     * How long to wait after a top-up before checking whether another one is needed, so that an endpoint that closes new
+     * connections does not cause a tight reconnect loop. Doubled after each consecutive failure.
+     */
+    private static final long BASE_TOP_UP_DELAY_MILLIS = 1_000;
+
+    private static final long MAX_TOP_UP_DELAY_MILLIS = 60_000;
+
+    private static final int MAX_TOP_UP_FAILURES = 5;
+
+    private final ChannelPoolHandler delegate;
+    private final int minConnections;
+    private final AtomicReference<ChannelPool> channelPoolRef;
+    private final EventExecutor executor;
+    private final long baseTopUpDelayMillis;
+    private final AtomicBoolean toppingUp = new AtomicBoolean();
+
+    private int openConnections;
+    private volatile boolean closed;
+    private volatile CompletableFuture<Void> currentTopUp = CompletableFuture.completedFuture(null);
+
+    public ConnectionWarmer(ChannelPoolHandler delegate,
+                            int minConnections,
+                            AtomicReference<ChannelPool> channelPoolRef,
+                            EventExecutor executor) {
+        this(delegate, minConnections, channelPoolRef, executor, BASE_TOP_UP_DELAY_MILLIS);
+    }
+
+    @SdkTestInternalApi
+    ConnectionWarmer(ChannelPoolHandler delegate,
+                     int minConnections,
+                     AtomicReference<ChannelPool> channelPoolRef,
+                     EventExecutor executor,
+                     long baseTopUpDelayMillis) {
+        this.delegate = delegate;
+        this.minConnections = minConnections;
+        this.channelPoolRef = channelPoolRef;
+        this.executor = executor;
+        this.baseTopUpDelayMillis = baseTopUpDelayMillis;
+    }
+
+    @Override
+    public void channelCreated(Channel ch) throws Exception {
+        ch.attr(CONNECTION_WARMER).set(this);
+        ch.attr(COUNTED).set(true);
+        synchronized (this) {
+            ++openConnections;
+        }
+        ch.closeFuture().addListener(f -> connectionClosed(ch));
+        delegate.channelCreated(ch);
+    }
+
+    @Override
+    public void channelAcquired(Channel ch) throws Exception {
+        delegate.channelAcquired(ch);
+    }
+
+    @Override
+    public void channelReleased(Channel ch) throws Exception {
+        delegate.channelReleased(ch);
+    }
+
+    /**
+     * Called by the idle connection reaper before closing an idle connection.
+     *
+     * @return true if the connection may be closed, false if it has to be kept open to honor the minimum.
+     */
+    boolean tryReap(Channel ch) {
+        synchronized (this) {
+            if (openConnections <= minConnections) {
+                return false;
+            }
+            uncount(ch);
+            return true;
+        }
+    }
+
+    /**
+     * Open connections until the minimum is reached, unless a top-up is already in progress.
+     *
+     * @return A future that is completed when the current top-up, if any, is complete.
+     */
+    public CompletableFuture<Void> topUp() {
+        return topUp(0);
+    }
+
+    private CompletableFuture<Void> topUp(int previousFailures) {
+        int missing;
+        synchronized (this) {
+            missing = minConnections - openConnections;
+        }
+        if (closed || missing <= 0 || !toppingUp.compareAndSet(false, true)) {
+            return currentTopUp;
+        }
+
+        CompletableFuture<Void> topUp = warmUp(channelPoolRef.get(), minConnections);
+        currentTopUp = topUp;
+        topUp.whenComplete((r, t) -> {
+            int failures = t == null ? 0 : previousFailures + 1;
+            if (t != null) {
+                log.debug(null, () -> "Unable to open the minimum number of connections (attempt " + failures + ")", t);
+            }
+            if (closed || failures >= MAX_TOP_UP_FAILURES) {
+                toppingUp.set(false);
+                return;
+            }
+            scheduleTopUp(failures);
+        });
+        return topUp;
+    }
+
+    private void scheduleTopUp(int failures) {
+        long delay = Math.min(baseTopUpDelayMillis << failures, MAX_TOP_UP_DELAY_MILLIS);
+        try {
+            executor.schedule(() -> {
+                toppingUp.set(false);
+                topUp(failures);
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The event loop is shutting down
+            toppingUp.set(false);
+        }
+    }
+
+    /**
+     * Stop opening new connections. Called when the owning pool is closed.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    @SdkTestInternalApi
+    synchronized int openConnections() {
+        return openConnections;
+    }
+
+    private void connectionClosed(Channel ch) {
+        synchronized (this) {
+            uncount(ch);
+        }
+        topUp();
+    }
+
+    private void uncount(Channel ch) {
+        if (Boolean.TRUE.equals(ch.attr(COUNTED).getAndSet(false))) {
+            --openConnections;
+        }
+    }
+
+    /**
+     * Acquire the given number of channels from the pool at the same time and release them once they have all been
+     * acquired, which leaves at least that many connections open and idle in the pool. For HTTP/2 the acquired streams may
+     * share a connection, so this may open fewer connections.
+     */
+    public static CompletableFuture<Void> warmUp(ChannelPool pool, int connections) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        List<Future<Channel>> acquires = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            acquires.add(pool.acquire());
+        }
+
+        CompletableFuture<?>[] acquired = acquires.stream()
+                                                  .map(ConnectionWarmer::toCompletableFuture)
+                                                  .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(acquired).whenComplete((r, t) -> {
+            for (Future<Channel> acquire : acquires) {
+                if (acquire.isSuccess()) {
+                    pool.release(acquire.getNow());
+                }
+            }
+            if (t != null) {
+                result.completeExceptionally(t);
+            } else {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+
+    private static CompletableFuture<Channel> toCompletableFuture(Future<Channel> future) {
+        CompletableFuture<Channel> result = new CompletableFuture<>();
+        future.addListener(f -> {
+            if (f.isSuccess()) {
+                result.complete(future.getNow());
+            } else {
+                result.completeExceptionally(f.cause());
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+/**
+ * {@link SdkChannelPool} that keeps a separate channel pool per {@link EventLoop} and prefers the pool of the event loop
+ * the caller is running on, so that a request issued from an event loop thread is written and read on that same thread.
+ * Callers that are not on one of the event loops are spread across the partitions round-robin.
+ *
+ * <p>Each partition is a complete channel pool (with its own {@link HealthCheckedChannelPool},
+ * {@link software.amazon.awssdk.http.nio.netty.internal.utils.BetterFixedChannelPool}, etc.) whose connections are all
+ * registered on the partition's event loop. The maximum concurrency, the maximum number of pending acquires and the
+ * acquire timeout are enforced across all partitions by this pool.
+ */
+@SdkInternalApi
+public final class EventLoopAffineChannelPool implements SdkChannelPool {
+    private static final AttributeKey<Partition> LEASING_PARTITION = NettyUtils.getOrCreateAttributeKey(
+        "aws.http.nio.netty.async.eventLoopAffinePartition");
+
+    private final List<Partition> partitions;
+    private final Map<EventLoop, Partition> partitionsByEventLoop;
+    private final int maxConcurrency;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutMillis;
+
+    private final AtomicInteger nextPartition = new AtomicInteger();
+    private final AtomicInteger leasedCount = new AtomicInteger();
+    private final AtomicInteger pendingAcquireCount = new AtomicInteger();
+    private final Queue<PendingAcquire> pendingAcquires = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    public EventLoopAffineChannelPool(Map<EventLoop, SdkChannelPool> partitionPools, NettyConfiguration configuration) {
+        this(partitionPools,
+             configuration.maxConnections(),
+             configuration.maxPendingConnectionAcquires(),
+             configuration.connectionAcquireTimeoutMillis());
+    }
+
+    @SdkTestInternalApi
+    EventLoopAffineChannelPool(Map<EventLoop, SdkChannelPool> partitionPools,
+                               int maxConcurrency,
+                               int maxPendingAcquires,
+                               long acquireTimeoutMillis) {
+        if (partitionPools.isEmpty()) {
+            throw new IllegalArgumentException("At least one event loop partition is required");
+        }
+        List<Partition> partitionList = new ArrayList<>(partitionPools.size());
+        Map<EventLoop, Partition> byEventLoop = new IdentityHashMap<>();
+        partitionPools.forEach((eventLoop, pool) -> {
+            Partition partition = new Partition(eventLoop, pool);
+            partitionList.add(partition);
+            byEventLoop.put(eventLoop, partition);
+        });
+        this.partitions = Collections.unmodifiableList(partitionList);
+        this.partitionsByEventLoop = byEventLoop;
+        this.maxConcurrency = maxConcurrency;
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        Partition partition = selectPartition();
+        return acquire(partition, partition.eventLoop.newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        return acquire(selectPartition(), promise);
+    }
+
+    private Future<Channel> acquire(Partition partition, Promise<Channel> promise) {
+        if (closed) {
+            promise.setFailure(new IllegalStateException("Channel pool is closed!"));
+            return promise;
+        }
+
+        if (tryAcquirePermit()) {
+            acquireFromPartition(partition, promise);
+        } else {
+            queueAcquire(partition, promise);
+        }
+        return promise;
+    }
+
+    /**
+     * The partition of the event loop running the current thread if there is one, otherwise the next partition in
+     * round-robin order.
+     */
+    private Partition selectPartition() {
+        for (Partition partition : partitions) {
+            if (partition.eventLoop.inEventLoop()) {
+                return partition;
+            }
+        }
+        return partitions.get(Math.floorMod(nextPartition.getAndIncrement(), partitions.size()));
+    }
+
+    private void acquireFromPartition(Partition partition, Promise<Channel> promise) {
+        partition.used = true;
+        Promise<Channel> partitionPromise = partition.eventLoop.newPromise();
+        partitionPromise.addListener((Future<Channel> f) -> {
+            if (!f.isSuccess()) {
+                releasePermit();
+                promise.tryFailure(f.cause());
+                return;
+            }
+
+            Channel channel = f.getNow();
+            channel.attr(LEASING_PARTITION).set(partition);
+            if (!promise.trySuccess(channel)) {
+                // The caller gave up on this acquire (e.g. it was cancelled), give the channel back.
+                release(channel);
+            }
+        });
+        partition.pool.acquire(partitionPromise);
+    }
+
+    private void queueAcquire(Partition partition, Promise<Channel> promise) {
+        if (pendingAcquireCount.incrementAndGet() > maxPendingAcquires) {
+            pendingAcquireCount.decrementAndGet();
+            promise.setFailure(new IllegalStateException("Too many outstanding acquire operations"));
+            return;
+        }
+
+        PendingAcquire pendingAcquire = new PendingAcquire(partition, promise);
+        pendingAcquires.add(pendingAcquire);
+        pendingAcquire.timeoutFuture = partition.eventLoop.schedule(() -> {
+            if (pendingAcquire.claim()) {
+                pendingAcquires.remove(pendingAcquire);
+                pendingAcquireCount.decrementAndGet();
+                promise.tryFailure(new TimeoutException("Acquire operation took longer than configured maximum time"));
+            }
+        }, acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        // A permit may have been released between the failed tryAcquirePermit and the add above.
+        runPendingAcquires();
+    }
+
+    private void runPendingAcquires() {
+        while (!pendingAcquires.isEmpty()) {
+            if (!tryAcquirePermit()) {
+                return;
+            }
+
+            PendingAcquire pendingAcquire = pendingAcquires.poll();
+            if (pendingAcquire == null || !pendingAcquire.claim()) {
+                leasedCount.decrementAndGet();
+                continue;
+            }
+
+            pendingAcquireCount.decrementAndGet();
+            ScheduledFuture<?> timeoutFuture = pendingAcquire.timeoutFuture;
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+            acquireFromPartition(pendingAcquire.partition, pendingAcquire.promise);
+        }
+    }
+
+    private boolean tryAcquirePermit() {
+        while (true) {
+            int leased = leasedCount.get();
+            if (leased >= maxConcurrency) {
+                return false;
+            }
+            if (leasedCount.compareAndSet(leased, leased + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releasePermit() {
+        leasedCount.decrementAndGet();
+        runPendingAcquires();
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return release(channel, channel.eventLoop().newPromise());
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        Partition leasingPartition = channel.attr(LEASING_PARTITION).getAndSet(null);
+        if (leasingPartition == null) {
+            // Either already released, or not leased through this pool (e.g. an HTTP/2 parent connection). Let the owning
+            // partition deal with it without touching the concurrency accounting.
+            Partition owner = partitionsByEventLoop.get(channel.eventLoop());
+            if (owner == null) {
+                promise.setFailure(new IllegalArgumentException("Channel " + channel + " was not acquired from this pool"));
+                return promise;
+            }
+            return owner.pool.release(channel, promise);
+        }
+
+        leasingPartition.pool.release(channel).addListener(f -> {
+            releasePermit();
+            if (f.isSuccess()) {
+                promise.trySuccess(null);
+            } else {
+                promise.tryFailure(f.cause());
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (PendingAcquire pendingAcquire = pendingAcquires.poll();
+             pendingAcquire != null;
+             pendingAcquire = pendingAcquires.poll()) {
+            if (pendingAcquire.claim()) {
+                ScheduledFuture<?> timeoutFuture = pendingAcquire.timeoutFuture;
+                if (timeoutFuture != null) {
+                    timeoutFuture.cancel(false);
+                }
+                pendingAcquire.promise.tryFailure(new ClosedChannelException());
+            }
+        }
+        partitions.forEach(p -> p.pool.close());
+    }
+
+    /**
+     * Report the concurrency metrics for all partitions combined. Partitions that have never been used are skipped, since
+     * they have not negotiated a protocol yet and would never complete their metric collection.
+     */
+    @Override
+    public CompletableFuture<Void> collectChannelPoolMetrics(MetricCollector metrics) {
+        List<CompletableFuture<MetricCollection>> partitionMetrics = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (partition.used) {
+                MetricCollector collector = MetricCollector.create("EventLoopPartition");
+                partitionMetrics.add(partition.pool.collectChannelPoolMetrics(collector).thenApply(v -> collector.collect()));
+            }
+        }
+
+        return CompletableFuture.allOf(partitionMetrics.toArray(new CompletableFuture[0])).thenRun(() -> {
+            int availableConcurrency = 0;
+            for (CompletableFuture<MetricCollection> partitionMetric : partitionMetrics) {
+                for (Integer available : partitionMetric.join().metricValues(HttpMetric.AVAILABLE_CONCURRENCY)) {
+                    availableConcurrency += available;
+                }
+            }
+            metrics.reportMetric(HttpMetric.MAX_CONCURRENCY, maxConcurrency);
+            metrics.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, availableConcurrency);
+            metrics.reportMetric(HttpMetric.LEASED_CONCURRENCY, leasedCount.get());
+            metrics.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pendingAcquireCount.get());
+        });
+    }
+
+    @SdkTestInternalApi
+    int partitionCount() {
+        return partitions.size();
+    }
+
+    private static final class Partition {
+        private final EventLoop eventLoop;
+        private final SdkChannelPool pool;
+        private volatile boolean used;
+
+        private Partition(EventLoop eventLoop, SdkChannelPool pool) {
+            this.eventLoop = eventLoop;
+            this.pool = pool;
+        }
+    }
+
+    private static final class PendingAcquire {
+        private final Partition partition;
+        private final Promise<Channel> promise;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timeoutFuture;
+
+        private PendingAcquire(Partition partition, Promise<Channel> promise) {
+            this.partition = partition;
+            this.promise = promise;
+        }
+
+        /**
+         * Claim this acquire for either dispatching or timing it out, whichever happens first.
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.http.nio.netty.internal;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -41,10 +42,18 @@ public class IdleConnectionReaperHandler extends IdleStateHandler {
 
         boolean channelNotInUse = Boolean.FALSE.equals(ctx.channel().attr(ChannelAttributeKey.IN_USE).get());
 
-        if (channelNotInUse && ctx.channel().isOpen()) {
+        if (channelNotInUse && ctx.channel().isOpen() && canReap(ctx.channel())) {
             log.debug(ctx.channel(), () -> "Closing unused connection (" + ctx.channel().id() + ") because it has been idle for "
                                           + "longer than " + maxIdleTimeMillis + " milliseconds.");
             ctx.close();
         }
     }
+
+    /**
+     * Connections may only be reaped if that doesn't take the pool below its configured minimum number of connections.
+     */
+    private static boolean canReap(Channel channel) {
+        ConnectionWarmer connectionWarmer = channel.attr(ChannelAttributeKey.CONNECTION_WARMER).get();
+        return connectionWarmer == null || connectionWarmer.tryReap(channel);
+    }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.FileContent;
+import software.amazon.awssdk.internal.http.FileContentValidator;
+
+/**
+ * Publishes a region of a file as read-only, memory-mapped {@link ByteBuffer}s.
+ * <p>
+ * This is used for request content that is read from a file, but can't be sent as a {@link io.netty.channel.FileRegion}
+ * because something in the pipeline (such as TLS or HTTP/2 framing) needs to see its bytes. The region is mapped in slices
+ * of at most {@value #MAX_MAPPED_SLICE_SIZE} bytes, and each slice is published in chunks without being copied. Like the
+ * content publisher of a file, it fails instead of completing if the file was modified after it was subscribed to.
+ */
+@SdkInternalApi
+public final class MappedFilePublisher implements Publisher<ByteBuffer> {
+    private static final int MAX_MAPPED_SLICE_SIZE = 8 * 1024 * 1024;
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final FileContent fileContent;
+    private final int chunkSizeInBytes;
+
+    MappedFilePublisher(FileContent fileContent, int chunkSizeInBytes) {
+        this.fileContent = fileContent;
+        this.chunkSizeInBytes = chunkSizeInBytes;
+    }
+
+    public static MappedFilePublisher create(FileContent fileContent) {
+        return new MappedFilePublisher(fileContent, DEFAULT_CHUNK_SIZE);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        FileContentValidator validator;
+        try {
+            validator = FileContentValidator.start(fileContent);
+        } catch (IOException | RuntimeException e) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new MappedFileSubscription(subscriber, validator));
+    }
+
+    private final class MappedFileSubscription implements Subscription {
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final FileContentValidator validator;
+
+        /**
+         * The offset in the file and the number of bytes of the content that have not been published yet. These are only
+         * accessed by the thread that is draining.
+         */
+        private long position = fileContent.position();
+        private long remaining = fileContent.length();
+        private MappedByteBuffer slice;
+
+        private long demand;
+        private boolean draining;
+        private boolean done;
+
+        private MappedFileSubscription(Subscriber<? super ByteBuffer> subscriber, FileContentValidator validator) {
+            this.subscriber = subscriber;
+            this.validator = validator;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (n <= 0) {
+                    done = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+
+            if (n <= 0) {
+                subscriber.onError(new IllegalArgumentException("Demand must be positive, but was " + n + " (see "
+                                                                + "Reactive Streams rule 3.9)"));
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            done = true;
+        }
+
+        private void drain() {
+            while (true) {
+                boolean complete = remaining == 0;
+                synchronized (this) {
+                    if (done || (!complete && demand == 0)) {
+                        draining = false;
+                        return;
+                    }
+                    if (complete) {
+                        done = true;
+                    } else {
+                        demand--;
+                    }
+                }
+
+                if (complete) {
+                    complete();
+                    return;
+                }
+
+                ByteBuffer chunk;
+                try {
+                    chunk = nextChunk();
+                } catch (IOException | RuntimeException e) {
+                    synchronized (this) {
+                        done = true;
+                    }
+                    subscriber.onError(e);
+                    return;
+                }
+                subscriber.onNext(chunk);
+            }
+        }
+
+        private void complete() {
+            try {
+                validator.validateUnchanged();
+            } catch (IOException e) {
+                subscriber.onError(e);
+                return;
+            }
+            subscriber.onComplete();
+        }
+
+        private ByteBuffer nextChunk() throws IOException {
+            if (slice == null || !slice.hasRemaining()) {
+                slice = mapSlice(Math.min(remaining, MAX_MAPPED_SLICE_SIZE));
+            }
+
+            int chunkSize = Math.min(chunkSizeInBytes, slice.remaining());
+            ByteBuffer chunk = slice.duplicate();
+            chunk.limit(chunk.position() + chunkSize);
+            slice.position(slice.position() + chunkSize);
+            position += chunkSize;
+            remaining -= chunkSize;
+            return chunk;
+        }
+
+        private MappedByteBuffer mapSlice(long sliceSize) throws IOException {
+            // The mapping stays valid once the channel is closed
+            try (FileChannel channel = FileChannel.open(fileContent.path(), StandardOpenOption.READ)) {
+                // Reading a mapping past the end of the file is fatal rather than an IOException, so check up front.
+                if (channel.size() < position + sliceSize) {
+                    throw new IOException("File " + fileContent.path() + " is " + channel.size() + " bytes, but the request "
+                                          + "content ends at byte " + (fileContent.position() + fileContent.length()) + ".");
+                }
+                return channel.map(FileChannel.MapMode.READ_ONLY, position, sliceSize);
+            }
+        }
+    }
+}
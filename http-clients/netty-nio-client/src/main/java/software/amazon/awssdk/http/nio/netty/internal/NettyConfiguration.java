@@ -107,4 +107,12 @@ public final class NettyConfiguration {
     public Duration tlsHandshakeTimeout() {
         return configuration.get(SdkHttpConfigurationOption.TLS_NEGOTIATION_TIMEOUT);
     }
+
+    public Integer tlsSessionCacheSize() {
+        return configuration.get(SdkHttpConfigurationOption.TLS_SESSION_CACHE_SIZE);
+    }
+
+    public Duration tlsSessionTimeout() {
+        return configuration.get(SdkHttpConfigurationOption.TLS_SESSION_TIMEOUT);
+    }
 }
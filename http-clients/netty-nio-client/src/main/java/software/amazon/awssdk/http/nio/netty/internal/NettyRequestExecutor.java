@@ -33,13 +33,17 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
 import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import io.netty.util.Attribute;
@@ -59,16 +63,22 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.FileContent;
 import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
 import software.amazon.awssdk.http.nio.netty.internal.http2.FlushOnReadHandler;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2StreamExceptionHandler;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2ToHttpInboundAdapter;
 import software.amazon.awssdk.http.nio.netty.internal.http2.HttpToHttp2OutboundAdapter;
+import software.amazon.awssdk.http.nio.netty.internal.nrs.FileRegionHttpRequest;
 import software.amazon.awssdk.http.nio.netty.internal.nrs.HttpStreamsClientHandler;
 import software.amazon.awssdk.http.nio.netty.internal.nrs.StreamedHttpRequest;
+import software.amazon.awssdk.http.nio.netty.internal.utils.AllocatorReleasingByteBufs;
 import software.amazon.awssdk.http.nio.netty.internal.utils.ChannelUtils;
 import software.amazon.awssdk.http.nio.netty.internal.utils.NettyClientLogger;
 import software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils;
+import software.amazon.awssdk.internal.http.FileContentValidator;
 import software.amazon.awssdk.metrics.MetricCollector;
 
 @SdkInternalApi
@@ -178,6 +188,7 @@ public final class NettyRequestExecutor {
             NettyUtils.doInEventLoop(channel.eventLoop(), () -> {
                 try {
                     configureChannel();
+                    NettyRequestMetrics.publishTlsHandshakeMetrics(context.metricCollector(), channel);
                     configurePipeline();
                     makeRequest();
                 } catch (Throwable t) {
@@ -242,9 +253,7 @@ public final class NettyRequestExecutor {
     private void writeRequest(HttpRequest request) {
         channel.pipeline().addFirst(new WriteTimeoutHandler(context.configuration().writeTimeoutMillis(),
                                                             TimeUnit.MILLISECONDS));
-        StreamedRequest streamedRequest = new StreamedRequest(request,
-                                                              context.executeRequest().requestContentPublisher());
-        channel.writeAndFlush(streamedRequest)
+        channel.writeAndFlush(requestWithContent(request))
                .addListener(wireCall -> {
                    // Done writing so remove the idle write timeout handler
                    ChannelUtils.removeIfExists(channel.pipeline(), WriteTimeoutHandler.class);
@@ -280,6 +289,43 @@ public final class NettyRequestExecutor {
         }
     }
 
+    /**
+     * Attach the request content to the request.
+     * <p>
+     * If the content is a region of a file, and nothing between the HTTP codec and the socket needs to see its bytes, the
+     * region is sent as a {@link DefaultFileRegion} so the transport can send it with
+     * {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}. If something does
+     * (TLS or HTTP/2), the file is memory-mapped instead of being read through the content publisher.
+     */
+    private HttpRequest requestWithContent(HttpRequest request) {
+        SdkHttpContentPublisher publisher = context.executeRequest().requestContentPublisher();
+        Optional<FileContent> fileContent = publisher.fileContent()
+                                                     .filter(FileContentValidator::isOnDefaultFileSystem)
+                                                     .filter(f -> isContentLength(request, f.length()));
+        if (fileContent.isPresent()) {
+            if (canSendFileRegion(request)) {
+                return new FileRegionRequest(request, fileContent.get());
+            }
+            return new StreamedRequest(request, MappedFilePublisher.create(fileContent.get()), null);
+        }
+        return new StreamedRequest(request, publisher, context.executeRequest().bufferAllocator().orElse(null));
+    }
+
+    /**
+     * A file region is written right after the headers, so it is not used when the body must wait for a 100 Continue
+     * response, which only streamed requests do.
+     */
+    private boolean canSendFileRegion(HttpRequest request) {
+        return requestAdapter == REQUEST_ADAPTER_HTTP1_1
+               && channel.pipeline().get(SslHandler.class) == null
+               && !HttpUtil.is100ContinueExpected(request)
+               && !shouldExplicitlyTriggerRead();
+    }
+
+    private static boolean isContentLength(HttpRequest request, long length) {
+        return StreamedRequest.contentLength(request).filter(cl -> cl == length).isPresent();
+    }
+
     /**
      * It should explicitly trigger Read for the following situations:
      *
@@ -407,25 +453,54 @@ public final class NettyRequestExecutor {
         }
     }
 
+    /**
+     * A request whose body is a region of a file, which is written to the channel as a {@link DefaultFileRegion}.
+     */
+    private static class FileRegionRequest extends DelegateHttpRequest implements FileRegionHttpRequest {
+        private final FileContent fileContent;
+        private FileContentValidator validator;
+
+        FileRegionRequest(HttpRequest request, FileContent fileContent) {
+            super(request);
+            this.fileContent = fileContent;
+        }
+
+        @Override
+        public FileRegion fileRegion() throws IOException {
+            validator = FileContentValidator.start(fileContent);
+            return new DefaultFileRegion(fileContent.path().toFile(), fileContent.position(), fileContent.length());
+        }
+
+        @Override
+        public void fileRegionWritten() throws IOException {
+            validator.validateUnchanged();
+        }
+    }
+
     /**
      * Decorator around {@link StreamedHttpRequest} to adapt a publisher of {@link ByteBuffer} (i.e. {@link
      * software.amazon.awssdk.http.async.SdkHttpContentPublisher}) to a publisher of {@link HttpContent}.
      * <p>
      * This publisher also prevents the adapted publisher from publishing more content to the subscriber than
      * the specified 'Content-Length' of the request.
+     * <p>
+     * If the request has a {@link ByteBufferAllocator}, each buffer is released to it once Netty has released the content
+     * wrapping it.
      */
     private static class StreamedRequest extends DelegateHttpRequest implements StreamedHttpRequest {
 
         private final Publisher<ByteBuffer> publisher;
         private final Optional<Long> requestContentLength;
+        private final ByteBufferAllocator bufferAllocator;
         private long written = 0L;
         private boolean done;
         private Subscription subscription;
 
-        StreamedRequest(HttpRequest request, Publisher<ByteBuffer> publisher) {
+        StreamedRequest(HttpRequest request, Publisher<ByteBuffer> publisher, ByteBufferAllocator bufferAllocator) {
             super(request);
             this.publisher = publisher;
             this.requestContentLength = contentLength(request);
+            this.bufferAllocator = bufferAllocator;
         }
 
         @Override
@@ -440,13 +515,18 @@ public final class NettyRequestExecutor {
                 @Override
                 public void onNext(ByteBuffer contentBytes) {
                     if (done) {
+                        if (bufferAllocator != null) {
+                            bufferAllocator.release(contentBytes);
+                        }
                         return;
                     }
 
                     try {
                         int newLimit = clampedBufferLimit(contentBytes.remaining());
-                        contentBytes.limit(newLimit);
-                        ByteBuf contentByteBuf = Unpooled.wrappedBuffer(contentBytes);
+                        contentBytes.limit(contentBytes.position() + newLimit);
+                        ByteBuf contentByteBuf = bufferAllocator == null
+                                                 ? Unpooled.wrappedBuffer(contentBytes)
+                                                 : AllocatorReleasingByteBufs.wrap(contentBytes, bufferAllocator);
                         HttpContent content = new DefaultHttpContent(contentByteBuf);
 
                         subscriber.onNext(content);
@@ -18,6 +18,7 @@ package software.amazon.awssdk.http.nio.netty.internal;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http2.Http2Connection;
 import io.netty.handler.codec.http2.Http2Stream;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.Future;
 import java.time.Duration;
 import java.time.Instant;
@@ -25,6 +26,7 @@ import java.util.Optional;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.Http2Metric;
+import software.amazon.awssdk.http.HttpMetric;
 import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.metrics.NoOpMetricCollector;
 
@@ -63,6 +65,26 @@ public class NettyRequestMetrics {
         });
     }
 
+    /**
+     * Publish whether the TLS handshake of the provided channel's connection resumed a cached session, if it has not already
+     * been published for an earlier request using the same connection. Connections may be acquired before their handshake is
+     * complete, in which case this is published when it completes.
+     */
+    public static void publishTlsHandshakeMetrics(MetricCollector metricCollector, Channel channel) {
+        Channel connection = channel.parent() == null ? channel : channel.parent();
+        SslHandler sslHandler = connection.pipeline().get(SslHandler.class);
+        if (sslHandler == null) {
+            return;
+        }
+
+        sslHandler.handshakeFuture().addListener(f -> {
+            Boolean sessionResumed = connection.attr(ChannelAttributeKey.TLS_SESSION_RESUMED).getAndSet(null);
+            if (sessionResumed != null && metricsAreEnabled(metricCollector)) {
+                metricCollector.reportMetric(HttpMetric.TLS_SESSION_RESUMED, sessionResumed);
+            }
+        });
+    }
+
     private static Optional<Http2Connection> getHttp2Connection(Channel channel) {
         Channel parentChannel = channel.parent();
         if (parentChannel == null) {
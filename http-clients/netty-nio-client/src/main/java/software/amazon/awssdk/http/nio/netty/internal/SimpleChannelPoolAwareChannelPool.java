@@ -18,6 +18,9 @@ package software.amazon.awssdk.http.nio.netty.internal;
 import io.netty.channel.Channel;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.Promise;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.metrics.MetricCollector;
@@ -25,11 +28,15 @@ import software.amazon.awssdk.metrics.MetricCollector;
 @SdkInternalApi
 final class SimpleChannelPoolAwareChannelPool implements SdkChannelPool {
     private final SdkChannelPool delegate;
-    private final BetterSimpleChannelPool simpleChannelPool;
+    private final List<BetterSimpleChannelPool> simpleChannelPools;
 
     SimpleChannelPoolAwareChannelPool(SdkChannelPool delegate, BetterSimpleChannelPool simpleChannelPool) {
+        this(delegate, Collections.singletonList(simpleChannelPool));
+    }
+
+    SimpleChannelPoolAwareChannelPool(SdkChannelPool delegate, List<BetterSimpleChannelPool> simpleChannelPools) {
         this.delegate = delegate;
-        this.simpleChannelPool = simpleChannelPool;
+        this.simpleChannelPools = Collections.unmodifiableList(new ArrayList<>(simpleChannelPools));
     }
 
     @Override
@@ -58,7 +65,14 @@ final class SimpleChannelPoolAwareChannelPool implements SdkChannelPool {
     }
 
     public BetterSimpleChannelPool underlyingSimpleChannelPool() {
-        return simpleChannelPool;
+        return simpleChannelPools.get(0);
+    }
+
+    /**
+     * @return All of the underlying simple channel pools, one per event loop when the pool is partitioned by event loop.
+     */
+    public List<BetterSimpleChannelPool> underlyingSimpleChannelPools() {
+        return simpleChannelPools;
     }
 
     @Override
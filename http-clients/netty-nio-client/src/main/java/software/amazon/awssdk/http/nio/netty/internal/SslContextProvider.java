@@ -16,11 +16,13 @@
 package software.amazon.awssdk.http.nio.netty.internal;
 
 import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.OpenSslSessionContext;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import java.time.Duration;
 import java.util.List;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
@@ -40,27 +42,69 @@ public final class SslContextProvider {
     private final SslProvider sslProvider;
     private final TrustManagerFactory trustManagerFactory;
     private final KeyManagerFactory keyManagerFactory;
+    private final Integer sessionCacheSize;
+    private final Duration sessionTimeout;
+
+    private volatile SslContext sslContext;
 
     public SslContextProvider(NettyConfiguration configuration, Protocol protocol, SslProvider sslProvider) {
         this.protocol = protocol;
         this.sslProvider = sslProvider;
         this.trustManagerFactory = getTrustManager(configuration);
         this.keyManagerFactory = getKeyManager(configuration);
+        this.sessionCacheSize = configuration.tlsSessionCacheSize();
+        this.sessionTimeout = configuration.tlsSessionTimeout();
     }
 
+    /**
+     * The SSL context is shared by all the connection pools of a client, so that they share a TLS session cache and a
+     * connection to a host can resume the session negotiated by a previous connection to that host.
+     */
     public SslContext sslContext() {
+        SslContext result = sslContext;
+        if (result == null) {
+            synchronized (this) {
+                result = sslContext;
+                if (result == null) {
+                    result = createSslContext();
+                    sslContext = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private SslContext createSslContext() {
         try {
-            return SslContextBuilder.forClient()
-                                    .sslProvider(sslProvider)
-                                    .ciphers(getCiphers(), SupportedCipherSuiteFilter.INSTANCE)
-                                    .trustManager(trustManagerFactory)
-                                    .keyManager(keyManagerFactory)
-                                    .build();
+            SslContextBuilder builder = SslContextBuilder.forClient()
+                                                         .sslProvider(sslProvider)
+                                                         .ciphers(getCiphers(), SupportedCipherSuiteFilter.INSTANCE)
+                                                         .trustManager(trustManagerFactory)
+                                                         .keyManager(keyManagerFactory);
+            if (sessionCacheSize != null) {
+                builder.sessionCacheSize(sessionCacheSize);
+            }
+            if (sessionTimeout != null) {
+                builder.sessionTimeout(sessionTimeout.getSeconds());
+            }
+            SslContext context = builder.build();
+            enableOpenSslClientSessionCache(context);
+            return context;
         } catch (SSLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Netty's OpenSSL client contexts don't cache sessions unless enabled through a system property, so enable the cache
+     * explicitly to match the behavior of the JDK provider.
+     */
+    private static void enableOpenSslClientSessionCache(SslContext context) {
+        if (context.sessionContext() instanceof OpenSslSessionContext) {
+            ((OpenSslSessionContext) context.sessionContext()).setSessionCacheEnabled(true);
+        }
+    }
+
     /**
      * HTTP/2: per Rfc7540, there is a blocked list of cipher suites for HTTP/2, so setting
      * the recommended cipher suites directly here
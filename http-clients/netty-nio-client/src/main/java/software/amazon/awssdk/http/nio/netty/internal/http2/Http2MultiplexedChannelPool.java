@@ -43,6 +43,7 @@ import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -64,8 +65,16 @@ import software.amazon.awssdk.utils.Validate;
  * {@link ChannelPool} implementation that handles multiplexed streams. Child channels are created
  * for each HTTP/2 stream using {@link Http2StreamChannelBootstrap} with the parent channel being
  * the actual socket channel. This implementation assumes that all connections have the same setting
- * for MAX_CONCURRENT_STREAMS. Concurrent requests are load balanced across all available connections,
- * when the max concurrency for a connection is reached then a new connection will be opened.
+ * for MAX_CONCURRENT_STREAMS. Each new stream is created on the connection with the fewest active streams, preferring the
+ * connection with the largest flow control window for sending data when there is a tie. When the max concurrency for every
+ * connection is reached then a new connection will be opened.
+ *
+ * <p>
+ * If a stream utilization threshold is configured, an additional connection is opened ahead of demand as soon as every
+ * connection reaches that fraction of its MAX_CONCURRENT_STREAMS, so that new streams don't have to wait for a connection to be
+ * established once the existing connections are full. A connection that receives a GOAWAY frame stops accepting new streams,
+ * lets the streams it is still allowed to complete finish, and is then closed.
+ * </p>
  *
  * <p>
  * <b>Note:</b> This enforces no max concurrency. Relies on being wrapped with a {@link BetterFixedChannelPool}
@@ -92,6 +101,8 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
     private final EventLoopGroup eventLoopGroup;
     private final Set<MultiplexedChannelRecord> connections;
     private final Duration idleConnectionTimeout;
+    private final Double streamUtilizationThreshold;
+    private final AtomicBoolean openingConnectionAheadOfDemand = new AtomicBoolean(false);
 
     private AtomicBoolean closed = new AtomicBoolean(false);
 
@@ -101,10 +112,23 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
     Http2MultiplexedChannelPool(ChannelPool connectionPool,
                                 EventLoopGroup eventLoopGroup,
                                 Duration idleConnectionTimeout) {
+        this(connectionPool, eventLoopGroup, idleConnectionTimeout, null);
+    }
+
+    /**
+     * @param connectionPool Connection pool for parent channels (i.e. the socket channel).
+     * @param streamUtilizationThreshold The fraction of MAX_CONCURRENT_STREAMS in use on every connection at which an
+     * additional connection is opened ahead of demand, or null to only open connections when all of them are full.
+     */
+    Http2MultiplexedChannelPool(ChannelPool connectionPool,
+                                EventLoopGroup eventLoopGroup,
+                                Duration idleConnectionTimeout,
+                                Double streamUtilizationThreshold) {
         this.connectionPool = connectionPool;
         this.eventLoopGroup = eventLoopGroup;
         this.connections = ConcurrentHashMap.newKeySet();
         this.idleConnectionTimeout = idleConnectionTimeout;
+        this.streamUtilizationThreshold = streamUtilizationThreshold;
     }
 
     @SdkTestInternalApi
@@ -112,7 +136,16 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
                                 EventLoopGroup eventLoopGroup,
                                 Set<MultiplexedChannelRecord> connections,
                                 Duration idleConnectionTimeout) {
-        this(connectionPool, eventLoopGroup, idleConnectionTimeout);
+        this(connectionPool, eventLoopGroup, connections, idleConnectionTimeout, null);
+    }
+
+    @SdkTestInternalApi
+    Http2MultiplexedChannelPool(ChannelPool connectionPool,
+                                EventLoopGroup eventLoopGroup,
+                                Set<MultiplexedChannelRecord> connections,
+                                Duration idleConnectionTimeout,
+                                Double streamUtilizationThreshold) {
+        this(connectionPool, eventLoopGroup, idleConnectionTimeout, streamUtilizationThreshold);
         this.connections.addAll(connections);
     }
 
@@ -127,10 +160,9 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
             return promise.setFailure(new IOException("Channel pool is closed!"));
         }
 
-        for (MultiplexedChannelRecord multiplexedChannel : connections) {
-            if (acquireStreamOnInitializedConnection(multiplexedChannel, promise)) {
-                return promise;
-            }
+        if (acquireStreamOnLeastLoadedConnection(promise)) {
+            openConnectionAheadOfDemand();
+            return promise;
         }
 
         // No available streams on existing connections, establish new connection and add it to list
@@ -138,6 +170,99 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
         return promise;
     }
 
+    /**
+     * Acquire a stream on the connection with the fewest active streams, falling back to the next least loaded connection if
+     * the stream can't be claimed on it (e.g. because other streams were claimed on it concurrently). The connections that
+     * were tried are only tracked once a claim fails, so that the common case does not allocate.
+     */
+    private boolean acquireStreamOnLeastLoadedConnection(Promise<Channel> promise) {
+        Set<MultiplexedChannelRecord> tried = null;
+        MultiplexedChannelRecord leastLoaded;
+        while ((leastLoaded = leastLoaded(tried)) != null) {
+            if (acquireStreamOnInitializedConnection(leastLoaded, promise)) {
+                return true;
+            }
+            if (tried == null) {
+                tried = new HashSet<>();
+            }
+            tried.add(leastLoaded);
+        }
+        return false;
+    }
+
+    private MultiplexedChannelRecord leastLoaded(Set<MultiplexedChannelRecord> excluded) {
+        MultiplexedChannelRecord leastLoaded = null;
+        long leastActiveStreams = Long.MAX_VALUE;
+        int largestSendWindow = Integer.MIN_VALUE;
+        for (MultiplexedChannelRecord candidate : connections) {
+            if (excluded != null && excluded.contains(candidate)) {
+                continue;
+            }
+            long activeStreams = candidate.activeStreams();
+            int sendWindow = candidate.connectionSendWindow();
+            if (activeStreams < leastActiveStreams || activeStreams == leastActiveStreams && sendWindow > largestSendWindow) {
+                leastLoaded = candidate;
+                leastActiveStreams = activeStreams;
+                largestSendWindow = sendWindow;
+            }
+        }
+        return leastLoaded;
+    }
+
+    /**
+     * Open an additional connection if every connection that accepts new streams has reached the stream utilization threshold.
+     * Only one connection is opened ahead of demand at a time.
+     */
+    private void openConnectionAheadOfDemand() {
+        if (streamUtilizationThreshold == null || closed.get()) {
+            return;
+        }
+
+        for (MultiplexedChannelRecord connection : connections) {
+            if (connection.acceptsNewStreams() && connection.streamUtilization() < streamUtilizationThreshold) {
+                return;
+            }
+        }
+
+        if (!openingConnectionAheadOfDemand.compareAndSet(false, true)) {
+            return;
+        }
+
+        Future<Channel> newConnectionAcquire = connectionPool.acquire();
+        newConnectionAcquire.addListener(f -> {
+            if (!newConnectionAcquire.isSuccess()) {
+                log.debug(null, () -> "Failed to open a connection ahead of demand", newConnectionAcquire.cause());
+                openingConnectionAheadOfDemand.set(false);
+                return;
+            }
+
+            Channel parentChannel = newConnectionAcquire.getNow();
+            parentChannel.attr(HTTP2_MULTIPLEXED_CHANNEL_POOL).set(this);
+            parentChannel.attr(PROTOCOL_FUTURE).get().whenComplete((protocol, throwable) -> {
+                try {
+                    if (throwable != null) {
+                        closeAndReleaseParent(parentChannel, throwable);
+                        return;
+                    }
+
+                    MultiplexedChannelRecord multiplexedChannel = newMultiplexedChannelRecord(parentChannel, protocol);
+                    parentChannel.pipeline().addLast(ReleaseOnExceptionHandler.INSTANCE);
+                    connections.add(multiplexedChannel);
+                    multiplexedChannel.closeWhenIdle();
+
+                    if (closed.get()) {
+                        closeAndReleaseParent(parentChannel);
+                    }
+                } catch (Throwable e) {
+                    log.debug(parentChannel, () -> "Failed to open a connection ahead of demand " + parentChannel, e);
+                    closeAndReleaseParent(parentChannel, e);
+                } finally {
+                    openingConnectionAheadOfDemand.set(false);
+                }
+            });
+        });
+    }
+
     private void acquireStreamOnNewConnection(Promise<Channel> promise) {
         Future<Channel> newConnectionAcquire = connectionPool.acquire();
 
@@ -163,19 +288,7 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
 
     private void acquireStreamOnFreshConnection(Promise<Channel> promise, Channel parentChannel, Protocol protocol) {
         try {
-            Long maxStreams = parentChannel.attr(MAX_CONCURRENT_STREAMS).get();
-
-            Validate.isTrue(protocol == Protocol.HTTP2,
-                            "Protocol negotiated on connection (%s) was expected to be HTTP/2, but it "
-                            + "was %s.", parentChannel, Protocol.HTTP1_1);
-            Validate.isTrue(maxStreams != null,
-                            "HTTP/2 was negotiated on the connection (%s), but the maximum number of "
-                            + "streams was not initialized.", parentChannel);
-            Validate.isTrue(maxStreams > 0, "Maximum streams were not positive on channel (%s).", parentChannel);
-
-            MultiplexedChannelRecord multiplexedChannel = new MultiplexedChannelRecord(parentChannel, maxStreams,
-                                                                                       idleConnectionTimeout);
-            parentChannel.attr(MULTIPLEXED_CHANNEL).set(multiplexedChannel);
+            MultiplexedChannelRecord multiplexedChannel = newMultiplexedChannelRecord(parentChannel, protocol);
 
             Promise<Channel> streamPromise = parentChannel.eventLoop().newPromise();
 
@@ -199,6 +312,23 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
         }
     }
 
+    private MultiplexedChannelRecord newMultiplexedChannelRecord(Channel parentChannel, Protocol protocol) {
+        Long maxStreams = parentChannel.attr(MAX_CONCURRENT_STREAMS).get();
+
+        Validate.isTrue(protocol == Protocol.HTTP2,
+                        "Protocol negotiated on connection (%s) was expected to be HTTP/2, but it "
+                        + "was %s.", parentChannel, Protocol.HTTP1_1);
+        Validate.isTrue(maxStreams != null,
+                        "HTTP/2 was negotiated on the connection (%s), but the maximum number of "
+                        + "streams was not initialized.", parentChannel);
+        Validate.isTrue(maxStreams > 0, "Maximum streams were not positive on channel (%s).", parentChannel);
+
+        MultiplexedChannelRecord multiplexedChannel = new MultiplexedChannelRecord(parentChannel, maxStreams,
+                                                                                   idleConnectionTimeout);
+        parentChannel.attr(MULTIPLEXED_CHANNEL).set(multiplexedChannel);
+        return multiplexedChannel;
+    }
+
     private void cacheConnectionForFutureStreams(Channel stream,
                                                  MultiplexedChannelRecord multiplexedChannel,
                                                  Promise<Channel> promise) {
@@ -370,6 +500,16 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
 
             if (multiplexedChannel != null) {
                 multiplexedChannel.handleGoAway(lastStreamId, exception);
+
+                // The connection is drained once the streams it may still complete are released. If it has none, close it now.
+                doInEventLoop(parentChannel.eventLoop(), () -> {
+                    if (multiplexedChannel.canBeClosedAndReleased()) {
+                        closeAndReleaseParent(parentChannel);
+                    }
+                });
+
+                // Replace the connection ahead of demand if the remaining connections are already busy.
+                openConnectionAheadOfDemand();
             } else {
                 // If we don't have a multiplexed channel, the parent channel hasn't been fully initialized. Close it now.
                 closeAndReleaseParent(parentChannel, exception);
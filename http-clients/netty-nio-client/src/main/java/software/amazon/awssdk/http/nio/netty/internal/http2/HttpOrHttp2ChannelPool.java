@@ -48,6 +48,7 @@ public class HttpOrHttp2ChannelPool implements SdkChannelPool {
     private final EventLoopGroup eventLoopGroup;
     private final EventLoop eventLoop;
     private final NettyConfiguration configuration;
+    private final Double http2StreamUtilizationThreshold;
 
     private boolean protocolImplPromiseInitializationStarted = false;
     private Promise<ChannelPool> protocolImplPromise;
@@ -58,11 +59,20 @@ public class HttpOrHttp2ChannelPool implements SdkChannelPool {
                                   EventLoopGroup group,
                                   int maxConcurrency,
                                   NettyConfiguration configuration) {
+        this(delegatePool, group, maxConcurrency, configuration, null);
+    }
+
+    public HttpOrHttp2ChannelPool(ChannelPool delegatePool,
+                                  EventLoopGroup group,
+                                  int maxConcurrency,
+                                  NettyConfiguration configuration,
+                                  Double http2StreamUtilizationThreshold) {
         this.delegatePool = delegatePool;
         this.maxConcurrency = maxConcurrency;
         this.eventLoopGroup = group;
         this.eventLoop = group.next();
         this.configuration = configuration;
+        this.http2StreamUtilizationThreshold = http2StreamUtilizationThreshold;
         this.protocolImplPromise = eventLoop.newPromise();
     }
 
@@ -170,7 +180,8 @@ public class HttpOrHttp2ChannelPool implements SdkChannelPool {
         } else {
             Duration idleConnectionTimeout = configuration.reapIdleConnections()
                                              ? Duration.ofMillis(configuration.idleTimeoutMillis()) : null;
-            SdkChannelPool h2Pool = new Http2MultiplexedChannelPool(delegatePool, eventLoopGroup, idleConnectionTimeout);
+            SdkChannelPool h2Pool = new Http2MultiplexedChannelPool(delegatePool, eventLoopGroup, idleConnectionTimeout,
+                                                                    http2StreamUtilizationThreshold);
             protocolImpl = BetterFixedChannelPool.builder()
                                                  .channelPool(h2Pool)
                                                  .executor(eventLoop)
@@ -21,6 +21,7 @@ import static software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils.wa
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelId;
 import io.netty.channel.ChannelOutboundInvoker;
+import io.netty.handler.codec.http2.Http2Connection;
 import io.netty.handler.codec.http2.Http2GoAwayFrame;
 import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
@@ -68,6 +69,9 @@ public class MultiplexedChannelRecord {
 
     private volatile int lastStreamId;
 
+    // Only write in the connection.eventLoop()
+    private volatile int connectionSendWindow;
+
     MultiplexedChannelRecord(Channel connection, long maxConcurrencyPerConnection, Duration allowedIdleConnectionTime) {
         this.connection = connection;
         this.maxConcurrencyPerConnection = maxConcurrencyPerConnection;
@@ -114,6 +118,7 @@ public class MultiplexedChannelRecord {
                 channel.attr(ChannelAttributeKey.HTTP2_FRAME_STREAM).set(channel.stream());
                 channel.attr(ChannelAttributeKey.CHANNEL_DIAGNOSTICS).set(new ChannelDiagnostics(channel));
                 childChannels.put(channel.id(), channel);
+                updateConnectionSendWindow();
                 promise.setSuccess(channel);
 
                 if (closeIfIdleTask == null && allowedIdleConnectionTimeMillis != null) {
@@ -123,6 +128,19 @@ public class MultiplexedChannelRecord {
         }, promise);
     }
 
+    /**
+     * Start closing this connection once it has been idle for the allowed idle time, without waiting for a stream to be
+     * acquired on it first. This is used for connections that are opened before there is a request to use them.
+     */
+    void closeWhenIdle() {
+        lastReserveAttemptTimeMillis = System.currentTimeMillis();
+        doInEventLoop(connection.eventLoop(), () -> {
+            if (closeIfIdleTask == null && allowedIdleConnectionTimeMillis != null) {
+                enableCloseIfIdleTask();
+            }
+        });
+    }
+
     private void enableCloseIfIdleTask() {
         warnIfNotInEventLoop(connection.eventLoop());
 
@@ -235,10 +253,22 @@ public class MultiplexedChannelRecord {
         childChannel.close();
         doInEventLoop(connection.eventLoop(), () -> {
             childChannels.remove(childChannel.id());
+            updateConnectionSendWindow();
             releaseClaim();
         });
     }
 
+    /**
+     * Take a snapshot of how many bytes the remote endpoint currently allows us to send on this connection, so that it can be
+     * read outside the event loop when choosing a connection for a new stream.
+     */
+    private void updateConnectionSendWindow() {
+        Http2Connection http2Connection = connection.attr(ChannelAttributeKey.HTTP2_CONNECTION).get();
+        if (http2Connection != null) {
+            connectionSendWindow = http2Connection.remote().flowController().windowSize(http2Connection.connectionStream());
+        }
+    }
+
     private void closeIfIdle() {
         warnIfNotInEventLoop(connection.eventLoop());
 
@@ -300,6 +330,35 @@ public class MultiplexedChannelRecord {
         return false;
     }
 
+    /**
+     * @return The number of streams that are claimed on this connection.
+     */
+    long activeStreams() {
+        return maxConcurrencyPerConnection - availableChildChannels.get();
+    }
+
+    /**
+     * @return The fraction of the streams allowed on this connection that are claimed.
+     */
+    double streamUtilization() {
+        return (double) activeStreams() / maxConcurrencyPerConnection;
+    }
+
+    /**
+     * @return The connection-level flow control window for sending data, as of the last time a stream was acquired or
+     * released on this connection.
+     */
+    int connectionSendWindow() {
+        return connectionSendWindow;
+    }
+
+    /**
+     * @return Whether new streams may currently be acquired from this connection.
+     */
+    boolean acceptsNewStreams() {
+        return state == RecordState.OPEN && availableChildChannels.get() > 0;
+    }
+
     boolean canBeClosedAndReleased() {
         return state != RecordState.OPEN && availableChildChannels.get() == maxConcurrencyPerConnection;
     }
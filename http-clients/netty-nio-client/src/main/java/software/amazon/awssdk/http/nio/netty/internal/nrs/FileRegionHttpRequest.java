@@ -0,0 +1,46 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.nrs;
+
+import io.netty.channel.FileRegion;
+import io.netty.handler.codec.http.HttpRequest;
+import java.io.IOException;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * An {@link HttpRequest} whose entire body is a {@link FileRegion}. The region is written to the channel after the request
+ * headers, and passes through the HTTP codec untouched, so the transport can send it without copying it into user-space
+ * buffers.
+ *
+ * The request must have a Content-Length that matches the size of the region, and nothing between the HTTP codec and the
+ * socket may need to see the bytes of the body (for example, an {@link io.netty.handler.ssl.SslHandler}).
+ */
+@SdkInternalApi
+public interface FileRegionHttpRequest extends HttpRequest {
+
+    /**
+     * @return The body of the request. Called once, when the body starts being written.
+     * @throws IOException if the file can't be read.
+     */
+    FileRegion fileRegion() throws IOException;
+
+    /**
+     * Called after the body was written, but before the request is completed.
+     *
+     * @throws IOException if the request should fail instead, e.g. because the file was modified while it was written.
+     */
+    void fileRegionWritten() throws IOException;
+}
@@ -22,11 +22,14 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
 import io.netty.handler.codec.http.FullHttpMessage;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpMessage;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.PromiseCombiner;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.Queue;
 import org.reactivestreams.Publisher;
@@ -301,6 +304,55 @@ abstract class HttpStreamsHandler<InT extends HttpMessage, OutT extends HttpMess
                 }
             });
 
+        } else if (out.message instanceof FileRegionHttpRequest) {
+            FileRegionHttpRequest request = (FileRegionHttpRequest) out.message;
+            FileRegion fileRegion;
+            try {
+                fileRegion = request.fileRegion();
+            } catch (IOException e) {
+                out.promise.tryFailure(e);
+                ctx.close();
+                return;
+            }
+
+            // Write the headers followed by the file region, which the HTTP codec forwards as is, and only end the request
+            // once the file is known to be unchanged
+            PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
+            combiner.add(ctx.write(out.message));
+            combiner.add(ctx.writeAndFlush(fileRegion));
+            ChannelPromise bodyPromise = ctx.newPromise();
+            combiner.finish(bodyPromise);
+            bodyPromise.addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture channelFuture) throws Exception {
+                    if (!channelFuture.isSuccess()) {
+                        out.promise.tryFailure(channelFuture.cause());
+                        return;
+                    }
+                    try {
+                        request.fileRegionWritten();
+                    } catch (IOException e) {
+                        out.promise.tryFailure(e);
+                        ctx.close();
+                        return;
+                    }
+                    ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT, out.promise);
+                }
+            });
+            out.promise.addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture channelFuture) throws Exception {
+                    executeInEventLoop(ctx, new Runnable() {
+                        @Override
+                        public void run() {
+                            sentOutMessage(ctx);
+                            outgoing.remove();
+                            flushNext(ctx);
+                        }
+                    });
+                }
+            });
+
         } else if (out.message instanceof StreamedHttpMessage) {
             StreamedHttpMessage streamed = (StreamedHttpMessage) out.message;
             HandlerSubscriber<HttpContent> subscriber = new HandlerSubscriber<HttpContent>(ctx.executor()) {
@@ -0,0 +1,89 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import java.nio.ByteBuffer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.async.ByteBufferAllocator;
+
+/**
+ * Wraps request content buffers in {@link ByteBuf}s that release the buffer to its {@link ByteBufferAllocator} once Netty
+ * has released the {@link ByteBuf}, which happens after its content has been written (or the write has failed).
+ */
+@SdkInternalApi
+public final class AllocatorReleasingByteBufs {
+
+    private AllocatorReleasingByteBufs() {
+    }
+
+    /**
+     * Wrap the remaining content of the given buffer without copying it. The wrapper holds the reference to the buffer that
+     * the caller received, and releases it to the allocator when the wrapper is released.
+     */
+    public static ByteBuf wrap(ByteBuffer buffer, ByteBufferAllocator allocator) {
+        if (!buffer.isReadOnly()) {
+            if (buffer.isDirect()) {
+                return new DirectByteBuf(buffer, allocator);
+            }
+            if (buffer.hasArray()) {
+                return new HeapByteBuf(buffer, allocator);
+            }
+        }
+        // Read-only buffers are never handed out by an allocator, so there is nothing to release
+        return Unpooled.wrappedBuffer(buffer);
+    }
+
+    private static final class HeapByteBuf extends UnpooledHeapByteBuf {
+        private final ByteBuffer buffer;
+        private final ByteBufferAllocator allocator;
+
+        private HeapByteBuf(ByteBuffer buffer, ByteBufferAllocator allocator) {
+            super(UnpooledByteBufAllocator.DEFAULT, buffer.array(), buffer.array().length);
+            this.buffer = buffer;
+            this.allocator = allocator;
+            setIndex(buffer.arrayOffset() + buffer.position(), buffer.arrayOffset() + buffer.limit());
+        }
+
+        @Override
+        protected void deallocate() {
+            super.deallocate();
+            allocator.release(buffer);
+        }
+    }
+
+    private static final class DirectByteBuf extends UnpooledDirectByteBuf {
+        private final ByteBuffer buffer;
+        private final ByteBufferAllocator allocator;
+
+        private DirectByteBuf(ByteBuffer buffer, ByteBufferAllocator allocator) {
+            // Wraps a slice of the buffer's remaining content, which is not freed when this is deallocated
+            super(UnpooledByteBufAllocator.DEFAULT, buffer, buffer.remaining());
+            this.buffer = buffer;
+            this.allocator = allocator;
+        }
+
+        @Override
+        protected void deallocate() {
+            super.deallocate();
+            allocator.release(buffer);
+        }
+    }
+}
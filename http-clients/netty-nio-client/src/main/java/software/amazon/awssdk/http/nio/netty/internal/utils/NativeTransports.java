@@ -0,0 +1,114 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+
+/**
+ * Detects which native Netty transports can be used in the current runtime and creates event loop groups for them.
+ *
+ * <p>The io_uring transport lives in the Netty incubator project and is not a dependency of this module, so it is only
+ * accessed reflectively. It is used when {@code netty-incubator-transport-native-io_uring} (with the native library for
+ * the current platform) is on the classpath and the kernel supports it.
+ */
+@SdkInternalApi
+public final class NativeTransports {
+    static final String IO_URING_CLASS = "io.netty.incubator.channel.uring.IOUring";
+    static final String IO_URING_EVENT_LOOP_GROUP_CLASS = "io.netty.incubator.channel.uring.IOUringEventLoopGroup";
+
+    private static final NettyClientLogger log = NettyClientLogger.getLogger(NativeTransports.class);
+
+    private static final boolean IO_URING_AVAILABLE = isAvailable(IO_URING_CLASS);
+    private static final boolean EPOLL_AVAILABLE = isEpollAvailable0();
+
+    private NativeTransports() {
+    }
+
+    public static boolean isIoUringAvailable() {
+        return IO_URING_AVAILABLE;
+    }
+
+    public static boolean isEpollAvailable() {
+        return EPOLL_AVAILABLE;
+    }
+
+    /**
+     * Resolve the transport that will actually be used for the requested one. io_uring falls back to epoll, and epoll
+     * falls back to NIO, when the requested transport is not available in this runtime.
+     */
+    public static SdkEventLoopGroup.Transport resolve(SdkEventLoopGroup.Transport requested) {
+        return resolve(requested, IO_URING_AVAILABLE, EPOLL_AVAILABLE);
+    }
+
+    static SdkEventLoopGroup.Transport resolve(SdkEventLoopGroup.Transport requested,
+                                              boolean ioUringAvailable,
+                                              boolean epollAvailable) {
+        switch (requested) {
+            case IO_URING:
+                if (ioUringAvailable) {
+                    return SdkEventLoopGroup.Transport.IO_URING;
+                }
+                log.debug(null, () -> "io_uring transport is not available, falling back to epoll");
+                return resolve(SdkEventLoopGroup.Transport.EPOLL, false, epollAvailable);
+            case EPOLL:
+                if (epollAvailable) {
+                    return SdkEventLoopGroup.Transport.EPOLL;
+                }
+                log.debug(null, () -> "epoll transport is not available, falling back to NIO");
+                return SdkEventLoopGroup.Transport.NIO;
+            case NIO:
+                return SdkEventLoopGroup.Transport.NIO;
+            default:
+                throw new IllegalArgumentException("Unknown transport: " + requested);
+        }
+    }
+
+    /**
+     * Create an io_uring event loop group. Callers must check {@link #isIoUringAvailable()} first.
+     */
+    public static EventLoopGroup newIoUringEventLoopGroup(int numberOfThreads, ThreadFactory threadFactory) {
+        try {
+            Class<?> groupClass = Class.forName(IO_URING_EVENT_LOOP_GROUP_CLASS);
+            Constructor<?> constructor = groupClass.getConstructor(int.class, ThreadFactory.class);
+            return (EventLoopGroup) constructor.newInstance(numberOfThreads, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create an io_uring event loop group", e);
+        }
+    }
+
+    private static boolean isAvailable(String transportClass) {
+        try {
+            Method isAvailable = Class.forName(transportClass).getMethod("isAvailable");
+            return (Boolean) isAvailable.invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean isEpollAvailable0() {
+        try {
+            return Epoll.isAvailable();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
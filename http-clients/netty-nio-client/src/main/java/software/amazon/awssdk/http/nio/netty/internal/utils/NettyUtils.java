@@ -41,6 +41,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.nio.netty.internal.ChannelDiagnostics;
 import software.amazon.awssdk.utils.FunctionalUtils;
@@ -315,6 +316,17 @@ public final class NettyUtils {
         return sslHandler;
     }
 
+    /**
+     * Whether a completed TLS handshake resumed a cached session rather than negotiating a new one, which is the case when
+     * the session was created before the handshake started.
+     *
+     * <p>Some TLS providers only track the session creation time to the second, so the start time is truncated to the second
+     * as well. A session resumed within a second of being created is therefore reported as a full handshake.
+     */
+    public static boolean isSessionResumed(SSLSession session, long handshakeStartMillis) {
+        return session != null && session.getCreationTime() < handshakeStartMillis - handshakeStartMillis % 1000;
+    }
+
     /**
      * Enable Hostname verification.
      *
@@ -89,4 +89,34 @@ public class Http2ConfigurationTest {
         expected.expect(IllegalArgumentException.class);
         Http2Configuration.builder().initialWindowSize(0);
     }
+
+    @Test
+    public void builder_streamUtilizationThreshold_roundTrip() {
+        Http2Configuration config1 = Http2Configuration.builder()
+                .streamUtilizationThreshold(0.8)
+                .build();
+
+        Http2Configuration config2 = config1.toBuilder().build();
+
+        assertThat(config2.streamUtilizationThreshold()).isEqualTo(0.8);
+        assertThat(config1).isEqualTo(config2);
+        assertThat(config1).isNotEqualTo(Http2Configuration.builder().build());
+    }
+
+    @Test
+    public void builder_streamUtilizationThreshold_nullValue_doesNotThrow() {
+        Http2Configuration.builder().streamUtilizationThreshold(null);
+    }
+
+    @Test
+    public void builder_streamUtilizationThreshold_0_throws() {
+        expected.expect(IllegalArgumentException.class);
+        Http2Configuration.builder().streamUtilizationThreshold(0.0);
+    }
+
+    @Test
+    public void builder_streamUtilizationThreshold_greaterThan1_throws() {
+        expected.expect(IllegalArgumentException.class);
+        Http2Configuration.builder().streamUtilizationThreshold(1.5);
+    }
 }
@@ -24,6 +24,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
 import static org.apache.commons.lang3.StringUtils.reverse;
@@ -43,6 +44,7 @@ import static software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClientTestU
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.http.Fault;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.google.common.jimfs.Jimfs;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelFuture;
@@ -53,12 +55,20 @@ import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.ssl.SslProvider;
 import io.netty.util.AttributeKey;
+import io.reactivex.Flowable;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadFactory;
@@ -74,6 +84,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
+import org.reactivestreams.Subscriber;
+import software.amazon.awssdk.http.FileContent;
 import software.amazon.awssdk.http.HttpMetric;
 import software.amazon.awssdk.http.HttpTestUtils;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
@@ -81,7 +93,9 @@ import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.PooledByteBufferAllocator;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
 import software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPool;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPoolMap;
@@ -456,6 +470,117 @@ public class NettyNioAsyncHttpClientWireMockTest {
         assertCanReceiveBasicRequest(client, uri, smallBody);
     }
 
+    @Test
+    public void eventLoopAffinity_canMakeRequestsOverHttpAndHttps() throws Exception {
+        SdkAsyncHttpClient affineClient = NettyNioAsyncHttpClient.builder()
+                                                                 .useEventLoopAffinity(true)
+                                                                 .eventLoopGroupBuilder(SdkEventLoopGroup.builder()
+                                                                                                         .numberOfThreads(2))
+                                                                 .buildWithDefaults(mapWithTrustAllCerts());
+        try {
+            for (int i = 0; i < 4; i++) {
+                mockServer.resetRequests();
+                assertCanReceiveBasicRequest(affineClient, URI.create("http://localhost:" + mockServer.port()),
+                                             randomAlphabetic(10));
+                mockServer.resetRequests();
+                assertCanReceiveBasicRequest(affineClient, URI.create("https://localhost:" + mockServer.httpsPort()),
+                                             randomAlphabetic(10));
+            }
+        } finally {
+            affineClient.close();
+        }
+    }
+
+    @Test
+    public void prewarmEndpoints_connectionsOpenedBeforeFirstRequest() throws Exception {
+        URI uri = URI.create("http://localhost:" + mockServer.port());
+        SdkAsyncHttpClient prewarmedClient = NettyNioAsyncHttpClient.builder()
+                                                                    .minConnections(2)
+                                                                    .prewarmEndpoints(uri)
+                                                                    .prewarmTimeout(Duration.ofSeconds(5))
+                                                                    .buildWithDefaults(mapWithTrustAllCerts());
+        try {
+            // The server is notified of new connections asynchronously
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (wiremockTrafficListener.openedConnections() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(wiremockTrafficListener.openedConnections()).isEqualTo(2);
+
+            // Stub through the rule rather than the admin API, which would open a connection of its own
+            mockServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody(randomAlphabetic(10))));
+            RecordingResponseHandler recorder = new RecordingResponseHandler();
+            prewarmedClient.execute(AsyncExecuteRequest.builder()
+                                                       .request(createRequest(uri))
+                                                       .requestContentPublisher(createProvider(""))
+                                                       .responseHandler(recorder)
+                                                       .build());
+            recorder.completeFuture.get(5, TimeUnit.SECONDS);
+
+            assertThat(wiremockTrafficListener.openedConnections()).isEqualTo(2);
+        } finally {
+            prewarmedClient.close();
+        }
+    }
+
+    @Test
+    public void tlsSessionResumed_jdkProvider_reportedForNewConnections() throws Exception {
+        SdkAsyncHttpClient customClient = tlsSessionCachingClient(SslProvider.JDK);
+        try {
+            mockServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withHeader("Connection", "close")));
+            URI uri = URI.create("https://localhost:" + mockServer.httpsPort());
+
+            MetricCollection first = executeWithMetrics(customClient, uri);
+            assertThat(first.metricValues(HttpMetric.TLS_SESSION_RESUMED)).containsExactly(false);
+
+            // Session creation times may only have a granularity of seconds
+            Thread.sleep(1_100);
+
+            MetricCollection second = executeWithMetrics(customClient, uri);
+            assertThat(second.metricValues(HttpMetric.TLS_SESSION_RESUMED)).containsExactly(true);
+        } finally {
+            customClient.close();
+        }
+    }
+
+    @Test
+    public void tlsSessionResumed_openSslProvider_reportedForNewConnections() throws Exception {
+        SdkAsyncHttpClient customClient = tlsSessionCachingClient(SslProvider.OPENSSL);
+        try {
+            mockServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withHeader("Connection", "close")));
+            URI uri = URI.create("https://localhost:" + mockServer.httpsPort());
+
+            MetricCollection first = executeWithMetrics(customClient, uri);
+            assertThat(first.metricValues(HttpMetric.TLS_SESSION_RESUMED)).containsExactly(false);
+
+            // Whether the JDK based test server accepts a session cached by OpenSSL depends on the native library, so only
+            // check that the handshake of the new connection is reported
+            MetricCollection second = executeWithMetrics(customClient, uri);
+            assertThat(second.metricValues(HttpMetric.TLS_SESSION_RESUMED)).hasSize(1);
+        } finally {
+            customClient.close();
+        }
+    }
+
+    private SdkAsyncHttpClient tlsSessionCachingClient(SslProvider sslProvider) {
+        return NettyNioAsyncHttpClient.builder()
+                                      .sslProvider(sslProvider)
+                                      .tlsSessionCacheSize(10)
+                                      .buildWithDefaults(mapWithTrustAllCerts());
+    }
+
+    private MetricCollection executeWithMetrics(SdkAsyncHttpClient client, URI uri) throws Exception {
+        RecordingResponseHandler recorder = new RecordingResponseHandler();
+        client.execute(AsyncExecuteRequest.builder()
+                                          .request(createRequest(uri))
+                                          .requestContentPublisher(createProvider(""))
+                                          .responseHandler(recorder)
+                                          .metricCollector(recorder.collector)
+                                          .build())
+              .get(5, TimeUnit.SECONDS);
+        return recorder.collector.collect();
+    }
+
     @Test
     public void canHandleLargerPayloadsOverHttp() throws Exception {
         String largishBody = randomAlphabetic(25000);
@@ -494,6 +619,158 @@ public class NettyNioAsyncHttpClientWireMockTest {
         assertThat(recorder.fullResponseAsString()).isEqualTo(reverse(body));
     }
 
+    @Test
+    public void requestContentFromAllocator_releasedToAllocatorOnceWritten() throws Exception {
+        String body = randomAlphabetic(50);
+        stubFor(any(urlEqualTo("/echo?reversed=true"))
+                        .withRequestBody(equalTo(body))
+                        .willReturn(aResponse().withBody(reverse(body))));
+        URI uri = URI.create("http://localhost:" + mockServer.port());
+        PooledByteBufferAllocator allocator = PooledByteBufferAllocator.builder().maxPooledBuffers(1).directMemory(true).build();
+        ByteBuffer content = allocator.allocate(body.length());
+        content.put(body.getBytes(StandardCharsets.UTF_8));
+        content.flip();
+
+        SdkHttpRequest request = createRequest(uri, "/echo", body, SdkHttpMethod.POST, singletonMap("reversed", "true"));
+
+        RecordingResponseHandler recorder = new RecordingResponseHandler();
+        client.execute(AsyncExecuteRequest.builder()
+                                          .request(request)
+                                          .requestContentPublisher(new SdkHttpContentPublisher() {
+                                              @Override
+                                              public Optional<Long> contentLength() {
+                                                  return Optional.of((long) body.length());
+                                              }
+
+                                              @Override
+                                              public void subscribe(Subscriber<? super ByteBuffer> s) {
+                                                  Flowable.just(content).subscribe(s);
+                                              }
+                                          })
+                                          .bufferAllocator(allocator)
+                                          .responseHandler(recorder)
+                                          .build());
+
+        recorder.completeFuture.get(5, TimeUnit.SECONDS);
+
+        assertThat(recorder.fullResponseAsString()).isEqualTo(reverse(body));
+        assertThat(allocator.allocate(body.length())).isSameAs(content);
+    }
+
+    @Test
+    public void fileContent_http_sentWithoutSubscribingToPublisher() throws Exception {
+        assertFileContentSentWithoutSubscribingToPublisher(URI.create("http://localhost:" + mockServer.port()));
+    }
+
+    @Test
+    public void fileContent_https_sentWithoutSubscribingToPublisher() throws Exception {
+        assertFileContentSentWithoutSubscribingToPublisher(URI.create("https://localhost:" + mockServer.httpsPort()));
+    }
+
+    @Test
+    public void fileContent_httpExpect100Continue_sentAfterContinueResponse() throws Exception {
+        assertFileContentSentWithoutSubscribingToPublisher(URI.create("http://localhost:" + mockServer.port()),
+                                                           singletonMap("Expect", "100-continue"));
+    }
+
+    private void assertFileContentSentWithoutSubscribingToPublisher(URI uri) throws Exception {
+        assertFileContentSentWithoutSubscribingToPublisher(uri, emptyMap());
+    }
+
+    private void assertFileContentSentWithoutSubscribingToPublisher(URI uri, Map<String, String> headers) throws Exception {
+        String fileContents = randomAlphabetic(200_000);
+        String body = fileContents.substring(10, 150_010);
+        stubFor(any(urlEqualTo("/echo?reversed=true"))
+                        .withRequestBody(equalTo(body))
+                        .willReturn(aResponse().withBody(reverse(body))));
+        Path file = Files.createTempFile("request-content", ".txt");
+        try {
+            Files.write(file, fileContents.getBytes(StandardCharsets.UTF_8));
+            SdkHttpFullRequest.Builder requestBuilder =
+                createRequest(uri, "/echo", body, SdkHttpMethod.POST, singletonMap("reversed", "true")).toBuilder();
+            headers.forEach(requestBuilder::putHeader);
+            SdkHttpRequest request = requestBuilder.build();
+
+            RecordingResponseHandler recorder = new RecordingResponseHandler();
+            client.execute(AsyncExecuteRequest.builder()
+                                              .request(request)
+                                              .requestContentPublisher(new SdkHttpContentPublisher() {
+                                                  @Override
+                                                  public Optional<Long> contentLength() {
+                                                      return Optional.of((long) body.length());
+                                                  }
+
+                                                  @Override
+                                                  public Optional<FileContent> fileContent() {
+                                                      return Optional.of(FileContent.create(file, 10, body.length()));
+                                                  }
+
+                                                  @Override
+                                                  public void subscribe(Subscriber<? super ByteBuffer> s) {
+                                                      Flowable.<ByteBuffer>error(new IllegalStateException("Subscribed"))
+                                                              .subscribe(s);
+                                                  }
+                                              })
+                                              .responseHandler(recorder)
+                                              .build());
+
+            recorder.completeFuture.get(5, TimeUnit.SECONDS);
+
+            assertThat(recorder.fullResponseAsString()).isEqualTo(reverse(body));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void fileContentNotOnDefaultFileSystem_http_sentThroughPublisher() throws Exception {
+        assertFileContentNotOnDefaultFileSystemSentThroughPublisher(URI.create("http://localhost:" + mockServer.port()));
+    }
+
+    @Test
+    public void fileContentNotOnDefaultFileSystem_https_sentThroughPublisher() throws Exception {
+        assertFileContentNotOnDefaultFileSystemSentThroughPublisher(URI.create("https://localhost:" + mockServer.httpsPort()));
+    }
+
+    private void assertFileContentNotOnDefaultFileSystemSentThroughPublisher(URI uri) throws Exception {
+        String body = randomAlphabetic(1000);
+        stubFor(any(urlEqualTo("/echo?reversed=true"))
+                        .withRequestBody(equalTo(body))
+                        .willReturn(aResponse().withBody(reverse(body))));
+        try (FileSystem jimfs = Jimfs.newFileSystem()) {
+            Path file = jimfs.getPath("request-content.txt");
+            Files.write(file, body.getBytes(StandardCharsets.UTF_8));
+            SdkHttpRequest request = createRequest(uri, "/echo", body, SdkHttpMethod.POST, singletonMap("reversed", "true"));
+
+            RecordingResponseHandler recorder = new RecordingResponseHandler();
+            client.execute(AsyncExecuteRequest.builder()
+                                              .request(request)
+                                              .requestContentPublisher(new SdkHttpContentPublisher() {
+                                                  @Override
+                                                  public Optional<Long> contentLength() {
+                                                      return Optional.of((long) body.length());
+                                                  }
+
+                                                  @Override
+                                                  public Optional<FileContent> fileContent() {
+                                                      return Optional.of(FileContent.create(file, 0, body.length()));
+                                                  }
+
+                                                  @Override
+                                                  public void subscribe(Subscriber<? super ByteBuffer> s) {
+                                                      Flowable.just(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)))
+                                                              .subscribe(s);
+                                                  }
+                                              })
+                                              .responseHandler(recorder)
+                                              .build());
+
+            recorder.completeFuture.get(5, TimeUnit.SECONDS);
+
+            assertThat(recorder.fullResponseAsString()).isEqualTo(reverse(body));
+        }
+    }
+
     @Test
     public void requestContentOnlyEqualToContentLengthHeaderFromProvider() throws InterruptedException, ExecutionException, TimeoutException, IOException {
         final String content = randomAlphabetic(32);
@@ -19,6 +19,7 @@ import com.github.tomakehurst.wiremock.http.trafficlistener.WiremockNetworkTraff
 import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Simple implementation of {@link WiremockNetworkTrafficListener} to record all requests received as a string for later
@@ -26,11 +27,12 @@ import java.nio.charset.StandardCharsets;
  */
 public class RecordingNetworkTrafficListener implements WiremockNetworkTrafficListener {
     private final StringBuilder requests = new StringBuilder();
+    private final AtomicInteger openedConnections = new AtomicInteger();
 
 
     @Override
     public void opened(Socket socket) {
-
+        openedConnections.incrementAndGet();
     }
 
     @Override
@@ -50,9 +52,14 @@ public class RecordingNetworkTrafficListener implements WiremockNetworkTrafficLi
 
     public void reset() {
         requests.setLength(0);
+        openedConnections.set(0);
     }
 
     public StringBuilder requests() {
         return requests;
     }
+
+    public int openedConnections() {
+        return openedConnections.get();
+    }
 }
\ No newline at end of file
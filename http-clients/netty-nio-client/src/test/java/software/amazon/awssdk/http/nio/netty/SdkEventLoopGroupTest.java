@@ -18,6 +18,7 @@ package software.amazon.awssdk.http.nio.netty;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
@@ -39,12 +40,61 @@ public class SdkEventLoopGroupTest {
         assertThat(sdkEventLoopGroup.eventLoopGroup()).isNotNull();
     }
 
+    @Test
+    public void builder_noTransport_usesNio() {
+        SdkEventLoopGroup sdkEventLoopGroup = SdkEventLoopGroup.builder().numberOfThreads(1).build();
+        try {
+            assertThat(sdkEventLoopGroup.transport()).hasValue(SdkEventLoopGroup.Transport.NIO);
+            assertThat(sdkEventLoopGroup.eventLoopGroup()).isInstanceOf(NioEventLoopGroup.class);
+            assertThat(sdkEventLoopGroup.channelFactory().newChannel()).isInstanceOf(NioSocketChannel.class);
+            assertThat(sdkEventLoopGroup.datagramChannelFactory().newChannel()).isInstanceOf(NioDatagramChannel.class);
+        } finally {
+            sdkEventLoopGroup.eventLoopGroup().shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void builder_ioUringTransport_usesBestAvailableTransport() {
+        SdkEventLoopGroup sdkEventLoopGroup = SdkEventLoopGroup.builder()
+                                                               .numberOfThreads(1)
+                                                               .transport(SdkEventLoopGroup.Transport.IO_URING)
+                                                               .build();
+        try {
+            if (Epoll.isAvailable()) {
+                assertThat(sdkEventLoopGroup.transport()).hasValue(SdkEventLoopGroup.Transport.EPOLL);
+                assertThat(sdkEventLoopGroup.eventLoopGroup()).isInstanceOf(EpollEventLoopGroup.class);
+                assertThat(sdkEventLoopGroup.channelFactory().newChannel()).isInstanceOf(EpollSocketChannel.class);
+                assertThat(sdkEventLoopGroup.datagramChannelFactory().newChannel()).isInstanceOf(EpollDatagramChannel.class);
+            } else {
+                assertThat(sdkEventLoopGroup.transport()).hasValue(SdkEventLoopGroup.Transport.NIO);
+                assertThat(sdkEventLoopGroup.eventLoopGroup()).isInstanceOf(NioEventLoopGroup.class);
+                assertThat(sdkEventLoopGroup.channelFactory().newChannel()).isInstanceOf(NioSocketChannel.class);
+            }
+        } finally {
+            sdkEventLoopGroup.eventLoopGroup().shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void builder_explicitChannelFactory_isKept() {
+        SdkEventLoopGroup sdkEventLoopGroup = SdkEventLoopGroup.builder()
+                                                               .numberOfThreads(1)
+                                                               .channelFactory(OioSocketChannel::new)
+                                                               .build();
+        try {
+            assertThat(sdkEventLoopGroup.channelFactory().newChannel()).isInstanceOf(OioSocketChannel.class);
+        } finally {
+            sdkEventLoopGroup.eventLoopGroup().shutdownGracefully();
+        }
+    }
+
     @Test
     public void creatingUsingStaticMethod_A() {
         SdkEventLoopGroup sdkEventLoopGroup = SdkEventLoopGroup.create(new NioEventLoopGroup(), NioSocketChannel::new);
         assertThat(sdkEventLoopGroup.channelFactory()).isNotNull();
         assertThat(sdkEventLoopGroup.datagramChannelFactory().newChannel()).isInstanceOf(NioDatagramChannel.class);
         assertThat(sdkEventLoopGroup.eventLoopGroup()).isNotNull();
+        assertThat(sdkEventLoopGroup.transport()).isEmpty();
     }
 
     @Test
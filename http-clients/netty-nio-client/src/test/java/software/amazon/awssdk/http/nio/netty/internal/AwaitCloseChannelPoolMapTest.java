@@ -97,6 +97,61 @@ public class AwaitCloseChannelPoolMapTest {
         });
     }
 
+    @Test
+    public void eventLoopAffinity_onePoolPerEventLoop_allClosed() {
+        channelPoolMap = AwaitCloseChannelPoolMap.builder()
+                                                 .sdkChannelOptions(new SdkChannelOptions())
+                                                 .sdkEventLoopGroup(SdkEventLoopGroup.builder().numberOfThreads(3).build())
+                                                 .configuration(new NettyConfiguration(GLOBAL_HTTP_DEFAULTS))
+                                                 .protocol(Protocol.HTTP1_1)
+                                                 .maxStreams(100)
+                                                 .sslProvider(SslProvider.OPENSSL)
+                                                 .useEventLoopAffinity(true)
+                                                 .build();
+
+        SimpleChannelPoolAwareChannelPool channelPool = channelPoolMap.get(URI.create("http://localhost:" + mockProxy.port()));
+        assertThat(channelPool.underlyingSimpleChannelPools()).hasSize(3);
+
+        channelPoolMap.close();
+        channelPool.underlyingSimpleChannelPools().forEach(pool -> {
+            assertThat(pool.closeFuture()).isDone();
+            assertThat(pool.closeFuture().join()).isTrue();
+        });
+    }
+
+    @Test
+    public void prewarm_opensConnections() throws InterruptedException {
+        channelPoolMap = AwaitCloseChannelPoolMap.builder()
+                                                 .sdkChannelOptions(new SdkChannelOptions())
+                                                 .sdkEventLoopGroup(SdkEventLoopGroup.builder().build())
+                                                 .configuration(new NettyConfiguration(GLOBAL_HTTP_DEFAULTS))
+                                                 .protocol(Protocol.HTTP1_1)
+                                                 .maxStreams(100)
+                                                 .sslProvider(SslProvider.OPENSSL)
+                                                 .build();
+
+        channelPoolMap.prewarm(URI.create("http://localhost:" + mockProxy.port()), 3).join();
+
+        assertOpenedConnections(3);
+    }
+
+    @Test
+    public void minConnections_connectionsOpenedWhenPoolIsCreated() throws InterruptedException {
+        channelPoolMap = AwaitCloseChannelPoolMap.builder()
+                                                 .sdkChannelOptions(new SdkChannelOptions())
+                                                 .sdkEventLoopGroup(SdkEventLoopGroup.builder().build())
+                                                 .configuration(new NettyConfiguration(GLOBAL_HTTP_DEFAULTS))
+                                                 .protocol(Protocol.HTTP1_1)
+                                                 .maxStreams(100)
+                                                 .sslProvider(SslProvider.OPENSSL)
+                                                 .minConnections(2)
+                                                 .build();
+
+        channelPoolMap.get(URI.create("http://localhost:" + mockProxy.port()));
+
+        assertOpenedConnections(2);
+    }
+
     @Test
     public void get_callsInjectedBootstrapProviderCorrectly() {
         BootstrapProvider bootstrapProvider = Mockito.spy(
@@ -268,4 +323,11 @@ public class AwaitCloseChannelPoolMapTest {
         verify(provider).keyManagers();
     }
 
+    private void assertOpenedConnections(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (recorder.openedConnections() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(recorder.openedConnections()).isEqualTo(expected);
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.ChannelPoolHandler;
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConnectionWarmerTest {
+    private EventLoopGroup eventLoopGroup;
+    private ChannelPool channelPool;
+    private ConnectionWarmer connectionWarmer;
+
+    @BeforeEach
+    public void setup() {
+        eventLoopGroup = new NioEventLoopGroup(1);
+        channelPool = mock(ChannelPool.class);
+        connectionWarmer = new ConnectionWarmer(mock(ChannelPoolHandler.class), 2, new AtomicReference<>(channelPool),
+                                                eventLoopGroup.next());
+    }
+
+    @AfterEach
+    public void teardown() {
+        connectionWarmer.close();
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test
+    public void tryReap_onlyAllowsReapingAboveTheMinimum() throws Exception {
+        Channel first = createdChannel();
+        Channel second = createdChannel();
+        Channel third = createdChannel();
+        assertThat(connectionWarmer.openConnections()).isEqualTo(3);
+
+        assertThat(connectionWarmer.tryReap(first)).isTrue();
+        assertThat(connectionWarmer.openConnections()).isEqualTo(2);
+        assertThat(connectionWarmer.tryReap(second)).isFalse();
+        assertThat(connectionWarmer.tryReap(third)).isFalse();
+        assertThat(connectionWarmer.openConnections()).isEqualTo(2);
+    }
+
+    @Test
+    public void reapedChannelIsNotUncountedAgainWhenClosed() throws Exception {
+        Channel first = createdChannel();
+        createdChannel();
+        createdChannel();
+
+        assertThat(connectionWarmer.tryReap(first)).isTrue();
+        first.close().sync();
+
+        assertThat(connectionWarmer.openConnections()).isEqualTo(2);
+    }
+
+    @Test
+    public void closingAConnectionBelowTheMinimum_opensNewConnections() throws Exception {
+        Channel first = createdChannel();
+        createdChannel();
+        stubSuccessfulAcquires();
+
+        first.close().sync();
+
+        assertThat(connectionWarmer.openConnections()).isEqualTo(1);
+        verify(channelPool, timeout(1_000).times(2)).acquire();
+        verify(channelPool, timeout(1_000).times(2)).release(any());
+    }
+
+    @Test
+    public void topUp_atTheMinimum_doesNotOpenConnections() throws Exception {
+        createdChannel();
+        createdChannel();
+
+        connectionWarmer.topUp();
+
+        verify(channelPool, never()).acquire();
+    }
+
+    @Test
+    public void topUp_afterClose_doesNotOpenConnections() {
+        connectionWarmer.close();
+
+        connectionWarmer.topUp();
+
+        verify(channelPool, never()).acquire();
+    }
+
+    @Test
+    public void topUp_repeatedFailures_retriesWithBackoffAndGivesUp() throws Exception {
+        ConnectionWarmer warmer = new ConnectionWarmer(mock(ChannelPoolHandler.class), 1, new AtomicReference<>(channelPool),
+                                                       eventLoopGroup.next(), 1);
+        stubFailedAcquires();
+
+        warmer.topUp();
+
+        verify(channelPool, timeout(1_000).times(5)).acquire();
+        Thread.sleep(200);
+        verify(channelPool, times(5)).acquire();
+        warmer.close();
+    }
+
+    @Test
+    public void topUp_failingAfterClose_isNotRetried() throws Exception {
+        ConnectionWarmer warmer = new ConnectionWarmer(mock(ChannelPoolHandler.class), 1, new AtomicReference<>(channelPool),
+                                                       eventLoopGroup.next(), 50);
+        stubFailedAcquires();
+
+        warmer.topUp();
+        verify(channelPool, timeout(1_000).times(1)).acquire();
+        warmer.close();
+
+        Thread.sleep(200);
+        verify(channelPool, times(1)).acquire();
+    }
+
+    @Test
+    public void warmUp_acquiresAllConnectionsBeforeReleasingThem() {
+        stubSuccessfulAcquires();
+
+        ConnectionWarmer.warmUp(channelPool, 3).join();
+
+        verify(channelPool, times(3)).acquire();
+        verify(channelPool, times(3)).release(any());
+    }
+
+    @Test
+    public void warmUp_failedAcquire_releasesSuccessfulAcquiresAndFails() {
+        IOException failure = new IOException("connection refused");
+        when(channelPool.acquire()).thenReturn(eventLoopGroup.next().newSucceededFuture(new EmbeddedChannel()))
+                                   .thenReturn(eventLoopGroup.next().newFailedFuture(failure));
+
+        assertThatThrownBy(() -> ConnectionWarmer.warmUp(channelPool, 2).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCause(failure);
+        verify(channelPool, times(1)).release(any());
+    }
+
+    private Channel createdChannel() throws Exception {
+        Channel channel = new EmbeddedChannel();
+        connectionWarmer.channelCreated(channel);
+        return channel;
+    }
+
+    private void stubFailedAcquires() {
+        when(channelPool.acquire()).thenAnswer(i -> eventLoopGroup.next().newFailedFuture(new IOException("connection refused")));
+    }
+
+    private void stubSuccessfulAcquires() {
+        when(channelPool.acquire()).thenAnswer(i -> eventLoopGroup.next().newSucceededFuture(new EmbeddedChannel()));
+    }
+}
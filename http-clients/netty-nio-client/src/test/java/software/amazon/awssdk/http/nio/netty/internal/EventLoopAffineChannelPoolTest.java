@@ -0,0 +1,207 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+public class EventLoopAffineChannelPoolTest {
+    private EventLoopGroup eventLoopGroup;
+    private Map<EventLoop, FakePartitionPool> partitionPools;
+
+    @Before
+    public void setup() {
+        eventLoopGroup = new NioEventLoopGroup(2);
+        partitionPools = new LinkedHashMap<>();
+        for (EventExecutor executor : eventLoopGroup) {
+            partitionPools.put((EventLoop) executor, new FakePartitionPool());
+        }
+    }
+
+    @After
+    public void teardown() {
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test(timeout = 5_000)
+    public void acquireOnEventLoop_usesPartitionOfThatEventLoop() throws Exception {
+        EventLoopAffineChannelPool pool = createPool(10, 10, 1_000);
+
+        for (Map.Entry<EventLoop, FakePartitionPool> partition : partitionPools.entrySet()) {
+            EventLoop eventLoop = partition.getKey();
+            Channel channel = eventLoop.submit(() -> pool.acquire()).get().await().getNow();
+
+            assertThat(channel).isNotNull();
+            assertThat(partition.getValue().acquireCount.get()).isEqualTo(1);
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void acquireOutsideEventLoop_spreadsAcrossPartitions() throws Exception {
+        EventLoopAffineChannelPool pool = createPool(10, 10, 1_000);
+
+        pool.acquire().await();
+        pool.acquire().await();
+
+        partitionPools.values().forEach(p -> assertThat(p.acquireCount.get()).isEqualTo(1));
+    }
+
+    @Test(timeout = 5_000)
+    public void maxConcurrencyReached_acquireWaitsForReleaseInAnyPartition() throws Exception {
+        EventLoopAffineChannelPool pool = createPool(1, 10, 10_000);
+
+        Channel first = pool.acquire().await().getNow();
+        Future<Channel> second = pool.acquire();
+        Thread.sleep(100);
+        assertThat(second.isDone()).isFalse();
+
+        pool.release(first).await();
+        assertThat(second.await().isSuccess()).isTrue();
+        assertThat(totalAcquires()).isEqualTo(2);
+    }
+
+    @Test(timeout = 5_000)
+    public void pendingAcquire_timesOut() throws Exception {
+        EventLoopAffineChannelPool pool = createPool(1, 10, 100);
+
+        pool.acquire().await();
+        Future<Channel> second = pool.acquire().await();
+
+        assertThat(second.cause()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test(timeout = 5_000)
+    public void tooManyPendingAcquires_fails() throws Exception {
+        EventLoopAffineChannelPool pool = createPool(1, 1, 10_000);
+
+        pool.acquire().await();
+        Future<Channel> pending = pool.acquire();
+        Future<Channel> rejected = pool.acquire().await();
+
+        assertThat(pending.isDone()).isFalse();
+        assertThat(rejected.cause()).isInstanceOf(IllegalStateException.class)
+                                    .hasMessageContaining("Too many outstanding acquire operations");
+    }
+
+    @Test(timeout = 5_000)
+    public void releaseTwice_onlyFreesConcurrencyOnce() throws Exception {
+        EventLoopAffineChannelPool pool = createPool(2, 10, 10_000);
+
+        Channel first = pool.acquire().await().getNow();
+        pool.acquire().await();
+        pool.release(first).await();
+        pool.release(first).await();
+
+        MetricCollection metrics = collectMetrics(pool);
+        assertThat(metrics.metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(1);
+    }
+
+    @Test(timeout = 5_000)
+    public void cancelledAcquire_releasesChannel() throws Exception {
+        EventLoopAffineChannelPool pool = createPool(1, 10, 10_000);
+
+        Channel first = pool.acquire().await().getNow();
+        Promise<Channel> cancelled = eventLoopGroup.next().newPromise();
+        pool.acquire(cancelled);
+        cancelled.cancel(false);
+        pool.release(first).await();
+
+        assertThat(pool.acquire().await().isSuccess()).isTrue();
+    }
+
+    @Test(timeout = 5_000)
+    public void collectChannelPoolMetrics_combinesPartitions() throws Exception {
+        EventLoopAffineChannelPool pool = createPool(5, 10, 10_000);
+
+        pool.acquire().await();
+        pool.acquire().await();
+
+        MetricCollection metrics = collectMetrics(pool);
+        assertThat(metrics.metricValues(HttpMetric.MAX_CONCURRENCY)).containsExactly(5);
+        assertThat(metrics.metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(2);
+        assertThat(metrics.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES)).containsExactly(0);
+        assertThat(metrics.metricValues(HttpMetric.AVAILABLE_CONCURRENCY)).containsExactly(2);
+    }
+
+    private EventLoopAffineChannelPool createPool(int maxConcurrency, int maxPendingAcquires, long acquireTimeoutMillis) {
+        return new EventLoopAffineChannelPool(new LinkedHashMap<>(partitionPools), maxConcurrency, maxPendingAcquires,
+                                              acquireTimeoutMillis);
+    }
+
+    private int totalAcquires() {
+        return partitionPools.values().stream().mapToInt(p -> p.acquireCount.get()).sum();
+    }
+
+    private MetricCollection collectMetrics(EventLoopAffineChannelPool pool) {
+        MetricCollector collector = MetricCollector.create("test");
+        pool.collectChannelPoolMetrics(collector).join();
+        return collector.collect();
+    }
+
+    private static final class FakePartitionPool implements SdkChannelPool {
+        private final AtomicInteger acquireCount = new AtomicInteger();
+
+        @Override
+        public Future<Channel> acquire() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Channel> acquire(Promise<Channel> promise) {
+            acquireCount.incrementAndGet();
+            return promise.setSuccess(new EmbeddedChannel());
+        }
+
+        @Override
+        public Future<Void> release(Channel channel) {
+            return channel.eventLoop().newSucceededFuture(null);
+        }
+
+        @Override
+        public Future<Void> release(Channel channel, Promise<Void> promise) {
+            return promise.setSuccess(null);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public CompletableFuture<Void> collectChannelPoolMetrics(MetricCollector metrics) {
+            metrics.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 1);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
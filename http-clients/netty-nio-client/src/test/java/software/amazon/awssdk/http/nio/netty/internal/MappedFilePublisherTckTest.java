@@ -0,0 +1,67 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import software.amazon.awssdk.http.FileContent;
+
+/**
+ * TCK verification test for {@link MappedFilePublisher}.
+ */
+public class MappedFilePublisherTckTest extends PublisherVerification<ByteBuffer> {
+    private static final int MAX_ELEMENTS = 1024;
+
+    private Path file;
+
+    public MappedFilePublisherTckTest() {
+        super(new TestEnvironment());
+    }
+
+    @BeforeClass
+    public void setup() throws IOException {
+        file = Files.createTempFile("mapped-file-publisher", ".bin");
+        Files.write(file, new byte[MAX_ELEMENTS + 1]);
+    }
+
+    @AfterClass
+    public void teardown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return MAX_ELEMENTS;
+    }
+
+    @Override
+    public Publisher<ByteBuffer> createPublisher(long elements) {
+        // Each byte of the region is published as its own element
+        return new MappedFilePublisher(FileContent.create(file, 1, elements), 1);
+    }
+
+    @Override
+    public Publisher<ByteBuffer> createFailedPublisher() {
+        return MappedFilePublisher.create(FileContent.create(file.resolveSibling(file.getFileName() + ".missing"), 0, 1));
+    }
+}
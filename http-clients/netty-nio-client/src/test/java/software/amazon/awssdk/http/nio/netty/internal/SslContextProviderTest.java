@@ -18,11 +18,15 @@ package software.amazon.awssdk.http.nio.netty.internal;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TLS_KEY_MANAGERS_PROVIDER;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TLS_SESSION_CACHE_SIZE;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TLS_SESSION_TIMEOUT;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
 
 import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslProvider;
+import java.time.Duration;
 import javax.net.ssl.TrustManager;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -107,4 +111,38 @@ public class SslContextProviderTest {
                                                                                                + "set");
 
     }
+
+    @Test
+    public void sslContext_sharedBetweenCalls() {
+        SslContextProvider sslContextProvider = new SslContextProvider(new NettyConfiguration(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS),
+                                                                       Protocol.HTTP1_1,
+                                                                       SslProvider.JDK);
+
+        assertThat(sslContextProvider.sslContext()).isSameAs(sslContextProvider.sslContext());
+    }
+
+    @Test
+    public void sslContext_jdkWithSessionCacheConfiguration_shouldBeApplied() {
+        assertSessionCacheConfigurationApplied(SslProvider.JDK);
+    }
+
+    @Test
+    public void sslContext_openSslWithSessionCacheConfiguration_shouldBeApplied() {
+        assertSessionCacheConfigurationApplied(SslProvider.OPENSSL);
+    }
+
+    private static void assertSessionCacheConfigurationApplied(SslProvider sslProvider) {
+        AttributeMap config = AttributeMap.builder()
+                                          .put(TLS_SESSION_CACHE_SIZE, 123)
+                                          .put(TLS_SESSION_TIMEOUT, Duration.ofMinutes(5))
+                                          .build();
+        SslContextProvider sslContextProvider =
+            new SslContextProvider(new NettyConfiguration(config.merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS)),
+                                   Protocol.HTTP1_1,
+                                   sslProvider);
+
+        SslContext sslContext = sslContextProvider.sslContext();
+        assertThat(sslContext.sessionCacheSize()).isEqualTo(123);
+        assertThat(sslContext.sessionTimeout()).isEqualTo(300);
+    }
 }
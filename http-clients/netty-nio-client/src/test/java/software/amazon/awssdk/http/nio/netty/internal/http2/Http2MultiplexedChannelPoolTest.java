@@ -36,9 +36,12 @@ import io.netty.handler.codec.http2.Http2Stream;
 import io.netty.util.concurrent.DefaultPromise;
 import io.netty.util.concurrent.FailedFuture;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.Promise;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.concurrent.CompletableFuture;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -330,6 +333,122 @@ public class Http2MultiplexedChannelPoolTest {
         }
     }
 
+    @Test
+    public void acquire_prefersConnectionWithFewestActiveStreams() {
+        EmbeddedChannel busyChannel = newHttp2Channel();
+        EmbeddedChannel quietChannel = newHttp2Channel();
+
+        try {
+            MultiplexedChannelRecord busyRecord = new MultiplexedChannelRecord(busyChannel, 4, null);
+            MultiplexedChannelRecord quietRecord = new MultiplexedChannelRecord(quietChannel, 4, null);
+            busyRecord.acquireStream(busyChannel.eventLoop().newPromise());
+            busyRecord.acquireStream(busyChannel.eventLoop().newPromise());
+            quietRecord.acquireStream(quietChannel.eventLoop().newPromise());
+            runPendingTasks(busyChannel, quietChannel);
+
+            ChannelPool connectionPool = mock(ChannelPool.class);
+            Http2MultiplexedChannelPool h2Pool =
+                new Http2MultiplexedChannelPool(connectionPool, loopGroup, new HashSet<>(Arrays.asList(busyRecord, quietRecord)),
+                                                null);
+
+            Channel first = doAcquire(busyChannel, quietChannel, h2Pool);
+            assertThat(first.parent()).isEqualTo(quietChannel);
+
+            // Both connections have two active streams now, so either may be chosen, but never a new connection
+            doAcquire(busyChannel, quietChannel, h2Pool);
+            Channel third = doAcquire(busyChannel, quietChannel, h2Pool);
+            assertThat(busyRecord.activeStreams()).isEqualTo(3);
+            assertThat(quietRecord.activeStreams()).isEqualTo(3);
+            assertThat(third).isNotNull();
+            Mockito.verify(connectionPool, Mockito.never()).acquire();
+        } finally {
+            busyChannel.close();
+            quietChannel.close();
+        }
+    }
+
+    @Test
+    public void acquire_streamUtilizationThresholdReached_opensConnectionAheadOfDemand() {
+        EmbeddedChannel channel1 = newHttp2Channel();
+        EmbeddedChannel channel2 = newHttp2Channel();
+        channel2.attr(ChannelAttributeKey.MAX_CONCURRENT_STREAMS).set(4L);
+
+        try {
+            MultiplexedChannelRecord record = new MultiplexedChannelRecord(channel1, 4, null);
+            ChannelPool connectionPool = mock(ChannelPool.class);
+            // Complete the connection acquire on the calling thread, so the connection is ready as soon as it is requested
+            Promise<Channel> channel2Promise = new DefaultPromise<>(ImmediateEventExecutor.INSTANCE);
+            channel2Promise.setSuccess(channel2);
+            when(connectionPool.acquire()).thenReturn(channel2Promise);
+
+            Http2MultiplexedChannelPool h2Pool = new Http2MultiplexedChannelPool(connectionPool, loopGroup,
+                                                                                 Collections.singleton(record), null, 0.5);
+
+            assertThat(doAcquire(channel1, channel2, h2Pool).parent()).isEqualTo(channel1);
+            Mockito.verify(connectionPool, Mockito.never()).acquire();
+
+            // Half of the streams of the only connection are in use now
+            assertThat(doAcquire(channel1, channel2, h2Pool).parent()).isEqualTo(channel1);
+            Mockito.verify(connectionPool).acquire();
+
+            // The connection that was opened ahead of demand has no active streams, so it is used next
+            assertThat(doAcquire(channel1, channel2, h2Pool).parent()).isEqualTo(channel2);
+            Mockito.verify(connectionPool, Mockito.times(1)).acquire();
+        } finally {
+            channel1.close();
+            channel2.close();
+        }
+    }
+
+    @Test
+    public void acquire_noStreamUtilizationThreshold_doesNotOpenConnectionAheadOfDemand() {
+        EmbeddedChannel channel = newHttp2Channel();
+
+        try {
+            MultiplexedChannelRecord record = new MultiplexedChannelRecord(channel, 2, null);
+            ChannelPool connectionPool = mock(ChannelPool.class);
+            Http2MultiplexedChannelPool h2Pool = new Http2MultiplexedChannelPool(connectionPool, loopGroup,
+                                                                                 Collections.singleton(record), null);
+
+            h2Pool.acquire().awaitUninterruptibly();
+            channel.runPendingTasks();
+
+            assertThat(record.activeStreams()).isEqualTo(1);
+            Mockito.verify(connectionPool, Mockito.never()).acquire();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void handleGoAway_noActiveStreams_closesAndReleasesConnection() {
+        EmbeddedChannel channel = newHttp2Channel();
+
+        try {
+            ChannelPool connectionPool = mock(ChannelPool.class);
+            Promise<Channel> channelPromise = new DefaultPromise<>(loopGroup.next());
+            channelPromise.setSuccess(channel);
+            channel.attr(ChannelAttributeKey.MAX_CONCURRENT_STREAMS).set(2L);
+            when(connectionPool.acquire()).thenReturn(channelPromise);
+
+            Http2MultiplexedChannelPool h2Pool = new Http2MultiplexedChannelPool(connectionPool, loopGroup,
+                                                                                 Collections.emptySet(), null);
+            Channel stream = h2Pool.acquire().awaitUninterruptibly().getNow();
+            channel.runPendingTasks();
+            h2Pool.release(stream).awaitUninterruptibly();
+            channel.runPendingTasks();
+            Mockito.verify(connectionPool, Mockito.never()).release(eq(channel), isA(Promise.class));
+
+            h2Pool.handleGoAway(channel, 1, new GoAwayException(0, ""));
+            channel.runPendingTasks();
+
+            Mockito.verify(connectionPool).release(eq(channel), isA(Promise.class));
+            assertThat(channel.isOpen()).isFalse();
+        } finally {
+            channel.close();
+        }
+    }
+
     private Channel doAcquire(EmbeddedChannel channel1, EmbeddedChannel channel2, Http2MultiplexedChannelPool h2Pool) {
         Future<Channel> acquire = h2Pool.acquire();
         acquire.awaitUninterruptibly();
@@ -0,0 +1,69 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.async.PooledByteBufferAllocator;
+
+public class AllocatorReleasingByteBufsTest {
+
+    @Test
+    public void heapBuffer_wrapsRemainingContentAndReleasesToAllocator() {
+        verifyWrapAndRelease(PooledByteBufferAllocator.builder().bufferSizeInBytes(16).maxPooledBuffers(1).build());
+    }
+
+    @Test
+    public void directBuffer_wrapsRemainingContentAndReleasesToAllocator() {
+        verifyWrapAndRelease(PooledByteBufferAllocator.builder()
+                                                      .bufferSizeInBytes(16)
+                                                      .maxPooledBuffers(1)
+                                                      .directMemory(true)
+                                                      .build());
+    }
+
+    @Test
+    public void readOnlyBuffer_isWrapped() {
+        PooledByteBufferAllocator allocator = PooledByteBufferAllocator.create();
+        ByteBuffer buffer = ByteBuffer.wrap("hello".getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+
+        ByteBuf byteBuf = AllocatorReleasingByteBufs.wrap(buffer, allocator);
+
+        assertThat(byteBuf.toString(StandardCharsets.UTF_8)).isEqualTo("hello");
+        assertThat(byteBuf.release()).isTrue();
+    }
+
+    private static void verifyWrapAndRelease(PooledByteBufferAllocator allocator) {
+        ByteBuffer buffer = allocator.allocate(16);
+        buffer.put("xxhelloworld".getBytes(StandardCharsets.UTF_8));
+        buffer.flip();
+        buffer.position(2);
+
+        ByteBuf byteBuf = AllocatorReleasingByteBufs.wrap(buffer, allocator);
+        assertThat(byteBuf.toString(StandardCharsets.UTF_8)).isEqualTo("helloworld");
+
+        byteBuf.retain();
+        byteBuf.release();
+        assertThat(allocator.allocate(16)).isNotSameAs(buffer);
+
+        assertThat(byteBuf.release()).isTrue();
+        assertThat(allocator.allocate(16)).isSameAs(buffer);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup.Transport.EPOLL;
+import static software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup.Transport.IO_URING;
+import static software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup.Transport.NIO;
+
+import io.netty.channel.epoll.Epoll;
+import org.junit.jupiter.api.Test;
+
+public class NativeTransportsTest {
+
+    @Test
+    public void resolve_ioUringAvailable_usesIoUring() {
+        assertThat(NativeTransports.resolve(IO_URING, true, true)).isEqualTo(IO_URING);
+    }
+
+    @Test
+    public void resolve_ioUringUnavailable_fallsBackToEpoll() {
+        assertThat(NativeTransports.resolve(IO_URING, false, true)).isEqualTo(EPOLL);
+    }
+
+    @Test
+    public void resolve_noNativeTransport_fallsBackToNio() {
+        assertThat(NativeTransports.resolve(IO_URING, false, false)).isEqualTo(NIO);
+        assertThat(NativeTransports.resolve(EPOLL, true, false)).isEqualTo(NIO);
+    }
+
+    @Test
+    public void resolve_nio_alwaysNio() {
+        assertThat(NativeTransports.resolve(NIO, true, true)).isEqualTo(NIO);
+    }
+
+    @Test
+    public void ioUringIncubatorNotOnClasspath_notAvailable() {
+        assertThat(NativeTransports.isIoUringAvailable()).isFalse();
+    }
+
+    @Test
+    public void epollAvailability_matchesNetty() {
+        assertThat(NativeTransports.isEpollAvailable()).isEqualTo(Epoll.isAvailable());
+    }
+}
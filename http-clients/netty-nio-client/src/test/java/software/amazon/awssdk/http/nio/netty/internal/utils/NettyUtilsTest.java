@@ -44,6 +44,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -378,4 +379,33 @@ public class NettyUtilsTest {
         assertThat(output).isInstanceOf(IOException.class);
         assertThat(output.getCause()).isNull();
     }
+
+    @Test
+    public void isSessionResumed_sessionCreatedBeforeHandshake_isResumed() {
+        SSLSession session = mock(SSLSession.class);
+        when(session.getCreationTime()).thenReturn(10_000L);
+
+        assertThat(NettyUtils.isSessionResumed(session, 12_345L)).isTrue();
+    }
+
+    @Test
+    public void isSessionResumed_sessionCreatedDuringHandshake_isNotResumed() {
+        SSLSession session = mock(SSLSession.class);
+        when(session.getCreationTime()).thenReturn(12_400L);
+
+        assertThat(NettyUtils.isSessionResumed(session, 12_345L)).isFalse();
+    }
+
+    @Test
+    public void isSessionResumed_sessionCreationTimeTruncatedToTheSecond_isNotResumed() {
+        SSLSession session = mock(SSLSession.class);
+        when(session.getCreationTime()).thenReturn(12_000L);
+
+        assertThat(NettyUtils.isSessionResumed(session, 12_345L)).isFalse();
+    }
+
+    @Test
+    public void isSessionResumed_noSession_isNotResumed() {
+        assertThat(NettyUtils.isSessionResumed(null, 12_345L)).isFalse();
+    }
 }
@@ -745,6 +745,94 @@ public interface S3TransferManager extends SdkAutoCloseable {
          */
         Builder uploadDirectoryMaxDepth(Integer uploadDirectoryMaxDepth);
 
+        /**
+         * Specifies the maximum number of ListObjectsV2 requests to send concurrently to list the objects to download in
+         * {@link S3TransferManager#downloadDirectory} operation. The keyspace is split by the common prefixes discovered with the
+         * delimiter, and the prefixes are listed concurrently, so that downloads of buckets with many keys are not bound by the
+         * latency of listing one page at a time. Must be positive. 1 lists the objects one page at a time, in key order.
+         * <p>
+         * Listing concurrently sends more ListObjectsV2 requests: every common prefix is listed with at least one request of its
+         * own, even if it holds a single object. A bucket with one object per directory can therefore take up to about 1000
+         * times as many requests as listing it one page at a time, which are billed as such. A keyspace without the delimiter
+         * in its keys has no common prefixes, and is still listed one page at a time.
+         * <p>
+         * This does not apply when the directory is synced, which requires the objects to be listed in key order.
+         *
+         * <p>
+         * Default to 1
+         *
+         * @param downloadDirectoryListConcurrency the maximum number of concurrent list requests
+         * @return This builder for method chaining.
+         */
+        Builder downloadDirectoryListConcurrency(Integer downloadDirectoryListConcurrency);
+
+        /**
+         * Specifies whether the transfer manager uploads and downloads objects in parts when the {@link S3AsyncClient} is not
+         * a CRT-based client, which already transfers objects in parts itself. Objects larger than
+         * {@link #multipartThresholdInBytes(Long)} are then uploaded with the multipart upload API, and whole objects are
+         * downloaded with concurrent ranged GetObject requests.
+         * <p>
+         * Transferring objects in parts changes what is sent to S3:
+         * <ul>
+         *     <li>The ETag of an object uploaded in parts is not the MD5 digest of its content. A directory sync with
+         *     {@link software.amazon.awssdk.transfer.s3.config.SyncComparisonMode#CHECKSUM} then compares such objects by
+         *     size and modification time.</li>
+         *     <li>Uploads in parts also need the {@code s3:AbortMultipartUpload} and {@code s3:ListMultipartUploadParts}
+         *     permissions, on top of {@code s3:PutObject}.</li>
+         *     <li>An object is transferred with one request per part, plus the requests that create and complete a multipart
+         *     upload.</li>
+         * </ul>
+         * When disabled, every object is uploaded with a single PutObject request and downloaded with a single GetObject
+         * request, and file uploads cannot be paused and resumed.
+         *
+         * <p>
+         * Default to true
+         *
+         * @param multipartEnabled whether to transfer objects in parts
+         * @return This builder for method chaining.
+         */
+        Builder multipartEnabled(Boolean multipartEnabled);
+
+        /**
+         * Specifies the size above which an object is uploaded in parts, when the transfer manager transfers objects in parts.
+         * See {@link #multipartEnabled(Boolean)}. Must be positive. Objects of unknown size are uploaded in parts once they turn
+         * out to be larger than one part.
+         *
+         * <p>
+         * Default to 8 MiB
+         *
+         * @param multipartThresholdInBytes the size above which objects are uploaded in parts
+         * @return This builder for method chaining.
+         */
+        Builder multipartThresholdInBytes(Long multipartThresholdInBytes);
+
+        /**
+         * Specifies the size of the parts of the objects that the transfer manager uploads or downloads in parts. See
+         * {@link #multipartEnabled(Boolean)}. Must be at least 5 MiB, the minimum size of a part of a multipart upload.
+         * Larger parts are uploaded for objects that would otherwise have more than 10,000 parts.
+         *
+         * <p>
+         * Default to 8 MiB
+         *
+         * @param multipartPartSizeInBytes the size of each part
+         * @return This builder for method chaining.
+         */
+        Builder multipartPartSizeInBytes(Long multipartPartSizeInBytes);
+
+        /**
+         * Specifies the maximum number of bytes of parts that are sent or requested at a time for one object, when the transfer
+         * manager transfers objects in parts. See {@link #multipartEnabled(Boolean)}. This also bounds the memory used to buffer
+         * the parts of an upload from an {@link AsyncRequestBody}, or of a download to an {@link AsyncResponseTransformer}.
+         * Must be positive; at least one part is always in flight.
+         *
+         * <p>
+         * Default to 64 MiB
+         *
+         * @param multipartMaxInFlightBytes the maximum number of bytes in flight per object
+         * @return This builder for method chaining.
+         */
+        Builder multipartMaxInFlightBytes(Long multipartMaxInFlightBytes);
+
         /**
          * Builds an instance of {@link S3TransferManager} based on the settings supplied to this builder
          *
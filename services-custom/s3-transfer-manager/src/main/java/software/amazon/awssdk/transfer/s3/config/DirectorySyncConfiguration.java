@@ -0,0 +1,232 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.config;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.transfer.s3.model.DownloadDirectoryRequest;
+import software.amazon.awssdk.transfer.s3.model.UploadDirectoryRequest;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Configuration options to sync a directory with S3 in an {@link UploadDirectoryRequest} or a
+ * {@link DownloadDirectoryRequest}, instead of transferring every file. All values are optional, and not specifying them will
+ * use the SDK default values.
+ * <p>
+ * When syncing, the files of the directory and the objects under the prefix are both listed in key order and compared as
+ * they are listed, so neither listing is held in memory. A file or an object is only transferred if it does not exist at the
+ * destination, or if it differs from the destination according to the {@link #comparisonMode()}.
+ *
+ * <p>Use {@link #builder()} to create a set of options.
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class DirectorySyncConfiguration
+    implements ToCopyableBuilder<DirectorySyncConfiguration.Builder, DirectorySyncConfiguration> {
+
+    private final Boolean deleteRemoved;
+    private final SyncComparisonMode comparisonMode;
+    private final Path checksumManifest;
+
+    public DirectorySyncConfiguration(DefaultBuilder builder) {
+        this.deleteRemoved = builder.deleteRemoved;
+        this.comparisonMode = builder.comparisonMode;
+        this.checksumManifest = builder.checksumManifest;
+    }
+
+    /**
+     * @return whether to delete the destination files or objects that do not exist at the source, {@code false} by default
+     * @see Builder#deleteRemoved(Boolean)
+     */
+    public boolean deleteRemoved() {
+        return Boolean.TRUE.equals(deleteRemoved);
+    }
+
+    /**
+     * @return how files and objects are compared, {@link SyncComparisonMode#SIZE_AND_LAST_MODIFIED} by default
+     * @see Builder#comparisonMode(SyncComparisonMode)
+     */
+    public SyncComparisonMode comparisonMode() {
+        return comparisonMode == null ? SyncComparisonMode.SIZE_AND_LAST_MODIFIED : comparisonMode;
+    }
+
+    /**
+     * @return the optional file in which the digests of the local files are kept between syncs
+     * @see Builder#checksumManifest(Path)
+     */
+    public Optional<Path> checksumManifest() {
+        return Optional.ofNullable(checksumManifest);
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DirectorySyncConfiguration that = (DirectorySyncConfiguration) o;
+
+        if (!Objects.equals(deleteRemoved, that.deleteRemoved)) {
+            return false;
+        }
+        if (comparisonMode != that.comparisonMode) {
+            return false;
+        }
+        return Objects.equals(checksumManifest, that.checksumManifest);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = deleteRemoved != null ? deleteRemoved.hashCode() : 0;
+        result = 31 * result + (comparisonMode != null ? comparisonMode.hashCode() : 0);
+        result = 31 * result + (checksumManifest != null ? checksumManifest.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("DirectorySyncConfiguration")
+                       .add("deleteRemoved", deleteRemoved)
+                       .add("comparisonMode", comparisonMode)
+                       .add("checksumManifest", checksumManifest)
+                       .build();
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, DirectorySyncConfiguration> {
+
+        /**
+         * Specifies whether to delete the destination files or objects that do not exist at the source: when uploading, the
+         * objects under the prefix that have no file in the source directory; when downloading, the files in the destination
+         * directory that have no object under the prefix. Files and objects excluded by the request, for example by
+         * {@link DownloadDirectoryRequest#filter()} or by {@link UploadDirectoryRequest#maxDepth()}, are not deleted.
+         * <p>
+         * Default to false
+         *
+         * @param deleteRemoved whether to delete the files or objects that were removed from the source
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder deleteRemoved(Boolean deleteRemoved);
+
+        /**
+         * Specifies how a file and the object with the same key are compared to decide whether to transfer it.
+         * <p>
+         * Default to {@link SyncComparisonMode#SIZE_AND_LAST_MODIFIED}
+         *
+         * @param comparisonMode the comparison mode
+         * @return Returns a reference to this object so that method calls can be chained together.
+         * @see SyncComparisonMode
+         */
+        Builder comparisonMode(SyncComparisonMode comparisonMode);
+
+        /**
+         * Specifies a file in which the MD5 digests of the local files are kept between syncs when the comparison mode is
+         * {@link SyncComparisonMode#CHECKSUM}. A file whose size and last-modified time have not changed since the previous sync
+         * is not read again. The manifest is created if it does not exist and replaced once the sync completes.
+         * <p>
+         * The manifest is specific to a directory and a prefix, and must not be stored in the directory being synced.
+         *
+         * @param checksumManifest the manifest file
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder checksumManifest(Path checksumManifest);
+
+        @Override
+        DirectorySyncConfiguration build();
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private Boolean deleteRemoved;
+        private SyncComparisonMode comparisonMode;
+        private Path checksumManifest;
+
+        private DefaultBuilder(DirectorySyncConfiguration configuration) {
+            this.deleteRemoved = configuration.deleteRemoved;
+            this.comparisonMode = configuration.comparisonMode;
+            this.checksumManifest = configuration.checksumManifest;
+        }
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder deleteRemoved(Boolean deleteRemoved) {
+            this.deleteRemoved = deleteRemoved;
+            return this;
+        }
+
+        public Boolean getDeleteRemoved() {
+            return deleteRemoved;
+        }
+
+        public void setDeleteRemoved(Boolean deleteRemoved) {
+            deleteRemoved(deleteRemoved);
+        }
+
+        @Override
+        public Builder comparisonMode(SyncComparisonMode comparisonMode) {
+            this.comparisonMode = comparisonMode;
+            return this;
+        }
+
+        public SyncComparisonMode getComparisonMode() {
+            return comparisonMode;
+        }
+
+        public void setComparisonMode(SyncComparisonMode comparisonMode) {
+            comparisonMode(comparisonMode);
+        }
+
+        @Override
+        public Builder checksumManifest(Path checksumManifest) {
+            this.checksumManifest = checksumManifest;
+            return this;
+        }
+
+        public Path getChecksumManifest() {
+            return checksumManifest;
+        }
+
+        public void setChecksumManifest(Path checksumManifest) {
+            checksumManifest(checksumManifest);
+        }
+
+        @Override
+        public DirectorySyncConfiguration build() {
+            return new DirectorySyncConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.config;
+
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+
+/**
+ * How a {@link DirectorySyncConfiguration directory sync} decides whether a file and the object with the same key differ.
+ * In all modes, a file and an object of different sizes differ.
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public enum SyncComparisonMode {
+
+    /**
+     * A file and an object of the same size differ if the source is newer than the destination: when uploading, if the file
+     * was modified after the object; when downloading, if the object was modified after the file.
+     * <p>
+     * This is the default mode. It only needs the metadata of the file and of the object.
+     */
+    SIZE_AND_LAST_MODIFIED,
+
+    /**
+     * A file and an object of the same size differ if the MD5 digest of the file differs from the ETag of the object. Objects
+     * whose ETag is not an MD5 digest, such as objects uploaded in parts or encrypted with SSE-KMS, are compared as with
+     * {@link #SIZE_AND_LAST_MODIFIED}. The transfer manager uploads objects larger than the multipart threshold in parts,
+     * unless multipart transfers are disabled with {@link S3TransferManager.Builder#multipartEnabled(Boolean)}.
+     * <p>
+     * Computing the digest requires reading the file. Use {@link DirectorySyncConfiguration.Builder#checksumManifest} to
+     * keep the digests between syncs, so that a file is only read again once it is modified.
+     */
+    CHECKSUM
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.transfer.s3.config.DirectorySyncConfiguration;
+import software.amazon.awssdk.transfer.s3.config.SyncComparisonMode;
+import software.amazon.awssdk.transfer.s3.internal.SortedFileTreeIterator.FileEntry;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.async.SimplePublisher;
+
+/**
+ * Publishes what a directory sync has to do, by merging the files of the directory and the objects under the prefix, which
+ * are both listed in key order. A file and an object with the same key are compared according to the
+ * {@link DirectorySyncConfiguration}, and an action is only published for the files or objects that have to be transferred
+ * or deleted.
+ * <p>
+ * Neither listing is held in memory: the next object is only requested once the previous action has been delivered to the
+ * subscriber, and the files are read one at a time from a {@link SortedFileTreeIterator}. The comparison, which may read the
+ * files to compute their digest, runs on the given executor.
+ */
+@SdkInternalApi
+public final class DirectorySyncPublisher implements SdkPublisher<DirectorySyncPublisher.SyncAction> {
+    private static final Logger log = Logger.loggerFor(DirectorySyncPublisher.class);
+    private static final Pattern MD5_ETAG = Pattern.compile("\"?[0-9a-fA-F]{32}\"?");
+
+    private final SortedFileTreeIterator localFiles;
+    private final SdkPublisher<S3Object> remoteObjects;
+    private final Direction direction;
+    private final DirectorySyncConfiguration configuration;
+    private final SyncChecksumManifest manifest;
+    private final Predicate<S3Object> remoteObjectFilter;
+    private final Executor executor;
+
+    private final SimplePublisher<SyncAction> publisher = new SimplePublisher<>();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    // Only accessed by the task that compares the listings, of which there is only one at a time
+    private Subscription remoteSubscription;
+    private S3Object nextRemoteObject;
+    private boolean remoteDone;
+    private long unchanged;
+
+    private DirectorySyncPublisher(Builder builder) {
+        this.localFiles = Validate.paramNotNull(builder.localFiles, "localFiles");
+        this.remoteObjects = Validate.paramNotNull(builder.remoteObjects, "remoteObjects");
+        this.direction = Validate.paramNotNull(builder.direction, "direction");
+        this.configuration = Validate.paramNotNull(builder.configuration, "configuration");
+        this.manifest = Validate.paramNotNull(builder.manifest, "manifest");
+        this.remoteObjectFilter = builder.remoteObjectFilter == null ? o -> true : builder.remoteObjectFilter;
+        this.executor = Validate.paramNotNull(builder.executor, "executor");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super SyncAction> subscriber) {
+        publisher.subscribe(subscriber);
+        if (subscribed.compareAndSet(false, true)) {
+            remoteObjects.subscribe(new RemoteObjectSubscriber());
+        }
+    }
+
+    /**
+     * Stop comparing the listings, for example because the transfer that consumes the actions was cancelled.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private void compareNext() {
+        try {
+            executor.execute(this::doCompareNext);
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    /**
+     * Advances the listings until an action has to be published, or until the next object has to be requested.
+     */
+    private void doCompareNext() {
+        try {
+            while (!stopped) {
+                if (nextRemoteObject == null && !remoteDone) {
+                    remoteSubscription.request(1);
+                    return;
+                }
+
+                FileEntry localFile = localFiles.peek();
+                SyncAction action;
+                if (nextRemoteObject == null) {
+                    if (localFile == null) {
+                        log.debug(() -> String.format("Skipped %d unchanged or excluded files and objects", unchanged));
+                        publisher.complete();
+                        return;
+                    }
+                    action = compare(localFiles.next(), null);
+                } else {
+                    int order = localFile == null ? 1 : SortedFileTreeIterator.KEY_ORDER.compare(localFile.key(),
+                                                                                                  nextRemoteObject.key());
+                    S3Object remoteObject = order < 0 ? null : nextRemoteObject;
+                    if (remoteObject != null) {
+                        nextRemoteObject = null;
+                    }
+                    action = compare(order > 0 ? null : localFiles.next(), remoteObject);
+                }
+
+                if (action != null) {
+                    publisher.send(action).whenComplete((r, t) -> {
+                        if (t != null) {
+                            // The subscriber cancelled the subscription
+                            stopped = true;
+                        }
+                        compareNext();
+                    });
+                    return;
+                }
+                unchanged++;
+            }
+            if (remoteSubscription != null) {
+                remoteSubscription.cancel();
+            }
+            publisher.complete();
+        } catch (UncheckedIOException e) {
+            fail(SdkClientException.create("Failed to list the files to sync", e.getCause()));
+        } catch (IOException e) {
+            fail(SdkClientException.create("Failed to compute the checksum of the files to sync", e));
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    private SyncAction compare(FileEntry localFile, S3Object remoteObject) throws IOException {
+        if (remoteObject != null && !remoteObjectFilter.test(remoteObject)) {
+            return null;
+        }
+
+        boolean sourceExists = direction == Direction.UPLOAD ? localFile != null : remoteObject != null;
+        boolean destinationExists = direction == Direction.UPLOAD ? remoteObject != null : localFile != null;
+
+        if (!sourceExists) {
+            if (!configuration.deleteRemoved() || (remoteObject == null && !isIncluded(localFile))) {
+                return null;
+            }
+            return new SyncAction(SyncActionType.DELETE, localFile, remoteObject);
+        }
+        if (!destinationExists || differs(localFile, remoteObject)) {
+            return new SyncAction(SyncActionType.TRANSFER, localFile, remoteObject);
+        }
+        log.trace(() -> "Skipping unchanged file " + localFile.path());
+        return null;
+    }
+
+    /**
+     * Whether a file that has no object would be synced if it had one, i.e. whether the filter accepts an object with its key.
+     */
+    private boolean isIncluded(FileEntry localFile) {
+        return remoteObjectFilter.test(S3Object.builder().key(localFile.key()).build());
+    }
+
+    private boolean differs(FileEntry localFile, S3Object remoteObject) throws IOException {
+        if (remoteObject.size() == null || localFile.size() != remoteObject.size()) {
+            return true;
+        }
+
+        String eTag = remoteObject.eTag();
+        if (configuration.comparisonMode() == SyncComparisonMode.CHECKSUM && eTag != null && MD5_ETAG.matcher(eTag).matches()) {
+            return !manifest.md5(localFile).equalsIgnoreCase(eTag.replace("\"", ""));
+        }
+
+        Instant remoteLastModified = remoteObject.lastModified();
+        if (remoteLastModified == null) {
+            return true;
+        }
+        return direction == Direction.UPLOAD ? localFile.lastModified().isAfter(remoteLastModified)
+                                             : remoteLastModified.isAfter(localFile.lastModified());
+    }
+
+    private void fail(Throwable t) {
+        stopped = true;
+        publisher.error(t);
+    }
+
+    private final class RemoteObjectSubscriber implements Subscriber<S3Object> {
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            remoteSubscription = subscription;
+            compareNext();
+        }
+
+        @Override
+        public void onNext(S3Object s3Object) {
+            nextRemoteObject = s3Object;
+            compareNext();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            fail(t);
+        }
+
+        @Override
+        public void onComplete() {
+            remoteDone = true;
+            compareNext();
+        }
+    }
+
+    /**
+     * Whether the directory is synced to S3 or from S3.
+     */
+    public enum Direction {
+        UPLOAD,
+        DOWNLOAD
+    }
+
+    public enum SyncActionType {
+        /**
+         * Transfer the source file or object to the destination.
+         */
+        TRANSFER,
+
+        /**
+         * Delete the destination file or object, which does not exist at the source.
+         */
+        DELETE
+    }
+
+    /**
+     * A file or an object to transfer or delete, with the file and the object with the same key if they exist.
+     */
+    public static final class SyncAction {
+        private final SyncActionType type;
+        private final FileEntry localFile;
+        private final S3Object remoteObject;
+
+        private SyncAction(SyncActionType type, FileEntry localFile, S3Object remoteObject) {
+            this.type = type;
+            this.localFile = localFile;
+            this.remoteObject = remoteObject;
+        }
+
+        public SyncActionType type() {
+            return type;
+        }
+
+        /**
+         * @return the local file, or null if there is no file with the key of the object
+         */
+        public FileEntry localFile() {
+            return localFile;
+        }
+
+        /**
+         * @return the object, or null if there is no object with the key of the file
+         */
+        public S3Object remoteObject() {
+            return remoteObject;
+        }
+
+        @Override
+        public String toString() {
+            return ToString.builder("SyncAction")
+                           .add("type", type)
+                           .add("localFile", localFile)
+                           .add("remoteObject", remoteObject)
+                           .build();
+        }
+    }
+
+    public static final class Builder {
+        private SortedFileTreeIterator localFiles;
+        private SdkPublisher<S3Object> remoteObjects;
+        private Direction direction;
+        private DirectorySyncConfiguration configuration;
+        private SyncChecksumManifest manifest;
+        private Predicate<S3Object> remoteObjectFilter;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        public Builder localFiles(SortedFileTreeIterator localFiles) {
+            this.localFiles = localFiles;
+            return this;
+        }
+
+        public Builder remoteObjects(SdkPublisher<S3Object> remoteObjects) {
+            this.remoteObjects = remoteObjects;
+            return this;
+        }
+
+        public Builder direction(Direction direction) {
+            this.direction = direction;
+            return this;
+        }
+
+        public Builder configuration(DirectorySyncConfiguration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        public Builder manifest(SyncChecksumManifest manifest) {
+            this.manifest = manifest;
+            return this;
+        }
+
+        /**
+         * The objects rejected by the filter are ignored: they are neither transferred nor deleted, and neither is the file with
+         * the same key. A file that has no object is only deleted if the filter accepts an object that only has its key.
+         */
+        public Builder remoteObjectFilter(Predicate<S3Object> remoteObjectFilter) {
+            this.remoteObjectFilter = remoteObjectFilter;
+            return this;
+        }
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public DirectorySyncPublisher build() {
+            return new DirectorySyncPublisher(this);
+        }
+    }
+}
@@ -30,11 +30,16 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.config.DirectorySyncConfiguration;
+import software.amazon.awssdk.transfer.s3.internal.DirectorySyncPublisher.SyncAction;
+import software.amazon.awssdk.transfer.s3.internal.DirectorySyncPublisher.SyncActionType;
+import software.amazon.awssdk.transfer.s3.internal.SortedFileTreeIterator.FileEntry;
 import software.amazon.awssdk.transfer.s3.internal.model.DefaultDirectoryDownload;
 import software.amazon.awssdk.transfer.s3.model.CompletedDirectoryDownload;
 import software.amazon.awssdk.transfer.s3.model.CompletedFileDownload;
@@ -50,7 +55,10 @@ import software.amazon.awssdk.utils.Validate;
 
 /**
  * An internal helper class that sends {@link DownloadFileRequest}s while it retrieves the objects to download from S3
- * recursively
+ * recursively, listing several prefixes concurrently
+ * <p>
+ * When the request asks to sync the directory, the objects are instead compared with the files of the destination directory
+ * by a {@link DirectorySyncPublisher}, and only the objects that changed are downloaded.
  */
 @SdkInternalApi
 public class DownloadDirectoryHelper {
@@ -105,6 +113,12 @@ public class DownloadDirectoryHelper {
 
         Queue<FailedFileDownload> failedFileDownloads = new ConcurrentLinkedQueue<>();
 
+        if (downloadDirectoryRequest.sync().isPresent()) {
+            doSyncDirectory(returnFuture, downloadDirectoryRequest, request, failedFileDownloads,
+                            downloadDirectoryRequest.sync().get());
+            return;
+        }
+
         CompletableFuture<Void> allOfFutures = new CompletableFuture<>();
 
         AsyncBufferingSubscriber<S3Object> asyncBufferingSubscriber =
@@ -112,11 +126,93 @@ public class DownloadDirectoryHelper {
                                                               failedFileDownloads),
                                            allOfFutures,
                                            DEFAULT_DOWNLOAD_DIRECTORY_MAX_CONCURRENCY);
-        listObjectsHelper.listS3ObjectsRecursively(request)
-                         .filter(downloadDirectoryRequest.filter())
-                         .subscribe(asyncBufferingSubscriber);
+        listS3Objects(request).filter(downloadDirectoryRequest.filter())
+                              .subscribe(asyncBufferingSubscriber);
+
+        allOfFutures.whenComplete((r, t) -> {
+            if (t != null) {
+                returnFuture.completeExceptionally(SdkClientException.create("Failed to send request", t));
+            } else {
+                returnFuture.complete(CompletedDirectoryDownload.builder()
+                                                                .failedTransfers(failedFileDownloads)
+                                                                .build());
+            }
+        });
+    }
+
+    /**
+     * Lists the objects to download, concurrently unless the list concurrency is 1, since the objects do not have to be
+     * downloaded in key order.
+     */
+    private SdkPublisher<S3Object> listS3Objects(ListObjectsV2Request request) {
+        int listConcurrency = transferConfiguration.option(TransferConfigurationOption.DOWNLOAD_DIRECTORY_LIST_CONCURRENCY);
+        if (listConcurrency == 1) {
+            return listObjectsHelper.listS3ObjectsRecursively(request);
+        }
+        return listObjectsHelper.listS3ObjectsInParallel(request, listConcurrency);
+    }
+
+    private void doSyncDirectory(CompletableFuture<CompletedDirectoryDownload> returnFuture,
+                                 DownloadDirectoryRequest downloadDirectoryRequest,
+                                 ListObjectsV2Request request,
+                                 Queue<FailedFileDownload> failedFileDownloads,
+                                 DirectorySyncConfiguration syncConfiguration) {
+        String delimiter = request.delimiter() == null ? DEFAULT_DELIMITER : request.delimiter();
+        String prefix = request.prefix() == null ? "" : request.prefix();
+        if (!prefix.isEmpty() && !prefix.endsWith(delimiter)) {
+            prefix += delimiter;
+        }
+
+        SortedFileTreeIterator files = new SortedFileTreeIterator(downloadDirectoryRequest.destination(), prefix, delimiter,
+                                                                  Integer.MAX_VALUE, false);
+
+        // List without a delimiter, so that the keys are listed in order
+        SdkPublisher<S3Object> objects =
+            listObjectsHelper.listS3ObjectsRecursively(request.toBuilder().delimiter(null).build())
+                             .filter(o -> !o.key().endsWith(delimiter));
+
+        SyncChecksumManifest manifest = SyncChecksumManifest.open(syncConfiguration.checksumManifest().orElse(null));
+        DirectorySyncPublisher actions =
+            DirectorySyncPublisher.builder()
+                                  .localFiles(files)
+                                  .remoteObjects(objects)
+                                  .direction(DirectorySyncPublisher.Direction.DOWNLOAD)
+                                  .configuration(syncConfiguration)
+                                  .manifest(manifest)
+                                  .remoteObjectFilter(downloadDirectoryRequest.filter())
+                                  .executor(transferConfiguration.option(TransferConfigurationOption.EXECUTOR))
+                                  .build();
+        returnFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                actions.stop();
+            }
+        });
+
+        Function<S3Object, CompletableFuture<?>> downloadSingleFile =
+            downloadSingleFile(returnFuture, downloadDirectoryRequest, request, failedFileDownloads);
+        CompletableFuture<Void> allOfFutures = new CompletableFuture<>();
+        AsyncBufferingSubscriber<SyncAction> asyncBufferingSubscriber =
+            new AsyncBufferingSubscriber<>(action -> {
+                if (action.type() == SyncActionType.TRANSFER) {
+                    return downloadSingleFile.apply(action.remoteObject());
+                }
+                deleteRemovedFile(downloadDirectoryRequest, request, action.localFile());
+                return CompletableFuture.completedFuture(null);
+            }, allOfFutures, DEFAULT_DOWNLOAD_DIRECTORY_MAX_CONCURRENCY);
+        actions.subscribe(asyncBufferingSubscriber);
 
         allOfFutures.whenComplete((r, t) -> {
+            try {
+                // The manifest is only replaced once every file was compared
+                if (t == null && !returnFuture.isDone()) {
+                    manifest.commit();
+                }
+            } catch (Throwable e) {
+                log.warn(() -> "The directory was synced, but the checksum manifest could not be updated", e);
+            } finally {
+                manifest.close();
+            }
+
             if (t != null) {
                 returnFuture.completeExceptionally(SdkClientException.create("Failed to send request", t));
             } else {
@@ -127,6 +223,27 @@ public class DownloadDirectoryHelper {
         });
     }
 
+    /**
+     * Deletes a file that has no object in the bucket, unless the key of the file would not be downloaded to the same file, in
+     * which case the file was not downloaded by this request.
+     */
+    private void deleteRemovedFile(DownloadDirectoryRequest downloadDirectoryRequest,
+                                   ListObjectsV2Request listRequest,
+                                   FileEntry file) {
+        S3Object s3Object = S3Object.builder().key(file.key()).build();
+        if (!file.path().equals(determineDestinationPath(downloadDirectoryRequest, listRequest, s3Object))) {
+            log.debug(() -> "Not deleting file " + file.path() + " which does not map to the object " + file.key());
+            return;
+        }
+
+        log.debug(() -> "Deleting file " + file.path() + " whose object was removed from the bucket");
+        try {
+            Files.deleteIfExists(file.path());
+        } catch (IOException e) {
+            log.warn(() -> "Failed to delete file " + file.path(), e);
+        }
+    }
+
     private Function<S3Object, CompletableFuture<?>> downloadSingleFile(
         CompletableFuture<CompletedDirectoryDownload> returnFuture,
         DownloadDirectoryRequest downloadDirectoryRequest,
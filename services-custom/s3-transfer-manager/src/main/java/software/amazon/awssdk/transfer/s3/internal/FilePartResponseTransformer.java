@@ -0,0 +1,116 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * An {@link AsyncResponseTransformer} that writes one part of an object to a file that is shared by all parts, starting at
+ * the offset of the part. Positional writes to a {@link FileChannel} do not move the channel's position, so the parts can be
+ * written concurrently. The file channel is opened and closed by the caller.
+ */
+@SdkInternalApi
+final class FilePartResponseTransformer implements AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> {
+    private final FileChannel fileChannel;
+    private final long position;
+    private final Consumer<GetObjectResponse> responseConsumer;
+    private volatile CompletableFuture<GetObjectResponse> future;
+    private volatile GetObjectResponse response;
+
+    /**
+     * @param fileChannel The file to write the part to.
+     * @param position The offset of the part in the file.
+     * @param responseConsumer Called with the response, before its body is written.
+     */
+    FilePartResponseTransformer(FileChannel fileChannel, long position, Consumer<GetObjectResponse> responseConsumer) {
+        this.fileChannel = fileChannel;
+        this.position = position;
+        this.responseConsumer = responseConsumer;
+    }
+
+    @Override
+    public CompletableFuture<GetObjectResponse> prepare() {
+        future = new CompletableFuture<>();
+        return future;
+    }
+
+    @Override
+    public void onResponse(GetObjectResponse response) {
+        this.response = response;
+        responseConsumer.accept(response);
+    }
+
+    @Override
+    public void onStream(SdkPublisher<ByteBuffer> publisher) {
+        // onStream may be called again when the request is retried, which writes the part again from its start
+        publisher.subscribe(new PartSubscriber());
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable error) {
+        future.completeExceptionally(error);
+    }
+
+    private final class PartSubscriber implements Subscriber<ByteBuffer> {
+        private Subscription subscription;
+        private long bytesWritten;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (subscription != null) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            try {
+                while (byteBuffer.hasRemaining()) {
+                    bytesWritten += fileChannel.write(byteBuffer, position + bytesWritten);
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                future.completeExceptionally(SdkClientException.create("Failed to write to the file", e));
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            future.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            future.complete(response);
+        }
+    }
+}
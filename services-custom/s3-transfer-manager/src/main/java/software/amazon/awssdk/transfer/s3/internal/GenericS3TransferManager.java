@@ -16,10 +16,23 @@
 package software.amazon.awssdk.transfer.s3.internal;
 
 import static software.amazon.awssdk.transfer.s3.SizeConstant.MB;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_ENABLED;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_MAX_IN_FLIGHT_BYTES;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_PART_SIZE_IN_BYTES;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_THRESHOLD_IN_BYTES;
+import static software.amazon.awssdk.transfer.s3.internal.utils.FileUtils.fileNotModified;
 import static software.amazon.awssdk.transfer.s3.internal.utils.ResumableRequestConverter.toDownloadFileRequestAndTransformer;
-
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toAbortMultipartUploadRequest;
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toCompletedPart;
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toListPartsRequest;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.arns.Arn;
@@ -30,9 +43,11 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.internal.async.FileAsyncRequestBody;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.internal.crt.S3CrtAsyncClient;
 import software.amazon.awssdk.services.s3.internal.resource.S3AccessPointResource;
 import software.amazon.awssdk.services.s3.internal.resource.S3ArnConverter;
 import software.amazon.awssdk.services.s3.internal.resource.S3Resource;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -47,6 +62,8 @@ import software.amazon.awssdk.transfer.s3.internal.model.DefaultDownload;
 import software.amazon.awssdk.transfer.s3.internal.model.DefaultFileDownload;
 import software.amazon.awssdk.transfer.s3.internal.model.DefaultFileUpload;
 import software.amazon.awssdk.transfer.s3.internal.model.DefaultUpload;
+import software.amazon.awssdk.transfer.s3.internal.model.MultipartFileDownload;
+import software.amazon.awssdk.transfer.s3.internal.model.MultipartFileUpload;
 import software.amazon.awssdk.transfer.s3.internal.progress.ResumeTransferProgress;
 import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
 import software.amazon.awssdk.transfer.s3.model.CompletedCopy;
@@ -65,6 +82,7 @@ import software.amazon.awssdk.transfer.s3.model.DownloadRequest;
 import software.amazon.awssdk.transfer.s3.model.FileDownload;
 import software.amazon.awssdk.transfer.s3.model.FileUpload;
 import software.amazon.awssdk.transfer.s3.model.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.model.ResumableFileUpload;
 import software.amazon.awssdk.transfer.s3.model.Upload;
 import software.amazon.awssdk.transfer.s3.model.UploadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.model.UploadFileRequest;
@@ -83,6 +101,8 @@ class GenericS3TransferManager implements S3TransferManager {
     private final S3AsyncClient s3AsyncClient;
     private final UploadDirectoryHelper uploadDirectoryHelper;
     private final DownloadDirectoryHelper downloadDirectoryHelper;
+    private final MultipartUploadHelper multipartUploadHelper;
+    private final MultipartDownloadHelper multipartDownloadHelper;
     private final boolean isDefaultS3AsyncClient;
 
     private final TransferManagerConfiguration transferConfiguration;
@@ -92,11 +112,16 @@ class GenericS3TransferManager implements S3TransferManager {
                              boolean isDefaultS3AsyncClient) {
         this.s3AsyncClient = s3AsyncClient;
         this.transferConfiguration = transferConfiguration;
-        uploadDirectoryHelper = new UploadDirectoryHelper(transferConfiguration, this::uploadFile);
         ListObjectsHelper listObjectsHelper = new ListObjectsHelper(s3AsyncClient::listObjectsV2);
+        uploadDirectoryHelper = new UploadDirectoryHelper(transferConfiguration,
+                                                          listObjectsHelper,
+                                                          this::uploadFile,
+                                                          s3AsyncClient::deleteObject);
         downloadDirectoryHelper = new DownloadDirectoryHelper(transferConfiguration,
                                                               listObjectsHelper,
                                                               this::downloadFile);
+        this.multipartUploadHelper = multipartUploadHelper(s3AsyncClient, transferConfiguration);
+        this.multipartDownloadHelper = multipartDownloadHelper(s3AsyncClient, transferConfiguration);
         this.isDefaultS3AsyncClient = isDefaultS3AsyncClient;
     }
 
@@ -110,6 +135,45 @@ class GenericS3TransferManager implements S3TransferManager {
         this.transferConfiguration = configuration;
         this.uploadDirectoryHelper = uploadDirectoryHelper;
         this.downloadDirectoryHelper = downloadDirectoryHelper;
+        this.multipartUploadHelper = multipartUploadHelper(s3CrtAsyncClient, configuration);
+        this.multipartDownloadHelper = multipartDownloadHelper(s3CrtAsyncClient, configuration);
+    }
+
+    /**
+     * The CRT-based S3 client already uploads objects in parts, so the SDK only does so for other S3 clients, unless multipart
+     * transfers are disabled.
+     */
+    private static MultipartUploadHelper multipartUploadHelper(S3AsyncClient s3AsyncClient,
+                                                               TransferManagerConfiguration configuration) {
+        if (!isMultipartEnabled(s3AsyncClient, configuration)) {
+            return null;
+        }
+        return new MultipartUploadHelper(s3AsyncClient,
+                                         configuration.option(MULTIPART_PART_SIZE_IN_BYTES),
+                                         configuration.option(MULTIPART_THRESHOLD_IN_BYTES),
+                                         configuration.option(MULTIPART_MAX_IN_FLIGHT_BYTES));
+    }
+
+    /**
+     * The CRT-based S3 client already downloads objects in parts, so the SDK only does so for other S3 clients, unless
+     * multipart transfers are disabled.
+     */
+    private static MultipartDownloadHelper multipartDownloadHelper(S3AsyncClient s3AsyncClient,
+                                                                   TransferManagerConfiguration configuration) {
+        if (!isMultipartEnabled(s3AsyncClient, configuration)) {
+            return null;
+        }
+        return new MultipartDownloadHelper(s3AsyncClient,
+                                           configuration.option(MULTIPART_PART_SIZE_IN_BYTES),
+                                           configuration.option(MULTIPART_MAX_IN_FLIGHT_BYTES));
+    }
+
+    private static boolean isMultipartEnabled(S3AsyncClient s3AsyncClient, TransferManagerConfiguration configuration) {
+        return !(s3AsyncClient instanceof S3CrtAsyncClient) && Boolean.TRUE.equals(configuration.option(MULTIPART_ENABLED));
+    }
+
+    private boolean isMultipartDownload(GetObjectRequest getObjectRequest) {
+        return multipartDownloadHelper != null && MultipartDownloadHelper.isWholeObjectRequest(getObjectRequest);
     }
 
     @Override
@@ -122,14 +186,18 @@ class GenericS3TransferManager implements S3TransferManager {
 
         TransferProgressUpdater progressUpdater = new TransferProgressUpdater(uploadRequest, requestBody);
         progressUpdater.transferInitiated();
-        requestBody = progressUpdater.wrapRequestBody(requestBody);
         progressUpdater.registerCompletion(returnFuture);
 
         try {
             assertNotUnsupportedArn(uploadRequest.putObjectRequest().bucket(), "upload");
 
-            CompletableFuture<PutObjectResponse> crtFuture =
-                s3AsyncClient.putObject(uploadRequest.putObjectRequest(), requestBody);
+            CompletableFuture<PutObjectResponse> crtFuture;
+            if (multipartUploadHelper != null) {
+                crtFuture = multipartUploadHelper.upload(uploadRequest.putObjectRequest(), requestBody, progressUpdater);
+            } else {
+                crtFuture = s3AsyncClient.putObject(uploadRequest.putObjectRequest(),
+                                                    progressUpdater.wrapRequestBody(requestBody));
+            }
 
             // Forward upload cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(returnFuture, crtFuture);
@@ -149,6 +217,10 @@ class GenericS3TransferManager implements S3TransferManager {
     public FileUpload uploadFile(UploadFileRequest uploadFileRequest) {
         Validate.paramNotNull(uploadFileRequest, "uploadFileRequest");
 
+        if (multipartUploadHelper != null) {
+            return doUploadFile(uploadFileRequest, MultipartUploadState.create());
+        }
+
         AsyncRequestBody requestBody =
             FileAsyncRequestBody.builder()
                                 .path(uploadFileRequest.source())
@@ -184,6 +256,146 @@ class GenericS3TransferManager implements S3TransferManager {
         return new DefaultFileUpload(returnFuture, progressUpdater.progress(), uploadFileRequest);
     }
 
+    private FileUpload doUploadFile(UploadFileRequest uploadFileRequest, MultipartUploadState state) {
+        CompletableFuture<CompletedFileUpload> returnFuture = new CompletableFuture<>();
+        TransferProgressUpdater progressUpdater = doUploadFile(uploadFileRequest, state, returnFuture);
+
+        return new MultipartFileUpload(returnFuture, progressUpdater.progress(), state, uploadFileRequest);
+    }
+
+    private TransferProgressUpdater doUploadFile(UploadFileRequest uploadFileRequest,
+                                                 MultipartUploadState state,
+                                                 CompletableFuture<CompletedFileUpload> returnFuture) {
+        AsyncRequestBody requestBody =
+            FileAsyncRequestBody.builder()
+                                .path(uploadFileRequest.source())
+                                .chunkSizeInBytes(DEFAULT_FILE_UPLOAD_CHUNK_SIZE)
+                                .build();
+
+        PutObjectRequest putObjectRequest = uploadFileRequest.putObjectRequest();
+
+        TransferProgressUpdater progressUpdater = new TransferProgressUpdater(uploadFileRequest, requestBody);
+        progressUpdater.transferInitiated();
+        progressUpdater.registerCompletion(returnFuture);
+
+        try {
+            assertNotUnsupportedArn(putObjectRequest.bucket(), "upload");
+
+            CompletableFuture<PutObjectResponse> putObjectFuture =
+                multipartUploadHelper.uploadFile(putObjectRequest, uploadFileRequest.source(),
+                                                 DEFAULT_FILE_UPLOAD_CHUNK_SIZE, progressUpdater, state);
+
+            // Forward upload cancellation to putObjectFuture
+            CompletableFutureUtils.forwardExceptionTo(returnFuture, putObjectFuture);
+
+            CompletableFutureUtils.forwardTransformedResultTo(putObjectFuture, returnFuture,
+                                                              r -> CompletedFileUpload.builder()
+                                                                                      .response(r)
+                                                                                      .build());
+        } catch (Throwable throwable) {
+            returnFuture.completeExceptionally(throwable);
+        }
+        return progressUpdater;
+    }
+
+    @Override
+    public FileUpload resumeUploadFile(ResumableFileUpload resumableFileUpload) {
+        Validate.paramNotNull(resumableFileUpload, "resumableFileUpload");
+        if (multipartUploadHelper == null) {
+            throw new UnsupportedOperationException();
+        }
+
+        UploadFileRequest uploadFileRequest = resumableFileUpload.uploadFileRequest();
+        PutObjectRequest putObjectRequest = uploadFileRequest.putObjectRequest();
+        boolean fileModified = !fileNotModified(resumableFileUpload.fileLength(),
+                                                resumableFileUpload.fileLastModified(),
+                                                uploadFileRequest.source());
+
+        if (fileModified) {
+            log.debug(() -> String.format("The file (%s) has been modified since the last pause. The SDK will upload the "
+                                          + "requested object in bucket (%s) with key (%s) from the beginning.",
+                                          uploadFileRequest.source(), putObjectRequest.bucket(), putObjectRequest.key()));
+            resumableFileUpload.multipartUploadId().ifPresent(id -> abortPreviousUpload(putObjectRequest, id));
+            return uploadFile(uploadFileRequest);
+        }
+
+        if (!resumableFileUpload.multipartUploadId().isPresent() || !resumableFileUpload.partSizeInBytes().isPresent()) {
+            log.debug(() -> String.format("No multipart upload ID is found. The SDK will upload the requested object in "
+                                          + "bucket (%s) with key (%s) from the beginning.",
+                                          putObjectRequest.bucket(), putObjectRequest.key()));
+            return uploadFile(uploadFileRequest);
+        }
+
+        String uploadId = resumableFileUpload.multipartUploadId().get();
+        long partSizeInBytes = resumableFileUpload.partSizeInBytes().getAsLong();
+        log.debug(() -> "Resuming multipart upload, uploadId: " + uploadId);
+
+        MultipartUploadState state = MultipartUploadState.resume(uploadId, partSizeInBytes, Collections.emptyList());
+        CompletableFuture<CompletedFileUpload> returnFuture = new CompletableFuture<>();
+        CompletableFuture<TransferProgress> progressFuture = new CompletableFuture<>();
+
+        CompletableFuture<Collection<CompletedPart>> uploadedPartsFuture =
+            uploadedParts(putObjectRequest, uploadId, partSizeInBytes, resumableFileUpload.fileLength());
+
+        // Ensure cancellations are forwarded to the list parts future
+        CompletableFutureUtils.forwardExceptionTo(returnFuture, uploadedPartsFuture);
+
+        uploadedPartsFuture.thenAccept(completedParts -> {
+            if (returnFuture.isDone()) {
+                return;
+            }
+            completedParts.forEach(state::partCompleted);
+            TransferProgressUpdater progressUpdater = doUploadFile(uploadFileRequest, state, returnFuture);
+            progressFuture.complete(progressUpdater.progress());
+        }).exceptionally(throwable -> {
+            Throwable exceptionCause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            Throwable propagatedException = exceptionCause instanceof SdkException || exceptionCause instanceof Error
+                                            ? exceptionCause
+                                            : SdkClientException.create("Failed to resume the request", exceptionCause);
+            returnFuture.completeExceptionally(propagatedException);
+            progressFuture.completeExceptionally(propagatedException);
+            return null;
+        });
+
+        return new MultipartFileUpload(returnFuture, new ResumeTransferProgress(progressFuture), state, uploadFileRequest);
+    }
+
+    /**
+     * Lists the parts that were uploaded before the upload was paused. Only parts of the expected size are kept, so that a
+     * part that does not match the file is uploaded again.
+     */
+    private CompletableFuture<Collection<CompletedPart>> uploadedParts(PutObjectRequest putObjectRequest,
+                                                                      String uploadId,
+                                                                      long partSizeInBytes,
+                                                                      long fileLength) {
+        Collection<CompletedPart> completedParts = new ConcurrentLinkedQueue<>();
+        return s3AsyncClient.listPartsPaginator(toListPartsRequest(putObjectRequest, uploadId))
+                            .parts()
+                            .subscribe(part -> {
+                                long expectedSize = Math.min(partSizeInBytes,
+                                                             fileLength - (part.partNumber() - 1) * partSizeInBytes);
+                                if (part.size() != null && part.size() == expectedSize) {
+                                    completedParts.add(toCompletedPart(part));
+                                }
+                            })
+                            .thenApply(ignored -> completedParts);
+    }
+
+    private void abortPreviousUpload(PutObjectRequest putObjectRequest, String uploadId) {
+        log.debug(() -> "Aborting previous upload with multipartUploadId: " + uploadId);
+        s3AsyncClient.abortMultipartUpload(toAbortMultipartUploadRequest(putObjectRequest, uploadId))
+                     .exceptionally(t -> {
+                         log.warn(() -> String.format("Failed to abort previous multipart upload "
+                                                      + "(id: %s)"
+                                                      + ". You may need to call "
+                                                      + "S3AsyncClient#abortMultiPartUpload to "
+                                                      + "free all storage consumed by"
+                                                      + " all parts. ",
+                                                      uploadId), t);
+                         return null;
+                     });
+    }
+
     @Override
     public DirectoryUpload uploadDirectory(UploadDirectoryRequest uploadDirectoryRequest) {
         Validate.paramNotNull(uploadDirectoryRequest, "uploadDirectoryRequest");
@@ -208,14 +420,19 @@ class GenericS3TransferManager implements S3TransferManager {
 
         TransferProgressUpdater progressUpdater = new TransferProgressUpdater(downloadRequest, null);
         progressUpdater.transferInitiated();
-        responseTransformer = progressUpdater.wrapResponseTransformer(responseTransformer);
         progressUpdater.registerCompletion(returnFuture);
 
         try {
             assertNotUnsupportedArn(downloadRequest.getObjectRequest().bucket(), "download");
 
-            CompletableFuture<ResultT> crtFuture =
-                s3AsyncClient.getObject(downloadRequest.getObjectRequest(), responseTransformer);
+            CompletableFuture<ResultT> crtFuture;
+            if (isMultipartDownload(downloadRequest.getObjectRequest())) {
+                crtFuture = multipartDownloadHelper.download(downloadRequest.getObjectRequest(), responseTransformer,
+                                                             progressUpdater);
+            } else {
+                crtFuture = s3AsyncClient.getObject(downloadRequest.getObjectRequest(),
+                                                    progressUpdater.wrapResponseTransformer(responseTransformer));
+            }
 
             // Forward download cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(returnFuture, crtFuture);
@@ -235,6 +452,13 @@ class GenericS3TransferManager implements S3TransferManager {
     public FileDownload downloadFile(DownloadFileRequest downloadRequest) {
         Validate.paramNotNull(downloadRequest, "downloadFileRequest");
 
+        if (isMultipartDownload(downloadRequest.getObjectRequest())) {
+            MultipartDownloadState state = MultipartDownloadState.create();
+            CompletableFuture<CompletedFileDownload> returnFuture = new CompletableFuture<>();
+            TransferProgressUpdater progressUpdater = doMultipartDownloadFile(downloadRequest, state, returnFuture);
+            return new MultipartFileDownload(returnFuture, progressUpdater.progress(), state, downloadRequest);
+        }
+
         AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> responseTransformer =
             AsyncResponseTransformer.toFile(downloadRequest.destination(),
                                             FileTransformerConfiguration.defaultCreateOrReplaceExisting());
@@ -274,9 +498,41 @@ class GenericS3TransferManager implements S3TransferManager {
         return progressUpdater;
     }
 
+    private TransferProgressUpdater doMultipartDownloadFile(DownloadFileRequest downloadRequest,
+                                                           MultipartDownloadState state,
+                                                           CompletableFuture<CompletedFileDownload> returnFuture) {
+        TransferProgressUpdater progressUpdater = new TransferProgressUpdater(downloadRequest, null);
+        try {
+            progressUpdater.transferInitiated();
+            progressUpdater.registerCompletion(returnFuture);
+
+            assertNotUnsupportedArn(downloadRequest.getObjectRequest().bucket(), "download");
+
+            CompletableFuture<GetObjectResponse> getObjectFuture =
+                multipartDownloadHelper.downloadFile(downloadRequest.getObjectRequest(), downloadRequest.destination(),
+                                                     progressUpdater, state);
+
+            // Forward download cancellation to getObjectFuture
+            CompletableFutureUtils.forwardExceptionTo(returnFuture, getObjectFuture);
+
+            CompletableFutureUtils.forwardTransformedResultTo(getObjectFuture, returnFuture,
+                                                              res -> CompletedFileDownload.builder()
+                                                                                          .response(res)
+                                                                                          .build());
+        } catch (Throwable throwable) {
+            returnFuture.completeExceptionally(throwable);
+        }
+        return progressUpdater;
+    }
+
     @Override
     public FileDownload resumeDownloadFile(ResumableFileDownload resumableFileDownload) {
         Validate.paramNotNull(resumableFileDownload, "resumableFileDownload");
+        if (isMultipartDownload(resumableFileDownload.downloadFileRequest().getObjectRequest())
+            && (resumableFileDownload.partSizeInBytes().isPresent() || resumableFileDownload.bytesTransferred() == 0)) {
+            return resumeMultipartDownloadFile(resumableFileDownload);
+        }
+
         CompletableFuture<CompletedFileDownload> returnFuture = new CompletableFuture<>();
         DownloadFileRequest originalDownloadRequest = resumableFileDownload.downloadFileRequest();
         GetObjectRequest getObjectRequest = originalDownloadRequest.getObjectRequest();
@@ -313,6 +569,93 @@ class GenericS3TransferManager implements S3TransferManager {
                                        resumableFileDownload);
     }
 
+    /**
+     * Resumes a download that was paused while it was downloaded in parts. The parts that were written to the file are only
+     * kept if neither the object nor the file has been modified since the download was paused.
+     */
+    private FileDownload resumeMultipartDownloadFile(ResumableFileDownload resumableFileDownload) {
+        DownloadFileRequest originalDownloadRequest = resumableFileDownload.downloadFileRequest();
+        GetObjectRequest getObjectRequest = originalDownloadRequest.getObjectRequest();
+        MultipartDownloadState state = resumedDownloadState(resumableFileDownload);
+        CompletableFuture<CompletedFileDownload> returnFuture = new CompletableFuture<>();
+        CompletableFuture<TransferProgress> progressFuture = new CompletableFuture<>();
+        CompletableFuture<DownloadFileRequest> newDownloadFileRequestFuture = new CompletableFuture<>();
+
+        CompletableFuture<HeadObjectResponse> headFuture =
+            s3AsyncClient.headObject(b -> b.bucket(getObjectRequest.bucket()).key(getObjectRequest.key()));
+
+        // Ensure cancellations are forwarded to the head future
+        CompletableFutureUtils.forwardExceptionTo(returnFuture, headFuture);
+
+        headFuture.thenAccept(headObjectResponse -> {
+            if (returnFuture.isDone()) {
+                return;
+            }
+            if (!partsReusable(resumableFileDownload, headObjectResponse)) {
+                state.reset();
+            }
+
+            DownloadFileRequest newDownloadFileRequest =
+                originalDownloadRequest.toBuilder()
+                                       .getObjectRequest(getObjectRequest.toBuilder()
+                                                                         .ifUnmodifiedSince(headObjectResponse.lastModified())
+                                                                         .build())
+                                       .build();
+            newDownloadFileRequestFuture.complete(newDownloadFileRequest);
+            log.debug(() -> "Sending downloadFileRequest " + newDownloadFileRequest);
+
+            TransferProgressUpdater progressUpdater = doMultipartDownloadFile(newDownloadFileRequest, state, returnFuture);
+            progressFuture.complete(progressUpdater.progress());
+        }).exceptionally(throwable -> {
+            handleException(returnFuture, progressFuture, newDownloadFileRequestFuture, throwable);
+            return null;
+        });
+
+        return new MultipartFileDownload(returnFuture,
+                                         new ResumeTransferProgress(progressFuture),
+                                         state,
+                                         originalDownloadRequest);
+    }
+
+    /**
+     * The state of the download as it was paused, which is kept if the download is paused again before it is resumed.
+     */
+    private static MultipartDownloadState resumedDownloadState(ResumableFileDownload resumableFileDownload) {
+        if (!resumableFileDownload.partSizeInBytes().isPresent() || !resumableFileDownload.totalSizeInBytes().isPresent()) {
+            return MultipartDownloadState.create();
+        }
+        return MultipartDownloadState.resume(resumableFileDownload.partSizeInBytes().getAsLong(),
+                                             resumableFileDownload.totalSizeInBytes().getAsLong(),
+                                             resumableFileDownload.s3ObjectLastModified().orElse(null),
+                                             resumableFileDownload.completedParts());
+    }
+
+    private static boolean partsReusable(ResumableFileDownload resumableFileDownload,
+                                         HeadObjectResponse headObjectResponse) {
+        GetObjectRequest getObjectRequest = resumableFileDownload.downloadFileRequest().getObjectRequest();
+        Instant lastModified = resumableFileDownload.s3ObjectLastModified().orElse(null);
+        boolean s3ObjectNotModified = headObjectResponse.lastModified().equals(lastModified)
+                                      && resumableFileDownload.totalSizeInBytes().isPresent()
+                                      && resumableFileDownload.totalSizeInBytes().getAsLong()
+                                         == headObjectResponse.contentLength();
+
+        // Parts are written at their offsets, so the length of a partially downloaded file says nothing about its progress
+        File destination = resumableFileDownload.downloadFileRequest().destination().toFile();
+        boolean fileNotModified = destination.exists()
+                                  && Instant.ofEpochMilli(destination.lastModified())
+                                            .equals(resumableFileDownload.fileLastModified());
+
+        if (!resumableFileDownload.partSizeInBytes().isPresent() || !s3ObjectNotModified || !fileNotModified) {
+            log.debug(() -> String.format("The requested object in bucket (%s) with key (%s) or the file (%s) has been "
+                                          + "modified since the last pause. The SDK will download the S3 object from the "
+                                          + "beginning.",
+                                          getObjectRequest.bucket(), getObjectRequest.key(),
+                                          resumableFileDownload.downloadFileRequest().destination()));
+            return false;
+        }
+        return true;
+    }
+
     private DownloadFileRequest newOrOriginalRequestForPause(CompletableFuture<DownloadFileRequest> newDownloadFuture,
                                                              DownloadFileRequest originalDownloadRequest) {
         try {
@@ -36,11 +36,13 @@ import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.Logger;
 
 /**
- * A helper class that returns all objects within a bucket given a {@link ListObjectsV2Request} recursively.
+ * A helper class that returns all objects within a bucket given a {@link ListObjectsV2Request} recursively, either in key order
+ * one page at a time, or by listing several prefixes in parallel.
  */
 @SdkInternalApi
 public class ListObjectsHelper {
     private static final Logger logger = Logger.loggerFor(S3TransferManager.class);
+    private static final int MAX_BUFFERED_OBJECTS_PER_LIST_REQUEST = 1000;
     private final Function<ListObjectsV2Request, CompletableFuture<ListObjectsV2Response>> listObjectsFunction;
     private final S3ObjectsIteratorFunction objectsIteratorFunction;
 
@@ -55,6 +57,21 @@ public class ListObjectsHelper {
                                       .iteratorFunction(objectsIteratorFunction).isLastPage(false).build();
     }
 
+    /**
+     * Returns the same objects as {@link #listS3ObjectsRecursively}, but lists up to {@code maxConcurrency} of the prefixes
+     * discovered with the delimiter concurrently. The objects are not returned in key order.
+     *
+     * @see ParallelListObjectsPublisher
+     */
+    public SdkPublisher<S3Object> listS3ObjectsInParallel(ListObjectsV2Request firstRequest, int maxConcurrency) {
+        return ParallelListObjectsPublisher.builder()
+                                           .listObjectsFunction(listObjectsFunction)
+                                           .firstRequest(firstRequest)
+                                           .maxConcurrency(maxConcurrency)
+                                           .maxBufferedObjects(maxConcurrency * MAX_BUFFERED_OBJECTS_PER_LIST_REQUEST)
+                                           .build();
+    }
+
     private static final class S3ObjectsIteratorFunction implements Function<ListObjectsV2Response, Iterator<S3Object>> {
 
         @Override
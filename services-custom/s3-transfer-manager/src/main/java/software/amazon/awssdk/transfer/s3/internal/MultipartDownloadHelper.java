@@ -0,0 +1,585 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.async.listener.AsyncResponseTransformerListener;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.async.SimplePublisher;
+
+/**
+ * An internal helper class that downloads objects in parts with ranged GetObject requests, for S3 clients that do not
+ * download in parts themselves.
+ * <p>
+ * The first part is requested without knowing the size of the object. Its response carries the size of the object in its
+ * Content-Range header, and the remaining parts are requested concurrently as soon as it arrives, while the body of the first
+ * part is still being received. The remaining parts are requested with the ETag of the first part as If-Match, so that the
+ * download fails rather than mixes two versions of an object that is overwritten in the meantime. At most
+ * {@code maxInFlightBytes} of parts are requested at a time.
+ * <p>
+ * A file download writes each part at its offset in the file as it arrives. Any other download reassembles the parts in
+ * order before they are passed to the {@link AsyncResponseTransformer}, so the parts that arrive early are buffered. A part
+ * is only requested once the parts before it leave at most {@code maxInFlightBytes} of parts buffered or in flight.
+ */
+@SdkInternalApi
+public final class MultipartDownloadHelper {
+    private static final Logger log = Logger.loggerFor(S3TransferManager.class);
+
+    private static final int INVALID_RANGE_STATUS_CODE = 416;
+
+    private final S3AsyncClient s3AsyncClient;
+    private final long partSizeInBytes;
+    private final int maxInFlightParts;
+
+    public MultipartDownloadHelper(S3AsyncClient s3AsyncClient, long partSizeInBytes, long maxInFlightBytes) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.partSizeInBytes = partSizeInBytes;
+        this.maxInFlightParts = (int) Math.max(1, maxInFlightBytes / partSizeInBytes);
+    }
+
+    /**
+     * Whether the request is for the whole object. A request for a range or a part of an object is sent as it is.
+     */
+    public static boolean isWholeObjectRequest(GetObjectRequest getObjectRequest) {
+        return getObjectRequest.range() == null && getObjectRequest.partNumber() == null;
+    }
+
+    /**
+     * Download an object to a file. If the {@link MultipartDownloadState} holds the size of the object, the download is
+     * resumed, and only the parts that are not completed in the state are downloaded.
+     */
+    public CompletableFuture<GetObjectResponse> downloadFile(GetObjectRequest getObjectRequest,
+                                                             Path destination,
+                                                             TransferProgressUpdater progressUpdater,
+                                                             MultipartDownloadState state) {
+        CompletableFuture<GetObjectResponse> returnFuture = new CompletableFuture<>();
+
+        try {
+            boolean resumed = state.totalSizeInBytes().isPresent();
+            FileChannel fileChannel = resumed
+                                      ? FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE)
+                                      : FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                         StandardOpenOption.TRUNCATE_EXISTING);
+            returnFuture.whenComplete((r, t) -> IoUtils.closeQuietly(fileChannel, log.logger()));
+
+            FileDownload download = new FileDownload(getObjectRequest, fileChannel, progressUpdater, state, returnFuture);
+            if (resumed) {
+                download.resume();
+            } else {
+                download.start();
+            }
+        } catch (Throwable throwable) {
+            returnFuture.completeExceptionally(throwable);
+        }
+
+        return returnFuture;
+    }
+
+    /**
+     * Download an object to a response transformer, which receives the parts in order.
+     */
+    public <ResultT> CompletableFuture<ResultT> download(GetObjectRequest getObjectRequest,
+                                                         AsyncResponseTransformer<GetObjectResponse, ResultT> transformer,
+                                                         TransferProgressUpdater progressUpdater) {
+        CompletableFuture<ResultT> returnFuture = new CompletableFuture<>();
+
+        try {
+            new OrderedDownload<>(getObjectRequest, transformer, progressUpdater, returnFuture).start();
+        } catch (Throwable throwable) {
+            returnFuture.completeExceptionally(throwable);
+        }
+
+        return returnFuture;
+    }
+
+    private static GetObjectRequest partRequest(GetObjectRequest getObjectRequest,
+                                                int partNumber,
+                                                long partSize,
+                                                Long totalSizeInBytes) {
+        long start = (partNumber - 1) * partSize;
+        long end = start + partSize - 1;
+        if (totalSizeInBytes != null) {
+            end = Math.min(end, totalSizeInBytes - 1);
+        }
+        return getObjectRequest.toBuilder()
+                               .range("bytes=" + start + "-" + end)
+                               .build();
+    }
+
+    /**
+     * The request for the parts after the first one, which fails if the object is no longer the one of the first part.
+     */
+    private static GetObjectRequest remainingPartsRequest(GetObjectRequest getObjectRequest, GetObjectResponse firstResponse) {
+        if (getObjectRequest.ifMatch() != null || firstResponse.eTag() == null) {
+            return getObjectRequest;
+        }
+        return getObjectRequest.toBuilder()
+                               .ifMatch(firstResponse.eTag())
+                               .build();
+    }
+
+    /**
+     * Whether this is the first response of the first part. The response transformer of a part is called again when the part
+     * is retried, but the download must only be started from the first part once. A retried first part that returns another
+     * version of the object fails the download, as the remaining parts are of the version of the first response.
+     */
+    private static boolean isFirstResponse(AtomicReference<GetObjectResponse> firstResponseRef, GetObjectResponse response) {
+        if (firstResponseRef.compareAndSet(null, response)) {
+            return true;
+        }
+        String firstETag = firstResponseRef.get().eTag();
+        if (firstETag != null && !firstETag.equals(response.eTag())) {
+            throw SdkClientException.create("The object was modified while it was being downloaded: the ETag of the first part "
+                                            + "changed from " + firstETag + " to " + response.eTag() + " when it was retried");
+        }
+        return false;
+    }
+
+    /**
+     * The size of the object, from the Content-Range header of a ranged GetObject response, e.g. "bytes 0-8388607/12345678".
+     * If the response is not ranged, it holds the whole object.
+     */
+    private static long totalSizeInBytes(GetObjectResponse response) {
+        String contentRange = response.contentRange();
+        if (contentRange == null) {
+            return response.contentLength();
+        }
+        int slash = contentRange.lastIndexOf('/');
+        String totalSize = slash < 0 ? "" : contentRange.substring(slash + 1).trim();
+        try {
+            return Long.parseLong(totalSize);
+        } catch (NumberFormatException e) {
+            throw SdkClientException.create("Failed to determine the size of the object from the Content-Range header: "
+                                            + contentRange, e);
+        }
+    }
+
+    /**
+     * The response of the whole object, from the response of one of its parts.
+     */
+    private static GetObjectResponse wholeObjectResponse(GetObjectResponse partResponse, long totalSizeInBytes) {
+        return partResponse.toBuilder()
+                           .contentLength(totalSizeInBytes)
+                           .contentRange(null)
+                           .build();
+    }
+
+    /**
+     * Whether the first ranged request failed because the object is empty, as S3 rejects any range of an empty object.
+     */
+    private static boolean isInvalidRange(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        return cause instanceof S3Exception && ((S3Exception) cause).statusCode() == INVALID_RANGE_STATUS_CODE;
+    }
+
+    private static Throwable toSdkException(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        return cause instanceof SdkException || cause instanceof Error
+               ? cause
+               : SdkClientException.create("Failed to send multipart download requests", cause);
+    }
+
+    /**
+     * A download to a file, where each part is written at its offset as it arrives. At most {@link #maxInFlightParts} parts
+     * are requested at a time, and the next part is requested whenever one completes.
+     */
+    private final class FileDownload {
+        private final GetObjectRequest getObjectRequest;
+        private final FileChannel fileChannel;
+        private final TransferProgressUpdater progressUpdater;
+        private final MultipartDownloadState state;
+        private final CompletableFuture<GetObjectResponse> returnFuture;
+        private final Queue<Integer> pendingParts = new ConcurrentLinkedQueue<>();
+        private final Set<CompletableFuture<GetObjectResponse>> inFlightParts = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger remainingParts = new AtomicInteger();
+        private final AtomicReference<GetObjectResponse> response = new AtomicReference<>();
+        private final AtomicReference<GetObjectResponse> firstResponse = new AtomicReference<>();
+        private volatile GetObjectRequest partsRequest;
+
+        /**
+         * The part size of the download, which for a resumed download is the one the state was created with, as the
+         * completed parts were written at its offsets.
+         */
+        private volatile long partSize;
+
+        private FileDownload(GetObjectRequest getObjectRequest,
+                             FileChannel fileChannel,
+                             TransferProgressUpdater progressUpdater,
+                             MultipartDownloadState state,
+                             CompletableFuture<GetObjectResponse> returnFuture) {
+            this.getObjectRequest = getObjectRequest;
+            this.fileChannel = fileChannel;
+            this.progressUpdater = progressUpdater;
+            this.state = state;
+            this.returnFuture = returnFuture;
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    inFlightParts.forEach(f -> f.cancel(true));
+                }
+            });
+        }
+
+        /**
+         * Request the first part, and the remaining parts once the size of the object is known.
+         */
+        private void start() {
+            partSize = partSizeInBytes;
+            state.downloadStarted(partSize);
+            remainingParts.set(1);
+            partsRequest = getObjectRequest;
+            requestPart(1, this::firstPartResponse);
+        }
+
+        private void firstPartResponse(GetObjectResponse firstResponse) {
+            if (!isFirstResponse(this.firstResponse, firstResponse)) {
+                return;
+            }
+            long totalSizeInBytes = totalSizeInBytes(firstResponse);
+            GetObjectResponse wholeObjectResponse = wholeObjectResponse(firstResponse, totalSizeInBytes);
+            response.set(wholeObjectResponse);
+            state.objectSizeReceived(totalSizeInBytes, firstResponse.lastModified());
+            progressUpdater.responseReceived(wholeObjectResponse);
+
+            int totalParts = state.totalParts();
+            log.debug(() -> String.format("Starting multipart download with partCount: %s, partSize: %s",
+                                          totalParts, partSize));
+
+            partsRequest = remainingPartsRequest(getObjectRequest, firstResponse);
+            for (int partNumber = 2; partNumber <= totalParts; partNumber++) {
+                pendingParts.add(partNumber);
+            }
+            remainingParts.addAndGet(totalParts - 1);
+            for (int i = 1; i < maxInFlightParts; i++) {
+                requestNextPart();
+            }
+        }
+
+        /**
+         * Request the parts that are not completed in the state. If every part is completed, the last part is requested
+         * again, for the response of the download.
+         */
+        private void resume() {
+            partSize = state.partSizeInBytes().getAsLong();
+            long totalSizeInBytes = state.totalSizeInBytes().getAsLong();
+            int totalParts = state.totalParts();
+            for (int partNumber = 1; partNumber <= totalParts; partNumber++) {
+                if (!state.isPartCompleted(partNumber)) {
+                    pendingParts.add(partNumber);
+                }
+            }
+            if (pendingParts.isEmpty()) {
+                pendingParts.add(totalParts);
+            }
+
+            progressUpdater.totalBytes(totalSizeInBytes);
+            for (int partNumber = 1; partNumber <= totalParts; partNumber++) {
+                if (state.isPartCompleted(partNumber) && !pendingParts.contains(partNumber)) {
+                    progressUpdater.incrementBytesTransferred(state.partSize(partNumber));
+                }
+            }
+
+            log.debug(() -> String.format("Resuming multipart download with partCount: %s, partSize: %s, remaining parts: %s",
+                                          totalParts, partSize, pendingParts.size()));
+
+            partsRequest = getObjectRequest;
+            remainingParts.set(pendingParts.size());
+            for (int i = 0; i < maxInFlightParts; i++) {
+                requestNextPart();
+            }
+        }
+
+        private void requestNextPart() {
+            if (returnFuture.isDone()) {
+                return;
+            }
+            Integer partNumber = pendingParts.poll();
+            if (partNumber != null) {
+                requestPart(partNumber, r -> response.compareAndSet(null, wholeObjectResponse(r, totalSize())));
+            }
+        }
+
+        private void requestPart(int partNumber, Consumer<GetObjectResponse> responseConsumer) {
+            long position = (partNumber - 1) * partSize;
+            AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> partTransformer =
+                new FilePartResponseTransformer(fileChannel, position, r -> {
+                    try {
+                        responseConsumer.accept(r);
+                    } catch (Throwable t) {
+                        returnFuture.completeExceptionally(toSdkException(t));
+                    }
+                });
+
+            log.trace(() -> "Sending getObjectRequest for part " + partNumber);
+            GetObjectRequest partRequest = partRequest(partsRequest, partNumber, partSize,
+                                                       state.totalSizeInBytes().isPresent() ? totalSize() : null);
+            CompletableFuture<GetObjectResponse> partFuture =
+                s3AsyncClient.getObject(partRequest, progressUpdater.wrapPartResponseTransformer(partTransformer));
+            inFlightParts.add(partFuture);
+            partFuture.whenComplete((r, t) -> {
+                inFlightParts.remove(partFuture);
+                if (t != null) {
+                    partFailed(partNumber, t);
+                    return;
+                }
+                state.partCompleted(partNumber);
+                if (remainingParts.decrementAndGet() == 0) {
+                    progressUpdater.endOfStream();
+                    returnFuture.complete(response.get());
+                } else {
+                    requestNextPart();
+                }
+            });
+        }
+
+        private void partFailed(int partNumber, Throwable throwable) {
+            if (partNumber == 1 && isInvalidRange(throwable) && !state.totalSizeInBytes().isPresent()) {
+                log.debug(() -> "The object is empty, downloading it with a single GetObject request");
+                AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> transformer =
+                    new FilePartResponseTransformer(fileChannel, 0, r -> { });
+                CompletableFuture<GetObjectResponse> getObjectFuture =
+                    s3AsyncClient.getObject(getObjectRequest, progressUpdater.wrapResponseTransformer(transformer));
+                CompletableFutureUtils.forwardExceptionTo(returnFuture, getObjectFuture);
+                CompletableFutureUtils.forwardResultTo(getObjectFuture, returnFuture);
+                return;
+            }
+            returnFuture.completeExceptionally(toSdkException(throwable));
+        }
+
+        private long totalSize() {
+            return state.totalSizeInBytes().getAsLong();
+        }
+    }
+
+    /**
+     * A download to a response transformer, which receives the parts in order. Each part is downloaded into memory, and is
+     * sent to the response transformer once the parts before it have been sent. A part is only requested while it is
+     * fewer than {@link #maxInFlightParts} parts ahead of the next part to send.
+     */
+    private final class OrderedDownload<ResultT> {
+        private final GetObjectRequest getObjectRequest;
+        private final AsyncResponseTransformer<GetObjectResponse, ResultT> transformer;
+        private final TransferProgressUpdater progressUpdater;
+        private final CompletableFuture<ResultT> returnFuture;
+        private final SimplePublisher<ByteBuffer> publisher = new SimplePublisher<>();
+        private final Set<CompletableFuture<?>> inFlightParts = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<GetObjectResponse> firstResponse = new AtomicReference<>();
+
+        /**
+         * The parts that have been downloaded, but not sent yet, and the progress of the download. Guarded by {@code this}.
+         */
+        private final Map<Integer, ByteBuffer> downloadedParts = new HashMap<>();
+        private int nextPartToRequest = 1;
+        private int nextPartToSend = 1;
+        private boolean sending;
+
+        private volatile int totalParts;
+        private volatile long totalSizeInBytes;
+        private volatile GetObjectRequest partsRequest;
+        private volatile boolean streamStarted;
+
+        private OrderedDownload(GetObjectRequest getObjectRequest,
+                                AsyncResponseTransformer<GetObjectResponse, ResultT> transformer,
+                                TransferProgressUpdater progressUpdater,
+                                CompletableFuture<ResultT> returnFuture) {
+            this.getObjectRequest = getObjectRequest;
+            this.transformer = transformer;
+            this.progressUpdater = progressUpdater;
+            this.returnFuture = returnFuture;
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    inFlightParts.forEach(f -> f.cancel(true));
+                    if (streamStarted) {
+                        publisher.error(t);
+                    }
+                }
+            });
+        }
+
+        private void start() {
+            partsRequest = getObjectRequest;
+            requestParts();
+        }
+
+        private void firstPartResponse(GetObjectResponse firstResponse) {
+            if (!isFirstResponse(this.firstResponse, firstResponse)) {
+                return;
+            }
+            totalSizeInBytes = totalSizeInBytes(firstResponse);
+            totalParts = (int) Math.max(1, (totalSizeInBytes + partSizeInBytes - 1) / partSizeInBytes);
+            log.debug(() -> String.format("Starting multipart download with partCount: %s, partSize: %s",
+                                          totalParts, partSizeInBytes));
+
+            GetObjectResponse wholeObjectResponse = wholeObjectResponse(firstResponse, totalSizeInBytes);
+            progressUpdater.responseReceived(wholeObjectResponse);
+
+            CompletableFuture<ResultT> transformerFuture = transformer.prepare();
+            CompletableFutureUtils.forwardExceptionTo(returnFuture, transformerFuture);
+            CompletableFutureUtils.forwardResultTo(transformerFuture, returnFuture);
+            transformer.onResponse(wholeObjectResponse);
+            transformer.onStream(SdkPublisher.adapt(publisher));
+            streamStarted = true;
+
+            partsRequest = remainingPartsRequest(getObjectRequest, firstResponse);
+            requestParts();
+        }
+
+        /**
+         * Request the parts that are within {@link #maxInFlightParts} of the next part to send. Before the size of the object
+         * is known, only the first part is requested.
+         */
+        private void requestParts() {
+            List<Integer> partsToRequest = new ArrayList<>();
+            synchronized (this) {
+                int lastPart = totalParts == 0 ? 1 : totalParts;
+                while (nextPartToRequest <= lastPart && nextPartToRequest < nextPartToSend + maxInFlightParts) {
+                    partsToRequest.add(nextPartToRequest++);
+                }
+            }
+            partsToRequest.forEach(this::requestPart);
+        }
+
+        private void requestPart(int partNumber) {
+            if (returnFuture.isDone()) {
+                return;
+            }
+            AsyncResponseTransformer<GetObjectResponse, ResponseBytes<GetObjectResponse>> partTransformer =
+                AsyncResponseTransformer.toBytes();
+            if (partNumber == 1) {
+                partTransformer = AsyncResponseTransformerListener.wrap(
+                    partTransformer,
+                    new AsyncResponseTransformerListener<GetObjectResponse>() {
+                        @Override
+                        public void transformerOnResponse(GetObjectResponse response) {
+                            try {
+                                firstPartResponse(response);
+                            } catch (Throwable t) {
+                                fail(t);
+                            }
+                        }
+                    });
+            }
+
+            log.trace(() -> "Sending getObjectRequest for part " + partNumber);
+            GetObjectRequest partRequest = partRequest(partsRequest, partNumber, partSizeInBytes,
+                                                       totalParts == 0 ? null : totalSizeInBytes);
+            CompletableFuture<ResponseBytes<GetObjectResponse>> partFuture =
+                s3AsyncClient.getObject(partRequest, progressUpdater.wrapPartResponseTransformer(partTransformer));
+            inFlightParts.add(partFuture);
+            partFuture.whenComplete((r, t) -> {
+                inFlightParts.remove(partFuture);
+                if (t != null) {
+                    partFailed(partNumber, t);
+                    return;
+                }
+                synchronized (this) {
+                    downloadedParts.put(partNumber, r.asByteBuffer());
+                }
+                sendParts();
+            });
+        }
+
+        private void sendParts() {
+            int partNumber;
+            ByteBuffer part;
+            synchronized (this) {
+                if (sending || !downloadedParts.containsKey(nextPartToSend)) {
+                    return;
+                }
+                sending = true;
+                partNumber = nextPartToSend;
+                part = downloadedParts.remove(partNumber);
+            }
+
+            publisher.send(part).whenComplete((r, t) -> {
+                if (t != null) {
+                    fail(t);
+                    return;
+                }
+                synchronized (this) {
+                    sending = false;
+                    nextPartToSend++;
+                }
+                if (partNumber == totalParts) {
+                    progressUpdater.endOfStream();
+                    publisher.complete();
+                    return;
+                }
+                requestParts();
+                sendParts();
+            });
+        }
+
+        private void partFailed(int partNumber, Throwable throwable) {
+            if (partNumber == 1 && isInvalidRange(throwable) && !streamStarted) {
+                log.debug(() -> "The object is empty, downloading it with a single GetObject request");
+                CompletableFuture<ResultT> getObjectFuture =
+                    s3AsyncClient.getObject(getObjectRequest, progressUpdater.wrapResponseTransformer(transformer));
+                CompletableFutureUtils.forwardExceptionTo(returnFuture, getObjectFuture);
+                CompletableFutureUtils.forwardResultTo(getObjectFuture, returnFuture);
+                return;
+            }
+            fail(throwable);
+        }
+
+        /**
+         * Fail the download. If the stream was not started, the response transformer was never prepared, so it is prepared
+         * before it is notified of the failure. The download is failed first, so that it completes even if the response
+         * transformer throws.
+         */
+        private void fail(Throwable throwable) {
+            Throwable exception = toSdkException(throwable);
+            if (!returnFuture.completeExceptionally(exception) || streamStarted) {
+                return;
+            }
+            try {
+                transformer.prepare();
+                transformer.exceptionOccurred(exception);
+            } catch (Throwable t) {
+                log.debug(() -> "The response transformer failed to handle the failure of the download", t);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * The progress of a file download by {@link MultipartDownloadHelper}, which is what is needed to pause the download and
+ * resume it later.
+ * <p>
+ * The parts that have been written to the file are tracked in a bitmap, because parts complete out of order. A new download
+ * starts with an empty state. A download that is resumed starts with the part size, the object size and the parts that were
+ * written before it was paused.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class MultipartDownloadState {
+    /**
+     * Bit {@code n - 1} is set once part {@code n} has been written to the file. Guarded by {@code this}.
+     */
+    private final BitSet completedParts = new BitSet();
+    private volatile long partSizeInBytes;
+    private volatile long totalSizeInBytes = -1;
+    private volatile Instant s3ObjectLastModified;
+    private volatile boolean paused;
+
+    private MultipartDownloadState() {
+    }
+
+    public static MultipartDownloadState create() {
+        return new MultipartDownloadState();
+    }
+
+    /**
+     * Create the state of a download that is resumed, after the given parts of the object have been written to the file.
+     */
+    public static MultipartDownloadState resume(long partSizeInBytes,
+                                                long totalSizeInBytes,
+                                                Instant s3ObjectLastModified,
+                                                Collection<Integer> completedParts) {
+        MultipartDownloadState state = new MultipartDownloadState();
+        state.partSizeInBytes = partSizeInBytes;
+        state.totalSizeInBytes = totalSizeInBytes;
+        state.s3ObjectLastModified = s3ObjectLastModified;
+        completedParts.forEach(state::partCompleted);
+        return state;
+    }
+
+    /**
+     * @return The size of each part but the last, or empty if the download has not started yet.
+     */
+    public OptionalLong partSizeInBytes() {
+        return partSizeInBytes == 0 ? OptionalLong.empty() : OptionalLong.of(partSizeInBytes);
+    }
+
+    /**
+     * @return The size of the object, or empty if it is not known yet.
+     */
+    public OptionalLong totalSizeInBytes() {
+        return totalSizeInBytes < 0 ? OptionalLong.empty() : OptionalLong.of(totalSizeInBytes);
+    }
+
+    /**
+     * @return The last modified time of the object, or empty if it is not known yet.
+     */
+    public Optional<Instant> s3ObjectLastModified() {
+        return Optional.ofNullable(s3ObjectLastModified);
+    }
+
+    /**
+     * @return The numbers of the parts that have been written to the file, in ascending order.
+     */
+    public synchronized List<Integer> completedParts() {
+        List<Integer> parts = new ArrayList<>(completedParts.cardinality());
+        completedParts.stream().forEach(i -> parts.add(i + 1));
+        return Collections.unmodifiableList(parts);
+    }
+
+    /**
+     * @return The number of bytes of the parts that have been written to the file.
+     */
+    public synchronized long bytesTransferred() {
+        return completedParts.stream().mapToLong(i -> partSize(i + 1)).sum();
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Mark the download as paused, before it is cancelled.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Discard the progress of a download that is resumed, when the parts that were written to the file can no longer be
+     * used, so that it starts from the beginning.
+     */
+    synchronized void reset() {
+        completedParts.clear();
+        partSizeInBytes = 0;
+        totalSizeInBytes = -1;
+        s3ObjectLastModified = null;
+    }
+
+    void downloadStarted(long partSizeInBytes) {
+        this.partSizeInBytes = partSizeInBytes;
+    }
+
+    void objectSizeReceived(long totalSizeInBytes, Instant s3ObjectLastModified) {
+        this.totalSizeInBytes = totalSizeInBytes;
+        this.s3ObjectLastModified = s3ObjectLastModified;
+    }
+
+    synchronized void partCompleted(int partNumber) {
+        completedParts.set(partNumber - 1);
+    }
+
+    synchronized boolean isPartCompleted(int partNumber) {
+        return completedParts.get(partNumber - 1);
+    }
+
+    int totalParts() {
+        return (int) Math.max(1, (totalSizeInBytes + partSizeInBytes - 1) / partSizeInBytes);
+    }
+
+    long partSize(int partNumber) {
+        return Math.min(partSizeInBytes, totalSizeInBytes - (partNumber - 1) * partSizeInBytes);
+    }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toAbortMultipartUploadRequest;
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toCompleteMultipartUploadRequest;
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toCompletedPart;
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toCreateMultipartUploadRequest;
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toPutObjectResponse;
+import static software.amazon.awssdk.transfer.s3.internal.utils.UploadRequestConversionUtils.toUploadPartRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.internal.async.FileAsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * An internal helper class that uploads objects in parts with the S3 multipart upload API, for S3 clients that do not upload
+ * in parts themselves.
+ * <p>
+ * Objects smaller than the multipart upload threshold are uploaded with a single PutObject request, and so are objects whose
+ * request carries a Content-MD5 or a precomputed checksum of the whole object, since those values do not apply to any single
+ * part. Larger objects are split into parts, which are sent concurrently with UploadPart requests, so that the upload is not
+ * limited to a single connection and a part that fails is retried on its own. At most {@code maxInFlightBytes} of parts are
+ * sent at a time. Once every part has been uploaded, the upload is completed with CompleteMultipartUpload. If a part fails, or
+ * the upload is cancelled, the multipart upload is aborted, unless the upload was
+ * {@link MultipartUploadState#pause() paused}.
+ */
+@SdkInternalApi
+public final class MultipartUploadHelper {
+    private static final Logger log = Logger.loggerFor(S3TransferManager.class);
+
+    /**
+     * The max number of parts on S3 side is 10,000
+     */
+    private static final long MAX_UPLOAD_PARTS = 10_000;
+
+    private final S3AsyncClient s3AsyncClient;
+    private final long partSizeInBytes;
+    private final long multipartUploadThresholdInBytes;
+    private final long maxInFlightBytes;
+
+    public MultipartUploadHelper(S3AsyncClient s3AsyncClient,
+                                 long partSizeInBytes,
+                                 long multipartUploadThresholdInBytes,
+                                 long maxInFlightBytes) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.partSizeInBytes = partSizeInBytes;
+        this.multipartUploadThresholdInBytes = multipartUploadThresholdInBytes;
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
+
+    /**
+     * Upload an object from a request body. The parts are buffered in memory as they are read from the request body, so the
+     * request body is only subscribed to once. If the content length of the request body is unknown, the object is uploaded
+     * in parts once the request body turns out to be larger than a single part.
+     */
+    public CompletableFuture<PutObjectResponse> upload(PutObjectRequest putObjectRequest,
+                                                       AsyncRequestBody requestBody,
+                                                       TransferProgressUpdater progressUpdater) {
+        CompletableFuture<PutObjectResponse> returnFuture = new CompletableFuture<>();
+
+        try {
+            Long contentLength = contentLength(putObjectRequest, requestBody);
+            if (hasWholeObjectChecksum(putObjectRequest)
+                || (contentLength != null && contentLength < multipartUploadThresholdInBytes)) {
+                log.debug(() -> "Starting the upload as a single PutObject request");
+                putObject(putObjectRequest, progressUpdater.wrapRequestBody(requestBody), returnFuture);
+                return returnFuture;
+            }
+
+            long partSize = contentLength == null ? partSizeInBytes : optimalPartSize(contentLength);
+            BufferedUpload upload = new BufferedUpload(putObjectRequest, partSize, progressUpdater, returnFuture);
+            PartBufferingSubscriber subscriber = new PartBufferingSubscriber(partSize, contentLength, maxInFlightBytes, upload);
+            upload.subscriber = subscriber;
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    subscriber.cancel();
+                }
+            });
+            requestBody.subscribe(subscriber);
+        } catch (Throwable throwable) {
+            returnFuture.completeExceptionally(throwable);
+        }
+
+        return returnFuture;
+    }
+
+    /**
+     * Upload an object from a file. Each part is read from the file when it is sent, so nothing is buffered, and the upload
+     * can be paused and resumed with the given {@link MultipartUploadState}.
+     */
+    public CompletableFuture<PutObjectResponse> uploadFile(PutObjectRequest putObjectRequest,
+                                                           Path source,
+                                                           int chunkSizeInBytes,
+                                                           TransferProgressUpdater progressUpdater,
+                                                           MultipartUploadState state) {
+        CompletableFuture<PutObjectResponse> returnFuture = new CompletableFuture<>();
+
+        try {
+            long contentLength = Files.size(source);
+            if (!state.uploadId().isPresent()
+                && (hasWholeObjectChecksum(putObjectRequest) || contentLength < multipartUploadThresholdInBytes)) {
+                log.debug(() -> "Starting the upload as a single PutObject request");
+                AsyncRequestBody requestBody = FileAsyncRequestBody.builder()
+                                                                   .path(source)
+                                                                   .chunkSizeInBytes(chunkSizeInBytes)
+                                                                   .build();
+                putObject(putObjectRequest, progressUpdater.wrapRequestBody(requestBody), returnFuture);
+                return returnFuture;
+            }
+
+            long partSize = state.partSizeInBytes().orElseGet(() -> optimalPartSize(contentLength));
+            FileUpload upload = new FileUpload(putObjectRequest, source, contentLength, partSize,
+                                               (int) Math.min(chunkSizeInBytes, partSize), progressUpdater, state,
+                                               returnFuture);
+            if (state.uploadId().isPresent()) {
+                log.debug(() -> "Resuming multipart upload, uploadId: " + state.uploadId().get());
+                upload.start(state.uploadId().get());
+            } else {
+                createMultipartUpload(putObjectRequest, returnFuture).thenAccept(upload::start);
+            }
+        } catch (Throwable throwable) {
+            returnFuture.completeExceptionally(throwable);
+        }
+
+        return returnFuture;
+    }
+
+    /**
+     * Whether the request carries a Content-MD5 or a checksum value computed over the whole object. Neither is sent with the
+     * parts of a multipart upload, so such an object is uploaded with a single PutObject request to have it validated by S3.
+     */
+    private static boolean hasWholeObjectChecksum(PutObjectRequest putObjectRequest) {
+        return putObjectRequest.contentMD5() != null
+               || putObjectRequest.checksumCRC32() != null
+               || putObjectRequest.checksumCRC32C() != null
+               || putObjectRequest.checksumSHA1() != null
+               || putObjectRequest.checksumSHA256() != null;
+    }
+
+    private void putObject(PutObjectRequest putObjectRequest,
+                           AsyncRequestBody requestBody,
+                           CompletableFuture<PutObjectResponse> returnFuture) {
+        CompletableFuture<PutObjectResponse> putObjectFuture = s3AsyncClient.putObject(putObjectRequest, requestBody);
+
+        // Forward upload cancellation to putObjectFuture
+        CompletableFutureUtils.forwardExceptionTo(returnFuture, putObjectFuture);
+        CompletableFutureUtils.forwardResultTo(putObjectFuture, returnFuture);
+    }
+
+    private CompletableFuture<String> createMultipartUpload(PutObjectRequest putObjectRequest,
+                                                            CompletableFuture<PutObjectResponse> returnFuture) {
+        CompletableFuture<CreateMultipartUploadResponse> createMultipartUploadFuture =
+            s3AsyncClient.createMultipartUpload(toCreateMultipartUploadRequest(putObjectRequest));
+
+        // Ensure cancellations are forwarded to the createMultipartUploadFuture future
+        CompletableFutureUtils.forwardExceptionTo(returnFuture, createMultipartUploadFuture);
+
+        CompletableFuture<String> uploadIdFuture = new CompletableFuture<>();
+        createMultipartUploadFuture.whenComplete((createMultipartUploadResponse, throwable) -> {
+            if (throwable != null) {
+                handleException(returnFuture, () -> "Failed to initiate multipart upload", throwable);
+                uploadIdFuture.completeExceptionally(throwable);
+            } else {
+                String uploadId = createMultipartUploadResponse.uploadId();
+                log.debug(() -> "Initiated new multipart upload, uploadId: " + uploadId);
+                uploadIdFuture.complete(uploadId);
+            }
+        });
+        return uploadIdFuture;
+    }
+
+    private CompletableFuture<CompletedPart> uploadPart(PutObjectRequest putObjectRequest,
+                                                        String uploadId,
+                                                        int partNumber,
+                                                        long partSize,
+                                                        AsyncRequestBody partBody) {
+        log.trace(() -> "Sending uploadPartRequest, partNumber: " + partNumber + " uploadId: " + uploadId);
+        CompletableFuture<UploadPartResponse> uploadPartFuture =
+            s3AsyncClient.uploadPart(toUploadPartRequest(putObjectRequest, uploadId, partNumber, partSize), partBody);
+
+        CompletableFuture<CompletedPart> convertFuture =
+            uploadPartFuture.thenApply(uploadPartResponse -> toCompletedPart(uploadPartResponse, partNumber));
+        CompletableFutureUtils.forwardExceptionTo(convertFuture, uploadPartFuture);
+        return convertFuture;
+    }
+
+    private void completeMultipartUpload(PutObjectRequest putObjectRequest,
+                                         String uploadId,
+                                         CompletedPart[] parts,
+                                         TransferProgressUpdater progressUpdater,
+                                         CompletableFuture<PutObjectResponse> returnFuture) {
+        log.debug(() -> String.format("Sending completeMultipartUploadRequest, uploadId: %s", uploadId));
+        progressUpdater.endOfStream();
+        CompletableFuture<CompleteMultipartUploadResponse> completeFuture =
+            s3AsyncClient.completeMultipartUpload(toCompleteMultipartUploadRequest(putObjectRequest, uploadId, parts));
+
+        CompletableFutureUtils.forwardExceptionTo(returnFuture, completeFuture);
+        completeFuture.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                handleException(returnFuture, () -> "Failed to complete multipart upload", throwable);
+            } else {
+                returnFuture.complete(toPutObjectResponse(response));
+            }
+        });
+    }
+
+    /**
+     * Abort the multipart upload if the upload fails, or is cancelled, unless it is cancelled because it was paused.
+     */
+    private void abortOnFailure(PutObjectRequest putObjectRequest,
+                                String uploadId,
+                                MultipartUploadState state,
+                                CompletableFuture<PutObjectResponse> returnFuture) {
+        returnFuture.whenComplete((r, t) -> {
+            if (t != null && !state.isPaused()) {
+                abortMultipartUpload(putObjectRequest, uploadId);
+            }
+        });
+    }
+
+    private void abortMultipartUpload(PutObjectRequest putObjectRequest, String uploadId) {
+        log.debug(() -> "Aborting multipart upload, uploadId: " + uploadId);
+        s3AsyncClient.abortMultipartUpload(toAbortMultipartUploadRequest(putObjectRequest, uploadId))
+                     .exceptionally(throwable -> {
+                         log.warn(() -> String.format("Failed to abort previous multipart upload "
+                                                      + "(id: %s)"
+                                                      + ". You may need to call "
+                                                      + "S3AsyncClient#abortMultiPartUpload to "
+                                                      + "free all storage consumed by"
+                                                      + " all parts. ",
+                                                      uploadId), throwable);
+                         return null;
+                     });
+    }
+
+    private static void handleException(CompletableFuture<PutObjectResponse> returnFuture,
+                                        Supplier<String> message,
+                                        Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+
+        if (cause instanceof Error) {
+            returnFuture.completeExceptionally(cause);
+        } else {
+            SdkClientException exception = SdkClientException.create(message.get(), cause);
+            returnFuture.completeExceptionally(exception);
+        }
+    }
+
+    private static Long contentLength(PutObjectRequest putObjectRequest, AsyncRequestBody requestBody) {
+        Optional<Long> contentLength = requestBody.contentLength();
+        return contentLength.orElse(putObjectRequest.contentLength());
+    }
+
+    /**
+     * Calculates the optimal part size so that the object is uploaded in at most {@value #MAX_UPLOAD_PARTS} parts.
+     */
+    private long optimalPartSize(long contentLength) {
+        double optimalPartSize = Math.ceil(contentLength / (double) MAX_UPLOAD_PARTS);
+        return (long) Math.max(optimalPartSize, partSizeInBytes);
+    }
+
+    private static int partCount(long contentLength, long partSize) {
+        return (int) Math.max(1, Math.ceil(contentLength / (double) partSize));
+    }
+
+    /**
+     * An upload whose parts are buffered by a {@link PartBufferingSubscriber}. The multipart upload is only created once the
+     * first part turns out not to be the last one.
+     */
+    private final class BufferedUpload implements PartBufferingSubscriber.PartHandler {
+        private final PutObjectRequest putObjectRequest;
+        private final long partSize;
+        private final TransferProgressUpdater progressUpdater;
+        private final CompletableFuture<PutObjectResponse> returnFuture;
+        private final Set<CompletableFuture<CompletedPart>> inFlightParts = ConcurrentHashMap.newKeySet();
+        private final MultipartUploadState state = MultipartUploadState.create();
+        private final AtomicInteger remainingParts = new AtomicInteger(1);
+        private volatile CompletableFuture<String> uploadIdFuture;
+        private volatile int numParts;
+        private PartBufferingSubscriber subscriber;
+
+        private BufferedUpload(PutObjectRequest putObjectRequest,
+                               long partSize,
+                               TransferProgressUpdater progressUpdater,
+                               CompletableFuture<PutObjectResponse> returnFuture) {
+            this.putObjectRequest = putObjectRequest;
+            this.partSize = partSize;
+            this.progressUpdater = progressUpdater;
+            this.returnFuture = returnFuture;
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    inFlightParts.forEach(f -> f.cancel(true));
+                }
+            });
+        }
+
+        @Override
+        public void onPart(int partNumber, ByteBuffer part, boolean lastPart) {
+            if (partNumber == 1 && lastPart) {
+                log.debug(() -> "Starting the upload as a single PutObject request");
+                AsyncRequestBody body = AsyncRequestBody.fromRemainingByteBufferUnsafe(part);
+                putObject(putObjectRequest, progressUpdater.wrapRequestBody(body), returnFuture);
+                return;
+            }
+            if (partNumber > MAX_UPLOAD_PARTS) {
+                subscriber.cancel();
+                returnFuture.completeExceptionally(SdkClientException.create(
+                    "The request body is larger than " + MAX_UPLOAD_PARTS + " parts of " + partSize + " bytes, which is the "
+                    + "maximum size of an object with an unknown content length."));
+                return;
+            }
+            if (uploadIdFuture == null) {
+                log.debug(() -> "Starting the upload as multipart upload request");
+                uploadIdFuture = createMultipartUpload(putObjectRequest, returnFuture);
+                uploadIdFuture.thenAccept(uploadId -> abortOnFailure(putObjectRequest, uploadId, state, returnFuture));
+            }
+
+            remainingParts.incrementAndGet();
+            long size = part.remaining();
+            AsyncRequestBody partBody = progressUpdater.wrapPartRequestBody(AsyncRequestBody.fromRemainingByteBufferUnsafe(part));
+            uploadIdFuture.thenCompose(uploadId -> {
+                CompletableFuture<CompletedPart> partFuture = uploadPart(putObjectRequest, uploadId, partNumber, size, partBody);
+                inFlightParts.add(partFuture);
+                return partFuture.whenComplete((p, t) -> inFlightParts.remove(partFuture));
+            }).whenComplete((completedPart, throwable) -> {
+                subscriber.partReleased(size);
+                if (throwable != null) {
+                    handleException(returnFuture, () -> "Failed to send multipart upload requests.", throwable);
+                } else {
+                    state.partCompleted(completedPart);
+                    partDone();
+                }
+            });
+        }
+
+        @Override
+        public void onComplete(int numParts) {
+            if (numParts == 0) {
+                putObject(putObjectRequest, progressUpdater.wrapRequestBody(AsyncRequestBody.empty()), returnFuture);
+                return;
+            }
+            this.numParts = numParts;
+            partDone();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            handleException(returnFuture, () -> "Failed to read the request body", t);
+        }
+
+        /**
+         * Called once the request body has ended, and once for every part that has been uploaded.
+         */
+        private void partDone() {
+            if (remainingParts.decrementAndGet() != 0 || uploadIdFuture == null) {
+                return;
+            }
+            CompletedPart[] parts = IntStream.rangeClosed(1, numParts)
+                                             .mapToObj(i -> state.completedPart(i).get())
+                                             .toArray(CompletedPart[]::new);
+            uploadIdFuture.thenAccept(uploadId -> completeMultipartUpload(putObjectRequest, uploadId, parts, progressUpdater,
+                                                                          returnFuture));
+        }
+    }
+
+    /**
+     * An upload whose parts are read from a file. At most {@code maxInFlightBytes / partSize} parts are sent at a time, and
+     * the next part is sent whenever one completes. Parts that are already in the {@link MultipartUploadState} are not sent
+     * again.
+     */
+    private final class FileUpload {
+        private final PutObjectRequest putObjectRequest;
+        private final Path source;
+        private final long contentLength;
+        private final long partSize;
+        private final int chunkSizeInBytes;
+        private final TransferProgressUpdater progressUpdater;
+        private final MultipartUploadState state;
+        private final CompletableFuture<PutObjectResponse> returnFuture;
+        private final int totalParts;
+        private final Queue<Integer> pendingParts = new ConcurrentLinkedQueue<>();
+        private final Set<CompletableFuture<CompletedPart>> inFlightParts = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger remainingParts = new AtomicInteger();
+        private String uploadId;
+
+        private FileUpload(PutObjectRequest putObjectRequest,
+                           Path source,
+                           long contentLength,
+                           long partSize,
+                           int chunkSizeInBytes,
+                           TransferProgressUpdater progressUpdater,
+                           MultipartUploadState state,
+                           CompletableFuture<PutObjectResponse> returnFuture) {
+            this.putObjectRequest = putObjectRequest;
+            this.source = source;
+            this.contentLength = contentLength;
+            this.partSize = partSize;
+            this.chunkSizeInBytes = chunkSizeInBytes;
+            this.progressUpdater = progressUpdater;
+            this.state = state;
+            this.returnFuture = returnFuture;
+            this.totalParts = partCount(contentLength, partSize);
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    inFlightParts.forEach(f -> f.cancel(true));
+                }
+            });
+        }
+
+        private void start(String uploadId) {
+            this.uploadId = uploadId;
+            state.multipartUploadStarted(uploadId, partSize, totalParts);
+            abortOnFailure(putObjectRequest, uploadId, state, returnFuture);
+
+            for (int partNumber = 1; partNumber <= totalParts; partNumber++) {
+                if (state.completedPart(partNumber).isPresent()) {
+                    progressUpdater.incrementBytesTransferred(partSize(partNumber));
+                } else {
+                    pendingParts.add(partNumber);
+                }
+            }
+
+            log.debug(() -> String.format("Starting multipart upload with partCount: %s, partSize: %s, remaining parts: %s",
+                                          totalParts, partSize, pendingParts.size()));
+
+            remainingParts.set(pendingParts.size());
+            if (pendingParts.isEmpty()) {
+                completeUpload();
+                return;
+            }
+
+            long maxConcurrentParts = Math.max(1, maxInFlightBytes / partSize);
+            for (int i = 0; i < maxConcurrentParts; i++) {
+                sendNextPart();
+            }
+        }
+
+        private void sendNextPart() {
+            if (returnFuture.isDone()) {
+                return;
+            }
+            Integer partNumber = pendingParts.poll();
+            if (partNumber == null) {
+                return;
+            }
+
+            long position = (partNumber - 1) * partSize;
+            long size = partSize(partNumber);
+            AsyncRequestBody partBody = FileAsyncRequestBody.builder()
+                                                            .path(source)
+                                                            .position(position)
+                                                            .numBytesToRead(size)
+                                                            .chunkSizeInBytes(chunkSizeInBytes)
+                                                            .build();
+            CompletableFuture<CompletedPart> partFuture =
+                uploadPart(putObjectRequest, uploadId, partNumber, size, progressUpdater.wrapPartRequestBody(partBody));
+            inFlightParts.add(partFuture);
+            partFuture.whenComplete((completedPart, throwable) -> {
+                inFlightParts.remove(partFuture);
+                if (throwable != null) {
+                    handleException(returnFuture, () -> "Failed to send multipart upload requests.", throwable);
+                    return;
+                }
+                state.partCompleted(completedPart);
+                if (remainingParts.decrementAndGet() == 0) {
+                    completeUpload();
+                } else {
+                    sendNextPart();
+                }
+            });
+        }
+
+        private long partSize(int partNumber) {
+            return Math.min(partSize, contentLength - (partNumber - 1) * partSize);
+        }
+
+        private void completeUpload() {
+            CompletedPart[] parts = IntStream.rangeClosed(1, totalParts)
+                                             .mapToObj(i -> state.completedPart(i).get())
+                                             .toArray(CompletedPart[]::new);
+            completeMultipartUpload(putObjectRequest, uploadId, parts, progressUpdater, returnFuture);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+
+/**
+ * The progress of a file upload by {@link MultipartUploadHelper}, which is what is needed to pause the upload and resume it
+ * later.
+ * <p>
+ * A new upload starts with an empty state. An upload that is resumed starts with the multipart upload ID, the part size and
+ * the parts that were uploaded before it was paused.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class MultipartUploadState {
+    private final Map<Integer, CompletedPart> completedParts = new ConcurrentHashMap<>();
+    private volatile String uploadId;
+    private volatile long partSizeInBytes;
+    private volatile long totalParts;
+    private volatile boolean paused;
+
+    private MultipartUploadState() {
+    }
+
+    public static MultipartUploadState create() {
+        return new MultipartUploadState();
+    }
+
+    /**
+     * Create the state of an upload that is resumed, after the given parts of the multipart upload have been uploaded.
+     */
+    public static MultipartUploadState resume(String uploadId, long partSizeInBytes, Collection<CompletedPart> completedParts) {
+        MultipartUploadState state = new MultipartUploadState();
+        state.uploadId = uploadId;
+        state.partSizeInBytes = partSizeInBytes;
+        completedParts.forEach(state::partCompleted);
+        return state;
+    }
+
+    /**
+     * @return The ID of the multipart upload, or empty if the object is not (yet) uploaded in parts.
+     */
+    public Optional<String> uploadId() {
+        return Optional.ofNullable(uploadId);
+    }
+
+    /**
+     * @return The size of each part but the last, or empty if the object is not (yet) uploaded in parts.
+     */
+    public OptionalLong partSizeInBytes() {
+        return partSizeInBytes == 0 ? OptionalLong.empty() : OptionalLong.of(partSizeInBytes);
+    }
+
+    /**
+     * @return The number of parts the object is uploaded in, or empty if the object is not (yet) uploaded in parts.
+     */
+    public OptionalLong totalParts() {
+        return totalParts == 0 ? OptionalLong.empty() : OptionalLong.of(totalParts);
+    }
+
+    public long transferredParts() {
+        return completedParts.size();
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    void multipartUploadStarted(String uploadId, long partSizeInBytes, long totalParts) {
+        this.uploadId = uploadId;
+        this.partSizeInBytes = partSizeInBytes;
+        this.totalParts = totalParts;
+    }
+
+    void partCompleted(CompletedPart completedPart) {
+        completedParts.put(completedPart.partNumber(), completedPart);
+    }
+
+    Optional<CompletedPart> completedPart(int partNumber) {
+        return Optional.ofNullable(completedParts.get(partNumber));
+    }
+
+    /**
+     * Mark the upload as paused, so that the multipart upload is not aborted when the upload is cancelled.
+     */
+    public void pause() {
+        paused = true;
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.reactivestreams.Subscriber;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.async.SimplePublisher;
+
+/**
+ * A publisher of the regular files in a file tree, which lists up to {@code parallelism} directories concurrently on the given
+ * executor, in the manner of {@link Files#walk} with the same {@code maxDepth} and symbolic link semantics.
+ * <p>
+ * The files are published in groups: a file of at least {@code smallFileSizeInBytes} is published on its own, and smaller
+ * files of the same directory are published together, up to {@code maxFilesPerGroup} at a time, so that a tree of many small
+ * files is not dispatched one file at a time. Only the paths are published; the files are not opened.
+ * <p>
+ * Memory is bounded regardless of the size of the tree: a directory is only opened once a listing slot is free, its entries are
+ * read lazily, and listing pauses while {@code maxBufferedGroups} groups have been published but not yet requested by the
+ * subscriber. Only the directories that are discovered but not yet listed are held in memory.
+ */
+@SdkInternalApi
+public final class ParallelFileTreePublisher implements SdkPublisher<List<Path>> {
+    private static final Logger log = Logger.loggerFor(ParallelFileTreePublisher.class);
+
+    private final Path root;
+    private final int maxDepth;
+    private final boolean followSymbolicLinks;
+    private final LinkOption[] linkOptions;
+    private final Executor executor;
+    private final int parallelism;
+    private final int maxBufferedGroups;
+    private final int maxFilesPerGroup;
+    private final long smallFileSizeInBytes;
+
+    private final SimplePublisher<List<Path>> publisher = new SimplePublisher<>();
+    private final Queue<Directory> pendingDirectories = new ConcurrentLinkedQueue<>();
+    private final Queue<Walker> pausedWalkers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeWalkers = new AtomicInteger();
+    private final AtomicInteger bufferedGroups = new AtomicInteger();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean done = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    private ParallelFileTreePublisher(Builder builder) {
+        this.root = Validate.paramNotNull(builder.root, "root");
+        this.maxDepth = builder.maxDepth;
+        this.followSymbolicLinks = builder.followSymbolicLinks;
+        this.linkOptions = followSymbolicLinks ? new LinkOption[0] : new LinkOption[] {LinkOption.NOFOLLOW_LINKS};
+        this.executor = Validate.paramNotNull(builder.executor, "executor");
+        this.parallelism = Validate.isPositive(builder.parallelism, "parallelism");
+        this.maxBufferedGroups = Validate.isPositive(builder.maxBufferedGroups, "maxBufferedGroups");
+        this.maxFilesPerGroup = Validate.isPositive(builder.maxFilesPerGroup, "maxFilesPerGroup");
+        this.smallFileSizeInBytes = builder.smallFileSizeInBytes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super List<Path>> subscriber) {
+        publisher.subscribe(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            return;
+        }
+        if (maxDepth < 1 || stopped) {
+            finish();
+            return;
+        }
+        pendingDirectories.add(new Directory(root, 0, null));
+        startWalkers();
+    }
+
+    /**
+     * Stop listing the tree, for example because the transfer that consumes the files was cancelled. The files that were
+     * already published are still delivered, and the publisher then completes.
+     */
+    public void stop() {
+        stopped = true;
+        resumePausedWalkers();
+    }
+
+    /**
+     * Start a walker for each pending directory while fewer than {@link #parallelism} walkers are active.
+     */
+    private void startWalkers() {
+        while (!stopped && !pendingDirectories.isEmpty()) {
+            int active = activeWalkers.get();
+            if (active >= parallelism) {
+                return;
+            }
+            if (!activeWalkers.compareAndSet(active, active + 1)) {
+                continue;
+            }
+            Directory directory = pendingDirectories.poll();
+            if (directory == null) {
+                walkerDone();
+                return;
+            }
+            run(new Walker(directory));
+        }
+    }
+
+    private void run(Walker walker) {
+        try {
+            executor.execute(walker::walk);
+        } catch (Throwable t) {
+            walker.close();
+            fail(SdkClientException.create("Failed to list files within the provided directory: " + root, t));
+        }
+    }
+
+    private void walkerDone() {
+        if (activeWalkers.decrementAndGet() == 0) {
+            // A directory may have been added after the last walker looked for one
+            startWalkers();
+            if (activeWalkers.get() == 0 && (pendingDirectories.isEmpty() || stopped)) {
+                finish();
+            }
+        }
+    }
+
+    private void send(List<Path> group) {
+        bufferedGroups.incrementAndGet();
+        publisher.send(group).whenComplete((r, t) -> {
+            if (t != null) {
+                // The subscriber cancelled the subscription
+                stopped = true;
+            }
+            bufferedGroups.decrementAndGet();
+            resumePausedWalkers();
+        });
+    }
+
+    private void resumePausedWalkers() {
+        while (isBelowBufferLimit() || stopped) {
+            Walker walker = pausedWalkers.poll();
+            if (walker == null) {
+                return;
+            }
+            run(walker);
+        }
+    }
+
+    private boolean isBelowBufferLimit() {
+        return bufferedGroups.get() < maxBufferedGroups;
+    }
+
+    private void finish() {
+        if (done.compareAndSet(false, true)) {
+            publisher.complete();
+        }
+    }
+
+    private void fail(Throwable t) {
+        stopped = true;
+        if (done.compareAndSet(false, true)) {
+            publisher.error(t);
+        }
+    }
+
+    /**
+     * A directory to list, with the directories it was reached through when following symbolic links, to detect cycles.
+     */
+    private static final class Directory {
+        private final Path path;
+        private final int depth;
+        private final Directory parent;
+        private Object fileKey;
+
+        private Directory(Path path, int depth, Directory parent) {
+            this.path = path;
+            this.depth = depth;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Lists directories one at a time until there is no pending directory left. A walker returns its thread to the executor
+     * when it pauses because too many groups are buffered, and is resumed from where it stopped.
+     */
+    private final class Walker {
+        private Directory directory;
+        private DirectoryStream<Path> stream;
+        private Iterator<Path> entries;
+        private List<Path> group = new ArrayList<>();
+
+        private Walker(Directory directory) {
+            this.directory = directory;
+        }
+
+        private void walk() {
+            try {
+                while (!stopped) {
+                    if (!isBelowBufferLimit()) {
+                        pause();
+                        return;
+                    }
+                    if (entries == null) {
+                        open();
+                    }
+                    if (!entries.hasNext()) {
+                        flushGroup();
+                        close();
+                        directory = pendingDirectories.poll();
+                        if (directory == null) {
+                            break;
+                        }
+                        continue;
+                    }
+                    visit(entries.next());
+                }
+                close();
+                walkerDone();
+            } catch (Throwable t) {
+                close();
+                fail(t instanceof SdkClientException
+                     ? t
+                     : SdkClientException.create("Failed to list files within the provided directory: " + directory.path, t));
+                walkerDone();
+            }
+        }
+
+        private void pause() {
+            pausedWalkers.add(this);
+            // The buffer may have drained before this walker was added
+            resumePausedWalkers();
+        }
+
+        private void open() throws IOException {
+            if (followSymbolicLinks) {
+                checkForLoop();
+            }
+            stream = Files.newDirectoryStream(directory.path);
+            entries = stream.iterator();
+        }
+
+        private void checkForLoop() throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(directory.path, BasicFileAttributes.class);
+            directory.fileKey = attributes.fileKey();
+            for (Directory ancestor = directory.parent; ancestor != null; ancestor = ancestor.parent) {
+                boolean sameFile = directory.fileKey != null && ancestor.fileKey != null
+                                   ? directory.fileKey.equals(ancestor.fileKey)
+                                   : Files.isSameFile(directory.path, ancestor.path);
+                if (sameFile) {
+                    throw new FileSystemLoopException(directory.path.toString());
+                }
+            }
+        }
+
+        private void visit(Path path) throws IOException {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class, linkOptions);
+            } catch (IOException e) {
+                if (followSymbolicLinks && Files.isSymbolicLink(path)) {
+                    log.debug(() -> "Skipping broken symbolic link " + path);
+                    return;
+                }
+                throw e;
+            }
+
+            int depth = directory.depth + 1;
+            if (attributes.isDirectory()) {
+                if (depth < maxDepth) {
+                    pendingDirectories.add(new Directory(path, depth, directory));
+                    startWalkers();
+                }
+            } else if (attributes.isRegularFile()) {
+                if (attributes.size() >= smallFileSizeInBytes) {
+                    send(Collections.singletonList(path));
+                    return;
+                }
+                group.add(path);
+                if (group.size() >= maxFilesPerGroup) {
+                    flushGroup();
+                }
+            }
+        }
+
+        private void flushGroup() {
+            if (!group.isEmpty()) {
+                send(Collections.unmodifiableList(group));
+                group = new ArrayList<>();
+            }
+        }
+
+        private void close() {
+            if (stream != null) {
+                IoUtils.closeQuietly(stream, log.logger());
+                stream = null;
+                entries = null;
+            }
+        }
+    }
+
+    public static final class Builder {
+        private Path root;
+        private int maxDepth = Integer.MAX_VALUE;
+        private boolean followSymbolicLinks;
+        private Executor executor;
+        private int parallelism;
+        private int maxBufferedGroups;
+        private int maxFilesPerGroup;
+        private long smallFileSizeInBytes;
+
+        private Builder() {
+        }
+
+        public Builder root(Path root) {
+            this.root = root;
+            return this;
+        }
+
+        public Builder maxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        public Builder followSymbolicLinks(boolean followSymbolicLinks) {
+            this.followSymbolicLinks = followSymbolicLinks;
+            return this;
+        }
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder maxBufferedGroups(int maxBufferedGroups) {
+            this.maxBufferedGroups = maxBufferedGroups;
+            return this;
+        }
+
+        public Builder maxFilesPerGroup(int maxFilesPerGroup) {
+            this.maxFilesPerGroup = maxFilesPerGroup;
+            return this;
+        }
+
+        public Builder smallFileSizeInBytes(long smallFileSizeInBytes) {
+            this.smallFileSizeInBytes = smallFileSizeInBytes;
+            return this;
+        }
+
+        public ParallelFileTreePublisher build() {
+            return new ParallelFileTreePublisher(this);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_DELIMITER;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.reactivestreams.Subscriber;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.util.PaginatorUtils;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.async.SimplePublisher;
+
+/**
+ * A publisher of the objects under the prefix of a {@link ListObjectsV2Request}, which splits the keyspace by the common
+ * prefixes discovered with the delimiter and lists up to {@code maxConcurrency} of them concurrently. Each prefix is paged
+ * through with its continuation token, and the common prefixes of each page are listed in turn. The objects are not published
+ * in key order.
+ * <p>
+ * If the request has no delimiter, {@code "/"} is used to discover the prefixes, and the same objects are published as a
+ * listing without a delimiter would return. Otherwise, the objects whose key is the prefix they are listed under are skipped
+ * as virtual directories, as {@link ListObjectsHelper#listS3ObjectsRecursively} does.
+ * <p>
+ * No page is requested while {@code maxBufferedObjects} objects have been published but not yet requested by the subscriber.
+ * The limit is only checked before a request is sent, so each request in flight can add a full page of objects beyond it,
+ * and up to {@code maxBufferedObjects} plus {@code maxConcurrency} pages of objects can be buffered. The pages of a prefix are
+ * listed before the prefixes it contains, so that the prefixes that are discovered but not yet listed are held in memory for
+ * as short a time as possible, but their number is not limited.
+ */
+@SdkInternalApi
+public final class ParallelListObjectsPublisher implements SdkPublisher<S3Object> {
+    private static final Logger log = Logger.loggerFor(S3TransferManager.class);
+
+    private final Function<ListObjectsV2Request, CompletableFuture<ListObjectsV2Response>> listObjectsFunction;
+    private final ListObjectsV2Request firstRequest;
+    private final int maxConcurrency;
+    private final int maxBufferedObjects;
+
+    private final SimplePublisher<S3Object> publisher = new SimplePublisher<>();
+    private final Deque<ListObjectsV2Request> pendingRequests = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger bufferedObjects = new AtomicInteger();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean done = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    private ParallelListObjectsPublisher(Builder builder) {
+        this.listObjectsFunction = Validate.paramNotNull(builder.listObjectsFunction, "listObjectsFunction");
+        this.firstRequest = Validate.paramNotNull(builder.firstRequest, "firstRequest");
+        this.maxConcurrency = Validate.isPositive(builder.maxConcurrency, "maxConcurrency");
+        this.maxBufferedObjects = Validate.isPositive(builder.maxBufferedObjects, "maxBufferedObjects");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super S3Object> subscriber) {
+        publisher.subscribe(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            return;
+        }
+        if (firstRequest.delimiter() == null) {
+            pendingRequests.add(firstRequest.toBuilder().delimiter(DEFAULT_DELIMITER).build());
+        } else {
+            pendingRequests.add(firstRequest);
+        }
+        sendRequests();
+    }
+
+    /**
+     * Send a request for each pending page while fewer than {@link #maxConcurrency} requests are in flight, and fewer than
+     * {@link #maxBufferedObjects} objects are waiting for the subscriber.
+     */
+    private void sendRequests() {
+        while (!stopped && isBelowBufferLimit() && !pendingRequests.isEmpty()) {
+            int inFlight = inFlightRequests.get();
+            if (inFlight >= maxConcurrency) {
+                return;
+            }
+            if (!inFlightRequests.compareAndSet(inFlight, inFlight + 1)) {
+                continue;
+            }
+            ListObjectsV2Request request = pendingRequests.pollFirst();
+            if (request == null) {
+                requestDone();
+                return;
+            }
+            sendRequest(request);
+        }
+    }
+
+    private void sendRequest(ListObjectsV2Request request) {
+        CompletableFuture<ListObjectsV2Response> future;
+        try {
+            future = listObjectsFunction.apply(request);
+        } catch (Throwable t) {
+            future = CompletableFutureUtils.failedFuture(t);
+        }
+
+        future.whenComplete((response, t) -> {
+            try {
+                if (t != null) {
+                    fail(t);
+                } else {
+                    onPage(request, response);
+                }
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                requestDone();
+            }
+        });
+    }
+
+    private void onPage(ListObjectsV2Request request, ListObjectsV2Response response) {
+        // The next page of this prefix is listed before the prefixes it contains, and the contained prefixes in key order
+        List<CommonPrefix> commonPrefixes = response.commonPrefixes();
+        for (int i = commonPrefixes.size() - 1; i >= 0; i--) {
+            pendingRequests.addFirst(request.toBuilder()
+                                            .prefix(commonPrefixes.get(i).prefix())
+                                            .continuationToken(null)
+                                            .build());
+        }
+        if (PaginatorUtils.isOutputTokenAvailable(response.nextContinuationToken())) {
+            pendingRequests.addFirst(request.toBuilder().continuationToken(response.nextContinuationToken()).build());
+        }
+
+        for (S3Object s3Object : response.contents()) {
+            if (isVirtualDirectory(request, s3Object)) {
+                log.debug(() -> "Skipping download for object (" + s3Object.key() + ") since it is a virtual directory");
+                continue;
+            }
+            send(s3Object);
+        }
+    }
+
+    private boolean isVirtualDirectory(ListObjectsV2Request request, S3Object s3Object) {
+        if (s3Object.key().equals(firstRequest.prefix())) {
+            return true;
+        }
+        // Without a delimiter in the original request, only the objects under the discovered prefixes are listed
+        return firstRequest.delimiter() != null && s3Object.key().equals(request.prefix());
+    }
+
+    private void requestDone() {
+        inFlightRequests.decrementAndGet();
+        sendRequests();
+        // A request is counted as in flight before it is taken from the pending requests, so both must be checked in this
+        // order for the listing to be complete
+        if ((pendingRequests.isEmpty() || stopped) && inFlightRequests.get() == 0) {
+            finish();
+        }
+    }
+
+    private void send(S3Object s3Object) {
+        bufferedObjects.incrementAndGet();
+        publisher.send(s3Object).whenComplete((r, t) -> {
+            if (t != null) {
+                // The subscriber cancelled the subscription
+                stopped = true;
+            }
+            bufferedObjects.decrementAndGet();
+            sendRequests();
+        });
+    }
+
+    private boolean isBelowBufferLimit() {
+        return bufferedObjects.get() < maxBufferedObjects;
+    }
+
+    private void finish() {
+        if (done.compareAndSet(false, true)) {
+            publisher.complete();
+        }
+    }
+
+    private void fail(Throwable t) {
+        stopped = true;
+        if (done.compareAndSet(false, true)) {
+            publisher.error(t);
+        }
+    }
+
+    public static final class Builder {
+        private Function<ListObjectsV2Request, CompletableFuture<ListObjectsV2Response>> listObjectsFunction;
+        private ListObjectsV2Request firstRequest;
+        private int maxConcurrency;
+        private int maxBufferedObjects;
+
+        private Builder() {
+        }
+
+        public Builder listObjectsFunction(
+            Function<ListObjectsV2Request, CompletableFuture<ListObjectsV2Response>> listObjectsFunction) {
+            this.listObjectsFunction = listObjectsFunction;
+            return this;
+        }
+
+        public Builder firstRequest(ListObjectsV2Request firstRequest) {
+            this.firstRequest = firstRequest;
+            return this;
+        }
+
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public Builder maxBufferedObjects(int maxBufferedObjects) {
+            this.maxBufferedObjects = maxBufferedObjects;
+            return this;
+        }
+
+        public ParallelListObjectsPublisher build() {
+            return new ParallelListObjectsPublisher(this);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.nio.ByteBuffer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Splits a request body into parts of a fixed size. Each part is copied into a buffer of its own, so that it can be sent,
+ * and retried, independently of the request body.
+ * <p>
+ * More of the request body is only requested while fewer than {@code maxInFlightBytes} of parts have been handed to the
+ * {@link PartHandler} and not yet released with {@link #partReleased(long)}, which bounds the memory used by the parts.
+ * A full part is only handed over once more of the request body arrives, or the request body ends, so the handler always
+ * knows whether the part is the last one.
+ */
+@SdkInternalApi
+final class PartBufferingSubscriber implements Subscriber<ByteBuffer> {
+    private final long partSizeInBytes;
+    private final Long contentLength;
+    private final long maxInFlightBytes;
+    private final PartHandler partHandler;
+
+    private final Object lock = new Object();
+    private Subscription subscription;
+    private ByteBuffer currentPart;
+    private int numParts;
+    private long bytesReceived;
+
+    /**
+     * The number of bytes of parts that have been handed to the part handler and not yet released, and whether more of the
+     * request body should be requested once enough of them have been released. These are guarded by {@link #lock}.
+     */
+    private long inFlightBytes;
+    private boolean waitingForCapacity;
+
+    PartBufferingSubscriber(long partSizeInBytes, Long contentLength, long maxInFlightBytes, PartHandler partHandler) {
+        this.partSizeInBytes = Validate.isPositive(partSizeInBytes, "partSizeInBytes");
+        this.contentLength = contentLength;
+        this.maxInFlightBytes = Math.max(partSizeInBytes, maxInFlightBytes);
+        this.partHandler = partHandler;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (subscription != null) {
+            s.cancel();
+            return;
+        }
+        subscription = s;
+        s.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+        try {
+            if (contentLength != null && bytesReceived + byteBuffer.remaining() > contentLength) {
+                throw new IllegalStateException("The request body contained more bytes than its content length of "
+                                                + contentLength + " bytes.");
+            }
+            while (byteBuffer.hasRemaining()) {
+                if (currentPart != null && !currentPart.hasRemaining()) {
+                    handOver(false);
+                }
+                if (currentPart == null) {
+                    currentPart = ByteBuffer.allocate(nextPartSize());
+                }
+                int length = Math.min(byteBuffer.remaining(), currentPart.remaining());
+                ByteBuffer slice = byteBuffer.duplicate();
+                slice.limit(slice.position() + length);
+                currentPart.put(slice);
+                byteBuffer.position(byteBuffer.position() + length);
+                bytesReceived += length;
+            }
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            partHandler.onError(e);
+            return;
+        }
+
+        boolean requestMore;
+        synchronized (lock) {
+            requestMore = inFlightBytes + partSizeInBytes <= maxInFlightBytes;
+            waitingForCapacity = !requestMore;
+        }
+        if (requestMore) {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        partHandler.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        if (contentLength != null && bytesReceived != contentLength) {
+            partHandler.onError(new IllegalStateException("The request body contained " + bytesReceived + " bytes, but its "
+                                                          + "content length is " + contentLength + " bytes."));
+            return;
+        }
+        if (currentPart != null) {
+            handOver(true);
+        }
+        partHandler.onComplete(numParts);
+    }
+
+    /**
+     * Release a part that was handed to the part handler, once it no longer needs to be buffered.
+     */
+    void partReleased(long partSize) {
+        boolean requestMore = false;
+        synchronized (lock) {
+            inFlightBytes -= partSize;
+            if (waitingForCapacity && inFlightBytes + partSizeInBytes <= maxInFlightBytes) {
+                waitingForCapacity = false;
+                requestMore = true;
+            }
+        }
+        if (requestMore) {
+            subscription.request(1);
+        }
+    }
+
+    /**
+     * Stop reading the request body, for example because the upload failed.
+     */
+    void cancel() {
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    private int nextPartSize() {
+        if (contentLength == null) {
+            return (int) partSizeInBytes;
+        }
+        return (int) Math.max(1, Math.min(partSizeInBytes, contentLength - bytesReceived));
+    }
+
+    private void handOver(boolean lastPart) {
+        ByteBuffer part = currentPart;
+        currentPart = null;
+        part.flip();
+        synchronized (lock) {
+            inFlightBytes += part.remaining();
+        }
+        partHandler.onPart(++numParts, part, lastPart);
+    }
+
+    interface PartHandler {
+        /**
+         * A part of the request body, which is released with {@link #partReleased(long)} once it has been sent.
+         */
+        void onPart(int partNumber, ByteBuffer part, boolean lastPart);
+
+        /**
+         * The request body has ended, after the given number of parts.
+         */
+        void onComplete(int numParts);
+
+        void onError(Throwable t);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * Iterates over the regular files of a file tree in the order of the S3 keys they map to, which is the order in which
+ * ListObjectsV2 returns keys, so that the files can be compared with a listing of the objects as both are read.
+ * <p>
+ * The key of a file is its path relative to the root, with the names joined by the delimiter, appended to a key prefix. To
+ * list the files in key order, the entries of each directory are sorted by the key component they contribute: the name of a
+ * file, or the name of a directory followed by the delimiter. Only the entries of the directories on the path to the current
+ * file are held in memory. Names that contain the delimiter are not supported.
+ * <p>
+ * The {@code maxDepth} and symbolic link semantics are those of {@link Files#walk}. The tree is only read as the files are
+ * iterated, and an {@link UncheckedIOException} is thrown if it cannot be read.
+ */
+@SdkInternalApi
+public final class SortedFileTreeIterator implements Iterator<SortedFileTreeIterator.FileEntry> {
+
+    /**
+     * The order of the keys returned by ListObjectsV2, which is the order of their UTF-8 encoding, or equivalently of their
+     * code points.
+     */
+    public static final Comparator<String> KEY_ORDER = SortedFileTreeIterator::compareKeys;
+
+    private static final Logger log = Logger.loggerFor(SortedFileTreeIterator.class);
+
+    private final Path root;
+    private final String keyPrefix;
+    private final String delimiter;
+    private final int maxDepth;
+    private final boolean followSymbolicLinks;
+    private final LinkOption[] linkOptions;
+    private final Deque<Directory> directories = new ArrayDeque<>();
+    private boolean started;
+    private FileEntry next;
+
+    public SortedFileTreeIterator(Path root, String keyPrefix, String delimiter, int maxDepth, boolean followSymbolicLinks) {
+        this.root = root;
+        this.keyPrefix = keyPrefix;
+        this.delimiter = delimiter;
+        this.maxDepth = maxDepth;
+        this.followSymbolicLinks = followSymbolicLinks;
+        this.linkOptions = followSymbolicLinks ? new LinkOption[0] : new LinkOption[] {LinkOption.NOFOLLOW_LINKS};
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public FileEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        FileEntry result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * @return the next file entry without consuming it, or null if there is none
+     */
+    public FileEntry peek() {
+        return hasNext() ? next : null;
+    }
+
+    private FileEntry advance() {
+        if (!started) {
+            started = true;
+            // The root may not exist yet, when it is the destination of a download
+            if (maxDepth >= 1 && Files.isDirectory(root, linkOptions)) {
+                directories.push(open(root, "", 0, null));
+            }
+        }
+        while (!directories.isEmpty()) {
+            Directory directory = directories.peek();
+            if (!directory.entries.hasNext()) {
+                directories.pop();
+                continue;
+            }
+
+            Entry entry = directory.entries.next();
+            int depth = directory.depth + 1;
+            if (entry.attributes.isDirectory()) {
+                if (depth < maxDepth) {
+                    directories.push(open(entry.path, entry.relativeKey, depth, directory));
+                }
+            } else if (entry.attributes.isRegularFile()) {
+                return new FileEntry(keyPrefix + entry.relativeKey, entry.path, entry.attributes.size(),
+                                     entry.attributes.lastModifiedTime().toInstant());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the entries of a directory and sorts them in key order.
+     */
+    private Directory open(Path path, String relativeKey, int depth, Directory parent) {
+        try {
+            Object fileKey = followSymbolicLinks ? checkForLoop(path, parent) : null;
+            List<Entry> entries = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                for (Path child : stream) {
+                    BasicFileAttributes attributes = readAttributes(child);
+                    if (attributes == null) {
+                        continue;
+                    }
+                    String name = child.getFileName().toString();
+                    String childKey = relativeKey + name + (attributes.isDirectory() ? delimiter : "");
+                    entries.add(new Entry(child, childKey, attributes));
+                }
+            }
+            entries.sort((a, b) -> compareKeys(a.relativeKey, b.relativeKey));
+            return new Directory(path, depth, parent, fileKey, entries.iterator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object checkForLoop(Path path, Directory parent) throws IOException {
+        Object fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        for (Directory ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            boolean sameFile = fileKey != null && ancestor.fileKey != null
+                               ? fileKey.equals(ancestor.fileKey)
+                               : Files.isSameFile(path, ancestor.path);
+            if (sameFile) {
+                throw new FileSystemLoopException(path.toString());
+            }
+        }
+        return fileKey;
+    }
+
+    private BasicFileAttributes readAttributes(Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, linkOptions);
+        } catch (IOException e) {
+            if (followSymbolicLinks && Files.isSymbolicLink(path)) {
+                log.debug(() -> "Skipping broken symbolic link " + path);
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private static int compareKeys(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int codePointA = a.codePointAt(i);
+            int codePointB = b.codePointAt(j);
+            if (codePointA != codePointB) {
+                return Integer.compare(codePointA, codePointB);
+            }
+            i += Character.charCount(codePointA);
+            j += Character.charCount(codePointB);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    /**
+     * A regular file of the tree and the key it maps to.
+     */
+    public static final class FileEntry {
+        private final String key;
+        private final Path path;
+        private final long size;
+        private final Instant lastModified;
+
+        FileEntry(String key, Path path, long size, Instant lastModified) {
+            this.key = key;
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        public Instant lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public String toString() {
+            return ToString.builder("FileEntry")
+                           .add("key", key)
+                           .add("path", path)
+                           .add("size", size)
+                           .add("lastModified", lastModified)
+                           .build();
+        }
+    }
+
+    private static final class Entry {
+        private final Path path;
+        private final String relativeKey;
+        private final BasicFileAttributes attributes;
+
+        private Entry(Path path, String relativeKey, BasicFileAttributes attributes) {
+            this.path = path;
+            this.relativeKey = relativeKey;
+            this.attributes = attributes;
+        }
+    }
+
+    private static final class Directory {
+        private final Path path;
+        private final int depth;
+        private final Directory parent;
+        private final Object fileKey;
+        private final Iterator<Entry> entries;
+
+        private Directory(Path path, int depth, Directory parent, Object fileKey, Iterator<Entry> entries) {
+            this.path = path;
+            this.depth = depth;
+            this.parent = parent;
+            this.fileKey = fileKey;
+            this.entries = entries;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.transfer.s3.internal.SortedFileTreeIterator.FileEntry;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Md5Utils;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+/**
+ * Computes the MD5 digests of the files of a directory sync, reusing the digests recorded in a manifest by the previous sync
+ * for the files whose size and last-modified time have not changed.
+ * <p>
+ * The manifest has one line per file, in key order: the URL-encoded key, the size, the last-modified time in milliseconds and
+ * the hex-encoded digest, separated by tabs. Because the files are visited in key order too, the manifest is read alongside
+ * them and a new manifest is written as they are visited, so neither is held in memory. The new manifest replaces the old one
+ * when the sync is {@link #commit() committed}.
+ * <p>
+ * This class is not thread-safe: the files must be visited in key order by a single thread at a time.
+ */
+@SdkInternalApi
+public final class SyncChecksumManifest implements SdkAutoCloseable {
+    private static final Logger log = Logger.loggerFor(SyncChecksumManifest.class);
+
+    private final Path manifest;
+    private final Path newManifest;
+    private final BufferedReader reader;
+    private final BufferedWriter writer;
+    private ManifestEntry current;
+    private boolean committed;
+
+    private SyncChecksumManifest(Path manifest) throws IOException {
+        this.manifest = manifest;
+        if (manifest == null) {
+            this.newManifest = null;
+            this.reader = null;
+            this.writer = null;
+            return;
+        }
+        this.reader = Files.exists(manifest) ? Files.newBufferedReader(manifest, StandardCharsets.UTF_8) : null;
+        Path directory = manifest.toAbsolutePath().getParent();
+        this.newManifest = Files.createTempFile(directory, manifest.getFileName().toString(), ".tmp");
+        this.writer = Files.newBufferedWriter(newManifest, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Open the manifest at the given path, or a manifest that is not persisted if the path is null.
+     */
+    public static SyncChecksumManifest open(Path manifest) {
+        try {
+            return new SyncChecksumManifest(manifest);
+        } catch (IOException e) {
+            throw SdkClientException.create("Failed to open the checksum manifest: " + manifest, e);
+        }
+    }
+
+    /**
+     * Returns the hex-encoded MD5 digest of the given file. The files must be passed in key order.
+     */
+    public String md5(FileEntry file) throws IOException {
+        ManifestEntry recorded = lookup(file.key());
+        String md5;
+        if (recorded != null && recorded.size == file.size() && recorded.lastModified == file.lastModified().toEpochMilli()) {
+            md5 = recorded.md5;
+        } else {
+            try (InputStream inputStream = Files.newInputStream(file.path())) {
+                md5 = BinaryUtils.toHex(Md5Utils.computeMD5Hash(inputStream));
+            }
+        }
+
+        if (writer != null) {
+            writer.write(SdkHttpUtils.urlEncode(file.key()) + '\t' + file.size() + '\t'
+                         + file.lastModified().toEpochMilli() + '\t' + md5);
+            writer.newLine();
+        }
+        return md5;
+    }
+
+    /**
+     * Advances the previous manifest up to the given key, and returns the entry of the key if it was recorded.
+     */
+    private ManifestEntry lookup(String key) throws IOException {
+        if (reader == null) {
+            return null;
+        }
+        while (current == null || SortedFileTreeIterator.KEY_ORDER.compare(current.key, key) < 0) {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            current = ManifestEntry.parse(line);
+        }
+        return current.key.equals(key) ? current : null;
+    }
+
+    /**
+     * Replace the previous manifest with the digests computed by this sync.
+     */
+    public void commit() {
+        if (manifest == null) {
+            return;
+        }
+        try {
+            writer.close();
+            Files.move(newManifest, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        } catch (IOException e) {
+            throw SdkClientException.create("Failed to write the checksum manifest: " + manifest, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (manifest == null) {
+            return;
+        }
+        IoUtils.closeQuietly(reader, log.logger());
+        IoUtils.closeQuietly(writer, log.logger());
+        if (!committed) {
+            try {
+                Files.deleteIfExists(newManifest);
+            } catch (IOException e) {
+                log.debug(() -> "Failed to delete " + newManifest, e);
+            }
+        }
+    }
+
+    private static final class ManifestEntry {
+        private final String key;
+        private final long size;
+        private final long lastModified;
+        private final String md5;
+
+        private ManifestEntry(String key, long size, long lastModified, String md5) {
+            this.key = key;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.md5 = md5;
+        }
+
+        private static ManifestEntry parse(String line) throws IOException {
+            String[] fields = line.split("\t");
+            if (fields.length != 4) {
+                throw new IOException("Invalid checksum manifest entry: " + line);
+            }
+            try {
+                return new ManifestEntry(SdkHttpUtils.urlDecode(fields[0]), Long.parseLong(fields[1]),
+                                         Long.parseLong(fields[2]), fields[3]);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid checksum manifest entry: " + line, e);
+            }
+        }
+    }
+}
@@ -15,6 +15,8 @@
 
 package software.amazon.awssdk.transfer.s3.internal;
 
+import static software.amazon.awssdk.transfer.s3.SizeConstant.MB;
+
 import java.util.concurrent.Executor;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.utils.AttributeMap;
@@ -32,19 +34,49 @@ public final class TransferConfigurationOption<T> extends AttributeMap.Key<T> {
     public static final TransferConfigurationOption<Boolean> UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS =
         new TransferConfigurationOption<>("UploadDirectoryFileVisitOption", Boolean.class);
 
+    public static final TransferConfigurationOption<Integer> DOWNLOAD_DIRECTORY_LIST_CONCURRENCY =
+        new TransferConfigurationOption<>("DownloadDirectoryListConcurrency", Integer.class);
+
+    public static final TransferConfigurationOption<Boolean> MULTIPART_ENABLED =
+        new TransferConfigurationOption<>("MultipartEnabled", Boolean.class);
+
+    public static final TransferConfigurationOption<Long> MULTIPART_THRESHOLD_IN_BYTES =
+        new TransferConfigurationOption<>("MultipartThresholdInBytes", Long.class);
+
+    public static final TransferConfigurationOption<Long> MULTIPART_PART_SIZE_IN_BYTES =
+        new TransferConfigurationOption<>("MultipartPartSizeInBytes", Long.class);
+
+    public static final TransferConfigurationOption<Long> MULTIPART_MAX_IN_FLIGHT_BYTES =
+        new TransferConfigurationOption<>("MultipartMaxInFlightBytes", Long.class);
+
     public static final TransferConfigurationOption<Executor> EXECUTOR =
         new TransferConfigurationOption<>("Executor", Executor.class);
 
     public static final String DEFAULT_DELIMITER = "/";
     public static final String DEFAULT_PREFIX = "";
     public static final int DEFAULT_DOWNLOAD_DIRECTORY_MAX_CONCURRENCY = 100;
+    public static final int DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENCY = 100;
+    public static final int DEFAULT_UPLOAD_DIRECTORY_TRAVERSAL_PARALLELISM = 4;
+    public static final int DEFAULT_UPLOAD_DIRECTORY_MAX_FILES_PER_GROUP = 10;
+    public static final long DEFAULT_UPLOAD_DIRECTORY_SMALL_FILE_SIZE = 1 * MB;
+    public static final int DEFAULT_UPLOAD_DIRECTORY_MAX_FAILED_TRANSFERS = 1000;
+    public static final long DEFAULT_MULTIPART_THRESHOLD = 8 * MB;
+    public static final long DEFAULT_MULTIPART_PART_SIZE = 8 * MB;
+    public static final long DEFAULT_MULTIPART_MAX_IN_FLIGHT_BYTES = 64 * MB;
+    public static final long MIN_MULTIPART_PART_SIZE = 5 * MB;
 
     private static final int DEFAULT_UPLOAD_DIRECTORY_MAX_DEPTH = Integer.MAX_VALUE;
+    private static final int DEFAULT_DOWNLOAD_DIRECTORY_LIST_CONCURRENCY = 1;
 
     public static final AttributeMap TRANSFER_MANAGER_DEFAULTS = AttributeMap
         .builder()
         .put(UPLOAD_DIRECTORY_MAX_DEPTH, DEFAULT_UPLOAD_DIRECTORY_MAX_DEPTH)
         .put(UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS, false)
+        .put(DOWNLOAD_DIRECTORY_LIST_CONCURRENCY, DEFAULT_DOWNLOAD_DIRECTORY_LIST_CONCURRENCY)
+        .put(MULTIPART_ENABLED, true)
+        .put(MULTIPART_THRESHOLD_IN_BYTES, DEFAULT_MULTIPART_THRESHOLD)
+        .put(MULTIPART_PART_SIZE_IN_BYTES, DEFAULT_MULTIPART_PART_SIZE)
+        .put(MULTIPART_MAX_IN_FLIGHT_BYTES, DEFAULT_MULTIPART_MAX_IN_FLIGHT_BYTES)
         .build();
 
     private final String name;
@@ -15,6 +15,12 @@
 
 package software.amazon.awssdk.transfer.s3.internal;
 
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DOWNLOAD_DIRECTORY_LIST_CONCURRENCY;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MIN_MULTIPART_PART_SIZE;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_ENABLED;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_MAX_IN_FLIGHT_BYTES;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_PART_SIZE_IN_BYTES;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_THRESHOLD_IN_BYTES;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.TRANSFER_MANAGER_DEFAULTS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_DEPTH;
@@ -29,6 +35,7 @@ import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.ExecutorUtils;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * Contains resolved configuration settings for {@link GenericS3TransferManager}.
@@ -42,6 +49,20 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
         AttributeMap.Builder standardOptions = AttributeMap.builder();
         standardOptions.put(UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS, builder.uploadDirectoryFollowSymbolicLinks);
         standardOptions.put(UPLOAD_DIRECTORY_MAX_DEPTH, builder.uploadDirectoryMaxDepth);
+        standardOptions.put(DOWNLOAD_DIRECTORY_LIST_CONCURRENCY,
+                            Validate.isPositiveOrNull(builder.downloadDirectoryListConcurrency,
+                                                      "downloadDirectoryListConcurrency"));
+        standardOptions.put(MULTIPART_ENABLED, builder.multipartEnabled);
+        standardOptions.put(MULTIPART_THRESHOLD_IN_BYTES,
+                            Validate.isPositiveOrNull(builder.multipartThresholdInBytes, "multipartThresholdInBytes"));
+        if (builder.multipartPartSizeInBytes != null) {
+            Validate.isTrue(builder.multipartPartSizeInBytes >= MIN_MULTIPART_PART_SIZE,
+                            "multipartPartSizeInBytes must be at least %s, but was %s", MIN_MULTIPART_PART_SIZE,
+                            builder.multipartPartSizeInBytes);
+        }
+        standardOptions.put(MULTIPART_PART_SIZE_IN_BYTES, builder.multipartPartSizeInBytes);
+        standardOptions.put(MULTIPART_MAX_IN_FLIGHT_BYTES,
+                            Validate.isPositiveOrNull(builder.multipartMaxInFlightBytes, "multipartMaxInFlightBytes"));
         finalizeExecutor(builder, standardOptions);
         options = standardOptions.build().merge(TRANSFER_MANAGER_DEFAULTS);
     }
@@ -97,6 +118,11 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
 
         private Boolean uploadDirectoryFollowSymbolicLinks;
         private Integer uploadDirectoryMaxDepth;
+        private Integer downloadDirectoryListConcurrency;
+        private Boolean multipartEnabled;
+        private Long multipartThresholdInBytes;
+        private Long multipartPartSizeInBytes;
+        private Long multipartMaxInFlightBytes;
         private Executor executor;
 
 
@@ -110,6 +136,31 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
             return this;
         }
 
+        public Builder downloadDirectoryListConcurrency(Integer downloadDirectoryListConcurrency) {
+            this.downloadDirectoryListConcurrency = downloadDirectoryListConcurrency;
+            return this;
+        }
+
+        public Builder multipartEnabled(Boolean multipartEnabled) {
+            this.multipartEnabled = multipartEnabled;
+            return this;
+        }
+
+        public Builder multipartThresholdInBytes(Long multipartThresholdInBytes) {
+            this.multipartThresholdInBytes = multipartThresholdInBytes;
+            return this;
+        }
+
+        public Builder multipartPartSizeInBytes(Long multipartPartSizeInBytes) {
+            this.multipartPartSizeInBytes = multipartPartSizeInBytes;
+            return this;
+        }
+
+        public Builder multipartMaxInFlightBytes(Long multipartMaxInFlightBytes) {
+            this.multipartMaxInFlightBytes = multipartMaxInFlightBytes;
+            return this;
+        }
+
         public Builder executor(Executor executor) {
             this.executor = executor;
             return this;
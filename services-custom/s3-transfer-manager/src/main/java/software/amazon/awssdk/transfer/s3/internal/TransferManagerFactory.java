@@ -15,6 +15,8 @@
 
 package software.amazon.awssdk.transfer.s3.internal;
 
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_ENABLED;
+
 import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -52,13 +54,14 @@ public final class TransferManagerFactory {
             return new CrtS3TransferManager(transferConfiguration, s3AsyncClient, isDefaultS3AsyncClient);
         }
 
+        String multipartTransfers = Boolean.TRUE.equals(transferConfiguration.option(MULTIPART_ENABLED))
+                                    ? "thus multipart transfers are performed by the transfer manager"
+                                    : "multipart transfers are disabled";
         if (s3AsyncClient.getClass().getName().equals("software.amazon.awssdk.services.s3.DefaultS3AsyncClient")) {
-            log.warn(() -> "The provided DefaultS3AsyncClient is not an instance of S3CrtAsyncClient, and thus multipart"
-                           + " upload/download feature is not enabled and resumable file upload is not supported. To benefit "
-                           + "from maximum throughput, consider using S3AsyncClient.crtBuilder().build() instead.");
+            log.warn(() -> "The provided DefaultS3AsyncClient is not an instance of S3CrtAsyncClient, and " + multipartTransfers
+                           + ". To benefit from maximum throughput, consider using S3AsyncClient.crtBuilder().build() instead.");
         } else {
-            log.debug(() -> "The provided S3AsyncClient is not an instance of S3CrtAsyncClient, and thus multipart"
-                            + " upload/download feature may not be enabled and resumable file upload may not be supported.");
+            log.debug(() -> "The provided S3AsyncClient is not an instance of S3CrtAsyncClient, and " + multipartTransfers + ".");
         }
 
         return new GenericS3TransferManager(transferConfiguration, s3AsyncClient, isDefaultS3AsyncClient);
@@ -84,6 +87,11 @@ public final class TransferManagerFactory {
         TransferManagerConfiguration.Builder transferConfigBuilder = TransferManagerConfiguration.builder();
         transferConfigBuilder.uploadDirectoryFollowSymbolicLinks(tmBuilder.uploadDirectoryFollowSymbolicLinks);
         transferConfigBuilder.uploadDirectoryMaxDepth(tmBuilder.uploadDirectoryMaxDepth);
+        transferConfigBuilder.downloadDirectoryListConcurrency(tmBuilder.downloadDirectoryListConcurrency);
+        transferConfigBuilder.multipartEnabled(tmBuilder.multipartEnabled);
+        transferConfigBuilder.multipartThresholdInBytes(tmBuilder.multipartThresholdInBytes);
+        transferConfigBuilder.multipartPartSizeInBytes(tmBuilder.multipartPartSizeInBytes);
+        transferConfigBuilder.multipartMaxInFlightBytes(tmBuilder.multipartMaxInFlightBytes);
         transferConfigBuilder.executor(tmBuilder.executor);
         return transferConfigBuilder.build();
     }
@@ -93,6 +101,11 @@ public final class TransferManagerFactory {
         private Executor executor;
         private Boolean uploadDirectoryFollowSymbolicLinks;
         private Integer uploadDirectoryMaxDepth;
+        private Integer downloadDirectoryListConcurrency;
+        private Boolean multipartEnabled;
+        private Long multipartThresholdInBytes;
+        private Long multipartPartSizeInBytes;
+        private Long multipartMaxInFlightBytes;
 
         @Override
         public DefaultBuilder s3Client(S3AsyncClient s3AsyncClient) {
@@ -134,6 +147,76 @@ public final class TransferManagerFactory {
             return uploadDirectoryMaxDepth;
         }
 
+        @Override
+        public DefaultBuilder downloadDirectoryListConcurrency(Integer downloadDirectoryListConcurrency) {
+            this.downloadDirectoryListConcurrency = downloadDirectoryListConcurrency;
+            return this;
+        }
+
+        public void setDownloadDirectoryListConcurrency(Integer downloadDirectoryListConcurrency) {
+            downloadDirectoryListConcurrency(downloadDirectoryListConcurrency);
+        }
+
+        public Integer getDownloadDirectoryListConcurrency() {
+            return downloadDirectoryListConcurrency;
+        }
+
+        @Override
+        public DefaultBuilder multipartEnabled(Boolean multipartEnabled) {
+            this.multipartEnabled = multipartEnabled;
+            return this;
+        }
+
+        public void setMultipartEnabled(Boolean multipartEnabled) {
+            multipartEnabled(multipartEnabled);
+        }
+
+        public Boolean getMultipartEnabled() {
+            return multipartEnabled;
+        }
+
+        @Override
+        public DefaultBuilder multipartThresholdInBytes(Long multipartThresholdInBytes) {
+            this.multipartThresholdInBytes = multipartThresholdInBytes;
+            return this;
+        }
+
+        public void setMultipartThresholdInBytes(Long multipartThresholdInBytes) {
+            multipartThresholdInBytes(multipartThresholdInBytes);
+        }
+
+        public Long getMultipartThresholdInBytes() {
+            return multipartThresholdInBytes;
+        }
+
+        @Override
+        public DefaultBuilder multipartPartSizeInBytes(Long multipartPartSizeInBytes) {
+            this.multipartPartSizeInBytes = multipartPartSizeInBytes;
+            return this;
+        }
+
+        public void setMultipartPartSizeInBytes(Long multipartPartSizeInBytes) {
+            multipartPartSizeInBytes(multipartPartSizeInBytes);
+        }
+
+        public Long getMultipartPartSizeInBytes() {
+            return multipartPartSizeInBytes;
+        }
+
+        @Override
+        public DefaultBuilder multipartMaxInFlightBytes(Long multipartMaxInFlightBytes) {
+            this.multipartMaxInFlightBytes = multipartMaxInFlightBytes;
+            return this;
+        }
+
+        public void setMultipartMaxInFlightBytes(Long multipartMaxInFlightBytes) {
+            multipartMaxInFlightBytes(multipartMaxInFlightBytes);
+        }
+
+        public Long getMultipartMaxInFlightBytes() {
+            return multipartMaxInFlightBytes;
+        }
+
         @Override
         public S3TransferManager build() {
             return createTransferManager(this);
@@ -17,24 +17,36 @@ package software.amazon.awssdk.transfer.s3.internal;
 
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_DELIMITER;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_PREFIX;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENCY;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_UPLOAD_DIRECTORY_MAX_FAILED_TRANSFERS;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_UPLOAD_DIRECTORY_MAX_FILES_PER_GROUP;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_UPLOAD_DIRECTORY_SMALL_FILE_SIZE;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_UPLOAD_DIRECTORY_TRAVERSAL_PARALLELISM;
 
-import java.io.IOException;
-import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
-import java.util.Collection;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import software.amazon.awssdk.annotations.SdkInternalApi;
-import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.config.DirectorySyncConfiguration;
+import software.amazon.awssdk.transfer.s3.internal.DirectorySyncPublisher.SyncAction;
+import software.amazon.awssdk.transfer.s3.internal.DirectorySyncPublisher.SyncActionType;
 import software.amazon.awssdk.transfer.s3.internal.model.DefaultDirectoryUpload;
 import software.amazon.awssdk.transfer.s3.model.CompletedDirectoryUpload;
 import software.amazon.awssdk.transfer.s3.model.CompletedFileUpload;
@@ -51,19 +63,33 @@ import software.amazon.awssdk.utils.Validate;
 /**
  * An internal helper class that traverses the file tree and send the upload request
  * for each file.
+ * <p>
+ * The file tree is listed by a {@link ParallelFileTreePublisher} while the files are uploaded, and at most
+ * {@code DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENCY} groups of files are uploaded at a time, so that the memory used does not
+ * grow with the number of files in the tree. The result only holds counters and a bounded number of failed uploads.
+ * <p>
+ * When the request asks to sync the directory, the files are instead listed in key order by a {@link SortedFileTreeIterator}
+ * and compared with the objects under the prefix by a {@link DirectorySyncPublisher}, and only the files that changed are
+ * uploaded.
  */
 @SdkInternalApi
 public class UploadDirectoryHelper {
     private static final Logger log = Logger.loggerFor(S3TransferManager.class);
 
     private final TransferManagerConfiguration transferConfiguration;
+    private final ListObjectsHelper listObjectsHelper;
     private final Function<UploadFileRequest, FileUpload> uploadFunction;
+    private final Function<DeleteObjectRequest, CompletableFuture<DeleteObjectResponse>> deleteObjectFunction;
 
     public UploadDirectoryHelper(TransferManagerConfiguration transferConfiguration,
-                                 Function<UploadFileRequest, FileUpload> uploadFunction) {
+                                 ListObjectsHelper listObjectsHelper,
+                                 Function<UploadFileRequest, FileUpload> uploadFunction,
+                                 Function<DeleteObjectRequest, CompletableFuture<DeleteObjectResponse>> deleteObjectFunction) {
 
         this.transferConfiguration = transferConfiguration;
+        this.listObjectsHelper = listObjectsHelper;
         this.uploadFunction = uploadFunction;
+        this.deleteObjectFunction = deleteObjectFunction;
     }
 
     public DirectoryUpload uploadDirectory(UploadDirectoryRequest uploadDirectoryRequest) {
@@ -85,28 +111,180 @@ public class UploadDirectoryHelper {
     private void doUploadDirectory(CompletableFuture<CompletedDirectoryUpload> returnFuture,
                                    UploadDirectoryRequest uploadDirectoryRequest) {
 
-        Path directory = uploadDirectoryRequest.source();
-
         validateDirectory(uploadDirectoryRequest);
 
-        Collection<FailedFileUpload> failedFileUploads = new ConcurrentLinkedQueue<>();
-        List<CompletableFuture<CompletedFileUpload>> futures;
+        if (uploadDirectoryRequest.sync().isPresent()) {
+            doSyncDirectory(returnFuture, uploadDirectoryRequest, uploadDirectoryRequest.sync().get());
+            return;
+        }
+
+        ParallelFileTreePublisher files = listFiles(uploadDirectoryRequest);
+        DirectoryUploadState state = new DirectoryUploadState();
+
+        // Forward cancellation of the return future to the listing and to the uploads in flight.
+        returnFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                files.stop();
+                state.inFlightUploads.forEach(f -> f.cancel(true));
+            }
+        });
+
+        CompletableFuture<Void> allOfFutures = new CompletableFuture<>();
+        AsyncBufferingSubscriber<List<Path>> asyncBufferingSubscriber =
+            new AsyncBufferingSubscriber<>(group -> uploadFileGroup(returnFuture, uploadDirectoryRequest, state, group),
+                                           allOfFutures,
+                                           DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENCY);
+        files.subscribe(asyncBufferingSubscriber);
+
+        allOfFutures.whenComplete((r, t) -> completeUpload(returnFuture, state, t));
+    }
+
+    private void doSyncDirectory(CompletableFuture<CompletedDirectoryUpload> returnFuture,
+                                 UploadDirectoryRequest uploadDirectoryRequest,
+                                 DirectorySyncConfiguration syncConfiguration) {
+        String delimiter = resolveDelimiter(uploadDirectoryRequest);
+        String prefix = resolvePrefix(uploadDirectoryRequest, delimiter);
+        int maxDepth = transferConfiguration.resolveUploadDirectoryMaxDepth(uploadDirectoryRequest);
+        boolean followSymbolicLinks = transferConfiguration.resolveUploadDirectoryFollowSymbolicLinks(uploadDirectoryRequest);
 
-        try (Stream<Path> entries = listFiles(directory, uploadDirectoryRequest)) {
-            futures = entries.map(path -> {
-                CompletableFuture<CompletedFileUpload> future = uploadSingleFile(uploadDirectoryRequest,
-                                                                                 failedFileUploads, path);
+        validateSyncKeys(uploadDirectoryRequest, prefix, delimiter, maxDepth, followSymbolicLinks);
+
+        SortedFileTreeIterator files =
+            new SortedFileTreeIterator(uploadDirectoryRequest.source(), prefix, delimiter, maxDepth, followSymbolicLinks);
+
+        // List without a delimiter, so that the keys are listed in order
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                                                               .bucket(uploadDirectoryRequest.bucket())
+                                                               .prefix(prefix)
+                                                               .build();
+        SdkPublisher<S3Object> objects = listObjectsHelper.listS3ObjectsRecursively(listRequest)
+                                                          .filter(o -> !o.key().endsWith(delimiter));
+
+        SyncChecksumManifest manifest = SyncChecksumManifest.open(syncConfiguration.checksumManifest().orElse(null));
+        DirectorySyncPublisher actions =
+            DirectorySyncPublisher.builder()
+                                  .localFiles(files)
+                                  .remoteObjects(objects)
+                                  .direction(DirectorySyncPublisher.Direction.UPLOAD)
+                                  .configuration(syncConfiguration)
+                                  .manifest(manifest)
+                                  .executor(transferConfiguration.option(TransferConfigurationOption.EXECUTOR))
+                                  .build();
+        DirectoryUploadState state = new DirectoryUploadState();
+
+        returnFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                actions.stop();
+                state.inFlightUploads.forEach(f -> f.cancel(true));
+            }
+        });
 
-                // Forward cancellation of the return future to all individual futures.
-                CompletableFutureUtils.forwardExceptionTo(returnFuture, future);
-                return future;
-            }).collect(Collectors.toList());
+        CompletableFuture<Void> allOfFutures = new CompletableFuture<>();
+        AsyncBufferingSubscriber<SyncAction> asyncBufferingSubscriber =
+            new AsyncBufferingSubscriber<>(action -> {
+                if (action.type() == SyncActionType.TRANSFER) {
+                    return uploadSingleFile(returnFuture, uploadDirectoryRequest, state, action.localFile().path());
+                }
+                return deleteRemovedObject(uploadDirectoryRequest, prefix, delimiter, maxDepth, action.remoteObject());
+            }, allOfFutures, DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENCY);
+        actions.subscribe(asyncBufferingSubscriber);
+
+        allOfFutures.whenComplete((r, t) -> {
+            try {
+                // The manifest is only replaced once every file was compared
+                if (t == null && !returnFuture.isDone()) {
+                    manifest.commit();
+                }
+            } catch (Throwable e) {
+                log.warn(() -> "The directory was synced, but the checksum manifest could not be updated", e);
+            } finally {
+                manifest.close();
+            }
+            completeUpload(returnFuture, state, t);
+        });
+    }
+
+    /**
+     * Files are compared with, and removed objects are deleted from, the keys derived from the file paths, so a sync is
+     * rejected before any object is transferred or deleted if the request transformer moves a file to another bucket or key.
+     * Otherwise, the object a file was uploaded to would look removed and be deleted.
+     */
+    private void validateSyncKeys(UploadDirectoryRequest uploadDirectoryRequest,
+                                  String prefix,
+                                  String delimiter,
+                                  int maxDepth,
+                                  boolean followSymbolicLinks) {
+        UploadDirectoryRequest untransformedRequest = uploadDirectoryRequest.toBuilder()
+                                                                            .uploadFileRequestTransformer(null)
+                                                                            .build();
+        if (untransformedRequest.equals(uploadDirectoryRequest)) {
+            return;
         }
 
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                         .whenComplete((r, t) -> returnFuture.complete(CompletedDirectoryUpload.builder()
-                                                                                               .failedTransfers(failedFileUploads)
-                                                                                               .build()));
+        int nameCount = uploadDirectoryRequest.source().getNameCount();
+        SortedFileTreeIterator files =
+            new SortedFileTreeIterator(uploadDirectoryRequest.source(), prefix, delimiter, maxDepth, followSymbolicLinks);
+        while (files.hasNext()) {
+            SortedFileTreeIterator.FileEntry file = files.next();
+            PutObjectRequest putObjectRequest =
+                constructUploadRequest(uploadDirectoryRequest, nameCount, file.path()).putObjectRequest();
+            Validate.isTrue(uploadDirectoryRequest.bucket().equals(putObjectRequest.bucket())
+                            && file.key().equals(putObjectRequest.key()),
+                            "A directory cannot be synced with an uploadFileRequestTransformer that changes the bucket or "
+                            + "the key of a file, but the file (%s) would be uploaded to bucket (%s) and key (%s) instead of "
+                            + "key (%s)",
+                            file.path(), putObjectRequest.bucket(), putObjectRequest.key(), file.key());
+        }
+    }
+
+    /**
+     * Deletes an object that has no file in the source directory, unless its file is deeper than {@code maxDepth}, in which
+     * case the file was not listed rather than removed.
+     */
+    private CompletableFuture<?> deleteRemovedObject(UploadDirectoryRequest uploadDirectoryRequest,
+                                                     String prefix,
+                                                     String delimiter,
+                                                     int maxDepth,
+                                                     S3Object s3Object) {
+        String relativeKey = s3Object.key().substring(prefix.length());
+        int depth = 1;
+        for (int i = relativeKey.indexOf(delimiter); i >= 0; i = relativeKey.indexOf(delimiter, i + delimiter.length())) {
+            depth++;
+        }
+        if (depth > maxDepth) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.debug(() -> "Deleting object " + s3Object.key() + " whose file was removed from the source directory");
+        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+                                                                     .bucket(uploadDirectoryRequest.bucket())
+                                                                     .key(s3Object.key())
+                                                                     .build();
+        try {
+            return deleteObjectFunction.apply(deleteObjectRequest).whenComplete((r, t) -> {
+                if (t != null) {
+                    log.warn(() -> "Failed to delete object " + s3Object.key(), t);
+                }
+            });
+        } catch (Throwable t) {
+            log.warn(() -> "Failed to delete object " + s3Object.key(), t);
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    private static void completeUpload(CompletableFuture<CompletedDirectoryUpload> returnFuture,
+                                       DirectoryUploadState state,
+                                       Throwable t) {
+        if (t != null) {
+            returnFuture.completeExceptionally(t);
+        } else {
+            returnFuture.complete(CompletedDirectoryUpload.builder()
+                                                          .failedTransfers(state.failedFileUploads)
+                                                          .failedFileCount(state.failedFileCount.get())
+                                                          .transferredFileCount(state.transferredFileCount.get())
+                                                          .transferredBytes(state.transferredBytes.get())
+                                                          .build());
+        }
     }
 
     private void validateDirectory(UploadDirectoryRequest uploadDirectoryRequest) {
@@ -123,50 +301,78 @@ public class UploadDirectoryHelper {
         }
     }
 
-    private CompletableFuture<CompletedFileUpload> uploadSingleFile(UploadDirectoryRequest uploadDirectoryRequest,
-                                                                    Collection<FailedFileUpload> failedFileUploads,
+    /**
+     * Uploads the files of a group concurrently. The upload requests are only built, and the files only opened, once the group
+     * is dispatched.
+     */
+    private CompletableFuture<?> uploadFileGroup(CompletableFuture<CompletedDirectoryUpload> returnFuture,
+                                                 UploadDirectoryRequest uploadDirectoryRequest,
+                                                 DirectoryUploadState state,
+                                                 List<Path> group) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[group.size()];
+        for (int i = 0; i < group.size(); i++) {
+            futures[i] = uploadSingleFile(returnFuture, uploadDirectoryRequest, state, group.get(i));
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private CompletableFuture<CompletedFileUpload> uploadSingleFile(CompletableFuture<CompletedDirectoryUpload> returnFuture,
+                                                                    UploadDirectoryRequest uploadDirectoryRequest,
+                                                                    DirectoryUploadState state,
                                                                     Path path) {
         int nameCount = uploadDirectoryRequest.source().getNameCount();
         UploadFileRequest uploadFileRequest = constructUploadRequest(uploadDirectoryRequest, nameCount, path);
         log.debug(() -> String.format("Sending upload request (%s) for path (%s)", uploadFileRequest, path));
-        CompletableFuture<CompletedFileUpload> executionFuture = uploadFunction.apply(uploadFileRequest).completionFuture();
-        CompletableFuture<CompletedFileUpload> future = executionFuture.whenComplete((r, t) -> {
-            if (t != null) {
-                failedFileUploads.add(FailedFileUpload.builder()
-                                                      .exception(t instanceof CompletionException ? t.getCause() : t)
-                                                      .request(uploadFileRequest)
-                                                      .build());
-            }
-        });
-        CompletableFutureUtils.forwardExceptionTo(future, executionFuture);
-        return future;
-    }
+        FileUpload fileUpload = uploadFunction.apply(uploadFileRequest);
+        CompletableFuture<CompletedFileUpload> executionFuture = fileUpload.completionFuture();
 
-    private Stream<Path> listFiles(Path directory, UploadDirectoryRequest request) {
-
-        try {
-            boolean followSymbolicLinks = transferConfiguration.resolveUploadDirectoryFollowSymbolicLinks(request);
-            int maxDepth = transferConfiguration.resolveUploadDirectoryMaxDepth(request);
+        state.inFlightUploads.add(executionFuture);
+        // The return future may have been cancelled before the upload was added
+        if (returnFuture.isCompletedExceptionally()) {
+            executionFuture.cancel(true);
+        }
 
-            if (followSymbolicLinks) {
-                return Files.walk(directory, maxDepth, FileVisitOption.FOLLOW_LINKS)
-                            .filter(path -> isRegularFile(path, true));
+        return executionFuture.whenComplete((r, t) -> {
+            state.inFlightUploads.remove(executionFuture);
+            if (t == null) {
+                state.transferredFileCount.incrementAndGet();
+                state.transferredBytes.addAndGet(fileUpload.progress().snapshot().transferredBytes());
+                return;
             }
+            state.failedFileCount.incrementAndGet();
+            if (state.retainedFailedFileUploads.getAndIncrement() < DEFAULT_UPLOAD_DIRECTORY_MAX_FAILED_TRANSFERS) {
+                state.failedFileUploads.add(FailedFileUpload.builder()
+                                                            .exception(t instanceof CompletionException ? t.getCause() : t)
+                                                            .request(uploadFileRequest)
+                                                            .build());
+            }
+        });
+    }
 
-            return Files.walk(directory, maxDepth)
-                        .filter(path -> isRegularFile(path, false));
-
-        } catch (IOException e) {
-            throw SdkClientException.create("Failed to list files within the provided directory: " + directory, e);
-        }
+    private ParallelFileTreePublisher listFiles(UploadDirectoryRequest request) {
+        return ParallelFileTreePublisher.builder()
+                                        .root(request.source())
+                                        .maxDepth(transferConfiguration.resolveUploadDirectoryMaxDepth(request))
+                                        .followSymbolicLinks(
+                                            transferConfiguration.resolveUploadDirectoryFollowSymbolicLinks(request))
+                                        .executor(transferConfiguration.option(TransferConfigurationOption.EXECUTOR))
+                                        .parallelism(DEFAULT_UPLOAD_DIRECTORY_TRAVERSAL_PARALLELISM)
+                                        .maxBufferedGroups(DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENCY)
+                                        .maxFilesPerGroup(DEFAULT_UPLOAD_DIRECTORY_MAX_FILES_PER_GROUP)
+                                        .smallFileSizeInBytes(DEFAULT_UPLOAD_DIRECTORY_SMALL_FILE_SIZE)
+                                        .build();
     }
 
-    private boolean isRegularFile(Path path, boolean followSymlinks) {
-        if (followSymlinks) {
-            return Files.isRegularFile(path);
-        }
+    private static String resolveDelimiter(UploadDirectoryRequest uploadDirectoryRequest) {
+        return uploadDirectoryRequest.s3Delimiter()
+                                     .filter(s -> !s.isEmpty())
+                                     .orElse(DEFAULT_DELIMITER);
+    }
 
-        return Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS);
+    private static String resolvePrefix(UploadDirectoryRequest uploadDirectoryRequest, String delimiter) {
+        return uploadDirectoryRequest.s3Prefix()
+                                     .map(s -> normalizePrefix(s, delimiter))
+                                     .orElse(DEFAULT_PREFIX);
     }
 
     /**
@@ -197,14 +403,8 @@ public class UploadDirectoryHelper {
     private UploadFileRequest constructUploadRequest(UploadDirectoryRequest uploadDirectoryRequest,
                                                      int directoryNameCount,
                                                      Path path) {
-        String delimiter =
-            uploadDirectoryRequest.s3Delimiter()
-                                  .filter(s -> !s.isEmpty())
-                                  .orElse(DEFAULT_DELIMITER);
-
-        String prefix = uploadDirectoryRequest.s3Prefix()
-                                              .map(s -> normalizePrefix(s, delimiter))
-                                              .orElse(DEFAULT_PREFIX);
+        String delimiter = resolveDelimiter(uploadDirectoryRequest);
+        String prefix = resolvePrefix(uploadDirectoryRequest, delimiter);
 
         String relativePathName = getRelativePathName(uploadDirectoryRequest.source(),
                                                       directoryNameCount,
@@ -225,4 +425,16 @@ public class UploadDirectoryHelper {
         return requestBuilder.build();
     }
 
+    /**
+     * The progress of a directory upload, which only holds the uploads in flight and a bounded number of failed uploads.
+     */
+    private static final class DirectoryUploadState {
+        private final Set<CompletableFuture<CompletedFileUpload>> inFlightUploads = ConcurrentHashMap.newKeySet();
+        private final Queue<FailedFileUpload> failedFileUploads = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger retainedFailedFileUploads = new AtomicInteger();
+        private final AtomicLong failedFileCount = new AtomicLong();
+        private final AtomicLong transferredFileCount = new AtomicLong();
+        private final AtomicLong transferredBytes = new AtomicLong();
+    }
+
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal.model;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.transfer.s3.internal.MultipartDownloadState;
+import software.amazon.awssdk.transfer.s3.model.CompletedFileDownload;
+import software.amazon.awssdk.transfer.s3.model.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.model.FileDownload;
+import software.amazon.awssdk.transfer.s3.model.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
+import software.amazon.awssdk.utils.Lazy;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link FileDownload} that is downloaded in parts by the SDK, which can be paused and resumed from the parts that were
+ * written to the file before it was paused.
+ */
+@SdkInternalApi
+public final class MultipartFileDownload implements FileDownload {
+    private final Lazy<ResumableFileDownload> resumableFileDownload;
+    private final CompletableFuture<CompletedFileDownload> completionFuture;
+    private final TransferProgress progress;
+    private final DownloadFileRequest request;
+    private final MultipartDownloadState state;
+
+    public MultipartFileDownload(CompletableFuture<CompletedFileDownload> completionFuture,
+                                 TransferProgress progress,
+                                 MultipartDownloadState state,
+                                 DownloadFileRequest request) {
+        this.completionFuture = Validate.paramNotNull(completionFuture, "completionFuture");
+        this.progress = Validate.paramNotNull(progress, "progress");
+        this.state = Validate.paramNotNull(state, "state");
+        this.request = Validate.paramNotNull(request, "request");
+        this.resumableFileDownload = new Lazy<>(this::doPause);
+    }
+
+    @Override
+    public ResumableFileDownload pause() {
+        return resumableFileDownload.getValue();
+    }
+
+    private ResumableFileDownload doPause() {
+        if (!completionFuture.isDone()) {
+            state.pause();
+            completionFuture.cancel(true);
+        }
+
+        File destination = request.destination().toFile();
+        Instant fileLastModified = Instant.ofEpochMilli(destination.lastModified());
+        ResumableFileDownload.Builder builder = ResumableFileDownload.builder()
+                                                                     .downloadFileRequest(request)
+                                                                     .fileLastModified(fileLastModified);
+        state.s3ObjectLastModified().ifPresent(builder::s3ObjectLastModified);
+
+        // Download hasn't received the size of the object yet, or it's a single object download
+        if (!state.totalSizeInBytes().isPresent()) {
+            return builder.bytesTransferred(0L)
+                          .build();
+        }
+
+        long totalSizeInBytes = state.totalSizeInBytes().getAsLong();
+
+        // Download has completed
+        if (completionFuture.isDone() && !completionFuture.isCancelled()) {
+            return builder.bytesTransferred(totalSizeInBytes)
+                          .totalSizeInBytes(totalSizeInBytes)
+                          .build();
+        }
+
+        return builder.bytesTransferred(state.bytesTransferred())
+                      .totalSizeInBytes(totalSizeInBytes)
+                      .partSizeInBytes(state.partSizeInBytes().getAsLong())
+                      .completedParts(state.completedParts())
+                      .build();
+    }
+
+    @Override
+    public CompletableFuture<CompletedFileDownload> completionFuture() {
+        return completionFuture;
+    }
+
+    @Override
+    public TransferProgress progress() {
+        return progress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        MultipartFileDownload that = (MultipartFileDownload) o;
+
+        if (!resumableFileDownload.equals(that.resumableFileDownload)) {
+            return false;
+        }
+        if (!completionFuture.equals(that.completionFuture)) {
+            return false;
+        }
+        if (!progress.equals(that.progress)) {
+            return false;
+        }
+        if (!request.equals(that.request)) {
+            return false;
+        }
+        return state == that.state;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = resumableFileDownload.hashCode();
+        result = 31 * result + completionFuture.hashCode();
+        result = 31 * result + progress.hashCode();
+        result = 31 * result + request.hashCode();
+        result = 31 * result + state.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("MultipartFileDownload")
+                       .add("completionFuture", completionFuture)
+                       .add("progress", progress)
+                       .add("request", request)
+                       .build();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal.model;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.transfer.s3.internal.MultipartUploadState;
+import software.amazon.awssdk.transfer.s3.model.CompletedFileUpload;
+import software.amazon.awssdk.transfer.s3.model.FileUpload;
+import software.amazon.awssdk.transfer.s3.model.ResumableFileUpload;
+import software.amazon.awssdk.transfer.s3.model.UploadFileRequest;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
+import software.amazon.awssdk.utils.Lazy;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link FileUpload} that is uploaded in parts by the SDK, which can be paused and resumed from the parts that were
+ * uploaded before it was paused.
+ */
+@SdkInternalApi
+public final class MultipartFileUpload implements FileUpload {
+    private final Lazy<ResumableFileUpload> resumableFileUpload;
+    private final CompletableFuture<CompletedFileUpload> completionFuture;
+    private final TransferProgress progress;
+    private final UploadFileRequest request;
+    private final MultipartUploadState state;
+
+    public MultipartFileUpload(CompletableFuture<CompletedFileUpload> completionFuture,
+                               TransferProgress progress,
+                               MultipartUploadState state,
+                               UploadFileRequest request) {
+        this.completionFuture = Validate.paramNotNull(completionFuture, "completionFuture");
+        this.progress = Validate.paramNotNull(progress, "progress");
+        this.state = Validate.paramNotNull(state, "state");
+        this.request = Validate.paramNotNull(request, "request");
+        this.resumableFileUpload = new Lazy<>(this::doPause);
+    }
+
+    @Override
+    public ResumableFileUpload pause() {
+        return resumableFileUpload.getValue();
+    }
+
+    private ResumableFileUpload doPause() {
+        File sourceFile = request.source().toFile();
+        Instant fileLastModified = Instant.ofEpochMilli(sourceFile.lastModified());
+
+        if (!completionFuture.isDone()) {
+            state.pause();
+            completionFuture.cancel(true);
+        }
+
+        // Upload has completed, hasn't started yet, or it's a single object upload
+        if (completionFuture.isDone() && !completionFuture.isCancelled() || !state.uploadId().isPresent()) {
+            return ResumableFileUpload.builder()
+                                      .fileLastModified(fileLastModified)
+                                      .fileLength(sourceFile.length())
+                                      .uploadFileRequest(request)
+                                      .build();
+        }
+
+        ResumableFileUpload.Builder builder = ResumableFileUpload.builder()
+                                                                 .multipartUploadId(state.uploadId().get())
+                                                                 .transferredParts(state.transferredParts())
+                                                                 .fileLastModified(fileLastModified)
+                                                                 .fileLength(sourceFile.length())
+                                                                 .uploadFileRequest(request);
+        state.totalParts().ifPresent(builder::totalParts);
+        state.partSizeInBytes().ifPresent(builder::partSizeInBytes);
+        return builder.build();
+    }
+
+    @Override
+    public CompletableFuture<CompletedFileUpload> completionFuture() {
+        return completionFuture;
+    }
+
+    @Override
+    public TransferProgress progress() {
+        return progress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        MultipartFileUpload that = (MultipartFileUpload) o;
+
+        if (!resumableFileUpload.equals(that.resumableFileUpload)) {
+            return false;
+        }
+        if (!completionFuture.equals(that.completionFuture)) {
+            return false;
+        }
+        if (!progress.equals(that.progress)) {
+            return false;
+        }
+        if (!request.equals(that.request)) {
+            return false;
+        }
+        return state == that.state;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = resumableFileUpload.hashCode();
+        result = 31 * result + completionFuture.hashCode();
+        result = 31 * result + progress.hashCode();
+        result = 31 * result + request.hashCode();
+        result = 31 * result + state.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("DefaultFileUpload")
+                       .add("completionFuture", completionFuture)
+                       .add("progress", progress)
+                       .add("request", request)
+                       .build();
+    }
+}
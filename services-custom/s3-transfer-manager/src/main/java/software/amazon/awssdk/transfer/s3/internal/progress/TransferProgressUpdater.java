@@ -19,6 +19,7 @@ import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import org.reactivestreams.Subscriber;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
@@ -95,6 +96,39 @@ public class TransferProgressUpdater {
             });
     }
 
+    /**
+     * Wrap the body of one part of a multipart upload. The bytes of all parts add up to the progress of the transfer, so
+     * unlike {@link #wrapRequestBody(AsyncRequestBody)}, subscribing to the part again (for example, when it is retried) only
+     * discards the bytes previously counted for that part. Call {@link #endOfStream()} once every part has been sent.
+     */
+    public AsyncRequestBody wrapPartRequestBody(AsyncRequestBody partBody) {
+        AtomicLong partBytesTransferred = new AtomicLong();
+        return AsyncRequestBodyListener.wrap(
+            partBody,
+            new AsyncRequestBodyListener() {
+                @Override
+                public void publisherSubscribe(Subscriber<? super ByteBuffer> subscriber) {
+                    long previouslyTransferred = partBytesTransferred.getAndSet(0);
+                    if (previouslyTransferred > 0) {
+                        incrementBytesTransferred(-previouslyTransferred);
+                    }
+                }
+
+                @Override
+                public void subscriberOnNext(ByteBuffer byteBuffer) {
+                    partBytesTransferred.addAndGet(byteBuffer.remaining());
+                    incrementBytesTransferred(byteBuffer.remaining());
+                }
+            });
+    }
+
+    /**
+     * Signal that the whole request body has been sent, for transfers whose body is sent in parts.
+     */
+    public void endOfStream() {
+        endOfStreamFuture.complete(null);
+    }
+
     public <ResultT> AsyncResponseTransformer<GetObjectResponse, ResultT> wrapResponseTransformer(
         AsyncResponseTransformer<GetObjectResponse, ResultT> responseTransformer) {
         return AsyncResponseTransformerListener.wrap(
@@ -134,11 +168,55 @@ public class TransferProgressUpdater {
             });
     }
 
+    /**
+     * Wrap the response transformer of one part of a multipart download. Like {@link #wrapPartRequestBody(AsyncRequestBody)},
+     * receiving the part again only discards the bytes previously counted for that part. Call {@link #endOfStream()} once
+     * every part has been received.
+     */
+    public <ResultT> AsyncResponseTransformer<GetObjectResponse, ResultT> wrapPartResponseTransformer(
+        AsyncResponseTransformer<GetObjectResponse, ResultT> partTransformer) {
+        AtomicLong partBytesTransferred = new AtomicLong();
+        return AsyncResponseTransformerListener.wrap(
+            partTransformer,
+            new AsyncResponseTransformerListener<GetObjectResponse>() {
+                @Override
+                public void publisherSubscribe(Subscriber<? super ByteBuffer> subscriber) {
+                    long previouslyTransferred = partBytesTransferred.getAndSet(0);
+                    if (previouslyTransferred > 0) {
+                        incrementBytesTransferred(-previouslyTransferred);
+                    }
+                }
+
+                @Override
+                public void subscriberOnNext(ByteBuffer byteBuffer) {
+                    partBytesTransferred.addAndGet(byteBuffer.remaining());
+                    incrementBytesTransferred(byteBuffer.remaining());
+                }
+            });
+    }
+
+    /**
+     * Record the response of a transfer whose response is received in parts, with the content length of the whole object.
+     */
+    public void responseReceived(GetObjectResponse response) {
+        progress.updateAndGet(b -> b.totalBytes(response.contentLength()).sdkResponse(response));
+    }
+
+    /**
+     * Record the size of a transfer before its response is received, such as a multipart download that is resumed.
+     */
+    public void totalBytes(long totalBytes) {
+        progress.updateAndGet(b -> b.totalBytes(totalBytes));
+    }
+
     private void resetBytesTransferred() {
         progress.updateAndGet(b -> b.transferredBytes(0L));
     }
 
-    private void incrementBytesTransferred(int numBytes) {
+    /**
+     * Add bytes to the progress of the transfer, such as the parts that were uploaded before a multipart upload was resumed.
+     */
+    public void incrementBytesTransferred(long numBytes) {
         TransferProgressSnapshot snapshot = progress.updateAndGet(b -> {
             b.transferredBytes(b.getTransferredBytes() + numBytes);
         });
@@ -22,6 +22,9 @@ import static software.amazon.awssdk.transfer.s3.internal.serialization.Transfer
 import java.io.InputStream;
 import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Map;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkField;
@@ -33,6 +36,7 @@ import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.model.DownloadFileRequest;
 import software.amazon.awssdk.transfer.s3.model.ResumableFileDownload;
+import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.Logger;
 
 @SdkInternalApi
@@ -62,12 +66,35 @@ public final class ResumableFileDownloadSerializer {
                                        jsonGenerator,
                                        "s3ObjectLastModified");
         }
+        if (download.partSizeInBytes().isPresent()) {
+            TransferManagerJsonMarshaller.LONG.marshall(download.partSizeInBytes().getAsLong(), jsonGenerator,
+                                                        "partSizeInBytes");
+            TransferManagerJsonMarshaller.STRING.marshall(marshallCompletedParts(download.completedParts()), jsonGenerator,
+                                                          "completedParts");
+        }
         marshallDownloadFileRequest(download.downloadFileRequest(), jsonGenerator);
         jsonGenerator.writeEndObject();
 
         return jsonGenerator.getBytes();
     }
 
+    /**
+     * The completed parts are persisted as a Base64-encoded bitmap, where bit {@code n - 1} is set if part {@code n} is
+     * completed, so that the size of the token does not grow with the size of the object as much as a list of numbers would.
+     */
+    private static String marshallCompletedParts(List<Integer> completedParts) {
+        BitSet bitSet = new BitSet();
+        completedParts.forEach(partNumber -> bitSet.set(partNumber - 1));
+        return BinaryUtils.toBase64(bitSet.toByteArray());
+    }
+
+    private static List<Integer> unmarshallCompletedParts(String completedParts) {
+        BitSet bitSet = BitSet.valueOf(BinaryUtils.fromBase64(completedParts));
+        List<Integer> partNumbers = new ArrayList<>(bitSet.cardinality());
+        bitSet.stream().forEach(i -> partNumbers.add(i + 1));
+        return partNumbers;
+    }
+
     /**
      * At this point we do not need to persist the TransferRequestOverrideConfiguration, because it only contains listeners and
      * they are not used in the resume operation.
@@ -137,6 +164,14 @@ public final class ResumableFileDownloadSerializer {
         if (downloadNodes.get("s3ObjectLastModified") != null) {
             builder.s3ObjectLastModified(instantUnmarshaller.unmarshall(downloadNodes.get("s3ObjectLastModified")));
         }
+
+        if (downloadNodes.get("partSizeInBytes") != null) {
+            builder.partSizeInBytes(longUnmarshaller.unmarshall(downloadNodes.get("partSizeInBytes")));
+        }
+
+        if (downloadNodes.get("completedParts") != null) {
+            builder.completedParts(unmarshallCompletedParts(downloadNodes.get("completedParts").asString()));
+        }
         builder.downloadFileRequest(parseDownloadFileRequest(downloadNodes.get("downloadFileRequest")));
 
         return builder.build();
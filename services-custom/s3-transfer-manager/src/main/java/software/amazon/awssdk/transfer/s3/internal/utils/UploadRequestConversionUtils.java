@@ -0,0 +1,187 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal.utils;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.Part;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * Request conversion utility methods for the requests that make up a multipart upload of a {@link PutObjectRequest}.
+ */
+@SdkInternalApi
+public final class UploadRequestConversionUtils {
+
+    private UploadRequestConversionUtils() {
+    }
+
+    public static CreateMultipartUploadRequest toCreateMultipartUploadRequest(PutObjectRequest putObjectRequest) {
+        return CreateMultipartUploadRequest.builder()
+                                           .bucket(putObjectRequest.bucket())
+                                           .key(putObjectRequest.key())
+                                           .contentEncoding(putObjectRequest.contentEncoding())
+                                           .checksumAlgorithm(putObjectRequest.checksumAlgorithmAsString())
+                                           .tagging(putObjectRequest.tagging())
+                                           .contentType(putObjectRequest.contentType())
+                                           .contentLanguage(putObjectRequest.contentLanguage())
+                                           .contentDisposition(putObjectRequest.contentDisposition())
+                                           .cacheControl(putObjectRequest.cacheControl())
+                                           .expires(putObjectRequest.expires())
+                                           .websiteRedirectLocation(putObjectRequest.websiteRedirectLocation())
+                                           .expectedBucketOwner(putObjectRequest.expectedBucketOwner())
+                                           .requestPayer(putObjectRequest.requestPayerAsString())
+                                           .acl(putObjectRequest.aclAsString())
+                                           .grantRead(putObjectRequest.grantRead())
+                                           .grantReadACP(putObjectRequest.grantReadACP())
+                                           .grantWriteACP(putObjectRequest.grantWriteACP())
+                                           .grantFullControl(putObjectRequest.grantFullControl())
+                                           .storageClass(putObjectRequest.storageClassAsString())
+                                           .ssekmsKeyId(putObjectRequest.ssekmsKeyId())
+                                           .sseCustomerKey(putObjectRequest.sseCustomerKey())
+                                           .sseCustomerAlgorithm(putObjectRequest.sseCustomerAlgorithm())
+                                           .sseCustomerKeyMD5(putObjectRequest.sseCustomerKeyMD5())
+                                           .ssekmsEncryptionContext(putObjectRequest.ssekmsEncryptionContext())
+                                           .serverSideEncryption(putObjectRequest.serverSideEncryptionAsString())
+                                           .bucketKeyEnabled(putObjectRequest.bucketKeyEnabled())
+                                           .objectLockMode(putObjectRequest.objectLockModeAsString())
+                                           .objectLockLegalHoldStatus(putObjectRequest.objectLockLegalHoldStatusAsString())
+                                           .objectLockRetainUntilDate(putObjectRequest.objectLockRetainUntilDate())
+                                           .metadata(putObjectRequest.metadata())
+                                           .overrideConfiguration(putObjectRequest.overrideConfiguration().orElse(null))
+                                           .build();
+    }
+
+    public static UploadPartRequest toUploadPartRequest(PutObjectRequest putObjectRequest,
+                                                        String uploadId,
+                                                        int partNumber,
+                                                        long partSizeInBytes) {
+        return UploadPartRequest.builder()
+                                .bucket(putObjectRequest.bucket())
+                                .key(putObjectRequest.key())
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength(partSizeInBytes)
+                                .checksumAlgorithm(putObjectRequest.checksumAlgorithmAsString())
+                                .sseCustomerAlgorithm(putObjectRequest.sseCustomerAlgorithm())
+                                .sseCustomerKey(putObjectRequest.sseCustomerKey())
+                                .sseCustomerKeyMD5(putObjectRequest.sseCustomerKeyMD5())
+                                .requestPayer(putObjectRequest.requestPayerAsString())
+                                .expectedBucketOwner(putObjectRequest.expectedBucketOwner())
+                                .overrideConfiguration(putObjectRequest.overrideConfiguration().orElse(null))
+                                .build();
+    }
+
+    public static CompletedPart toCompletedPart(UploadPartResponse uploadPartResponse, int partNumber) {
+        return CompletedPart.builder()
+                            .partNumber(partNumber)
+                            .eTag(uploadPartResponse.eTag())
+                            .checksumCRC32(uploadPartResponse.checksumCRC32())
+                            .checksumCRC32C(uploadPartResponse.checksumCRC32C())
+                            .checksumSHA1(uploadPartResponse.checksumSHA1())
+                            .checksumSHA256(uploadPartResponse.checksumSHA256())
+                            .build();
+    }
+
+    public static CompletedPart toCompletedPart(Part part) {
+        return CompletedPart.builder()
+                            .partNumber(part.partNumber())
+                            .eTag(part.eTag())
+                            .checksumCRC32(part.checksumCRC32())
+                            .checksumCRC32C(part.checksumCRC32C())
+                            .checksumSHA1(part.checksumSHA1())
+                            .checksumSHA256(part.checksumSHA256())
+                            .build();
+    }
+
+    public static CompleteMultipartUploadRequest toCompleteMultipartUploadRequest(PutObjectRequest putObjectRequest,
+                                                                                  String uploadId,
+                                                                                  CompletedPart[] parts) {
+        return CompleteMultipartUploadRequest.builder()
+                                             .bucket(putObjectRequest.bucket())
+                                             .key(putObjectRequest.key())
+                                             .uploadId(uploadId)
+                                             .multipartUpload(CompletedMultipartUpload.builder()
+                                                                                      .parts(parts)
+                                                                                      .build())
+                                             .sseCustomerAlgorithm(putObjectRequest.sseCustomerAlgorithm())
+                                             .sseCustomerKey(putObjectRequest.sseCustomerKey())
+                                             .sseCustomerKeyMD5(putObjectRequest.sseCustomerKeyMD5())
+                                             .requestPayer(putObjectRequest.requestPayerAsString())
+                                             .expectedBucketOwner(putObjectRequest.expectedBucketOwner())
+                                             .overrideConfiguration(putObjectRequest.overrideConfiguration().orElse(null))
+                                             .build();
+    }
+
+    public static PutObjectResponse toPutObjectResponse(CompleteMultipartUploadResponse response) {
+        PutObjectResponse.Builder builder = PutObjectResponse.builder()
+                                                             .eTag(response.eTag())
+                                                             .versionId(response.versionId())
+                                                             .expiration(response.expiration())
+                                                             .checksumCRC32(response.checksumCRC32())
+                                                             .checksumCRC32C(response.checksumCRC32C())
+                                                             .checksumSHA1(response.checksumSHA1())
+                                                             .checksumSHA256(response.checksumSHA256())
+                                                             .serverSideEncryption(response.serverSideEncryptionAsString())
+                                                             .ssekmsKeyId(response.ssekmsKeyId())
+                                                             .bucketKeyEnabled(response.bucketKeyEnabled())
+                                                             .requestCharged(response.requestChargedAsString());
+        if (response.responseMetadata() != null) {
+            builder.responseMetadata(response.responseMetadata());
+        }
+
+        if (response.sdkHttpResponse() != null) {
+            builder.sdkHttpResponse(response.sdkHttpResponse());
+        }
+
+        return builder.build();
+    }
+
+    public static AbortMultipartUploadRequest toAbortMultipartUploadRequest(PutObjectRequest putObjectRequest,
+                                                                            String uploadId) {
+        return AbortMultipartUploadRequest.builder()
+                                          .bucket(putObjectRequest.bucket())
+                                          .key(putObjectRequest.key())
+                                          .uploadId(uploadId)
+                                          .requestPayer(putObjectRequest.requestPayerAsString())
+                                          .expectedBucketOwner(putObjectRequest.expectedBucketOwner())
+                                          .overrideConfiguration(putObjectRequest.overrideConfiguration().orElse(null))
+                                          .build();
+    }
+
+    public static ListPartsRequest toListPartsRequest(PutObjectRequest putObjectRequest, String uploadId) {
+        return ListPartsRequest.builder()
+                               .bucket(putObjectRequest.bucket())
+                               .key(putObjectRequest.key())
+                               .uploadId(uploadId)
+                               .sseCustomerAlgorithm(putObjectRequest.sseCustomerAlgorithm())
+                               .sseCustomerKey(putObjectRequest.sseCustomerKey())
+                               .sseCustomerKeyMD5(putObjectRequest.sseCustomerKeyMD5())
+                               .requestPayer(putObjectRequest.requestPayerAsString())
+                               .expectedBucketOwner(putObjectRequest.expectedBucketOwner())
+                               .overrideConfiguration(putObjectRequest.overrideConfiguration().orElse(null))
+                               .build();
+    }
+}
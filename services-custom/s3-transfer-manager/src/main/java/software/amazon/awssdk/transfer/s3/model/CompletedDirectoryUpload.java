@@ -29,7 +29,7 @@ import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
 
 /**
  * Represents a completed upload directory transfer to Amazon S3. It can be used to track
- * failed single file uploads.
+ * failed single file uploads, and reports how many files were uploaded rather than the result of each of them.
  *
  * @see S3TransferManager#uploadDirectory(UploadDirectoryRequest)
  */
@@ -39,17 +39,61 @@ public final class CompletedDirectoryUpload implements CompletedDirectoryTransfe
                                                            CompletedDirectoryUpload> {
     
     private final List<FailedFileUpload> failedTransfers;
+    private final long transferredFileCount;
+    private final long failedFileCount;
+    private final long transferredBytes;
 
     private CompletedDirectoryUpload(DefaultBuilder builder) {
         this.failedTransfers = Collections.unmodifiableList(
             new ArrayList<>(Validate.paramNotNull(builder.failedTransfers, "failedTransfers")));
+        this.transferredFileCount = builder.transferredFileCount == null
+                                    ? 0 : Validate.isNotNegative(builder.transferredFileCount, "transferredFileCount");
+        this.failedFileCount = builder.failedFileCount == null
+                               ? failedTransfers.size()
+                               : Math.max(Validate.isNotNegative(builder.failedFileCount, "failedFileCount"),
+                                          failedTransfers.size());
+        this.transferredBytes = builder.transferredBytes == null
+                                ? 0 : Validate.isNotNegative(builder.transferredBytes, "transferredBytes");
     }
-    
+
+    /**
+     * A list of failed transfer details. To bound the memory used by the upload of a large directory, the transfer manager
+     * retains at most the first 1000 failed transfers; use {@link #failedFileCount()} for the number of files that failed.
+     *
+     * @return an immutable list of failed transfers
+     */
     @Override
     public List<FailedFileUpload> failedTransfers() {
         return failedTransfers;
     }
 
+    /**
+     * The number of files that were uploaded successfully.
+     *
+     * @return the number of uploaded files
+     */
+    public long transferredFileCount() {
+        return transferredFileCount;
+    }
+
+    /**
+     * The number of files that failed to upload, which may be larger than the number of {@link #failedTransfers()}.
+     *
+     * @return the number of failed files
+     */
+    public long failedFileCount() {
+        return failedFileCount;
+    }
+
+    /**
+     * The number of bytes of the files that were uploaded successfully.
+     *
+     * @return the number of uploaded bytes
+     */
+    public long transferredBytes() {
+        return transferredBytes;
+    }
+
     /**
      * Creates a default builder for {@link CompletedDirectoryUpload}.
      */
@@ -68,17 +112,33 @@ public final class CompletedDirectoryUpload implements CompletedDirectoryTransfe
 
         CompletedDirectoryUpload that = (CompletedDirectoryUpload) o;
 
+        if (transferredFileCount != that.transferredFileCount) {
+            return false;
+        }
+        if (failedFileCount != that.failedFileCount) {
+            return false;
+        }
+        if (transferredBytes != that.transferredBytes) {
+            return false;
+        }
         return Objects.equals(failedTransfers, that.failedTransfers);
     }
 
     @Override
     public int hashCode() {
-        return failedTransfers != null ? failedTransfers.hashCode() : 0;
+        int result = failedTransfers != null ? failedTransfers.hashCode() : 0;
+        result = 31 * result + Long.hashCode(transferredFileCount);
+        result = 31 * result + Long.hashCode(failedFileCount);
+        result = 31 * result + Long.hashCode(transferredBytes);
+        return result;
     }
 
     @Override
     public String toString() {
         return ToString.builder("CompletedDirectoryUpload")
+                       .add("transferredFileCount", transferredFileCount)
+                       .add("failedFileCount", failedFileCount)
+                       .add("transferredBytes", transferredBytes)
                        .add("failedTransfers", failedTransfers)
                        .build();
     }
@@ -111,6 +171,30 @@ public final class CompletedDirectoryUpload implements CompletedDirectoryTransfe
          */
         Builder addFailedTransfer(FailedFileUpload failedTransfer);
 
+        /**
+         * Sets the number of files that were uploaded successfully
+         *
+         * @param transferredFileCount the number of uploaded files
+         * @return This builder for method chaining.
+         */
+        Builder transferredFileCount(Long transferredFileCount);
+
+        /**
+         * Sets the number of files that failed to upload. Defaults to the number of failed transfers.
+         *
+         * @param failedFileCount the number of failed files
+         * @return This builder for method chaining.
+         */
+        Builder failedFileCount(Long failedFileCount);
+
+        /**
+         * Sets the number of bytes of the files that were uploaded successfully
+         *
+         * @param transferredBytes the number of uploaded bytes
+         * @return This builder for method chaining.
+         */
+        Builder transferredBytes(Long transferredBytes);
+
         /**
          * Builds a {@link CompletedDirectoryUpload} based on the properties supplied to this builder
          * @return An initialized {@link CompletedDirectoryUpload}
@@ -120,12 +204,18 @@ public final class CompletedDirectoryUpload implements CompletedDirectoryTransfe
 
     private static final class DefaultBuilder implements Builder {
         private Collection<FailedFileUpload> failedTransfers = new ArrayList<>();
+        private Long transferredFileCount;
+        private Long failedFileCount;
+        private Long transferredBytes;
 
         private DefaultBuilder() {
         }
 
         private DefaultBuilder(CompletedDirectoryUpload completedDirectoryUpload) {
             this.failedTransfers = new ArrayList<>(completedDirectoryUpload.failedTransfers);
+            this.transferredFileCount = completedDirectoryUpload.transferredFileCount;
+            this.failedFileCount = completedDirectoryUpload.failedFileCount;
+            this.transferredBytes = completedDirectoryUpload.transferredBytes;
         }
 
         @Override
@@ -148,6 +238,48 @@ public final class CompletedDirectoryUpload implements CompletedDirectoryTransfe
             failedTransfers(failedTransfers);
         }
 
+        @Override
+        public Builder transferredFileCount(Long transferredFileCount) {
+            this.transferredFileCount = transferredFileCount;
+            return this;
+        }
+
+        public Long getTransferredFileCount() {
+            return transferredFileCount;
+        }
+
+        public void setTransferredFileCount(Long transferredFileCount) {
+            transferredFileCount(transferredFileCount);
+        }
+
+        @Override
+        public Builder failedFileCount(Long failedFileCount) {
+            this.failedFileCount = failedFileCount;
+            return this;
+        }
+
+        public Long getFailedFileCount() {
+            return failedFileCount;
+        }
+
+        public void setFailedFileCount(Long failedFileCount) {
+            failedFileCount(failedFileCount);
+        }
+
+        @Override
+        public Builder transferredBytes(Long transferredBytes) {
+            this.transferredBytes = transferredBytes;
+            return this;
+        }
+
+        public Long getTransferredBytes() {
+            return transferredBytes;
+        }
+
+        public void setTransferredBytes(Long transferredBytes) {
+            transferredBytes(transferredBytes);
+        }
+
         @Override
         public CompletedDirectoryUpload build() {
             return new CompletedDirectoryUpload(this);
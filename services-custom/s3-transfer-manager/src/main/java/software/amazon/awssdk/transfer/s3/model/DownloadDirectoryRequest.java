@@ -18,11 +18,13 @@ package software.amazon.awssdk.transfer.s3.model;
 
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.config.DirectorySyncConfiguration;
 import software.amazon.awssdk.transfer.s3.config.DownloadFilter;
 import software.amazon.awssdk.transfer.s3.config.TransferRequestOverrideConfiguration;
 import software.amazon.awssdk.utils.ToString;
@@ -44,6 +46,7 @@ public final class DownloadDirectoryRequest
     private final DownloadFilter filter;
     private final Consumer<DownloadFileRequest.Builder> downloadFileRequestTransformer;
     private final Consumer<ListObjectsV2Request.Builder> listObjectsRequestTransformer;
+    private final DirectorySyncConfiguration sync;
 
     public DownloadDirectoryRequest(DefaultBuilder builder) {
         this.destination = Validate.paramNotNull(builder.destination, "destination");
@@ -51,6 +54,7 @@ public final class DownloadDirectoryRequest
         this.filter = builder.filter;
         this.downloadFileRequestTransformer = builder.downloadFileRequestTransformer;
         this.listObjectsRequestTransformer = builder.listObjectsRequestTransformer;
+        this.sync = builder.sync;
     }
 
     /**
@@ -97,6 +101,14 @@ public final class DownloadDirectoryRequest
         return downloadFileRequestTransformer == null ? ignore -> { } : downloadFileRequestTransformer;
     }
 
+    /**
+     * @return the optional sync configuration, if the directory should be synced instead of transferring every object
+     * @see Builder#sync(DirectorySyncConfiguration)
+     */
+    public Optional<DirectorySyncConfiguration> sync() {
+        return Optional.ofNullable(sync);
+    }
+
     public static Builder builder() {
         return new DefaultBuilder();
     }
@@ -133,6 +145,9 @@ public final class DownloadDirectoryRequest
         if (!Objects.equals(listObjectsRequestTransformer, that.listObjectsRequestTransformer)) {
             return false;
         }
+        if (!Objects.equals(sync, that.sync)) {
+            return false;
+        }
         return Objects.equals(filter, that.filter);
     }
 
@@ -143,6 +158,7 @@ public final class DownloadDirectoryRequest
         result = 31 * result + (filter != null ? filter.hashCode() : 0);
         result = 31 * result + (downloadFileRequestTransformer != null ? downloadFileRequestTransformer.hashCode() : 0);
         result = 31 * result + (listObjectsRequestTransformer != null ? listObjectsRequestTransformer.hashCode() : 0);
+        result = 31 * result + (sync != null ? sync.hashCode() : 0);
         return result;
     }
 
@@ -154,6 +170,7 @@ public final class DownloadDirectoryRequest
                        .add("filter", filter)
                        .add("downloadFileRequestTransformer", downloadFileRequestTransformer)
                        .add("listObjectsRequestTransformer", listObjectsRequestTransformer)
+                       .add("sync", sync)
                        .build();
     }
 
@@ -328,6 +345,32 @@ public final class DownloadDirectoryRequest
          */
         Builder listObjectsV2RequestTransformer(Consumer<ListObjectsV2Request.Builder> listObjectsV2RequestTransformer);
 
+        /**
+         * Specifies that the directory should be synced with the objects in the bucket, instead of transferring every object.
+         * Only the objects that do not exist at the destination, or that differ from it, are transferred, and the files whose
+         * object was removed from the bucket can optionally be deleted.
+         * <p>
+         * By default, the directory is not synced and every object is transferred.
+         *
+         * @param sync the sync configuration
+         * @return This builder for method chaining.
+         * @see DirectorySyncConfiguration
+         */
+        Builder sync(DirectorySyncConfiguration sync);
+
+        /**
+         * Specifies that the directory should be synced with the objects in the bucket, instead of transferring every object.
+         * This is a convenience method that creates an instance of the {@link DirectorySyncConfiguration} builder, avoiding
+         * the need to create one manually via {@link DirectorySyncConfiguration#builder()}.
+         *
+         * @param sync the sync configuration
+         * @return This builder for method chaining.
+         * @see #sync(DirectorySyncConfiguration)
+         */
+        default Builder sync(Consumer<DirectorySyncConfiguration.Builder> sync) {
+            Validate.paramNotNull(sync, "sync");
+            return sync(DirectorySyncConfiguration.builder().applyMutation(sync).build());
+        }
     }
 
     private static final class DefaultBuilder implements Builder {
@@ -337,6 +380,7 @@ public final class DownloadDirectoryRequest
         private DownloadFilter filter;
         private Consumer<DownloadFileRequest.Builder> downloadFileRequestTransformer;
         private Consumer<ListObjectsV2Request.Builder> listObjectsRequestTransformer;
+        private DirectorySyncConfiguration sync;
 
         private DefaultBuilder() {
         }
@@ -347,6 +391,7 @@ public final class DownloadDirectoryRequest
             this.filter = request.filter;
             this.downloadFileRequestTransformer = request.downloadFileRequestTransformer;
             this.listObjectsRequestTransformer = request.listObjectsRequestTransformer;
+            this.sync = request.sync;
         }
 
         @Override
@@ -403,6 +448,20 @@ public final class DownloadDirectoryRequest
             return filter;
         }
 
+        @Override
+        public Builder sync(DirectorySyncConfiguration sync) {
+            this.sync = sync;
+            return this;
+        }
+
+        public void setSync(DirectorySyncConfiguration sync) {
+            sync(sync);
+        }
+
+        public DirectorySyncConfiguration getSync() {
+            return sync;
+        }
+
         @Override
         public DownloadDirectoryRequest build() {
             return new DownloadDirectoryRequest(this);
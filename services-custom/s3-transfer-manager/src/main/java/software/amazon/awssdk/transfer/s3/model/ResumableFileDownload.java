@@ -23,6 +23,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -61,6 +65,8 @@ public final class ResumableFileDownload implements ResumableTransfer,
     private final Instant s3ObjectLastModified;
     private final Long totalSizeInBytes;
     private final Instant fileLastModified;
+    private final Long partSizeInBytes;
+    private final List<Integer> completedParts;
 
     private ResumableFileDownload(DefaultBuilder builder) {
         this.downloadFileRequest = Validate.paramNotNull(builder.downloadFileRequest, "downloadFileRequest");
@@ -69,6 +75,10 @@ public final class ResumableFileDownload implements ResumableTransfer,
         this.s3ObjectLastModified = builder.s3ObjectLastModified;
         this.totalSizeInBytes = Validate.isPositiveOrNull(builder.totalSizeInBytes, "totalSizeInBytes");
         this.fileLastModified = builder.fileLastModified;
+        this.partSizeInBytes = Validate.isPositiveOrNull(builder.partSizeInBytes, "partSizeInBytes");
+        this.completedParts = builder.completedParts == null
+                              ? Collections.emptyList()
+                              : Collections.unmodifiableList(new ArrayList<>(builder.completedParts));
     }
 
     @Override
@@ -94,6 +104,12 @@ public final class ResumableFileDownload implements ResumableTransfer,
         if (!Objects.equals(fileLastModified, that.fileLastModified)) {
             return false;
         }
+        if (!Objects.equals(partSizeInBytes, that.partSizeInBytes)) {
+            return false;
+        }
+        if (!completedParts.equals(that.completedParts)) {
+            return false;
+        }
         return Objects.equals(totalSizeInBytes, that.totalSizeInBytes);
     }
 
@@ -104,6 +120,8 @@ public final class ResumableFileDownload implements ResumableTransfer,
         result = 31 * result + (s3ObjectLastModified != null ? s3ObjectLastModified.hashCode() : 0);
         result = 31 * result + (fileLastModified != null ? fileLastModified.hashCode() : 0);
         result = 31 * result + (totalSizeInBytes != null ? totalSizeInBytes.hashCode() : 0);
+        result = 31 * result + (partSizeInBytes != null ? partSizeInBytes.hashCode() : 0);
+        result = 31 * result + completedParts.hashCode();
         return result;
     }
 
@@ -149,6 +167,26 @@ public final class ResumableFileDownload implements ResumableTransfer,
         return totalSizeInBytes == null ? OptionalLong.empty() : OptionalLong.of(totalSizeInBytes);
     }
 
+    /**
+     * The part size in bytes of a download that was downloaded in parts by the SDK, or {@link OptionalLong#empty()} if the
+     * download was not downloaded in parts.
+     *
+     * @return the optional part size of the transfer.
+     */
+    public OptionalLong partSizeInBytes() {
+        return partSizeInBytes == null ? OptionalLong.empty() : OptionalLong.of(partSizeInBytes);
+    }
+
+    /**
+     * The numbers of the parts that were written to the file before the download was paused, in ascending order. This is
+     * empty if the download was not downloaded in parts.
+     *
+     * @return the completed part numbers.
+     */
+    public List<Integer> completedParts() {
+        return completedParts;
+    }
+
     @Override
     public String toString() {
         return ToString.builder("ResumableFileDownload")
@@ -156,6 +194,8 @@ public final class ResumableFileDownload implements ResumableTransfer,
                        .add("fileLastModified", fileLastModified)
                        .add("s3ObjectLastModified", s3ObjectLastModified)
                        .add("totalSizeInBytes", totalSizeInBytes)
+                       .add("partSizeInBytes", partSizeInBytes)
+                       .add("completedParts", completedParts)
                        .add("downloadFileRequest", downloadFileRequest)
                        .build();
     }
@@ -318,6 +358,22 @@ public final class ResumableFileDownload implements ResumableTransfer,
          * @return a reference to this object so that method calls can be chained together.
          */
         Builder fileLastModified(Instant lastModified);
+
+        /**
+         * Sets the part size of a download that was downloaded in parts
+         *
+         * @param partSizeInBytes the part size in bytes
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * Sets the numbers of the parts that were written to the file
+         *
+         * @param completedParts the completed part numbers
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        Builder completedParts(Collection<Integer> completedParts);
     }
 
     private static final class DefaultBuilder implements Builder {
@@ -327,6 +383,8 @@ public final class ResumableFileDownload implements ResumableTransfer,
         private Instant s3ObjectLastModified;
         private Long totalSizeInBytes;
         private Instant fileLastModified;
+        private Long partSizeInBytes;
+        private List<Integer> completedParts;
 
         private DefaultBuilder() {
         }
@@ -337,6 +395,8 @@ public final class ResumableFileDownload implements ResumableTransfer,
             this.totalSizeInBytes = persistableFileDownload.totalSizeInBytes;
             this.fileLastModified = persistableFileDownload.fileLastModified;
             this.s3ObjectLastModified = persistableFileDownload.s3ObjectLastModified;
+            this.partSizeInBytes = persistableFileDownload.partSizeInBytes;
+            this.completedParts = persistableFileDownload.completedParts;
         }
 
         @Override
@@ -369,6 +429,18 @@ public final class ResumableFileDownload implements ResumableTransfer,
             return this;
         }
 
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        @Override
+        public Builder completedParts(Collection<Integer> completedParts) {
+            this.completedParts = completedParts == null ? null : new ArrayList<>(completedParts);
+            return this;
+        }
+
         @Override
         public ResumableFileDownload build() {
             return new ResumableFileDownload(this);
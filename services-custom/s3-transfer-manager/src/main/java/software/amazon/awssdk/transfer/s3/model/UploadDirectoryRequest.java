@@ -24,6 +24,7 @@ import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.config.DirectorySyncConfiguration;
 import software.amazon.awssdk.transfer.s3.config.TransferRequestOverrideConfiguration;
 import software.amazon.awssdk.utils.ToString;
 import software.amazon.awssdk.utils.Validate;
@@ -46,6 +47,7 @@ public final class UploadDirectoryRequest
     private final Boolean followSymbolicLinks;
     private final Integer maxDepth;
     private final Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer;
+    private final DirectorySyncConfiguration sync;
 
 
     public UploadDirectoryRequest(DefaultBuilder builder) {
@@ -56,6 +58,7 @@ public final class UploadDirectoryRequest
         this.followSymbolicLinks = builder.followSymbolicLinks;
         this.maxDepth = builder.maxDepth;
         this.uploadFileRequestTransformer = builder.uploadFileRequestTransformer;
+        this.sync = builder.sync;
     }
 
     /**
@@ -120,6 +123,14 @@ public final class UploadDirectoryRequest
     }
 
 
+    /**
+     * @return the optional sync configuration, if the directory should be synced instead of transferring every file
+     * @see Builder#sync(DirectorySyncConfiguration)
+     */
+    public Optional<DirectorySyncConfiguration> sync() {
+        return Optional.ofNullable(sync);
+    }
+
     public static Builder builder() {
         return new DefaultBuilder();
     }
@@ -162,6 +173,9 @@ public final class UploadDirectoryRequest
         if (!Objects.equals(uploadFileRequestTransformer, that.uploadFileRequestTransformer)) {
             return false;
         }
+        if (!Objects.equals(sync, that.sync)) {
+            return false;
+        }
         return Objects.equals(s3Delimiter, that.s3Delimiter);
     }
 
@@ -174,6 +188,7 @@ public final class UploadDirectoryRequest
         result = 31 * result + (followSymbolicLinks != null ? followSymbolicLinks.hashCode() : 0);
         result = 31 * result + (maxDepth != null ? maxDepth.hashCode() : 0);
         result = 31 * result + (uploadFileRequestTransformer != null ? uploadFileRequestTransformer.hashCode() : 0);
+        result = 31 * result + (sync != null ? sync.hashCode() : 0);
         return result;
     }
 
@@ -187,6 +202,7 @@ public final class UploadDirectoryRequest
                        .add("followSymbolicLinks", followSymbolicLinks)
                        .add("maxDepth", maxDepth)
                        .add("uploadFileRequestTransformer", uploadFileRequestTransformer)
+                       .add("sync", sync)
                        .build();
     }
 
@@ -331,6 +347,36 @@ public final class UploadDirectoryRequest
          */
         Builder uploadFileRequestTransformer(Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer);
 
+        /**
+         * Specifies that the directory should be synced with the objects under the prefix, instead of transferring every file.
+         * Only the files that do not exist at the destination, or that differ from it, are transferred, and the objects whose
+         * file was removed from the directory can optionally be deleted.
+         * <p>
+         * By default, the directory is not synced and every file is transferred.
+         * <p>
+         * Files are compared with the objects at the keys derived from their paths, so a sync fails before transferring or
+         * deleting anything if the {@link #uploadFileRequestTransformer(Consumer)} changes the bucket or the key of a file.
+         *
+         * @param sync the sync configuration
+         * @return This builder for method chaining.
+         * @see DirectorySyncConfiguration
+         */
+        Builder sync(DirectorySyncConfiguration sync);
+
+        /**
+         * Specifies that the directory should be synced with the objects under the prefix, instead of transferring every file.
+         * This is a convenience method that creates an instance of the {@link DirectorySyncConfiguration} builder, avoiding
+         * the need to create one manually via {@link DirectorySyncConfiguration#builder()}.
+         *
+         * @param sync the sync configuration
+         * @return This builder for method chaining.
+         * @see #sync(DirectorySyncConfiguration)
+         */
+        default Builder sync(Consumer<DirectorySyncConfiguration.Builder> sync) {
+            Validate.paramNotNull(sync, "sync");
+            return sync(DirectorySyncConfiguration.builder().applyMutation(sync).build());
+        }
+
 
 
         @Override
@@ -347,6 +393,7 @@ public final class UploadDirectoryRequest
         private Boolean followSymbolicLinks;
         private Integer maxDepth;
         private Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer;
+        private DirectorySyncConfiguration sync;
 
         private DefaultBuilder() {
         }
@@ -359,6 +406,7 @@ public final class UploadDirectoryRequest
             this.followSymbolicLinks = request.followSymbolicLinks;
             this.maxDepth = request.maxDepth;
             this.uploadFileRequestTransformer = request.uploadFileRequestTransformer;
+            this.sync = request.sync;
         }
 
         @Override
@@ -459,6 +507,20 @@ public final class UploadDirectoryRequest
             this.uploadFileRequestTransformer = uploadFileRequestTransformer;
         }
 
+        @Override
+        public Builder sync(DirectorySyncConfiguration sync) {
+            this.sync = sync;
+            return this;
+        }
+
+        public void setSync(DirectorySyncConfiguration sync) {
+            sync(sync);
+        }
+
+        public DirectorySyncConfiguration getSync() {
+            return sync;
+        }
+
         @Override
         public UploadDirectoryRequest build() {
             return new UploadDirectoryRequest(this);
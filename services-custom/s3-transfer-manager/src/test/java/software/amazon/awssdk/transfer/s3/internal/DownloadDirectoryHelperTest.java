@@ -18,6 +18,7 @@ package software.amazon.awssdk.transfer.s3.internal;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -26,12 +27,14 @@ import static software.amazon.awssdk.transfer.s3.util.S3ApiCallMockUtils.stubSuc
 
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
+import io.reactivex.Flowable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -49,11 +52,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.s3.model.EncodingType;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.transfer.s3.internal.model.DefaultFileDownload;
 import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgress;
 import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgressSnapshot;
@@ -124,6 +129,59 @@ public class DownloadDirectoryHelperTest {
             "key2"));
     }
 
+    @Test
+    void downloadDirectory_sync_shouldOnlyDownloadChangedObjectsAndDeleteRemovedFiles() throws Exception {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("key1"), "abc".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("stale"), "abc".getBytes(StandardCharsets.UTF_8));
+        Instant lastModified = Instant.now().minusSeconds(60);
+        when(listObjectsHelper.listS3ObjectsRecursively(any(ListObjectsV2Request.class)))
+            .thenReturn(SdkPublisher.adapt(Flowable.just(S3Object.builder().key("key1").size(3L).lastModified(lastModified).build(),
+                                                         S3Object.builder().key("key2").size(3L).lastModified(lastModified).build())));
+        when(singleDownloadFunction.apply(any(DownloadFileRequest.class))).thenReturn(newSuccessfulDownload());
+
+        downloadDirectoryHelper.downloadDirectory(DownloadDirectoryRequest.builder()
+                                                                          .destination(directory)
+                                                                          .bucket("bucket")
+                                                                          .sync(s -> s.deleteRemoved(true))
+                                                                          .build())
+                               .completionFuture()
+                               .get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<DownloadFileRequest> argumentCaptor = ArgumentCaptor.forClass(DownloadFileRequest.class);
+        verify(singleDownloadFunction).apply(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().getObjectRequest().key()).isEqualTo("key2");
+        assertThat(directory.resolve("key1")).exists();
+        assertThat(directory.resolve("stale")).doesNotExist();
+    }
+
+    @Test
+    void downloadDirectory_syncWithFilter_shouldNotDeleteExcludedFiles() throws Exception {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("notes.txt"), "abc".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("stale.jpg"), "abc".getBytes(StandardCharsets.UTF_8));
+        Instant lastModified = Instant.now().minusSeconds(60);
+        when(listObjectsHelper.listS3ObjectsRecursively(any(ListObjectsV2Request.class)))
+            .thenReturn(SdkPublisher.adapt(Flowable.just(S3Object.builder().key("photo.jpg").size(3L)
+                                                                 .lastModified(lastModified).build())));
+        when(singleDownloadFunction.apply(any(DownloadFileRequest.class))).thenReturn(newSuccessfulDownload());
+
+        downloadDirectoryHelper.downloadDirectory(DownloadDirectoryRequest.builder()
+                                                                          .destination(directory)
+                                                                          .bucket("bucket")
+                                                                          .filter(o -> o.key().endsWith(".jpg"))
+                                                                          .sync(s -> s.deleteRemoved(true))
+                                                                          .build())
+                               .completionFuture()
+                               .get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<DownloadFileRequest> argumentCaptor = ArgumentCaptor.forClass(DownloadFileRequest.class);
+        verify(singleDownloadFunction).apply(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().getObjectRequest().key()).isEqualTo("photo.jpg");
+        assertThat(directory.resolve("notes.txt")).exists();
+        assertThat(directory.resolve("stale.jpg")).doesNotExist();
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"/blah",
                             "../blah/object.dat",
@@ -291,6 +349,28 @@ public class DownloadDirectoryHelperTest {
         });
     }
 
+    @Test
+    void downloadDirectory_listConcurrencyConfigured_shouldListInParallel() throws Exception {
+        stubSuccessfulListObjects(listObjectsHelper, "key1", "key2");
+        when(singleDownloadFunction.apply(any(DownloadFileRequest.class))).thenReturn(newSuccessfulDownload());
+        DownloadDirectoryHelper parallelListingHelper =
+            new DownloadDirectoryHelper(TransferManagerConfiguration.builder().downloadDirectoryListConcurrency(10).build(),
+                                        listObjectsHelper,
+                                        singleDownloadFunction);
+
+        CompletedDirectoryDownload completedDirectoryDownload =
+            parallelListingHelper.downloadDirectory(DownloadDirectoryRequest.builder()
+                                                                            .destination(directory)
+                                                                            .bucket("bucket")
+                                                                            .build())
+                                 .completionFuture()
+                                 .get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDirectoryDownload.failedTransfers()).isEmpty();
+        verify(listObjectsHelper, times(1)).listS3ObjectsInParallel(any(ListObjectsV2Request.class), eq(10));
+        verify(singleDownloadFunction, times(2)).apply(any(DownloadFileRequest.class));
+    }
+
 
     @ParameterizedTest
     @MethodSource("fileSystems")
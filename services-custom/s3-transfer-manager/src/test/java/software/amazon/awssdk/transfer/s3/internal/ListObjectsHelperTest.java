@@ -16,6 +16,7 @@
 package software.amazon.awssdk.transfer.s3.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,7 +26,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +40,7 @@ import software.amazon.awssdk.services.s3.model.CommonPrefix;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 
 class ListObjectsHelperTest {
     private Function<ListObjectsV2Request,
@@ -127,6 +132,92 @@ class ListObjectsHelperTest {
         assertThat(actualObjects).hasSize(10);
     }
 
+    /**
+     *              source
+     *    /     /        |        \
+     *   1    jan       feb       mar
+     *       /   \       |       /   \
+     *      1     2      1     mar/   1
+     *  With a concurrency of 2, the next page of jan/ is listed before mar/, and the virtual directory mar/ is skipped
+     */
+    @Test
+    void listS3ObjectsInParallel_hasCommonPrefixes_shouldListPrefixesConcurrently() throws Exception {
+        Map<String, CompletableFuture<ListObjectsV2Response>> futures = new ConcurrentHashMap<>();
+        when(listObjectsFunction.apply(any(ListObjectsV2Request.class))).thenAnswer(i -> {
+            ListObjectsV2Request request = i.getArgument(0);
+            return futures.computeIfAbsent(request.prefix() + "|" + request.continuationToken(),
+                                           k -> new CompletableFuture<>());
+        });
+        List<S3Object> actualObjects = new ArrayList<>();
+
+        CompletableFuture<Void> listFuture =
+            listObjectsHelper.listS3ObjectsInParallel(ListObjectsV2Request.builder()
+                                                                          .bucket("bucket")
+                                                                          .prefix("")
+                                                                          .delimiter("/")
+                                                                          .build(), 2)
+                             .subscribe(actualObjects::add);
+
+        futures.get("|null").complete(listObjectsV2Response(null, commonPrefixes("jan/", "feb/", "mar/"), "1"));
+        assertThat(futures).containsOnlyKeys("|null", "jan/|null", "feb/|null");
+
+        futures.get("jan/|null").complete(listObjectsV2Response("nextPage", Collections.emptyList(), "jan/1"));
+        assertThat(futures).containsOnlyKeys("|null", "jan/|null", "feb/|null", "jan/|nextPage");
+
+        futures.get("feb/|null").complete(listObjectsV2Response(null, Collections.emptyList(), "feb/1"));
+        assertThat(futures).containsKey("mar/|null");
+        assertThat(listFuture).isNotDone();
+
+        futures.get("jan/|nextPage").complete(listObjectsV2Response(null, Collections.emptyList(), "jan/2"));
+        futures.get("mar/|null").complete(listObjectsV2Response(null, Collections.emptyList(), "mar/", "mar/1"));
+
+        listFuture.get(5, TimeUnit.SECONDS);
+        assertThat(actualObjects).extracting(S3Object::key)
+                                 .containsExactlyInAnyOrder("1", "jan/1", "jan/2", "feb/1", "mar/1");
+        verify(listObjectsFunction, times(5)).apply(any(ListObjectsV2Request.class));
+    }
+
+    @Test
+    void listS3ObjectsInParallel_noDelimiter_shouldDiscoverPrefixesWithDefaultDelimiter() throws Exception {
+        when(listObjectsFunction.apply(any(ListObjectsV2Request.class))).thenAnswer(i -> {
+            ListObjectsV2Request request = i.getArgument(0);
+            if (request.prefix().isEmpty()) {
+                return CompletableFuture.completedFuture(listObjectsV2Response(null, commonPrefixes("jan/"), "1"));
+            }
+            return CompletableFuture.completedFuture(listObjectsV2Response(null, Collections.emptyList(), "jan/", "jan/1"));
+        });
+        List<S3Object> actualObjects = new ArrayList<>();
+
+        listObjectsHelper.listS3ObjectsInParallel(ListObjectsV2Request.builder()
+                                                                      .bucket("bucket")
+                                                                      .prefix("")
+                                                                      .build(), 10)
+                         .subscribe(actualObjects::add).get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<ListObjectsV2Request> argumentCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(listObjectsFunction, times(2)).apply(argumentCaptor.capture());
+        assertThat(argumentCaptor.getAllValues()).allSatisfy(r -> assertThat(r.delimiter()).isEqualTo("/"));
+        // Without a delimiter, the objects whose key ends with "/" are returned as they would be by a flat listing
+        assertThat(actualObjects).extracting(S3Object::key).containsExactlyInAnyOrder("1", "jan/", "jan/1");
+    }
+
+    @Test
+    void listS3ObjectsInParallel_requestFails_shouldFail() {
+        RuntimeException exception = new RuntimeException("boom");
+        when(listObjectsFunction.apply(any(ListObjectsV2Request.class)))
+            .thenReturn(CompletableFutureUtils.failedFuture(exception));
+
+        CompletableFuture<Void> listFuture =
+            listObjectsHelper.listS3ObjectsInParallel(ListObjectsV2Request.builder().bucket("bucket").build(), 10)
+                             .subscribe(o -> { });
+
+        assertThatThrownBy(() -> listFuture.get(5, TimeUnit.SECONDS)).hasRootCause(exception);
+    }
+
+    private List<CommonPrefix> commonPrefixes(String... prefixes) {
+        return Arrays.stream(prefixes).map(p -> CommonPrefix.builder().prefix(p).build()).collect(Collectors.toList());
+    }
+
     private ListObjectsV2Response listObjectsV2Response(String... keys) {
         return listObjectsV2Response(null, null, keys);
     }
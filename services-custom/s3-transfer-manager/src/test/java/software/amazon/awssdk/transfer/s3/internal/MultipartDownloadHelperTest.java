@@ -0,0 +1,287 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.testutils.RandomTempFile;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.transfer.s3.model.DownloadFileRequest;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+class MultipartDownloadHelperTest {
+    private static final long PART_SIZE = 1000;
+    private static final Instant LAST_MODIFIED = Instant.parse("2022-05-13T21:55:52Z");
+
+    private S3AsyncClient s3AsyncClient;
+    private MultipartDownloadHelper helper;
+    private byte[] content;
+    private File file;
+    private Deque<Runnable> deferredBodies;
+    private String retriedFirstPartETag;
+
+    @BeforeEach
+    public void methodSetup() throws IOException {
+        file = RandomTempFile.createTempFile("test", UUID.randomUUID().toString());
+        content = RandomStringUtils.randomAlphanumeric(2500).getBytes();
+        s3AsyncClient = mock(S3AsyncClient.class);
+        helper = new MultipartDownloadHelper(s3AsyncClient, PART_SIZE, 2 * PART_SIZE);
+        deferredBodies = new ArrayDeque<>();
+        retriedFirstPartETag = null;
+
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenAnswer(serveObject(false));
+    }
+
+    @AfterEach
+    public void methodTeardown() {
+        file.delete();
+    }
+
+    @Test
+    void downloadFile_shouldWriteEachPartAtItsOffset() throws IOException {
+        MultipartDownloadState state = MultipartDownloadState.create();
+
+        GetObjectResponse response = helper.downloadFile(getObjectRequest(), file.toPath(), progressUpdater(), state).join();
+
+        assertThat(Files.readAllBytes(file.toPath())).isEqualTo(content);
+        assertThat(response.contentLength()).isEqualTo(2500L);
+        assertThat(response.contentRange()).isNull();
+
+        List<GetObjectRequest> requests = getObjectRequests();
+        assertThat(requests).extracting(GetObjectRequest::range)
+                            .containsExactlyInAnyOrder("bytes=0-999", "bytes=1000-1999", "bytes=2000-2499");
+        assertThat(requests).filteredOn(r -> !r.range().startsWith("bytes=0-"))
+                            .extracting(GetObjectRequest::ifMatch)
+                            .containsOnly("etag");
+        assertThat(state.completedParts()).containsExactly(1, 2, 3);
+        assertThat(state.totalSizeInBytes()).hasValue(2500L);
+        assertThat(state.s3ObjectLastModified()).hasValue(LAST_MODIFIED);
+    }
+
+    @Test
+    void downloadFile_resumed_shouldOnlyDownloadRemainingParts() throws IOException {
+        Files.write(file.toPath(), Arrays.copyOf(content, (int) PART_SIZE));
+        MultipartDownloadState state = MultipartDownloadState.resume(PART_SIZE, 2500, LAST_MODIFIED,
+                                                                     Collections.singletonList(1));
+        TransferProgressUpdater progressUpdater = progressUpdater();
+
+        helper.downloadFile(getObjectRequest(), file.toPath(), progressUpdater, state).join();
+
+        assertThat(Files.readAllBytes(file.toPath())).isEqualTo(content);
+        assertThat(getObjectRequests()).extracting(GetObjectRequest::range)
+                                       .containsExactlyInAnyOrder("bytes=1000-1999", "bytes=2000-2499");
+        assertThat(progressUpdater.progress().snapshot().transferredBytes()).isEqualTo(2500L);
+        assertThat(state.completedParts()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void downloadFile_resumedWithDifferentConfiguredPartSize_shouldUseThePartSizeOfTheState() throws IOException {
+        helper = new MultipartDownloadHelper(s3AsyncClient, 400, 2 * PART_SIZE);
+        Files.write(file.toPath(), Arrays.copyOf(content, (int) PART_SIZE));
+        MultipartDownloadState state = MultipartDownloadState.resume(PART_SIZE, 2500, LAST_MODIFIED,
+                                                                     Collections.singletonList(1));
+
+        helper.downloadFile(getObjectRequest(), file.toPath(), progressUpdater(), state).join();
+
+        assertThat(Files.readAllBytes(file.toPath())).isEqualTo(content);
+        assertThat(getObjectRequests()).extracting(GetObjectRequest::range)
+                                       .containsExactlyInAnyOrder("bytes=1000-1999", "bytes=2000-2499");
+        assertThat(state.completedParts()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void downloadFile_emptyObject_shouldFallBackToSingleGetObject() throws IOException {
+        content = new byte[0];
+
+        GetObjectResponse response = helper.downloadFile(getObjectRequest(), file.toPath(), progressUpdater(),
+                                                         MultipartDownloadState.create()).join();
+
+        assertThat(Files.readAllBytes(file.toPath())).isEmpty();
+        assertThat(response.contentLength()).isZero();
+        assertThat(getObjectRequests()).extracting(GetObjectRequest::range).containsExactly("bytes=0-999", null);
+    }
+
+    @Test
+    void download_partsCompleteOutOfOrder_shouldReassembleInOrder() {
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenAnswer(serveObject(true));
+
+        CompletableFuture<ResponseBytes<GetObjectResponse>> future =
+            helper.download(getObjectRequest(), AsyncResponseTransformer.toBytes(), progressUpdater());
+        while (!deferredBodies.isEmpty()) {
+            deferredBodies.pollLast().run();
+        }
+
+        ResponseBytes<GetObjectResponse> responseBytes = future.join();
+        assertThat(responseBytes.asByteArray()).isEqualTo(content);
+        assertThat(responseBytes.response().contentLength()).isEqualTo(2500L);
+        assertThat(getObjectRequests()).extracting(GetObjectRequest::range)
+                                       .containsExactly("bytes=0-999", "bytes=1000-1999", "bytes=2000-2499");
+    }
+
+    @Test
+    void downloadFile_firstPartRetried_shouldStartDownloadOnce() throws IOException {
+        retriedFirstPartETag = "etag";
+        MultipartDownloadState state = MultipartDownloadState.create();
+        TransferProgressUpdater progressUpdater = progressUpdater();
+
+        GetObjectResponse response = helper.downloadFile(getObjectRequest(), file.toPath(), progressUpdater, state).join();
+
+        assertThat(Files.readAllBytes(file.toPath())).isEqualTo(content);
+        assertThat(response.contentLength()).isEqualTo(2500L);
+        assertThat(getObjectRequests()).extracting(GetObjectRequest::range)
+                                       .containsExactlyInAnyOrder("bytes=0-999", "bytes=1000-1999", "bytes=2000-2499");
+        assertThat(state.completedParts()).containsExactly(1, 2, 3);
+        assertThat(progressUpdater.progress().snapshot().totalBytes()).hasValue(2500L);
+    }
+
+    @Test
+    void downloadFile_firstPartRetriedWithAnotherVersion_shouldFail() {
+        retriedFirstPartETag = "another-etag";
+
+        CompletableFuture<GetObjectResponse> future =
+            helper.downloadFile(getObjectRequest(), file.toPath(), progressUpdater(), MultipartDownloadState.create());
+
+        assertThatThrownBy(future::join).hasCauseInstanceOf(SdkClientException.class)
+                                        .hasMessageContaining("another-etag");
+    }
+
+    @Test
+    void download_firstPartRetried_shouldStartDownloadOnce() {
+        retriedFirstPartETag = "etag";
+
+        ResponseBytes<GetObjectResponse> responseBytes =
+            helper.download(getObjectRequest(), AsyncResponseTransformer.toBytes(), progressUpdater()).join();
+
+        assertThat(responseBytes.asByteArray()).isEqualTo(content);
+        assertThat(responseBytes.response().contentLength()).isEqualTo(2500L);
+        assertThat(getObjectRequests()).extracting(GetObjectRequest::range)
+                                       .containsExactly("bytes=0-999", "bytes=1000-1999", "bytes=2000-2499");
+    }
+
+    @Test
+    void download_firstPartFails_shouldFail() {
+        S3Exception exception = (S3Exception) S3Exception.builder().statusCode(404).message("NoSuchKey").build();
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenReturn(CompletableFutureUtils.failedFuture(exception));
+
+        CompletableFuture<ResponseBytes<GetObjectResponse>> future =
+            helper.download(getObjectRequest(), AsyncResponseTransformer.toBytes(), progressUpdater());
+
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join).hasCause(exception);
+    }
+
+    /**
+     * Serves ranges of {@link #content}, or fails with 416 for any range of an empty object. If {@code deferBodies} is set,
+     * the bodies are only streamed once the test runs {@link #deferredBodies}. If {@link #retriedFirstPartETag} is set, the
+     * first part fails once after its response is received, as if the connection was reset, and is retried by the client
+     * with that ETag.
+     */
+    @SuppressWarnings("unchecked")
+    private Answer<CompletableFuture<?>> serveObject(boolean deferBodies) {
+        return i -> {
+            GetObjectRequest request = i.getArgument(0);
+            AsyncResponseTransformer<GetObjectResponse, Object> transformer = i.getArgument(1);
+            GetObjectResponse.Builder response = GetObjectResponse.builder()
+                                                                  .eTag("etag")
+                                                                  .lastModified(LAST_MODIFIED);
+            int start = 0;
+            int end = content.length - 1;
+            if (request.range() != null) {
+                if (content.length == 0) {
+                    return CompletableFutureUtils.failedFuture(S3Exception.builder().statusCode(416).build());
+                }
+                String[] range = request.range().substring("bytes=".length()).split("-");
+                start = Integer.parseInt(range[0]);
+                end = Math.min(Integer.parseInt(range[1]), content.length - 1);
+                response.contentRange("bytes " + start + "-" + end + "/" + content.length);
+            }
+            byte[] body = Arrays.copyOfRange(content, start, end + 1);
+            response.contentLength((long) body.length);
+
+            if (start == 0 && retriedFirstPartETag != null) {
+                transformer.prepare();
+                transformer.onResponse(response.build());
+                transformer.exceptionOccurred(new IOException("Connection reset"));
+                response.eTag(retriedFirstPartETag);
+            }
+
+            CompletableFuture<Object> future = transformer.prepare();
+            transformer.onResponse(response.build());
+            Runnable streamBody = () -> transformer.onStream(AsyncRequestBody.fromBytes(body));
+            if (deferBodies) {
+                deferredBodies.add(streamBody);
+            } else {
+                streamBody.run();
+            }
+            return future;
+        };
+    }
+
+    private List<GetObjectRequest> getObjectRequests() {
+        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3AsyncClient, atLeastOnce()).getObject(captor.capture(), any(AsyncResponseTransformer.class));
+        return captor.getAllValues();
+    }
+
+    private TransferProgressUpdater progressUpdater() {
+        DownloadFileRequest request = DownloadFileRequest.builder()
+                                                         .getObjectRequest(getObjectRequest())
+                                                         .destination(file)
+                                                         .build();
+        return new TransferProgressUpdater(request, null);
+    }
+
+    private static GetObjectRequest getObjectRequest() {
+        return GetObjectRequest.builder()
+                               .key("key")
+                               .bucket("bucket")
+                               .build();
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.testutils.RandomTempFile;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.transfer.s3.model.UploadFileRequest;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+class MultipartUploadHelperTest {
+    private static final String UPLOAD_ID = "uploadId";
+    private static final long PART_SIZE = 1000;
+    private static final long THRESHOLD = 2000;
+
+    private S3AsyncClient s3AsyncClient;
+    private MultipartUploadHelper helper;
+    private File file;
+
+    @BeforeEach
+    public void methodSetup() throws IOException {
+        file = RandomTempFile.createTempFile("test", UUID.randomUUID().toString());
+        Files.write(file.toPath(), RandomStringUtils.randomAlphanumeric(2500).getBytes());
+        s3AsyncClient = mock(S3AsyncClient.class);
+        helper = new MultipartUploadHelper(s3AsyncClient, PART_SIZE, THRESHOLD, 2 * PART_SIZE);
+
+        when(s3AsyncClient.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build()));
+        when(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+            .thenAnswer(i -> {
+                UploadPartRequest request = i.getArgument(0);
+                return CompletableFuture.completedFuture(UploadPartResponse.builder()
+                                                                           .eTag("etag" + request.partNumber())
+                                                                           .build());
+            });
+        when(s3AsyncClient.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().eTag("etag").build()));
+        when(s3AsyncClient.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+    }
+
+    @AfterEach
+    public void methodTeardown() {
+        file.delete();
+    }
+
+    @Test
+    void uploadFile_smallerThanThreshold_shouldSendPutObject() {
+        PutObjectResponse response = PutObjectResponse.builder().build();
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
+        MultipartUploadHelper helper = new MultipartUploadHelper(s3AsyncClient, PART_SIZE, 3000, 2 * PART_SIZE);
+
+        PutObjectResponse actual = helper.uploadFile(putObjectRequest(), file.toPath(), 1024, progressUpdater(),
+                                                     MultipartUploadState.create())
+                                         .join();
+
+        assertThat(actual).isEqualTo(response);
+        verify(s3AsyncClient, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void uploadFile_largerThanThreshold_shouldUploadInParts() {
+        MultipartUploadState state = MultipartUploadState.create();
+
+        PutObjectResponse actual = helper.uploadFile(putObjectRequest(), file.toPath(), 1024, progressUpdater(), state)
+                                         .join();
+
+        assertThat(actual.eTag()).isEqualTo("etag");
+        assertThat(uploadPartRequests()).extracting(UploadPartRequest::partNumber, UploadPartRequest::contentLength)
+                                        .containsExactlyInAnyOrder(tuple(1, 1000L), tuple(2, 1000L), tuple(3, 500L));
+        assertCompletedParts(1, 2, 3);
+        assertThat(state.uploadId()).hasValue(UPLOAD_ID);
+        assertThat(state.totalParts()).hasValue(3);
+        assertThat(state.transferredParts()).isEqualTo(3);
+    }
+
+    @Test
+    void uploadFile_resumed_shouldOnlyUploadRemainingParts() {
+        CompletedPart firstPart = CompletedPart.builder().partNumber(1).eTag("previous").build();
+        MultipartUploadState state = MultipartUploadState.resume(UPLOAD_ID, PART_SIZE, Collections.singletonList(firstPart));
+
+        helper.uploadFile(putObjectRequest(), file.toPath(), 1024, progressUpdater(), state).join();
+
+        verify(s3AsyncClient, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        assertThat(uploadPartRequests()).extracting(UploadPartRequest::partNumber).containsExactlyInAnyOrder(2, 3);
+        List<CompletedPart> parts = assertCompletedParts(1, 2, 3);
+        assertThat(parts.get(0).eTag()).isEqualTo("previous");
+    }
+
+    @Test
+    void upload_largerThanThreshold_shouldUploadInParts() {
+        AsyncRequestBody requestBody = AsyncRequestBody.fromBytes(RandomStringUtils.randomAlphanumeric(2500).getBytes());
+
+        PutObjectResponse actual = helper.upload(putObjectRequest(), requestBody, progressUpdater()).join();
+
+        assertThat(actual.eTag()).isEqualTo("etag");
+        assertThat(uploadPartRequests()).extracting(UploadPartRequest::contentLength)
+                                        .containsExactlyInAnyOrder(1000L, 1000L, 500L);
+        assertCompletedParts(1, 2, 3);
+    }
+
+    @Test
+    void upload_unknownContentLengthOfSinglePart_shouldSendPutObject() {
+        PutObjectResponse response = PutObjectResponse.builder().build();
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
+        AsyncRequestBody requestBody = AsyncRequestBody.fromPublisher(
+            AsyncRequestBody.fromBytes(RandomStringUtils.randomAlphanumeric(500).getBytes()));
+
+        PutObjectResponse actual = helper.upload(putObjectRequest(), requestBody, progressUpdater()).join();
+
+        assertThat(actual).isEqualTo(response);
+        verify(s3AsyncClient, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void uploadFile_largerThanThresholdWithContentMd5_shouldSendPutObject() {
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+        PutObjectRequest request = putObjectRequest().toBuilder().contentMD5("md5").build();
+
+        helper.uploadFile(request, file.toPath(), 1024, progressUpdater(), MultipartUploadState.create()).join();
+
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3AsyncClient).putObject(captor.capture(), any(AsyncRequestBody.class));
+        assertThat(captor.getValue().contentMD5()).isEqualTo("md5");
+        verify(s3AsyncClient, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void upload_largerThanThresholdWithChecksumValue_shouldSendPutObject() {
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+        PutObjectRequest request = putObjectRequest().toBuilder().checksumSHA256("sha256").build();
+        AsyncRequestBody requestBody = AsyncRequestBody.fromBytes(RandomStringUtils.randomAlphanumeric(2500).getBytes());
+
+        helper.upload(request, requestBody, progressUpdater()).join();
+
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3AsyncClient).putObject(captor.capture(), any(AsyncRequestBody.class));
+        assertThat(captor.getValue().checksumSHA256()).isEqualTo("sha256");
+        verify(s3AsyncClient, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void uploadFile_partFails_shouldAbortMultipartUpload() {
+        when(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFutureUtils.failedFuture(new RuntimeException("boom")));
+
+        CompletableFuture<PutObjectResponse> future =
+            helper.uploadFile(putObjectRequest(), file.toPath(), 1024, progressUpdater(), MultipartUploadState.create());
+
+        assertThatThrownBy(future::join).isInstanceOf(CompletionException.class)
+                                        .hasCauseInstanceOf(SdkClientException.class)
+                                        .hasRootCauseMessage("boom");
+        ArgumentCaptor<AbortMultipartUploadRequest> captor = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3AsyncClient).abortMultipartUpload(captor.capture());
+        assertThat(captor.getValue().uploadId()).isEqualTo(UPLOAD_ID);
+    }
+
+    @Test
+    void uploadFile_paused_shouldNotAbortMultipartUpload() {
+        when(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(new CompletableFuture<>());
+        MultipartUploadState state = MultipartUploadState.create();
+
+        CompletableFuture<PutObjectResponse> future =
+            helper.uploadFile(putObjectRequest(), file.toPath(), 1024, progressUpdater(), state);
+        state.pause();
+        future.cancel(true);
+
+        verify(s3AsyncClient, times(2)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+        verify(s3AsyncClient, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        assertThat(state.uploadId()).hasValue(UPLOAD_ID);
+    }
+
+    private List<UploadPartRequest> uploadPartRequests() {
+        ArgumentCaptor<UploadPartRequest> captor = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3AsyncClient, atLeastOnce()).uploadPart(captor.capture(), any(AsyncRequestBody.class));
+        return captor.getAllValues();
+    }
+
+    private List<CompletedPart> assertCompletedParts(Integer... partNumbers) {
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3AsyncClient).completeMultipartUpload(captor.capture());
+        CompleteMultipartUploadRequest request = captor.getValue();
+        assertThat(request.uploadId()).isEqualTo(UPLOAD_ID);
+        List<CompletedPart> parts = request.multipartUpload().parts();
+        assertThat(parts.stream().map(CompletedPart::partNumber).collect(Collectors.toList())).containsExactly(partNumbers);
+        return parts;
+    }
+
+    private TransferProgressUpdater progressUpdater() {
+        UploadFileRequest request = UploadFileRequest.builder()
+                                                     .putObjectRequest(putObjectRequest())
+                                                     .source(file)
+                                                     .build();
+        return new TransferProgressUpdater(request, null);
+    }
+
+    private static PutObjectRequest putObjectRequest() {
+        return PutObjectRequest.builder()
+                               .key("key")
+                               .bucket("bucket")
+                               .build();
+    }
+}
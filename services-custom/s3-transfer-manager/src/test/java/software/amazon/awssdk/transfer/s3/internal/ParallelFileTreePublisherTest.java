@@ -0,0 +1,95 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.jimfs.Jimfs;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelFileTreePublisherTest {
+    private FileSystem jimfs;
+    private Path directory;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void methodSetup() throws IOException {
+        jimfs = Jimfs.newFileSystem();
+        executor = Executors.newFixedThreadPool(4);
+        directory = jimfs.getPath("test");
+        Files.createDirectories(directory.resolve("foo/bar"));
+        for (int i = 0; i < 5; i++) {
+            Files.write(directory.resolve("small" + i), new byte[1]);
+        }
+        Files.write(directory.resolve("large"), new byte[10]);
+        Files.write(directory.resolve("foo/1"), new byte[1]);
+        Files.write(directory.resolve("foo/bar/2"), new byte[1]);
+    }
+
+    @AfterEach
+    public void methodTeardown() throws IOException {
+        executor.shutdownNow();
+        jimfs.close();
+    }
+
+    @Test
+    void subscribe_shouldGroupSmallFilesOfTheSameDirectory() throws Exception {
+        List<List<Path>> groups = publishAll(Integer.MAX_VALUE);
+
+        assertThat(groups.stream().flatMap(List::stream).map(Path::toString))
+            .containsExactlyInAnyOrder("test/small0", "test/small1", "test/small2", "test/small3", "test/small4",
+                                       "test/large", "test/foo/1", "test/foo/bar/2");
+        assertThat(groups).allSatisfy(g -> assertThat(g).hasSizeLessThanOrEqualTo(2));
+        assertThat(groups).anySatisfy(g -> assertThat(g).extracting(Path::toString).containsExactly("test/large"));
+        assertThat(groups).allSatisfy(g -> assertThat(g.stream().map(Path::getParent).distinct()).hasSize(1));
+    }
+
+    @Test
+    void subscribe_withMaxDepth_shouldNotListDeeperDirectories() throws Exception {
+        List<List<Path>> groups = publishAll(2);
+
+        assertThat(groups.stream().flatMap(List::stream).map(Path::toString).collect(Collectors.toList()))
+            .contains("test/foo/1")
+            .doesNotContain("test/foo/bar/2");
+    }
+
+    private List<List<Path>> publishAll(int maxDepth) throws Exception {
+        ParallelFileTreePublisher publisher = ParallelFileTreePublisher.builder()
+                                                                       .root(directory)
+                                                                       .maxDepth(maxDepth)
+                                                                       .executor(executor)
+                                                                       .parallelism(2)
+                                                                       .maxBufferedGroups(1)
+                                                                       .maxFilesPerGroup(2)
+                                                                       .smallFileSizeInBytes(10)
+                                                                       .build();
+        ConcurrentLinkedQueue<List<Path>> groups = new ConcurrentLinkedQueue<>();
+        publisher.subscribe(groups::add).get(5, TimeUnit.SECONDS);
+        return groups.stream().collect(Collectors.toList());
+    }
+}
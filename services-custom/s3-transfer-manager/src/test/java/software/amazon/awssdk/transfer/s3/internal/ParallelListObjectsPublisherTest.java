@@ -0,0 +1,118 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class ParallelListObjectsPublisherTest {
+
+    @Test
+    void slowSubscriber_bufferFull_shouldNotRequestNextPage() {
+        List<ListObjectsV2Request> requests = new CopyOnWriteArrayList<>();
+        ParallelListObjectsPublisher publisher =
+            ParallelListObjectsPublisher.builder()
+                                        .listObjectsFunction(r -> {
+                                            requests.add(r);
+                                            return CompletableFuture.completedFuture(page(r.prefix()));
+                                        })
+                                        .firstRequest(ListObjectsV2Request.builder()
+                                                                          .bucket("bucket")
+                                                                          .prefix("")
+                                                                          .delimiter("/")
+                                                                          .build())
+                                        .maxConcurrency(2)
+                                        .maxBufferedObjects(2)
+                                        .build();
+        SlowSubscriber subscriber = new SlowSubscriber();
+
+        publisher.subscribe(subscriber);
+        // The first page fills the buffer
+        assertThat(requests).hasSize(1);
+
+        subscriber.request(1);
+        // Requesting one object frees up the buffer, and the next page overshoots it by a page
+        assertThat(subscriber.keys).containsExactly("1");
+        assertThat(requests).hasSize(2);
+
+        subscriber.request(1);
+        assertThat(subscriber.keys).containsExactly("1", "2");
+        assertThat(requests).hasSize(2);
+
+        subscriber.request(Long.MAX_VALUE);
+        assertThat(subscriber.done).isCompleted();
+        assertThat(requests).extracting(ListObjectsV2Request::prefix).containsExactly("", "a/", "b/");
+        assertThat(subscriber.keys).containsExactlyInAnyOrder("1", "2", "a/1", "a/2", "b/1", "b/2");
+    }
+
+    private static ListObjectsV2Response page(String prefix) {
+        List<CommonPrefix> commonPrefixes = prefix.isEmpty()
+                                            ? Arrays.asList(CommonPrefix.builder().prefix("a/").build(),
+                                                            CommonPrefix.builder().prefix("b/").build())
+                                            : Collections.emptyList();
+        List<S3Object> objects = Arrays.asList(S3Object.builder().key(prefix + "1").build(),
+                                               S3Object.builder().key(prefix + "2").build());
+        return ListObjectsV2Response.builder()
+                                    .commonPrefixes(commonPrefixes)
+                                    .contents(objects)
+                                    .build();
+    }
+
+    /**
+     * A subscriber that only requests objects when the test asks it to.
+     */
+    private static final class SlowSubscriber implements Subscriber<S3Object> {
+        private final List<String> keys = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile Subscription subscription;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(S3Object s3Object) {
+            keys.add(s3Object.key());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+
+        private void request(long n) {
+            subscription.request(n);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,9 +32,11 @@ import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.internal.crt.S3CrtAsyncClient;
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
@@ -108,6 +111,26 @@ class S3TransferManagerTest {
         assertThat(completedUpload.response()).isEqualTo(response);
     }
 
+    @Test
+    void upload_multipartDisabled_shouldSendSinglePutObject() {
+        S3AsyncClient s3AsyncClient = mock(S3AsyncClient.class);
+        PutObjectResponse response = PutObjectResponse.builder().build();
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
+        TransferManagerConfiguration disabled = TransferManagerConfiguration.builder().multipartEnabled(false).build();
+
+        try (S3TransferManager transferManager = new GenericS3TransferManager(disabled, s3AsyncClient, false)) {
+            CompletedUpload completedUpload =
+                transferManager.upload(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                             .requestBody(AsyncRequestBody.fromBytes(new byte[9 * 1024 * 1024])))
+                               .completionFuture()
+                               .join();
+
+            assertThat(completedUpload.response()).isEqualTo(response);
+            verify(s3AsyncClient, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        }
+    }
+
     @Test
     public void copy_returnsResponse() {
         CopyObjectResponse response = CopyObjectResponse.builder().build();
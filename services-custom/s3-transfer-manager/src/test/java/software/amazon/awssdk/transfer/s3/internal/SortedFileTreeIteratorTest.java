@@ -0,0 +1,79 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.jimfs.Jimfs;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SortedFileTreeIteratorTest {
+    private FileSystem jimfs;
+    private Path directory;
+
+    @BeforeEach
+    public void methodSetup() throws IOException {
+        jimfs = Jimfs.newFileSystem();
+        directory = jimfs.getPath("test");
+        Files.createDirectories(directory.resolve("a/b"));
+        Files.createFile(directory.resolve("a-c"));
+        Files.createFile(directory.resolve("a/1"));
+        Files.createFile(directory.resolve("a/b/2"));
+        Files.createFile(directory.resolve("a0"));
+        Files.createFile(directory.resolve("Ａ"));
+        Files.createFile(directory.resolve("😀"));
+    }
+
+    @AfterEach
+    public void methodTeardown() throws IOException {
+        jimfs.close();
+    }
+
+    @Test
+    void iterator_shouldListFilesInKeyOrder() {
+        List<String> keys = keys(new SortedFileTreeIterator(directory, "prefix/", "/", Integer.MAX_VALUE, false));
+
+        // "-" < "/" < "0", and supplementary characters sort after the rest of the BMP, as in UTF-8
+        assertThat(keys).containsExactly("prefix/a-c", "prefix/a/1", "prefix/a/b/2", "prefix/a0", "prefix/Ａ",
+                                         "prefix/😀");
+    }
+
+    @Test
+    void iterator_withMaxDepth_shouldNotListDeeperDirectories() {
+        List<String> keys = keys(new SortedFileTreeIterator(directory, "", "/", 2, false));
+
+        assertThat(keys).containsExactly("a-c", "a/1", "a0", "Ａ", "😀");
+    }
+
+    @Test
+    void iterator_nonexistentRoot_shouldBeEmpty() {
+        assertThat(new SortedFileTreeIterator(jimfs.getPath("missing"), "", "/", Integer.MAX_VALUE, false)).isExhausted();
+    }
+
+    private static List<String> keys(SortedFileTreeIterator iterator) {
+        List<String> keys = new ArrayList<>();
+        iterator.forEachRemaining(f -> keys.add(f.key()));
+        return keys;
+    }
+}
@@ -16,9 +16,16 @@
 package software.amazon.awssdk.transfer.s3.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static software.amazon.awssdk.transfer.s3.SizeConstant.MB;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DOWNLOAD_DIRECTORY_LIST_CONCURRENCY;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.EXECUTOR;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_ENABLED;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_MAX_IN_FLIGHT_BYTES;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_PART_SIZE_IN_BYTES;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.MULTIPART_THRESHOLD_IN_BYTES;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_DEPTH;
 
@@ -62,9 +69,21 @@ public class TransferManagerConfigurationTest {
         transferManagerConfiguration = TransferManagerConfiguration.builder().build();
         assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS)).isFalse();
         assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_MAX_DEPTH)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(transferManagerConfiguration.option(DOWNLOAD_DIRECTORY_LIST_CONCURRENCY)).isEqualTo(1);
+        assertThat(transferManagerConfiguration.option(MULTIPART_ENABLED)).isTrue();
+        assertThat(transferManagerConfiguration.option(MULTIPART_THRESHOLD_IN_BYTES)).isEqualTo(8 * MB);
+        assertThat(transferManagerConfiguration.option(MULTIPART_PART_SIZE_IN_BYTES)).isEqualTo(8 * MB);
+        assertThat(transferManagerConfiguration.option(MULTIPART_MAX_IN_FLIGHT_BYTES)).isEqualTo(64 * MB);
         assertThat(transferManagerConfiguration.option(EXECUTOR)).isNotNull();
     }
 
+    @Test
+    public void multipartPartSizeBelowMinimum_shouldThrowException() {
+        assertThatThrownBy(() -> TransferManagerConfiguration.builder().multipartPartSizeInBytes(MB).build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("multipartPartSizeInBytes");
+    }
+
     @Test
     public void close_noCustomExecutor_shouldCloseDefaultOne() {
         transferManagerConfiguration = TransferManagerConfiguration.builder().build();
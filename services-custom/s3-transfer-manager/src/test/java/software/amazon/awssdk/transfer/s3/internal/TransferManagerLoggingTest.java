@@ -58,10 +58,24 @@ class TransferManagerLoggingTest {
              S3TransferManager tm = S3TransferManager.builder().s3Client(s3Crt).build()) {
             List<LogEvent> events = logCaptor.loggedEvents();
             assertLogged(events, Level.WARN, "The provided DefaultS3AsyncClient is not an instance of S3CrtAsyncClient, and "
-                                             + "thus multipart upload/download feature is not enabled and resumable file upload"
-                                             + " is "
-                                             + "not supported. To benefit from maximum throughput, consider using "
-                                             + "S3AsyncClient.crtBuilder().build() instead.");
+                                             + "thus multipart transfers are performed by the transfer manager. To benefit "
+                                             + "from maximum throughput, consider using S3AsyncClient.crtBuilder().build() "
+                                             + "instead.");
+        }
+    }
+
+    @Test
+    void transferManager_withJavaClientAndMultipartDisabled_shouldLogWarnMessageSayingMultipartIsDisabled() {
+        try (S3AsyncClient s3 = S3AsyncClient.builder()
+                                             .region(Region.US_WEST_2)
+                                             .credentialsProvider(() -> AwsBasicCredentials.create("foo", "bar"))
+                                             .build();
+             LogCaptor logCaptor = LogCaptor.create(Level.WARN);
+             S3TransferManager tm = S3TransferManager.builder().s3Client(s3).multipartEnabled(false).build()) {
+            List<LogEvent> events = logCaptor.loggedEvents();
+            assertLogged(events, Level.WARN, "The provided DefaultS3AsyncClient is not an instance of S3CrtAsyncClient, and "
+                                             + "multipart transfers are disabled. To benefit from maximum throughput, consider "
+                                             + "using S3AsyncClient.crtBuilder().build() instead.");
         }
     }
 
@@ -19,10 +19,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
+import io.reactivex.Flowable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
@@ -30,6 +35,7 @@ import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -47,11 +53,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.s3.internal.crt.S3MetaRequestPauseObservable;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.testutils.FileUtils;
+import software.amazon.awssdk.transfer.s3.config.SyncComparisonMode;
 import software.amazon.awssdk.transfer.s3.config.TransferRequestOverrideConfiguration;
 import software.amazon.awssdk.transfer.s3.internal.model.DefaultFileUpload;
 import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgress;
@@ -74,6 +86,8 @@ public class UploadDirectoryHelperTest {
      */
     private static Path localDirectory;
     private Function<UploadFileRequest, FileUpload> singleUploadFunction;
+    private Function<DeleteObjectRequest, CompletableFuture<DeleteObjectResponse>> deleteObjectFunction;
+    private ListObjectsHelper listObjectsHelper;
     private UploadDirectoryHelper uploadDirectoryHelper;
 
     public static Collection<FileSystem> fileSystems() {
@@ -101,8 +115,11 @@ public class UploadDirectoryHelperTest {
         Files.createFile(jimfs.getPath("test/2"));
 
         singleUploadFunction = mock(Function.class);
+        deleteObjectFunction = mock(Function.class);
+        listObjectsHelper = mock(ListObjectsHelper.class);
 
-        uploadDirectoryHelper = new UploadDirectoryHelper(TransferManagerConfiguration.builder().build(), singleUploadFunction);
+        uploadDirectoryHelper = new UploadDirectoryHelper(TransferManagerConfiguration.builder().build(), listObjectsHelper,
+                                                          singleUploadFunction, deleteObjectFunction);
     }
 
     @AfterEach
@@ -126,6 +143,8 @@ public class UploadDirectoryHelperTest {
                                                                         .bucket("bucket")
                                                                         .build());
 
+        // Files that were not listed yet when the upload is cancelled are never uploaded
+        verify(singleUploadFunction, timeout(1000).times(2)).apply(any(UploadFileRequest.class));
         uploadDirectory.completionFuture().cancel(true);
 
         assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
@@ -187,11 +206,105 @@ public class UploadDirectoryHelperTest {
         CompletedDirectoryUpload completedDirectoryUpload = uploadDirectory.completionFuture().get(5, TimeUnit.SECONDS);
 
         assertThat(completedDirectoryUpload.failedTransfers()).hasSize(1);
+        assertThat(completedDirectoryUpload.failedFileCount()).isEqualTo(1);
+        assertThat(completedDirectoryUpload.transferredFileCount()).isEqualTo(1);
         assertThat(completedDirectoryUpload.failedTransfers().iterator().next().exception()).isEqualTo(exception);
         assertThat(completedDirectoryUpload.failedTransfers().iterator().next().request().source().toString())
             .isEqualTo("test" + directory.getFileSystem().getSeparator() + "2");
     }
 
+    @Test
+    void uploadDirectory_sync_shouldOnlyUploadChangedFilesAndDeleteRemovedObjects() throws Exception {
+        stubListObjects(S3Object.builder().key("1").size(0L).lastModified(Instant.now().plusSeconds(60)).build(),
+                        S3Object.builder().key("3").size(0L).lastModified(Instant.now()).build());
+        when(singleUploadFunction.apply(any(UploadFileRequest.class))).thenReturn(completedUpload());
+        when(deleteObjectFunction.apply(any(DeleteObjectRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(DeleteObjectResponse.builder().build()));
+
+        CompletedDirectoryUpload completedDirectoryUpload =
+            uploadDirectoryHelper.uploadDirectory(UploadDirectoryRequest.builder()
+                                                                        .source(directory)
+                                                                        .bucket("bucket")
+                                                                        .sync(s -> s.deleteRemoved(true))
+                                                                        .build())
+                                 .completionFuture()
+                                 .get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<UploadFileRequest> requestArgumentCaptor = ArgumentCaptor.forClass(UploadFileRequest.class);
+        verify(singleUploadFunction).apply(requestArgumentCaptor.capture());
+        assertThat(requestArgumentCaptor.getValue().putObjectRequest().key()).isEqualTo("2");
+        verify(deleteObjectFunction).apply(DeleteObjectRequest.builder().bucket("bucket").key("3").build());
+        assertThat(completedDirectoryUpload.transferredFileCount()).isEqualTo(1);
+    }
+
+    @Test
+    void uploadDirectory_syncWithKeyChangingTransformer_shouldFailWithoutUploadingOrDeleting() {
+        stubListObjects(S3Object.builder().key("renamed-1").size(0L).lastModified(Instant.now()).build(),
+                        S3Object.builder().key("renamed-2").size(0L).lastModified(Instant.now()).build());
+
+        UploadDirectoryRequest request =
+            UploadDirectoryRequest.builder()
+                                  .source(directory)
+                                  .bucket("bucket")
+                                  .uploadFileRequestTransformer(r -> {
+                                      String key = r.build().putObjectRequest().key();
+                                      r.putObjectRequest(p -> p.bucket("bucket").key("renamed-" + key));
+                                  })
+                                  .sync(s -> s.deleteRemoved(true))
+                                  .build();
+
+        assertThatThrownBy(() -> uploadDirectoryHelper.uploadDirectory(request).completionFuture().join())
+            .hasMessageContaining("changes the bucket or the key").hasCauseInstanceOf(IllegalArgumentException.class);
+        verify(singleUploadFunction, never()).apply(any(UploadFileRequest.class));
+        verify(deleteObjectFunction, never()).apply(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    void uploadDirectory_syncWithTransformerKeepingKeys_shouldSync() throws Exception {
+        stubListObjects(S3Object.builder().key("1").size(0L).lastModified(Instant.now().plusSeconds(60)).build());
+        when(singleUploadFunction.apply(any(UploadFileRequest.class))).thenReturn(completedUpload());
+
+        UploadDirectoryRequest request =
+            UploadDirectoryRequest.builder()
+                                  .source(directory)
+                                  .bucket("bucket")
+                                  .uploadFileRequestTransformer(r -> r.addTransferListener(LoggingTransferListener.create()))
+                                  .sync(s -> s.deleteRemoved(true))
+                                  .build();
+
+        uploadDirectoryHelper.uploadDirectory(request).completionFuture().get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<UploadFileRequest> requestArgumentCaptor = ArgumentCaptor.forClass(UploadFileRequest.class);
+        verify(singleUploadFunction).apply(requestArgumentCaptor.capture());
+        assertThat(requestArgumentCaptor.getValue().putObjectRequest().key()).isEqualTo("2");
+        verify(deleteObjectFunction, never()).apply(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    void uploadDirectory_syncWithChecksum_shouldSkipFilesMatchingTheETagAndWriteManifest() throws Exception {
+        Files.write(jimfs.getPath("test/1"), "a".getBytes(StandardCharsets.UTF_8));
+        Instant lastModified = Instant.now().minusSeconds(60);
+        stubListObjects(S3Object.builder().key("1").size(1L).lastModified(lastModified)
+                                .eTag("\"0cc175b9c0f1b6a831c399e269772661\"").build(),
+                        S3Object.builder().key("2").size(0L).lastModified(lastModified)
+                                .eTag("\"d41d8cd98f00b204e9800998ecf8427e\"").build());
+        Path manifest = jimfs.getPath("manifest");
+
+        uploadDirectoryHelper.uploadDirectory(UploadDirectoryRequest.builder()
+                                                                    .source(directory)
+                                                                    .bucket("bucket")
+                                                                    .sync(s -> s.comparisonMode(SyncComparisonMode.CHECKSUM)
+                                                                                .checksumManifest(manifest))
+                                                                    .build())
+                             .completionFuture()
+                             .get(5, TimeUnit.SECONDS);
+
+        verify(singleUploadFunction, never()).apply(any(UploadFileRequest.class));
+        assertThat(Files.readAllLines(manifest)).hasSize(2)
+                                                .satisfies(l -> assertThat(l.get(0)).startsWith("1\t1\t")
+                                                                                    .endsWith("0cc175b9c0f1b6a831c399e269772661"));
+    }
+
     @Test
     void uploadDirectory_withRequestTransformer_usesRequestTransformer() throws Exception {
         PutObjectResponse putObjectResponse = PutObjectResponse.builder().eTag("1234").build();
@@ -436,6 +549,11 @@ public class UploadDirectoryHelperTest {
         assertThat(keys).containsOnly("2.txt");
     }
 
+    private void stubListObjects(S3Object... s3Objects) {
+        when(listObjectsHelper.listS3ObjectsRecursively(any(ListObjectsV2Request.class)))
+            .thenReturn(SdkPublisher.adapt(Flowable.fromArray(s3Objects)));
+    }
+
     private DefaultFileUpload completedUpload() {
         return new DefaultFileUpload(CompletableFuture.completedFuture(CompletedFileUpload.builder()
                                                                                           .response(PutObjectResponse.builder().build())
@@ -94,6 +94,28 @@ class ResumableFileDownloadSerializerTest {
         assertThat(deserializedDownload).isEqualTo(download);
     }
 
+    @Test
+    void serializeDeserialize_multipartDownload_ShouldPersistCompletedPartsAsBitmap()  {
+        ResumableFileDownload download =
+            ResumableFileDownload.builder()
+                                 .downloadFileRequest(downloadRequest(PATH, GET_OBJECT_REQUESTS.get("STANDARD")))
+                                 .bytesTransferred(3000L)
+                                 .fileLastModified(DATE1)
+                                 .totalSizeInBytes(5000L)
+                                 .s3ObjectLastModified(DATE2)
+                                 .partSizeInBytes(1000L)
+                                 .completedParts(Arrays.asList(1, 2, 5))
+                                 .build();
+
+        byte[] serializedDownload = ResumableFileDownloadSerializer.toJson(download);
+        assertThat(new String(serializedDownload, StandardCharsets.UTF_8)).contains("\"partSizeInBytes\":1000",
+                                                                                    "\"completedParts\":\"Ew==\"");
+
+        ResumableFileDownload deserializedDownload = ResumableFileDownloadSerializer.fromJson(serializedDownload);
+        assertThat(deserializedDownload).isEqualTo(download);
+        assertThat(deserializedDownload.completedParts()).containsExactly(1, 2, 5);
+    }
+
     @Test
     void serializeDeserialize_DoesNotPersistConfiguration()  {
         ResumableFileDownload download =
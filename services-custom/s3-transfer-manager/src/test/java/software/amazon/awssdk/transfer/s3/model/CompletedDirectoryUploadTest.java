@@ -17,6 +17,7 @@ package software.amazon.awssdk.transfer.s3.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Paths;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.transfer.s3.model.CompletedDirectoryUpload;
@@ -35,4 +36,27 @@ class CompletedDirectoryUploadTest {
         assertThat(CompletedDirectoryUpload.builder().build().failedTransfers())
             .isEmpty();
     }
+
+    @Test
+    void failedFileCount_notSet_shouldDefaultToFailedTransfers() {
+        FailedFileUpload failedUpload = FailedFileUpload.builder()
+                                                        .exception(new RuntimeException("boom"))
+                                                        .request(UploadFileRequest.builder()
+                                                                                   .source(Paths.get("test.txt"))
+                                                                                   .putObjectRequest(p -> p.bucket("bucket")
+                                                                                                           .key("key"))
+                                                                                   .build())
+                                                        .build();
+
+        CompletedDirectoryUpload completedUpload = CompletedDirectoryUpload.builder()
+                                                                           .addFailedTransfer(failedUpload)
+                                                                           .transferredFileCount(5L)
+                                                                           .transferredBytes(100L)
+                                                                           .build();
+
+        assertThat(completedUpload.failedFileCount()).isEqualTo(1);
+        assertThat(completedUpload.transferredFileCount()).isEqualTo(5);
+        assertThat(completedUpload.transferredBytes()).isEqualTo(100);
+        assertThat(completedUpload.toBuilder().failedFileCount(3L).build().failedFileCount()).isEqualTo(3);
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.awscore.client.builder.AwsAsyncClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsSyncClientBuilder;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.protocolquery.ProtocolQueryClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonClient;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Verify that the "requestcompression" C2J trait results in the request payload being gzip-compressed.
+ */
+public class RequestCompressionTest {
+    private static final String LARGE_VALUE = largeValue();
+
+    private SdkHttpClient httpClient;
+    private SdkAsyncHttpClient httpAsyncClient;
+
+    private ProtocolRestJsonClient jsonClient;
+    private ProtocolRestJsonAsyncClient jsonAsyncClient;
+    private ProtocolQueryClient queryClient;
+
+    @Before
+    public void setup() throws IOException {
+        httpClient = Mockito.mock(SdkHttpClient.class);
+        httpAsyncClient = Mockito.mock(SdkAsyncHttpClient.class);
+
+        jsonClient = initializeSync(ProtocolRestJsonClient.builder()).build();
+        jsonAsyncClient = initializeAsync(ProtocolRestJsonAsyncClient.builder()).build();
+        queryClient = initializeSync(ProtocolQueryClient.builder()).build();
+
+        SdkHttpFullResponse successfulHttpResponse = SdkHttpResponse.builder()
+                                                                    .statusCode(200)
+                                                                    .putHeader("Content-Length", "0")
+                                                                    .build();
+
+        ExecutableHttpRequest request = Mockito.mock(ExecutableHttpRequest.class);
+        Mockito.when(request.call()).thenReturn(HttpExecuteResponse.builder()
+                                                                   .response(successfulHttpResponse)
+                                                                   .build());
+        Mockito.when(httpClient.prepareRequest(any())).thenReturn(request);
+
+        Mockito.when(httpAsyncClient.execute(any())).thenAnswer(invocation -> {
+            AsyncExecuteRequest asyncExecuteRequest = invocation.getArgument(0, AsyncExecuteRequest.class);
+            asyncExecuteRequest.responseHandler().onHeaders(successfulHttpResponse);
+            asyncExecuteRequest.responseHandler().onStream(Flowable.empty());
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private <T extends AwsSyncClientBuilder<T, ?> & AwsClientBuilder<T, ?>> T initializeSync(T syncClientBuilder) {
+        return initialize(syncClientBuilder.httpClient(httpClient));
+    }
+
+    private <T extends AwsAsyncClientBuilder<T, ?> & AwsClientBuilder<T, ?>> T initializeAsync(T asyncClientBuilder) {
+        return initialize(asyncClientBuilder.httpClient(httpAsyncClient));
+    }
+
+    private <T extends AwsClientBuilder<T, ?>> T initialize(T clientBuilder) {
+        return clientBuilder.credentialsProvider(AnonymousCredentialsProvider.create())
+                            .region(Region.US_WEST_2);
+    }
+
+    @Test
+    public void syncJson_largePayload_isCompressed() throws IOException {
+        jsonClient.putOperationWithRequestCompression(r -> r.stringMember(LARGE_VALUE));
+
+        HttpExecuteRequest request = getSyncRequest();
+        byte[] body = IoUtils.toByteArray(request.contentStreamProvider().get().newStream());
+        assertThat(request.httpRequest().firstMatchingHeader("Content-Encoding")).hasValue("gzip");
+        assertThat(request.httpRequest().firstMatchingHeader("Content-Length")).hasValue(Integer.toString(body.length));
+        assertThat(decompress(body)).contains(LARGE_VALUE);
+    }
+
+    @Test
+    public void syncJson_smallPayload_isNotCompressed() throws IOException {
+        jsonClient.putOperationWithRequestCompression(r -> r.stringMember("foo"));
+
+        HttpExecuteRequest request = getSyncRequest();
+        assertThat(request.httpRequest().firstMatchingHeader("Content-Encoding")).isNotPresent();
+        assertThat(IoUtils.toUtf8String(request.contentStreamProvider().get().newStream())).contains("foo");
+    }
+
+    @Test
+    public void syncJson_compressionDisabled_isNotCompressed() throws IOException {
+        ProtocolRestJsonClient client =
+            initializeSync(ProtocolRestJsonClient.builder())
+                .overrideConfiguration(o -> o.compressionConfiguration(c -> c.requestCompressionEnabled(false)))
+                .build();
+
+        client.putOperationWithRequestCompression(r -> r.stringMember(LARGE_VALUE));
+
+        HttpExecuteRequest request = getSyncRequest();
+        assertThat(request.httpRequest().firstMatchingHeader("Content-Encoding")).isNotPresent();
+        assertThat(IoUtils.toUtf8String(request.contentStreamProvider().get().newStream())).contains(LARGE_VALUE);
+    }
+
+    @Test
+    public void syncJson_operationWithoutTrait_isNotCompressed() {
+        jsonClient.allTypes(r -> r.stringMember(LARGE_VALUE));
+
+        assertThat(getSyncRequest().httpRequest().firstMatchingHeader("Content-Encoding")).isNotPresent();
+    }
+
+    @Test
+    public void syncJsonStreaming_payloadIsCompressedWithoutContentLength() throws IOException {
+        jsonClient.putOperationWithStreamingRequestCompression(r -> {}, RequestBody.fromString("foo"));
+
+        HttpExecuteRequest request = getSyncRequest();
+        assertThat(request.httpRequest().firstMatchingHeader("Content-Encoding")).hasValue("gzip");
+        assertThat(request.httpRequest().firstMatchingHeader("Content-Length")).isNotPresent();
+        assertThat(decompress(IoUtils.toByteArray(request.contentStreamProvider().get().newStream()))).isEqualTo("foo");
+    }
+
+    @Test
+    public void syncQuery_largePayload_isCompressed() throws IOException {
+        queryClient.putOperationWithRequestCompression(r -> r.stringMember(LARGE_VALUE));
+
+        HttpExecuteRequest request = getSyncRequest();
+        assertThat(request.httpRequest().firstMatchingHeader("Content-Encoding")).hasValue("gzip");
+        assertThat(decompress(IoUtils.toByteArray(request.contentStreamProvider().get().newStream())))
+            .contains("PutOperationWithRequestCompression")
+            .contains(LARGE_VALUE.replace(" ", "+"));
+    }
+
+    @Test
+    public void asyncJson_largePayload_isCompressed() throws IOException {
+        jsonAsyncClient.putOperationWithRequestCompression(r -> r.stringMember(LARGE_VALUE)).join();
+
+        AsyncExecuteRequest request = getAsyncRequest();
+        byte[] body = readAll(request);
+        assertThat(request.request().firstMatchingHeader("Content-Encoding")).hasValue("gzip");
+        assertThat(request.request().firstMatchingHeader("Content-Length")).hasValue(Integer.toString(body.length));
+        assertThat(decompress(body)).contains(LARGE_VALUE);
+    }
+
+    @Test
+    public void asyncJsonStreaming_payloadIsCompressed() throws IOException {
+        jsonAsyncClient.putOperationWithStreamingRequestCompression(r -> {}, AsyncRequestBody.fromString(LARGE_VALUE)).join();
+
+        AsyncExecuteRequest request = getAsyncRequest();
+        SdkHttpRequest httpRequest = request.request();
+        assertThat(httpRequest.firstMatchingHeader("Content-Encoding")).hasValue("gzip");
+        assertThat(httpRequest.firstMatchingHeader("Content-Length")).isNotPresent();
+        assertThat(decompress(readAll(request))).isEqualTo(LARGE_VALUE);
+    }
+
+    private HttpExecuteRequest getSyncRequest() {
+        ArgumentCaptor<HttpExecuteRequest> captor = ArgumentCaptor.forClass(HttpExecuteRequest.class);
+        Mockito.verify(httpClient).prepareRequest(captor.capture());
+        return captor.getValue();
+    }
+
+    private AsyncExecuteRequest getAsyncRequest() {
+        ArgumentCaptor<AsyncExecuteRequest> captor = ArgumentCaptor.forClass(AsyncExecuteRequest.class);
+        Mockito.verify(httpAsyncClient).execute(captor.capture());
+        return captor.getValue();
+    }
+
+    private static byte[] readAll(AsyncExecuteRequest request) {
+        return Flowable.fromPublisher(request.requestContentPublisher())
+                       .map(BinaryUtils::copyBytesFrom)
+                       .reduce(new byte[0], RequestCompressionTest::concat)
+                       .blockingGet();
+    }
+
+    private static String decompress(byte[] compressed) throws IOException {
+        try (InputStream decompressed = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return IoUtils.toUtf8String(decompressed);
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static String largeValue() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            value.append("compressible ");
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonClient;
+import software.amazon.awssdk.services.protocolrestjson.model.StreamingOutputOperationResponse;
+
+/**
+ * Functional tests for {@link SdkAdvancedClientOption#ENABLE_RESPONSE_COMPRESSION}.
+ */
+public class ResponseCompressionTest {
+    private static final String JSON = "{\"StringMember\":\"" + repeat("compressible", 100) + "\"}";
+
+    @Rule
+    public WireMockRule wireMock = new WireMockRule(0);
+
+    private MetricPublisher publisher;
+    private ProtocolRestJsonClient client;
+    private ProtocolRestJsonAsyncClient asyncClient;
+
+    @Before
+    public void setup() {
+        publisher = mock(MetricPublisher.class);
+        client = ProtocolRestJsonClient.builder()
+                                       .region(Region.US_WEST_2)
+                                       .credentialsProvider(credentials())
+                                       .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                       .overrideConfiguration(c -> c.addMetricPublisher(publisher)
+                                                                    .putAdvancedOption(
+                                                                        SdkAdvancedClientOption.ENABLE_RESPONSE_COMPRESSION,
+                                                                        true))
+                                       .build();
+        asyncClient = ProtocolRestJsonAsyncClient.builder()
+                                                 .region(Region.US_WEST_2)
+                                                 .credentialsProvider(credentials())
+                                                 .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                                 .overrideConfiguration(c -> c.addMetricPublisher(publisher)
+                                                                              .putAdvancedOption(
+                                                                                  SdkAdvancedClientOption
+                                                                                      .ENABLE_RESPONSE_COMPRESSION,
+                                                                                  true))
+                                                 .build();
+    }
+
+    @After
+    public void teardown() {
+        client.close();
+        asyncClient.close();
+    }
+
+    @Test
+    public void sync_gzipResponse_isDecompressed() throws IOException {
+        byte[] compressed = stubGzipResponse();
+
+        assertThat(client.allTypes().stringMember()).startsWith("compressible");
+
+        verify(postRequestedFor(anyUrl()).withHeader("Accept-Encoding", equalTo("gzip")));
+        assertCompressionMetrics(compressed);
+    }
+
+    @Test
+    public void async_gzipResponse_isDecompressed() throws IOException {
+        byte[] compressed = stubGzipResponse();
+
+        assertThat(asyncClient.allTypes().join().stringMember()).startsWith("compressible");
+
+        verify(postRequestedFor(anyUrl()).withHeader("Accept-Encoding", equalTo("gzip")));
+        assertCompressionMetrics(compressed);
+    }
+
+    @Test
+    public void serverCompressesAcceptedResponses_responseIsDecompressed() {
+        // WireMock gzips response bodies when the request accepts gzip
+        stubFor(post(anyUrl()).willReturn(aResponse().withStatus(200).withBody(JSON)));
+
+        assertThat(client.allTypes().stringMember()).startsWith("compressible");
+
+        MetricCollection attempt = attemptMetrics();
+        assertThat(attempt.metricValues(CoreMetric.RESPONSE_DECODED_BYTES))
+            .containsExactly((long) JSON.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(attempt.metricValues(CoreMetric.RESPONSE_WIRE_BYTES).get(0))
+            .isLessThan(JSON.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void compressionNotEnabled_responseIsNotRequestedCompressed() {
+        stubFor(post(anyUrl()).willReturn(aResponse().withStatus(200).withBody(JSON)));
+
+        try (ProtocolRestJsonClient defaultClient =
+                 ProtocolRestJsonClient.builder()
+                                       .region(Region.US_WEST_2)
+                                       .credentialsProvider(credentials())
+                                       .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                       .overrideConfiguration(c -> c.addMetricPublisher(publisher))
+                                       .build()) {
+            assertThat(defaultClient.allTypes().stringMember()).startsWith("compressible");
+        }
+
+        verify(postRequestedFor(anyUrl()).withHeader("Accept-Encoding", absent()));
+        assertThat(attemptMetrics().metricValues(CoreMetric.RESPONSE_WIRE_BYTES)).isEmpty();
+    }
+
+    @Test
+    public void sync_streamingOperation_isNotRequestedCompressed() throws IOException {
+        byte[] compressed = stubGzipResponse();
+
+        ResponseBytes<StreamingOutputOperationResponse> response =
+            client.streamingOutputOperation(r -> { }, ResponseTransformer.toBytes());
+
+        assertThat(response.asByteArray()).isEqualTo(compressed);
+        verify(postRequestedFor(anyUrl()).withHeader("Accept-Encoding", absent()));
+    }
+
+    @Test
+    public void async_streamingOperation_isNotRequestedCompressed() throws IOException {
+        byte[] compressed = stubGzipResponse();
+
+        ResponseBytes<StreamingOutputOperationResponse> response =
+            asyncClient.streamingOutputOperation(r -> { }, AsyncResponseTransformer.toBytes()).join();
+
+        assertThat(response.asByteArray()).isEqualTo(compressed);
+        verify(postRequestedFor(anyUrl()).withHeader("Accept-Encoding", absent()));
+    }
+
+    private void assertCompressionMetrics(byte[] compressed) {
+        MetricCollection attempt = attemptMetrics();
+        assertThat(attempt.metricValues(CoreMetric.RESPONSE_WIRE_BYTES)).containsExactly((long) compressed.length);
+        assertThat(attempt.metricValues(CoreMetric.RESPONSE_DECODED_BYTES))
+            .containsExactly((long) JSON.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private MetricCollection attemptMetrics() {
+        ArgumentCaptor<MetricCollection> collectionCaptor = ArgumentCaptor.forClass(MetricCollection.class);
+        Mockito.verify(publisher).publish(collectionCaptor.capture());
+        return collectionCaptor.getValue().children().get(0);
+    }
+
+    private static byte[] stubGzipResponse() throws IOException {
+        byte[] compressed = gzip(JSON);
+        stubFor(post(anyUrl()).willReturn(aResponse().withStatus(200)
+                                                     .withHeader("Content-Encoding", "gzip")
+                                                     .withBody(compressed)));
+        return compressed;
+    }
+
+    private static byte[] gzip(String data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String repeat(String s, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+
+    private static StaticCredentialsProvider credentials() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create("akid", "skid"));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.metrics.async;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.AdaptiveConcurrencyConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+
+/**
+ * Functional tests for {@link SdkAdvancedClientOption#ADAPTIVE_CONCURRENCY_LIMIT}.
+ */
+public class AsyncAdaptiveConcurrencyLimitTest {
+    @Rule
+    public WireMockRule wireMock = new WireMockRule(0);
+
+    private MetricPublisher publisher;
+    private ProtocolRestJsonAsyncClient client;
+
+    @Before
+    public void setup() {
+        publisher = mock(MetricPublisher.class);
+        AdaptiveConcurrencyConfiguration concurrency = AdaptiveConcurrencyConfiguration.builder()
+                                                                                       .initialLimit(2)
+                                                                                       .build();
+        client = ProtocolRestJsonAsyncClient.builder()
+                                            .region(Region.US_WEST_2)
+                                            .credentialsProvider(StaticCredentialsProvider.create(
+                                                AwsBasicCredentials.create("akid", "skid")))
+                                            .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                            .overrideConfiguration(c -> c.addMetricPublisher(publisher)
+                                                                         .putAdvancedOption(
+                                                                             SdkAdvancedClientOption.ADAPTIVE_CONCURRENCY_LIMIT,
+                                                                             concurrency))
+                                            .build();
+    }
+
+    @After
+    public void teardown() {
+        client.close();
+    }
+
+    @Test
+    public void concurrentCalls_aboveLimit_allSucceedAndReportLimit() {
+        stubFor(post(anyUrl()).willReturn(aResponse().withStatus(200).withFixedDelay(50).withBody("{}")));
+
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            calls.add(client.allTypes());
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+
+        verify(10, postRequestedFor(anyUrl()));
+
+        ArgumentCaptor<MetricCollection> collectionCaptor = ArgumentCaptor.forClass(MetricCollection.class);
+        Mockito.verify(publisher, times(10)).publish(collectionCaptor.capture());
+        for (MetricCollection apiCall : collectionCaptor.getAllValues()) {
+            MetricCollection attempt = apiCall.children().get(0);
+            assertThat(attempt.metricValues(CoreMetric.CONCURRENCY_LIMIT)).hasSize(1);
+            assertThat(attempt.metricValues(CoreMetric.CONCURRENCY_LIMIT).get(0)).isGreaterThanOrEqualTo(1);
+            assertThat(attempt.metricValues(CoreMetric.CONCURRENCY_LIMIT_QUEUE_DEPTH)).hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.metrics.async;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.URI;
+import java.time.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.HedgingConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+import software.amazon.awssdk.services.protocolrestjson.model.AllTypesResponse;
+
+/**
+ * Functional tests for {@link SdkAdvancedClientOption#HEDGING}.
+ */
+public class AsyncHedgingTest {
+    private static final String SCENARIO = "hedging";
+
+    @Rule
+    public WireMockRule wireMock = new WireMockRule(0);
+
+    private MetricPublisher publisher;
+    private ProtocolRestJsonAsyncClient client;
+
+    @Before
+    public void setup() {
+        publisher = mock(MetricPublisher.class);
+        HedgingConfiguration hedging = HedgingConfiguration.builder()
+                                                           .operations("AllTypes")
+                                                           .delay(Duration.ofMillis(200))
+                                                           .build();
+        client = ProtocolRestJsonAsyncClient.builder()
+                                            .region(Region.US_WEST_2)
+                                            .credentialsProvider(StaticCredentialsProvider.create(
+                                                AwsBasicCredentials.create("akid", "skid")))
+                                            .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                            .overrideConfiguration(c -> c.addMetricPublisher(publisher)
+                                                                         .putAdvancedOption(SdkAdvancedClientOption.HEDGING,
+                                                                                            hedging))
+                                            .build();
+    }
+
+    @After
+    public void teardown() {
+        client.close();
+    }
+
+    @Test
+    public void slowResponse_hedgeIsSentAndWins() {
+        stubFor(post(anyUrl()).inScenario(SCENARIO)
+                              .whenScenarioStateIs(STARTED)
+                              .willSetStateTo("hedged")
+                              .willReturn(aResponse().withStatus(200)
+                                                     .withFixedDelay(2_000)
+                                                     .withBody("{\"StringMember\":\"slow\"}")));
+        stubFor(post(anyUrl()).inScenario(SCENARIO)
+                              .whenScenarioStateIs("hedged")
+                              .willReturn(aResponse().withStatus(200).withBody("{\"StringMember\":\"fast\"}")));
+
+        long start = System.nanoTime();
+        AllTypesResponse response = client.allTypes().join();
+
+        assertThat(response.stringMember()).isEqualTo("fast");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        verify(2, postRequestedFor(anyUrl()));
+
+        MetricCollection apiCall = publishedMetrics();
+        assertThat(apiCall.metricValues(CoreMetric.API_CALL_SUCCESSFUL)).containsExactly(true);
+        assertThat(apiCall.metricValues(CoreMetric.HEDGE_ISSUED)).containsExactly(true);
+        assertThat(apiCall.metricValues(CoreMetric.HEDGE_WON)).containsExactly(true);
+        assertThat(apiCall.children()).hasSize(2);
+    }
+
+    @Test
+    public void fastResponse_noHedgeIsSent() {
+        stubFor(post(anyUrl()).willReturn(aResponse().withStatus(200).withBody("{\"StringMember\":\"fast\"}")));
+
+        AllTypesResponse response = client.allTypes().join();
+
+        assertThat(response.stringMember()).isEqualTo("fast");
+        verify(1, postRequestedFor(anyUrl()));
+
+        MetricCollection apiCall = publishedMetrics();
+        assertThat(apiCall.metricValues(CoreMetric.HEDGE_ISSUED)).containsExactly(false);
+        assertThat(apiCall.metricValues(CoreMetric.HEDGE_WON)).isEmpty();
+        assertThat(apiCall.children()).hasSize(1);
+    }
+
+    @Test
+    public void operationNotHedged_noHedgeMetricsReported() {
+        stubFor(any(anyUrl()).willReturn(aResponse().withStatus(200).withBody("{}")));
+
+        client.deleteOperation().join();
+
+        MetricCollection apiCall = publishedMetrics();
+        assertThat(apiCall.metricValues(CoreMetric.HEDGE_ISSUED)).isEmpty();
+    }
+
+    private MetricCollection publishedMetrics() {
+        ArgumentCaptor<MetricCollection> collectionCaptor = ArgumentCaptor.forClass(MetricCollection.class);
+        Mockito.verify(publisher).publish(collectionCaptor.capture());
+        return collectionCaptor.getValue();
+    }
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.codegen.model.intermediate.IntermediateModel;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.protocol.model.TestCase;
 import software.amazon.awssdk.protocol.reflect.ClientReflector;
 import software.amazon.awssdk.protocol.wiremock.WireMockUtils;
@@ -42,9 +43,13 @@ public final class ProtocolTestRunner {
     private final UnmarshallingTestRunner unmarshallingTestRunner;
 
     public ProtocolTestRunner(String intermediateModelLocation) {
+        this(intermediateModelLocation, ClientOverrideConfiguration.builder().build());
+    }
+
+    public ProtocolTestRunner(String intermediateModelLocation, ClientOverrideConfiguration overrideConfiguration) {
         WireMockUtils.startWireMockServer();
         IntermediateModel model = loadModel(intermediateModelLocation);
-        this.clientReflector = new ClientReflector(model);
+        this.clientReflector = new ClientReflector(model, overrideConfiguration);
         this.marshallingTestRunner = new MarshallingTestRunner(model, clientReflector);
         this.unmarshallingTestRunner = new UnmarshallingTestRunner(model, clientReflector);
     }
@@ -61,14 +61,26 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
         logger.info(() -> "Benchmark config: " + config);
         Long partSizeInMb = config.partSizeInMb() == null ? null : config.partSizeInMb() * MB;
         Long readBufferSizeInMb = config.readBufferSizeInMb() == null ? null : config.readBufferSizeInMb() * MB;
-        s3 = S3CrtAsyncClient.builder()
-                             .targetThroughputInGbps(config.targetThroughput())
-                             .minimumPartSizeInBytes(partSizeInMb)
-                             .initialReadBufferSizeInBytes(readBufferSizeInMb)
-                             .targetThroughputInGbps(config.targetThroughput() == null ?
-                                                     Double.valueOf(100.0) : config.targetThroughput())
-                             .build();
+        boolean forcePathStyle = config.endpoint() != null;
+        if (config.client() == BenchmarkRunner.S3ClientType.JAVA) {
+            s3 = S3AsyncClient.builder()
+                              .endpointOverride(config.endpoint())
+                              .forcePathStyle(forcePathStyle)
+                              .build();
+        } else {
+            s3 = S3CrtAsyncClient.builder()
+                                 .targetThroughputInGbps(config.targetThroughput())
+                                 .minimumPartSizeInBytes(partSizeInMb)
+                                 .initialReadBufferSizeInBytes(readBufferSizeInMb)
+                                 .targetThroughputInGbps(config.targetThroughput() == null ?
+                                                         Double.valueOf(100.0) : config.targetThroughput())
+                                 .endpointOverride(config.endpoint())
+                                 .forcePathStyle(forcePathStyle)
+                                 .build();
+        }
         s3Sync = S3Client.builder()
+                         .endpointOverride(config.endpoint())
+                         .forcePathStyle(forcePathStyle)
                          .build();
         transferManager = S3TransferManager.builder()
                                            .s3Client(s3)
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.s3benchmarks;
 
+import java.net.URI;
 import java.time.Duration;
 import java.util.EnumMap;
 import java.util.Locale;
@@ -45,6 +46,9 @@ public final class BenchmarkRunner {
 
     private static final String TIMEOUT = "timeoutInMin";
 
+    private static final String CLIENT = "client";
+    private static final String ENDPOINT = "endpoint";
+
     private static final Map<TransferManagerOperation, Function<TransferManagerBenchmarkConfig, TransferManagerBenchmark>>
         OPERATION_TO_BENCHMARK_V1 = new EnumMap<>(TransferManagerOperation.class);
     private static final Map<TransferManagerOperation, Function<TransferManagerBenchmarkConfig, TransferManagerBenchmark>>
@@ -94,6 +98,11 @@ public final class BenchmarkRunner {
         options.addOption(null, TIMEOUT, true, "Amount of minute to wait before a single operation "
                                                + "times out and is cancelled. Optional, defaults to 10 minutes if no specified");
 
+        options.addOption(null, CLIENT, true, "The S3 client used by the v2 transfer manager: crt | java, default: crt. "
+                                              + "With the java client, the transfer manager uploads objects in parts itself");
+        options.addOption(null, ENDPOINT, true, "The endpoint to send requests to, e.g. a local S3-compatible server. "
+                                                + "Optional, defaults to the S3 endpoint of the region");
+
         CommandLine cmd = parser.parse(options, args);
         TransferManagerBenchmarkConfig config = parseConfig(cmd);
 
@@ -158,6 +167,10 @@ public final class BenchmarkRunner {
         Duration timeout = cmd.getOptionValue(TIMEOUT) == null ? null :
                            Duration.ofMinutes(Long.parseLong(cmd.getOptionValue(TIMEOUT)));
 
+        S3ClientType client = S3ClientType.valueOf(cmd.getOptionValue(CLIENT, "CRT").toUpperCase(Locale.ENGLISH));
+
+        URI endpoint = cmd.getOptionValue(ENDPOINT) == null ? null : URI.create(cmd.getOptionValue(ENDPOINT));
+
         return TransferManagerBenchmarkConfig.builder()
                                              .key(key)
                                              .bucket(bucket)
@@ -171,6 +184,8 @@ public final class BenchmarkRunner {
                                              .prefix(prefix)
                                              .contentLengthInMb(contentLengthInMb)
                                              .timeout(timeout)
+                                             .client(client)
+                                             .endpoint(endpoint)
                                              .build();
     }
 
@@ -182,6 +197,11 @@ public final class BenchmarkRunner {
         UPLOAD_DIRECTORY
     }
 
+    public enum S3ClientType {
+        CRT,
+        JAVA
+    }
+
     private enum SdkVersion {
         V1,
         V2,
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.s3benchmarks;
 
+import java.net.URI;
 import java.time.Duration;
 import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
 
@@ -32,6 +33,8 @@ public final class TransferManagerBenchmarkConfig {
     private final Long readBufferSizeInMb;
     private final BenchmarkRunner.TransferManagerOperation operation;
     private String prefix;
+    private final BenchmarkRunner.S3ClientType client;
+    private final URI endpoint;
 
     private TransferManagerBenchmarkConfig(Builder builder) {
         this.filePath = builder.filePath;
@@ -46,6 +49,8 @@ public final class TransferManagerBenchmarkConfig {
         this.prefix = builder.prefix;
         this.contentLengthInMb = builder.contentLengthInMb;
         this.timeout = builder.timeout;
+        this.client = builder.client;
+        this.endpoint = builder.endpoint;
     }
 
     public String filePath() {
@@ -96,6 +101,14 @@ public final class TransferManagerBenchmarkConfig {
         return this.timeout;
     }
 
+    public BenchmarkRunner.S3ClientType client() {
+        return client;
+    }
+
+    public URI endpoint() {
+        return endpoint;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -114,6 +127,8 @@ public final class TransferManagerBenchmarkConfig {
                ", operation: " + operation +
                ", contentLengthInMb: " + contentLengthInMb +
                ", timeout:" + timeout +
+               ", client: " + client +
+               ", endpoint: " + endpoint +
                '}';
     }
 
@@ -132,6 +147,8 @@ public final class TransferManagerBenchmarkConfig {
         private String prefix;
 
         private Duration timeout;
+        private BenchmarkRunner.S3ClientType client;
+        private URI endpoint;
 
         public Builder filePath(String filePath) {
             this.filePath = filePath;
@@ -193,6 +210,16 @@ public final class TransferManagerBenchmarkConfig {
             return this;
         }
 
+        public Builder client(BenchmarkRunner.S3ClientType client) {
+            this.client = client;
+            return this;
+        }
+
+        public Builder endpoint(URI endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
         public TransferManagerBenchmarkConfig build() {
             return new TransferManagerBenchmarkConfig(this);
         }
@@ -34,11 +34,13 @@ import software.amazon.awssdk.utils.Validate;
 public class TransferManagerDownloadBenchmark extends BaseTransferManagerBenchmark {
     private static final Logger logger = Logger.loggerFor("TransferManagerDownloadBenchmark");
     private final long contentLength;
+    private final BenchmarkRunner.S3ClientType client;
 
     public TransferManagerDownloadBenchmark(TransferManagerBenchmarkConfig config) {
         super(config);
         Validate.notNull(config.key(), "Key must not be null");
         this.contentLength = s3Sync.headObject(b -> b.bucket(bucket).key(key)).contentLength();
+        this.client = config.client();
     }
 
     @Override
@@ -67,7 +69,7 @@ public class TransferManagerDownloadBenchmark extends BaseTransferManagerBenchma
         }
 
         if (printoutResult) {
-            printOutResult(metrics, "TM v2 Download to Memory", contentLength);
+            printOutResult(metrics, "TM v2 Download to Memory (" + clientName() + ")", contentLength);
         }
     }
 
@@ -78,10 +80,14 @@ public class TransferManagerDownloadBenchmark extends BaseTransferManagerBenchma
             downloadOnceToFile(metrics);
         }
         if (printoutResult) {
-            printOutResult(metrics, "TM v2 Download to File", contentLength);
+            printOutResult(metrics, "TM v2 Download to File (" + clientName() + ")", contentLength);
         }
     }
 
+    private String clientName() {
+        return client == BenchmarkRunner.S3ClientType.JAVA ? "Java client" : "CRT client";
+    }
+
     private void downloadOnceToFile(List<Double> latencies) throws Exception {
         Path downloadPath = new File(this.path).toPath();
         long start = System.currentTimeMillis();
@@ -79,10 +79,11 @@ public class TransferManagerUploadBenchmark extends BaseTransferManagerBenchmark
             }
         }
         if (printOutResult) {
+            String client = config.client() == BenchmarkRunner.S3ClientType.JAVA ? "Java client" : "CRT client";
             if (config.contentLengthInMb() == null) {
-                printOutResult(metrics, "Upload from File", Files.size(Paths.get(path)));
+                printOutResult(metrics, "Upload from File (" + client + ")", Files.size(Paths.get(path)));
             } else {
-                printOutResult(metrics, "Upload from Memory", config.contentLengthInMb() * MB);
+                printOutResult(metrics, "Upload from Memory (" + client + ")", config.contentLengthInMb() * MB);
             }
         }
     }
@@ -114,8 +115,9 @@ public class TransferManagerUploadBenchmark extends BaseTransferManagerBenchmark
         Thread uploadThread = Executors.defaultThreadFactory().newThread(() -> {
             long remaining = config.contentLengthInMb() * MB;
             while (remaining > 0) {
-                publisher.send(ByteBuffer.wrap(bytes));
-                remaining -= partSizeInBytes;
+                int length = (int) Math.min(remaining, partSizeInBytes);
+                publisher.send(ByteBuffer.wrap(bytes, 0, length));
+                remaining -= length;
             }
             publisher.complete();
         });
@@ -49,16 +49,18 @@ public class TransferManagerUploadDirectoryBenchmark extends BaseTransferManager
 
     private void uploadDirectory(int count, boolean printoutResult) throws Exception {
         List<Double> metrics = new ArrayList<>();
+        List<Double> filesPerSecond = new ArrayList<>();
         logger.info(() -> "Starting to upload directory");
         for (int i = 0; i < count; i++) {
-            uploadOnce(metrics);
+            uploadOnce(metrics, filesPerSecond);
         }
         if (printoutResult) {
             printOutResult(metrics, "TM v2 Upload Directory");
+            logger.info(() -> "Files per second: " + filesPerSecond);
         }
     }
 
-    private void uploadOnce(List<Double> latencies) throws Exception {
+    private void uploadOnce(List<Double> latencies, List<Double> filesPerSecond) throws Exception {
         Path uploadPath = new File(this.path).toPath();
         long start = System.currentTimeMillis();
         DirectoryUpload upload =
@@ -66,11 +68,16 @@ public class TransferManagerUploadDirectoryBenchmark extends BaseTransferManager
                                                   .s3Prefix(config.prefix())
                                                   .source(uploadPath));
         CompletedDirectoryUpload completedDirectoryUpload = upload.completionFuture().get(timeout.getSeconds(), TimeUnit.SECONDS);
-        if (completedDirectoryUpload.failedTransfers().isEmpty()) {
+        if (completedDirectoryUpload.failedFileCount() == 0) {
             long end = System.currentTimeMillis();
-            latencies.add((end - start) / 1000.0);
+            double latency = (end - start) / 1000.0;
+            latencies.add(latency);
+            filesPerSecond.add(completedDirectoryUpload.transferredFileCount() / latency);
+            logger.info(() -> String.format("Uploaded %d files (%d bytes)", completedDirectoryUpload.transferredFileCount(),
+                                            completedDirectoryUpload.transferredBytes()));
         } else {
-            logger.error(() -> "Some transfers failed: " + completedDirectoryUpload.failedTransfers());
+            logger.error(() -> completedDirectoryUpload.failedFileCount() + " transfers failed, including: "
+                               + completedDirectoryUpload.failedTransfers());
         }
     }
 
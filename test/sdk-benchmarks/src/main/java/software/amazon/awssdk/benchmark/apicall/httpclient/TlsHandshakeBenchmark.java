@@ -0,0 +1,145 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.benchmark.apicall.httpclient;
+
+import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.trustAllTlsAttributeMapBuilder;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.benchmark.utils.MockServer;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonClient;
+
+/**
+ * Measures the cost of opening a new TLS connection for every request, with a full or a resumed TLS handshake.
+ *
+ * <p>Every request asks the server to close the connection, so each one pays for a TCP connect and a TLS handshake. For
+ * {@code RESUMED}, all requests go to the same server so the handshake can resume the session cached by the previous
+ * one. For {@code FULL}, the clients cache a single session and the requests alternate between two servers, so the cached
+ * session never belongs to the server being connected to.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 15, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(2) // To reduce difference between each run
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TlsHandshakeBenchmark {
+
+    private MockServer[] mockServers;
+    private SdkHttpClient apacheClient;
+    private SdkAsyncHttpClient nettyClient;
+    private ProtocolRestJsonClient[] syncClients;
+    private ProtocolRestJsonAsyncClient[] asyncClients;
+    private int next;
+
+    @Param({"FULL", "RESUMED"})
+    private String handshake;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        boolean resumed = "RESUMED".equals(handshake);
+        int tlsSessionCacheSize = resumed ? 10 : 1;
+
+        ApacheHttpClient.Builder apacheBuilder = ApacheHttpClient.builder().tlsSessionCacheSize(tlsSessionCacheSize);
+        NettyNioAsyncHttpClient.Builder nettyBuilder = NettyNioAsyncHttpClient.builder().tlsSessionCacheSize(tlsSessionCacheSize);
+        ClientOverrideConfiguration overrideConfiguration = ClientOverrideConfiguration.builder()
+                                                                                       .putHeader("Connection", "close")
+                                                                                       .build();
+
+        // Both clients of a kind share one http client, and so one TLS session cache
+        mockServers = new MockServer[resumed ? 1 : 2];
+        syncClients = new ProtocolRestJsonClient[mockServers.length];
+        asyncClients = new ProtocolRestJsonAsyncClient[mockServers.length];
+        apacheClient = apacheBuilder.buildWithDefaults(trustAllTlsAttributeMapBuilder().build());
+        nettyClient = nettyBuilder.buildWithDefaults(trustAllTlsAttributeMapBuilder().build());
+
+        for (int i = 0; i < mockServers.length; i++) {
+            mockServers[i] = new MockServer();
+            mockServers[i].start();
+            syncClients[i] = ProtocolRestJsonClient.builder()
+                                                   .endpointOverride(mockServers[i].getHttpsUri())
+                                                   .httpClient(apacheClient)
+                                                   .overrideConfiguration(overrideConfiguration)
+                                                   .build();
+            asyncClients[i] = ProtocolRestJsonAsyncClient.builder()
+                                                         .endpointOverride(mockServers[i].getHttpsUri())
+                                                         .httpClient(nettyClient)
+                                                         .overrideConfiguration(overrideConfiguration)
+                                                         .build();
+        }
+
+        // Making sure the requests actually succeed
+        syncClients[0].allTypes();
+        asyncClients[0].allTypes().join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        for (int i = 0; i < mockServers.length; i++) {
+            syncClients[i].close();
+            asyncClients[i].close();
+            mockServers[i].stop();
+        }
+        apacheClient.close();
+        nettyClient.close();
+    }
+
+    @Benchmark
+    public void apacheNewConnection(Blackhole blackhole) {
+        blackhole.consume(syncClients[nextServer()].allTypes());
+    }
+
+    @Benchmark
+    public void nettyNewConnection(Blackhole blackhole) {
+        blackhole.consume(asyncClients[nextServer()].allTypes().join());
+    }
+
+    private int nextServer() {
+        int server = next;
+        next = (next + 1) % mockServers.length;
+        return server;
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(TlsHandshakeBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.benchmark.apicall.httpclient.async;
+
+import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.trustAllTlsAttributeMapBuilder;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.PROTOCOL;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.benchmark.utils.MockH2Server;
+import software.amazon.awssdk.benchmark.utils.MockServer;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+
+/**
+ * Compares HTTP/1.1 connection pooling with HTTP/2 multiplexing for request/response calls against local servers.
+ *
+ * <p>The HTTP/2 modes limit each connection to a small number of streams, so that the concurrent calls are spread over
+ * several connections. {@code HTTP2} only opens a new connection when every connection is full, while {@code HTTP2_AHEAD}
+ * opens one ahead of demand once the streams of every connection are 80% in use.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 15, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(2) // To reduce difference between each run
+@BenchmarkMode(Mode.Throughput)
+public class NettyHttp2MultiplexingBenchmark extends BaseNettyBenchmark {
+
+    private static final long MAX_STREAMS_PER_CONNECTION = 10;
+
+    private MockServer mockServer;
+    private MockH2Server mockH2Server;
+    private SdkAsyncHttpClient sdkHttpClient;
+
+    @Param({"HTTP1_1", "HTTP2", "HTTP2_AHEAD"})
+    private String mode;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if ("HTTP1_1".equals(mode)) {
+            mockServer = new MockServer();
+            mockServer.start();
+            sdkHttpClient = NettyNioAsyncHttpClient.builder()
+                                                   .buildWithDefaults(trustAllTlsAttributeMapBuilder().build());
+            client = ProtocolRestJsonAsyncClient.builder()
+                                                .endpointOverride(mockServer.getHttpsUri())
+                                                .httpClient(sdkHttpClient)
+                                                .build();
+        } else {
+            mockH2Server = new MockH2Server(false);
+            mockH2Server.start();
+            Double streamUtilizationThreshold = "HTTP2_AHEAD".equals(mode) ? 0.8 : null;
+            sdkHttpClient = NettyNioAsyncHttpClient.builder()
+                                                   .http2Configuration(c -> c.maxStreams(MAX_STREAMS_PER_CONNECTION)
+                                                                             .streamUtilizationThreshold(
+                                                                                 streamUtilizationThreshold))
+                                                   .buildWithDefaults(trustAllTlsAttributeMapBuilder()
+                                                                          .put(PROTOCOL, Protocol.HTTP2)
+                                                                          .build());
+            client = ProtocolRestJsonAsyncClient.builder()
+                                                .endpointOverride(mockH2Server.getHttpsUri())
+                                                .httpClient(sdkHttpClient)
+                                                .build();
+        }
+
+        // Making sure the request actually succeeds
+        client.allTypes().join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (mockServer != null) {
+            mockServer.stop();
+        }
+        if (mockH2Server != null) {
+            mockH2Server.stop();
+        }
+        sdkHttpClient.close();
+        client.close();
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(NettyHttp2MultiplexingBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall.httpclient.async;
+
+import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.trustAllTlsAttributeMapBuilder;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.PROTOCOL;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.benchmark.utils.MockH2Server;
+import software.amazon.awssdk.benchmark.utils.MockServer;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+
+/**
+ * Compares the NIO, epoll and io_uring transports of the netty client against local http/1.1 and http/2 servers.
+ *
+ * <p>A native transport that is not available on the machine running the benchmark falls back to the next one, so the results
+ * of an unavailable transport measure the transport it fell back to.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 15, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(2) // To reduce difference between each run
+@BenchmarkMode(Mode.Throughput)
+public class NettyTransportBenchmark extends BaseNettyBenchmark {
+
+    private MockServer mockServer;
+    private MockH2Server mockH2Server;
+    private SdkAsyncHttpClient sdkHttpClient;
+    private SdkEventLoopGroup eventLoopGroup;
+
+    @Param({"NIO", "EPOLL", "IO_URING"})
+    private String transport;
+
+    @Param({"HTTP1_1", "HTTP2"})
+    private String protocol;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        eventLoopGroup = SdkEventLoopGroup.builder()
+                                          .transport(SdkEventLoopGroup.Transport.valueOf(transport))
+                                          .build();
+
+        URI endpoint;
+        if (Protocol.valueOf(protocol) == Protocol.HTTP2) {
+            mockH2Server = new MockH2Server(false);
+            mockH2Server.start();
+            endpoint = mockH2Server.getHttpsUri();
+            sdkHttpClient = NettyNioAsyncHttpClient.builder()
+                                                   .eventLoopGroup(eventLoopGroup)
+                                                   .buildWithDefaults(trustAllTlsAttributeMapBuilder()
+                                                                          .put(PROTOCOL, Protocol.HTTP2)
+                                                                          .build());
+        } else {
+            mockServer = new MockServer();
+            mockServer.start();
+            endpoint = mockServer.getHttpUri();
+            sdkHttpClient = NettyNioAsyncHttpClient.builder()
+                                                   .eventLoopGroup(eventLoopGroup)
+                                                   .build();
+        }
+
+        client = ProtocolRestJsonAsyncClient.builder()
+                                            .endpointOverride(endpoint)
+                                            .httpClient(sdkHttpClient)
+                                            .build();
+
+        // Making sure the request actually succeeds
+        client.allTypes().join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (mockServer != null) {
+            mockServer.stop();
+        }
+        if (mockH2Server != null) {
+            mockH2Server.stop();
+        }
+        sdkHttpClient.close();
+        client.close();
+        eventLoopGroup.eventLoopGroup().shutdownGracefully().awaitUninterruptibly();
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(NettyTransportBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
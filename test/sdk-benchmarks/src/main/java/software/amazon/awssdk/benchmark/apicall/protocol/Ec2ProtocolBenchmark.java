@@ -18,6 +18,7 @@ package software.amazon.awssdk.benchmark.apicall.protocol;
 import static software.amazon.awssdk.benchmark.utils.BenchmarkConstant.EC2_ALL_TYPES_REQUEST;
 import static software.amazon.awssdk.benchmark.utils.BenchmarkConstant.ERROR_XML_BODY;
 import static software.amazon.awssdk.benchmark.utils.BenchmarkConstant.XML_BODY;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.ENABLE_STREAMING_UNMARSHALLING;
 
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -26,11 +27,13 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.profile.StackProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
@@ -48,12 +51,20 @@ import software.amazon.awssdk.services.protocolec2.ProtocolEc2Client;
 @BenchmarkMode(Mode.Throughput)
 public class Ec2ProtocolBenchmark implements SdkProtocolBenchmark {
 
+    /**
+     * Whether responses are unmarshalled directly from the XML event stream instead of through a parsed XML tree.
+     */
+    @Param({"false", "true"})
+    private boolean streamingUnmarshalling;
+
     private ProtocolEc2Client client;
 
     @Setup(Level.Trial)
     public void setup() {
         client = ProtocolEc2Client.builder()
                                   .httpClient(new MockHttpClient(XML_BODY, ERROR_XML_BODY))
+                                  .overrideConfiguration(o -> o.putAdvancedOption(ENABLE_STREAMING_UNMARSHALLING,
+                                                                                  streamingUnmarshalling))
                                   .build();
     }
 
@@ -67,6 +78,7 @@ public class Ec2ProtocolBenchmark implements SdkProtocolBenchmark {
         Options opt = new OptionsBuilder()
             .include(Ec2ProtocolBenchmark.class.getSimpleName())
             .addProfiler(StackProfiler.class)
+            .addProfiler(GCProfiler.class)
             .build();
         new Runner(opt).run();
     }
@@ -15,17 +15,22 @@
 
 package software.amazon.awssdk.benchmark.marshaller.dynamodb;
 
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.ENABLE_POOLED_SERIALIZATION_BUFFERS;
+
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.Map;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.http.AbortableInputStream;
@@ -134,6 +139,24 @@ public class V2DynamoDbAttributeValue {
     private static final PutItemRequestMarshaller PUT_ITEM_REQUEST_MARSHALLER
         = new PutItemRequestMarshaller(getJsonProtocolFactory());
 
+    /**
+     * Marshaller that serializes requests into pooled buffers. Run with {@code -prof gc} to compare the allocation rate with
+     * {@link #PUT_ITEM_REQUEST_MARSHALLER}.
+     */
+    private static final PutItemRequestMarshaller POOLED_BUFFER_PUT_ITEM_REQUEST_MARSHALLER
+        = new PutItemRequestMarshaller(AwsJsonProtocolFactory
+                                           .builder()
+                                           .clientConfiguration(SdkClientConfiguration
+                                                                    .builder()
+                                                                    .option(SdkClientOption.ENDPOINT,
+                                                                            URI.create("https://localhost"))
+                                                                    .option(ENABLE_POOLED_SERIALIZATION_BUFFERS, true)
+                                                                    .build())
+                                           .defaultServiceExceptionSupplier(DynamoDbException::builder)
+                                           .protocol(AwsJsonProtocol.AWS_JSON)
+                                           .protocolVersion("1.0")
+                                           .build());
+
     private static HttpResponseHandler<GetItemResponse> getItemResponseJsonResponseHandler() {
         return JSON_PROTOCOL_FACTORY.createResponseHandler(JsonOperationMetadata.builder()
                                                                                 .isPayloadJson(true)
@@ -147,6 +170,11 @@ public class V2DynamoDbAttributeValue {
         return putItemRequestMarshaller().marshall(s.getReq());
     }
 
+    @Benchmark
+    public Object putItemPooledSerializationBuffer(PutItemState s) {
+        return POOLED_BUFFER_PUT_ITEM_REQUEST_MARSHALLER.marshall(s.getReq());
+    }
+
     @Benchmark
     public Object getItem(GetItemState s) throws Exception {
         SdkHttpFullResponse resp = fullResponse(s.testItem);
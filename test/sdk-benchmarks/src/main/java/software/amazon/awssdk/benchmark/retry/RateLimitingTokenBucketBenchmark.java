@@ -0,0 +1,122 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.benchmark.retry;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+
+/**
+ * Measures contention on the {@link RateLimitingTokenBucket} used by the ADAPTIVE retry mode. Every operation mirrors what an
+ * attempt does: acquire capacity before sending, then update the sending rate with the (successful) response.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(2) // To reduce difference between each run
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RateLimitingTokenBucketBenchmark {
+
+    private RateLimitingTokenBucket disabledBucket;
+    private RateLimitingTokenBucket enabledBucket;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        disabledBucket = new RateLimitingTokenBucket();
+
+        // A single throttling response enables client-side rate limiting.
+        enabledBucket = new RateLimitingTokenBucket();
+        enabledBucket.updateClientSendingRate(true);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void notThrottled_1Thread(Blackhole blackhole) {
+        attempt(disabledBucket, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void notThrottled_8Threads(Blackhole blackhole) {
+        attempt(disabledBucket, blackhole);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void notThrottled_32Threads(Blackhole blackhole) {
+        attempt(disabledBucket, blackhole);
+    }
+
+    @Benchmark
+    @Threads(128)
+    public void notThrottled_128Threads(Blackhole blackhole) {
+        attempt(disabledBucket, blackhole);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void throttled_1Thread(Blackhole blackhole) {
+        attempt(enabledBucket, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void throttled_8Threads(Blackhole blackhole) {
+        attempt(enabledBucket, blackhole);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void throttled_32Threads(Blackhole blackhole) {
+        attempt(enabledBucket, blackhole);
+    }
+
+    @Benchmark
+    @Threads(128)
+    public void throttled_128Threads(Blackhole blackhole) {
+        attempt(enabledBucket, blackhole);
+    }
+
+    private static void attempt(RateLimitingTokenBucket bucket, Blackhole blackhole) {
+        // Use the non-blocking acquire so that the benchmark measures contention instead of the requested wait time.
+        blackhole.consume(bucket.acquireNonBlocking(1.0, false));
+        bucket.updateClientSendingRate(false);
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(RateLimitingTokenBucketBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.benchmark.signer;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.signer.Aws4Signer;
+import software.amazon.awssdk.auth.signer.internal.AbstractAws4Signer;
+import software.amazon.awssdk.auth.signer.internal.SigningKeyCache;
+import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Benchmarks {@link Aws4Signer#sign} from many threads at once, signing for a mix of credentials and regions so that the
+ * shared signing key cache is exercised concurrently. The hits and misses of the signing key cache in each iteration are
+ * reported as the {@code signingKeyCacheHits} and {@code signingKeyCacheMisses} secondary results.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 15, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(2) // To reduce difference between each run
+@Threads(64)
+@BenchmarkMode(Mode.Throughput)
+public class Aws4SignerBenchmark {
+
+    private static final Region[] REGIONS = {Region.US_EAST_1, Region.US_WEST_2, Region.EU_WEST_1, Region.AP_NORTHEAST_1};
+
+    /**
+     * The number of distinct credentials that requests are signed with, e.g. one per assumed role.
+     */
+    @Param({"1", "16"})
+    private int credentialsCount;
+
+    private Aws4Signer signer;
+    private SdkHttpFullRequest request;
+    private Aws4SignerParams[] signerParams;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        signer = Aws4Signer.create();
+        byte[] content = "{\"TableName\":\"table\",\"Key\":{\"id\":{\"S\":\"1\"}}}".getBytes(StandardCharsets.UTF_8);
+        request = SdkHttpFullRequest.builder()
+                                    .method(SdkHttpMethod.POST)
+                                    .uri(URI.create("https://dynamodb.us-east-1.amazonaws.com"))
+                                    .putHeader("Content-Type", "application/x-amz-json-1.0")
+                                    .putHeader("X-Amz-Target", "DynamoDB_20120810.GetItem")
+                                    .contentStreamProvider(() -> new ByteArrayInputStream(content))
+                                    .build();
+
+        signerParams = new Aws4SignerParams[credentialsCount * REGIONS.length];
+        for (int i = 0; i < credentialsCount; i++) {
+            AwsBasicCredentials credentials = AwsBasicCredentials.create("akid" + i, "secret" + i);
+            for (int j = 0; j < REGIONS.length; j++) {
+                signerParams[i * REGIONS.length + j] = Aws4SignerParams.builder()
+                                                                       .awsCredentials(credentials)
+                                                                       .signingName("dynamodb")
+                                                                       .signingRegion(REGIONS[j])
+                                                                       .build();
+            }
+        }
+    }
+
+    @Benchmark
+    public void sign(SigningKeyCacheCounters counters, Blackhole blackhole) {
+        Aws4SignerParams params = signerParams[ThreadLocalRandom.current().nextInt(signerParams.length)];
+        blackhole.consume(signer.sign(request, params));
+    }
+
+    /**
+     * The hits and misses of the shared signing key cache during an iteration. The cache counts them for all threads, so only
+     * the first thread reports them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SigningKeyCacheCounters {
+        public long signingKeyCacheHits;
+        public long signingKeyCacheMisses;
+
+        private boolean reporting;
+        private long hitsAtStart;
+        private long missesAtStart;
+
+        @Setup(Level.Iteration)
+        public void start(ThreadParams threadParams) {
+            SigningKeyCache cache = AbstractAws4Signer.signingKeyCache();
+            reporting = threadParams.getThreadIndex() == 0;
+            hitsAtStart = cache.hitCount();
+            missesAtStart = cache.missCount();
+            signingKeyCacheHits = 0;
+            signingKeyCacheMisses = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() {
+            if (reporting) {
+                SigningKeyCache cache = AbstractAws4Signer.signingKeyCache();
+                signingKeyCacheHits = cache.hitCount() - hitsAtStart;
+                signingKeyCacheMisses = cache.missCount() - missesAtStart;
+            }
+        }
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(Aws4SignerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(opt).run();
+    }
+}